@@ -1719,7 +1719,7 @@ namespace de.unika.ipd.grGen.lgsp
             {
                 IndexAccessEquality indexEquality = (IndexAccessEquality)index;
                 SourceBuilder equalityExpression = new SourceBuilder();
-                indexEquality.Expr.Emit(equalityExpression);
+                indexEquality.EmitExprs(equalityExpression);
                 elementsIteration =
                     new GetCandidateByIteration(
                         GetCandidateByIterationType.IndexElements,
@@ -3938,7 +3938,7 @@ namespace de.unika.ipd.grGen.lgsp
             {
                 IndexAccessEquality indexEquality = (IndexAccessEquality)index;
                 SourceBuilder equalityExpression = new SourceBuilder();
-                indexEquality.Expr.Emit(equalityExpression);
+                indexEquality.EmitExprs(equalityExpression);
                 elementsIteration =
                     new GetCandidateByIterationParallelSetup(
                         GetCandidateByIterationType.IndexElements,
@@ -4045,7 +4045,7 @@ namespace de.unika.ipd.grGen.lgsp
             {
                 IndexAccessEquality indexEquality = (IndexAccessEquality)index;
                 SourceBuilder equalityExpression = new SourceBuilder();
-                indexEquality.Expr.Emit(equalityExpression);
+                indexEquality.EmitExprs(equalityExpression);
                 elementsIteration =
                     new GetCandidateByIterationParallel(
                         GetCandidateByIterationType.IndexElements,
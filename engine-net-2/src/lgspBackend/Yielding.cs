@@ -1455,13 +1455,19 @@ namespace de.unika.ipd.grGen.expression
     public class ForIndexAccessEquality : Yielding
     {
         public ForIndexAccessEquality(String indexSetType, IndexDescription index, String variable, String unprefixedVariable, String variableType, Expression expr, Yielding[] statements)
+            : this(indexSetType, index, variable, unprefixedVariable, variableType, new Expression[] { expr }, statements)
+        {
+        }
+
+        // a composite index is accessed with one expression for each of its attributes
+        public ForIndexAccessEquality(String indexSetType, IndexDescription index, String variable, String unprefixedVariable, String variableType, Expression[] exprs, Yielding[] statements)
         {
             IndexSetType = indexSetType;
             Index = index;
             Variable = variable;
             UnprefixedVariable = unprefixedVariable;
             VariableType = variableType;
-            Expr = expr;
+            Exprs = exprs;
             Statements = statements;
         }
 
@@ -1470,15 +1476,23 @@ namespace de.unika.ipd.grGen.expression
             Yielding[] statementsCopy = new Yielding[Statements.Length];
             for(int i = 0; i < Statements.Length; ++i)
                 statementsCopy[i] = Statements[i].Copy(renameSuffix);
+            Expression[] exprsCopy = new Expression[Exprs.Length];
+            for(int i = 0; i < Exprs.Length; ++i)
+                exprsCopy[i] = Exprs[i].Copy(renameSuffix);
             return new ForIndexAccessEquality(IndexSetType, Index, Variable + renameSuffix, UnprefixedVariable + renameSuffix, VariableType, 
-                Expr.Copy(renameSuffix), statementsCopy);
+                exprsCopy, statementsCopy);
         }
 
         public override void Emit(SourceBuilder sourceCode)
         {
             sourceCode.AppendFrontFormat("foreach({0} {1} in (({2})graph.indices).{3}.Lookup(", 
                 VariableType, NamesOfEntities.Variable(Variable), IndexSetType, Index.Name);
-            Expr.Emit(sourceCode);
+            for(int i = 0; i < Exprs.Length; ++i)
+            {
+                if(i > 0)
+                    sourceCode.Append(", ");
+                Exprs[i].Emit(sourceCode);
+            }
             sourceCode.Append("))\n");
             sourceCode.AppendFront("{\n");
             sourceCode.Indent();
@@ -1519,7 +1533,7 @@ namespace de.unika.ipd.grGen.expression
         public String Variable;
         public String UnprefixedVariable;
         public String VariableType;
-        public Expression Expr;
+        public Expression[] Exprs;
         Yielding[] Statements;
         bool Parallel;
         bool Profiling;
@@ -463,6 +463,170 @@ namespace de.unika.ipd.grGen.lgsp
         /// Otherwise a TargetException is thrown.</param>
         public abstract void SetAttribute(string attrName, object value);
 
+        /// <summary>
+        /// Returns the graph element attribute in the given slot,
+        /// the slot of an attribute is its position in the AttributeTypes of the type of the node.
+        /// If the graph element type doesn't have an attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        public virtual object GetAttribute(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the graph element attribute in the given slot to the given value.
+        /// If the graph element type doesn't have an attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        /// <param name="slot">The slot of the attribute.</param>
+        /// <param name="value">The new value for the attribute. It must have the correct type.
+        /// Otherwise an InvalidCastException is thrown.</param>
+        public virtual void SetAttribute(int slot, object value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the bool graph element attribute in the given slot, without boxing it.
+        /// Overridden by the node types having a bool attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual bool GetBoolean(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type bool in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the bool graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the node types having a bool attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetBoolean(int slot, bool value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type bool in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the sbyte graph element attribute in the given slot, without boxing it.
+        /// Overridden by the node types having an sbyte attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual sbyte GetByte(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type sbyte in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the sbyte graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the node types having an sbyte attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetByte(int slot, sbyte value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type sbyte in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the short graph element attribute in the given slot, without boxing it.
+        /// Overridden by the node types having a short attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual short GetShort(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type short in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the short graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the node types having a short attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetShort(int slot, short value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type short in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the enum or int graph element attribute in the given slot, without boxing it.
+        /// Overridden by the node types having an enum or int attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual int GetInt(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type int in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the enum or int graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the node types having an enum or int attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetInt(int slot, int value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type int in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the long graph element attribute in the given slot, without boxing it.
+        /// Overridden by the node types having a long attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual long GetLong(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type long in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the long graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the node types having a long attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetLong(int slot, long value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type long in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the float graph element attribute in the given slot, without boxing it.
+        /// Overridden by the node types having a float attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual float GetFloat(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type float in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the float graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the node types having a float attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetFloat(int slot, float value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type float in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the double graph element attribute in the given slot, without boxing it.
+        /// Overridden by the node types having a double attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual double GetDouble(int slot)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type double in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the double graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the node types having a double attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetDouble(int slot, double value)
+        {
+            throw new NullReferenceException(
+                "The node type \"" + lgspType.Name + "\" does not have an attribute of type double in slot " + slot + "!");
+        }
+
         /// <summary>
         /// Resets all graph element attributes to their initial values.
         /// </summary>
@@ -744,6 +908,170 @@ namespace de.unika.ipd.grGen.lgsp
         /// Otherwise a TargetException is thrown.</param>
         public abstract void SetAttribute(string attrName, object value);
 
+        /// <summary>
+        /// Returns the graph element attribute in the given slot,
+        /// the slot of an attribute is its position in the AttributeTypes of the type of the edge.
+        /// If the graph element type doesn't have an attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        public virtual object GetAttribute(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the graph element attribute in the given slot to the given value.
+        /// If the graph element type doesn't have an attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        /// <param name="slot">The slot of the attribute.</param>
+        /// <param name="value">The new value for the attribute. It must have the correct type.
+        /// Otherwise an InvalidCastException is thrown.</param>
+        public virtual void SetAttribute(int slot, object value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the bool graph element attribute in the given slot, without boxing it.
+        /// Overridden by the edge types having a bool attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual bool GetBoolean(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type bool in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the bool graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the edge types having a bool attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetBoolean(int slot, bool value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type bool in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the sbyte graph element attribute in the given slot, without boxing it.
+        /// Overridden by the edge types having an sbyte attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual sbyte GetByte(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type sbyte in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the sbyte graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the edge types having an sbyte attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetByte(int slot, sbyte value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type sbyte in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the short graph element attribute in the given slot, without boxing it.
+        /// Overridden by the edge types having a short attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual short GetShort(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type short in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the short graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the edge types having a short attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetShort(int slot, short value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type short in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the enum or int graph element attribute in the given slot, without boxing it.
+        /// Overridden by the edge types having an enum or int attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual int GetInt(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type int in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the enum or int graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the edge types having an enum or int attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetInt(int slot, int value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type int in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the long graph element attribute in the given slot, without boxing it.
+        /// Overridden by the edge types having a long attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual long GetLong(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type long in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the long graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the edge types having a long attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetLong(int slot, long value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type long in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the float graph element attribute in the given slot, without boxing it.
+        /// Overridden by the edge types having a float attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual float GetFloat(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type float in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the float graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the edge types having a float attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetFloat(int slot, float value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type float in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Returns the double graph element attribute in the given slot, without boxing it.
+        /// Overridden by the edge types having a double attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual double GetDouble(int slot)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type double in slot " + slot + "!");
+        }
+
+        /// <summary>
+        /// Sets the double graph element attribute in the given slot to the given value, without boxing it.
+        /// Overridden by the edge types having a double attribute, the default throws a NullReferenceException.
+        /// </summary>
+        public virtual void SetDouble(int slot, double value)
+        {
+            throw new NullReferenceException(
+                "The edge type \"" + lgspType.Name + "\" does not have an attribute of type double in slot " + slot + "!");
+        }
+
         /// <summary>
         /// Resets all graph element attributes to their initial values.
         /// </summary>
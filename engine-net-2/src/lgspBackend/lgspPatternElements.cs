@@ -968,26 +968,29 @@ namespace de.unika.ipd.grGen.lgsp
     /// </summary>
     public class IndexAccessEquality : IndexAccess
     {
-        public Expression Expr;
+        /// <summary>
+        /// The key values, one for each attribute of a composite index.
+        /// </summary>
+        public Expression[] Exprs;
 
         public IndexAccessEquality(IndexDescription index, 
             PatternElement neededElement, bool variablesNeeded,
-            Expression expr)
+            params Expression[] exprs)
             : base(index, neededElement, variablesNeeded)
         {
-            Expr = expr;
+            Exprs = exprs;
         }
 
         public override IndexAccess Copy(string nameSuffix)
         {
-            return new IndexAccessEquality(Index, NeededElement, VariablesNeeded, Expr.Copy(nameSuffix));
+            return new IndexAccessEquality(Index, NeededElement, VariablesNeeded, CopyExprs(nameSuffix));
         }
 
         public override void PatchUsersOfCopiedElements(string renameSuffix,
             Dictionary<PatternNode, PatternNode> nodeToCopy,
             Dictionary<PatternEdge, PatternEdge> edgeToCopy)
         {
-            Expr = Expr.Copy(renameSuffix);
+            Exprs = CopyExprs(renameSuffix);
 
             if(NeededElement != null)
             {
@@ -1004,10 +1007,31 @@ namespace de.unika.ipd.grGen.lgsp
             }
         }
 
+        /// <summary>
+        /// Emits the key values separated by commas, as arguments of the lookup of the index.
+        /// </summary>
+        public void EmitExprs(SourceBuilder sourceCode)
+        {
+            for(int i = 0; i < Exprs.Length; ++i)
+            {
+                if(i > 0)
+                    sourceCode.Append(", ");
+                Exprs[i].Emit(sourceCode);
+            }
+        }
+
+        private Expression[] CopyExprs(string renameSuffix)
+        {
+            Expression[] exprsCopy = new Expression[Exprs.Length];
+            for(int i = 0; i < Exprs.Length; ++i)
+                exprsCopy[i] = Exprs[i].Copy(renameSuffix);
+            return exprsCopy;
+        }
+
         public override string ToString()
         {
             SourceBuilder sb = new SourceBuilder();
-            Expr.Emit(sb);
+            EmitExprs(sb);
             return Index.Name + "==" + sb.ToString();
         }
     }
@@ -0,0 +1,121 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+using System;
+
+namespace de.unika.ipd.grGen.libGr
+{
+    /// <summary>
+    /// The slot of an attribute in a graph element type, together with the type and the attribute type,
+    /// to be cached by a generic attribute access, so it accesses the attribute by slot
+    /// instead of by name as long as the type of the elements accessed doesn't change.
+    /// </summary>
+    public sealed class CachedAttributeSlot
+    {
+        public readonly GrGenType Type;
+        public readonly AttributeType AttributeType;
+        public readonly int Slot;
+
+        public CachedAttributeSlot(GrGenType type, String attrName)
+        {
+            Type = type;
+            AttributeType = type.GetAttributeType(attrName);
+            Slot = type.GetAttributeSlot(attrName);
+        }
+    }
+
+    /// <summary>
+    /// Accesses the attributes of graph elements by slot for the generic paths (import, export, dump, sequences),
+    /// the attributes of the scalar kinds are written and printed with the typed accessor of their kind.
+    /// </summary>
+    public static class AttributeSlotHelper
+    {
+        /// <summary>
+        /// Returns the slot of the attribute with the given name cached for the type of the given element,
+        /// the cache is replaced if it was filled for another type.
+        /// </summary>
+        public static CachedAttributeSlot GetCachedSlot(ref CachedAttributeSlot cached, IGraphElement elem, String attrName)
+        {
+            CachedAttributeSlot slot = cached;
+            if(slot == null || slot.Type != elem.Type)
+            {
+                slot = new CachedAttributeSlot(elem.Type, attrName);
+                cached = slot;
+            }
+            return slot;
+        }
+
+        /// <summary>
+        /// Sets the attribute of the given attribute type in the given slot of the element to the given value,
+        /// an attribute of a scalar kind is written with its typed accessor.
+        /// </summary>
+        public static void SetAttribute(IGraphElement elem, AttributeType attrType, int slot, object value)
+        {
+            switch(attrType.Kind)
+            {
+            case AttributeKind.ByteAttr:
+                elem.SetByte(slot, (sbyte)value);
+                break;
+            case AttributeKind.ShortAttr:
+                elem.SetShort(slot, (short)value);
+                break;
+            case AttributeKind.IntegerAttr:
+            case AttributeKind.EnumAttr: // a boxed enum value can be unboxed to its underlying int
+                elem.SetInt(slot, (int)value);
+                break;
+            case AttributeKind.LongAttr:
+                elem.SetLong(slot, (long)value);
+                break;
+            case AttributeKind.BooleanAttr:
+                elem.SetBoolean(slot, (bool)value);
+                break;
+            case AttributeKind.FloatAttr:
+                elem.SetFloat(slot, (float)value);
+                break;
+            case AttributeKind.DoubleAttr:
+                elem.SetDouble(slot, (double)value);
+                break;
+            default:
+                elem.SetAttribute(slot, value);
+                break;
+            }
+        }
+
+        /// <summary>
+        /// Returns the attribute of a scalar kind in the given slot of the element as string,
+        /// as the ToString of the boxed value would return it, or null if the attribute is not of a scalar kind.
+        /// </summary>
+        public static String ScalarToString(IGraphElement elem, AttributeType attrType, int slot)
+        {
+            switch(attrType.Kind)
+            {
+            case AttributeKind.ByteAttr:
+                return elem.GetByte(slot).ToString();
+            case AttributeKind.ShortAttr:
+                return elem.GetShort(slot).ToString();
+            case AttributeKind.IntegerAttr:
+                return elem.GetInt(slot).ToString();
+            case AttributeKind.LongAttr:
+                return elem.GetLong(slot).ToString();
+            case AttributeKind.BooleanAttr:
+                return elem.GetBoolean(slot).ToString();
+            case AttributeKind.FloatAttr:
+                return elem.GetFloat(slot).ToString();
+            case AttributeKind.DoubleAttr:
+                return elem.GetDouble(slot).ToString();
+            case AttributeKind.EnumAttr:
+            {
+                int value = elem.GetInt(slot);
+                EnumMember member = attrType.EnumType[value];
+                return member != null ? member.Name : value.ToString();
+            }
+            default:
+                return null;
+            }
+        }
+    }
+}
@@ -32,6 +32,8 @@ namespace de.unika.ipd.grGen.libGr
     {
         /// <summary>
         /// Lookup all graph elements in the index whose indexed attribute value is equal to the value given.
+        /// For a composite index the value is a list of the values of the indexed attributes (an array, e.g.).
+        /// (The ordered lookups of a composite index are given values of the first attribute.)
         /// </summary>
         IEnumerable<IGraphElement> LookupElements(object value);
 
@@ -108,6 +108,38 @@ namespace de.unika.ipd.grGen.libGr
         { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
         public void SetAttribute(String attrName, object value)
         { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public object GetAttribute(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetAttribute(int slot, object value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public bool GetBoolean(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetBoolean(int slot, bool value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public sbyte GetByte(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetByte(int slot, sbyte value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public short GetShort(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetShort(int slot, short value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public int GetInt(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetInt(int slot, int value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public long GetLong(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetLong(int slot, long value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public float GetFloat(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetFloat(int slot, float value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
+        public double GetDouble(int slot)
+        { throw new NotImplementedException("Get attribute not supported on virtual node!"); }
+        public void SetDouble(int slot, double value)
+        { throw new NotImplementedException("Set attribute not supported on virtual node!"); }
 
         // TODO: Do we need to support this for other dumpers???
         public IEnumerable<IEdge> Outgoing { get { yield break; } }
@@ -189,10 +221,16 @@ namespace de.unika.ipd.grGen.libGr
         private static List<String> DumpAttributes(IGraphElement elem)
         {
             List<String> attribs = new List<String>();
+            int slot = -1;
             foreach(AttributeType attrType in elem.Type.AttributeTypes)
             {
-                object attr = elem.GetAttribute(attrType.Name);
-                String attrString = (attr != null) ? attr.ToString() : "<Not initialized>";
+                ++slot;
+                String attrString = AttributeSlotHelper.ScalarToString(elem, attrType, slot);
+                if(attrString == null)
+                {
+                    object attr = elem.GetAttribute(slot);
+                    attrString = (attr != null) ? attr.ToString() : "<Not initialized>";
+                }
                 attribs.Add(String.Format("{0}::{1} : {2} = {3}",
                     attrType.OwnerType.Name, attrType.Name, attrType.GetKindName(), attrString));
             }
@@ -179,8 +179,10 @@ restart:
             foreach(INode node in context.graph.Nodes)
             {
                 sw.Write("new :{0}($ = \"{1}\"", node.Type.PackagePrefixedName, context.graph.GetElementName(node));
+                int slot = -1;
                 foreach(AttributeType attrType in node.Type.AttributeTypes)
                 {
+                    ++slot;
                     if(IsNodeOrEdgeUsedInAttribute(attrType))
                     {
                         context.nodeOrEdgeUsedInAttribute = true;
@@ -193,7 +195,14 @@ restart:
                         continue;
                     }
 
-                    object value = node.GetAttribute(attrType.Name);
+                    String scalar = ScalarToString(node, attrType, slot);
+                    if(scalar != null)
+                    {
+                        sw.Write(", {0} = {1}", attrType.Name, scalar);
+                        continue;
+                    }
+
+                    object value = node.GetAttribute(slot);
                     EmitAttributeInitialization(mainGraphContext, attrType, value, context.graph, sw);
                 }
                 sw.WriteLine(")");
@@ -213,8 +222,10 @@ restart:
                 {
                     sw.Write("new @(\"{0}\") - :{1}($ = \"{2}\"", context.graph.GetElementName(node),
                         edge.Type.PackagePrefixedName, context.graph.GetElementName(edge));
+                    int slot = -1;
                     foreach(AttributeType attrType in edge.Type.AttributeTypes)
                     {
+                        ++slot;
                         if(IsNodeOrEdgeUsedInAttribute(attrType))
                         {
                             context.nodeOrEdgeUsedInAttribute = true;
@@ -227,7 +238,14 @@ restart:
                             continue;
                         }
 
-                        object value = edge.GetAttribute(attrType.Name);
+                        String scalar = ScalarToString(edge, attrType, slot);
+                        if(scalar != null)
+                        {
+                            sw.Write(", {0} = {1}", attrType.Name, scalar);
+                            continue;
+                        }
+
+                        object value = edge.GetAttribute(slot);
                         // TODO: Add support for null values, as the default initializers could assign non-null values!
                         if(value != null)
                         {
@@ -249,14 +267,16 @@ restart:
             {
                 foreach(INode node in context.graph.Nodes)
                 {
+                    int slot = -1;
                     foreach(AttributeType attrType in node.Type.AttributeTypes)
                     {
+                        ++slot;
                         if(!IsNodeOrEdgeUsedInAttribute(attrType))
                             continue;
                         if(IsGraphUsedInAttribute(attrType))
                             continue;
 
-                        object value = node.GetAttribute(attrType.Name);
+                        object value = node.GetAttribute(slot);
                         sw.Write("@(\"{0}\").{1} = ", context.graph.GetElementName(node), attrType.Name);
                         EmitAttribute(mainGraphContext, attrType, value, context.graph, sw);
                         sw.Write("\n");
@@ -264,14 +284,16 @@ restart:
 
                     foreach(IEdge edge in node.Outgoing)
                     {
+                        int edgeSlot = -1;
                         foreach(AttributeType attrType in edge.Type.AttributeTypes)
                         {
+                            ++edgeSlot;
                             if(!IsNodeOrEdgeUsedInAttribute(attrType))
                                 continue;
                             if(IsGraphUsedInAttribute(attrType))
                                 continue;
 
-                            object value = edge.GetAttribute(attrType.Name);
+                            object value = edge.GetAttribute(edgeSlot);
                             sw.Write("@(\"{0}\").{1} = ", context.graph.GetElementName(edge), attrType.Name);
                             EmitAttribute(mainGraphContext, attrType, value, context.graph, sw);
                             sw.Write("\n");
@@ -375,12 +397,14 @@ restart:
 
             foreach(INode node in context.graph.Nodes)
             {
+                int slot = -1;
                 foreach(AttributeType attrType in node.Type.AttributeTypes)
                 {
+                    ++slot;
                     if(!IsGraphUsedInAttribute(attrType))
                         continue;
 
-                    object value = node.GetAttribute(attrType.Name);
+                    object value = node.GetAttribute(slot);
                     sw.Write("@(\"{0}\").{1} = ", context.graph.GetElementName(node), attrType.Name);
                     EmitAttribute(mainGraphContext, attrType, value, context.graph, sw);
                     sw.Write("\n");
@@ -388,12 +412,14 @@ restart:
 
                 foreach(IEdge edge in node.Outgoing)
                 {
+                    int edgeSlot = -1;
                     foreach(AttributeType attrType in edge.Type.AttributeTypes)
                     {
+                        ++edgeSlot;
                         if(!IsGraphUsedInAttribute(attrType))
                             continue;
 
-                        object value = edge.GetAttribute(attrType.Name);
+                        object value = edge.GetAttribute(edgeSlot);
                         sw.Write("@(\"{0}\").{1} = ", context.graph.GetElementName(edge), attrType.Name);
                         EmitAttribute(mainGraphContext, attrType, value, context.graph, sw);
                         sw.Write("\n");
@@ -480,6 +506,36 @@ restart:
             }
         }
 
+        /// <summary>
+        /// Returns the attribute of a scalar kind in the given slot of the element as code, like ToString does,
+        /// but reading it with the typed accessor of its kind, without boxing it;
+        /// returns null if the attribute is not of a scalar kind.
+        /// </summary>
+        private static String ScalarToString(IGraphElement elem, AttributeType attrType, int slot)
+        {
+            switch(attrType.Kind)
+            {
+            case AttributeKind.ByteAttr:
+                return elem.GetByte(slot).ToString()+"Y";
+            case AttributeKind.ShortAttr:
+                return elem.GetShort(slot).ToString()+"S";
+            case AttributeKind.IntegerAttr:
+                return elem.GetInt(slot).ToString();
+            case AttributeKind.LongAttr:
+                return elem.GetLong(slot).ToString()+"L";
+            case AttributeKind.BooleanAttr:
+                return elem.GetBoolean(slot).ToString();
+            case AttributeKind.FloatAttr:
+                return elem.GetFloat(slot).ToString(System.Globalization.CultureInfo.InvariantCulture)+"f";
+            case AttributeKind.DoubleAttr:
+                return elem.GetDouble(slot).ToString(System.Globalization.CultureInfo.InvariantCulture);
+            case AttributeKind.EnumAttr:
+                return attrType.EnumType.PackagePrefixedName + "::" + attrType.EnumType[elem.GetInt(slot)].Name;
+            default:
+                return null;
+            }
+        }
+
         /// <summary>
         /// Type needed for enum, otherwise null ok.
         /// Graph needed for node/edge, otherwise null ok.
@@ -366,7 +366,7 @@ namespace de.unika.ipd.grGen.libGr
             {
                 // GraphElement . Text = Value
                 Match(TokenKind.EQUAL);
-                ParseAttributeValue(elem, attrType);
+                ParseAttributeValue(elem, attrType, elem.Type.GetAttributeSlot(attrName));
             }
             else if(LookaheadToken()==TokenKind.LBOXBRACKET) // [ for indexed assignment to attribute
             {
@@ -648,7 +648,7 @@ namespace de.unika.ipd.grGen.libGr
                 
                 AttributeType attrType = node.Type.GetAttributeType(attribName);
                 
-                ParseAttributeValue(node, attrType);
+                ParseAttributeValue(node, attrType, node.Type.GetAttributeSlot(attribName));
             }
             Match(TokenKind.RPARENTHESIS);
 
@@ -680,15 +680,41 @@ namespace de.unika.ipd.grGen.libGr
                 
                 AttributeType attrType = edge.Type.GetAttributeType(attribName);
                 
-                ParseAttributeValue(edge, attrType);
+                ParseAttributeValue(edge, attrType, edge.Type.GetAttributeSlot(attribName));
             }
             Match(TokenKind.RPARENTHESIS);
 
             return edge;
         }
 
-        private void ParseAttributeValue(IGraphElement elem, AttributeType attrType)
+        private void ParseAttributeValue(IGraphElement elem, AttributeType attrType, int slot)
         {
+            // the values of the scalar kinds are parsed typed and set with the typed accessor of their kind, without boxing them
+            switch(attrType.Kind)
+            {
+                case AttributeKind.ByteAttr:
+                    elem.SetByte(slot, ParseByteValue());
+                    return;
+                case AttributeKind.ShortAttr:
+                    elem.SetShort(slot, ParseShortValue());
+                    return;
+                case AttributeKind.IntegerAttr:
+                    elem.SetInt(slot, ParseIntValue());
+                    return;
+                case AttributeKind.LongAttr:
+                    elem.SetLong(slot, ParseLongValue());
+                    return;
+                case AttributeKind.BooleanAttr:
+                    elem.SetBoolean(slot, ParseBooleanValue());
+                    return;
+                case AttributeKind.FloatAttr:
+                    elem.SetFloat(slot, ParseFloatValue());
+                    return;
+                case AttributeKind.DoubleAttr:
+                    elem.SetDouble(slot, ParseDoubleValue());
+                    return;
+            }
+
             object attributeValue = JustParseAttributeValue(elem, attrType);
 
             /*AttributeChangeType changeType = AttributeChangeType.Assign;
@@ -697,7 +723,7 @@ namespace de.unika.ipd.grGen.libGr
             else
                 graph.ChangingEdgeAttribute((IEdge)elem, attrType, changeType, value, null);            
             */
-            elem.SetAttribute(attrType.Name, attributeValue);
+            elem.SetAttribute(slot, attributeValue);
             /*if(elem is INode)
                 graph.ChangedNodeAttribute((INode)elem, attrType);
             else
@@ -2672,6 +2672,14 @@ namespace de.unika.ipd.grGen.libGr
                     throw new SequenceParserException(IndexName, SequenceParserError.TwoUpperBounds);
                 }
             }
+            foreach(IndexDescription indexDescription in env.Model.IndexDescriptions)
+            {
+                if(indexDescription.Name == IndexName && indexDescription is AttributeIndexDescription
+                    && ((AttributeIndexDescription)indexDescription).IsHash)
+                {
+                    throw new SequenceParserException(IndexName, SequenceParserError.OrderedAccessOnHashIndex);
+                }
+            }
 
             if(Expr != null)
                 Expr.Check(env);
@@ -268,6 +268,10 @@ namespace de.unika.ipd.grGen.libGr
         public SequenceVariable DestVar;
         public String AttributeName;
 
+        // the type of the element assigned last with the slot of the attribute in it,
+        // so the attribute is assigned by slot instead of by name as long as the type doesn't change
+        private CachedAttributeSlot cachedSlot;
+
         public AssignmentTargetAttribute(SequenceVariable destVar, String attributeName)
             : base(AssignmentTargetType.Attribute)
         {
@@ -322,7 +326,11 @@ namespace de.unika.ipd.grGen.libGr
                 procEnv.Graph.ChangingNodeAttribute((INode)elem, attrType, changeType, value, null);
             else
                 procEnv.Graph.ChangingEdgeAttribute((IEdge)elem, attrType, changeType, value, null);
-            elem.SetAttribute(AttributeName, value);
+            CachedAttributeSlot cached = AttributeSlotHelper.GetCachedSlot(ref cachedSlot, elem, AttributeName);
+            if(cached.Slot < 0)
+                elem.SetAttribute(AttributeName, value); // throws the exception for the unknown attribute
+            else
+                AttributeSlotHelper.SetAttribute(elem, cached.AttributeType, cached.Slot, value);
             if(elem is INode)
                 procEnv.Graph.ChangedNodeAttribute((INode)elem, attrType);
             else
@@ -2366,6 +2366,10 @@ namespace de.unika.ipd.grGen.libGr
         public SequenceExpressionThis SourceThis;
         public String AttributeName;
 
+        // the type of the element accessed last with the slot of the attribute in it,
+        // so the attribute is accessed by slot instead of by name as long as the type doesn't change
+        private CachedAttributeSlot cachedSlot;
+
         public SequenceExpressionAttributeAccess(SequenceVariable sourceVar, String attributeName)
             : base(SequenceExpressionType.GraphElementAttribute)
         {
@@ -2432,7 +2436,7 @@ namespace de.unika.ipd.grGen.libGr
         public override object Execute(IGraphProcessingEnvironment procEnv)
         {
             IGraphElement elem = SourceValue(procEnv);
-            object value = elem.GetAttribute(AttributeName);
+            object value = GetAttributeBySlot(elem);
             value = ContainerHelper.IfAttributeOfElementIsContainerThenCloneContainer(
                 elem, AttributeName, value);
             return value;
@@ -2441,18 +2445,32 @@ namespace de.unika.ipd.grGen.libGr
         public object ExecuteNoImplicitContainerCopy(IGraphProcessingEnvironment procEnv)
         {
             IGraphElement elem = SourceValue(procEnv);
-            object value = elem.GetAttribute(AttributeName);
+            object value = GetAttributeBySlot(elem);
             return value;
         }
 
         public object ExecuteNoImplicitContainerCopy(IGraphProcessingEnvironment procEnv, out IGraphElement elem, out AttributeType attrType)
         {
             elem = SourceValue(procEnv);
-            object value = elem.GetAttribute(AttributeName);
-            attrType = elem.Type.GetAttributeType(AttributeName);
+            object value = GetAttributeBySlot(elem, out attrType);
             return value;
         }
 
+        private object GetAttributeBySlot(IGraphElement elem)
+        {
+            AttributeType attrType;
+            return GetAttributeBySlot(elem, out attrType);
+        }
+
+        private object GetAttributeBySlot(IGraphElement elem, out AttributeType attrType)
+        {
+            CachedAttributeSlot cached = AttributeSlotHelper.GetCachedSlot(ref cachedSlot, elem, AttributeName);
+            attrType = cached.AttributeType;
+            if(cached.Slot < 0)
+                return elem.GetAttribute(AttributeName); // throws the exception for the unknown attribute
+            return elem.GetAttribute(cached.Slot); // boxed, as a sequence value is an object
+        }
+
         public string SourceVarType
         {
             get { return SourceVar != null ? SourceVar.Type : SourceThis.TypeOfGraphElementThis; }
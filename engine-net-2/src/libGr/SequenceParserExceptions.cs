@@ -124,7 +124,12 @@ namespace de.unika.ipd.grGen.libGr
         /// <summary>
         /// Two upper bounds are given
         /// </summary>
-        TwoUpperBounds
+        TwoUpperBounds,
+
+        /// <summary>
+        /// An ordered access (ascending, descending) is applied on a hash index
+        /// </summary>
+        OrderedAccessOnHashIndex
     }
 
     public enum DefinitionType
@@ -442,6 +447,9 @@ namespace de.unika.ipd.grGen.libGr
                 case SequenceParserError.TwoUpperBounds:
                     return "Two upper bounds specified in accessing index \"" + this.Name + "\"";
 
+                case SequenceParserError.OrderedAccessOnHashIndex:
+                    return "The hash index \"" + this.Name + "\" does not support ordered access (ascending, descending)";
+
                 default:
                     return "Invalid error kind: " + this.Kind;
                 }
@@ -61,6 +61,106 @@ namespace de.unika.ipd.grGen.libGr
         /// Otherwise a TargetException is thrown.</param>
         void SetAttribute(String attrName, object value);
 
+        /// <summary>
+        /// Returns the graph element attribute in the given slot,
+        /// the slot of an attribute is its position in the AttributeTypes of the type of the element.
+        /// If the graph element type doesn't have an attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        object GetAttribute(int slot);
+
+        /// <summary>
+        /// Sets the graph element attribute in the given slot to the given value.
+        /// If the graph element type doesn't have an attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        /// <param name="slot">The slot of the attribute.</param>
+        /// <param name="value">The new value for the attribute. It must have the correct type.
+        /// Otherwise an InvalidCastException is thrown.</param>
+        void SetAttribute(int slot, object value);
+
+        /// <summary>
+        /// Returns the bool graph element attribute in the given slot, without boxing it.
+        /// If the graph element type doesn't have a bool attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        bool GetBoolean(int slot);
+
+        /// <summary>
+        /// Sets the bool graph element attribute in the given slot to the given value, without boxing it.
+        /// If the graph element type doesn't have a bool attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        void SetBoolean(int slot, bool value);
+
+        /// <summary>
+        /// Returns the sbyte graph element attribute in the given slot, without boxing it.
+        /// If the graph element type doesn't have an sbyte attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        sbyte GetByte(int slot);
+
+        /// <summary>
+        /// Sets the sbyte graph element attribute in the given slot to the given value, without boxing it.
+        /// If the graph element type doesn't have an sbyte attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        void SetByte(int slot, sbyte value);
+
+        /// <summary>
+        /// Returns the short graph element attribute in the given slot, without boxing it.
+        /// If the graph element type doesn't have a short attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        short GetShort(int slot);
+
+        /// <summary>
+        /// Sets the short graph element attribute in the given slot to the given value, without boxing it.
+        /// If the graph element type doesn't have a short attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        void SetShort(int slot, short value);
+
+        /// <summary>
+        /// Returns the enum or int graph element attribute in the given slot, without boxing it.
+        /// If the graph element type doesn't have an enum or int attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        int GetInt(int slot);
+
+        /// <summary>
+        /// Sets the enum or int graph element attribute in the given slot to the given value, without boxing it.
+        /// If the graph element type doesn't have an enum or int attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        void SetInt(int slot, int value);
+
+        /// <summary>
+        /// Returns the long graph element attribute in the given slot, without boxing it.
+        /// If the graph element type doesn't have a long attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        long GetLong(int slot);
+
+        /// <summary>
+        /// Sets the long graph element attribute in the given slot to the given value, without boxing it.
+        /// If the graph element type doesn't have a long attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        void SetLong(int slot, long value);
+
+        /// <summary>
+        /// Returns the float graph element attribute in the given slot, without boxing it.
+        /// If the graph element type doesn't have a float attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        float GetFloat(int slot);
+
+        /// <summary>
+        /// Sets the float graph element attribute in the given slot to the given value, without boxing it.
+        /// If the graph element type doesn't have a float attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        void SetFloat(int slot, float value);
+
+        /// <summary>
+        /// Returns the double graph element attribute in the given slot, without boxing it.
+        /// If the graph element type doesn't have a double attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        double GetDouble(int slot);
+
+        /// <summary>
+        /// Sets the double graph element attribute in the given slot to the given value, without boxing it.
+        /// If the graph element type doesn't have a double attribute in this slot, a NullReferenceException is thrown.
+        /// </summary>
+        void SetDouble(int slot, double value);
+
         /// <summary>
         /// Resets all graph element attributes to their initial values.
         /// </summary>
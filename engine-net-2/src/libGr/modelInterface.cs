@@ -264,15 +264,43 @@ namespace de.unika.ipd.grGen.libGr
 
         /// <summary>
         /// The attribute type the index is declared on.
+        /// For a composite index the first (leading) one of the attribute types.
         /// </summary>
         public readonly AttributeType AttributeType;
 
+        /// <summary>
+        /// The attribute types the index is declared on, in the order the index is sorted by (lexicographically).
+        /// A composite index is declared on more than one attribute,
+        /// it is accessed by equality with an array of the attribute values (in the order of the attribute types),
+        /// and by ordering with values of the first attribute.
+        /// </summary>
+        public readonly AttributeType[] AttributeTypes;
+
+        /// <summary>
+        /// Whether the index is a hash index, supporting only lookups by equality, but no ordered access.
+        /// </summary>
+        public readonly bool IsHash;
+
         public AttributeIndexDescription(string name,
             GrGenType graphElementType, AttributeType attributeType)
+            : this(name, graphElementType, attributeType, false)
+        {
+        }
+
+        public AttributeIndexDescription(string name,
+            GrGenType graphElementType, AttributeType attributeType, bool isHash)
+            : this(name, graphElementType, new AttributeType[] { attributeType }, isHash)
+        {
+        }
+
+        public AttributeIndexDescription(string name,
+            GrGenType graphElementType, AttributeType[] attributeTypes, bool isHash)
             : base(name)
         {
             GraphElementType = graphElementType;
-            AttributeType = attributeType;
+            AttributeType = attributeTypes[0];
+            AttributeTypes = attributeTypes;
+            IsHash = isHash;
         }
     }
 
@@ -981,6 +1009,25 @@ namespace de.unika.ipd.grGen.libGr
         /// <returns>The AttributeType matching the name, or null if there is no such</returns>
         public abstract AttributeType GetAttributeType(String name);
 
+        /// <summary>
+        /// Returns the slot of the attribute with the given name, i.e. its position in the AttributeTypes,
+        /// to access it by slot instead of by name at the graph elements of this type.
+        /// If this type does not have an attribute with this name, -1 is returned.
+        /// </summary>
+        /// <param name="name">Name of the attribute</param>
+        /// <returns>The slot of the attribute, or -1 if there is no such</returns>
+        public virtual int GetAttributeSlot(String name)
+        {
+            int slot = 0;
+            foreach(AttributeType attrType in AttributeTypes)
+            {
+                if(attrType.Name == name)
+                    return slot;
+                ++slot;
+            }
+            return -1;
+        }
+
         /// <summary>
         /// The number of function methods of this type.
         /// </summary>
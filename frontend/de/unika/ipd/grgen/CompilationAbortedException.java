@@ -0,0 +1,30 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen;
+
+/**
+ * Thrown when a compilation can't be continued (e.g. an input file is missing).
+ * The message was already reported when this exception is thrown,
+ * it only carries the exit code back to the compiler driver.
+ */
+public class CompilationAbortedException extends RuntimeException {
+
+	private static final long serialVersionUID = 4715218296316521397L;
+
+	private final int exitCode;
+
+	public CompilationAbortedException(int exitCode) {
+		super("compilation aborted with exit code " + exitCode);
+		this.exitCode = exitCode;
+	}
+
+	/** @return The exit code the command line driver should report. */
+	public int getExitCode() {
+		return exitCode;
+	}
+}
@@ -0,0 +1,398 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import de.unika.ipd.grgen.ast.BaseNode;
+import de.unika.ipd.grgen.ast.CollectNode;
+import de.unika.ipd.grgen.ast.IdentNode;
+import de.unika.ipd.grgen.ast.ModelNode;
+import de.unika.ipd.grgen.ast.UnitNode;
+import de.unika.ipd.grgen.be.Backend;
+import de.unika.ipd.grgen.be.BackendFactory;
+import de.unika.ipd.grgen.ir.Dumper;
+import de.unika.ipd.grgen.ir.PassManager;
+import de.unika.ipd.grgen.ir.Unit;
+import de.unika.ipd.grgen.parser.antlr.GRParserEnvironment;
+import de.unika.ipd.grgen.util.Base;
+import de.unika.ipd.grgen.util.GlobalTables;
+import de.unika.ipd.grgen.util.GraphDumpVisitor;
+import de.unika.ipd.grgen.util.GraphDumperFactory;
+import de.unika.ipd.grgen.util.NullOutputStream;
+import de.unika.ipd.grgen.util.PostWalker;
+import de.unika.ipd.grgen.util.PrePostWalker;
+import de.unika.ipd.grgen.util.VCGDumper;
+import de.unika.ipd.grgen.util.VCGDumperFactory;
+import de.unika.ipd.grgen.util.Walkable;
+import de.unika.ipd.grgen.util.XMLDumper;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+import de.unika.ipd.grgen.util.report.StreamHandler;
+
+/**
+ * The state of one compilation: the error reporter, the paths, the AST and the IR.
+ * It runs the compiler pipeline from parsing to code generation.
+ * Before it starts, the global tables of the frontend are reset to their builtin state,
+ * so a compilation yields the same result no matter what was compiled before in the JVM.
+ */
+public class CompilationContext extends Base implements Sys {
+
+	private final GrGenCompiler compiler;
+	private final String[] inputFileNames;
+
+	/** Output path. */
+	private final File outputPath;
+
+	private final ErrorReporter errorReporter;
+
+	private UnitNode root;
+	private Unit irUnit;
+
+	/** The path to the source files. */
+	private File sourcePath;
+
+	private File debugPath;
+
+	/** A file containing a path where the graph model can be searched. */
+	private File modelPath = null;
+
+	/** Time spent in the phases, indexed by the phase constants of CompilationResult. */
+	private final long[] timings = new long[CompilationResult.PHASES];
+
+	CompilationContext(GrGenCompiler compiler, String[] inputFileNames, File outputPath) {
+		this.compiler = compiler;
+		this.inputFileNames = inputFileNames;
+		this.outputPath = outputPath;
+
+		errorReporter = new ErrorReporter();
+		errorReporter.addHandler(new StreamHandler(System.err));
+
+		for(int i = 0; i < timings.length; ++i) {
+			timings[i] = -1;
+		}
+	}
+
+	public File getModelPath() {
+		return modelPath;
+	}
+
+	public File getModelCacheDir() {
+		return compiler.getModelCacheDir();
+	}
+
+	public boolean mappedInput() {
+		return compiler.getMappedInput();
+	}
+
+	public int getPoolSize() {
+		return compiler.getPoolSize();
+	}
+
+	public ErrorReporter getErrorReporter() {
+		return errorReporter;
+	}
+
+	public boolean mayFireEvents() {
+		return !compiler.getNoEvents();
+	}
+
+	public boolean mayFireDebugEvents() {
+		return !compiler.getNoDebugEvents() && !compiler.getNoEvents();
+	}
+
+	public boolean emitProfilingInstrumentation() {
+		return compiler.getEmitProfiling();
+	}
+
+	public boolean emitDeterministicOutput() {
+		return compiler.getDeterministicOutput();
+	}
+
+	public boolean generateIncrementally() {
+		return compiler.getIncremental();
+	}
+
+	public int getGeneratorThreads() {
+		return compiler.getGeneratorThreads();
+	}
+
+	public OutputStream createDebugFile(File file) {
+		debugPath.mkdirs();
+		File debFile = new File(debugPath, file.getName());
+		try {
+			return new BufferedOutputStream(new FileOutputStream(debFile));
+		} catch (FileNotFoundException e) {
+			errorReporter.error("cannot open debug file " + debFile.getPath());
+			return NullOutputStream.STREAM;
+		}
+	}
+
+	/**
+	 * This is the main driver routine.
+	 * It parses the input files, constructs the AST,
+	 * checks it, constructs the immediate representation and
+	 * emits the code.
+	 * @return The outcome of the compilation.
+	 */
+	CompilationResult compile() {
+		int exitCode = 0;
+		boolean abnormalEnd = false;
+
+		try {
+			run();
+		} catch(CompilationAbortedException e) {
+			exitCode = e.getExitCode();
+		} catch(Throwable e) {
+			System.err.println("unexpected exception occurred:");
+			e.printStackTrace();
+			exitCode = -1;
+			abnormalEnd = true;
+		}
+
+		return new CompilationResult(inputFileNames, exitCode,
+				errorReporter.getErrorCount(), errorReporter.getWarnCount(), abnormalEnd, timings);
+	}
+
+	private void run() {
+		long startUp, parse, manifest, buildIR, codeGen;
+
+		startUp = -System.currentTimeMillis();
+
+		GlobalTables.resetAll();
+		Base.setReporters(compiler.getDebugReporter(), errorReporter);
+
+		debug.report(NOTE, "working directory: " + System.getProperty("user.dir"));
+
+		startUp += System.currentTimeMillis();
+		timings[CompilationResult.START_UP] = startUp;
+		parse = -System.currentTimeMillis();
+
+		debug.report(NOTE, "### Parse Input ###");
+		// parse the input file and exit, if there were errors
+		if(!parseInput()) {
+			debug.report(NOTE, "### ERROR in Parse Input. Exiting! ###");
+			throw new CompilationAbortedException(1);
+		}
+
+		parse += System.currentTimeMillis();
+		timings[CompilationResult.PARSE] = parse;
+		manifest = -System.currentTimeMillis();
+
+		debug.report(NOTE, "### Manifest AST ###");
+		// the parallel check is opt-in, it did not gain over the sequential check in the measurements so far
+		if(!BaseNode.manifestAST(root, compiler.getParallelCheck() ? compiler.getGeneratorThreads() : 1)) {
+			if(compiler.getDumpAST())
+				dumpVCG(root, new GraphDumpVisitor(), "error-ast");
+			debug.report(NOTE, "### ERROR in Manifest AST. Exiting! ###");
+			if(errorReporter.getErrorCount() == 0)
+				error.error("Unknown error occurred in \"Manifest AST\"!");
+			throw new CompilationAbortedException(1);
+		}
+
+		manifest += System.currentTimeMillis();
+		timings[CompilationResult.MANIFEST] = manifest;
+
+		// Dump the rewritten AST.
+		if(compiler.getDumpAST())
+			dumpVCG(root, new GraphDumpVisitor(), "ast");
+
+		debug.report(NOTE, "### Build IR ###");
+		// Construct the Intermediate representation.
+		buildIR = -System.currentTimeMillis();
+		buildIR();
+		root = null; // throw away AST not needed any more -> reduce memory requirements
+		PassManager postProcessingPasses = irUnit.createPostProcessingPasses();
+		postProcessingPasses.run(compiler.getGeneratorThreads());
+		buildIR += System.currentTimeMillis();
+		timings[CompilationResult.BUILD_IR] = buildIR;
+
+		GraphDumperFactory factory = new VCGDumperFactory(this);
+		Dumper dumper = new Dumper(factory, true);
+
+		// Dump the IR.
+		if(compiler.getDumpIR()) {
+			dumper.dumpComplete(irUnit, "ir");
+
+			if(compiler.getDumpRules())
+				dumper.dump(irUnit);
+
+
+			OutputStream os = createDebugFile(new File("ir.xml"));
+			PrintStream ps = new PrintStream(os);
+			XMLDumper xmlDumper = new XMLDumper(ps);
+			xmlDumper.dump(irUnit);
+			ps.flush();
+			ps.close();
+		}
+
+		if(errorReporter.getErrorCount()>0) {
+			debug.report(NOTE, "### ERROR during IR build. Exiting! ###");
+			throw new CompilationAbortedException(1);
+		}
+
+
+		debug.report(NOTE, "### Generate Code ###");
+		codeGen = -System.currentTimeMillis();
+		if(compiler.getBackend() != null)
+			generateCode();
+		codeGen += System.currentTimeMillis();
+		timings[CompilationResult.CODE_GEN] = codeGen;
+
+		debug.report(NOTE, "### done. ###");
+
+		if(compiler.getPrintTiming()) {
+			System.out.println("timing information (millis):");
+			System.out.println("start up: " + startUp);
+			System.out.println("parse:    " + parse);
+			System.out.println("manifest: " + manifest);
+			System.out.println("build IR: " + buildIR);
+			postProcessingPasses.printTimings(System.out);
+			System.out.println("code gen: " + codeGen);
+		}
+	}
+
+	private boolean parseInput() {
+		boolean res = false;
+		boolean setDebugPath = true;	// use the first processed filename for the debug path
+
+		GRParserEnvironment env = new GRParserEnvironment(this);
+
+		// First process the .grg file, if one was specified
+		for(String inputFileName : inputFileNames)
+		{
+			File inputFile = new File(inputFileName);
+			String ext = getFileExt(inputFileName);
+			if(ext.equals("grg")) {
+				if(root != null) {
+					error.error("Only one .grg file may be specified!");
+					throw new CompilationAbortedException(-1);
+				}
+				initPaths(inputFileName, inputFile, setDebugPath);
+				setDebugPath = false;
+
+				root = env.parseActions(inputFile);
+			}
+			else if(!ext.equals("gm")) {
+				error.error("Input file with unknown extension: '" + ext + "'");
+				throw new CompilationAbortedException(-1);
+			}
+		}
+
+		// No .grg file given?
+		if(root == null) {
+			root = new UnitNode("NoGRGFileGiven", inputFileNames[0], env.getStdModel(),
+					new CollectNode<ModelNode>(), new CollectNode<IdentNode>(),
+					new CollectNode<IdentNode>(), new CollectNode<IdentNode>(),
+					new CollectNode<IdentNode>(), new CollectNode<IdentNode>(),
+					new CollectNode<IdentNode>(), new CollectNode<IdentNode>());
+		}
+
+		// Now all .gm files
+		for(String inputFileName : inputFileNames)
+		{
+			File inputFile = new File(inputFileName);
+			if(getFileExt(inputFileName).equals("gm")) {
+				initPaths(inputFileName, inputFile, setDebugPath);
+				setDebugPath = false;
+
+				ModelNode model = env.parseModel(inputFile);
+				root.addModel(model);
+			}
+		}
+		res = !env.hadError();
+
+		// Close main scope and fixup definitions
+		env.getCurrScope().leaveScope();
+
+		debug.report(NOTE, "result: " + res);
+		return res;
+	}
+
+	private String getFileExt(String filename) {
+		int lastDot = filename.lastIndexOf('.');
+		int lastDirSep = filename.lastIndexOf(File.separatorChar);
+		if(lastDot == -1 || lastDirSep != -1 && lastDot < lastDirSep) {
+			error.error("The input file \"" + filename + "\" has no extension!");
+			throw new CompilationAbortedException(-1);
+		}
+		return filename.substring(lastDot + 1).toLowerCase();
+	}
+
+	private void initPaths(String inputFileName, File inputFile, boolean setDebugPath) {
+		if(inputFileName.indexOf('/') != -1 || inputFileName.indexOf('\\') != -1)
+			sourcePath = inputFile.getAbsoluteFile().getParentFile();
+		else
+			sourcePath = new File(".");
+		if(setDebugPath)
+			debugPath = new File(sourcePath, inputFile.getName() + "_debug");
+		modelPath = sourcePath;
+	}
+
+	private void dumpVCG(Walkable node, GraphDumpVisitor visitor,
+						 String suffix) {
+
+		File file = new File(suffix + ".vcg");
+		OutputStream os = createDebugFile(file);
+
+		VCGDumper vcg = new VCGDumper(new PrintStream(os));
+		visitor.setDumper(vcg);
+		PrePostWalker walker = new PostWalker(visitor);
+		vcg.begin();
+		walker.reset();
+		walker.walk(node);
+		vcg.finish();
+	}
+
+	private void buildIR() {
+		irUnit = root.getUnit();
+	}
+
+	private void generateCode() {
+		String backend = compiler.getBackend();
+
+		try {
+			BackendFactory creator =
+				(BackendFactory) Class.forName(backend).newInstance();
+			Backend be = creator.getBackend();
+
+			be.init(irUnit, this, outputPath);
+			be.generate();
+			be.done();
+		} catch(ClassNotFoundException e) {
+			System.err.println("cannot locate backend class: " + backend);
+			throw new CompilationAbortedException(-1);
+		} catch(IllegalAccessException e) {
+			System.err.println("no rights to create backend class: " + backend);
+			throw new CompilationAbortedException(-1);
+		} catch(InstantiationException e) {
+			System.err.println("cannot create backend class: " + backend);
+			throw new CompilationAbortedException(-1);
+		}
+
+
+		if (errorReporter.getErrorCount() > 0) {
+			if (errorReporter.getErrorCount() == 1)
+				System.err.println("There was " + errorReporter.getErrorCount() + " error");
+			else
+				System.err.println("There were " + errorReporter.getErrorCount() + " errors");
+
+			throw new CompilationAbortedException(-1);
+		}
+		else if (errorReporter.getWarnCount() > 0){
+			if (errorReporter.getWarnCount() == 1)
+				System.err.println("There was " + errorReporter.getWarnCount() + " warning");
+			else
+				System.err.println("There were " + errorReporter.getWarnCount() + " warnings");
+		}
+	}
+}
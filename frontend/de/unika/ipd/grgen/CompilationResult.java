@@ -0,0 +1,92 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen;
+
+/**
+ * The outcome of one compilation run by the {@link GrGenCompiler}.
+ */
+public class CompilationResult {
+
+	/** The phases of a compilation, used for the timing information. */
+	public static final int START_UP = 0;
+	public static final int PARSE = 1;
+	public static final int MANIFEST = 2;
+	public static final int BUILD_IR = 3;
+	public static final int CODE_GEN = 4;
+	public static final int PHASES = 5;
+
+	private final String[] inputFileNames;
+	private final int exitCode;
+	private final int errorCount;
+	private final int warningCount;
+	private final boolean abnormalEnd;
+	private final long[] timings;
+
+	/**
+	 * @param inputFileNames The input files of the compilation.
+	 * @param exitCode The exit code the command line driver reports for this compilation.
+	 * @param errorCount The number of reported errors.
+	 * @param warningCount The number of reported warnings.
+	 * @param abnormalEnd Whether the compilation ended with an unexpected exception.
+	 * @param timings The time spent in each phase in milliseconds, indexed by phase, -1 if not reached.
+	 */
+	public CompilationResult(String[] inputFileNames, int exitCode, int errorCount, int warningCount,
+			boolean abnormalEnd, long[] timings) {
+		this.inputFileNames = inputFileNames;
+		this.exitCode = exitCode;
+		this.errorCount = errorCount;
+		this.warningCount = warningCount;
+		this.abnormalEnd = abnormalEnd;
+		this.timings = timings;
+	}
+
+	public String[] getInputFileNames() {
+		return inputFileNames;
+	}
+
+	/** @return 0 on success, otherwise the exit code of the command line driver. */
+	public int getExitCode() {
+		return exitCode;
+	}
+
+	public boolean isSuccess() {
+		return exitCode == 0;
+	}
+
+	public int getErrorCount() {
+		return errorCount;
+	}
+
+	public int getWarningCount() {
+		return warningCount;
+	}
+
+	/** @return true if the compilation was ended by an unexpected exception (not by a reported error). */
+	public boolean isAbnormalEnd() {
+		return abnormalEnd;
+	}
+
+	/** @return The time spent in the given phase in milliseconds, -1 if the phase was not reached. */
+	public long getTiming(int phase) {
+		return timings[phase];
+	}
+
+	/**
+	 * @return A status word in the format of the test summary logs:
+	 * OK, WARNED, ERROR, or ABEND.
+	 */
+	public String getStatus() {
+		if(abnormalEnd)
+			return "ABEND";
+		if(!isSuccess())
+			return "ERROR";
+		if(warningCount > 0)
+			return "WARNED";
+		return "OK";
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen;
+
+import java.io.File;
+
+import de.unika.ipd.grgen.util.report.NullReporter;
+import de.unika.ipd.grgen.util.report.Reporter;
+
+/**
+ * The in-process entry point of the compiler.
+ * A compiler object holds the options; it can be used for any number of compilations
+ * in the same JVM. Each compilation is carried out in its own {@link CompilationContext},
+ * its outcome is returned as a {@link CompilationResult} instead of terminating the JVM.
+ */
+public class GrGenCompiler {
+
+	/** Backend to use (name of the backend factory class), null for no code generation. */
+	private String backend;
+
+	/** Default output path. */
+	private File outputPath = new File(System.getProperty("user.dir"));
+
+	/** Directory of the persistent cache of lexed models, null for no caching. */
+	private File modelCacheDir;
+
+	/** Lex the input files memory-mapped, in windows shared among the included files, instead of reading each one into memory. */
+	private boolean mappedInput;
+
+	/** The size of the element pools, overriding the one of the model, -1 if not given. */
+	private int poolSize = -1;
+
+	/** The debug reporter shared by all compilations. */
+	private Reporter debugReporter = new NullReporter();
+
+	private boolean noEvents;
+	private boolean noDebugEvents;
+	private boolean emitProfiling;
+
+	/** Leave the generation date out of the generated files. */
+	private boolean deterministicOutput;
+
+	/** Reuse the code generated for unchanged actions in the last run. */
+	private boolean incremental;
+
+	/** The number of threads generating the code of the actions. */
+	private int generatorThreads = 1;
+
+	/** Check the declarations of the AST on the generator threads, too. */
+	private boolean parallelCheck;
+
+	/** enable ast printing */
+	private boolean dumpAST;
+
+	/** enable ir dumping */
+	private boolean dumpIR;
+
+	/** enable seperate rule dumping. */
+	private boolean dumpRules;
+
+	/** Print timing information. */
+	private boolean printTiming;
+
+	public String getBackend() {
+		return backend;
+	}
+
+	public void setBackend(String backend) {
+		this.backend = backend;
+	}
+
+	public File getOutputPath() {
+		return outputPath;
+	}
+
+	public void setOutputPath(File outputPath) {
+		this.outputPath = outputPath;
+	}
+
+	public File getModelCacheDir() {
+		return modelCacheDir;
+	}
+
+	public void setModelCacheDir(File modelCacheDir) {
+		this.modelCacheDir = modelCacheDir;
+	}
+
+	public boolean getMappedInput() {
+		return mappedInput;
+	}
+
+	public void setMappedInput(boolean mappedInput) {
+		this.mappedInput = mappedInput;
+	}
+
+	public int getPoolSize() {
+		return poolSize;
+	}
+
+	public void setPoolSize(int poolSize) {
+		this.poolSize = poolSize;
+	}
+
+	public Reporter getDebugReporter() {
+		return debugReporter;
+	}
+
+	public void setDebugReporter(Reporter debugReporter) {
+		this.debugReporter = debugReporter;
+	}
+
+	public boolean getNoEvents() {
+		return noEvents;
+	}
+
+	public void setNoEvents(boolean noEvents) {
+		this.noEvents = noEvents;
+	}
+
+	public boolean getNoDebugEvents() {
+		return noDebugEvents;
+	}
+
+	public void setNoDebugEvents(boolean noDebugEvents) {
+		this.noDebugEvents = noDebugEvents;
+	}
+
+	public boolean getEmitProfiling() {
+		return emitProfiling;
+	}
+
+	public void setEmitProfiling(boolean emitProfiling) {
+		this.emitProfiling = emitProfiling;
+	}
+
+	public boolean getDeterministicOutput() {
+		return deterministicOutput;
+	}
+
+	public void setDeterministicOutput(boolean deterministicOutput) {
+		this.deterministicOutput = deterministicOutput;
+	}
+
+	public boolean getIncremental() {
+		return incremental;
+	}
+
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	public int getGeneratorThreads() {
+		return generatorThreads;
+	}
+
+	public void setGeneratorThreads(int generatorThreads) {
+		this.generatorThreads = generatorThreads;
+	}
+
+	public boolean getParallelCheck() {
+		return parallelCheck;
+	}
+
+	public void setParallelCheck(boolean parallelCheck) {
+		this.parallelCheck = parallelCheck;
+	}
+
+	public boolean getDumpAST() {
+		return dumpAST;
+	}
+
+	public void setDumpAST(boolean dumpAST) {
+		this.dumpAST = dumpAST;
+	}
+
+	public boolean getDumpIR() {
+		return dumpIR;
+	}
+
+	public void setDumpIR(boolean dumpIR) {
+		this.dumpIR = dumpIR;
+	}
+
+	public boolean getDumpRules() {
+		return dumpRules;
+	}
+
+	public void setDumpRules(boolean dumpRules) {
+		this.dumpRules = dumpRules;
+	}
+
+	public boolean getPrintTiming() {
+		return printTiming;
+	}
+
+	public void setPrintTiming(boolean printTiming) {
+		this.printTiming = printTiming;
+	}
+
+	/**
+	 * Compile the given input files, writing the generated files to the default output path.
+	 * @param inputFileNames One .grg file and/or several .gm files.
+	 * @return The outcome of the compilation.
+	 */
+	public CompilationResult compile(String[] inputFileNames) {
+		return compile(inputFileNames, outputPath);
+	}
+
+	/**
+	 * Compile the given input files.
+	 * @param inputFileNames One .grg file and/or several .gm files.
+	 * @param outputPath The directory the generated files are written to.
+	 * @return The outcome of the compilation.
+	 */
+	public CompilationResult compile(String[] inputFileNames, File outputPath) {
+		CompilationContext context = new CompilationContext(this, inputFileNames, outputPath);
+		return context.compile();
+	}
+}
@@ -18,13 +18,21 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
-import java.io.OutputStream;
+import java.io.FileReader;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.prefs.Preferences;
 
 import javax.swing.BorderFactory;
@@ -39,28 +47,8 @@ import javax.swing.JTree;
 
 import jargs.gnu.CmdLineParser;
 
-import de.unika.ipd.grgen.ast.BaseNode;
-import de.unika.ipd.grgen.ast.CollectNode;
-import de.unika.ipd.grgen.ast.IdentNode;
-import de.unika.ipd.grgen.ast.ModelNode;
-import de.unika.ipd.grgen.ast.UnitNode;
-import de.unika.ipd.grgen.be.Backend;
-import de.unika.ipd.grgen.be.BackendFactory;
-import de.unika.ipd.grgen.ir.Dumper;
-import de.unika.ipd.grgen.ir.Unit;
-import de.unika.ipd.grgen.parser.antlr.GRParserEnvironment;
-import de.unika.ipd.grgen.util.Base;
-import de.unika.ipd.grgen.util.GraphDumpVisitor;
-import de.unika.ipd.grgen.util.GraphDumperFactory;
-import de.unika.ipd.grgen.util.NullOutputStream;
-import de.unika.ipd.grgen.util.PostWalker;
-import de.unika.ipd.grgen.util.PrePostWalker;
-import de.unika.ipd.grgen.util.VCGDumper;
-import de.unika.ipd.grgen.util.VCGDumperFactory;
-import de.unika.ipd.grgen.util.Walkable;
-import de.unika.ipd.grgen.util.XMLDumper;
+import de.unika.ipd.grgen.util.RecordedOutput;
 import de.unika.ipd.grgen.util.report.DebugReporter;
-import de.unika.ipd.grgen.util.report.ErrorReporter;
 import de.unika.ipd.grgen.util.report.Handler;
 import de.unika.ipd.grgen.util.report.NullReporter;
 import de.unika.ipd.grgen.util.report.Reporter;
@@ -71,13 +59,10 @@ import de.unika.ipd.grgen.util.report.TableHandler;
  * Main.java
  * Created: Wed Jul  2 11:22:43 2003
  */
-public class Main extends Base implements Sys {
+public class Main {
 
 	private String[] args;
 	private String[] inputFileNames;
-	private UnitNode root;
-	private Unit irUnit;
-	private ErrorReporter errorReporter;
 	private Reporter debugReporter;
 	private Handler debugHandler;
 
@@ -88,6 +73,18 @@ public class Main extends Base implements Sys {
 	
 	private boolean emitProfiling;
 
+	/** Leave the generation date out of the generated files. */
+	private boolean deterministicOutput;
+
+	/** Reuse the code generated for unchanged actions in the last run. */
+	private boolean incremental;
+
+	/** The number of threads generating the code of the actions. */
+	private int generatorThreads = 1;
+
+	/** Check the declarations of the AST on the generator threads, too. */
+	private boolean parallelCheck;
+
 	/** enable ast printing */
 	private boolean dumpAST;
 
@@ -112,6 +109,12 @@ public class Main extends Base implements Sys {
 	/** Backend to use. */
 	private String backend;
 
+	/** File listing the compilation units of a batch compilation (null, if no batch mode). */
+	private String batchFile;
+
+	/** Number of threads compiling the units of the batch file in parallel. */
+	private int jobs = 1;
+
 	/** support graphic output (meaning a 2d UI) */
 	private boolean graphic;
 
@@ -133,30 +136,26 @@ public class Main extends Base implements Sys {
 	/** Output path. */
 	private File outputPath = new File(".");
 
-	/** The path to the source files. */
-	private File sourcePath;
-
-	private File debugPath;
+	/** Directory of the persistent cache of lexed models (null, if models are not cached). */
+	private File modelCacheDir;
 
-	/** A file containing a path where the graph model can be searched. */
-	private File modelPath = null;
-
-	public File getModelPath() {
-		return modelPath;
-	}
+	/** Lex the input files memory-mapped, in windows shared among the included files, instead of reading each one into memory. */
+	private boolean mappedInput;
 
-	public ErrorReporter getErrorReporter() {
-		return errorReporter;
-	}
+	/** The size of the pools of the generated node and edge classes, overriding the one of the model (-1, if not given). */
+	private int poolSize = -1;
 
 	private void printUsage() {
 		System.out.println("usage: grgen [options] filenames");
+		System.out.println("       grgen [options] --batch=FILE");
 		System.out.println("filenames may consist of one .grg and multiple .gm files");
 		System.out.println("Options are:");
 		//System.out.println("  -n, --new-technology              enable immature features");
 		System.out.println("  -t, --timing                      print some timing stats");
 		System.out.println("  -d, --debug                       enable debugging");
 		System.out.println("  -r  --profile                     emit profiling instrumentation");
+		System.out.println("  -D, --deterministic               leave the generation date out of the generated files");
+		System.out.println("  -I, --incremental                 reuse the code of the actions unchanged since the last run");
 		System.out.println("  -a, --dump-ast                    dump the AST");
 		System.out.println("  -i, --dump-ir                     dump the intermidiate representation");
 		System.out.println("  -j, --dump-ir-rules               dump each ir rule in a seperate file");
@@ -167,8 +166,15 @@ public class Main extends Base implements Sys {
 		System.out.println("  -p, --prefs=FILE                  import preferences from FILE");
 		System.out.println("  -x, --prefs-export=FILE           export preferences to FILE");
 		System.out.println("  -o, --output=DIRECTORY            write generated files to DIRECTORY");
+		System.out.println("  -M, --model-cache=DIRECTORY       cache the lexed .gm files in DIRECTORY, reuse them while unchanged");
+		System.out.println("  -m, --mapped-input                lex the input files memory-mapped instead of read into memory (for large files)");
+		System.out.println("  -P, --pool-size=N                 pool up to N elements per node and edge class, 0 for no pools");
 		System.out.println("  -v, --noactionevents              the generated code may not fire action events");
 		System.out.println("  -e, --noattributeevents           the generated code may not fire attribute change events");
+		System.out.println("  -B, --batch=FILE                  compile each line of FILE (filenames, optionally -o DIRECTORY) in this JVM");
+		System.out.println("  -J, --jobs=N                      compile the lines of the batch FILE on N threads in parallel");
+		System.out.println("  -T, --generator-threads=N         process the IR and generate the code on N threads in parallel");
+		System.out.println("  -C, --parallel-check              check the declarations of the AST on the generator threads, too");
 	}
 
 	// TODO use or remove it
@@ -283,13 +289,6 @@ public class Main extends Base implements Sys {
 		}
 		else
 			debugReporter = new NullReporter();
-
-
-		// Main error reporter
-		errorReporter = new ErrorReporter();
-		errorReporter.addHandler(new StreamHandler(System.err));
-
-		Base.setReporters(debugReporter, errorReporter);
 	}
 
 	private void parseOptions() {
@@ -297,6 +296,8 @@ public class Main extends Base implements Sys {
 			CmdLineParser parser = new CmdLineParser();
 			CmdLineParser.Option debugOpt = parser.addBooleanOption('d', "debug");
 			CmdLineParser.Option profOpt = parser.addBooleanOption('r', "profile");
+			CmdLineParser.Option deterministicOpt = parser.addBooleanOption('D', "deterministic");
+			CmdLineParser.Option incrementalOpt = parser.addBooleanOption('I', "incremental");
 			CmdLineParser.Option astDumpOpt = parser.addBooleanOption('a', "dump-ast");
 			CmdLineParser.Option irDumpOpt = parser.addBooleanOption('i', "dump-ir");
 			CmdLineParser.Option ruleDumpOpt = parser.addBooleanOption('j', "dump-ir-rules");
@@ -319,6 +320,20 @@ public class Main extends Base implements Sys {
 				parser.addStringOption('x', "prefs-export");
 			CmdLineParser.Option optOutputPath =
 				parser.addStringOption('o', "output");
+			CmdLineParser.Option modelCacheOpt =
+				parser.addStringOption('M', "model-cache");
+			CmdLineParser.Option mappedInputOpt =
+				parser.addBooleanOption('m', "mapped-input");
+			CmdLineParser.Option poolSizeOpt =
+				parser.addIntegerOption('P', "pool-size");
+			CmdLineParser.Option batchOpt =
+				parser.addStringOption('B', "batch");
+			CmdLineParser.Option jobsOpt =
+				parser.addIntegerOption('J', "jobs");
+			CmdLineParser.Option generatorThreadsOpt =
+				parser.addIntegerOption('T', "generator-threads");
+			CmdLineParser.Option parallelCheckOpt =
+				parser.addBooleanOption('C', "parallel-check");
 
 			parser.parse(args);
 
@@ -338,6 +353,8 @@ public class Main extends Base implements Sys {
 			dumpRules = parser.getOptionValue(ruleDumpOpt) != null;
 			enableDebug = parser.getOptionValue(debugOpt) != null;
 			emitProfiling = parser.getOptionValue(profOpt) != null;
+			deterministicOutput = parser.getOptionValue(deterministicOpt) != null;
+			incremental = parser.getOptionValue(incrementalOpt) != null;
 			graphic = parser.getOptionValue(graphicOpt) != null;
 			printTiming = parser.getOptionValue(timeOpt) != null;
 			noEvents = parser.getOptionValue(noEventsOpt) != null;
@@ -353,11 +370,28 @@ public class Main extends Base implements Sys {
 			String s = (String) parser.getOptionValue(optOutputPath);
 			outputPath = new File(s != null ? s: System.getProperty("user.dir"));
 
+			String modelCache = (String) parser.getOptionValue(modelCacheOpt);
+			if(modelCache != null)
+				modelCacheDir = new File(modelCache);
+			mappedInput = parser.getOptionValue(mappedInputOpt) != null;
+			Integer poolSizeValue = (Integer) parser.getOptionValue(poolSizeOpt);
+			if(poolSizeValue != null)
+				poolSize = Math.max(0, poolSizeValue.intValue());
+
 			prefsImport = (String) parser.getOptionValue(prefsImportOpt);
 			prefsExport = (String) parser.getOptionValue(prefsExportOpt);
 
+			batchFile = (String) parser.getOptionValue(batchOpt);
+			Integer jobsValue = (Integer) parser.getOptionValue(jobsOpt);
+			if(jobsValue != null)
+				jobs = Math.max(1, jobsValue.intValue());
+			Integer generatorThreadsValue = (Integer) parser.getOptionValue(generatorThreadsOpt);
+			if(generatorThreadsValue != null)
+				generatorThreads = Math.max(1, generatorThreadsValue.intValue());
+			parallelCheck = parser.getOptionValue(parallelCheckOpt) != null;
+
 			inputFileNames = parser.getRemainingArgs();
-			if(inputFileNames.length == 0) {
+			if(inputFileNames.length == 0 && batchFile == null) {
 				printUsage();
 				System.exit(2);
 			}
@@ -369,180 +403,149 @@ public class Main extends Base implements Sys {
 		}
 	}
 
-	public boolean mayFireEvents() {
-		return !noEvents;
-	}
-
-	public boolean mayFireDebugEvents() {
-		return !noDebugEvents && !noEvents;
-	}
-
-	public boolean emitProfilingInstrumentation() {
-		return emitProfiling;
+	private GrGenCompiler createCompiler() {
+		GrGenCompiler compiler = new GrGenCompiler();
+		compiler.setBackend(backend);
+		compiler.setOutputPath(outputPath);
+		compiler.setModelCacheDir(modelCacheDir);
+		compiler.setMappedInput(mappedInput);
+		compiler.setPoolSize(poolSize);
+		compiler.setDebugReporter(debugReporter);
+		compiler.setNoEvents(noEvents);
+		compiler.setNoDebugEvents(noDebugEvents);
+		compiler.setEmitProfiling(emitProfiling);
+		compiler.setDeterministicOutput(deterministicOutput);
+		compiler.setIncremental(incremental);
+		compiler.setGeneratorThreads(generatorThreads);
+		compiler.setParallelCheck(parallelCheck);
+		compiler.setDumpAST(dumpAST);
+		compiler.setDumpIR(dumpIR);
+		compiler.setDumpRules(dumpRules);
+		compiler.setPrintTiming(printTiming);
+		return compiler;
 	}
 
-	public OutputStream createDebugFile(File file) {
-		debugPath.mkdirs();
-		File debFile = new File(debugPath, file.getName());
+	/**
+	 * Compile all units listed in the batch file one after another in this JVM.
+	 * Each non-empty line not starting with # gives the input files of one unit,
+	 * optionally with -o DIRECTORY for its output path.
+	 * @return The exit code: 0 if all units compiled successfully, 1 otherwise.
+	 */
+	private int runBatch(GrGenCompiler compiler) {
+		List<String[]> units = new ArrayList<String[]>();
+		List<File> outputPaths = new ArrayList<File>();
 		try {
-			return new BufferedOutputStream(new FileOutputStream(debFile));
-		} catch (FileNotFoundException e) {
-			errorReporter.error("cannot open debug file " + debFile.getPath());
-			return NullOutputStream.STREAM;
-		}
-	}
-
-	private boolean parseInput() {
-		boolean res = false;
-		boolean setDebugPath = true;	// use the first processed filename for the debug path
-
-		GRParserEnvironment env = new GRParserEnvironment(this);
-
-		// First process the .grg file, if one was specified
-		for(String inputFileName : inputFileNames)
-		{
-			File inputFile = new File(inputFileName);
-			String ext = getFileExt(inputFileName);
-			if(ext.equals("grg")) {
-				if(root != null) {
-					error.error("Only one .grg file may be specified!");
-					System.exit(-1);
+			BufferedReader reader = new BufferedReader(new FileReader(batchFile));
+			try {
+				String line;
+				while((line = reader.readLine()) != null) {
+					line = line.trim();
+					if(line.length() == 0 || line.startsWith("#"))
+						continue;
+
+					List<String> unitFileNames = new ArrayList<String>();
+					File unitOutputPath = outputPath;
+					String[] tokens = line.split("\\s+");
+					for(int i = 0; i < tokens.length; ++i) {
+						if(tokens[i].equals("-o") && i + 1 < tokens.length)
+							unitOutputPath = new File(tokens[++i]);
+						else
+							unitFileNames.add(tokens[i]);
+					}
+					units.add(unitFileNames.toArray(new String[unitFileNames.size()]));
+					outputPaths.add(unitOutputPath);
 				}
-				initPaths(inputFileName, inputFile, setDebugPath);
-				setDebugPath = false;
-
-				root = env.parseActions(inputFile);
+			} finally {
+				reader.close();
 			}
-			else if(!ext.equals("gm")) {
-				error.error("Input file with unknown extension: '" + ext + "'");
-				System.exit(-1);
-			}
-		}
-
-		// No .grg file given?
-		if(root == null) {
-			root = new UnitNode("NoGRGFileGiven", inputFileNames[0], env.getStdModel(),
-					new CollectNode<ModelNode>(), new CollectNode<IdentNode>(),
-					new CollectNode<IdentNode>(), new CollectNode<IdentNode>(),
-					new CollectNode<IdentNode>(), new CollectNode<IdentNode>(), 
-					new CollectNode<IdentNode>(), new CollectNode<IdentNode>());
+		} catch(IOException e) {
+			System.err.println("cannot read batch file: " + e.getMessage());
+			return 2;
 		}
 
-		// Now all .gm files
-		for(String inputFileName : inputFileNames)
-		{
-			File inputFile = new File(inputFileName);
-			if(getFileExt(inputFileName).equals("gm")) {
-				initPaths(inputFileName, inputFile, setDebugPath);
-				setDebugPath = false;
+		int failed = jobs > 1 ? compileParallel(compiler, units, outputPaths) : compileSequential(compiler, units, outputPaths);
 
-				ModelNode model = env.parseModel(inputFile);
-				root.addModel(model);
-			}
-		}
-		res = !env.hadError();
-
-		// Close main scope and fixup definitions
-		env.getCurrScope().leaveScope();
-
-		debug.report(NOTE, "result: " + res);
-		return res;
+		System.out.println("batch: " + units.size() + " units compiled, " + failed + " failed");
+		return failed > 0 ? 1 : 0;
 	}
 
-	private String getFileExt(String filename) {
-		int lastDot = filename.lastIndexOf('.');
-		int lastDirSep = filename.lastIndexOf(File.separatorChar);
-		if(lastDot == -1 || lastDirSep != -1 && lastDot < lastDirSep) {
-			error.error("The input file \"" + filename + "\" has no extension!");
-			System.exit(-1);
+	private int compileSequential(GrGenCompiler compiler, List<String[]> units, List<File> outputPaths) {
+		int failed = 0;
+		for(int i = 0; i < units.size(); ++i) {
+			CompilationResult result = compiler.compile(units.get(i), outputPaths.get(i));
+			if(!result.isSuccess())
+				++failed;
+			printBatchResult(result);
 		}
-		return filename.substring(lastDot + 1).toLowerCase();
+		return failed;
 	}
 
-	private void initPaths(String inputFileName, File inputFile, boolean setDebugPath) {
-		if(inputFileName.indexOf('/') != -1 || inputFileName.indexOf('\\') != -1)
-			sourcePath = inputFile.getAbsoluteFile().getParentFile();
-		else
-			sourcePath = new File(".");
-		if(setDebugPath)
-			debugPath = new File(sourcePath, inputFile.getName() + "_debug");
-		modelPath = sourcePath;
-	}
-
-	private void dumpVCG(Walkable node, GraphDumpVisitor visitor,
-						 String suffix) {
-
-		File file = new File(suffix + ".vcg");
-		OutputStream os = createDebugFile(file);
-
-		VCGDumper vcg = new VCGDumper(new PrintStream(os));
-		visitor.setDumper(vcg);
-		PrePostWalker walker = new PostWalker(visitor);
-		vcg.begin();
-		walker.reset();
-		walker.walk(node);
-		vcg.finish();
-	}
-
-
-	private void buildIR() {
-		irUnit = root.getUnit();
-	}
-
-	private void generateCode() {
-		assert backend != null : "backend must be set to generate code.";
-
-		try {
-			BackendFactory creator =
-				(BackendFactory) Class.forName(backend).newInstance();
-			Backend be = creator.getBackend();
-
-			be.init(irUnit, this, outputPath);
-			be.generate();
-			be.done();
-		} catch(ClassNotFoundException e) {
-			System.err.println("cannot locate backend class: " + backend);
-			System.exit(-1);
-		} catch(IllegalAccessException e) {
-			System.err.println("no rights to create backend class: " + backend);
-			System.exit(-1);
-		} catch(InstantiationException e) {
-			System.err.println("cannot create backend class: " + backend);
-			System.exit(-1);
-		} catch(Throwable e) {
-			System.err.println("unexpected exception occurred:");
-			e.printStackTrace();
-			System.exit(-1);
+	/**
+	 * Compiles the units on a pool of threads, each compilation in its own context.
+	 * The output of each unit is recorded and printed in input order
+	 * as soon as the unit and all units before it are compiled.
+	 * @return The number of units that failed to compile.
+	 */
+	private int compileParallel(final GrGenCompiler compiler, List<String[]> units, List<File> outputPaths) {
+		RecordedOutput.install();
+
+		ExecutorService pool = Executors.newFixedThreadPool(jobs);
+		List<Future<CompilationResult>> results = new ArrayList<Future<CompilationResult>>();
+		List<RecordedOutput> outputs = new ArrayList<RecordedOutput>();
+		for(int i = 0; i < units.size(); ++i) {
+			final String[] unit = units.get(i);
+			final File unitOutputPath = outputPaths.get(i);
+			final RecordedOutput output = new RecordedOutput();
+			outputs.add(output);
+			results.add(pool.submit(new Callable<CompilationResult>() {
+				public CompilationResult call() {
+					output.start();
+					try {
+						CompilationResult result = compiler.compile(unit, unitOutputPath);
+						printBatchResult(result);
+						return result;
+					} finally {
+						output.stop();
+					}
+				}
+			}));
 		}
+		pool.shutdown();
 
-
-		if (ErrorReporter.getErrorCount() > 0) {
-			if (ErrorReporter.getErrorCount() == 1)
-				System.err.println("There was " + ErrorReporter.getErrorCount() + " error");
-			else
-				System.err.println("There were " + ErrorReporter.getErrorCount() + " errors");
-
-			System.exit(-1);
+		int failed = 0;
+		for(int i = 0; i < units.size(); ++i) {
+			try {
+				if(!results.get(i).get().isSuccess())
+					++failed;
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				++failed;
+			} catch(ExecutionException e) {
+				e.getCause().printStackTrace();
+				++failed;
+			}
+			outputs.get(i).replay();
 		}
-		else if (ErrorReporter.getWarnCount() > 0){
-			if (ErrorReporter.getWarnCount() == 1)
-				System.err.println("There was " + ErrorReporter.getWarnCount() + " warning");
-			else
-				System.err.println("There were " + ErrorReporter.getWarnCount() + " warnings");
+		return failed;
+	}
+
+	private void printBatchResult(CompilationResult result) {
+		StringBuffer sb = new StringBuffer();
+		sb.append(result.getStatus());
+		while(sb.length() < 7)
+			sb.append(' ');
+		for(String inputFileName : result.getInputFileNames()) {
+			sb.append(inputFileName);
+			sb.append(' ');
 		}
+		System.out.println(sb.toString().trim());
 	}
 
 	/**
-	 * This is the main driver routine.
-	 * It pareses the input file, constructs the AST,
-	 * checks it, constructs the immediate representation and
-	 * emits the code.
+	 * Runs the compiler as requested on the command line.
+	 * @return The exit code of the program.
 	 */
-	private void run() {
-		long startUp, parse, manifest, buildIR, codeGen;
-
-		startUp = -System.currentTimeMillis();
-
+	private int run() {
 		parseOptions();
 		init();
 
@@ -552,86 +555,13 @@ public class Main extends Base implements Sys {
 		if(graphic)
 			makeMainFrame();
 
-		debug.report(NOTE, "working directory: " + System.getProperty("user.dir"));
-
-		startUp += System.currentTimeMillis();
-		parse = -System.currentTimeMillis();
-
-		debug.report(NOTE, "### Parse Input ###");
-		// parse the input file and exit, if there were errors
-		if(!parseInput()) {
-			debug.report(NOTE, "### ERROR in Parse Input. Exiting! ###");
-			System.exit(1);
-		}
-
-		parse += System.currentTimeMillis();
-		manifest = -System.currentTimeMillis();
-
-		debug.report(NOTE, "### Manifest AST ###");
-		if(!BaseNode.manifestAST(root)) {
-			if(dumpAST)
-				dumpVCG(root, new GraphDumpVisitor(), "error-ast");
-			debug.report(NOTE, "### ERROR in Manifest AST. Exiting! ###");
-			if(ErrorReporter.getErrorCount() == 0)
-				error.error("Unknown error occurred in \"Manifest AST\"!");
-			System.exit(1);
-		}
-
-		manifest += System.currentTimeMillis();
-
-		// Dump the rewritten AST.
-		if(dumpAST)
-			dumpVCG(root, new GraphDumpVisitor(), "ast");
-
-		/*
-		 // Do identifier resolution (Rewrites the AST)
-		 if(!BaseNode.resolveAST(root))
-		 System.exit(2);
-
-		 // Dump the rewritten AST.
-		 if(dumpAST)
-		 dumpVCG(root, new GraphDumpVisitor(), "ast");
-
-		 // Check the AST for consistency.
-		 if(!BaseNode.checkAST(root))
-		 System.exit(1);
-		 */
-
-		debug.report(NOTE, "### Build IR ###");
-		// Construct the Intermediate representation.
-		buildIR = -System.currentTimeMillis();
-		buildIR();
-		root = null; // throw away AST not needed any more -> reduce memory requirements
-		irUnit.postPatchIR();
-		irUnit.checkForEmptyPatternsInIterateds();
-		irUnit.checkForEmptySubpatternRecursions();
-		irUnit.checkForNeverSucceedingSubpatternRecursions();
-		irUnit.checkForMultipleRetypes();
-		irUnit.checkForMultipleDeletesOrRetypes();
-		irUnit.transmitExecUsageToRules();
-		irUnit.setDependencyLevelOfInterElementDependencies();
-		irUnit.resolvePatternLockedModifier();
-		irUnit.ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern();
-		irUnit.checkForRhsElementsUsedOnLhs();
-		buildIR += System.currentTimeMillis();
-
-		GraphDumperFactory factory = new VCGDumperFactory(this);
-		Dumper dumper = new Dumper(factory, true);
-
-		// Dump the IR.
-		if(dumpIR) {
-			dumper.dumpComplete(irUnit, "ir");
-
-			if(dumpRules)
-				dumper.dump(irUnit);
-
-
-			OutputStream os = createDebugFile(new File("ir.xml"));
-			PrintStream ps = new PrintStream(os);
-			XMLDumper xmlDumper = new XMLDumper(ps);
-			xmlDumper.dump(irUnit);
-			ps.flush();
-			ps.close();
+		GrGenCompiler compiler = createCompiler();
+		int exitCode;
+		if(batchFile != null) {
+			exitCode = runBatch(compiler);
+		} else {
+			CompilationResult result = compiler.compile(inputFileNames);
+			exitCode = result.getExitCode();
 		}
 
 		if(graphic && debugTree != null) {
@@ -639,30 +569,9 @@ public class Main extends Base implements Sys {
 			debugTree.expandRow(1);
 		}
 
-		if(ErrorReporter.getErrorCount()>0) {
-			debug.report(NOTE, "### ERROR during IR build. Exiting! ###");
-			System.exit(1);
-		}
-
-
-		debug.report(NOTE, "### Generate Code ###");
-		codeGen = -System.currentTimeMillis();
-		if(backend != null)
-			generateCode();
-		codeGen += System.currentTimeMillis();
-
-		debug.report(NOTE, "### done. ###");
-
-		if(printTiming) {
-			System.out.println("timing information (millis):");
-			System.out.println("start up: " + startUp);
-			System.out.println("parse:    " + parse);
-			System.out.println("manifest: " + manifest);
-			System.out.println("build IR: " + buildIR);
-			System.out.println("code gen: " + codeGen);
-		}
-
-		exportPrefs();
+		if(exitCode == 0)
+			exportPrefs();
+		return exitCode;
 	}
 
 	/**
@@ -709,7 +618,9 @@ public class Main extends Base implements Sys {
 	public static void main(String[] args) {
 		staticInit();
 		Main main = new Main(args);
-		main.run();
+		int exitCode = main.run();
+		if(exitCode != 0)
+			System.exit(exitCode);
 	}
 }
 
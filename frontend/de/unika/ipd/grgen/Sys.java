@@ -22,6 +22,15 @@ public interface Sys {
 
 	File getModelPath();
 
+	/** @return The directory of the persistent cache of lexed models, null if models are not cached. */
+	File getModelCacheDir();
+
+	/** @return Whether the input files are lexed memory-mapped, in windows shared among the included files, instead of being read into memory. */
+	boolean mappedInput();
+
+	/** @return The size of the pools of the generated node and edge classes, overriding the one of the model; -1 if not given. */
+	int getPoolSize();
+
 	ErrorReporter getErrorReporter();
 
 	OutputStream createDebugFile(File file);
@@ -30,5 +39,14 @@ public interface Sys {
 	boolean mayFireDebugEvents();
 	
 	boolean emitProfilingInstrumentation();
+
+	/** @return Whether the generated files are to be free of generation dates, so they only change with their content. */
+	boolean emitDeterministicOutput();
+
+	/** @return Whether the code of actions unchanged since the last run is to be taken from the fragment cache in the output directory. */
+	boolean generateIncrementally();
+
+	/** @return The number of threads generating the code of the actions in parallel. */
+	int getGeneratorThreads();
 }
 
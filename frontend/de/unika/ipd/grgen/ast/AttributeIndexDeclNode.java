@@ -17,12 +17,15 @@ import de.unika.ipd.grgen.ir.Entity;
 import de.unika.ipd.grgen.ir.IR;
 import de.unika.ipd.grgen.ir.InheritanceType;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Vector;
 
 
 /**
- * AST node class representing attribute index declarations
+ * AST node class representing attribute index declarations,
+ * over a single attribute or over a tuple of attributes (a composite index, ordered lexicographically)
  */
 public class AttributeIndexDeclNode extends IndexDeclNode {
 	static {
@@ -31,18 +34,21 @@ public class AttributeIndexDeclNode extends IndexDeclNode {
 
 	protected IdentNode typeUnresolved;
 	public TypeNode type;
-	protected IdentNode memberUnresolved;
-	public MemberDeclNode member;
+	protected CollectNode<IdentNode> membersUnresolved;
+	public CollectNode<MemberDeclNode> members;
+	public MemberDeclNode member; // the first (leading) attribute, the only one of a non-composite index
+	private boolean isHash;
 
 	private static final AttributeIndexTypeNode attributeIndexType =
 		new AttributeIndexTypeNode();
 
-	public AttributeIndexDeclNode(IdentNode id, IdentNode type, IdentNode member) {
+	public AttributeIndexDeclNode(IdentNode id, IdentNode type, CollectNode<IdentNode> members, boolean isHash) {
 		super(id, attributeIndexType);
+		this.isHash = isHash;
 		this.typeUnresolved = type;
 		becomeParent(this.typeUnresolved);
-		this.memberUnresolved = member;
-		becomeParent(this.memberUnresolved);
+		this.membersUnresolved = members;
+		becomeParent(this.membersUnresolved);
 	}
 
 	/** returns children of this node */
@@ -51,7 +57,7 @@ public class AttributeIndexDeclNode extends IndexDeclNode {
 		Vector<BaseNode> children = new Vector<BaseNode>();
 		children.add(ident);
 		children.add(getValidVersion(typeUnresolved, type));
-		children.add(getValidVersion(memberUnresolved, member));
+		children.add(getValidVersion(membersUnresolved, members));
 		return children;
 	}
 
@@ -61,7 +67,7 @@ public class AttributeIndexDeclNode extends IndexDeclNode {
 		Vector<String> childrenNames = new Vector<String>();
 		childrenNames.add("ident");
 		childrenNames.add("type");
-		childrenNames.add("member");
+		childrenNames.add("members");
 		return childrenNames;
 	}
 
@@ -85,18 +91,46 @@ public class AttributeIndexDeclNode extends IndexDeclNode {
 		}
 
 		ScopeOwner o = (ScopeOwner) type;
-		o.fixupDefinition(memberUnresolved);
-		member = memberResolver.resolve(memberUnresolved, this);
+		members = new CollectNode<MemberDeclNode>();
+		members.setCoords(membersUnresolved.getCoords());
+		for(IdentNode memberUnresolved : membersUnresolved.getChildren()) {
+			o.fixupDefinition(memberUnresolved);
+			MemberDeclNode resolvedMember = memberResolver.resolve(memberUnresolved, this);
+			if(resolvedMember == null)
+				return false;
+			members.addChild(resolvedMember);
+		}
+		becomeParent(members);
+		member = members.children.get(0);
 
-		return member != null;
+		return true;
 	}
 
 	/** @see de.unika.ipd.grgen.ast.BaseNode#resolveLocal() */
 	@Override
 	protected boolean checkLocal() {
+		for(int i = 0; i < members.children.size(); ++i) {
+			for(int j = 0; j < i; ++j) {
+				if(members.children.get(i) == members.children.get(j)) {
+					membersUnresolved.children.get(i).reportError("The attribute \"" + members.children.get(i).getIdentNode()
+							+ "\" is contained twice in the composite index \"" + getIdentNode() + "\"");
+					return false;
+				}
+			}
+		}
 		return true;
 	}
+
+	/** @return Whether this is a composite index over several attributes. */
+	public boolean isComposite() {
+		return members.children.size() > 1;
+	}
 	
+	/** @return Whether this is a hash index, supporting equality lookups only, no ordered access. */
+	public boolean isHash() {
+		return isHash;
+	}
+
 	@Override
 	public TypeNode getDeclType() {
 		assert isResolved();
@@ -106,8 +140,12 @@ public class AttributeIndexDeclNode extends IndexDeclNode {
 
 	@Override
 	protected IR constructIR() {
+		List<Entity> entities = new ArrayList<Entity>();
+		for(MemberDeclNode member : members.getChildren()) {
+			entities.add(member.checkIR(Entity.class));
+		}
 		AttributeIndex attributeIndex = new AttributeIndex(getIdentNode().toString(),
-				getIdentNode().getIdent(), type.checkIR(InheritanceType.class), member.checkIR(Entity.class));
+				getIdentNode().getIdent(), type.checkIR(InheritanceType.class), entities, isHash);
 		return attributeIndex;
 	}	
 }
@@ -12,6 +12,7 @@
 package de.unika.ipd.grgen.ast;
 
 import java.awt.Color;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -20,15 +21,18 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.unika.ipd.grgen.ir.IR;
 import de.unika.ipd.grgen.parser.Coords;
 import de.unika.ipd.grgen.parser.Scope;
 import de.unika.ipd.grgen.parser.Symbol;
 import de.unika.ipd.grgen.util.Base;
+import de.unika.ipd.grgen.util.GlobalTables;
 import de.unika.ipd.grgen.util.GraphDumpable;
 import de.unika.ipd.grgen.util.GraphDumper;
 import de.unika.ipd.grgen.util.Walkable;
+import de.unika.ipd.grgen.util.report.DebugMessage;
 
 /**
  * The base class for AST nodes.
@@ -56,13 +60,33 @@ public abstract class BaseNode extends Base
 	public static final int CONTEXT_PROCEDURE = 1<<7;
 	public static final int CONTEXT_METHOD = 1<<8;
 
+	/** The current scope, with which the scopes of the new BaseNodes are initialized. */
+	private static final GlobalTables.Table<Scope> currScope = new GlobalTables.Table<Scope>() {
+		@Override
+		protected Scope initialValue() {
+			return Scope.getInvalid();
+		}
+	};
+
+	/** Number of compilations started in this JVM. */
+	private static final AtomicInteger compilations = new AtomicInteger();
+
+	/** Number of the current compilation in this JVM, nodes are stamped with it. */
+	private static final GlobalTables.Table<Integer> currCompilation = new GlobalTables.Table<Integer>() {
+		@Override
+		protected Integer initialValue() {
+			return compilations.incrementAndGet();
+		}
+	};
+
 	/**
 	 * AST global name map, that maps from Class to String.
 	 * Needed as in some situations only the class object itself is available
-	 * (no instance objects of the class)
+	 * (no instance objects of the class);
+	 * synchronized as it is filled by the static initializers, which may run in different threads
 	 */
 	private static final Map<Class<? extends BaseNode>, String> names =
-		new HashMap<Class<? extends BaseNode>, String>();
+		Collections.synchronizedMap(new HashMap<Class<? extends BaseNode>, String>());
 
 	/** A dummy AST node used in case of an error */
 	private static final BaseNode NULL = new ErrorNode();
@@ -78,31 +102,65 @@ public abstract class BaseNode extends Base
 	private Coords coords = Coords.getInvalid();
 
 
-	/** The current scope, with which the scopes of the new BaseNodes are initialized. */
-	private static Scope currScope = Scope.getInvalid();
-
 	/** The scope in which this node occurred. */
 	private Scope scope;
 
 
-	/** The parent node of this node. */
-	protected Set<BaseNode> parents = new LinkedHashSet<BaseNode>();
+	/** The parent nodes of this node: null for none, the parent node if there is exactly one
+	 *  (the common case in the syntax tree), or a LinkedHashSet of the parents for the few nodes
+	 *  with multiple parents (syntax DAG). */
+	private Object parents = null;
+
+	/** The locks guarding the parents of the nodes, a node is guarded by the lock selected by its identity hash code;
+	 *  the model nodes may gain parents from the declarations checked in parallel, see {@link ParallelChecker}. */
+	private static final Object[] parentLocks = new Object[64];
+	static {
+		for(int i = 0; i < parentLocks.length; ++i) {
+			parentLocks[i] = new Object();
+		}
+	}
+
+	/** The compilation this node was created in.
+	 *  Nodes created by another compilation (the builtin types and the other static nodes)
+	 *  don't record parents of this one, so they don't keep its AST alive
+	 *  and are not modified by compilations running in parallel. */
+	private final int compilation = currCompilation.get();
+
 
+	/** The state of resolving and checking this node, a combination of the flags below. */
+	private byte walkState = 0;
 
 	/** Has this base node already been resolved? */
-	private boolean resolved = false;
+	private static final byte RESOLVED = 1;
 
 	/** The result of the resolution. */
-	private boolean resolveResult = false;
+	private static final byte RESOLVE_RESULT = 2;
 
 	/** Has this base node already been visited during check walk? */
-	private boolean checkVisited = false;
+	private static final byte CHECK_VISITED = 4;
 
 	/** Has this base node already been checked? */
-	private boolean checked = false;
+	private static final byte CHECKED = 8;
 
 	/** The result of the check, if checked. */
-	private boolean checkResult = false;
+	private static final byte CHECK_RESULT = 16;
+
+	/** A node on the explicit stack of the resolve or check walk, with its children still to be walked. */
+	private static final class WalkFrame {
+		/** The frames of nodes not to be walked (again), carrying the result only. */
+		static final WalkFrame SUCCEEDED = new WalkFrame(null, null, true);
+		static final WalkFrame FAILED = new WalkFrame(null, null, false);
+
+		final BaseNode node;
+		final Iterator<? extends BaseNode> children;
+		boolean successful;
+
+		WalkFrame(BaseNode node, Iterator<? extends BaseNode> children, boolean successful) {
+			this.node = node;
+			this.children = children;
+			this.successful = successful;
+		}
+	}
 
 
 	/** The IR object for this node. */
@@ -128,7 +186,7 @@ public abstract class BaseNode extends Base
 	 * {@link #setLocation(Location)}.
 	 */
 	protected BaseNode() {
-		this.scope = currScope;
+		this.scope = currScope.get();
 	}
 
 	/**
@@ -306,7 +364,7 @@ public abstract class BaseNode extends Base
 	 * @param scope The new current scope.
 	 */
 	public static void setCurrScope(Scope scope) {
-		currScope = scope;
+		currScope.set(scope);
 	}
 
 //////////////////////////////////////////////////////////////////////////////////////////
@@ -327,8 +385,58 @@ public abstract class BaseNode extends Base
 
 	/** helper: remove ourself as parent of child to throw out, become parent of child to adopt instead */
 	protected final void switchParenthood(BaseNode throwOut, BaseNode adopt) {
-		throwOut.parents.remove(this);
-		adopt.parents.add(this);
+		if(isOfSameCompilation(throwOut)) {
+			throwOut.removeParent(this);
+		}
+		if(isOfSameCompilation(adopt)) {
+			adopt.addParent(this);
+		}
+	}
+
+	/** helper: the lock guarding the parents of this node */
+	private Object getParentLock() {
+		return parentLocks[System.identityHashCode(this) & (parentLocks.length - 1)];
+	}
+
+	/** helper: add a parent to the parents of this node, if not contained yet */
+	@SuppressWarnings("unchecked")
+	private void addParent(BaseNode parent) {
+		synchronized(getParentLock()) {
+			if(parents == null) {
+				parents = parent;
+			} else if(parents instanceof BaseNode) {
+				if(parents == parent)
+					return;
+				Set<BaseNode> parentSet = new LinkedHashSet<BaseNode>(4);
+				parentSet.add((BaseNode)parents);
+				parentSet.add(parent);
+				parents = parentSet;
+			} else {
+				((Set<BaseNode>)parents).add(parent);
+			}
+		}
+	}
+
+	/** helper: remove a parent from the parents of this node */
+	@SuppressWarnings("unchecked")
+	private void removeParent(BaseNode parent) {
+		synchronized(getParentLock()) {
+			if(parents == parent) {
+				parents = null;
+			} else if(parents instanceof Set) {
+				((Set<BaseNode>)parents).remove(parent);
+			}
+		}
+	}
+
+	/** helper: was the given node created in the same compilation as this node? */
+	private boolean isOfSameCompilation(BaseNode node) {
+		return node.compilation == compilation;
+	}
+
+	/** Was this node created by the compilation running in the current thread? */
+	protected final boolean isOfCurrentCompilation() {
+		return compilation == currCompilation.get().intValue();
 	}
 
 	/**
@@ -336,8 +444,8 @@ public abstract class BaseNode extends Base
 	 * @return The given parameter
 	 **/
 	public final <T extends BaseNode> T becomeParent(T adopt) {
-		if(adopt!=null) {
-			adopt.parents.add(this);
+		if(adopt!=null && isOfSameCompilation(adopt)) {
+			((BaseNode)adopt).addParent(this); // no access to private members via the type variable
 		}
 		return adopt;
 	}
@@ -474,14 +582,27 @@ public abstract class BaseNode extends Base
 
 	/** Check whether this AST node is a root node (i.e. it has no predecessors)
 	 * @return true, if it's a root node, false, if not. */
+	@SuppressWarnings("unchecked")
 	protected final boolean isRoot() {
-		return parents.isEmpty();
+		synchronized(getParentLock()) {
+			if(parents instanceof Set)
+				return ((Set<BaseNode>)parents).isEmpty();
+			return parents == null;
+		}
 	}
 
 	/** Get the parent nodes of this node.
-	 * Mostly only one parent (syntax tree), few nodes with multiple parents (syntax DAG), root node without parents.*/
+	 * Mostly only one parent (syntax tree), few nodes with multiple parents (syntax DAG), root node without parents.
+	 * The multiple parents are returned as a snapshot, as parents may be added by other threads while checking in parallel.*/
+	@SuppressWarnings("unchecked")
 	protected final Collection<BaseNode> getParents() {
-		return Collections.unmodifiableCollection(parents);
+		synchronized(getParentLock()) {
+			if(parents == null)
+				return Collections.emptySet();
+			if(parents instanceof BaseNode)
+				return Collections.singleton((BaseNode)parents);
+			return Collections.unmodifiableCollection(new ArrayList<BaseNode>((Set<BaseNode>)parents));
+		}
 	}
 
 //////////////////////////////////////////////////////////////////////////////////////////
@@ -496,6 +617,21 @@ public abstract class BaseNode extends Base
 	 * @return true, if everything went right, false, if not.
 	 */
 	public static final boolean manifestAST(BaseNode node) {
+		return manifestAST(node, 1);
+	}
+
+	/**
+	 * Finish up the AST, checking the declarations of a unit in parallel if more than one thread is given.
+	 * @param node The root node of the AST.
+	 * @param threads The number of threads to check the AST on.
+	 * @return true, if everything went right, false, if not.
+	 */
+	public static final boolean manifestAST(BaseNode node, int threads) {
+		if(threads > 1 && node instanceof UnitNode) {
+			ParallelChecker checker = new ParallelChecker((UnitNode)node, threads);
+			return checker.resolve() && checker.check();
+		}
+
 		// resolve AST
 		boolean resolved = node.resolve();
 
@@ -507,35 +643,152 @@ public abstract class BaseNode extends Base
 		}
 	}
 
+	/** The debug messages of the resolve and check walks, only built when debugging. */
+	private static final DebugMessage<BaseNode> RESOLVE_IN = new DebugMessage<BaseNode>() {
+		public String format(BaseNode node) {
+			return "resolve in: " + node.getId() + "(" + node.getClass() + ")";
+		}
+	};
+	private static final DebugMessage<BaseNode> LOCAL_RESOLVE_ERROR = new DebugMessage<BaseNode>() {
+		public String format(BaseNode node) {
+			return "local resolve ERROR in " + node;
+		}
+	};
+	private static final DebugMessage<BaseNode> CHILD_RESOLVE_ERROR = new DebugMessage<BaseNode>() {
+		public String format(BaseNode node) {
+			return "child resolve ERROR in " + node;
+		}
+	};
+	private static final DebugMessage<BaseNode> CHECK_IN = new DebugMessage<BaseNode>() {
+		public String format(BaseNode node) {
+			return "check in: " + node.getId() + "(" + node.getClass() + ")";
+		}
+	};
+	private static final DebugMessage<BaseNode> CHILD_CHECK_ERROR = new DebugMessage<BaseNode>() {
+		public String format(BaseNode node) {
+			return "child check ERROR in " + node;
+		}
+	};
+	private static final DebugMessage<BaseNode> LOCAL_CHECK_ERROR = new DebugMessage<BaseNode>() {
+		public String format(BaseNode node) {
+			return "local check ERROR in " + node;
+		}
+	};
+
 	/**
 	 * Resolve the identifier nodes in the AST
 	 * f.ex. replace an identifier AST node representing a declared type by the declared type AST node.
 	 * Resolving is organized as a preorder walk over the AST.
 	 * The walk is implemented here once and for all, calling resolve on it's children;
 	 * first doing local resolve, then descending to the children
-	 * but only if the node was not yet visited during resolving (AST in reality a DAG, so it might happen)
+	 * but only if the node was not yet visited during resolving (AST in reality a DAG, so it might happen);
+	 * the walk uses an explicit stack instead of recursion, so deeply nested ASTs (e.g. long expressions)
+	 * don't overflow the call stack. The local step of a node is done under the lock of the node,
+	 * because the static nodes are shared by the compilations running in parallel.
 	 * @return true, if resolution of the AST beginning with this node finished successfully;
 	 * false, if there was some error.
 	 */
 	public final boolean resolve() {
+		int current = currCompilation.get().intValue();
+		if(compilation != current)
+			return resolveShared();
+
+		ParallelChecker checker = ParallelChecker.getResolving();
+		WalkFrame frame = enterResolve(checker);
+		if(frame.children == null)
+			return frame.successful;
+
+		ArrayList<WalkFrame> stack = new ArrayList<WalkFrame>();
+		stack.add(frame);
+		while(true) {
+			WalkFrame top = stack.get(stack.size() - 1);
+			if(top.children.hasNext()) {
+				BaseNode child = top.children.next();
+				if(child == null) {
+					top.successful = false;
+				} else if(child.compilation != current) {
+					top.successful &= child.resolveShared();
+				} else {
+					WalkFrame childFrame = child.enterResolve(checker);
+					if(childFrame.children == null)
+						top.successful &= childFrame.successful;
+					else
+						stack.add(childFrame);
+				}
+				continue;
+			}
+
+			stack.remove(stack.size() - 1);
+			top.node.leaveResolve(checker, top.successful);
+			if(stack.isEmpty())
+				return top.successful;
+			stack.get(stack.size() - 1).successful &= top.successful;
+		}
+	}
+
+	/**
+	 * Enter this node in the resolve walk, resolving it locally if it was not resolved before.
+	 * @return The frame to walk the children with, or a frame without children
+	 * carrying the result of the resolution if the node was already resolved.
+	 */
+	private synchronized WalkFrame enterResolve(ParallelChecker checker) {
 		if(isResolved()) {
+			if(checker != null)
+				checker.reachedResolved(this);
+			return resolutionResult() ? WalkFrame.SUCCEEDED : WalkFrame.FAILED;
+		}
+
+		if(checker != null)
+			checker.enterResolve(this);
+		debug.report(NOTE, getCoords(), RESOLVE_IN, this);
+		boolean successfullyResolved = resolveLocal();
+		nodeResolvedSetResult(successfullyResolved); // local result
+		if(!successfullyResolved) {
+			debug.report(NOTE, getCoords(), LOCAL_RESOLVE_ERROR, this);
+		}
+		return new WalkFrame(this, getChildren().iterator(), successfullyResolved);
+	}
+
+	/** Leave this node in the resolve walk, after its children were resolved. */
+	private void leaveResolve(ParallelChecker checker, boolean successfullyResolved) {
+		if(!successfullyResolved) {
+			debug.report(NOTE, getCoords(), CHILD_RESOLVE_ERROR, this);
+		}
+
+		if(checker != null)
+			checker.leaveResolve();
+	}
+
+	/**
+	 * Resolve a node of another compilation (a static node, i.e. a builtin type) recursively,
+	 * holding its lock while walking its few children.
+	 */
+	private synchronized boolean resolveShared() {
+		ParallelChecker checker = ParallelChecker.getResolving();
+		if(isResolved()) {
+			if(checker != null)
+				checker.reachedResolved(this);
 			return resolutionResult();
 		}
 
-		debug.report(NOTE, getCoords(), "resolve in: " + getId() + "(" + getClass() + ")");
+		if(checker != null)
+			checker.enterResolve(this);
+		debug.report(NOTE, getCoords(), RESOLVE_IN, this);
 		boolean successfullyResolved = resolveLocal();
 		nodeResolvedSetResult(successfullyResolved); // local result
 		if(!successfullyResolved) {
-			debug.report(NOTE, getCoords(), "local resolve ERROR in " + this);
+			debug.report(NOTE, getCoords(), LOCAL_RESOLVE_ERROR, this);
 		}
 
 		for(BaseNode c : getChildren())
 			successfullyResolved &= (c!=null) && c.resolve();
 
 		if(!successfullyResolved) {
-			debug.report(NOTE, getCoords(), "child resolve ERROR in " + this);
+			debug.report(NOTE, getCoords(), CHILD_RESOLVE_ERROR, this);
 		}
 
+		if(checker != null)
+			checker.leaveResolve();
 		return successfullyResolved;
 	}
 
@@ -549,19 +802,22 @@ public abstract class BaseNode extends Base
 
 	/** Mark this node as resolved and set the result of the resolution. */
 	private void nodeResolvedSetResult(boolean resolveResult) {
-		resolved = true;
-		this.resolveResult = resolveResult;
+		walkState |= RESOLVED;
+		if(resolveResult)
+			walkState |= RESOLVE_RESULT;
+		else
+			walkState &= ~RESOLVE_RESULT;
 	}
 
 	/** Returns whether this node has been resolved already. */
 	protected final boolean isResolved() {
-		return resolved;
+		return (walkState & RESOLVED) != 0;
 	}
 
 	/** Returns the result of the resolution (as set by nodeResolvedSetResult earlier on). */
 	public final boolean resolutionResult() {
 		assert isResolved() : this;
-		return resolveResult;
+		return (walkState & RESOLVE_RESULT) != 0;
 	}
 
 	/**
@@ -569,12 +825,97 @@ public abstract class BaseNode extends Base
 	 * Checking is organized as a postorder walk over the AST.
 	 * The walk is implemented here once and for all, calling check on it's children;
 	 * first descending to the children, then doing local checking
-	 * but only if the node was not yet visited during checking (AST in reality a DAG, so it might happen)
+	 * but only if the node was not yet visited during checking (AST in reality a DAG, so it might happen);
+	 * like the resolve walk it uses an explicit stack
 	 * @return true, if checking of the AST beginning with this node finished successfully;
 	 * false, if there was some error.
 	 */
 	protected final boolean check() {
-		debug.report(NOTE, getCoords(), "check in: " + getId() + "(" + getClass() + ")");
+		int current = currCompilation.get().intValue();
+		if(compilation != current)
+			return checkShared();
+
+		WalkFrame frame = enterCheck();
+		if(frame.children == null)
+			return frame.successful;
+
+		ArrayList<WalkFrame> stack = new ArrayList<WalkFrame>();
+		stack.add(frame);
+		while(true) {
+			WalkFrame top = stack.get(stack.size() - 1);
+			if(top.children.hasNext()) {
+				BaseNode child = top.children.next();
+				if(child.compilation != current) {
+					top.successful = child.checkShared() && top.successful;
+				} else {
+					WalkFrame childFrame = child.enterCheck();
+					if(childFrame.children == null)
+						top.successful = childFrame.successful && top.successful;
+					else
+						stack.add(childFrame);
+				}
+				continue;
+			}
+
+			stack.remove(stack.size() - 1);
+			boolean successfullyChecked = top.node.leaveCheck(top.successful);
+			if(stack.isEmpty())
+				return successfullyChecked;
+			WalkFrame parent = stack.get(stack.size() - 1);
+			parent.successful = successfullyChecked && parent.successful;
+		}
+	}
+
+	/**
+	 * Enter this node in the check walk.
+	 * @return The frame to walk the children with (none if the node was already visited),
+	 * or a frame without children carrying the result if the node is not to be checked (again).
+	 */
+	private synchronized WalkFrame enterCheck() {
+		debug.report(NOTE, getCoords(), CHECK_IN, this);
+
+		if(!resolutionResult()) {
+			return WalkFrame.FAILED;
+		}
+		if(isChecked()) {
+			return getChecked() ? WalkFrame.SUCCEEDED : WalkFrame.FAILED;
+		}
+
+		if(visitedDuringCheck()) {
+			Collection<BaseNode> none = Collections.emptyList();
+			return new WalkFrame(this, none.iterator(), true);
+		}
+		setCheckVisited();
+		return new WalkFrame(this, getChildren().iterator(), true);
+	}
+
+	/**
+	 * Leave this node in the check walk, checking it locally after its children.
+	 * The local check runs without holding the lock of the node, only the result is set under it;
+	 * a node of the current compilation is checked by one thread only, see {@link ParallelChecker}.
+	 * @return The result of checking the AST beginning with this node.
+	 */
+	private boolean leaveCheck(boolean successfullyChecked) {
+		if(!successfullyChecked)
+			debug.report(NOTE, getCoords(), CHILD_CHECK_ERROR, this);
+
+		boolean locallyChecked = checkLocal();
+		synchronized(this) {
+			nodeCheckedSetResult(locallyChecked);
+		}
+
+		if(!locallyChecked)
+			debug.report(NOTE, getCoords(), LOCAL_CHECK_ERROR, this);
+
+		return successfullyChecked && locallyChecked;
+	}
+
+	/**
+	 * Check a node of another compilation (a static node, i.e. a builtin type) recursively,
+	 * holding its lock while walking its few children.
+	 */
+	private synchronized boolean checkShared() {
+		debug.report(NOTE, getCoords(), CHECK_IN, this);
 
 		if(!resolutionResult()) {
 			return false;
@@ -592,13 +933,13 @@ public abstract class BaseNode extends Base
 		}
 
 		if(!successfullyChecked)
-			debug.report(NOTE, getCoords(), "child check ERROR in " + this);
+			debug.report(NOTE, getCoords(), CHILD_CHECK_ERROR, this);
 
 		boolean locallyChecked = checkLocal();
 		nodeCheckedSetResult(locallyChecked);
 
 		if(!locallyChecked)
-			debug.report(NOTE, getCoords(), "local check ERROR in " + this);
+			debug.report(NOTE, getCoords(), LOCAL_CHECK_ERROR, this);
 
 		return successfullyChecked && locallyChecked;
 	}
@@ -614,29 +955,32 @@ public abstract class BaseNode extends Base
 
 	/** Mark this node as checked and set the result of the check. */
 	protected final void nodeCheckedSetResult(boolean checkResult) {
-		checked = true;
-		this.checkResult = checkResult;
+		walkState |= CHECKED;
+		if(checkResult)
+			walkState |= CHECK_RESULT;
+		else
+			walkState &= ~CHECK_RESULT;
 	}
 
 	/** Has this node already been checked? */
 	protected final boolean isChecked() {
-		return checked;
+		return (walkState & CHECKED) != 0;
 	}
 
 	/** Yields result of checking this AST node */
 	protected final boolean getChecked() {
 		assert isChecked(): this;
-		return checkResult;
+		return (walkState & CHECK_RESULT) != 0;
 	}
 
 	/** Mark this node as visited during check walk. */
 	protected final void setCheckVisited() {
-		checkVisited = true;
+		walkState |= CHECK_VISITED;
 	}
 
 	/** Has this node already been visited during check? */
 	protected final boolean visitedDuringCheck() {
-		return checkVisited;
+		return (walkState & CHECK_VISITED) != 0;
 	}
 	
 	/*
@@ -657,11 +1001,13 @@ public abstract class BaseNode extends Base
 	 * better yet: move it to own pass before resolving
 	 */
 	public static boolean fixupDefinition(IdentNode id, Scope scope) {
-		debug.report(NOTE, "Fixup " + id + " in scope " + scope);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "Fixup " + id + " in scope " + scope);
 
 		// Get the definition of the ident's symbol local to the owned scope.
 		Symbol.Definition def = scope.getCurrDef(id.getSymbol());
-		debug.report(NOTE, "definition is: " + def);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "definition is: " + def);
 
 		// The result is true, if the definition's valid.
 		boolean res = def.isValid();
@@ -690,11 +1036,13 @@ public abstract class BaseNode extends Base
 		}
 		IdentNode id = (IdentNode)elem;
 		
-		debug.report(NOTE, "try Fixup " + id + " in scope " + scope);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "try Fixup " + id + " in scope " + scope);
 
 		// Get the definition of the ident's symbol local to the owned scope.
 		Symbol.Definition def = scope.getCurrDef(id.getSymbol());
-		debug.report(NOTE, "definition is: " + def);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "definition is: " + def);
 
 		// If this definition is valid, i.e. it exists,
 		// the definition of the ident is rewritten to this definition,
@@ -714,11 +1062,13 @@ public abstract class BaseNode extends Base
 	 * notice: getLocalDef here versus getCurrDef above
 	 */
 	protected static boolean fixupDefinition(IdentNode id, Scope scope, boolean reportErr) {
-		debug.report(NOTE, "Fixup " + id + " in scope " + scope);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "Fixup " + id + " in scope " + scope);
 
 		// Get the definition of the ident's symbol local to the owned scope.
 		Symbol.Definition def = scope.getLocalDef(id.getSymbol());
-		debug.report(NOTE, "definition is: " + def);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "definition is: " + def);
 
 		// The result is true, if the definition's valid.
 		boolean res = def.isValid();
@@ -746,10 +1096,11 @@ public abstract class BaseNode extends Base
 	 * This method gets the IR object, if it was already constructed.
 	 * If not, it calls {@link #constructIR()} to construct the
 	 * IR object and stores the result. This assures, that for each AST
-	 * node, {@link #constructIR()} is just called once.
+	 * node, {@link #constructIR()} is just called once, even for the static nodes
+	 * shared by the compilations running in parallel.
 	 * @return The constructed/stored IR object.
 	 */
-	public final IR getIR() {
+	public final synchronized IR getIR() {
 		if(irObject == null)
 			setIR(constructIR());
 		return irObject;
@@ -787,8 +1138,9 @@ public abstract class BaseNode extends Base
 	public final <T extends IR> T checkIR(Class<T> cls) {
 		IR ir = getIR();
 
-		debug.report(NOTE, getCoords(), "checking ir object in \"" + getName()
-						 + "\" should be \"" + cls + "\" is \"" + ir.getClass() + "\"");
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, getCoords(), "checking ir object in \"" + getName()
+							 + "\" should be \"" + cls + "\" is \"" + ir.getClass() + "\"");
 		assert cls.isInstance(ir) : "checking ir object in \"" + getName()
 			+ "\" should be \"" + cls + "\" is \"" + ir.getClass() + "\"";
 
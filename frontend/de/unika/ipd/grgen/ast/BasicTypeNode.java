@@ -143,6 +143,8 @@ public abstract class BasicTypeNode extends DeclaredTypeNode {
 		addCastability(doubleType, objectType);
 		addCastability(booleanType, objectType);
 		addCastability(stringType, objectType);
+
+		recordBuiltinCompatibilities();
 	}
 
 	/** returns children of this node */
@@ -127,11 +127,13 @@ public class CallActionNode extends BaseNode {
 			}
 			IdentNode id = (IdentNode)returnsUnresolved.children.get(i);
 
-			debug.report(NOTE, "Implicit definition for " + id + " in scope " + getScope());
+			if(debug.isReporting(NOTE))
+				debug.report(NOTE, "Implicit definition for " + id + " in scope " + getScope());
 
 			// Get the definition of the ident's symbol local to the owned scope.
 			Symbol.Definition def = getScope().getCurrDef(id.getSymbol());
-			debug.report(NOTE, "definition is: " + def);
+			if(debug.isReporting(NOTE))
+				debug.report(NOTE, "definition is: " + def);
 
 			// If this definition is valid, i.e. it exists, it will be used
 			// else, an ExecVarDeclNode of this name is added to the scope
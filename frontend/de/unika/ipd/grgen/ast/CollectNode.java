@@ -13,6 +13,7 @@ package de.unika.ipd.grgen.ast;
 
 import java.awt.Color;
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Vector;
 
 import de.unika.ipd.grgen.ast.containers.*;
@@ -31,7 +32,7 @@ public class CollectNode<T extends BaseNode> extends BaseNode {
 		setName(CollectNode.class, "collect");
 	}
 
-	public Vector<T> children = new Vector<T>();
+	public ArrayList<T> children = new ArrayList<T>();
 
 	public void addChild(T n) {
 		becomeParent(n);
@@ -11,7 +11,11 @@
 
 package de.unika.ipd.grgen.ast;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import de.unika.ipd.grgen.ir.exprevals.PrimitiveType;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 /**
  * Base class for all AST nodes representing declared types.
@@ -24,25 +28,42 @@ public abstract class DeclaredTypeNode extends TypeNode
 {
 	private DeclNode decl = null;
 
+	/** The declarations of the builtin types by the current compilation,
+	 *  each compilation declares them again in its own parser environment. */
+	private static final GlobalTables.Table<Map<DeclaredTypeNode, DeclNode>> declsOfSharedTypes =
+		new GlobalTables.Table<Map<DeclaredTypeNode, DeclNode>>() {
+			@Override
+			protected Map<DeclaredTypeNode, DeclNode> initialValue() {
+				return new HashMap<DeclaredTypeNode, DeclNode>();
+			}
+		};
+
 	/**
 	 * Get the identifier of the type declaration.
 	 * @return The identifier of the type declaration or an invalid
 	 * identifier, if the type declaration was not set.
 	 */
 	public IdentNode getIdentNode() {
+		DeclNode decl = getDecl();
 		return decl != null ? decl.getIdentNode() : IdentNode.getInvalid();
 	}
 
 	/** Set the declaration of this type.
 	 *  @param decl The declaration of this type. */
 	protected void setDecl(DeclNode decl) {
-		this.decl = decl;
+		if(isOfCurrentCompilation())
+			this.decl = decl;
+		else
+			declsOfSharedTypes.get().put(this, decl);
 	}
 
 	/** Get the declaration of this type
 	 * @return The declaration of this type. */
 	public DeclNode getDecl() {
-		return decl;
+		if(isOfCurrentCompilation())
+			return decl;
+		DeclNode declOfCompilation = declsOfSharedTypes.get().get(this);
+		return declOfCompilation != null ? declOfCompilation : decl;
 	}
 
 	protected PrimitiveType getPrimitiveType() {
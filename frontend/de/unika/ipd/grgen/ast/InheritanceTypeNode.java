@@ -14,6 +14,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Vector;
 
@@ -147,11 +148,11 @@ public abstract class InheritanceTypeNode extends CompoundTypeNode
 
 		for(int i = 0; i < constrs.size(); i++) {
 			ConstructorDeclNode c1 = constrs.get(i);
-			Vector<ConstructorParamNode> params1 = c1.getParameters().children;
+			List<ConstructorParamNode> params1 = c1.getParameters().children;
 			int numParams1 = params1.size();
 			for(int j = i + 1; j < constrs.size(); j++) {
 				ConstructorDeclNode c2 = constrs.get(j);
-				Vector<ConstructorParamNode> params2 = c2.getParameters().children;
+				List<ConstructorParamNode> params2 = c2.getParameters().children;
 				int numParams2 = params2.size();
 				int p = 0;
 				boolean ambiguous = false;
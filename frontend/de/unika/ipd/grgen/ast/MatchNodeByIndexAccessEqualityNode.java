@@ -10,7 +10,9 @@
  */
 package de.unika.ipd.grgen.ast;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Vector;
 
 import de.unika.ipd.grgen.ast.exprevals.*;
@@ -29,15 +31,15 @@ public class MatchNodeByIndexAccessEqualityNode extends NodeDeclNode implements
 
 	private IdentNode indexUnresolved;
 	private IndexDeclNode index;
-	private ExprNode expr;
+	private CollectNode<ExprNode> exprs;
 
 	public MatchNodeByIndexAccessEqualityNode(IdentNode id, BaseNode type, int context,
-			IdentNode index, ExprNode expr, PatternGraphNode directlyNestingLHSGraph) {
+			IdentNode index, CollectNode<ExprNode> exprs, PatternGraphNode directlyNestingLHSGraph) {
 		super(id, type, false, context, TypeExprNode.getEmpty(), directlyNestingLHSGraph);
 		this.indexUnresolved = index;
 		becomeParent(this.indexUnresolved);
-		this.expr = expr;
-		becomeParent(this.expr);
+		this.exprs = exprs;
+		becomeParent(this.exprs);
 	}
 
 	/** returns children of this node */
@@ -48,7 +50,7 @@ public class MatchNodeByIndexAccessEqualityNode extends NodeDeclNode implements
 		children.add(getValidVersion(typeUnresolved, typeNodeDecl, typeTypeDecl));
 		children.add(constraints);
 		children.add(getValidVersion(indexUnresolved, index));
-		children.add(expr);
+		children.add(exprs);
 		return children;
 	}
 
@@ -60,7 +62,7 @@ public class MatchNodeByIndexAccessEqualityNode extends NodeDeclNode implements
 		childrenNames.add("type");
 		childrenNames.add("constraints");
 		childrenNames.add("index");
-		childrenNames.add("expression");
+		childrenNames.add("expressions");
 		return childrenNames;
 	}
 
@@ -73,7 +75,7 @@ public class MatchNodeByIndexAccessEqualityNode extends NodeDeclNode implements
 		boolean successfullyResolved = super.resolveLocal();
 		index = indexResolver.resolve(indexUnresolved, this);
 		successfullyResolved &= index!=null;
-		successfullyResolved &= expr.resolve();
+		successfullyResolved &= exprs.resolve();
 		return successfullyResolved;
 	}
 
@@ -87,15 +89,23 @@ public class MatchNodeByIndexAccessEqualityNode extends NodeDeclNode implements
 		}
 		AttributeIndexDeclNode attributeIndex = index instanceof AttributeIndexDeclNode ? (AttributeIndexDeclNode)index : null;
 		IncidenceCountIndexDeclNode incidenceCountIndex = index instanceof IncidenceCountIndexDeclNode ? (IncidenceCountIndexDeclNode)index : null;
-		TypeNode expectedIndexAccessType = attributeIndex!=null ? attributeIndex.member.getDeclType() : IntTypeNode.intType;
-		TypeNode indexAccessType = expr.getType();
-		if(!indexAccessType.isCompatibleTo(expectedIndexAccessType)) {
-			String expTypeName = expectedIndexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)expectedIndexAccessType).getIdentNode().toString() : expectedIndexAccessType.toString();
-			String typeName = indexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)indexAccessType).getIdentNode().toString() : indexAccessType.toString();
-			ident.reportError("Cannot convert type used in accessing index from \""
-					+ typeName + "\" to \"" + expTypeName + "\" in match node by index access");
+		int expectedNumberOfValues = attributeIndex!=null ? attributeIndex.members.children.size() : 1;
+		if(exprs.children.size() != expectedNumberOfValues) {
+			ident.reportError("The index \"" + index.getIdentNode() + "\" requires " + expectedNumberOfValues
+					+ " value(s) for accessing it, one for each indexed attribute, but is given " + exprs.children.size() + " in match node by index access");
 			return false;
 		}
+		for(int i = 0; i < exprs.children.size(); ++i) {
+			TypeNode expectedIndexAccessType = attributeIndex!=null ? attributeIndex.members.children.get(i).getDeclType() : IntTypeNode.intType;
+			TypeNode indexAccessType = exprs.children.get(i).getType();
+			if(!indexAccessType.isCompatibleTo(expectedIndexAccessType)) {
+				String expTypeName = expectedIndexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)expectedIndexAccessType).getIdentNode().toString() : expectedIndexAccessType.toString();
+				String typeName = indexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)indexAccessType).getIdentNode().toString() : indexAccessType.toString();
+				ident.reportError("Cannot convert type used in accessing index from \""
+						+ typeName + "\" to \"" + expTypeName + "\" in match node by index access");
+				return false;
+			}
+		}
 		TypeNode expectedEntityType = getDeclType();
 		TypeNode entityType = attributeIndex!=null ? attributeIndex.type : incidenceCountIndex.getType();
 		if(!entityType.isCompatibleTo(expectedEntityType) && !expectedEntityType.isCompatibleTo(entityType)) {
@@ -117,8 +127,11 @@ public class MatchNodeByIndexAccessEqualityNode extends NodeDeclNode implements
 		} else{
 			setIR(node);
 		}
+		List<Expression> indexAccessExprs = new ArrayList<Expression>();
+		for(ExprNode expr : exprs.getChildren())
+			indexAccessExprs.add(expr.checkIR(Expression.class));
 		node.setIndex(new IndexAccessEquality(index.checkIR(Index.class), 
-				expr.checkIR(Expression.class)));
+				indexAccessExprs));
 		return node;
 	}
 }
@@ -108,6 +108,10 @@ public class MatchNodeByIndexAccessOrderingNode extends NodeDeclNode implements
 		}
 		AttributeIndexDeclNode attributeIndex = index instanceof AttributeIndexDeclNode ? (AttributeIndexDeclNode)index : null;
 		IncidenceCountIndexDeclNode incidenceCountIndex = index instanceof IncidenceCountIndexDeclNode ? (IncidenceCountIndexDeclNode)index : null;
+		if(attributeIndex!=null && attributeIndex.isHash()) {
+			reportError("The hash index \"" + attributeIndex.getIdentNode() + "\" does not support ordered access (ascending, descending)");
+			return false;
+		}
 		if(expr!=null) {
 			TypeNode expectedIndexAccessType = attributeIndex!=null ? attributeIndex.member.getDeclType() : IntTypeNode.intType;
 			TypeNode indexAccessType = expr.getType();
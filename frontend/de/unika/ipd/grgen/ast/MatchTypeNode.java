@@ -19,6 +19,7 @@ import de.unika.ipd.grgen.ast.util.DeclarationResolver;
 import de.unika.ipd.grgen.ir.IR;
 import de.unika.ipd.grgen.ir.MatchType;
 import de.unika.ipd.grgen.ir.Rule;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class MatchTypeNode extends DeclaredTypeNode {
 	static {
@@ -30,16 +31,25 @@ public class MatchTypeNode extends DeclaredTypeNode {
 		return "match<" + actionUnresolved.toString() + "> type";
 	}
 
-	private static HashMap<String, MatchTypeNode> matchTypes = new HashMap<String, MatchTypeNode>();
+	private static final GlobalTables.Table<HashMap<String, MatchTypeNode>> matchTypes =
+		new GlobalTables.Table<HashMap<String, MatchTypeNode>>(true) { // written by the parallel check
+			@Override
+			protected HashMap<String, MatchTypeNode> initialValue() {
+				return new HashMap<String, MatchTypeNode>();
+			}
+		};
 
 	public static MatchTypeNode getMatchType(IdentNode valueTypeIdent) {
 		String keyStr = valueTypeIdent.toString();
-		MatchTypeNode matchTypeNode = matchTypes.get(keyStr);
+		HashMap<String, MatchTypeNode> types = matchTypes.get();
+		synchronized(types) { // the declarations may be checked in parallel
+			MatchTypeNode matchTypeNode = types.get(keyStr);
 
-		if(matchTypeNode == null)
-			matchTypes.put(keyStr, matchTypeNode = new MatchTypeNode(valueTypeIdent));
+			if(matchTypeNode == null)
+				types.put(keyStr, matchTypeNode = new MatchTypeNode(valueTypeIdent));
 
-		return matchTypeNode;
+			return matchTypeNode;
+		}
 	}
 
 	private IdentNode actionUnresolved;
@@ -57,6 +57,7 @@ public class ModelNode extends DeclNode {
 	private boolean isUniqueDefined;
 	private boolean isUniqueIndexDefined;
 	private int isoParallel;
+	private int poolSize;
 
 	public ModelNode(IdentNode id, CollectNode<IdentNode> packages, CollectNode<IdentNode> decls, 
 			CollectNode<IdentNode> externalFuncs, CollectNode<IdentNode> externalProcs, 
@@ -64,7 +65,7 @@ public class ModelNode extends DeclNode {
 			boolean isEmitClassDefined, boolean isEmitGraphClassDefined, boolean isCopyClassDefined,
 			boolean isEqualClassDefined, boolean isLowerClassDefined,
 			boolean isUniqueDefined, boolean isUniqueIndexDefined,
-			int isoParallel) {
+			int isoParallel, int poolSize) {
 		super(id, modelType);
 
 		this.packagesUnresolved = packages;
@@ -87,6 +88,7 @@ public class ModelNode extends DeclNode {
 		this.isUniqueDefined = isUniqueDefined;
 		this.isUniqueIndexDefined = isUniqueIndexDefined;
 		this.isoParallel = isoParallel;
+		this.poolSize = poolSize;
 	}
 
 	/** returns children of this node */
@@ -198,6 +200,11 @@ public class ModelNode extends DeclNode {
 		return isoParallel;
 	}
 
+	/** @return The size of the element pools declared by "node edge pool[size=k];", -1 if not declared. */
+	public int PoolSize() {
+		return poolSize;
+	}
+
 	public CollectNode<TypeDeclNode> getTypeDecls() {
 		return decls;
 	}
@@ -230,7 +237,7 @@ public class ModelNode extends DeclNode {
 				isEmitGraphClassDefined, isCopyClassDefined, 
 				isEqualClassDefined, isLowerClassDefined, 
 				isUniqueDefined, isUniqueIndexDefined,
-				isoParallel);
+				isoParallel, poolSize);
 		for(ModelNode model : usedModels.getChildren())
 			res.addUsedModel(model.getModel());
 		for(TypeDeclNode typeDecl : packages.getChildren()) {
@@ -0,0 +1,287 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import de.unika.ipd.grgen.util.Base;
+import de.unika.ipd.grgen.util.CompilationThreadPool;
+import de.unika.ipd.grgen.util.GlobalTables;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+import de.unika.ipd.grgen.util.report.RecordingErrorReporter;
+
+/**
+ * Resolves the AST of a unit, then checks it with the top-level declarations (subpatterns, actions,
+ * filter functions, functions, procedures, sequences, packages) checked in parallel.
+ * The check walk follows the children as the resolve walk does, so a node is reached first
+ * by the declaration that reached it first while resolving; the resolve walk records this declaration
+ * as the owner of the node, and for each declaration the earlier declarations owning nodes it reaches.
+ * A declaration is checked once the declarations it depends on this way are checked,
+ * so each node is checked by the declaration checking it in the sequential check walk,
+ * and the messages are reported in the order of the sequential check walk.
+ * The models are checked first, and the caches of their types filled, as they are shared by all declarations;
+ * if the models are erroneous, or the owners could not be determined, the declarations are checked sequentially.
+ * Only used with -C/--parallel-check, the sequential check is the default.
+ */
+class ParallelChecker {
+
+	/** The checker tracking the resolve walk of the compilation running in the current thread, null if none. */
+	private static final GlobalTables.Table<ParallelChecker> resolving = new GlobalTables.Table<ParallelChecker>() {
+		@Override
+		protected ParallelChecker initialValue() {
+			return null;
+		}
+	};
+
+	/** The owner of a node not resolved during the walk over the unit. */
+	private static final int NO_OWNER = 0;
+
+	/** The owner of the nodes resolved while walking the models. */
+	private static final int MODELS = -1;
+
+	/** The owner of the nodes resolved while walking the unit, outside of the models and declarations. */
+	private static final int UNIT = -2;
+
+	private final UnitNode unit;
+	private final int threads;
+
+	/** The top-level declarations in the order of the walks. */
+	private final List<BaseNode> decls = new ArrayList<BaseNode>();
+
+	/** The earlier declarations owning nodes reached by a declaration. */
+	private final List<HashSet<Integer>> dependencies = new ArrayList<HashSet<Integer>>();
+
+	/** The owners of the nodes by their id number: one of the constants above, or the index of the declaration plus one. */
+	private int[] owners = new int[1024];
+
+	/** The depth of the resolve walk, the unit is at depth 0, its collect nodes at depth 1. */
+	private int depth = 0;
+
+	/** The owner of the nodes resolved now, the index of the declaration or one of the constants above. */
+	private int currentOwner = UNIT;
+
+	/** Is the resolve walk in one of the collect nodes of the declarations? */
+	private boolean inDecls = false;
+
+	/** Was a node reached whose owner could not be determined? */
+	private boolean ownersIncomplete = false;
+
+	ParallelChecker(UnitNode unit, int threads) {
+		this.unit = unit;
+		this.threads = threads;
+	}
+
+	/** @return The checker tracking the resolve walk of the compilation running in the current thread, null if none. */
+	static ParallelChecker getResolving() {
+		return resolving.get();
+	}
+
+	/**
+	 * Resolve the AST of the unit, recording the owners of the nodes.
+	 * @return true, if resolution finished successfully; false, if there was some error.
+	 */
+	boolean resolve() {
+		resolving.set(this);
+		try {
+			return unit.resolve();
+		} finally {
+			resolving.set(null);
+		}
+	}
+
+	/** Called by the resolve walk when entering a node not resolved yet. */
+	void enterResolve(BaseNode node) {
+		if(depth == 1) {
+			if(node == unit.getModels()) {
+				currentOwner = MODELS;
+				inDecls = false;
+			} else {
+				currentOwner = UNIT;
+				inDecls = unit.getChildren().contains(node);
+			}
+		} else if(depth == 2 && inDecls) {
+			addDecl(node);
+		}
+		if(node.isOfCurrentCompilation())
+			setOwner(node, currentOwner);
+		++depth;
+	}
+
+	/** Called by the resolve walk when leaving a node entered before. */
+	void leaveResolve() {
+		--depth;
+	}
+
+	/** Called by the resolve walk when reaching a node already resolved. */
+	void reachedResolved(BaseNode node) {
+		if(depth == 2 && inDecls)
+			addDecl(node);
+		if(currentOwner < 0 || !node.isOfCurrentCompilation())
+			return;
+
+		int owner = getOwner(node);
+		if(owner > 0) {
+			if(owner - 1 != currentOwner)
+				dependencies.get(currentOwner).add(owner - 1);
+		} else if(owner != MODELS) {
+			ownersIncomplete = true; // would be checked by whichever declaration reaches it first
+		}
+	}
+
+	private void addDecl(BaseNode decl) {
+		currentOwner = decls.size();
+		decls.add(decl);
+		dependencies.add(new HashSet<Integer>());
+	}
+
+	private void setOwner(BaseNode node, int owner) {
+		int idNumber = node.getIdNumber();
+		if(idNumber >= owners.length)
+			owners = Arrays.copyOf(owners, Math.max(owners.length * 2, idNumber + 1));
+		owners[idNumber] = owner >= 0 ? owner + 1 : owner;
+	}
+
+	private int getOwner(BaseNode node) {
+		int idNumber = node.getIdNumber();
+		return idNumber < owners.length ? owners[idNumber] : NO_OWNER;
+	}
+
+	/**
+	 * Check the AST of the unit, after it was resolved successfully by {@link #resolve()}.
+	 * @return true, if checking finished successfully; false, if there was some error.
+	 */
+	boolean check() {
+		owners = null;
+
+		if(!unit.getModels().check()) {
+			// the caches of erroneous models can't be filled (e.g. cyclic inheritance)
+			unit.check();
+			return false;
+		}
+		if(ownersIncomplete)
+			return unit.check();
+
+		fillModelCaches();
+		boolean successfullyChecked = checkDecls();
+
+		// check the collect nodes and the unit itself, the declarations are already checked
+		return unit.check() && successfullyChecked;
+	}
+
+	/**
+	 * Fill the lazily computed caches of the model types, before they are accessed by the threads;
+	 * and the invalid pattern, which is created on first use.
+	 */
+	private void fillModelCaches() {
+		PatternGraphNode.getInvalid();
+
+		IdentityHashMap<BaseNode, BaseNode> visited = new IdentityHashMap<BaseNode, BaseNode>();
+		List<BaseNode> stack = new ArrayList<BaseNode>();
+		stack.add(unit.getModels());
+		while(!stack.isEmpty()) {
+			BaseNode node = stack.remove(stack.size() - 1);
+			if(node == null || visited.put(node, node) != null || !node.isOfCurrentCompilation())
+				continue; // the nodes of other compilations (the builtin types) are left as they are
+
+			if(node instanceof TypeNode) {
+				TypeNode type = (TypeNode)node;
+				type.getCompatibleToTypes();
+				type.getCastableToTypes();
+			}
+			if(node instanceof InheritanceTypeNode) {
+				InheritanceTypeNode type = (InheritanceTypeNode)node;
+				type.getAllSuperTypes();
+				type.getAllSubTypes();
+			}
+
+			stack.addAll(node.getChildren());
+		}
+	}
+
+	/**
+	 * Check the declarations on the threads, each one as soon as the declarations it depends on are checked,
+	 * then report their messages in declaration order.
+	 * @return true, if all declarations were checked successfully.
+	 */
+	private boolean checkDecls() {
+		List<List<Integer>> dependentDecls = new ArrayList<List<Integer>>();
+		int[] dependencyCount = new int[decls.size()];
+		List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+		RecordingErrorReporter[] messages = new RecordingErrorReporter[decls.size()];
+		for(int d = 0; d < decls.size(); ++d) {
+			dependentDecls.add(new ArrayList<Integer>());
+			results.add(null);
+			messages[d] = new RecordingErrorReporter();
+		}
+		for(int d = 0; d < decls.size(); ++d) {
+			for(Integer dependency : dependencies.get(d)) {
+				dependentDecls.get(dependency).add(d);
+			}
+			dependencyCount[d] = dependencies.get(d).size();
+		}
+
+		LinkedBlockingQueue<Integer> completed = new LinkedBlockingQueue<Integer>();
+		CompilationThreadPool pool = new CompilationThreadPool(threads);
+		try {
+			for(int d = 0; d < decls.size(); ++d) {
+				if(dependencyCount[d] == 0)
+					results.set(d, pool.submit(createCheckTask(d, messages[d], completed)));
+			}
+			for(int done = 0; done < decls.size(); ++done) {
+				int d = takeCompleted(completed);
+				for(int dependent : dependentDecls.get(d)) {
+					if(--dependencyCount[dependent] == 0)
+						results.set(dependent, pool.submit(createCheckTask(dependent, messages[dependent], completed)));
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		ErrorReporter reporter = Base.error.getCurrent();
+		boolean successfullyChecked = true;
+		for(int d = 0; d < decls.size(); ++d) {
+			messages[d].replayTo(reporter);
+			successfullyChecked &= CompilationThreadPool.getResult(results.get(d)).booleanValue();
+		}
+		return successfullyChecked;
+	}
+
+	private Callable<Boolean> createCheckTask(final int d, final RecordingErrorReporter messages,
+			final LinkedBlockingQueue<Integer> completed) {
+		final BaseNode decl = decls.get(d);
+		return new Callable<Boolean>() {
+			public Boolean call() {
+				ErrorReporter reporter = Base.error.getCurrent();
+				Base.error.setCurrent(messages);
+				try {
+					return Boolean.valueOf(decl.check());
+				} finally {
+					Base.error.setCurrent(reporter);
+					completed.add(d);
+				}
+			}
+		};
+	}
+
+	private static int takeCompleted(LinkedBlockingQueue<Integer> completed) {
+		try {
+			return completed.take().intValue();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("interrupted while waiting for a helper thread");
+		}
+	}
+}
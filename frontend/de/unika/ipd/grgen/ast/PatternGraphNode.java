@@ -15,7 +15,6 @@ package de.unika.ipd.grgen.ast;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -45,6 +44,7 @@ import de.unika.ipd.grgen.ir.SubpatternUsage;
 import de.unika.ipd.grgen.ir.exprevals.Typeof;
 import de.unika.ipd.grgen.parser.Coords;
 import de.unika.ipd.grgen.parser.SymbolTable;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 
 /**
@@ -123,14 +123,19 @@ public class PatternGraphNode extends GraphNode {
 	// it might break the iterated instead of only the current iterated case, if specified
 	public boolean iterationBreaking = false;
 	
-	private static PatternGraphNode invalid;
+	private static final GlobalTables.Table<PatternGraphNode> invalid = new GlobalTables.Table<PatternGraphNode>() {
+		@Override
+		protected PatternGraphNode initialValue() {
+			return null;
+		}
+	};
 	
 	// invalid pattern node just needed for the isGlobalVariable checks, 
 	// so that computations stuff that doesn't have a pattern graph is not classified as global 
 	public static PatternGraphNode getInvalid()
 	{
-		if(invalid==null) {
-			invalid = new PatternGraphNode("invalid", Coords.getInvalid(), 
+		if(invalid.get()==null) {
+			invalid.set(new PatternGraphNode("invalid", Coords.getInvalid(), 
 					null, null, 
 					null, 
 					null, null, 
@@ -141,9 +146,9 @@ public class PatternGraphNode extends GraphNode {
 					null, 
 					null, null,
 					null, null,
-					0, BaseNode.CONTEXT_COMPUTATION);
+					0, BaseNode.CONTEXT_COMPUTATION));
 		}
-		return invalid;		
+		return invalid.get();
 	}
 	
 
@@ -665,8 +670,8 @@ public class PatternGraphNode extends GraphNode {
 		
 		// generate type conditions from dynamic type checks via typeof
 		// add elements only mentioned in typeof to the pattern
-		Set<Node> nodesToAdd = new HashSet<Node>();
-		Set<Edge> edgesToAdd = new HashSet<Edge>();
+		Set<Node> nodesToAdd = new LinkedHashSet<Node>();
+		Set<Edge> edgesToAdd = new LinkedHashSet<Edge>();
 		for (GraphEntity n : gr.getNodes()) {
 			genTypeCondsFromTypeof(gr, n);
 			
@@ -701,7 +706,7 @@ public class PatternGraphNode extends GraphNode {
 		for (Set<ConstraintDeclNode> homSet : getHoms()) {
             // homSet is not empty
 			if (homSet.iterator().next() instanceof NodeDeclNode) {
-				HashSet<Node> homSetIR = new HashSet<Node>();
+				LinkedHashSet<Node> homSetIR = new LinkedHashSet<Node>();
 	    		for (DeclNode decl : homSet) {
 	    			homSetIR.add(decl.checkIR(Node.class));
 	    		}
@@ -709,7 +714,7 @@ public class PatternGraphNode extends GraphNode {
             }
 			// homSet is not empty
             if (homSet.iterator().next() instanceof EdgeDeclNode) {
-				HashSet<Edge> homSetIR = new HashSet<Edge>();
+				LinkedHashSet<Edge> homSetIR = new LinkedHashSet<Edge>();
 	    		for (DeclNode decl : homSet) {
 	    			homSetIR.add(decl.checkIR(Edge.class));
 	    		}
@@ -732,13 +737,13 @@ public class PatternGraphNode extends GraphNode {
 
 		for (TotallyHomNode hom : totallyHoms.getChildren()) {
 			if(hom.node!=null) {
-				HashSet<Node> homSetIR = new HashSet<Node>();
+				LinkedHashSet<Node> homSetIR = new LinkedHashSet<Node>();
 				for(NodeDeclNode iso : hom.childrenNode) {
 					homSetIR.add(iso.checkIR(Node.class));
 				}
 				gr.addTotallyHomomorphic(hom.node.checkIR(Node.class), homSetIR);
 			} else {
-				HashSet<Edge> homSetIR = new HashSet<Edge>();
+				LinkedHashSet<Edge> homSetIR = new LinkedHashSet<Edge>();
 				for(EdgeDeclNode iso : hom.childrenEdge) {
 					homSetIR.add(iso.checkIR(Edge.class));
 				}
@@ -913,9 +918,9 @@ public class PatternGraphNode extends GraphNode {
 		Set<Set<ConstraintDeclNode>> ret = new LinkedHashSet<Set<ConstraintDeclNode>>();
 		if (isIdentification()) {
     		// homs between deleted entities
-    		HashSet<ConstraintDeclNode> deleteHomSet = new HashSet<ConstraintDeclNode>();
+    		LinkedHashSet<ConstraintDeclNode> deleteHomSet = new LinkedHashSet<ConstraintDeclNode>();
     		// homs between reused entities
-    		HashSet<ConstraintDeclNode> reuseHomSet = new HashSet<ConstraintDeclNode>();
+    		LinkedHashSet<ConstraintDeclNode> reuseHomSet = new LinkedHashSet<ConstraintDeclNode>();
 
     		for (BaseNode m : homChildren) {
     			ConstraintDeclNode decl = (ConstraintDeclNode) m;
@@ -1252,7 +1257,7 @@ public class PatternGraphNode extends GraphNode {
 			singleNodeNegNodes.add(node);
 			Set<NodeDeclNode> homSet = getHomomorphic(node);
 			if (!singleNodeNegMap.containsKey(homSet)) {
-				Set<ConnectionNode> edgeSet = new HashSet<ConnectionNode>();
+				Set<ConnectionNode> edgeSet = new LinkedHashSet<ConnectionNode>();
 				singleNodeNegMap.put(homSet, edgeSet);
 			}
 		}
@@ -12,6 +12,7 @@
 package de.unika.ipd.grgen.ast;
 
 import de.unika.ipd.grgen.ir.Type;
+import de.unika.ipd.grgen.util.GlobalTables;
 import java.awt.Color;
 import java.util.Collection;
 import java.util.Collections;
@@ -23,15 +24,30 @@ import java.util.Map;
  * Base class for all AST nodes representing types.
  */
 public abstract class TypeNode extends BaseNode {
+	/** The compatibility and castability maps as they are after the basic types
+	 *  were registered, i.e. before any compilation added its own types. */
+	private static Map<TypeNode, HashSet<TypeNode>> builtinCompatibleMap;
+	private static Map<TypeNode, HashSet<TypeNode>> builtinCastableMap;
+
 	/** A map, that maps each basic type to a set of all other basic types,
-	 *  that are compatible to the type. */
-	private static final Map<TypeNode, HashSet<TypeNode>> compatibleMap =
-		new HashMap<TypeNode, HashSet<TypeNode>>();
+	 *  that are compatible to the type; each compilation starts with the builtin ones. */
+	private static final GlobalTables.Table<Map<TypeNode, HashSet<TypeNode>>> compatibleMap =
+		new GlobalTables.Table<Map<TypeNode, HashSet<TypeNode>>>() {
+			@Override
+			protected Map<TypeNode, HashSet<TypeNode>> initialValue() {
+				return copyTypeMap(builtinCompatibleMap);
+			}
+		};
 
 	/** A map, that maps each type to a set of all other types,
-	 * that are castable to the type. */
-	private static final Map<TypeNode, HashSet<TypeNode>> castableMap =
-		new HashMap<TypeNode, HashSet<TypeNode>>();
+	 * that are castable to the type; each compilation starts with the builtin ones. */
+	private static final GlobalTables.Table<Map<TypeNode, HashSet<TypeNode>>> castableMap =
+		new GlobalTables.Table<Map<TypeNode, HashSet<TypeNode>>>() {
+			@Override
+			protected Map<TypeNode, HashSet<TypeNode>> initialValue() {
+				return copyTypeMap(builtinCastableMap);
+			}
+		};
 
 	// Cache variables
 	private Collection<TypeNode> compatibleToTypes;
@@ -163,23 +179,43 @@ public abstract class TypeNode extends BaseNode {
 	 * @param b The second type.
 	 */
 	public static void addCompatibility(TypeNode a, TypeNode b) {
-		addTypeToMap(compatibleMap, a, b);
+		addTypeToMap(compatibleMap.get(), a, b);
 	}
 
 	public static void addCastability(TypeNode from, TypeNode to) {
-		addTypeToMap(castableMap, from, to);
+		addTypeToMap(castableMap.get(), from, to);
+	}
+
+	/**
+	 * Record the current compatibilities and castabilities as the builtin ones.
+	 * Called once the basic types are initialized.
+	 */
+	static void recordBuiltinCompatibilities() {
+		builtinCompatibleMap = copyTypeMap(compatibleMap.get());
+		builtinCastableMap = copyTypeMap(castableMap.get());
+	}
+
+	private static Map<TypeNode, HashSet<TypeNode>> copyTypeMap(Map<TypeNode, HashSet<TypeNode>> map) {
+		Map<TypeNode, HashSet<TypeNode>> copy = new HashMap<TypeNode, HashSet<TypeNode>>();
+		if(map == null)
+			return copy; // basic types not registered yet
+		for(Map.Entry<TypeNode, HashSet<TypeNode>> entry : map.entrySet()) {
+			copy.put(entry.getKey(), new HashSet<TypeNode>(entry.getValue()));
+		}
+		return copy;
 	}
 
 	/**
 	 * @see de.unika.ipd.grgen.ast.TypeNode#getCompatibleTypes(java.util.Collection)
 	 */
 	public void doGetCompatibleToTypes(Collection<TypeNode> coll) {
-		debug.report(NOTE, "compatible types to " + getName() + ":");
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "compatible types to " + getName() + ":");
 
-		Collection<TypeNode> compat = compatibleMap.get(this);
+		Collection<TypeNode> compat = compatibleMap.get().get(this);
 		if(compat == null) return;
 
-		if (debug.willReport(NOTE)) {
+		if (debug.isReporting(NOTE)) {
 			for(BaseNode curNode : compat) {
 				debug.report(NOTE, "" + curNode.getName());
 			}
@@ -202,7 +238,7 @@ public abstract class TypeNode extends BaseNode {
 	}
 
 	private void doGetCastableToTypes(Collection<TypeNode> coll) {
-		Collection<TypeNode> castable = castableMap.get(this);
+		Collection<TypeNode> castable = castableMap.get().get(this);
 		if(castable != null)
 			coll.addAll(castable);
 	}
@@ -103,6 +103,10 @@ public class UnitNode extends BaseNode {
 		return stdModel;
 	}
 
+	protected CollectNode<ModelNode> getModels() {
+		return models;
+	}
+
 	public void addModel(ModelNode model) {
 		models.addChild(model);
 	}
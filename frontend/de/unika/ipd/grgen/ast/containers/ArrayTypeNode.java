@@ -22,6 +22,7 @@ import de.unika.ipd.grgen.ast.util.Resolver;
 import de.unika.ipd.grgen.ir.IR;
 import de.unika.ipd.grgen.ir.containers.ArrayType;
 import de.unika.ipd.grgen.ir.Type;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class ArrayTypeNode extends DeclaredTypeNode {
 	static {
@@ -33,16 +34,25 @@ public class ArrayTypeNode extends DeclaredTypeNode {
 		return "array<" + valueTypeUnresolved.toString() + "> type";
 	}
 
-	private static HashMap<String, ArrayTypeNode> arrayTypes = new HashMap<String, ArrayTypeNode>();
+	private static final GlobalTables.Table<HashMap<String, ArrayTypeNode>> arrayTypes =
+		new GlobalTables.Table<HashMap<String, ArrayTypeNode>>(true) { // written by the parallel check
+			@Override
+			protected HashMap<String, ArrayTypeNode> initialValue() {
+				return new HashMap<String, ArrayTypeNode>();
+			}
+		};
 
 	public static ArrayTypeNode getArrayType(IdentNode valueTypeIdent) {
 		String keyStr = valueTypeIdent.toString();
-		ArrayTypeNode arrayTypeNode = arrayTypes.get(keyStr);
+		HashMap<String, ArrayTypeNode> types = arrayTypes.get();
+		synchronized(types) { // the declarations may be checked in parallel
+			ArrayTypeNode arrayTypeNode = types.get(keyStr);
 
-		if(arrayTypeNode == null)
-			arrayTypes.put(keyStr, arrayTypeNode = new ArrayTypeNode(valueTypeIdent));
+			if(arrayTypeNode == null)
+				types.put(keyStr, arrayTypeNode = new ArrayTypeNode(valueTypeIdent));
 
-		return arrayTypeNode;
+			return arrayTypeNode;
+		}
 	}
 
 	public IdentNode valueTypeUnresolved;
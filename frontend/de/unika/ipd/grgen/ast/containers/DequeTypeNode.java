@@ -22,6 +22,7 @@ import de.unika.ipd.grgen.ast.util.Resolver;
 import de.unika.ipd.grgen.ir.IR;
 import de.unika.ipd.grgen.ir.containers.DequeType;
 import de.unika.ipd.grgen.ir.Type;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class DequeTypeNode extends DeclaredTypeNode {
 	static {
@@ -33,16 +34,25 @@ public class DequeTypeNode extends DeclaredTypeNode {
 		return "deque<" + valueTypeUnresolved.toString() + "> type";
 	}
 
-	private static HashMap<String, DequeTypeNode> dequeTypes = new HashMap<String, DequeTypeNode>();
+	private static final GlobalTables.Table<HashMap<String, DequeTypeNode>> dequeTypes =
+		new GlobalTables.Table<HashMap<String, DequeTypeNode>>(true) { // written by the parallel check
+			@Override
+			protected HashMap<String, DequeTypeNode> initialValue() {
+				return new HashMap<String, DequeTypeNode>();
+			}
+		};
 
 	public static DequeTypeNode getDequeType(IdentNode valueTypeIdent) {
 		String keyStr = valueTypeIdent.toString();
-		DequeTypeNode dequeTypeNode = dequeTypes.get(keyStr);
+		HashMap<String, DequeTypeNode> types = dequeTypes.get();
+		synchronized(types) { // the declarations may be checked in parallel
+			DequeTypeNode dequeTypeNode = types.get(keyStr);
 
-		if(dequeTypeNode == null)
-			dequeTypes.put(keyStr, dequeTypeNode = new DequeTypeNode(valueTypeIdent));
+			if(dequeTypeNode == null)
+				types.put(keyStr, dequeTypeNode = new DequeTypeNode(valueTypeIdent));
 
-		return dequeTypeNode;
+			return dequeTypeNode;
+		}
 	}
 
 	public IdentNode valueTypeUnresolved;
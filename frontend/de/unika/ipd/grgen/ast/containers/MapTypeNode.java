@@ -21,6 +21,7 @@ import de.unika.ipd.grgen.ast.util.DeclarationTypeResolver;
 import de.unika.ipd.grgen.ast.util.Resolver;
 import de.unika.ipd.grgen.ir.containers.MapType;
 import de.unika.ipd.grgen.ir.Type;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class MapTypeNode extends DeclaredTypeNode {
 	static {
@@ -32,18 +33,27 @@ public class MapTypeNode extends DeclaredTypeNode {
 		return "map<" + keyTypeUnresolved.toString() + "," + valueTypeUnresolved.toString() + "> type";
 	}
 
-	private static HashMap<String, MapTypeNode> mapTypes = new HashMap<String, MapTypeNode>();
+	private static final GlobalTables.Table<HashMap<String, MapTypeNode>> mapTypes =
+		new GlobalTables.Table<HashMap<String, MapTypeNode>>(true) { // written by the parallel check
+			@Override
+			protected HashMap<String, MapTypeNode> initialValue() {
+				return new HashMap<String, MapTypeNode>();
+			}
+		};
 
 	public static MapTypeNode getMapType(IdentNode keyTypeIdent, IdentNode valueTypeIdent) {
 		String keyStr = keyTypeIdent.toString() + "->" + valueTypeIdent.toString();
-		MapTypeNode mapTypeNode = mapTypes.get(keyStr);
+		HashMap<String, MapTypeNode> types = mapTypes.get();
+		synchronized(types) { // the declarations may be checked in parallel
+			MapTypeNode mapTypeNode = types.get(keyStr);
 
-		if(mapTypeNode == null) {
-			mapTypes.put(keyStr, mapTypeNode = new MapTypeNode(keyTypeIdent, valueTypeIdent));
-			mapTypeNode.setExceptCompatibleSetType(SetTypeNode.getSetType(keyTypeIdent));
-		}
+			if(mapTypeNode == null) {
+				types.put(keyStr, mapTypeNode = new MapTypeNode(keyTypeIdent, valueTypeIdent));
+				mapTypeNode.setExceptCompatibleSetType(SetTypeNode.getSetType(keyTypeIdent));
+			}
 
-		return mapTypeNode;
+			return mapTypeNode;
+		}
 	}
 
 	protected IdentNode keyTypeUnresolved;
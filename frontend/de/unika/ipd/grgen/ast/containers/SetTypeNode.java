@@ -22,6 +22,7 @@ import de.unika.ipd.grgen.ast.util.Resolver;
 import de.unika.ipd.grgen.ir.IR;
 import de.unika.ipd.grgen.ir.containers.SetType;
 import de.unika.ipd.grgen.ir.Type;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class SetTypeNode extends DeclaredTypeNode {
 	static {
@@ -33,16 +34,25 @@ public class SetTypeNode extends DeclaredTypeNode {
 		return "set<" + valueTypeUnresolved.toString() + "> type";
 	}
 
-	private static HashMap<String, SetTypeNode> setTypes = new HashMap<String, SetTypeNode>();
+	private static final GlobalTables.Table<HashMap<String, SetTypeNode>> setTypes =
+		new GlobalTables.Table<HashMap<String, SetTypeNode>>(true) { // written by the parallel check
+			@Override
+			protected HashMap<String, SetTypeNode> initialValue() {
+				return new HashMap<String, SetTypeNode>();
+			}
+		};
 
 	public static SetTypeNode getSetType(IdentNode valueTypeIdent) {
 		String keyStr = valueTypeIdent.toString();
-		SetTypeNode setTypeNode = setTypes.get(keyStr);
+		HashMap<String, SetTypeNode> types = setTypes.get();
+		synchronized(types) { // the declarations may be checked in parallel
+			SetTypeNode setTypeNode = types.get(keyStr);
 
-		if(setTypeNode == null)
-			setTypes.put(keyStr, setTypeNode = new SetTypeNode(valueTypeIdent));
+			if(setTypeNode == null)
+				types.put(keyStr, setTypeNode = new SetTypeNode(valueTypeIdent));
 
-		return setTypeNode;
+			return setTypeNode;
+		}
 	}
 
 	IdentNode valueTypeUnresolved;
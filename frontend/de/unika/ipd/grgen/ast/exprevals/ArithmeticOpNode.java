@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.ast.exprevals;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -71,6 +72,21 @@ public class ArithmeticOpNode extends OpNode {
 
 	private QualIdentNode target = null; // if !null it's a set/map union/except which is to be broken up
 
+	/**
+	 * An operator on the explicit stack used to walk nested operators instead of recursing into them,
+	 * so long operator chains (e.g. a + b + c + ...) don't overflow the call stack.
+	 */
+	private static final class OperandFrame {
+		final ArithmeticOpNode node;
+		int next = 0;
+		ExprNode[] args;
+		Operator op;
+
+		OperandFrame(ArithmeticOpNode node) {
+			this.node = node;
+		}
+	}
+
 	/**
 	 * @param coords Source code coordinates.
 	 * @param opId ID of the operator.
@@ -109,16 +125,59 @@ public class ArithmeticOpNode extends OpNode {
 	/** @see de.unika.ipd.grgen.ast.ExprNode#evaluate() */
 	@Override
 	public ExprNode evaluate() {
-		int n = children.size();
-		ExprNode[] args = new ExprNode[n];
+		ArrayList<OperandFrame> stack = new ArrayList<OperandFrame>();
+		stack.add(createEvaluationFrame(this));
+		while(true) {
+			OperandFrame top = stack.get(stack.size() - 1);
+			if(top.next < top.args.length) {
+				ExprNode c = top.node.children.get(top.next);
+				if(c instanceof ArithmeticOpNode)
+					stack.add(createEvaluationFrame((ArithmeticOpNode)c));
+				else
+					setEvaluatedOperand(top, c.evaluate());
+				continue;
+			}
 
-		for(int i = 0; i < n; i++) {
-			ExprNode c = children.get(i);
-			args[i] = c.evaluate();
-			children.set(i, args[i]);
+			stack.remove(stack.size() - 1);
+			ExprNode evaluated = top.node.getOperator().evaluate(top.node, top.args);
+			if(stack.isEmpty())
+				return evaluated;
+			setEvaluatedOperand(stack.get(stack.size() - 1), evaluated);
 		}
+	}
+
+	private static OperandFrame createEvaluationFrame(ArithmeticOpNode node) {
+		OperandFrame frame = new OperandFrame(node);
+		frame.args = new ExprNode[node.children.size()];
+		return frame;
+	}
 
-		return getOperator().evaluate(this, args);
+	private static void setEvaluatedOperand(OperandFrame frame, ExprNode evaluated) {
+		frame.args[frame.next] = evaluated;
+		frame.node.children.set(frame.next, evaluated);
+		++frame.next;
+	}
+
+	@Override
+	public boolean noDefElementInCondition() {
+		boolean res = true;
+		ArrayList<ExprNode> stack = new ArrayList<ExprNode>();
+		pushOperandsReversed(this, stack);
+		while(!stack.isEmpty()) {
+			ExprNode operand = stack.remove(stack.size() - 1);
+			if(operand instanceof ArithmeticOpNode)
+				pushOperandsReversed((ArithmeticOpNode)operand, stack);
+			else
+				res &= operand.noDefElementInCondition();
+		}
+		return res;
+	}
+
+	/** push the operands so they are popped from left to right */
+	private static void pushOperandsReversed(ArithmeticOpNode node, ArrayList<ExprNode> stack) {
+		for(int i = node.children.size() - 1; i >= 0; --i) {
+			stack.add(node.children.get(i));
+		}
 	}
 
 	/** mark to break set/map assignment of set/map expression up into set/map add/remove to/from target statements */
@@ -199,15 +258,44 @@ public class ArithmeticOpNode extends OpNode {
 			return first;
 		}
 
-		DeclaredTypeNode type = (DeclaredTypeNode) getType();
-		Operator op = new Operator(type.getType(), getIROpCode(getOpId()));
+		// the nested operators are constructed with an explicit stack, in the same order as by recursion
+		ArrayList<OperandFrame> stack = new ArrayList<OperandFrame>();
+		stack.add(createIRFrame(this));
+		while(true) {
+			OperandFrame top = stack.get(stack.size() - 1);
+			if(top.next < top.node.children.size()) {
+				ExprNode n = top.node.children.get(top.next);
+				if(n instanceof ArithmeticOpNode && isConstructedByStack((ArithmeticOpNode)n)) {
+					stack.add(createIRFrame((ArithmeticOpNode)n));
+				} else {
+					Expression ir = n.checkIR(Expression.class);
+					top.op.addOperand(ir);
+					++top.next;
+				}
+				continue;
+			}
 
-		for(BaseNode n : children) {
-			Expression ir = n.checkIR(Expression.class);
-			op.addOperand(ir);
+			stack.remove(stack.size() - 1);
+			if(stack.isEmpty())
+				return top.op;
+			synchronized(top.node) {
+				top.node.setIR(top.op);
+			}
+			OperandFrame parent = stack.get(stack.size() - 1);
+			parent.op.addOperand(top.op);
+			++parent.next;
 		}
+	}
+
+	private static boolean isConstructedByStack(ArithmeticOpNode node) {
+		return node.target == null && !node.isIRAlreadySet();
+	}
 
-		return op;
+	private static OperandFrame createIRFrame(ArithmeticOpNode node) {
+		OperandFrame frame = new OperandFrame(node);
+		DeclaredTypeNode type = (DeclaredTypeNode) node.getType();
+		frame.op = new Operator(type.getType(), getIROpCode(node.getOpId()));
+		return frame;
 	}
 
 	private static void assocOpCode(int id, int opcode) {
@@ -0,0 +1,60 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ast.exprevals;
+
+/**
+ * A builtin function, method, or procedure: the numbers of parameters it takes,
+ * and the factory of the node an invocation of it is resolved to.
+ * The builtins are registered in a table under their name (the name followed by the package name
+ * for builtins in a package, as in the ident of the invocation, e.g. "minMath" for Math::min),
+ * so an invocation is resolved with a single lookup instead of comparing its name
+ * with the name of each builtin.
+ * @param <I> The invocation node.
+ * @param <R> The node the invocation is resolved to.
+ */
+abstract class Builtin<I, R> {
+	/** Stands for an unbounded number of parameters. */
+	static final int ANY = Integer.MAX_VALUE;
+
+	private final String name;
+	private final int minParams;
+	private final int maxParams;
+	private final String arityError;
+
+	/**
+	 * @param name The name of the builtin, including the package.
+	 * @param minParams The minimum number of parameters.
+	 * @param maxParams The maximum number of parameters, or ANY.
+	 * @param arityError The error message reported for a wrong number of parameters.
+	 */
+	Builtin(String name, int minParams, int maxParams, String arityError) {
+		this.name = name;
+		this.minParams = minParams;
+		this.maxParams = maxParams;
+		this.arityError = arityError;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	/** @return Whether the builtin can be invoked with the given number of parameters. */
+	boolean takes(int paramCount) {
+		return paramCount >= minParams && paramCount <= maxParams;
+	}
+
+	String getArityError() {
+		return arityError;
+	}
+
+	/**
+	 * Create the node the invocation is resolved to.
+	 * Only called if the builtin {@link #takes(int)} the number of parameters of the invocation.
+	 */
+	abstract R create(I invocation);
+}
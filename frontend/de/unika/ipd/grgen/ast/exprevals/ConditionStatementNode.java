@@ -88,12 +88,38 @@ public class ConditionStatementNode extends EvalStatementNode {
 	
 	@Override
 	protected IR constructIR() {
+		// an else if chain is constructed in a loop, not by recursion, so a long chain doesn't overflow the stack;
+		// in the same order as by recursion
+		ConditionStatement first = constructLocalIR();
+		ConditionStatement previous = first;
+		ConditionStatementNode node = this;
+		ConditionStatementNode elseIf;
+		while((elseIf = node.getElseIf()) != null && !elseIf.isIRAlreadySet()) {
+			ConditionStatement cond = elseIf.constructLocalIR();
+			elseIf.setIR(cond);
+			previous.addFalseCaseStatement(cond);
+			previous = cond;
+			node = elseIf;
+		}
+		if(node.falseCaseStatements!=null)
+			for(EvalStatementNode falseCaseStatement : node.falseCaseStatements.children) 	
+				previous.addFalseCaseStatement(falseCaseStatement.checkIR(EvalStatement.class));
+		return first;
+	}
+
+	/** constructs the condition statement with its true case statements, but without its false case statements */
+	private ConditionStatement constructLocalIR() {
 		ConditionStatement cond = new ConditionStatement(conditionExpr.checkIR(Expression.class));
 		for(EvalStatementNode trueCaseStatement : trueCaseStatements.children) 	
 			cond.addTrueCaseStatement(trueCaseStatement.checkIR(EvalStatement.class));
-		if(falseCaseStatements!=null)
-			for(EvalStatementNode falseCaseStatement : falseCaseStatements.children) 	
-				cond.addFalseCaseStatement(falseCaseStatement.checkIR(EvalStatement.class));
 		return cond;
 	}
+
+	/** returns the condition statement that is the only false case statement (i.e. else if), or null */
+	ConditionStatementNode getElseIf() {
+		if(falseCaseStatements==null || falseCaseStatements.children.size()!=1)
+			return null;
+		EvalStatementNode falseCaseStatement = falseCaseStatements.children.get(0);
+		return falseCaseStatement instanceof ConditionStatementNode ? (ConditionStatementNode)falseCaseStatement : null;
+	}
 }
@@ -163,7 +163,8 @@ public class EnumItemNode extends MemberDeclNode {
 
 		Object obj = ((ConstNode)value).getValue();
 		int v = ((Integer) obj).intValue();
-		debug.report(NOTE, "result: " + value);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "result: " + value);
 
 		constValue = new EnumConstNode(getCoords(), getIdentNode(), v);
 		return constValue;
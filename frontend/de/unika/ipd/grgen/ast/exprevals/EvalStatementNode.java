@@ -60,8 +60,16 @@ public abstract class EvalStatementNode extends OrderedReplacementNode
 			last = eval;
 
 			if(eval instanceof ConditionStatementNode) {
+				// an else if chain is followed in a loop, not by recursion, so a long chain doesn't overflow the stack
 				ConditionStatementNode csn = (ConditionStatementNode)eval;
-				res &= checkStatements(isLHS, root, enclosingLoop, csn.trueCaseStatements, false);
+				ConditionStatementNode elseIf;
+				while(true) {
+					res &= checkStatements(isLHS, root, enclosingLoop, csn.trueCaseStatements, false);
+					if((elseIf = csn.getElseIf()) == null)
+						break;
+					res &= elseIf.checkStatementLocal(isLHS, root, enclosingLoop);
+					csn = elseIf;
+				}
 				res &= checkStatements(isLHS, root, enclosingLoop, csn.falseCaseStatements, false);
 			} else if(eval instanceof WhileStatementNode) {
 				WhileStatementNode wsn = (WhileStatementNode)eval;
@@ -147,30 +155,34 @@ public abstract class EvalStatementNode extends OrderedReplacementNode
 	public static boolean allCasesEndWithReturn(ConditionStatementNode condition) {
 		boolean allEndWithReturn = true;
 		
-		EvalStatementNode last = null;
-		for(EvalStatementNode eval : condition.trueCaseStatements.getChildren()) {
-			last = eval;
-		}
-		if(!(last instanceof ReturnStatementNode)) {
-			if(last instanceof ConditionStatementNode) {
-				allEndWithReturn &= allCasesEndWithReturn((ConditionStatementNode)last);
-			} else {
-				return false;
+		// an if ending the false case (e.g. an else if chain) is followed in a loop, not by recursion
+		while(true) {
+			EvalStatementNode last = null;
+			for(EvalStatementNode eval : condition.trueCaseStatements.getChildren()) {
+				last = eval;
+			}
+			if(!(last instanceof ReturnStatementNode)) {
+				if(last instanceof ConditionStatementNode) {
+					allEndWithReturn &= allCasesEndWithReturn((ConditionStatementNode)last);
+				} else {
+					return false;
+				}
 			}
-		}
 
-		last = null;
-		for(EvalStatementNode eval : condition.falseCaseStatements.getChildren()) {
-			last = eval;
-		}
-		if(!(last instanceof ReturnStatementNode)) {
-			if(last instanceof ConditionStatementNode) {
-				allEndWithReturn &= allCasesEndWithReturn((ConditionStatementNode)last);
-			} else {
-				return false;
+			last = null;
+			for(EvalStatementNode eval : condition.falseCaseStatements.getChildren()) {
+				last = eval;
+			}
+			if(!(last instanceof ReturnStatementNode)) {
+				if(last instanceof ConditionStatementNode) {
+					condition = (ConditionStatementNode)last;
+					continue;
+				} else {
+					return false;
+				}
 			}
+		
+			return allEndWithReturn;
 		}
-	
-		return allEndWithReturn;
 	}
 }
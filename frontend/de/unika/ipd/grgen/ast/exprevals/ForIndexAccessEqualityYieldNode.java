@@ -10,7 +10,9 @@
  */
 package de.unika.ipd.grgen.ast.exprevals;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Vector;
 
 import de.unika.ipd.grgen.ast.*;
@@ -34,19 +36,19 @@ public class ForIndexAccessEqualityYieldNode extends EvalStatementNode  {
 	private VarDeclNode iterationVariable;
 	private IdentNode indexUnresolved;
 	private IndexDeclNode index;
-	private ExprNode expr;
+	private CollectNode<ExprNode> exprs;
 	private CollectNode<EvalStatementNode> loopedStatements;
 
 	public ForIndexAccessEqualityYieldNode(Coords coords, BaseNode iterationVariable, int context,
-			IdentNode index, ExprNode expr, PatternGraphNode directlyNestingLHSGraph,
+			IdentNode index, CollectNode<ExprNode> exprs, PatternGraphNode directlyNestingLHSGraph,
 			CollectNode<EvalStatementNode> loopedStatements) {
 		super(coords);
 		this.iterationVariableUnresolved = iterationVariable;
 		becomeParent(this.iterationVariableUnresolved);
 		this.indexUnresolved = index;
 		becomeParent(this.indexUnresolved);
-		this.expr = expr;
-		becomeParent(this.expr);
+		this.exprs = exprs;
+		becomeParent(this.exprs);
 		this.loopedStatements = loopedStatements;
 		becomeParent(this.loopedStatements);
 	}
@@ -57,7 +59,7 @@ public class ForIndexAccessEqualityYieldNode extends EvalStatementNode  {
 		Vector<BaseNode> children = new Vector<BaseNode>();
 		children.add(getValidVersion(iterationVariableUnresolved, iterationVariable));
 		children.add(getValidVersion(indexUnresolved, index));
-		children.add(expr);
+		children.add(exprs);
 		children.add(loopedStatements);
 		return children;
 	}
@@ -68,7 +70,7 @@ public class ForIndexAccessEqualityYieldNode extends EvalStatementNode  {
 		Vector<String> childrenNames = new Vector<String>();
 		childrenNames.add("iterVar");
 		childrenNames.add("index");
-		childrenNames.add("expression");
+		childrenNames.add("expressions");
 		childrenNames.add("loopedStatements");
 		return childrenNames;
 	}
@@ -93,7 +95,7 @@ public class ForIndexAccessEqualityYieldNode extends EvalStatementNode  {
 
 		index = indexResolver.resolve(indexUnresolved, this);
 		successfullyResolved &= index!=null;
-		successfullyResolved &= expr.resolve();
+		successfullyResolved &= exprs.resolve();
 		return successfullyResolved;
 	}
 
@@ -110,15 +112,23 @@ public class ForIndexAccessEqualityYieldNode extends EvalStatementNode  {
 		boolean res = true;
 		AttributeIndexDeclNode attributeIndex = index instanceof AttributeIndexDeclNode ? (AttributeIndexDeclNode)index : null;
 		IncidenceCountIndexDeclNode incidenceCountIndex = index instanceof IncidenceCountIndexDeclNode ? (IncidenceCountIndexDeclNode)index : null;
-		TypeNode expectedIndexAccessType = attributeIndex!=null ? attributeIndex.member.getDeclType() : IntTypeNode.intType;
-		TypeNode indexAccessType = expr.getType();
-		if(!indexAccessType.isCompatibleTo(expectedIndexAccessType)) {
-			String expTypeName = expectedIndexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)expectedIndexAccessType).getIdentNode().toString() : expectedIndexAccessType.toString();
-			String typeName = indexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)indexAccessType).getIdentNode().toString() : indexAccessType.toString();
-			reportError("Cannot convert type used in accessing index from \""
-					+ typeName + "\" to \"" + expTypeName + "\" in index access loop");
+		int expectedNumberOfValues = attributeIndex!=null ? attributeIndex.members.children.size() : 1;
+		if(exprs.children.size() != expectedNumberOfValues) {
+			reportError("The index \"" + index.getIdentNode() + "\" requires " + expectedNumberOfValues
+					+ " value(s) for accessing it, one for each indexed attribute, but is given " + exprs.children.size() + " in index access loop");
 			return false;
 		}
+		for(int i = 0; i < exprs.children.size(); ++i) {
+			TypeNode expectedIndexAccessType = attributeIndex!=null ? attributeIndex.members.children.get(i).getDeclType() : IntTypeNode.intType;
+			TypeNode indexAccessType = exprs.children.get(i).getType();
+			if(!indexAccessType.isCompatibleTo(expectedIndexAccessType)) {
+				String expTypeName = expectedIndexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)expectedIndexAccessType).getIdentNode().toString() : expectedIndexAccessType.toString();
+				String typeName = indexAccessType instanceof DeclaredTypeNode ? ((DeclaredTypeNode)indexAccessType).getIdentNode().toString() : indexAccessType.toString();
+				reportError("Cannot convert type used in accessing index from \""
+						+ typeName + "\" to \"" + expTypeName + "\" in index access loop");
+				return false;
+			}
+		}
 		TypeNode expectedEntityType = iterationVariable.getDeclType();
 		TypeNode entityType = attributeIndex!=null ? attributeIndex.type : incidenceCountIndex.getType();
 		if(!entityType.isCompatibleTo(expectedEntityType) && !expectedEntityType.isCompatibleTo(entityType)) {
@@ -138,10 +148,13 @@ public class ForIndexAccessEqualityYieldNode extends EvalStatementNode  {
 	/** @see de.unika.ipd.grgen.ast.BaseNode#constructIR() */
 	@Override
 	protected IR constructIR() {
+		List<Expression> indexAccessExprs = new ArrayList<Expression>();
+		for(ExprNode expr : exprs.getChildren())
+			indexAccessExprs.add(expr.checkIR(Expression.class));
 		ForIndexAccessEquality fiae = new ForIndexAccessEquality(
 				iterationVariable.checkIR(Variable.class),
 				new IndexAccessEquality(
-						index.checkIR(Index.class), expr.checkIR(Expression.class)
+						index.checkIR(Index.class), indexAccessExprs
 				)
 			);
 		for(EvalStatementNode accumulationStatement : loopedStatements.children) 	
@@ -12,6 +12,8 @@
 package de.unika.ipd.grgen.ast.exprevals;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
 
 import de.unika.ipd.grgen.ast.*;
@@ -63,940 +65,499 @@ public class FunctionInvocationExprNode extends ExprNode
 	protected boolean resolveLocal() {
 		String functionName = functionIdent.toString();
 
-		if(functionName.equals("minMath")) {
-			if(params.size() != 2) {
-				reportError("Math::min(.,.) takes two parameters.");
-				return false;
-			}
-			else
-				result = new MinExprNode(getCoords(), params.get(0), params.get(1));
-		}
-		else if(functionName.equals("maxMath")) {
-			if(params.size() != 2) {
-				reportError("Math::max(.,.) takes two parameters.");
-				return false;
-			}
-			else
-				result = new MaxExprNode(getCoords(), params.get(0), params.get(1));
-		}
-		else if(functionName.equals("sinMath")) {
-			if(params.size() != 1) {
-				reportError("Math::sin(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new SinCosTanExprNode(getCoords(), SinCosTanExprNode.SIN, params.get(0));
-		}
-		else if(functionName.equals("cosMath")) {
-			if(params.size() != 1) {
-				reportError("Math::cos(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new SinCosTanExprNode(getCoords(), SinCosTanExprNode.COS, params.get(0));
-		}
-		else if(functionName.equals("tanMath")) {
-			if(params.size() != 1) {
-				reportError("Math::tan(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new SinCosTanExprNode(getCoords(), SinCosTanExprNode.TAN, params.get(0));
-		}
-		else if(functionName.equals("arcsinMath")) {
-			if(params.size() != 1) {
-				reportError("Math::arcsin(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new ArcSinCosTanExprNode(getCoords(), ArcSinCosTanExprNode.ARC_SIN, params.get(0));
-		}
-		else if(functionName.equals("arccosMath")) {
-			if(params.size() != 1) {
-				reportError("Math::arccos(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new ArcSinCosTanExprNode(getCoords(), ArcSinCosTanExprNode.ARC_COS, params.get(0));
-		}
-		else if(functionName.equals("arctanMath")) {
-			if(params.size() != 1) {
-				reportError("Math::arctan(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new ArcSinCosTanExprNode(getCoords(), ArcSinCosTanExprNode.ARC_TAN, params.get(0));
-		}
-		else if(functionName.equals("powMath")) {
-			if(params.size() == 2) {
-				result = new PowExprNode(getCoords(), params.get(0), params.get(1));
-			} else if(params.size() == 1) {
-				result = new PowExprNode(getCoords(), params.get(0));
-			} else {
-				reportError("Math::pow(.,.)/Math::pow(.) takes one or two parameters (one means base e).");
-				return false;
-			}
-		}
-		else if(functionName.equals("logMath")) {
-			if(params.size() == 2) {
-				result = new LogExprNode(getCoords(), params.get(0), params.get(1));
-			} else if(params.size() == 1) {
-				result = new LogExprNode(getCoords(), params.get(0));
-			} else {
-				reportError("Math::log(.,.)/Math::log(.) takes one or two parameters (one means base e).");
-				return false;
-			}
-		}
-		else if(functionName.equals("absMath")) {
-			if(params.size() != 1) {
-				reportError("Math::abs(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new AbsExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("piMath")) {
-			if(params.size() != 0) {
-				reportError("Math::pi() takes no parameters.");
-				return false;
-			}
-			else
-				result = new PiExprNode(getCoords());
-		}
-		else if(functionName.equals("eMath")) {
-			if(params.size() != 0) {
-				reportError("Math::e() takes no parameters.");
-				return false;
-			}
-			else
-				result = new EExprNode(getCoords());
-		}
-		else if(functionName.equals("byteMinMath")) {
-			if(params.size() != 0) {
-				reportError("Math::byteMin() takes no parameters.");
-				return false;
-			}
-			else
-				result = new ByteMinExprNode(getCoords());
-		}
-		else if(functionName.equals("byteMaxMath")) {
-			if(params.size() != 0) {
-				reportError("Math::byteMax() takes no parameters.");
-				return false;
-			}
-			else
-				result = new ByteMaxExprNode(getCoords());
-		}
-		else if(functionName.equals("shortMinMath")) {
-			if(params.size() != 0) {
-				reportError("Math::shortMin() takes no parameters.");
-				return false;
-			}
-			else
-				result = new ShortMinExprNode(getCoords());
-		}
-		else if(functionName.equals("shortMaxMath")) {
-			if(params.size() != 0) {
-				reportError("Math::shortMax() takes no parameters.");
-				return false;
-			}
-			else
-				result = new ShortMaxExprNode(getCoords());
-		}
-		else if(functionName.equals("intMinMath")) {
-			if(params.size() != 0) {
-				reportError("Math::intMin() takes no parameters.");
-				return false;
-			}
-			else
-				result = new IntMinExprNode(getCoords());
-		}
-		else if(functionName.equals("intMaxMath")) {
-			if(params.size() != 0) {
-				reportError("Math::intMax() takes no parameters.");
-				return false;
-			}
-			else
-				result = new IntMaxExprNode(getCoords());
-		}
-		else if(functionName.equals("longMinMath")) {
-			if(params.size() != 0) {
-				reportError("Math::longMin() takes no parameters.");
-				return false;
-			}
-			else
-				result = new LongMinExprNode(getCoords());
-		}
-		else if(functionName.equals("longMaxMath")) {
-			if(params.size() != 0) {
-				reportError("Math::longMax() takes no parameters.");
-				return false;
-			}
-			else
-				result = new LongMaxExprNode(getCoords());
-		}
-		else if(functionName.equals("floatMinMath")) {
-			if(params.size() != 0) {
-				reportError("Math::floatMin() takes no parameters.");
-				return false;
-			}
-			else
-				result = new FloatMinExprNode(getCoords());
-		}
-		else if(functionName.equals("floatMaxMath")) {
-			if(params.size() != 0) {
-				reportError("Math::floatMax() takes no parameters.");
-				return false;
-			}
-			else
-				result = new FloatMaxExprNode(getCoords());
-		}
-		else if(functionName.equals("doubleMinMath")) {
-			if(params.size() != 0) {
-				reportError("Math::doubleMin() takes no parameters.");
-				return false;
-			}
-			else
-				result = new DoubleMinExprNode(getCoords());
-		}
-		else if(functionName.equals("doubleMaxMath")) {
-			if(params.size() != 0) {
-				reportError("Math::doubleMax() takes no parameters.");
-				return false;
-			}
-			else
-				result = new DoubleMaxExprNode(getCoords());
-		}
-		else if(functionName.equals("ceilMath")) {
-			if(params.size() != 1) {
-				reportError("Math::ceil(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new CeilExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("floorMath")) {
-			if(params.size() != 1) {
-				reportError("Math::floor(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new FloorExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("roundMath")) {
-			if(params.size() != 1) {
-				reportError("Math::round(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new RoundExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("truncateMath")) {
-			if(params.size() != 1) {
-				reportError("Math::truncate(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new TruncateExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("sgnMath")) {
-			if(params.size() != 1) {
-				reportError("Math::sgn(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new SgnExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("random")) {
-			if(params.size() == 1) {
-				result = new RandomNode(getCoords(), params.get(0));
-			} else if(params.size() == 0) {
-				result = new RandomNode(getCoords(), null);
-			} else {
-				reportError("random(.)/random() takes one or no parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("nodes")) {
-			if(params.size() > 1) {
-				reportError("nodes() takes one or none parameter.");
-				return false;
-			}
-			else {
-				result = new NodesExprNode(getCoords(), params.size()==1 ? params.get(0) : new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-		}
-		else if(functionName.equals("edges")) {
-			if(params.size() > 1) {
-				reportError("edges() takes one or none parameter.");
-				return false;
-			}
-			else {
-				result = new EdgesExprNode(getCoords(), params.size()==1 ? params.get(0) : new IdentExprNode(env.getDirectedEdgeRoot()), env.getDirectedEdgeRoot());
-			}
-		}
-		else if(functionName.equals("countNodes")) {
-			if(params.size() > 1) {
-				reportError("countNodes() takes one or none parameter.");
-				return false;
-			}
-			else {
-				result = new CountNodesExprNode(getCoords(), params.size()==1 ? params.get(0) : new IdentExprNode(env.getNodeRoot()));
-			}
-		}
-		else if(functionName.equals("countEdges")) {
-			if(params.size() > 1) {
-				reportError("countEdges() takes one or none parameter.");
-				return false;
-			}
-			else {
-				result = new CountEdgesExprNode(getCoords(), params.size()==1 ? params.get(0) : new IdentExprNode(env.getDirectedEdgeRoot()));
-			}
-		}
-		else if(functionName.equals("nowTime")) {
-			if(params.size() > 0) {
-				reportError("Time::now() takes no parameters.");
-				return false;
-			}
-			else {
-				result = new NowExprNode(getCoords());
-			}
-		}
-		else if(functionName.equals("empty")) {
-			if(params.size() > 0) {
-				reportError("empty() takes no parameters.");
-				return false;
-			}
-			else {
-				result = new EmptyExprNode(getCoords());
-			}
-		}
-		else if(functionName.equals("size")) {
-			if(params.size() > 0) {
-				reportError("size() takes no parameters.");
-				return false;
-			}
-			else {
-				result = new SizeExprNode(getCoords());
-			}
-		}
-		else if(functionName.equals("source")) {			
-			if(params.size() == 1) {
-				result = new SourceExprNode(getCoords(), params.get(0), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1 parameter.");
-				return false;
-			}
-		}
-		else if(functionName.equals("target")) {			
-			if(params.size() == 1) {
-				result = new TargetExprNode(getCoords(), params.get(0), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1 parameter.");
-				return false;
-			}
-		}
-		else if(functionName.equals("opposite")) {			
-			if(params.size() == 2) {
-				result = new OppositeExprNode(getCoords(), params.get(0), params.get(1), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 2 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("nodeByName")) {			
-			if(params.size() == 1) {
-				result = new NodeByNameExprNode(getCoords(), params.get(0), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1 parameter.");
-				return false;
-			}
-		}
-		else if(functionName.equals("edgeByName")) {			
-			if(params.size() == 1) {
-				result = new EdgeByNameExprNode(getCoords(), params.get(0), env.getDirectedEdgeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1 parameter.");
-				return false;
-			}
-		}
-		else if(functionName.equals("nodeByUnique")) {			
-			if(params.size() == 1) {
-				result = new NodeByUniqueExprNode(getCoords(), params.get(0), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1 parameter.");
-				return false;
-			}
-		}
-		else if(functionName.equals("edgeByUnique")) {			
-			if(params.size() == 1) {
-				result = new EdgeByUniqueExprNode(getCoords(), params.get(0), env.getDirectedEdgeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1 parameter.");
-				return false;
-			}
-		}
-		else if(functionName.equals("incoming")
-				|| functionName.equals("outgoing")
-				|| functionName.equals("incident")) {
-			int direction;
-			if(functionName.equals("incoming"))
-				direction = IncidentEdgeExprNode.INCOMING;
-			else if(functionName.equals("outgoing"))
-				direction = IncidentEdgeExprNode.OUTGOING;
-			else
-				direction = IncidentEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 1) {
-				result = new IncidentEdgeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()), env.getDirectedEdgeRoot());
-			}
-			else if(params.size() == 2) {
-				result = new IncidentEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()), env.getDirectedEdgeRoot());
-			}
-			else if(params.size() == 3) {
-				result = new IncidentEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2), env.getDirectedEdgeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("adjacentIncoming")
-				|| functionName.equals("adjacentOutgoing")
-				|| functionName.equals("adjacent")) {
-			int direction;
-			if(functionName.equals("adjacentIncoming"))
-				direction = AdjacentNodeExprNode.INCOMING;
-			else if(functionName.equals("adjacentOutgoing"))
-				direction = AdjacentNodeExprNode.OUTGOING;
-			else
-				direction = AdjacentNodeExprNode.ADJACENT;
-			
-			if(params.size() == 1) {
-				result = new AdjacentNodeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 2) {
-				result = new AdjacentNodeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 3) {
-				result = new AdjacentNodeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("countIncoming")
-				|| functionName.equals("countOutgoing")
-				|| functionName.equals("countIncident")) {
-			int direction;
-			if(functionName.equals("countIncoming"))
-				direction = CountIncidentEdgeExprNode.INCOMING;
-			else if(functionName.equals("countOutgoing"))
-				direction = CountIncidentEdgeExprNode.OUTGOING;
-			else
-				direction = CountIncidentEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 1) {
-				result = new CountIncidentEdgeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 2) {
-				result = new CountIncidentEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new CountIncidentEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2));
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("countAdjacentIncoming")
-				|| functionName.equals("countAdjacentOutgoing")
-				|| functionName.equals("countAdjacent")) {
-			int direction;
-			if(functionName.equals("countAdjacentIncoming"))
-				direction = CountAdjacentNodeExprNode.INCOMING;
-			else if(functionName.equals("countAdjacentOutgoing"))
-				direction = CountAdjacentNodeExprNode.OUTGOING;
-			else
-				direction = CountAdjacentNodeExprNode.ADJACENT;
-			
-			if(params.size() == 1) {
-				result = new CountAdjacentNodeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 2) {
-				result = new CountAdjacentNodeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new CountAdjacentNodeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2));
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("isIncoming")
-				|| functionName.equals("isOutgoing")
-				|| functionName.equals("isIncident")) {
-			int direction;
-			if(functionName.equals("isIncoming"))
-				direction = IsIncidentEdgeExprNode.INCOMING;
-			else if(functionName.equals("isOutgoing"))
-				direction = IsIncidentEdgeExprNode.OUTGOING;
-			else
-				direction = IsIncidentEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 2) {
-				result = new IsIncidentEdgeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new IsIncidentEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new IsIncidentEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3));
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("isAdjacentIncoming")
-				|| functionName.equals("isAdjacentOutgoing")
-				|| functionName.equals("isAdjacent")) {
-			int direction;
-			if(functionName.equals("isReachableEdgesIncoming"))
-				direction = IsAdjacentNodeExprNode.INCOMING;
-			else if(functionName.equals("isReachableEdgesOutgoing"))
-				direction = IsAdjacentNodeExprNode.OUTGOING;
-			else
-				direction = IsAdjacentNodeExprNode.ADJACENT;
-			
-			if(params.size() == 2) {
-				result = new IsAdjacentNodeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new IsAdjacentNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new IsAdjacentNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3));
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
+		BuiltinFunction function = builtinFunctions.get(functionName);
+		if(function == null) {
+			reportError("no function " +functionName + " known");
+			return false;
 		}
-		else if(functionName.equals("reachableEdgesIncoming")
-				|| functionName.equals("reachableEdgesOutgoing")
-				|| functionName.equals("reachableEdges")) {
-			int direction;
-			if(functionName.equals("reachableEdgesIncoming"))
-				direction = ReachableEdgeExprNode.INCOMING;
-			else if(functionName.equals("reachableEdgesOutgoing"))
-				direction = ReachableEdgeExprNode.OUTGOING;
-			else
-				direction = ReachableEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 1) {
-				result = new ReachableEdgeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()), env.getDirectedEdgeRoot());
-			}
-			else if(params.size() == 2) {
-				result = new ReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()), env.getDirectedEdgeRoot());
-			}
-			else if(params.size() == 3) {
-				result = new ReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2), env.getDirectedEdgeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
+		if(!function.takes(params.size())) {
+			reportError(function.getArityError());
+			return false;
 		}
-		else if(functionName.equals("reachableIncoming")
-				|| functionName.equals("reachableOutgoing")
-				|| functionName.equals("reachable")) {
-			int direction;
-			if(functionName.equals("reachableIncoming"))
-				direction = ReachableNodeExprNode.INCOMING;
-			else if(functionName.equals("reachableOutgoing"))
-				direction = ReachableNodeExprNode.OUTGOING;
-			else
-				direction = ReachableNodeExprNode.ADJACENT;
+		result = function.create(this);
+		return true;
+	}
 
-			if(params.size() == 1) {
-				result = new ReachableNodeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 2) {
-				result = new ReachableNodeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 3) {
-				result = new ReachableNodeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("countReachableEdgesIncoming")
-				|| functionName.equals("countReachableEdgesOutgoing")
-				|| functionName.equals("countReachableEdges")) {
-			int direction;
-			if(functionName.equals("countReachableEdgesIncoming"))
-				direction = CountReachableEdgeExprNode.INCOMING;
-			else if(functionName.equals("countReachableEdgesOutgoing"))
-				direction = CountReachableEdgeExprNode.OUTGOING;
-			else
-				direction = CountReachableEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 1) {
-				result = new CountReachableEdgeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 2) {
-				result = new CountReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new CountReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2));
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("countReachableIncoming")
-				|| functionName.equals("countReachableOutgoing")
-				|| functionName.equals("countReachable")) {
-			int direction;
-			if(functionName.equals("countReachableIncoming"))
-				direction = CountReachableNodeExprNode.INCOMING;
-			else if(functionName.equals("countReachableOutgoing"))
-				direction = CountReachableNodeExprNode.OUTGOING;
-			else
-				direction = CountReachableNodeExprNode.ADJACENT;
+	/** The parameter at the given index */
+	private ExprNode param(int index) {
+		return params.get(index);
+	}
 
-			if(params.size() == 1) {
-				result = new CountReachableNodeExprNode(getCoords(), params.get(0), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 2) {
-				result = new CountReachableNodeExprNode(getCoords(), params.get(0), params.get(1), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new CountReachableNodeExprNode(getCoords(), params.get(0), params.get(1), direction, params.get(2));
-			}
-			else {
-				reportError(functionName + "() takes 1-3 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("isReachableIncoming")
-				|| functionName.equals("isReachableOutgoing")
-				|| functionName.equals("isReachable")) {
-			int direction;
-			if(functionName.equals("isReachableIncoming"))
-				direction = IsReachableNodeExprNode.INCOMING;
-			else if(functionName.equals("isReachableOutgoing"))
-				direction = IsReachableNodeExprNode.OUTGOING;
-			else
-				direction = IsReachableNodeExprNode.ADJACENT;
-			
-			if(params.size() == 2) {
-				result = new IsReachableNodeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new IsReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new IsReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3));
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("isReachableEdgesIncoming")
-				|| functionName.equals("isReachableEdgesOutgoing")
-				|| functionName.equals("isReachableEdges")) {
-			int direction;
-			if(functionName.equals("isReachableEdgesIncoming"))
-				direction = IsReachableEdgeExprNode.INCOMING;
-			else if(functionName.equals("isReachableEdgesOutgoing"))
-				direction = IsReachableEdgeExprNode.OUTGOING;
-			else
-				direction = IsReachableEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 2) {
-				result = new IsReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new IsReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new IsReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3));
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("boundedReachableEdgesIncoming")
-				|| functionName.equals("boundedReachableEdgesOutgoing")
-				|| functionName.equals("boundedReachableEdges")) {
-			int direction;
-			if(functionName.equals("boundedReachableEdgesIncoming"))
-				direction = BoundedReachableEdgeExprNode.INCOMING;
-			else if(functionName.equals("boundedReachableEdgesOutgoing"))
-				direction = BoundedReachableEdgeExprNode.OUTGOING;
-			else
-				direction = BoundedReachableEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 2) {
-				result = new BoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()), env.getDirectedEdgeRoot());
-			}
-			else if(params.size() == 3) {
-				result = new BoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()), env.getDirectedEdgeRoot());
-			}
-			else if(params.size() == 4) {
-				result = new BoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3), env.getDirectedEdgeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("boundedReachableIncoming")
-				|| functionName.equals("boundedReachableOutgoing")
-				|| functionName.equals("boundedReachable")) {
-			int direction;
-			if(functionName.equals("boundedReachableIncoming"))
-				direction = BoundedReachableNodeExprNode.INCOMING;
-			else if(functionName.equals("boundedReachableOutgoing"))
-				direction = BoundedReachableNodeExprNode.OUTGOING;
-			else
-				direction = BoundedReachableNodeExprNode.ADJACENT;
+	/** The parameter at the given index, or the node root type if the parameter is omitted */
+	private ExprNode paramOrNodeRoot(int index) {
+		return params.size() > index ? params.get(index) : new IdentExprNode(env.getNodeRoot());
+	}
 
-			if(params.size() == 2) {
-				result = new BoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 3) {
-				result = new BoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 4) {
-				result = new BoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("boundedReachableWithRemainingDepthIncoming")
-				|| functionName.equals("boundedReachableWithRemainingDepthOutgoing")
-				|| functionName.equals("boundedReachableWithRemainingDepth")) {
-			int direction;
-			if(functionName.equals("boundedReachableWithRemainingDepthIncoming"))
-				direction = BoundedReachableNodeWithRemainingDepthExprNode.INCOMING;
-			else if(functionName.equals("boundedReachableWithRemainingDepthOutgoing"))
-				direction = BoundedReachableNodeWithRemainingDepthExprNode.OUTGOING;
-			else
-				direction = BoundedReachableNodeWithRemainingDepthExprNode.ADJACENT;
+	/** The parameter at the given index, or the directed edge root type if the parameter is omitted */
+	private ExprNode paramOrEdgeRoot(int index) {
+		return params.size() > index ? params.get(index) : new IdentExprNode(env.getDirectedEdgeRoot());
+	}
 
-			if(params.size() == 2) {
-				result = new BoundedReachableNodeWithRemainingDepthExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 3) {
-				result = new BoundedReachableNodeWithRemainingDepthExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()), env.getNodeRoot());
-			}
-			else if(params.size() == 4) {
-				result = new BoundedReachableNodeWithRemainingDepthExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3), env.getNodeRoot());
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("countBoundedReachableEdgesIncoming")
-				|| functionName.equals("countBoundedReachableEdgesOutgoing")
-				|| functionName.equals("countBoundedReachableEdges")) {
-			int direction;
-			if(functionName.equals("countBoundedReachableEdgesIncoming"))
-				direction = CountBoundedReachableEdgeExprNode.INCOMING;
-			else if(functionName.equals("countBoundedReachableEdgesOutgoing"))
-				direction = CountBoundedReachableEdgeExprNode.OUTGOING;
-			else
-				direction = CountBoundedReachableEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 2) {
-				result = new CountBoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new CountBoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new CountBoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3));
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
+	/** A builtin function, resolving an invocation to the expression node computing it. */
+	private static abstract class BuiltinFunction extends Builtin<FunctionInvocationExprNode, ExprNode> {
+		BuiltinFunction(String name, int minParams, int maxParams, String arityError) {
+			super(name, minParams, maxParams, arityError);
 		}
-		else if(functionName.equals("countBoundedReachableIncoming")
-				|| functionName.equals("countBoundedReachableOutgoing")
-				|| functionName.equals("countBoundedReachable")) {
-			int direction;
-			if(functionName.equals("countBoundedReachableIncoming"))
-				direction = CountBoundedReachableNodeExprNode.INCOMING;
-			else if(functionName.equals("countBoundedReachableOutgoing"))
-				direction = CountBoundedReachableNodeExprNode.OUTGOING;
-			else
-				direction = CountBoundedReachableNodeExprNode.ADJACENT;
+	}
 
-			if(params.size() == 2) {
-				result = new CountBoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 3) {
-				result = new CountBoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new CountBoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), direction, params.get(3));
-			}
-			else {
-				reportError(functionName + "() takes 2-4 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("isBoundedReachableIncoming")
-				|| functionName.equals("isBoundedReachableOutgoing")
-				|| functionName.equals("isBoundedReachable")) {
-			int direction;
-			if(functionName.equals("isBoundedReachableIncoming"))
-				direction = IsBoundedReachableNodeExprNode.INCOMING;
-			else if(functionName.equals("isBoundedReachableOutgoing"))
-				direction = IsBoundedReachableNodeExprNode.OUTGOING;
-			else
-				direction = IsBoundedReachableNodeExprNode.ADJACENT;
-			
-			if(params.size() == 3) {
-				result = new IsBoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new IsBoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), params.get(3), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 5) {
-				result = new IsBoundedReachableNodeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), params.get(3), direction, params.get(4));
-			}
-			else {
-				reportError(functionName + "() takes 3-5 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("isBoundedReachableEdgesIncoming")
-				|| functionName.equals("isBoundedReachableEdgesOutgoing")
-				|| functionName.equals("isBoundedReachableEdges")) {
-			int direction;
-			if(functionName.equals("isBoundedReachableEdgesIncoming"))
-				direction = IsBoundedReachableEdgeExprNode.INCOMING;
-			else if(functionName.equals("isBoundedReachableEdgesOutgoing"))
-				direction = IsBoundedReachableEdgeExprNode.OUTGOING;
-			else
-				direction = IsBoundedReachableEdgeExprNode.INCIDENT;
-			
-			if(params.size() == 3) {
-				result = new IsBoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), new IdentExprNode(env.getDirectedEdgeRoot()), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 4) {
-				result = new IsBoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), params.get(3), direction, new IdentExprNode(env.getNodeRoot()));
-			}
-			else if(params.size() == 5) {
-				result = new IsBoundedReachableEdgeExprNode(getCoords(), params.get(0), params.get(1), params.get(2), params.get(3), direction, params.get(4));
-			}
-			else {
-				reportError(functionName + "() takes 3-5 parameters.");
-				return false;
-			}
-		}
-		else if(functionName.equals("inducedSubgraph")) {
-			if(params.size() != 1) {
-				reportError("inducedSubgraph(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new InducedSubgraphExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("definedSubgraph")) {
-			if(params.size() != 1) {
-				reportError("definedSubgraph(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new DefinedSubgraphExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("equalsAny")) {
-			if(params.size() != 2) {
-				reportError("equalsAny(.,.) takes two parameters.");
-				return false;
-			}
-			else
-				result = new EqualsAnyExprNode(getCoords(), params.get(0), params.get(1), true);
-		}
-		else if(functionName.equals("equalsAnyStructurally")) {
-			if(params.size() != 2) {
-				reportError("equalsAnyStructurally(.,.) takes two parameters.");
-				return false;
-			}
-			else
-				result = new EqualsAnyExprNode(getCoords(), params.get(0), params.get(1), false);
-		}
-		else if(functionName.equals("existsFile")) {
-			if(params.size() != 1) {
-				reportError("File::exists(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new ExistsFileExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("importFile")) {
-			if(params.size() != 1) {
-				reportError("File::import(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new ImportExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("copy")) {
-			if(params.size() != 1) {
-				reportError("copy(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new CopyExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("canonize")) {
-			if(params.size() != 1) {
-				reportError("canonize(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new CanonizeExprNode(getCoords(), params.get(0));
-		}
-		else if(functionName.equals("uniqueof")) {
-			if(params.size() > 1) {
-				reportError("uniqueof(.) takes none or one parameter.");
-				return false;
-			}
-			else if(params.size()==1)
-				result = new UniqueofExprNode(getCoords(), params.get(0));
-			else
-				result = new UniqueofExprNode(getCoords(), null);				
-		}
-		else {
-			reportError("no function " +functionName + " known");
-			return false;
+	/**
+	 * A builtin function on the neighbourhood of a node, existing in an incoming, an outgoing,
+	 * and an undirected variant, which differ in the direction given to the expression node.
+	 */
+	private static abstract class DirectedBuiltinFunction {
+		abstract ExprNode create(FunctionInvocationExprNode f, int direction);
+	}
+
+	/** The builtin functions by name. */
+	private static final Map<String, BuiltinFunction> builtinFunctions = new HashMap<String, BuiltinFunction>();
+
+	private static void register(BuiltinFunction function) {
+		builtinFunctions.put(function.getName(), function);
+	}
+
+	/**
+	 * Register the incoming, outgoing, and undirected variant of a builtin function.
+	 * @param names The names of the incoming, outgoing, and undirected variant.
+	 * @param directions The directions of the incoming, outgoing, and undirected variant.
+	 * @param paramCounts The text on the number of parameters for the error message.
+	 */
+	private static void registerDirected(String[] names, int[] directions,
+			int minParams, int maxParams, String paramCounts, final DirectedBuiltinFunction function) {
+		for(int i = 0; i < names.length; ++i) {
+			final int direction = directions[i];
+			register(new BuiltinFunction(names[i], minParams, maxParams, names[i] + "() takes " + paramCounts + " parameters.") {
+				ExprNode create(FunctionInvocationExprNode f) {
+					return function.create(f, direction);
+				}
+			});
 		}
-		return true;
+	}
+
+	static {
+		///////////////////////////////////////////////////
+		// Math
+		///////////////////////////////////////////////////
+		register(new BuiltinFunction("minMath", 2, 2, "Math::min(.,.) takes two parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new MinExprNode(f.getCoords(), f.param(0), f.param(1));
+			}
+		});
+		register(new BuiltinFunction("maxMath", 2, 2, "Math::max(.,.) takes two parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new MaxExprNode(f.getCoords(), f.param(0), f.param(1));
+			}
+		});
+		register(new BuiltinFunction("sinMath", 1, 1, "Math::sin(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new SinCosTanExprNode(f.getCoords(), SinCosTanExprNode.SIN, f.param(0));
+			}
+		});
+		register(new BuiltinFunction("cosMath", 1, 1, "Math::cos(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new SinCosTanExprNode(f.getCoords(), SinCosTanExprNode.COS, f.param(0));
+			}
+		});
+		register(new BuiltinFunction("tanMath", 1, 1, "Math::tan(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new SinCosTanExprNode(f.getCoords(), SinCosTanExprNode.TAN, f.param(0));
+			}
+		});
+		register(new BuiltinFunction("arcsinMath", 1, 1, "Math::arcsin(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ArcSinCosTanExprNode(f.getCoords(), ArcSinCosTanExprNode.ARC_SIN, f.param(0));
+			}
+		});
+		register(new BuiltinFunction("arccosMath", 1, 1, "Math::arccos(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ArcSinCosTanExprNode(f.getCoords(), ArcSinCosTanExprNode.ARC_COS, f.param(0));
+			}
+		});
+		register(new BuiltinFunction("arctanMath", 1, 1, "Math::arctan(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ArcSinCosTanExprNode(f.getCoords(), ArcSinCosTanExprNode.ARC_TAN, f.param(0));
+			}
+		});
+		register(new BuiltinFunction("powMath", 1, 2, "Math::pow(.,.)/Math::pow(.) takes one or two parameters (one means base e).") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				if(f.params.size() == 2)
+					return new PowExprNode(f.getCoords(), f.param(0), f.param(1));
+				else
+					return new PowExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("logMath", 1, 2, "Math::log(.,.)/Math::log(.) takes one or two parameters (one means base e).") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				if(f.params.size() == 2)
+					return new LogExprNode(f.getCoords(), f.param(0), f.param(1));
+				else
+					return new LogExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("absMath", 1, 1, "Math::abs(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new AbsExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("piMath", 0, 0, "Math::pi() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new PiExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("eMath", 0, 0, "Math::e() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new EExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("byteMinMath", 0, 0, "Math::byteMin() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ByteMinExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("byteMaxMath", 0, 0, "Math::byteMax() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ByteMaxExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("shortMinMath", 0, 0, "Math::shortMin() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ShortMinExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("shortMaxMath", 0, 0, "Math::shortMax() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ShortMaxExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("intMinMath", 0, 0, "Math::intMin() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new IntMinExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("intMaxMath", 0, 0, "Math::intMax() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new IntMaxExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("longMinMath", 0, 0, "Math::longMin() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new LongMinExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("longMaxMath", 0, 0, "Math::longMax() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new LongMaxExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("floatMinMath", 0, 0, "Math::floatMin() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new FloatMinExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("floatMaxMath", 0, 0, "Math::floatMax() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new FloatMaxExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("doubleMinMath", 0, 0, "Math::doubleMin() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new DoubleMinExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("doubleMaxMath", 0, 0, "Math::doubleMax() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new DoubleMaxExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("ceilMath", 1, 1, "Math::ceil(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new CeilExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("floorMath", 1, 1, "Math::floor(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new FloorExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("roundMath", 1, 1, "Math::round(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new RoundExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("truncateMath", 1, 1, "Math::truncate(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new TruncateExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("sgnMath", 1, 1, "Math::sgn(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new SgnExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("random", 0, 1, "random(.)/random() takes one or no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new RandomNode(f.getCoords(), f.params.size() == 1 ? f.param(0) : null);
+			}
+		});
+
+		///////////////////////////////////////////////////
+		// graph
+		///////////////////////////////////////////////////
+		register(new BuiltinFunction("nodes", 0, 1, "nodes() takes one or none parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new NodesExprNode(f.getCoords(), f.paramOrNodeRoot(0), f.env.getNodeRoot());
+			}
+		});
+		register(new BuiltinFunction("edges", 0, 1, "edges() takes one or none parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new EdgesExprNode(f.getCoords(), f.paramOrEdgeRoot(0), f.env.getDirectedEdgeRoot());
+			}
+		});
+		register(new BuiltinFunction("countNodes", 0, 1, "countNodes() takes one or none parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new CountNodesExprNode(f.getCoords(), f.paramOrNodeRoot(0));
+			}
+		});
+		register(new BuiltinFunction("countEdges", 0, 1, "countEdges() takes one or none parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new CountEdgesExprNode(f.getCoords(), f.paramOrEdgeRoot(0));
+			}
+		});
+		register(new BuiltinFunction("nowTime", 0, 0, "Time::now() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new NowExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("empty", 0, 0, "empty() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new EmptyExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("size", 0, 0, "size() takes no parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new SizeExprNode(f.getCoords());
+			}
+		});
+		register(new BuiltinFunction("source", 1, 1, "source() takes 1 parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new SourceExprNode(f.getCoords(), f.param(0), f.env.getNodeRoot());
+			}
+		});
+		register(new BuiltinFunction("target", 1, 1, "target() takes 1 parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new TargetExprNode(f.getCoords(), f.param(0), f.env.getNodeRoot());
+			}
+		});
+		register(new BuiltinFunction("opposite", 2, 2, "opposite() takes 2 parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new OppositeExprNode(f.getCoords(), f.param(0), f.param(1), f.env.getNodeRoot());
+			}
+		});
+		register(new BuiltinFunction("nodeByName", 1, 1, "nodeByName() takes 1 parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new NodeByNameExprNode(f.getCoords(), f.param(0), f.env.getNodeRoot());
+			}
+		});
+		register(new BuiltinFunction("edgeByName", 1, 1, "edgeByName() takes 1 parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new EdgeByNameExprNode(f.getCoords(), f.param(0), f.env.getDirectedEdgeRoot());
+			}
+		});
+		register(new BuiltinFunction("nodeByUnique", 1, 1, "nodeByUnique() takes 1 parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new NodeByUniqueExprNode(f.getCoords(), f.param(0), f.env.getNodeRoot());
+			}
+		});
+		register(new BuiltinFunction("edgeByUnique", 1, 1, "edgeByUnique() takes 1 parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new EdgeByUniqueExprNode(f.getCoords(), f.param(0), f.env.getDirectedEdgeRoot());
+			}
+		});
+
+		///////////////////////////////////////////////////
+		// neighbourhood, reachability
+		///////////////////////////////////////////////////
+		registerDirected(new String[] { "incoming", "outgoing", "incident" },
+				new int[] { IncidentEdgeExprNode.INCOMING, IncidentEdgeExprNode.OUTGOING, IncidentEdgeExprNode.INCIDENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new IncidentEdgeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2), f.env.getDirectedEdgeRoot());
+			}
+		});
+		registerDirected(new String[] { "adjacentIncoming", "adjacentOutgoing", "adjacent" },
+				new int[] { AdjacentNodeExprNode.INCOMING, AdjacentNodeExprNode.OUTGOING, AdjacentNodeExprNode.ADJACENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new AdjacentNodeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2), f.env.getNodeRoot());
+			}
+		});
+		registerDirected(new String[] { "countIncoming", "countOutgoing", "countIncident" },
+				new int[] { CountIncidentEdgeExprNode.INCOMING, CountIncidentEdgeExprNode.OUTGOING, CountIncidentEdgeExprNode.INCIDENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new CountIncidentEdgeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2));
+			}
+		});
+		registerDirected(new String[] { "countAdjacentIncoming", "countAdjacentOutgoing", "countAdjacent" },
+				new int[] { CountAdjacentNodeExprNode.INCOMING, CountAdjacentNodeExprNode.OUTGOING, CountAdjacentNodeExprNode.ADJACENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new CountAdjacentNodeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2));
+			}
+		});
+		registerDirected(new String[] { "isIncoming", "isOutgoing", "isIncident" },
+				new int[] { IsIncidentEdgeExprNode.INCOMING, IsIncidentEdgeExprNode.OUTGOING, IsIncidentEdgeExprNode.INCIDENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new IsIncidentEdgeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3));
+			}
+		});
+		registerDirected(new String[] { "isAdjacentIncoming", "isAdjacentOutgoing", "isAdjacent" },
+				new int[] { IsAdjacentNodeExprNode.INCOMING, IsAdjacentNodeExprNode.OUTGOING, IsAdjacentNodeExprNode.ADJACENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new IsAdjacentNodeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3));
+			}
+		});
+		registerDirected(new String[] { "reachableEdgesIncoming", "reachableEdgesOutgoing", "reachableEdges" },
+				new int[] { ReachableEdgeExprNode.INCOMING, ReachableEdgeExprNode.OUTGOING, ReachableEdgeExprNode.INCIDENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new ReachableEdgeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2), f.env.getDirectedEdgeRoot());
+			}
+		});
+		registerDirected(new String[] { "reachableIncoming", "reachableOutgoing", "reachable" },
+				new int[] { ReachableNodeExprNode.INCOMING, ReachableNodeExprNode.OUTGOING, ReachableNodeExprNode.ADJACENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new ReachableNodeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2), f.env.getNodeRoot());
+			}
+		});
+		registerDirected(new String[] { "countReachableEdgesIncoming", "countReachableEdgesOutgoing", "countReachableEdges" },
+				new int[] { CountReachableEdgeExprNode.INCOMING, CountReachableEdgeExprNode.OUTGOING, CountReachableEdgeExprNode.INCIDENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new CountReachableEdgeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2));
+			}
+		});
+		registerDirected(new String[] { "countReachableIncoming", "countReachableOutgoing", "countReachable" },
+				new int[] { CountReachableNodeExprNode.INCOMING, CountReachableNodeExprNode.OUTGOING, CountReachableNodeExprNode.ADJACENT },
+				1, 3, "1-3", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new CountReachableNodeExprNode(f.getCoords(), f.param(0), f.paramOrEdgeRoot(1), direction, f.paramOrNodeRoot(2));
+			}
+		});
+		registerDirected(new String[] { "isReachableIncoming", "isReachableOutgoing", "isReachable" },
+				new int[] { IsReachableNodeExprNode.INCOMING, IsReachableNodeExprNode.OUTGOING, IsReachableNodeExprNode.ADJACENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new IsReachableNodeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3));
+			}
+		});
+		registerDirected(new String[] { "isReachableEdgesIncoming", "isReachableEdgesOutgoing", "isReachableEdges" },
+				new int[] { IsReachableEdgeExprNode.INCOMING, IsReachableEdgeExprNode.OUTGOING, IsReachableEdgeExprNode.INCIDENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new IsReachableEdgeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3));
+			}
+		});
+		registerDirected(new String[] { "boundedReachableEdgesIncoming", "boundedReachableEdgesOutgoing", "boundedReachableEdges" },
+				new int[] { BoundedReachableEdgeExprNode.INCOMING, BoundedReachableEdgeExprNode.OUTGOING, BoundedReachableEdgeExprNode.INCIDENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new BoundedReachableEdgeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3), f.env.getDirectedEdgeRoot());
+			}
+		});
+		registerDirected(new String[] { "boundedReachableIncoming", "boundedReachableOutgoing", "boundedReachable" },
+				new int[] { BoundedReachableNodeExprNode.INCOMING, BoundedReachableNodeExprNode.OUTGOING, BoundedReachableNodeExprNode.ADJACENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new BoundedReachableNodeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3), f.env.getNodeRoot());
+			}
+		});
+		registerDirected(new String[] { "boundedReachableWithRemainingDepthIncoming", "boundedReachableWithRemainingDepthOutgoing", "boundedReachableWithRemainingDepth" },
+				new int[] { BoundedReachableNodeWithRemainingDepthExprNode.INCOMING, BoundedReachableNodeWithRemainingDepthExprNode.OUTGOING, BoundedReachableNodeWithRemainingDepthExprNode.ADJACENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new BoundedReachableNodeWithRemainingDepthExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3), f.env.getNodeRoot());
+			}
+		});
+		registerDirected(new String[] { "countBoundedReachableEdgesIncoming", "countBoundedReachableEdgesOutgoing", "countBoundedReachableEdges" },
+				new int[] { CountBoundedReachableEdgeExprNode.INCOMING, CountBoundedReachableEdgeExprNode.OUTGOING, CountBoundedReachableEdgeExprNode.INCIDENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new CountBoundedReachableEdgeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3));
+			}
+		});
+		registerDirected(new String[] { "countBoundedReachableIncoming", "countBoundedReachableOutgoing", "countBoundedReachable" },
+				new int[] { CountBoundedReachableNodeExprNode.INCOMING, CountBoundedReachableNodeExprNode.OUTGOING, CountBoundedReachableNodeExprNode.ADJACENT },
+				2, 4, "2-4", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new CountBoundedReachableNodeExprNode(f.getCoords(), f.param(0), f.param(1), f.paramOrEdgeRoot(2), direction, f.paramOrNodeRoot(3));
+			}
+		});
+		registerDirected(new String[] { "isBoundedReachableIncoming", "isBoundedReachableOutgoing", "isBoundedReachable" },
+				new int[] { IsBoundedReachableNodeExprNode.INCOMING, IsBoundedReachableNodeExprNode.OUTGOING, IsBoundedReachableNodeExprNode.ADJACENT },
+				3, 5, "3-5", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new IsBoundedReachableNodeExprNode(f.getCoords(), f.param(0), f.param(1), f.param(2), f.paramOrEdgeRoot(3), direction, f.paramOrNodeRoot(4));
+			}
+		});
+		registerDirected(new String[] { "isBoundedReachableEdgesIncoming", "isBoundedReachableEdgesOutgoing", "isBoundedReachableEdges" },
+				new int[] { IsBoundedReachableEdgeExprNode.INCOMING, IsBoundedReachableEdgeExprNode.OUTGOING, IsBoundedReachableEdgeExprNode.INCIDENT },
+				3, 5, "3-5", new DirectedBuiltinFunction() {
+			ExprNode create(FunctionInvocationExprNode f, int direction) {
+				return new IsBoundedReachableEdgeExprNode(f.getCoords(), f.param(0), f.param(1), f.param(2), f.paramOrEdgeRoot(3), direction, f.paramOrNodeRoot(4));
+			}
+		});
+
+		///////////////////////////////////////////////////
+		// subgraphs, files, misc
+		///////////////////////////////////////////////////
+		register(new BuiltinFunction("inducedSubgraph", 1, 1, "inducedSubgraph(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new InducedSubgraphExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("definedSubgraph", 1, 1, "definedSubgraph(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new DefinedSubgraphExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("equalsAny", 2, 2, "equalsAny(.,.) takes two parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new EqualsAnyExprNode(f.getCoords(), f.param(0), f.param(1), true);
+			}
+		});
+		register(new BuiltinFunction("equalsAnyStructurally", 2, 2, "equalsAnyStructurally(.,.) takes two parameters.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new EqualsAnyExprNode(f.getCoords(), f.param(0), f.param(1), false);
+			}
+		});
+		register(new BuiltinFunction("existsFile", 1, 1, "File::exists(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ExistsFileExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("importFile", 1, 1, "File::import(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new ImportExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("copy", 1, 1, "copy(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new CopyExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("canonize", 1, 1, "canonize(.) takes one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new CanonizeExprNode(f.getCoords(), f.param(0));
+			}
+		});
+		register(new BuiltinFunction("uniqueof", 0, 1, "uniqueof(.) takes none or one parameter.") {
+			ExprNode create(FunctionInvocationExprNode f) {
+				return new UniqueofExprNode(f.getCoords(), f.params.size() == 1 ? f.param(0) : null);
+			}
+		});
 	}
 
 	@Override
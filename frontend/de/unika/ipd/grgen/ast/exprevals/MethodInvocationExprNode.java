@@ -12,6 +12,8 @@
 package de.unika.ipd.grgen.ast.exprevals;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
 
 import de.unika.ipd.grgen.ast.*;
@@ -81,460 +83,359 @@ public class MethodInvocationExprNode extends ExprNode
 		String methodName = methodIdent.toString();
 		TypeNode targetType = targetExpr.getType();
 
-		///////////////////////////////////////////////////
+		Map<String, BuiltinMethod> builtinMethods;
+		String targetTypeName;
 		if(targetType == BasicTypeNode.stringType) {
-		///////////////////////////////////////////////////
-			if(methodName.equals("length")) {
-				if(params.size() != 0) {
-					reportError("string.length() does not take any parameters.");
-					return false;
-				}
-				else
-					result = new StringLengthNode(getCoords(), targetExpr);
-			}
-			else if(methodName.equals("toUpper")) {
-				if(params.size() != 0) {
-					reportError("string.toUpper() does not take any parameters.");
-					return false;
-				}
-				else
-					result = new StringToUpperNode(getCoords(), targetExpr);
-			}
-			else if(methodName.equals("toLower")) {
-				if(params.size() != 0) {
-					reportError("string.toLower() does not take any parameters.");
-					return false;
-				}
-				else
-					result = new StringToLowerNode(getCoords(), targetExpr);
-			}
-			else if(methodName.equals("substring")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("string.substring(startIndex, length) takes two parameters, or one if the length is omitted.");
-					return false;
-				}
-  				else
-  					if(params.size() == 2)
-  						result = new StringSubstringNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  					else
-  						result = new StringSubstringNode(getCoords(), targetExpr, params.get(0));
-  			}
-  			else if(methodName.equals("indexOf")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("string.indexOf(strToSearchFor) takes one parameter, or a second startIndex parameter.");
-					return false;
-				}
-  				else
-  					if(params.size() == 1)
-  						result = new StringIndexOfNode(getCoords(), targetExpr, params.get(0));
-  					else
-  						result = new StringIndexOfNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  			}
-  			else if(methodName.equals("lastIndexOf")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("string.lastIndexOf(strToSearchFor) takes one parameter, or a second startIndex parameter.");
-					return false;
-				}
-  				else
-  					if(params.size() == 1)
-  						result = new StringLastIndexOfNode(getCoords(), targetExpr, params.get(0));
-  					else
-  						result = new StringLastIndexOfNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  			}
-  			else if(methodName.equals("startsWith")) {
-  				if(params.size() != 1) {
-  					reportError("string.startsWith(strToSearchFor) takes one parameter.");
-					return false;
-				}
-  				else
-  					result = new StringStartsWithNode(getCoords(), targetExpr, params.get(0));
-  			}
-  			else if(methodName.equals("endsWith")) {
-  				if(params.size() != 1) {
-  					reportError("string.endsWith(strToSearchFor) takes one parameter.");
-					return false;
-				}
-  				else
-  					result = new StringEndsWithNode(getCoords(), targetExpr, params.get(0));
-  			}
-  			else if(methodName.equals("replace")) {
-  				if(params.size() != 3) {
-  					reportError("string.replace(startIndex, length, replaceStr) takes three parameters.");
-					return false;
-				}
-  				else
-  					result = new StringReplaceNode(getCoords(), targetExpr, params.get(0), params.get(1), params.get(2));
-  			}
-  			else if(methodName.equals("asArray")) {
-  				if(params.size() != 1) {
-  					reportError("string.asArray(separator) takes one parameter.");
-					return false;
-				}
-  				else
-  					result = new StringAsArrayNode(getCoords(), targetExpr, params.get(0));
-  			}
-  			else {
-  				reportError("string does not have a method named \"" + methodName + "\"");
-  				return false;
-  			}
+			builtinMethods = stringMethods;
+			targetTypeName = "string";
 		}
-		///////////////////////////////////////////////////
 		else if(targetType instanceof MapTypeNode) {
-		///////////////////////////////////////////////////
-			if(methodName.equals("size")) {
-  				if(params.size() != 0) {
-  					reportError("map<S,T>.size() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new MapSizeNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("empty")) {
-  				if(params.size() != 0) {
-  					reportError("map<S,T>.empty() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new MapEmptyNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("domain")) {
-  				if(params.size() != 0) {
-  					reportError("map<S,T>.domain() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new MapDomainNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("range")) {
-  				if(params.size() != 0) {
-  					reportError("map<S,T>.range() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new MapRangeNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("asArray")) {
-  				if(params.size() != 0) {
-  					reportError("map<int,T>.asArray() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new MapAsArrayNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("peek")) {
-				if(params.size() != 1) {
-  					reportError("map<S,T>.peek(number in iteration sequence) takes one parameter.");
-					return false;
-				}
-  				else
-  					result = new MapPeekNode(getCoords(), targetExpr, params.get(0));
-			}
-  			else {
-  				reportError("map<S,T> does not have a method named \"" + methodName + "\"");
-  				return false;
-  			}
+			builtinMethods = mapMethods;
+			targetTypeName = "map<S,T>";
 		}
-		///////////////////////////////////////////////////
 		else if(targetType instanceof SetTypeNode) {
-		///////////////////////////////////////////////////
-			if(methodName.equals("size")) {
-  				if(params.size() != 0) {
-  					reportError("set<T>.size() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new SetSizeNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("empty")) {
-  				if(params.size() != 0) {
-  					reportError("set<T>.empty() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new SetEmptyNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("peek")) {
-				if(params.size() != 1) {
-  					reportError("set<T>.peek(number in iteration sequence) takes one parameter.");
-					return false;
-				}
-  				else
-  					result = new SetPeekNode(getCoords(), targetExpr, params.get(0));
-			}
-			else if(methodName.equals("asArray")) {
-  				if(params.size() != 0) {
-  					reportError("set<T>.asArray() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new SetAsArrayNode(getCoords(), targetExpr);
-  			}
-  			else {
-  				reportError("set<T> does not have a method named \"" + methodName + "\"");
-  				return false;
-  			}
+			builtinMethods = setMethods;
+			targetTypeName = "set<T>";
 		}
-		///////////////////////////////////////////////////
 		else if(targetType instanceof ArrayTypeNode) {
-		///////////////////////////////////////////////////
-			if(methodName.equals("size")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.size() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new ArraySizeNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("empty")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.empty() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new ArrayEmptyNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("peek")) {
-				if(params.size() != 0 && params.size() != 1) {
-  					reportError("array<T>.peek(index) takes one parameter; or none parameter returning the value from the end.");
-					return false;
-				}
-  				else {
-  					if(params.size() == 0 )
-  						result = new ArrayPeekNode(getCoords(), targetExpr);
-  					else
-  						result = new ArrayPeekNode(getCoords(), targetExpr, params.get(0));
-  				}
-			}
-  			else if(methodName.equals("indexOf")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("array<T>.indexOf(valueToSearchFor) takes one parameter, or a second startIndex parameter.");
-					return false;
-				}
-  				else
-  					if(params.size() == 1)
-  						result = new ArrayIndexOfNode(getCoords(), targetExpr, params.get(0));
-  					else
-  						result = new ArrayIndexOfNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  			}
-  			else if(methodName.equals("indexOfBy")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("array<T>.indexOfBy<attribute>(valueToSearchFor) takes one parameter, or a second startIndex parameter.");
-					return false;
-				}
-  				else
-  					if(params.size() == 1)
-  						result = new ArrayIndexOfByNode(getCoords(), targetExpr, attributeIdent, params.get(0));
-  					else
-  						result = new ArrayIndexOfByNode(getCoords(), targetExpr, attributeIdent, params.get(0), params.get(1));
-  			}
-  			else if(methodName.equals("indexOfOrdered")) {
-  				if(params.size() != 1) {
-  					reportError("array<T>.indexOfOrdered(valueToSearchFor) takes one parameter.");
-					return false;
-				}
-  				else
-					result = new ArrayIndexOfOrderedNode(getCoords(), targetExpr, params.get(0));
-  			}
-  			else if(methodName.equals("indexOfOrderedBy")) {
-  				if(params.size() != 1) {
-  					reportError("array<T>.indexOfOrderedBy<attribute>(valueToSearchFor) takes one parameter.");
-					return false;
-				}
-  				else
-					result = new ArrayIndexOfOrderedByNode(getCoords(), targetExpr, attributeIdent, params.get(0));
-  			}
-  			else if(methodName.equals("lastIndexOf")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("array<T>.lastIndexOf(valueToSearchFor) takes one parameter, or a second startIndex parameter.");
-					return false;
-				}
-  				else
-  					if(params.size() == 1)
-  						result = new ArrayLastIndexOfNode(getCoords(), targetExpr, params.get(0));
-  					else
-  						result = new ArrayLastIndexOfNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  			}
-  			else if(methodName.equals("lastIndexOfBy")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("array<T>.lastIndexOfBy<attribute>(valueToSearchFor) takes one parameter, or a second startIndex parameter.");
-					return false;
-				}
-  				else
-  					if(params.size() == 1)
-  						result = new ArrayLastIndexOfByNode(getCoords(), targetExpr, attributeIdent, params.get(0));
-  					else
-  						result = new ArrayLastIndexOfByNode(getCoords(), targetExpr, attributeIdent, params.get(0), params.get(1));
-  			}
-			else if(methodName.equals("subarray")) {
-  				if(params.size() != 2) {
-  					reportError("array<T>.subarray(startIndex, length) takes two parameters.");
-					return false;
-				}
-  				else
-  					result = new ArraySubarrayNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  			}
-			else if(methodName.equals("orderAscending")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.orderAscending() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new ArrayOrderAscendingNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("orderAscendingBy")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.orderAscendingBy<attribute>() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new ArrayOrderAscendingByNode(getCoords(), targetExpr, attributeIdent);
-  			}
-			else if(methodName.equals("reverse")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.reverse() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new ArrayReverseNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("asSet")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.asSet() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new ArrayAsSetNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("asDeque")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.asDeque() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new ArrayAsDequeNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("asMap")) {
-  				if(params.size() != 0) {
-  					reportError("array<T>.asMap() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new ArrayAsMapNode(getCoords(), targetExpr);
-  			}
-  			else if(methodName.equals("asString")) {
-  				if(params.size() != 1) {
-  					reportError("array<string>.asString(separator) takes one parameter.");
-					return false;
-				}
-  				else
-  					result = new ArrayAsStringNode(getCoords(), targetExpr, params.get(0));
-  			}
-  			else {
-  				reportError("array<T> does not have a method named \"" + methodName + "\"");
-  				return false;
-  			}
+			builtinMethods = arrayMethods;
+			targetTypeName = "array<T>";
 		}
-		///////////////////////////////////////////////////
 		else if(targetType instanceof DequeTypeNode) {
-		///////////////////////////////////////////////////
-			if(methodName.equals("size")) {
-  				if(params.size() != 0) {
-  					reportError("deque<T>.size() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new DequeSizeNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("empty")) {
-  				if(params.size() != 0) {
-  					reportError("deque<T>.empty() does not take any parameters.");
-					return false;
-				}
-  				else
-  					result = new DequeEmptyNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("peek")) {
-				if(params.size() != 0 && params.size() != 1) {
-  					reportError("deque<T>.peek(index) takes one parameter; or none parameter returning the value from the begin.");
-					return false;
-				}
-  				else {
-  					if(params.size() == 0 )
-  						result = new DequePeekNode(getCoords(), targetExpr);
-  					else
-  						result = new DequePeekNode(getCoords(), targetExpr, params.get(0));
-  				}
-			}
-  			else if(methodName.equals("indexOf")) {
-  				if(params.size() != 1 && params.size() != 2) {
-  					reportError("deque<T>.indexOf(valueToSearchFor) takes one parameter, or a second startIndex parameter.");
-					return false;
-				}
-  				else
-  					if(params.size() == 1)
-  						result = new DequeIndexOfNode(getCoords(), targetExpr, params.get(0));
-  					else
-  						result = new DequeIndexOfNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  			}
-  			else if(methodName.equals("lastIndexOf")) {
-  				if(params.size() != 1) {
-  					reportError("deque<T>.lastIndexOf(valueToSearchFor) takes one parameter.");
-					return false;
-				}
-  				else
-  					result = new DequeLastIndexOfNode(getCoords(), targetExpr, params.get(0));
-  			}
-			else if(methodName.equals("subdeque")) {
-  				if(params.size() != 2) {
-  					reportError("deque<T>.subdeque(startIndex, length) takes two parameters.");
-					return false;
-				}
-  				else
-  					result = new DequeSubdequeNode(getCoords(), targetExpr, params.get(0), params.get(1));
-  			}
-			else if(methodName.equals("asSet")) {
-  				if(params.size() != 0) {
-  					reportError("deque<T>.asSet() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new DequeAsSetNode(getCoords(), targetExpr);
-  			}
-			else if(methodName.equals("asArray")) {
-  				if(params.size() != 0) {
-  					reportError("deque<T>.asArray() takes no parameters.");
-					return false;
-				}
-  				else
-  					result = new DequeAsArrayNode(getCoords(), targetExpr);
-  			}
-  			else {
-  				reportError("deque<T> does not have a method named \"" + methodName + "\"");
-  				return false;
-  			}
+			builtinMethods = dequeMethods;
+			targetTypeName = "deque<T>";
 		}
-		///////////////////////////////////////////////////
 		else if(targetType instanceof InheritanceTypeNode && !(targetType instanceof ExternalTypeNode)) {
-		///////////////////////////////////////////////////
 			if(targetExpr instanceof MethodInvocationExprNode) {
 				reportError("method call chains are not supported, assign to a temporary def variable and invoke the method on it");
 				return false;
 			}
 			result = new FunctionMethodInvocationExprNode(((IdentExprNode)targetExpr).getIdent(), methodIdent, params);
+			return true;
 		}
-		///////////////////////////////////////////////////
 		else if(targetType instanceof ExternalTypeNode) {
-		///////////////////////////////////////////////////
 			targetExpr.resolve();
 			result = new ExternalFunctionMethodInvocationExprNode(targetExpr, methodIdent, params);
+			return true;
 		}
 		else {
 			reportError(targetType.toString() + " does not have any methods");
 			return false;
 		}
+
+		BuiltinMethod method = builtinMethods.get(methodName);
+		if(method == null) {
+			reportError(targetTypeName + " does not have a method named \"" + methodName + "\"");
+			return false;
+		}
+		if(!method.takes(params.size())) {
+			reportError(method.getArityError());
+			return false;
+		}
+		result = method.create(this);
 		return true;
 	}
 
+	/** The parameter at the given index */
+	private ExprNode param(int index) {
+		return params.get(index);
+	}
+
+	/** A builtin method of a basic or container type, resolving an invocation to the expression node computing it. */
+	private static abstract class BuiltinMethod extends Builtin<MethodInvocationExprNode, ExprNode> {
+		BuiltinMethod(String name, int minParams, int maxParams, String arityError) {
+			super(name, minParams, maxParams, arityError);
+		}
+	}
+
+	/** The builtin methods of the string type and the container types by name. */
+	private static final Map<String, BuiltinMethod> stringMethods = new HashMap<String, BuiltinMethod>();
+	private static final Map<String, BuiltinMethod> mapMethods = new HashMap<String, BuiltinMethod>();
+	private static final Map<String, BuiltinMethod> setMethods = new HashMap<String, BuiltinMethod>();
+	private static final Map<String, BuiltinMethod> arrayMethods = new HashMap<String, BuiltinMethod>();
+	private static final Map<String, BuiltinMethod> dequeMethods = new HashMap<String, BuiltinMethod>();
+
+	private static void register(Map<String, BuiltinMethod> builtinMethods, BuiltinMethod method) {
+		builtinMethods.put(method.getName(), method);
+	}
+
+	static {
+		///////////////////////////////////////////////////
+		// string
+		///////////////////////////////////////////////////
+		register(stringMethods, new BuiltinMethod("length", 0, 0, "string.length() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new StringLengthNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(stringMethods, new BuiltinMethod("toUpper", 0, 0, "string.toUpper() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new StringToUpperNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(stringMethods, new BuiltinMethod("toLower", 0, 0, "string.toLower() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new StringToLowerNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(stringMethods, new BuiltinMethod("substring", 1, 2, "string.substring(startIndex, length) takes two parameters, or one if the length is omitted.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 2)
+					return new StringSubstringNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+				else
+					return new StringSubstringNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(stringMethods, new BuiltinMethod("indexOf", 1, 2, "string.indexOf(strToSearchFor) takes one parameter, or a second startIndex parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 1)
+					return new StringIndexOfNode(m.getCoords(), m.targetExpr, m.param(0));
+				else
+					return new StringIndexOfNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+			}
+		});
+		register(stringMethods, new BuiltinMethod("lastIndexOf", 1, 2, "string.lastIndexOf(strToSearchFor) takes one parameter, or a second startIndex parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 1)
+					return new StringLastIndexOfNode(m.getCoords(), m.targetExpr, m.param(0));
+				else
+					return new StringLastIndexOfNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+			}
+		});
+		register(stringMethods, new BuiltinMethod("startsWith", 1, 1, "string.startsWith(strToSearchFor) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new StringStartsWithNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(stringMethods, new BuiltinMethod("endsWith", 1, 1, "string.endsWith(strToSearchFor) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new StringEndsWithNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(stringMethods, new BuiltinMethod("replace", 3, 3, "string.replace(startIndex, length, replaceStr) takes three parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new StringReplaceNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1), m.param(2));
+			}
+		});
+		register(stringMethods, new BuiltinMethod("asArray", 1, 1, "string.asArray(separator) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new StringAsArrayNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+
+		///////////////////////////////////////////////////
+		// map
+		///////////////////////////////////////////////////
+		register(mapMethods, new BuiltinMethod("size", 0, 0, "map<S,T>.size() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new MapSizeNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(mapMethods, new BuiltinMethod("empty", 0, 0, "map<S,T>.empty() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new MapEmptyNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(mapMethods, new BuiltinMethod("domain", 0, 0, "map<S,T>.domain() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new MapDomainNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(mapMethods, new BuiltinMethod("range", 0, 0, "map<S,T>.range() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new MapRangeNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(mapMethods, new BuiltinMethod("asArray", 0, 0, "map<int,T>.asArray() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new MapAsArrayNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(mapMethods, new BuiltinMethod("peek", 1, 1, "map<S,T>.peek(number in iteration sequence) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new MapPeekNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+
+		///////////////////////////////////////////////////
+		// set
+		///////////////////////////////////////////////////
+		register(setMethods, new BuiltinMethod("size", 0, 0, "set<T>.size() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new SetSizeNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(setMethods, new BuiltinMethod("empty", 0, 0, "set<T>.empty() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new SetEmptyNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(setMethods, new BuiltinMethod("peek", 1, 1, "set<T>.peek(number in iteration sequence) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new SetPeekNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(setMethods, new BuiltinMethod("asArray", 0, 0, "set<T>.asArray() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new SetAsArrayNode(m.getCoords(), m.targetExpr);
+			}
+		});
+
+		///////////////////////////////////////////////////
+		// array
+		///////////////////////////////////////////////////
+		register(arrayMethods, new BuiltinMethod("size", 0, 0, "array<T>.size() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArraySizeNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("empty", 0, 0, "array<T>.empty() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayEmptyNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("peek", 0, 1, "array<T>.peek(index) takes one parameter; or none parameter returning the value from the end.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 0)
+					return new ArrayPeekNode(m.getCoords(), m.targetExpr);
+				else
+					return new ArrayPeekNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("indexOf", 1, 2, "array<T>.indexOf(valueToSearchFor) takes one parameter, or a second startIndex parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 1)
+					return new ArrayIndexOfNode(m.getCoords(), m.targetExpr, m.param(0));
+				else
+					return new ArrayIndexOfNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("indexOfBy", 1, 2, "array<T>.indexOfBy<attribute>(valueToSearchFor) takes one parameter, or a second startIndex parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 1)
+					return new ArrayIndexOfByNode(m.getCoords(), m.targetExpr, m.attributeIdent, m.param(0));
+				else
+					return new ArrayIndexOfByNode(m.getCoords(), m.targetExpr, m.attributeIdent, m.param(0), m.param(1));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("indexOfOrdered", 1, 1, "array<T>.indexOfOrdered(valueToSearchFor) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayIndexOfOrderedNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("indexOfOrderedBy", 1, 1, "array<T>.indexOfOrderedBy<attribute>(valueToSearchFor) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayIndexOfOrderedByNode(m.getCoords(), m.targetExpr, m.attributeIdent, m.param(0));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("lastIndexOf", 1, 2, "array<T>.lastIndexOf(valueToSearchFor) takes one parameter, or a second startIndex parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 1)
+					return new ArrayLastIndexOfNode(m.getCoords(), m.targetExpr, m.param(0));
+				else
+					return new ArrayLastIndexOfNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("lastIndexOfBy", 1, 2, "array<T>.lastIndexOfBy<attribute>(valueToSearchFor) takes one parameter, or a second startIndex parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 1)
+					return new ArrayLastIndexOfByNode(m.getCoords(), m.targetExpr, m.attributeIdent, m.param(0));
+				else
+					return new ArrayLastIndexOfByNode(m.getCoords(), m.targetExpr, m.attributeIdent, m.param(0), m.param(1));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("subarray", 2, 2, "array<T>.subarray(startIndex, length) takes two parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArraySubarrayNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("orderAscending", 0, 0, "array<T>.orderAscending() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayOrderAscendingNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("orderAscendingBy", 0, 0, "array<T>.orderAscendingBy<attribute>() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayOrderAscendingByNode(m.getCoords(), m.targetExpr, m.attributeIdent);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("reverse", 0, 0, "array<T>.reverse() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayReverseNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("asSet", 0, 0, "array<T>.asSet() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayAsSetNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("asDeque", 0, 0, "array<T>.asDeque() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayAsDequeNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("asMap", 0, 0, "array<T>.asMap() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayAsMapNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(arrayMethods, new BuiltinMethod("asString", 1, 1, "array<string>.asString(separator) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new ArrayAsStringNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+
+		///////////////////////////////////////////////////
+		// deque
+		///////////////////////////////////////////////////
+		register(dequeMethods, new BuiltinMethod("size", 0, 0, "deque<T>.size() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new DequeSizeNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(dequeMethods, new BuiltinMethod("empty", 0, 0, "deque<T>.empty() does not take any parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new DequeEmptyNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(dequeMethods, new BuiltinMethod("peek", 0, 1, "deque<T>.peek(index) takes one parameter; or none parameter returning the value from the begin.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 0)
+					return new DequePeekNode(m.getCoords(), m.targetExpr);
+				else
+					return new DequePeekNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(dequeMethods, new BuiltinMethod("indexOf", 1, 2, "deque<T>.indexOf(valueToSearchFor) takes one parameter, or a second startIndex parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				if(m.params.size() == 1)
+					return new DequeIndexOfNode(m.getCoords(), m.targetExpr, m.param(0));
+				else
+					return new DequeIndexOfNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+			}
+		});
+		register(dequeMethods, new BuiltinMethod("lastIndexOf", 1, 1, "deque<T>.lastIndexOf(valueToSearchFor) takes one parameter.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new DequeLastIndexOfNode(m.getCoords(), m.targetExpr, m.param(0));
+			}
+		});
+		register(dequeMethods, new BuiltinMethod("subdeque", 2, 2, "deque<T>.subdeque(startIndex, length) takes two parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new DequeSubdequeNode(m.getCoords(), m.targetExpr, m.param(0), m.param(1));
+			}
+		});
+		register(dequeMethods, new BuiltinMethod("asSet", 0, 0, "deque<T>.asSet() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new DequeAsSetNode(m.getCoords(), m.targetExpr);
+			}
+		});
+		register(dequeMethods, new BuiltinMethod("asArray", 0, 0, "deque<T>.asArray() takes no parameters.") {
+			ExprNode create(MethodInvocationExprNode m) {
+				return new DequeAsArrayNode(m.getCoords(), m.targetExpr);
+			}
+		});
+	}
+
 	@Override
 	protected boolean checkLocal() {
 		return true;
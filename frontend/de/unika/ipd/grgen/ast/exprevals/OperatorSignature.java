@@ -10,6 +10,7 @@
  */
 package de.unika.ipd.grgen.ast.exprevals;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -19,6 +20,7 @@ import java.util.Map;
 import de.unika.ipd.grgen.ast.*;
 import de.unika.ipd.grgen.ast.containers.*;
 import de.unika.ipd.grgen.parser.Coords;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 /**
  * Operator Description class.
@@ -126,8 +128,69 @@ public class OperatorSignature extends FunctionSignature {
 	/**
 	 * Each operator is mapped by its ID to a Map, which maps each result type
 	 * of the specific operator to a its signature.
+	 * Each compilation starts with the builtin operators.
 	 */
-	private static final Map<Integer, HashSet<OperatorSignature>> operators = new HashMap<Integer, HashSet<OperatorSignature>>();
+	private static final GlobalTables.Table<Map<Integer, HashSet<OperatorSignature>>> operators =
+		new GlobalTables.Table<Map<Integer, HashSet<OperatorSignature>>>() {
+			@Override
+			protected Map<Integer, HashSet<OperatorSignature>> initialValue() {
+				Map<Integer, HashSet<OperatorSignature>> operatorsOfCompilation = new HashMap<Integer, HashSet<OperatorSignature>>();
+				copyOperators(builtinOperators, operatorsOfCompilation);
+				return operatorsOfCompilation;
+			}
+		};
+
+	/**
+	 * The signatures selected by {@link #getNearest(int, TypeNode[])} for the uses of the operators
+	 * in a compilation, so each combination of operator and operand types is resolved only once;
+	 * emptied when an operator is added.
+	 */
+	private static final GlobalTables.Table<Map<OperatorUse, OperatorSignature>> nearestOperators =
+		new GlobalTables.Table<Map<OperatorUse, OperatorSignature>>(true) { // written by the parallel check
+			@Override
+			protected Map<OperatorUse, OperatorSignature> initialValue() {
+				// synchronized as the declarations may be checked in parallel
+				return Collections.synchronizedMap(new HashMap<OperatorUse, OperatorSignature>());
+			}
+		};
+
+	/**
+	 * An operator applied to operand types, the key of {@link #nearestOperators}.
+	 * Types are compared by identity, as in {@link TypeNode#isEqual(TypeNode)}.
+	 */
+	private static final class OperatorUse {
+		private final int id;
+		private final TypeNode[] opTypes;
+		private final int hashCode;
+
+		OperatorUse(int id, TypeNode[] opTypes) {
+			this.id = id;
+			this.opTypes = opTypes;
+			int hash = id;
+			for(TypeNode opType : opTypes)
+				hash = 31 * hash + System.identityHashCode(opType);
+			this.hashCode = hash;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if(!(obj instanceof OperatorUse))
+				return false;
+			OperatorUse other = (OperatorUse) obj;
+			if(id != other.id || opTypes.length != other.opTypes.length)
+				return false;
+			for(int i = 0; i < opTypes.length; i++) {
+				if(opTypes[i] != other.opTypes[i])
+					return false;
+			}
+			return true;
+		}
+	}
 
 	/**
 	 * Makes an entry in the {@link #operators} map.
@@ -144,17 +207,20 @@ public class OperatorSignature extends FunctionSignature {
 	public static final void makeOp(int id, TypeNode resType,
 			TypeNode[] opTypes, Evaluator eval) {
 
-		Integer oid = new Integer(id);
+		Integer oid = Integer.valueOf(id);
 
-		HashSet<OperatorSignature> typeMap = operators.get(oid);
+		HashSet<OperatorSignature> typeMap = operators.get().get(oid);
 		if(typeMap == null) {
 			typeMap = new LinkedHashSet<OperatorSignature>();
-			operators.put(oid, typeMap);
+			operators.get().put(oid, typeMap);
 		}
 
 		OperatorSignature newOpSig = new OperatorSignature(id, resType,
 				opTypes, eval);
 		typeMap.add(newOpSig);
+
+		// the new signature may be nearer for an already resolved use
+		nearestOperators.get().clear();
 	}
 
 	/**
@@ -182,7 +248,8 @@ public class OperatorSignature extends FunctionSignature {
 
 		public ExprNode evaluate(ExprNode expr, OperatorSignature op,
 				ExprNode[] args) {
-			debug.report(NOTE, "id: " + op.id + ", name: " + names.get(new Integer(op.id)));
+			if(debug.isReporting(NOTE))
+				debug.report(NOTE, "id: " + op.id + ", name: " + names.get(new Integer(op.id)));
 
 			ExprNode res = expr;
 			TypeNode[] paramTypes = op.getOperandTypes();
@@ -192,8 +259,9 @@ public class OperatorSignature extends FunctionSignature {
 
 				// Check the types of the arguments.
 				for (int i = 0; i < args.length; i++) {
-					debug.report(NOTE, "parameter type: " + paramTypes[i]
-							+ " argument type: " + args[i].getType());
+					if(debug.isReporting(NOTE))
+						debug.report(NOTE, "parameter type: " + paramTypes[i]
+								+ " argument type: " + args[i].getType());
 					if (!paramTypes[i].isEqual(args[i].getType()))
 						return res;
 				}
@@ -202,11 +270,12 @@ public class OperatorSignature extends FunctionSignature {
 				try {
 					res = eval(expr.getCoords(), op, args);
 				} catch (NotEvaluatableException e) {
-					debug.report(NOTE, e.toString());
+					if(debug.isReporting(NOTE))
+						debug.report(NOTE, e.toString());
 				}
 			}
 
-			if(debug.willReport(NOTE)) {
+			if(debug.isReporting(NOTE)) {
 				ConstNode c = (res instanceof ConstNode) ? (ConstNode) res : ConstNode.getInvalid();
 				debug.report(NOTE, "result: " + res.getClass() + ", value: " + c.getValue());
 			}
@@ -678,6 +747,12 @@ public class OperatorSignature extends FunctionSignature {
 
 	private static final Evaluator emptyEvaluator = new Evaluator();
 
+	/**
+	 * The operators map as it is after the static initialization,
+	 * i.e. before any compilation registered operators for its own types.
+	 */
+	private static final Map<Integer, HashSet<OperatorSignature>> builtinOperators = new HashMap<Integer, HashSet<OperatorSignature>>();
+
 	// Initialize the operators map.
 	static {
 		// String operators
@@ -822,6 +897,14 @@ public class OperatorSignature extends FunctionSignature {
 
 		// makeOp(COND, ENUM, new TypeNode[] { BOOLEAN, ENUM, ENUM }, condEvaluator);
 
+		copyOperators(operators.get(), builtinOperators);
+	}
+
+	private static void copyOperators(Map<Integer, HashSet<OperatorSignature>> from,
+			Map<Integer, HashSet<OperatorSignature>> to) {
+		for(Map.Entry<Integer, HashSet<OperatorSignature>> entry : from.entrySet()) {
+			to.put(entry.getKey(), new LinkedHashSet<OperatorSignature>(entry.getValue()));
+		}
 	}
 
 	/**
@@ -869,7 +952,24 @@ public class OperatorSignature extends FunctionSignature {
 	 * @return The "nearest" operator.
 	 */
 	protected static OperatorSignature getNearest(int id, TypeNode[] opTypes) {
-		Integer oid = new Integer(id);
+		Map<OperatorUse, OperatorSignature> nearest = nearestOperators.get();
+		OperatorSignature res = nearest.get(new OperatorUse(id, opTypes));
+		if(res == null) {
+			res = computeNearest(id, opTypes);
+			nearest.put(new OperatorUse(id, opTypes.clone()), res);
+		} else if(debug.isReporting(NOTE)) {
+			debug.report(NOTE, "selected (already resolved): " + res);
+		}
+
+		return res;
+	}
+
+	/**
+	 * Compute the "nearest" operator for a given set of operand types,
+	 * see {@link #getNearest(int, TypeNode[])}.
+	 */
+	private static OperatorSignature computeNearest(int id, TypeNode[] opTypes) {
+		Integer oid = Integer.valueOf(id);
 		OperatorSignature res = INVALID;
 		int nearest = Integer.MAX_VALUE;
 
@@ -889,16 +989,18 @@ public class OperatorSignature extends FunctionSignature {
 			}
 		}
 
-		HashSet<OperatorSignature> opSet = operators.get(oid);
+		HashSet<OperatorSignature> opSet = operators.get().get(oid);
 		if(opSet == null) return INVALID;
 
 		for (Iterator<OperatorSignature> it = opSet.iterator(); it.hasNext();) {
 			OperatorSignature op = it.next();
 			int dist = op.getDistance(opTypes);
 
-			String arguments = "";
-			for(TypeNode tn : opTypes) arguments += tn.toString() + ", ";
-			debug.report(NOTE, "dist: " + dist + " for signature: " + op + " against " + arguments);
+			if(debug.isReporting(NOTE)) {
+				String arguments = "";
+				for(TypeNode tn : opTypes) arguments += tn.toString() + ", ";
+				debug.report(NOTE, "dist: " + dist + " for signature: " + op + " against " + arguments);
+			}
 
 			if(dist == Integer.MAX_VALUE) continue;
 
@@ -927,7 +1029,8 @@ public class OperatorSignature extends FunctionSignature {
 						|| !checkEnums && nearest >= 2))
 			res = INVALID;
 
-		debug.report(NOTE, "selected: " + res);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "selected: " + res);
 
 		return res;
 	}
@@ -12,6 +12,8 @@
 package de.unika.ipd.grgen.ast.exprevals;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Vector;
 
 import de.unika.ipd.grgen.ast.*;
@@ -66,327 +68,283 @@ public class ProcedureInvocationNode extends ProcedureInvocationBaseNode
 	protected boolean resolveLocal() {
 		String procedureName = procedureIdent.toString();
 
-		if(procedureName.equals("add")) {
-			if(params.size() == 1) {
-				result = new GraphAddNodeProcNode(getCoords(), params.get(0));
-			} else if(params.size() == 3) {
-				result = new GraphAddEdgeProcNode(getCoords(), params.get(0), params.get(1), params.get(2));
-			} else {
-				reportError(procedureName + "() takes 1 or 3 parameters.");
-				return false;
-			}
-		}
-		else if(procedureName.equals("retype")) {
-			if(params.size() == 2) {
-				result = new GraphRetypeProcNode(getCoords(), params.get(0), params.get(1));
-			} else {
-				reportError(procedureName + "() takes 2 parameters.");
-				return false;
-			}
-		}
-		else if(procedureName.equals("insert")) {
-			if(params.size() != 1) {
-				reportError("insert(.) takes one parameter.");
-				return false;
-			}
-			else
-				result = new InsertProcNode(getCoords(), params.get(0));
-		}
-		else if(procedureName.equals("insertCopy")) {
-			if(params.size() != 2) {
-				reportError("insertCopy(.,.) takes two parameters.");
-				return false;
-			}
-			else
-				result = new InsertCopyProcNode(getCoords(), params.get(0), params.get(1));
-		}
-		else if(procedureName.equals("insertInduced")) {
-			if(params.size() != 2) {
-				reportError("insertInduced(.,.) takes two parameters.");
-				return false;
-			}
-			else
-				result = new InsertInducedSubgraphProcNode(getCoords(), params.get(0), params.get(1));
-		}
-		else if(procedureName.equals("insertDefined")) {
-			if(params.size() != 2) {
-				reportError("insertDefined(.,.) takes two parameters.");
-				return false;
-			}
-			else
-				result = new InsertDefinedSubgraphProcNode(getCoords(), params.get(0), params.get(1));
-		}
-		else if(procedureName.equals("valloc")) {
-			if(params.size() != 0) {
-				reportError("valloc() takes no parameters.");
-				return false;
-			}
-			else
-				result = new VAllocProcNode(getCoords());
-		}
-		else if(procedureName.equals("startTransaction")) {
-			if(params.size() != 0) {
-				reportError("Transaction::start() takes no parameters.");
-				return false;
-			}
-			else
-				result = new StartTransactionProcNode(getCoords());
+		BuiltinProcedure procedure = builtinProcedures.get(procedureName);
+		if(procedure == null) {
+			reportError("no computation " +procedureName + " known");
+			return false;
 		}
-		else if(procedureName.equals("rem")) {
-			if(params.size() != 1) {
-				reportError("rem(value) takes one parameter.");
-				return false;
-			}
-			else {
-				result = new GraphRemoveProcNode(getCoords(), params.get(0));
-			}
+		if(!procedure.takes(params.size())) {
+			reportError(procedure.getArityError());
+			return false;
 		}
-		else if(procedureName.equals("clear")) {
-			if(params.size() != 0) {
-				reportError("clear() takes no parameters.");
-				return false;
-			}
-			else {
-				result = new GraphClearProcNode(getCoords());
-			}
+		result = procedure.create(this);
+		return true;
+	}
+
+	@Override
+	protected boolean checkLocal() {
+		BuiltinProcedure procedure = builtinProcedures.get(procedureIdent.toString());
+		if((context&BaseNode.CONTEXT_FUNCTION_OR_PROCEDURE)==BaseNode.CONTEXT_FUNCTION
+				&& (procedure == null || !procedure.isAllowedInFunction())) {
+			reportError("procedure call not allowed in function or lhs context (built-in-procedure)");
+			return false;
 		}
-		else if(procedureName.equals("vfree")) {
-			if(params.size() != 1) {
-				reportError("vfree(value) takes one parameter.");
-				return false;
-			}
-			else {
-				result = new VFreeProcNode(getCoords(), params.get(0));
-			}
+		return true;
+	}
+
+	/** The parameter at the given index */
+	private ExprNode param(int index) {
+		return params.get(index);
+	}
+
+	/** The parameter at the given index, or null if the parameter is omitted */
+	private ExprNode paramOrNull(int index) {
+		return params.size() > index ? params.get(index) : null;
+	}
+
+	/** A builtin procedure, resolving an invocation to the procedure node executing it. */
+	private static abstract class BuiltinProcedure extends Builtin<ProcedureInvocationNode, ProcedureInvocationBaseNode> {
+		BuiltinProcedure(String name, int minParams, int maxParams, String arityError) {
+			super(name, minParams, maxParams, arityError);
 		}
-		else if(procedureName.equals("vfreenonreset")) {
-			if(params.size() != 1) {
-				reportError("vfreenonreset(value) takes one parameter.");
-				return false;
-			}
-			else {
-				result = new VFreeNonResetProcNode(getCoords(), params.get(0));
-			}
+
+		/** @return Whether the procedure may be called in function context (only the ones outputting to the user). */
+		boolean isAllowedInFunction() {
+			return false;
 		}
-		else if(procedureName.equals("vreset")) {
-			if(params.size() != 1) {
-				reportError("vreset(value) takes one parameter.");
-				return false;
-			}
-			else {
-				result = new VResetProcNode(getCoords(), params.get(0));
-			}
+	}
+
+	/** A builtin procedure taking one (node) or three (edge, source, target) parameters. */
+	private static abstract class NodeOrEdgeBuiltinProcedure extends BuiltinProcedure {
+		NodeOrEdgeBuiltinProcedure(String name) {
+			super(name, 1, 3, name + "() takes 1 or 3 parameters.");
 		}
-		else if(procedureName.equals("record")) {
-			if(params.size() != 1) {
-				reportError("record(value) takes one parameter.");
-				return false;
-			}
-			else {
-				result = new RecordProcNode(getCoords(), params.get(0));
-			}
+
+		@Override
+		boolean takes(int paramCount) {
+			return paramCount == 1 || paramCount == 3;
 		}
-		else if(procedureName.equals("emit")) {
-			if(params.size() != 1) {
-				reportError("emit(value) takes one parameter.");
-				return false;
-			}
-			else {
-				result = new EmitProcNode(getCoords(), params.get(0));
-			}
+	}
+
+	/** A builtin debug procedure, taking the expressions to display; allowed in function context. */
+	private static abstract class DebugBuiltinProcedure extends BuiltinProcedure {
+		DebugBuiltinProcedure(String name, String arityError) {
+			super(name, 1, ANY, arityError);
 		}
-		else if(procedureName.equals("exportFile")) {
-			if(params.size() == 1) {
-				result = new ExportProcNode(getCoords(), params.get(0), null);
-			} else if(params.size() == 2) {
-				result = new ExportProcNode(getCoords(), params.get(1), params.get(0));
-			} else {
-				reportError("File::export() takes 1 (filepath) or 2 (graph, filepath) parameters.");
-				return false;
-			}
+
+		@Override
+		boolean isAllowedInFunction() {
+			return true;
 		}
-		else if(procedureName.equals("deleteFile")) {
-			if(params.size() == 1) {
-				result = new DeleteFileProcNode(getCoords(), params.get(0));
-			} else {
-				reportError("File::delete() takes 1 (filepath) parameters.");
-				return false;
+	}
+
+	/** The builtin procedures by name. */
+	private static final Map<String, BuiltinProcedure> builtinProcedures = new HashMap<String, BuiltinProcedure>();
+
+	private static void register(BuiltinProcedure procedure) {
+		builtinProcedures.put(procedure.getName(), procedure);
+	}
+
+	static {
+		register(new NodeOrEdgeBuiltinProcedure("add") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				if(p.params.size() == 1)
+					return new GraphAddNodeProcNode(p.getCoords(), p.param(0));
+				else
+					return new GraphAddEdgeProcNode(p.getCoords(), p.param(0), p.param(1), p.param(2));
+			}
+		});
+		register(new BuiltinProcedure("retype", 2, 2, "retype() takes 2 parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new GraphRetypeProcNode(p.getCoords(), p.param(0), p.param(1));
+			}
+		});
+		register(new BuiltinProcedure("insert", 1, 1, "insert(.) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new InsertProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("insertCopy", 2, 2, "insertCopy(.,.) takes two parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new InsertCopyProcNode(p.getCoords(), p.param(0), p.param(1));
+			}
+		});
+		register(new BuiltinProcedure("insertInduced", 2, 2, "insertInduced(.,.) takes two parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new InsertInducedSubgraphProcNode(p.getCoords(), p.param(0), p.param(1));
+			}
+		});
+		register(new BuiltinProcedure("insertDefined", 2, 2, "insertDefined(.,.) takes two parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new InsertDefinedSubgraphProcNode(p.getCoords(), p.param(0), p.param(1));
+			}
+		});
+		register(new BuiltinProcedure("valloc", 0, 0, "valloc() takes no parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new VAllocProcNode(p.getCoords());
+			}
+		});
+		register(new BuiltinProcedure("startTransaction", 0, 0, "Transaction::start() takes no parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new StartTransactionProcNode(p.getCoords());
+			}
+		});
+		register(new BuiltinProcedure("rem", 1, 1, "rem(value) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new GraphRemoveProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("clear", 0, 0, "clear() takes no parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new GraphClearProcNode(p.getCoords());
+			}
+		});
+		register(new BuiltinProcedure("vfree", 1, 1, "vfree(value) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new VFreeProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("vfreenonreset", 1, 1, "vfreenonreset(value) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new VFreeNonResetProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("vreset", 1, 1, "vreset(value) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new VResetProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("record", 1, 1, "record(value) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new RecordProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("emit", 1, 1, "emit(value) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new EmitProcNode(p.getCoords(), p.param(0));
 			}
-		}
-		else if(procedureName.equals("addDebug")) {
-			if(params.size() >= 1) {
-				DebugAddProcNode add = new DebugAddProcNode(getCoords());
-				for(ExprNode param : params.getChildren()) {
+
+			@Override
+			boolean isAllowedInFunction() {
+				return true;
+			}
+		});
+		register(new BuiltinProcedure("exportFile", 1, 2, "File::export() takes 1 (filepath) or 2 (graph, filepath) parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				if(p.params.size() == 1)
+					return new ExportProcNode(p.getCoords(), p.param(0), null);
+				else
+					return new ExportProcNode(p.getCoords(), p.param(1), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("deleteFile", 1, 1, "File::delete() takes 1 (filepath) parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new DeleteFileProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new DebugBuiltinProcedure("addDebug", "Debug::add() takes at least one parameter, the message/computation entered.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				DebugAddProcNode add = new DebugAddProcNode(p.getCoords());
+				for(ExprNode param : p.params.getChildren()) {
 					add.addExpression(param);
 				}
-				result = add;
-			} else {
-				reportError("Debug::add() takes at least one parameter, the message/computation entered.");
-				return false;				
+				return add;
 			}
-		}
-		else if(procedureName.equals("remDebug")) {
-			if(params.size() >= 1) {
-				DebugRemProcNode rem = new DebugRemProcNode(getCoords());
-				for(ExprNode param : params.getChildren()) {
+		});
+		register(new DebugBuiltinProcedure("remDebug", "Debug::rem() takes at least one parameter, the message/computation left.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				DebugRemProcNode rem = new DebugRemProcNode(p.getCoords());
+				for(ExprNode param : p.params.getChildren()) {
 					rem.addExpression(param);
 				}
-				result = rem;
-			} else {
-				reportError("Debug::rem() takes at least one parameter, the message/computation left.");
-				return false;				
-			}
-		}
-		else if(procedureName.equals("emitDebug")) {
-			if(params.size() >= 1) {
-				DebugEmitProcNode rem = new DebugEmitProcNode(getCoords());
-				for(ExprNode param : params.getChildren()) {
-					rem.addExpression(param);
+				return rem;
+			}
+		});
+		register(new DebugBuiltinProcedure("emitDebug", "Debug::emit() takes at least one parameter, the message to report.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				DebugEmitProcNode emit = new DebugEmitProcNode(p.getCoords());
+				for(ExprNode param : p.params.getChildren()) {
+					emit.addExpression(param);
 				}
-				result = rem;
-			} else {
-				reportError("Debug::emit() takes at least one parameter, the message to report.");
-				return false;				
-			}
-		}
-		else if(procedureName.equals("haltDebug")) {
-			if(params.size() >= 1) {
-				DebugHaltProcNode rem = new DebugHaltProcNode(getCoords());
-				for(ExprNode param : params.getChildren()) {
-					rem.addExpression(param);
+				return emit;
+			}
+		});
+		register(new DebugBuiltinProcedure("haltDebug", "Debug::halt() takes at least one parameter, the message to report.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				DebugHaltProcNode halt = new DebugHaltProcNode(p.getCoords());
+				for(ExprNode param : p.params.getChildren()) {
+					halt.addExpression(param);
 				}
-				result = rem;
-			} else {
-				reportError("Debug::halt() takes at least one parameter, the message to report.");
-				return false;				
+				return halt;
 			}
-		}
-		else if(procedureName.equals("highlightDebug")) {
-			if(params.size() % 2 == 1) {
-				DebugHighlightProcNode highlight = new DebugHighlightProcNode(getCoords());
-				for(ExprNode param : params.getChildren()) {
+		});
+		register(new DebugBuiltinProcedure("highlightDebug", "Debug::highlight() takes an odd number of parameters, first the message, then a series of pairs of the value to highlight followed by its annotation.") {
+			@Override
+			boolean takes(int paramCount) {
+				return paramCount % 2 == 1;
+			}
+
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				DebugHighlightProcNode highlight = new DebugHighlightProcNode(p.getCoords());
+				for(ExprNode param : p.params.getChildren()) {
 					highlight.addExpression(param);
 				}
-				result = highlight;
-			} else {
-				reportError("Debug::highlight() takes an odd number of parameters, first the message, then a series of pairs of the value to highlight followed by its annotation.");
-				return false;				
-			}
-		}
-		else if(procedureName.equals("addCopy")) {
-			if(params.size() == 1) {
-				result = new GraphAddCopyNodeProcNode(getCoords(), params.get(0));
-			} else if(params.size() == 3) {
-				result = new GraphAddCopyEdgeProcNode(getCoords(), params.get(0), params.get(1), params.get(2));
-			} else {
-				reportError(procedureName + "() takes 1 or 3 parameters.");
-				return false;
-			}
-		}
-		else if(procedureName.equals("merge")) {
-			if(params.size() < 2 || params.size() > 3) {
-				reportError("merge(target,source,oldSourceName) takes two or three parameters.");
-				return false;
-			}
-			else {
-				if(params.size() == 2)
-					result = new GraphMergeProcNode(getCoords(), params.get(0), params.get(1), null);
-				else
-					result = new GraphMergeProcNode(getCoords(), params.get(0), params.get(1), params.get(2));
-			}
-		}
-		else if(procedureName.equals("redirectSource")) {
-			if(params.size() < 2 || params.size() > 3) {
-				reportError("redirectSource(edge,newSource,oldSourceName) takes two or three parameters.");
-				return false;
-			}
-			else {
-				if(params.size() == 2)
-					result = new GraphRedirectSourceProcNode(getCoords(), params.get(0), params.get(1), null);
-				else
-					result = new GraphRedirectSourceProcNode(getCoords(), params.get(0), params.get(1), params.get(2));
+				return highlight;
 			}
-		}
-		else if(procedureName.equals("redirectTarget")) {
-			if(params.size() < 2 || params.size() > 3) {
-				reportError("redirectTarget(edge,newTarget,oldTargetName) takes two or three parameters.");
-				return false;
-			}
-			else {
-				if(params.size() == 2)
-					result = new GraphRedirectTargetProcNode(getCoords(), params.get(0), params.get(1), null);
+		});
+		register(new NodeOrEdgeBuiltinProcedure("addCopy") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				if(p.params.size() == 1)
+					return new GraphAddCopyNodeProcNode(p.getCoords(), p.param(0));
 				else
-					result = new GraphRedirectTargetProcNode(getCoords(), params.get(0), params.get(1), params.get(2));
-			}
-		}
-		else if(procedureName.equals("redirectSourceAndTarget")) {
-			if(params.size() != 3 && params.size() != 5) {
-				reportError("redirectSourceAndTarget(edge,newSource,newTarget,oldSourceName,oldTargetName) takes three or five parameters.");
-				return false;
-			}
-			else {
-				if(params.size() == 3)
-					result = new GraphRedirectSourceAndTargetProcNode(getCoords(), params.get(0), params.get(1), params.get(2), null, null);
-				else
-					result = new GraphRedirectSourceAndTargetProcNode(getCoords(), params.get(0), params.get(1), params.get(2), params.get(3), params.get(4));
-			}
-		}
-		else if(procedureName.equals("pauseTransaction")) {
-			if(params.size() != 0) {
-				reportError("Transaction::pause() takes no parameters.");
-				return false;
-			}
-			else {
-				result = new PauseTransactionProcNode(getCoords());
+					return new GraphAddCopyEdgeProcNode(p.getCoords(), p.param(0), p.param(1), p.param(2));
 			}
-		}
-		else if(procedureName.equals("resumeTransaction")) {
-			if(params.size() != 0) {
-				reportError("Transaction::resume() takes no parameters.");
-				return false;
+		});
+		register(new BuiltinProcedure("merge", 2, 3, "merge(target,source,oldSourceName) takes two or three parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new GraphMergeProcNode(p.getCoords(), p.param(0), p.param(1), p.paramOrNull(2));
 			}
-			else {
-				result = new ResumeTransactionProcNode(getCoords());
+		});
+		register(new BuiltinProcedure("redirectSource", 2, 3, "redirectSource(edge,newSource,oldSourceName) takes two or three parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new GraphRedirectSourceProcNode(p.getCoords(), p.param(0), p.param(1), p.paramOrNull(2));
 			}
-		}
-		else if(procedureName.equals("commitTransaction")) {
-			if(params.size() != 1) {
-				reportError("Transaction::commit(transactionId) takes one parameter.");
-				return false;
-			}
-			else {
-				result = new CommitTransactionProcNode(getCoords(), params.get(0));
-			}
-		}
-		else if(procedureName.equals("rollbackTransaction")) {
-			if(params.size() != 1) {
-				reportError("Transaction::rollback(transactionId) takes one parameter.");
-				return false;
+		});
+		register(new BuiltinProcedure("redirectTarget", 2, 3, "redirectTarget(edge,newTarget,oldTargetName) takes two or three parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new GraphRedirectTargetProcNode(p.getCoords(), p.param(0), p.param(1), p.paramOrNull(2));
 			}
-			else {
-				result = new RollbackTransactionProcNode(getCoords(), params.get(0));
+		});
+		register(new BuiltinProcedure("redirectSourceAndTarget", 3, 5, "redirectSourceAndTarget(edge,newSource,newTarget,oldSourceName,oldTargetName) takes three or five parameters.") {
+			@Override
+			boolean takes(int paramCount) {
+				return paramCount == 3 || paramCount == 5;
 			}
-		}
-		else {
-			reportError("no computation " +procedureName + " known");
-			return false;
-		}
-		return true;
-	}
 
-	@Override
-	protected boolean checkLocal() {
-		if((context&BaseNode.CONTEXT_FUNCTION_OR_PROCEDURE)==BaseNode.CONTEXT_FUNCTION
-				&& !procedureIdent.toString().equals("emit")
-				&& !procedureIdent.toString().equals("addDebug")
-				&& !procedureIdent.toString().equals("remDebug")
-				&& !procedureIdent.toString().equals("emitDebug")
-				&& !procedureIdent.toString().equals("haltDebug")
-				&& !procedureIdent.toString().equals("highlightDebug")) {
-			reportError("procedure call not allowed in function or lhs context (built-in-procedure)");
-			return false;
-		}
-		return true;
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new GraphRedirectSourceAndTargetProcNode(p.getCoords(), p.param(0), p.param(1), p.param(2), p.paramOrNull(3), p.paramOrNull(4));
+			}
+		});
+		register(new BuiltinProcedure("pauseTransaction", 0, 0, "Transaction::pause() takes no parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new PauseTransactionProcNode(p.getCoords());
+			}
+		});
+		register(new BuiltinProcedure("resumeTransaction", 0, 0, "Transaction::resume() takes no parameters.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new ResumeTransactionProcNode(p.getCoords());
+			}
+		});
+		register(new BuiltinProcedure("commitTransaction", 1, 1, "Transaction::commit(transactionId) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new CommitTransactionProcNode(p.getCoords(), p.param(0));
+			}
+		});
+		register(new BuiltinProcedure("rollbackTransaction", 1, 1, "Transaction::rollback(transactionId) takes one parameter.") {
+			ProcedureInvocationBaseNode create(ProcedureInvocationNode p) {
+				return new RollbackTransactionProcNode(p.getCoords(), p.param(0));
+			}
+		});
 	}
 
 	public boolean checkStatementLocal(boolean isLHS, DeclNode root, EvalStatementNode enclosingLoop) {
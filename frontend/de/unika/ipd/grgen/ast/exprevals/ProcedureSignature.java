@@ -65,8 +65,9 @@ public class ProcedureSignature extends Base {
 		if(ops.length == opTypes.length) {
 			res = 0;
 			for(int i = 0; i < opTypes.length; i++) {
-				debug.report(NOTE, "" + i + ": arg type: " + ops[i]
-					+ ", op type: " + opTypes[i]);
+				if(debug.isReporting(NOTE))
+					debug.report(NOTE, "" + i + ": arg type: " + ops[i]
+						+ ", op type: " + opTypes[i]);
 
 				boolean equal = ops[i].isEqual(opTypes[i]);
 				boolean compatible = ops[i].isCompatibleTo(opTypes[i]);
@@ -77,7 +78,8 @@ public class ProcedureSignature extends Base {
 				 * implement it!!! */
 				int compatDist = ops[i].compatibilityDist(opTypes[i]);
 
-				debug.report(NOTE, "equal: " + equal + ", compatible: " + compatible);
+				if(debug.isReporting(NOTE))
+					debug.report(NOTE, "equal: " + equal + ", compatible: " + compatible);
 
 				if (equal)
 					continue;
@@ -32,13 +32,26 @@ import java.util.Vector;
  */
 public class MemberResolver<T> extends Base
 {
-	// for error message
-	private BaseNode orginalNode;
+	/** The state of the last resolution */
+	private static class Resolution<T>
+	{
+		// for error message
+		private BaseNode orginalNode;
 
-	private BaseNode unresolvedNode;
-	private T resolvedNode;
-	private Vector<Class<? extends T>> triedClasses = new Vector<Class<? extends T>>();
-	private int validClasses;
+		private BaseNode unresolvedNode;
+		private T resolvedNode;
+		private Vector<Class<? extends T>> triedClasses = new Vector<Class<? extends T>>();
+		private int validClasses;
+	}
+
+	/** The last resolution of each thread, the resolvers are static members of the AST classes
+	 *  and thus shared by the compilations running in parallel */
+	private final ThreadLocal<Resolution<T>> resolutions = new ThreadLocal<Resolution<T>>() {
+		@Override
+		protected Resolution<T> initialValue() {
+			return new Resolution<T>();
+		}
+	};
 
 	/**
 	 * Tries to resolve the given BaseNode.
@@ -46,19 +59,20 @@ public class MemberResolver<T> extends Base
 	 *          False, when an error occurred (the error is reported).
 	 */
 	public boolean resolve(BaseNode node) {
-		triedClasses.clear();
-		validClasses = 0;
+		Resolution<T> res = resolutions.get();
+		res.triedClasses.clear();
+		res.validClasses = 0;
 
-		orginalNode = node;
-		if(!(orginalNode instanceof IdentNode)) {
-			unresolvedNode = orginalNode;
+		res.orginalNode = node;
+		if(!(res.orginalNode instanceof IdentNode)) {
+			res.unresolvedNode = res.orginalNode;
 			return true;
 		}
 
-		IdentNode identNode = (IdentNode) orginalNode;
-		unresolvedNode = identNode.getDecl();
+		IdentNode identNode = (IdentNode) res.orginalNode;
+		res.unresolvedNode = identNode.getDecl();
 
-		if (unresolvedNode instanceof InvalidDeclNode) {
+		if (res.unresolvedNode instanceof InvalidDeclNode) {
 			DeclNode scopeDecl = identNode.getScope().getIdentNode().getDecl();
 			if(scopeDecl instanceof ActionDeclNode || scopeDecl instanceof SequenceDeclNode 
 					|| scopeDecl instanceof ProcedureDeclNode || scopeDecl instanceof FunctionDeclNode 
@@ -73,8 +87,8 @@ public class MemberResolver<T> extends Base
 				}
 				InheritanceTypeNode typeNode = (InheritanceTypeNode) scopeDecl.getDeclType();
 				Map<String, DeclNode> allMembers = typeNode.getAllMembers();
-				unresolvedNode = allMembers.get(identNode.toString());
-				if(unresolvedNode == null) {
+				res.unresolvedNode = allMembers.get(identNode.toString());
+				if(res.unresolvedNode == null) {
 					identNode.reportError("Undefined member " + identNode.toString()
 							+ " of " + typeNode.getDecl().getIdentNode());
 					return false;
@@ -85,7 +99,7 @@ public class MemberResolver<T> extends Base
 	}
 
 	public T getResult() {
-		return resolvedNode;
+		return resolutions.get().resolvedNode;
 	}
 
 	/**
@@ -93,12 +107,13 @@ public class MemberResolver<T> extends Base
 	 * Otherwise it returns null.
 	 */
 	public <S extends T> S getResult(Class<S> cls) {
-		triedClasses.add(cls);
-		if(cls.isInstance(unresolvedNode))
+		Resolution<T> res = resolutions.get();
+		res.triedClasses.add(cls);
+		if(cls.isInstance(res.unresolvedNode))
 		{
-			validClasses++;
-			resolvedNode = cls.cast(unresolvedNode);
-			return cls.cast(unresolvedNode);
+			res.validClasses++;
+			res.resolvedNode = cls.cast(res.unresolvedNode);
+			return cls.cast(res.unresolvedNode);
 		}
 
 		return null;
@@ -108,9 +123,10 @@ public class MemberResolver<T> extends Base
 	 * Reports an error with all failed classes for the last resolved BaseNode.
 	 */
 	public void failed() {
-		Class<?>[] classes = new Class<?>[triedClasses.size()];
-		orginalNode.reportError("\"" + orginalNode + "\" is a " + orginalNode.getUseString() + " but a "
-		        + Util.getStrListWithOr(triedClasses.toArray(classes), BaseNode.class, "getUseStr")
+		Resolution<T> res = resolutions.get();
+		Class<?>[] classes = new Class<?>[res.triedClasses.size()];
+		res.orginalNode.reportError("\"" + res.orginalNode + "\" is a " + res.orginalNode.getUseString() + " but a "
+		        + Util.getStrListWithOr(res.triedClasses.toArray(classes), BaseNode.class, "getUseStr")
 		        + " is expected");
 	}
 
@@ -119,7 +135,7 @@ public class MemberResolver<T> extends Base
 	 * Otherwise it reports an error with all expected classes.
 	 */
 	public boolean finish() {
-		if(validClasses == 1) return true;
+		if(resolutions.get().validClasses == 1) return true;
 		failed();
 		return false;
 	}
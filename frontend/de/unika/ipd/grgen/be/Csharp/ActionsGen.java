@@ -12,16 +12,22 @@
 
 package de.unika.ipd.grgen.be.Csharp;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Date;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
+import de.unika.ipd.grgen.ast.BaseNode;
 import de.unika.ipd.grgen.ir.*;
 import de.unika.ipd.grgen.ir.exprevals.*;
 import de.unika.ipd.grgen.ir.containers.*;
+import de.unika.ipd.grgen.util.CompilationThreadPool;
 
 public class ActionsGen extends CSharpBase {
 	// constants encoding different types of match parts
@@ -41,20 +47,33 @@ public class ActionsGen extends CSharpBase {
 		model = be.unit.getActionsGraphModel();
 		mg = new ModifyGen(backend, nodeTypePrefix, edgeTypePrefix);
 		mgFuncComp = new ModifyGen(backend, nodeTypePrefix, edgeTypePrefix);
+		this.nodeTypePrefix = nodeTypePrefix;
+		this.edgeTypePrefix = edgeTypePrefix;
 	}
 
 	/**
 	 * Generates the subpatterns, actions, sequences, functions sourcecode for this unit.
 	 */
 	public void genActionlike() {
-		StringBuffer sb = new StringBuffer();
+		StringBuilder sb = new StringBuilder();
 		String filename = be.unit.getUnitName() + "Actions_intermediate.cs";
 
 		System.out.println("  generating the " + filename + " file...");
 
+		if(be.system.getGeneratorThreads() > 1)
+			generatorPool = new CompilationThreadPool(be.system.getGeneratorThreads());
+
+		if(be.system.generateIncrementally()) {
+			digests = new ActionDigests(be.unit, getGenerationContext());
+			fragments = new FragmentCache(new File(be.path, filename + ".fragments"));
+		}
+
+		// the actions file is written action by action while it is generated
+		out = be.openFile(filename);
+
 		sb.append("// This file has been generated automatically by GrGen (www.grgen.net)\n"
 				+ "// Do not modify this file! Any changes will be lost!\n"
-				+ "// Generated from \"" + be.unit.getFilename() + "\" on " + new Date() + "\n"
+				+ be.getGeneratedFromComment()
 				+ "\n"
 				+ "using System;\n"
 				+ "using System.Collections.Generic;\n"
@@ -172,43 +191,207 @@ public class ActionsGen extends CSharpBase {
 		sb.append("// GrGen insert Actions here\n");
 		sb.append("}\n");
 
-		System.out.println("    writing to " + be.path + " / " + filename);
-		writeFile(be.path, filename, sb);
+		out.append(sb);
+		be.closeFile(out);
+		out = null;
+
+		if(generatorPool != null) {
+			generatorPool.shutdown();
+			generatorPool = null;
+		}
+
+		if(fragments != null) {
+			fragments.save(BaseNode.error);
+			System.out.println("    " + fragments.getFragmentsReused() + " fragments reused, "
+					+ fragments.getFragmentsGenerated() + " fragments generated");
+		}
 	}
 
-	private void genBearer(StringBuffer sb, ActionsBearer bearer, String packageName) {
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			genSubpattern(sb, subpatternRule, packageName);
+	private void genBearer(StringBuilder sb, final ActionsBearer bearer, final String packageName) {
+		// the subpatterns, rules, and sequences are independent of each other
+		List<Identifiable> actionlikes = new ArrayList<Identifiable>();
+		List<FragmentGenerator> generators = new ArrayList<FragmentGenerator>();
+
+		for(final Rule subpatternRule : bearer.getSubpatternRules()) {
+			actionlikes.add(subpatternRule);
+			generators.add(new FragmentGenerator() {
+				public void generate(StringBuilder sb, ModifyGen mg) {
+					genSubpattern(sb, mg, subpatternRule, packageName);
+				}
+			});
 		}
 
-		for(Rule actionRule : bearer.getActionRules()) {
-			genAction(sb, actionRule, packageName);
+		for(final Rule actionRule : bearer.getActionRules()) {
+			actionlikes.add(actionRule);
+			generators.add(new FragmentGenerator() {
+				public void generate(StringBuilder sb, ModifyGen mg) {
+					genAction(sb, mg, actionRule, packageName);
+				}
+			});
 		}
 
-		for(Sequence sequence : bearer.getSequences()) {
-			genSequence(sb, sequence, packageName);
+		for(final Sequence sequence : bearer.getSequences()) {
+			actionlikes.add(sequence);
+			generators.add(new FragmentGenerator() {
+				public void generate(StringBuilder sb, ModifyGen mg) {
+					genSequence(sb, sequence, packageName);
+				}
+			});
 		}
-		
-		genFunctions(sb, bearer, packageName);
 
-		genProcedures(sb, bearer, packageName);
+		if(generatorPool != null) {
+			genFragmentsInParallel(sb, actionlikes, generators);
+		} else {
+			for(int i = 0; i < actionlikes.size(); ++i) {
+				genFragment(sb, getFragmentName(actionlikes.get(i)),
+						Collections.singletonList(actionlikes.get(i)), generators.get(i));
+				out.appendAndClear(sb);
+			}
+		}
+
+		// the functions, procedures, and filter functions share the state of their code generator,
+		// so they are handled as one fragment
+		List<Identifiable> computations = new LinkedList<Identifiable>();
+		computations.addAll(bearer.getFunctions());
+		computations.addAll(bearer.getProcedures());
+		computations.addAll(bearer.getFilterFunctions());
+		genFragment(sb, "computations " + (packageName != null ? packageName : ""), computations, new FragmentGenerator() {
+			public void generate(StringBuilder sb, ModifyGen mg) {
+				genFunctions(sb, bearer, packageName);
+
+				genProcedures(sb, bearer, packageName);
+
+				genFilterFunctions(sb, bearer, packageName);
+			}
+		});
+		out.appendAndClear(sb);
+	}
+
+	/**
+	 * The context the code of the actions is generated in, beside the unit,
+	 * to be included in the digests.
+	 */
+	private String getGenerationContext() {
+		return "unit " + be.unit.getUnitName() + "\n"
+				+ "type prefixes " + nodeTypePrefix + " " + edgeTypePrefix + "\n"
+				+ "events " + be.system.mayFireEvents() + " " + be.system.mayFireDebugEvents() + "\n"
+				+ "profiling " + be.system.emitProfilingInstrumentation() + "\n"
+				+ "parallelized " + be.unit.isToBeParallelizedActionExisting() + "\n";
+	}
+
+	/** Generates the code of a part of the actions file, rules using the given modification generator. */
+	private interface FragmentGenerator {
+		void generate(StringBuilder sb, ModifyGen mg);
+	}
+
+	private String getFragmentName(Identifiable actionlike) {
+		return actionlike.getClass().getSimpleName() + " " + getPackagePrefixDot(actionlike) + actionlike.getIdent();
+	}
+
+	/** The key of a fragment in the fragment cache, which includes the state of the code generator for computations. */
+	private String getFragmentKey(String name) {
+		return name + " @ " + mgFuncComp.tmpVarID + " " + mgFuncComp.xgrsID;
+	}
+
+	private int[] getGeneratorState() {
+		return new int[] { mgFuncComp.tmpVarID, mgFuncComp.xgrsID };
+	}
+
+	/**
+	 * Generates the code of the given actionlikes with the given generator,
+	 * or takes it from the fragment cache if it was generated in the last run from the same input.
+	 */
+	private void genFragment(StringBuilder sb, String name, List<? extends Identifiable> actionlikes,
+			FragmentGenerator generator) {
+		if(fragments == null) {
+			generator.generate(sb, mg);
+			return;
+		}
+
+		String key = getFragmentKey(name);
+		String digest = digests.getDigest(actionlikes);
+		FragmentCache.Fragment fragment = fragments.lookup(key, digest);
+		if(fragment != null) {
+			sb.append(fragment.getCode());
+			mgFuncComp.tmpVarID = fragment.getEndState()[0];
+			mgFuncComp.xgrsID = fragment.getEndState()[1];
+			return;
+		}
 
-		genFilterFunctions(sb, bearer, packageName);
+		int start = sb.length();
+		generator.generate(sb, mg);
+		fragments.put(key, digest, sb.substring(start), getGeneratorState());
 	}
 
-	private void genExternalFunctionInfos(StringBuffer sb) {
+	/**
+	 * Generates the code of the given independent actionlikes on the generator threads,
+	 * each one with a modification generator of its own.
+	 * The code is appended in the order of the actionlikes, so it is the same as when generated one after the other.
+	 */
+	private void genFragmentsInParallel(StringBuilder sb, List<Identifiable> actionlikes,
+			List<FragmentGenerator> generators) {
+		out.appendAndClear(sb);
+
+		int numFragments = actionlikes.size();
+		String[] keys = new String[numFragments];
+		String[] fragmentDigests = new String[numFragments];
+		String[] codes = new String[numFragments];
+		List<Future<String>> results = new ArrayList<Future<String>>();
+
+		// the fragment cache is only accessed from this thread
+		for(int i = 0; i < numFragments; ++i) {
+			if(fragments != null) {
+				keys[i] = getFragmentKey(getFragmentName(actionlikes.get(i)));
+				fragmentDigests[i] = digests.getDigest(Collections.singletonList(actionlikes.get(i)));
+				FragmentCache.Fragment fragment = fragments.lookup(keys[i], fragmentDigests[i]);
+				if(fragment != null) {
+					codes[i] = fragment.getCode();
+					results.add(null);
+					continue;
+				}
+			}
+			results.add(generatorPool.submit(new GeneratorTask(generators.get(i))));
+		}
+
+		for(int i = 0; i < numFragments; ++i) {
+			if(codes[i] == null) {
+				codes[i] = CompilationThreadPool.getResult(results.get(i));
+				if(fragments != null)
+					fragments.put(keys[i], fragmentDigests[i], codes[i], getGeneratorState());
+			}
+			out.append(codes[i]);
+			codes[i] = null;
+		}
+	}
+
+	/** Generates a fragment on a generator thread, with a modification generator of its own. */
+	private class GeneratorTask implements Callable<String> {
+		private final FragmentGenerator generator;
+
+		GeneratorTask(FragmentGenerator generator) {
+			this.generator = generator;
+		}
+
+		public String call() {
+			StringBuilder sb = new StringBuilder();
+			generator.generate(sb, new ModifyGen(be, nodeTypePrefix, edgeTypePrefix));
+			return sb.toString();
+		}
+	}
+
+	private void genExternalFunctionInfos(StringBuilder sb) {
 		for(ExternalFunction ef : model.getExternalFunctions()) {
 			genExternalFunctionInfo(sb, ef);
 		}
 	}
 
-	private void genExternalProcedureInfos(StringBuffer sb) {
+	private void genExternalProcedureInfos(StringBuilder sb) {
 		for(ExternalProcedure ep : model.getExternalProcedures()) {
 			genExternalProcedureInfo(sb, ep);
 		}
 	}
 
-	private void genExternalFunctionInfo(StringBuffer sb, ExternalFunction function) {
+	private void genExternalFunctionInfo(StringBuilder sb, ExternalFunction function) {
 		String functionName = formatIdentifiable(function);
 		String className = "FunctionInfo_"+functionName;
 
@@ -267,7 +450,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\n");
 	}
 
-	private void genExternalProcedureInfo(StringBuffer sb, ExternalProcedure procedure) {
+	private void genExternalProcedureInfo(StringBuilder sb, ExternalProcedure procedure) {
 		String procedureName = formatIdentifiable(procedure);
 		String className = "ProcedureInfo_"+procedureName;
 
@@ -353,7 +536,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the subpattern action representation sourcecode for the given subpattern-matching-action
 	 */
-	private void genSubpattern(StringBuffer sb, Rule subpatternRule, String packageName) {
+	private void genSubpattern(StringBuilder sb, ModifyGen mg, Rule subpatternRule, String packageName) {
 		String actionName = formatIdentifiable(subpatternRule);
 		String className = "Pattern_"+actionName;
 		List<String> staticInitializers = new LinkedList<String>();
@@ -388,7 +571,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the action representation sourcecode for the given matching-action
 	 */
-	private void genAction(StringBuffer sb, Rule actionRule, String packageName) {
+	private void genAction(StringBuilder sb, ModifyGen mg, Rule actionRule, String packageName) {
 		String actionName = formatIdentifiable(actionRule);
 		String className = "Rule_"+actionName;
 		List<String> staticInitializers = new LinkedList<String>();
@@ -424,7 +607,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the sequence representation sourcecode for the given sequence
 	 */
-	private void genSequence(StringBuffer sb, Sequence sequence, String packageName) {
+	private void genSequence(StringBuilder sb, Sequence sequence, String packageName) {
 		String sequenceName = formatIdentifiable(sequence);
 		String className = "SequenceInfo_"+sequenceName;
 		boolean isExternalSequence = sequence.getExec().getXGRSString().length()==0;
@@ -483,7 +666,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\n");
 	}
 
-	private void genFunctions(StringBuffer sb, ActionsBearer bearer, String packageName) {
+	private void genFunctions(StringBuilder sb, ActionsBearer bearer, String packageName) {
 		sb.append("\tpublic class Functions\n");
 		sb.append("\t{\n");
 		
@@ -519,7 +702,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the function representation sourcecode for the given function
 	 */
-	private void genFunction(StringBuffer sb, Function function, 
+	private void genFunction(StringBuilder sb, Function function, 
 			boolean isToBeParallelizedActionExisting, boolean emitProfilingInstrumentation) {
 		sb.append("\t\tpublic static " + formatType(function.getReturnType()) + " ");
 		sb.append(function.getIdent().toString() + "(GRGEN_LGSP.LGSPActionExecutionEnvironment actionEnv, GRGEN_LGSP.LGSPGraph graph");
@@ -544,7 +727,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the function info for the given function
 	 */
-	private void genFunctionInfo(StringBuffer sb, Function function, String packageName) {
+	private void genFunctionInfo(StringBuilder sb, Function function, String packageName) {
 		String functionName = formatIdentifiable(function);
 		String className = "FunctionInfo_"+functionName;
 
@@ -604,7 +787,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the procedure representation sourcecode for the given procedure
 	 */
-	private void genProcedures(StringBuffer sb, ActionsBearer bearer, String packageName) {
+	private void genProcedures(StringBuilder sb, ActionsBearer bearer, String packageName) {
 		sb.append("\tpublic class Procedures\n");
 		sb.append("\t{\n");
 		
@@ -639,7 +822,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genProcedure(StringBuffer sb, Procedure procedure, boolean emitProfilingInstrumentation) {
+	private void genProcedure(StringBuilder sb, Procedure procedure, boolean emitProfilingInstrumentation) {
 		sb.append("\t\tpublic static void ");
 		sb.append(procedure.getIdent().toString() + "(GRGEN_LGSP.LGSPActionExecutionEnvironment actionEnv, GRGEN_LGSP.LGSPGraph graph");
 		for(Entity inParam : procedure.getParameters()) {
@@ -681,7 +864,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the procedure info for the given procedure
 	 */
-	private void genProcedureInfo(StringBuffer sb, Procedure procedure, String packageName) {
+	private void genProcedureInfo(StringBuilder sb, Procedure procedure, String packageName) {
 		String procedureName = formatIdentifiable(procedure);
 		String className = "ProcedureInfo_"+procedureName;
 
@@ -765,7 +948,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the function representation sourcecode for the given filter function
 	 */
-	private void genFilterFunctions(StringBuffer sb, ActionsBearer bearer, String packageName) {
+	private void genFilterFunctions(StringBuilder sb, ActionsBearer bearer, String packageName) {
 		sb.append("\tpublic partial class MatchFilters\n");
 		sb.append("\t{\n");
 		
@@ -795,7 +978,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\n");		
 	}
 
-	private void genFilterFunction(StringBuffer sb, FilterFunctionInternal filter, boolean emitProfilingInstrumentation) {
+	private void genFilterFunction(StringBuilder sb, FilterFunctionInternal filter, boolean emitProfilingInstrumentation) {
 		String actionName = filter.getAction().getIdent().toString();
 		sb.append("\t\tpublic static void ");
 		sb.append("Filter_" + filter.getIdent().toString() + "(GRGEN_LGSP.LGSPGraphProcessingEnvironment procEnv, GRGEN_LIBGR.IMatchesExact<Rule_"+actionName+".IMatch_"+actionName+"> matches");
@@ -827,7 +1010,7 @@ public class ActionsGen extends CSharpBase {
 	/**
 	 * Generates the match classes (of pattern and contained patterns)
 	 */
-	private void genMatch(StringBuffer sb, PatternGraph pattern, String className, boolean parallelized) {
+	private void genMatch(StringBuilder sb, PatternGraph pattern, String className, boolean parallelized) {
 		// generate getters to contained nodes, edges, variables, embedded graphs, alternatives
 		genPatternMatchInterface(sb, pattern, pattern.getNameOfGraph(),
 				"GRGEN_LIBGR.IMatch", pattern.getNameOfGraph()+"_",
@@ -844,7 +1027,7 @@ public class ActionsGen extends CSharpBase {
 	// rule or subpattern class entities generation //
 	//////////////////////////////////////////////////
 
-	private void genRuleOrSubpatternClassEntities(StringBuffer sb, Rule rule,
+	private void genRuleOrSubpatternClassEntities(StringBuilder sb, Rule rule,
 							String patGraphVarName, List<String> staticInitializers,
 							String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		PatternGraph pattern = rule.getPattern();
@@ -893,7 +1076,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genRuleOrSubpatternClassEntities(StringBuffer sb, PatternGraph pattern,
+	private void genRuleOrSubpatternClassEntities(StringBuilder sb, PatternGraph pattern,
 							String patGraphVarName, List<String> staticInitializers,
 							String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		genAllowedTypeArrays(sb, pattern, pathPrefixForElements, alreadyDefinedEntityToName);
@@ -941,13 +1124,13 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genAllowedTypeArrays(StringBuffer sb, PatternGraph pattern,
+	private void genAllowedTypeArrays(StringBuilder sb, PatternGraph pattern,
 									  String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		genAllowedNodeTypeArrays(sb, pattern, pathPrefixForElements, alreadyDefinedEntityToName);
 		genAllowedEdgeTypeArrays(sb, pattern, pathPrefixForElements, alreadyDefinedEntityToName);
 	}
 
-	private void genAllowedNodeTypeArrays(StringBuffer sb, PatternGraph pattern,
+	private void genAllowedNodeTypeArrays(StringBuilder sb, PatternGraph pattern,
 										  String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		StringBuilder aux = new StringBuilder();
 		for(Node node : pattern.getNodes()) {
@@ -988,7 +1171,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(aux);
 	}
 
-	private void genAllowedEdgeTypeArrays(StringBuffer sb, PatternGraph pattern,
+	private void genAllowedEdgeTypeArrays(StringBuilder sb, PatternGraph pattern,
 										  String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		StringBuilder aux = new StringBuilder();
 		for(Edge edge : pattern.getEdges()) {
@@ -1029,7 +1212,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(aux);
 	}
 
-	private void genEnums(StringBuffer sb, PatternGraph pattern, String pathPrefixForElements) {
+	private void genEnums(StringBuilder sb, PatternGraph pattern, String pathPrefixForElements) {
 		sb.append("\t\tpublic enum " + pathPrefixForElements + "NodeNums { ");
 		for(Node node : pattern.getNodes()) {
 			sb.append("@" + formatIdentifiable(node) + ", ");
@@ -1067,7 +1250,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("};\n");
 	}
 
-	private void genCaseEnum(StringBuffer sb, Alternative alt, String pathPrefixForElements) {
+	private void genCaseEnum(StringBuilder sb, Alternative alt, String pathPrefixForElements) {
 		sb.append("\t\tpublic enum " + pathPrefixForElements + "CaseNums { ");
 		for(Rule altCase : alt.getAlternativeCases()) {
 			PatternGraph altCasePattern = altCase.getLeft();
@@ -1076,7 +1259,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("};\n");
 	}
 
-	private void genLocalContainers(StringBuffer sb, Rule rule,
+	private void genLocalContainers(StringBuilder sb, Rule rule,
 			List<String> staticInitializers, String pathPrefixForElements,
 			HashMap<Entity, String> alreadyDefinedEntityToName) {
 		genLocalContainers(sb, rule.getLeft(), staticInitializers,
@@ -1096,7 +1279,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genLocalContainers(StringBuffer sb, PatternGraph pattern,
+	private void genLocalContainers(StringBuilder sb, PatternGraph pattern,
 			List<String> staticInitializers, String pathPrefixForElements,
 			HashMap<Entity, String> alreadyDefinedEntityToName) {
 		genLocalContainersInitializations(sb, pattern, pattern, staticInitializers,
@@ -1109,39 +1292,39 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genLocalContainersInitializations(StringBuffer sb, PatternGraph pattern, PatternGraph directlyNestingLHSPattern, List<String> staticInitializers,
+	private void genLocalContainersInitializations(StringBuilder sb, PatternGraph pattern, PatternGraph directlyNestingLHSPattern, List<String> staticInitializers,
 			String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		NeededEntities needs = new NeededEntities(false, false, false, false, false, true, false, false);
 		for(Variable var : pattern.getVars()) {
 			if(var.initialization!=null) {
 				if(var.directlyNestingLHSGraph==directlyNestingLHSPattern) {
-					var.initialization.collectNeededEntities(needs);
+					needs.collect(var.initialization);
 				}
 			}
 		}
 		genLocalContainers(sb, needs, staticInitializers, false);
 	}
 
-	private void genLocalContainersConditions(StringBuffer sb, PatternGraph pattern, List<String> staticInitializers,
+	private void genLocalContainersConditions(StringBuilder sb, PatternGraph pattern, List<String> staticInitializers,
 			String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		NeededEntities needs = new NeededEntities(false, false, false, false, false, true, false, false);
 		for(Expression expr : pattern.getConditions()) {
-			expr.collectNeededEntities(needs);
+			needs.collect(expr);
 		}
 		genLocalContainers(sb, needs, staticInitializers, true);
 	}
 
 	// type collision with the method below cause java can't distinguish List<Expression> from List<ImperativeStmt>
-	private void genLocalContainersReturns(StringBuffer sb, List<Expression> returns, List<String> staticInitializers,
+	private void genLocalContainersReturns(StringBuilder sb, List<Expression> returns, List<String> staticInitializers,
 			String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		NeededEntities needs = new NeededEntities(false, false, false, false, false, true, false, false);
 		for(Expression expr : returns) {
-			expr.collectNeededEntities(needs);
+			needs.collect(expr);
 		}
 		genLocalContainers(sb, needs, staticInitializers, true);
 	}
 	
-	private void genLocalContainersImperativeStatements(StringBuffer sb, List<ImperativeStmt> istmts, List<String> staticInitializers,
+	private void genLocalContainersImperativeStatements(StringBuilder sb, List<ImperativeStmt> istmts, List<String> staticInitializers,
 			String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName)
 	{
 		NeededEntities needs = new NeededEntities(false, false, false, false, false, true, false, false);
@@ -1149,12 +1332,12 @@ public class ActionsGen extends CSharpBase {
 			if(istmt instanceof Emit) {
 				Emit emit = (Emit) istmt;
 				for(Expression arg : emit.getArguments())
-					arg.collectNeededEntities(needs);
+					needs.collect(arg);
 			}
 			else if (istmt instanceof Exec) {
 				Exec exec = (Exec) istmt;
 				for(Expression arg : exec.getArguments())
-					arg.collectNeededEntities(needs);
+					needs.collect(arg);
 			}
 			else assert false : "unknown ImperativeStmt: " + istmt;
 		}
@@ -1165,7 +1348,7 @@ public class ActionsGen extends CSharpBase {
 	// Rule/Subpattern metadata generation //
 	/////////////////////////////////////////
 
-	private void genRuleOrSubpatternInit(StringBuffer sb, MatchingAction action,
+	private void genRuleOrSubpatternInit(StringBuilder sb, MatchingAction action,
 			String className, String packageName, boolean isSubpattern) {
 		PatternGraph pattern = action.getPattern();
 
@@ -1199,7 +1382,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\t\t}\n");
 	}
 
-	private void genPatternGraph(StringBuffer sb, StringBuilder aux, PatternGraph pattern,
+	private void genPatternGraph(StringBuilder sb, StringBuilder aux, PatternGraph pattern,
 								String pathPrefix, String patternName, String packageName, // negatives without name, have to compute it and hand it in
 								String patGraphVarName, String className,
 								HashMap<Entity, String> alreadyDefinedEntityToName,
@@ -1358,7 +1541,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\n");
 	}
 
-	private void genElementsRequiredByPatternGraph(StringBuffer sb, StringBuilder aux, PatternGraph pattern,
+	private void genElementsRequiredByPatternGraph(StringBuilder sb, StringBuilder aux, PatternGraph pattern,
 												   String pathPrefix, String patternName, String packageName,
 												   String patGraphVarName, String className,
 												   HashMap<Entity, String> alreadyDefinedEntityToName,
@@ -1561,7 +1744,7 @@ public class ActionsGen extends CSharpBase {
 			sb.append("\t\t\t\tnew GRGEN_EXPR.Expression[] {\n");
 			NeededEntities needs = new NeededEntities(true, true, true, false, false, true, false, false);
 			for(Expression expr : sub.getSubpatternConnections()) {
-				expr.collectNeededEntities(needs);
+				needs.collect(expr);
 				sb.append("\t\t\t\t\t");
 				genExpressionTree(sb, expr, className, pathPrefixForElements, alreadyDefinedEntityToName);
 				sb.append(",\n");
@@ -1596,7 +1779,7 @@ public class ActionsGen extends CSharpBase {
 		int i = 0;
 		for(Expression expr : pattern.getConditions()) {
 			NeededEntities needs = new NeededEntities(true, true, true, false, false, true, false, false);
-			expr.collectNeededEntities(needs);
+			needs.collect(expr);
 			sb.append("\t\t\tGRGEN_LGSP.PatternCondition " + pathPrefixForElements+"cond_"+i
 					+ " = new GRGEN_LGSP.PatternCondition(\n"
 					+ "\t\t\t\t");
@@ -1628,7 +1811,7 @@ public class ActionsGen extends CSharpBase {
 			sb.append("\t\t\t}, \n");
 
 			NeededEntities needs = new NeededEntities(true, true, true, false, false, true, false, false);
-			yields.collectNeededEntities(needs);
+			needs.collect(yields);
 			sb.append("\t\t\t\tnew string[] ");
 			genEntitySet(sb, needs.nodes, "\"", "\"", true, pathPrefixForElements, alreadyDefinedEntityToName);
 			sb.append(", new string[] ");
@@ -1713,7 +1896,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genStorageAccess(StringBuffer sb, String pathPrefix,
+	private void genStorageAccess(StringBuilder sb, String pathPrefix,
 			HashMap<Entity, String> alreadyDefinedEntityToName,
 			String pathPrefixForElements, GraphEntity entity) {
 		if(entity.storageAccess!=null) {
@@ -1741,28 +1924,32 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genIndexAccess(StringBuffer sb, String pathPrefix, 
+	private void genIndexAccess(StringBuilder sb, String pathPrefix, 
 			String className, HashMap<Entity, String> alreadyDefinedEntityToName,
 			String pathPrefixForElements, GraphEntity entity, List<Entity> parameters) {
 		if(entity.indexAccess!=null) {
 			if(entity.indexAccess instanceof IndexAccessEquality) {
 				IndexAccessEquality indexAccess = (IndexAccessEquality)entity.indexAccess;
 				NeededEntities needs = new NeededEntities(true, true, true, false, false, true, false, false);
-				indexAccess.expr.collectNeededEntities(needs);
+				for(Expression expr : indexAccess.exprs)
+					needs.collect(expr);
 				Entity neededEntity = getAtMostOneNeededNodeOrEdge(needs, parameters);
 				sb.append("new GRGEN_LGSP.IndexAccessEquality(");
 				sb.append("GRGEN_MODEL." + model.getIdent() + "GraphModel.GetIndexDescription(\"" + indexAccess.index.getIdent() + "\"), ");
 				sb.append(neededEntity!=null ? formatEntity(neededEntity, pathPrefix, alreadyDefinedEntityToName) + ", " : "null, ");
-				sb.append(!needs.variables.isEmpty() ? "true, " : "false, ");
-				genExpressionTree(sb, indexAccess.expr, className, pathPrefixForElements, alreadyDefinedEntityToName);
+				sb.append(!needs.variables.isEmpty() ? "true" : "false");
+				for(Expression expr : indexAccess.exprs) { // one expression for each attribute of a composite index
+					sb.append(", ");
+					genExpressionTree(sb, expr, className, pathPrefixForElements, alreadyDefinedEntityToName);
+				}
 				sb.append("), ");
 			} else if(entity.indexAccess instanceof IndexAccessOrdering) {
 				IndexAccessOrdering indexAccess = (IndexAccessOrdering)entity.indexAccess;
 				NeededEntities needs = new NeededEntities(true, true, true, false, false, true, false, false);
 				if(indexAccess.from()!=null)
-					indexAccess.from().collectNeededEntities(needs);
+					needs.collect(indexAccess.from());
 				if(indexAccess.to()!=null)
-					indexAccess.to().collectNeededEntities(needs);
+					needs.collect(indexAccess.to());
 				Entity neededEntity = getAtMostOneNeededNodeOrEdge(needs, parameters);
 				if(indexAccess.ascending) {
 					sb.append("new GRGEN_LGSP.IndexAccessAscending(");
@@ -1789,13 +1976,13 @@ public class ActionsGen extends CSharpBase {
 		}		
 	}
 
-	private void genNameLookup(StringBuffer sb, String pathPrefix, 
+	private void genNameLookup(StringBuilder sb, String pathPrefix, 
 			String className, HashMap<Entity, String> alreadyDefinedEntityToName,
 			String pathPrefixForElements, GraphEntity entity, List<Entity> parameters) {
 		if(entity.nameMapAccess!=null) {
 			NameLookup nameMapAccess = entity.nameMapAccess;
 			NeededEntities needs = new NeededEntities(true, true, true, false, false, true, false, false);
-			nameMapAccess.expr.collectNeededEntities(needs);
+			needs.collect(nameMapAccess.expr);
 			Entity neededEntity = getAtMostOneNeededNodeOrEdge(needs, parameters);
 			sb.append("new GRGEN_LGSP.NameLookup(");
 			sb.append(neededEntity!=null ? formatEntity(neededEntity, pathPrefix, alreadyDefinedEntityToName) + ", " : "null, ");
@@ -1807,13 +1994,13 @@ public class ActionsGen extends CSharpBase {
 		}		
 	}
 
-	private void genUniqueLookup(StringBuffer sb, String pathPrefix, 
+	private void genUniqueLookup(StringBuilder sb, String pathPrefix, 
 			String className, HashMap<Entity, String> alreadyDefinedEntityToName,
 			String pathPrefixForElements, GraphEntity entity, List<Entity> parameters) {
 		if(entity.uniqueIndexAccess!=null) {
 			UniqueLookup uniqueIndexAccess = entity.uniqueIndexAccess;
 			NeededEntities needs = new NeededEntities(true, true, true, false, false, true, false, false);
-			uniqueIndexAccess.expr.collectNeededEntities(needs);
+			needs.collect(uniqueIndexAccess.expr);
 			Entity neededEntity = getAtMostOneNeededNodeOrEdge(needs, parameters);
 			sb.append("new GRGEN_LGSP.UniqueLookup(");
 			sb.append(neededEntity!=null ? formatEntity(neededEntity, pathPrefix, alreadyDefinedEntityToName) + ", " : "null, ");
@@ -1825,7 +2012,7 @@ public class ActionsGen extends CSharpBase {
 		}		
 	}
 
-	private void genRuleParamResult(StringBuffer sb, MatchingAction action, String packageName, boolean isSubpattern) {
+	private void genRuleParamResult(StringBuilder sb, MatchingAction action, String packageName, boolean isSubpattern) {
 		sb.append("\t\t\tinputs = new GRGEN_LIBGR.GrGenType[] { ");
 		for(Entity ent : action.getParameters()) {
 			if(ent instanceof Variable) {
@@ -1909,7 +2096,7 @@ public class ActionsGen extends CSharpBase {
 	// Imperative statement/exec generation //
 	//////////////////////////////////////////
 
-	private void genImperativeStatements(StringBuffer sb, Rule rule, String pathPrefix,
+	private void genImperativeStatements(StringBuilder sb, Rule rule, String pathPrefix,
 			boolean isTopLevel, boolean isSubpattern) {
 		if(rule.getRight()==null) {
 			return;
@@ -1945,7 +2132,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genImperativeStatements(StringBuffer sb, Rule rule, String pathPrefix, String packageName) {
+	private void genImperativeStatements(StringBuilder sb, Rule rule, String pathPrefix, String packageName) {
 		int xgrsID = 0;
 		for(EvalStatements evals : rule.getEvals()) {
 			for(EvalStatement eval : evals.evalStatements) {
@@ -2031,11 +2218,18 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private int genImperativeStatements(StringBuffer sb, Rule rule, String pathPrefix, String packageName, EvalStatement evalStmt, int xgrsID) {
+	private int genImperativeStatements(StringBuilder sb, Rule rule, String pathPrefix, String packageName, EvalStatement evalStmt, int xgrsID) {
 		if(evalStmt instanceof ConditionStatement) {
+			// an else if chain is followed in a loop, not by recursion, so a long chain doesn't overflow the stack
 			ConditionStatement condStmt = (ConditionStatement)evalStmt;
-			for(EvalStatement nestedEvalStmt : condStmt.getTrueCaseStatements()) {
-				xgrsID = genImperativeStatements(sb, rule, pathPrefix, packageName, nestedEvalStmt, xgrsID);
+			while(true) {
+				for(EvalStatement nestedEvalStmt : condStmt.getTrueCaseStatements()) {
+					xgrsID = genImperativeStatements(sb, rule, pathPrefix, packageName, nestedEvalStmt, xgrsID);
+				}
+				ConditionStatement elseIf = condStmt.getElseIf();
+				if(elseIf == null)
+					break;
+				condStmt = elseIf;
 			}
 			if(condStmt.getFalseCaseStatements()!=null) {
 				for(EvalStatement nestedEvalStmt : condStmt.getFalseCaseStatements()) {
@@ -2098,7 +2292,7 @@ public class ActionsGen extends CSharpBase {
 		return xgrsID;
 	}
 	
-	private int genImperativeStatements(StringBuffer sb, Rule rule, String pathPrefix, String packageName, ExecStatement execStmt, int xgrsID) {
+	private int genImperativeStatements(StringBuilder sb, Rule rule, String pathPrefix, String packageName, ExecStatement execStmt, int xgrsID) {
 		sb.append("\t\tpublic static GRGEN_LIBGR.EmbeddedSequenceInfo XGRSInfo_" + pathPrefix + xgrsID
 				+ " = new GRGEN_LIBGR.EmbeddedSequenceInfo(\n");
 		sb.append("\t\t\tnew string[] {");
@@ -2170,7 +2364,7 @@ public class ActionsGen extends CSharpBase {
 		return xgrsID;
 	}
 
-	private void genImperativeStatementClosures(StringBuffer sb, Rule rule, String pathPrefix,
+	private void genImperativeStatementClosures(StringBuilder sb, Rule rule, String pathPrefix,
 			boolean isTopLevelRule) {
 		if(rule.getRight()==null) {
 			return;
@@ -2199,7 +2393,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genImperativeStatementClosures(StringBuffer sb, Rule rule, String pathPrefix) {
+	private void genImperativeStatementClosures(StringBuilder sb, Rule rule, String pathPrefix) {
 		int xgrsID = 0;
 		for(ImperativeStmt istmt : rule.getRight().getImperativeStmts()) {
 			if (!(istmt instanceof Exec)) {
@@ -2249,21 +2443,28 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genImperativeStatements(StringBuffer sb, Procedure procedure) {
+	private void genImperativeStatements(StringBuilder sb, Procedure procedure) {
 		int xgrsID = 0;
 		for(EvalStatement evalStmt : procedure.getComputationStatements()) {
 			xgrsID = genImperativeStatements(sb, procedure, evalStmt, xgrsID);
 		}
 	}
 
-	private int genImperativeStatements(StringBuffer sb, Procedure procedure, EvalStatement evalStmt, int xgrsID) {
+	private int genImperativeStatements(StringBuilder sb, Procedure procedure, EvalStatement evalStmt, int xgrsID) {
 		if(evalStmt instanceof ExecStatement) {
 			genImperativeStatement(sb, procedure, procedure.getPackageContainedIn(), (ExecStatement)evalStmt, xgrsID);
 			++xgrsID;
 		} else if(evalStmt instanceof ConditionStatement) {
+			// an else if chain is followed in a loop, not by recursion, so a long chain doesn't overflow the stack
 			ConditionStatement condStmt = (ConditionStatement)evalStmt;
-			for(EvalStatement childEvalStmt : condStmt.getTrueCaseStatements()) {
-				xgrsID = genImperativeStatements(sb, procedure, childEvalStmt, xgrsID);
+			while(true) {
+				for(EvalStatement childEvalStmt : condStmt.getTrueCaseStatements()) {
+					xgrsID = genImperativeStatements(sb, procedure, childEvalStmt, xgrsID);
+				}
+				ConditionStatement elseIf = condStmt.getElseIf();
+				if(elseIf == null)
+					break;
+				condStmt = elseIf;
 			}
 			if(condStmt.getFalseCaseStatements()!=null) {
 				for(EvalStatement childEvalStmt : condStmt.getFalseCaseStatements()) {
@@ -2308,7 +2509,7 @@ public class ActionsGen extends CSharpBase {
 		return xgrsID;
 	}
 
-	private void genImperativeStatement(StringBuffer sb, Identifiable procedure, String packageName,
+	private void genImperativeStatement(StringBuilder sb, Identifiable procedure, String packageName,
 			ExecStatement execStmt, int xgrsID) {
 		Exec exec = execStmt.getExec();
 		
@@ -2384,87 +2585,113 @@ public class ActionsGen extends CSharpBase {
 	// Condition expression tree generation //
 	//////////////////////////////////////////
 
-	private void genExpressionTree(StringBuffer sb, Expression expr, String className,
+	/**
+	 * Generates the expression tree of an operator, walking the nested operators with an explicit stack
+	 * instead of recursion, so long operator chains (e.g. a + b + c + ...) don't overflow the call stack.
+	 */
+	private void genOperatorTree(StringBuilder sb, Operator root, String className,
 			String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName)
 	{
-		if(expr instanceof Operator) {
-			Operator op = (Operator) expr;
-			String opNamePrefix = "";
-			if(op.getType() instanceof SetType || op.getType() instanceof MapType)
+		ArrayList<Operator> ops = new ArrayList<Operator>();
+		ArrayList<Integer> nextOperands = new ArrayList<Integer>();
+		genOperatorOpening(sb, root);
+		ops.add(root);
+		nextOperands.add(0);
+		while(!ops.isEmpty()) {
+			int top = ops.size() - 1;
+			Operator op = ops.get(top);
+			int next = nextOperands.get(top);
+			if(next == op.arity()) {
+				genOperatorClosing(sb, op);
+				ops.remove(top);
+				nextOperands.remove(top);
+				continue;
+			}
+
+			nextOperands.set(top, next + 1);
+			if(next > 0)
+				sb.append(", ");
+			Expression operand = op.getOperand(next);
+			if(operand instanceof Operator) {
+				genOperatorOpening(sb, (Operator) operand);
+				ops.add((Operator) operand);
+				nextOperands.add(0);
+			} else {
+				genExpressionTree(sb, operand, className, pathPrefix, alreadyDefinedEntityToName);
+			}
+		}
+	}
+
+	private void genOperatorOpening(StringBuilder sb, Operator op)
+	{
+		String opNamePrefix = "";
+		if(op.getType() instanceof SetType || op.getType() instanceof MapType)
+			opNamePrefix = "DICT_";
+		if(op.getType() instanceof ArrayType)
+			opNamePrefix = "LIST_";
+		if(op.getType() instanceof DequeType)
+			opNamePrefix = "DEQUE_";
+		if(op.getOpCode()==Operator.EQ || op.getOpCode()==Operator.NE 
+			|| op.getOpCode()==Operator.SE
+			|| op.getOpCode()==Operator.GT || op.getOpCode()==Operator.GE
+			|| op.getOpCode()==Operator.LT || op.getOpCode()==Operator.LE) {
+			Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
+			if(opnd.getType() instanceof SetType || opnd.getType() instanceof MapType) {
 				opNamePrefix = "DICT_";
-			if(op.getType() instanceof ArrayType)
+			}
+			if(opnd.getType() instanceof ArrayType) {
 				opNamePrefix = "LIST_";
-			if(op.getType() instanceof DequeType)
+			}
+			if(opnd.getType() instanceof DequeType) {
 				opNamePrefix = "DEQUE_";
-			if(op.getOpCode()==Operator.EQ || op.getOpCode()==Operator.NE 
-				|| op.getOpCode()==Operator.SE
-				|| op.getOpCode()==Operator.GT || op.getOpCode()==Operator.GE
-				|| op.getOpCode()==Operator.LT || op.getOpCode()==Operator.LE) {
-				Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
-				if(opnd.getType() instanceof SetType || opnd.getType() instanceof MapType) {
-					opNamePrefix = "DICT_";
-				}
-				if(opnd.getType() instanceof ArrayType) {
-					opNamePrefix = "LIST_";
-				}
-				if(opnd.getType() instanceof DequeType) {
-					opNamePrefix = "DEQUE_";
-				}
-				if(opnd.getType() instanceof GraphType) {
-					opNamePrefix = "GRAPH_";
-				}
 			}
-			if(op.getOpCode()==Operator.GT || op.getOpCode()==Operator.GE
-				|| op.getOpCode()==Operator.LT || op.getOpCode()==Operator.LE) {
-				Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
-				if(opnd.getType() instanceof StringType) {
-					opNamePrefix = "STRING_";
-				}
+			if(opnd.getType() instanceof GraphType) {
+				opNamePrefix = "GRAPH_";
 			}
-			if(model.isEqualClassDefined() && (op.getOpCode()==Operator.EQ || op.getOpCode()==Operator.NE)) {
-				Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
-				if(opnd.getType() instanceof ObjectType || opnd.getType() instanceof ExternalType) {
-					opNamePrefix = "EXTERNAL_";
-				}
+		}
+		if(op.getOpCode()==Operator.GT || op.getOpCode()==Operator.GE
+			|| op.getOpCode()==Operator.LT || op.getOpCode()==Operator.LE) {
+			Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
+			if(opnd.getType() instanceof StringType) {
+				opNamePrefix = "STRING_";
 			}
-			if(model.isLowerClassDefined() && (op.getOpCode()==Operator.GT || op.getOpCode()==Operator.GE || op.getOpCode()==Operator.LT || op.getOpCode()==Operator.LE)) {
-				Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
-				if(opnd.getType() instanceof ObjectType || opnd.getType() instanceof ExternalType) {
-					opNamePrefix = "EXTERNAL_";
-				}
+		}
+		if(model.isEqualClassDefined() && (op.getOpCode()==Operator.EQ || op.getOpCode()==Operator.NE)) {
+			Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
+			if(opnd.getType() instanceof ObjectType || opnd.getType() instanceof ExternalType) {
+				opNamePrefix = "EXTERNAL_";
 			}
-
-			sb.append("new GRGEN_EXPR." + opNamePrefix + Operator.opNames[op.getOpCode()] + "(");
-			switch (op.arity()) {
-				case 1:
-					genExpressionTree(sb, op.getOperand(0), className, pathPrefix, alreadyDefinedEntityToName);
-					break;
-				case 2:
-					genExpressionTree(sb, op.getOperand(0), className, pathPrefix, alreadyDefinedEntityToName);
-					sb.append(", ");
-					genExpressionTree(sb, op.getOperand(1), className, pathPrefix, alreadyDefinedEntityToName);
-					if(op.getOpCode()==Operator.IN) {
-						if(op.getOperand(0) instanceof GraphEntityExpression)
-							sb.append(", \"" + formatElementInterfaceRef(op.getOperand(0).getType()) + "\"");
-						boolean isDictionary = op.getOperand(1).getType() instanceof SetType || op.getOperand(1).getType() instanceof MapType;
-						sb.append(isDictionary ? ", true" : ", false");
-					}
-					break;
-				case 3:
-					if(op.getOpCode()==Operator.COND) {
-						genExpressionTree(sb, op.getOperand(0), className, pathPrefix, alreadyDefinedEntityToName);
-						sb.append(", ");
-						genExpressionTree(sb, op.getOperand(1), className, pathPrefix, alreadyDefinedEntityToName);
-						sb.append(", ");
-						genExpressionTree(sb, op.getOperand(2), className, pathPrefix, alreadyDefinedEntityToName);
-						break;
-					}
-					// FALLTHROUGH
-				default:
-					throw new UnsupportedOperationException(
-						"Unsupported operation arity (" + op.arity() + ")");
+		}
+		if(model.isLowerClassDefined() && (op.getOpCode()==Operator.GT || op.getOpCode()==Operator.GE || op.getOpCode()==Operator.LT || op.getOpCode()==Operator.LE)) {
+			Expression opnd = op.getOperand(0); // or .getOperand(1), irrelevant
+			if(opnd.getType() instanceof ObjectType || opnd.getType() instanceof ExternalType) {
+				opNamePrefix = "EXTERNAL_";
 			}
-			sb.append(")");
+		}
+
+		sb.append("new GRGEN_EXPR." + opNamePrefix + Operator.opNames[op.getOpCode()] + "(");
+		if(op.arity() == 1 || op.arity() == 2 || (op.arity() == 3 && op.getOpCode() == Operator.COND))
+			return;
+		throw new UnsupportedOperationException(
+			"Unsupported operation arity (" + op.arity() + ")");
+	}
+
+	private void genOperatorClosing(StringBuilder sb, Operator op)
+	{
+		if(op.arity() == 2 && op.getOpCode()==Operator.IN) {
+			if(op.getOperand(0) instanceof GraphEntityExpression)
+				sb.append(", \"" + formatElementInterfaceRef(op.getOperand(0).getType()) + "\"");
+			boolean isDictionary = op.getOperand(1).getType() instanceof SetType || op.getOperand(1).getType() instanceof MapType;
+			sb.append(isDictionary ? ", true" : ", false");
+		}
+		sb.append(")");
+	}
+
+	private void genExpressionTree(StringBuilder sb, Expression expr, String className,
+			String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName)
+	{
+		if(expr instanceof Operator) {
+			genOperatorTree(sb, (Operator) expr, className, pathPrefix, alreadyDefinedEntityToName);
 		}
 		else if(expr instanceof Qualification) {
 			Qualification qual = (Qualification) expr;
@@ -3820,7 +4047,7 @@ public class ActionsGen extends CSharpBase {
 		return max;
 	}
 
-	private void appendPrio(StringBuffer sb, Entity entity, double max) {
+	private void appendPrio(StringBuilder sb, Entity entity, double max) {
 		Object prioO = entity.getAnnotations().get("prio");
 
 		double prio;
@@ -3839,19 +4066,19 @@ public class ActionsGen extends CSharpBase {
 	// Expression stuff //
 	//////////////////////
 
-	protected void genQualAccess(StringBuffer sb, Qualification qual, Object modifyGenerationState) {
+	protected void genQualAccess(StringBuilder sb, Qualification qual, Object modifyGenerationState) {
 		Entity owner = qual.getOwner();
 		Entity member = qual.getMember();
 		genQualAccess(sb, owner, member);
 	}
 
-	protected void genQualAccess(StringBuffer sb, Entity owner, Entity member) {
+	protected void genQualAccess(StringBuilder sb, Entity owner, Entity member) {
 		sb.append("((I" + getNodeOrEdgeTypePrefix(owner) +
 					  formatIdentifiable(owner.getType()) + ") ");
 		sb.append(formatEntity(owner) + ").@" + formatIdentifiable(member));
 	}
 
-	protected void genMemberAccess(StringBuffer sb, Entity member) {
+	protected void genMemberAccess(StringBuilder sb, Entity member) {
 		throw new UnsupportedOperationException("Member expressions not allowed in actions!");
 	}
 
@@ -3859,7 +4086,7 @@ public class ActionsGen extends CSharpBase {
 	// Static constructor calling static inits //
 	/////////////////////////////////////////////
 
-	protected void genStaticConstructor(StringBuffer sb, String className, List<String> staticInitializers)
+	protected void genStaticConstructor(StringBuilder sb, String className, List<String> staticInitializers)
 	{
 		sb.append("\n");
 		sb.append("\t\tstatic " + className + "() {\n");
@@ -3874,7 +4101,7 @@ public class ActionsGen extends CSharpBase {
 	// Match objects generation //
 	//////////////////////////////
 
-	private void genPatternMatchInterface(StringBuffer sb, PatternGraph pattern, String name,
+	private void genPatternMatchInterface(StringBuilder sb, PatternGraph pattern, String name,
 			String base, String pathPrefixForElements, boolean iterated, boolean alternativeCase)
 	{
 		genMatchInterface(sb, pattern, name,
@@ -3916,7 +4143,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genPatternMatchImplementation(StringBuffer sb, PatternGraph pattern, String name,
+	private void genPatternMatchImplementation(StringBuilder sb, PatternGraph pattern, String name,
 			String patGraphVarName, String className,
 			String pathPrefixForElements, 
 			boolean iterated, boolean independent, boolean parallelized)
@@ -3960,7 +4187,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genMatchInterface(StringBuffer sb, PatternGraph pattern,
+	private void genMatchInterface(StringBuilder sb, PatternGraph pattern,
 			String name, String base,
 			String pathPrefixForElements, boolean iterated, boolean alternativeCase)
 	{
@@ -3988,7 +4215,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\n");
 	}
 
-	private void genAlternativeMatchInterface(StringBuffer sb, String name)
+	private void genAlternativeMatchInterface(StringBuilder sb, String name)
 	{
 		String interfaceName = "IMatch_" + name;
 		sb.append("\t\tpublic interface "+interfaceName+" : GRGEN_LIBGR.IMatch\n");
@@ -4000,7 +4227,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\n");
 	}
 
-	private void genMatchImplementation(StringBuffer sb, PatternGraph pattern, String name,
+	private void genMatchImplementation(StringBuilder sb, PatternGraph pattern, String name,
 			String patGraphVarName, String ruleClassName,
 			String pathPrefixForElements, 
 			boolean iterated, boolean independent, boolean parallelized)
@@ -4074,7 +4301,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\n");
 	}
 
-	private void genMatchedEntitiesInterface(StringBuffer sb, PatternGraph pattern,
+	private void genMatchedEntitiesInterface(StringBuilder sb, PatternGraph pattern,
 			String name, int which, String pathPrefixForElements)
 	{
 		// the getters for the elements
@@ -4124,7 +4351,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genMatchedEntitiesImplementation(StringBuffer sb, PatternGraph pattern,
+	private void genMatchedEntitiesImplementation(StringBuilder sb, PatternGraph pattern,
 			String name, int which, String pathPrefixForElements)
 	{
 		// the element itself and the getter for it
@@ -4209,7 +4436,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genCopyMatchedEntities(StringBuffer sb, PatternGraph pattern,
+	private void genCopyMatchedEntities(StringBuilder sb, PatternGraph pattern,
 			String name, int which, String pathPrefixForElements)
 	{
 		switch(which)
@@ -4261,7 +4488,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genEqualMatch(StringBuffer sb, PatternGraph pattern,
+	private void genEqualMatch(StringBuilder sb, PatternGraph pattern,
 			String name, int which, String pathPrefixForElements)
 	{
 		switch(which)
@@ -4327,7 +4554,7 @@ public class ActionsGen extends CSharpBase {
 	}
 
 	
-	private void genIMatchImplementation(StringBuffer sb, PatternGraph pattern,
+	private void genIMatchImplementation(StringBuilder sb, PatternGraph pattern,
 			String name, int which, String pathPrefixForElements)
 	{
 		// the various match part getters
@@ -4455,7 +4682,7 @@ public class ActionsGen extends CSharpBase {
 	}
 
 
-	private void genMatchEnum(StringBuffer sb, PatternGraph pattern,
+	private void genMatchEnum(StringBuilder sb, PatternGraph pattern,
 			String name, int which, String pathPrefixForElements)
 	{
 		// generate enum mapping entity names to consecutive integers
@@ -4610,7 +4837,7 @@ public class ActionsGen extends CSharpBase {
 	// Yielding assignment generation //
 	////////////////////////////////////
 
-	private void genYield(StringBuffer sb, EvalStatement evalStmt, String className,
+	private void genYield(StringBuilder sb, EvalStatement evalStmt, String className,
 			String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		if(evalStmt instanceof AssignmentVarIndexed) { // must come before AssignmentVar
 			genAssignmentVarIndexed(sb, (AssignmentVarIndexed) evalStmt, 
@@ -4780,7 +5007,7 @@ public class ActionsGen extends CSharpBase {
 		}
 	}
 
-	private void genAssignmentVar(StringBuffer sb, AssignmentVar ass,
+	private void genAssignmentVar(StringBuilder sb, AssignmentVar ass,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = ass.getTarget();
 		Expression expr = ass.getExpression();
@@ -4793,7 +5020,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genAssignmentVarIndexed(StringBuffer sb, AssignmentVarIndexed ass,
+	private void genAssignmentVarIndexed(StringBuilder sb, AssignmentVarIndexed ass,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = ass.getTarget();
 		Expression expr = ass.getExpression();
@@ -4807,7 +5034,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genAssignmentGraphEntity(StringBuffer sb, AssignmentGraphEntity ass,
+	private void genAssignmentGraphEntity(StringBuilder sb, AssignmentGraphEntity ass,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		GraphEntity target = ass.getTarget();
 		Expression expr = ass.getExpression();
@@ -4820,7 +5047,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genCompoundAssignmentVarChangedVar(StringBuffer sb, CompoundAssignmentVarChangedVar cass,
+	private void genCompoundAssignmentVarChangedVar(StringBuilder sb, CompoundAssignmentVarChangedVar cass,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName)
 	{
 		String changedOperation;
@@ -4839,7 +5066,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genCompoundAssignmentVar(StringBuffer sb, CompoundAssignmentVar cass, String prefix,
+	private void genCompoundAssignmentVar(StringBuilder sb, CompoundAssignmentVar cass, String prefix,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName)
 	{
 		Variable target = cass.getTarget();
@@ -4859,11 +5086,11 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genMapVarRemoveItem(StringBuffer sb, MapVarRemoveItem mvri,
+	private void genMapVarRemoveItem(StringBuilder sb, MapVarRemoveItem mvri,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = mvri.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpressionTree(sbtmp, mvri.getKeyExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 		String keyExprStr = sbtmp.toString();
 
@@ -4876,7 +5103,7 @@ public class ActionsGen extends CSharpBase {
 		assert mvri.getNext()==null;
 	}
 
-	private void genMapVarClear(StringBuffer sb, MapVarClear mvc,
+	private void genMapVarClear(StringBuilder sb, MapVarClear mvc,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = mvc.getTarget();
 
@@ -4887,11 +5114,11 @@ public class ActionsGen extends CSharpBase {
 		assert mvc.getNext()==null;
 	}
 
-	private void genMapVarAddItem(StringBuffer sb, MapVarAddItem mvai,
+	private void genMapVarAddItem(StringBuilder sb, MapVarAddItem mvai,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = mvai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpressionTree(sbtmp, mvai.getValueExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 		String valueExprStr = sbtmp.toString();
 		sbtmp.delete(0, sbtmp.length());
@@ -4909,11 +5136,11 @@ public class ActionsGen extends CSharpBase {
 		assert mvai.getNext()==null;
 	}
 
-	private void genSetVarRemoveItem(StringBuffer sb, SetVarRemoveItem svri,
+	private void genSetVarRemoveItem(StringBuilder sb, SetVarRemoveItem svri,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = svri.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpressionTree(sbtmp, svri.getValueExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 		String valueExprStr = sbtmp.toString();
 
@@ -4926,7 +5153,7 @@ public class ActionsGen extends CSharpBase {
 		assert svri.getNext()==null;
 	}
 
-	private void genSetVarClear(StringBuffer sb, SetVarClear svc,
+	private void genSetVarClear(StringBuilder sb, SetVarClear svc,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = svc.getTarget();
 
@@ -4937,11 +5164,11 @@ public class ActionsGen extends CSharpBase {
 		assert svc.getNext()==null;
 	}
 
-	private void genSetVarAddItem(StringBuffer sb, SetVarAddItem svai,
+	private void genSetVarAddItem(StringBuilder sb, SetVarAddItem svai,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = svai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpressionTree(sbtmp, svai.getValueExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 		String valueExprStr = sbtmp.toString();
 
@@ -4954,7 +5181,7 @@ public class ActionsGen extends CSharpBase {
 		assert svai.getNext()==null;
 	}
 
-	private void genArrayVarRemoveItem(StringBuffer sb, ArrayVarRemoveItem avri,
+	private void genArrayVarRemoveItem(StringBuilder sb, ArrayVarRemoveItem avri,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = avri.getTarget();
 
@@ -4962,7 +5189,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\"" + formatEntity(target, pathPrefix, alreadyDefinedEntityToName) + "\"");
 		if(avri.getIndexExpr()!=null) {
 			sb.append(", ");
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, avri.getIndexExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 			String indexExprStr = sbtmp.toString();
 			sb.append(indexExprStr);
@@ -4972,7 +5199,7 @@ public class ActionsGen extends CSharpBase {
 		assert avri.getNext()==null;
 	}
 
-	private void genArrayVarClear(StringBuffer sb, ArrayVarClear avc,
+	private void genArrayVarClear(StringBuilder sb, ArrayVarClear avc,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = avc.getTarget();
 
@@ -4983,11 +5210,11 @@ public class ActionsGen extends CSharpBase {
 		assert avc.getNext()==null;
 	}
 
-	private void genArrayVarAddItem(StringBuffer sb, ArrayVarAddItem avai,
+	private void genArrayVarAddItem(StringBuilder sb, ArrayVarAddItem avai,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = avai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpressionTree(sbtmp, avai.getValueExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 		String valueExprStr = sbtmp.toString();
 
@@ -4996,7 +5223,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(", ");
 		sb.append(valueExprStr);
 		if(avai.getIndexExpr()!=null) {
-			sbtmp = new StringBuffer();
+			sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, avai.getIndexExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 			String indexExprStr = sbtmp.toString();
 			sb.append(", ");
@@ -5007,7 +5234,7 @@ public class ActionsGen extends CSharpBase {
 		assert avai.getNext()==null;
 	}
 
-	private void genDequeVarRemoveItem(StringBuffer sb, DequeVarRemoveItem dvri,
+	private void genDequeVarRemoveItem(StringBuilder sb, DequeVarRemoveItem dvri,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = dvri.getTarget();
 
@@ -5015,7 +5242,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\"" + formatEntity(target, pathPrefix, alreadyDefinedEntityToName) + "\"");
 		if(dvri.getIndexExpr()!=null) {
 			sb.append(", ");
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, dvri.getIndexExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 			String indexExprStr = sbtmp.toString();
 			sb.append(indexExprStr);
@@ -5025,7 +5252,7 @@ public class ActionsGen extends CSharpBase {
 		assert dvri.getNext()==null;
 	}
 
-	private void genDequeVarClear(StringBuffer sb, DequeVarClear dvc,
+	private void genDequeVarClear(StringBuilder sb, DequeVarClear dvc,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = dvc.getTarget();
 
@@ -5036,11 +5263,11 @@ public class ActionsGen extends CSharpBase {
 		assert dvc.getNext()==null;
 	}
 
-	private void genDequeVarAddItem(StringBuffer sb, DequeVarAddItem dvai,
+	private void genDequeVarAddItem(StringBuilder sb, DequeVarAddItem dvai,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable target = dvai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpressionTree(sbtmp, dvai.getValueExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 		String valueExprStr = sbtmp.toString();
 
@@ -5049,7 +5276,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(", ");
 		sb.append(valueExprStr);
 		if(dvai.getIndexExpr()!=null) {
-			sbtmp = new StringBuffer();
+			sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, dvai.getIndexExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 			String indexExprStr = sbtmp.toString();
 			sb.append(", ");
@@ -5060,7 +5287,7 @@ public class ActionsGen extends CSharpBase {
 		assert dvai.getNext()==null;
 	}
 
-	private void genIteratedAccumulationYield(StringBuffer sb, IteratedAccumulationYield iay,
+	private void genIteratedAccumulationYield(StringBuilder sb, IteratedAccumulationYield iay,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable iterationVar = iay.getIterationVar();
 		Rule iterated = iay.getIterated();
@@ -5078,7 +5305,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genContainerAccumulationYield(StringBuffer sb, ContainerAccumulationYield cay,
+	private void genContainerAccumulationYield(StringBuilder sb, ContainerAccumulationYield cay,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable iterationVar = cay.getIterationVar();
 		Variable indexVar = cay.getIndexVar();
@@ -5120,7 +5347,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genIntegerRangeIterationYield(StringBuffer sb, IntegerRangeIterationYield iriy,
+	private void genIntegerRangeIterationYield(StringBuilder sb, IntegerRangeIterationYield iriy,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable iterationVar = iriy.getIterationVar();
 		Expression left = iriy.getLeftExpr();
@@ -5143,7 +5370,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genForFunction(StringBuffer sb, ForFunction ff,
+	private void genForFunction(StringBuilder sb, ForFunction ff,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable iterationVar = ff.getIterationVar();
 		Type iterationVarType = iterationVar.getType();
@@ -5154,42 +5381,42 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\"" + formatElementInterfaceRef(iterationVarType) + "\", ");
 		if(ff.getFunction() instanceof AdjacentNodeExpr) {
 			AdjacentNodeExpr adjacentExpr = (AdjacentNodeExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, adjacentExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		} else if(ff.getFunction() instanceof IncidentEdgeExpr) {
 			IncidentEdgeExpr incidentExpr = (IncidentEdgeExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, incidentExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		} else if(ff.getFunction() instanceof ReachableNodeExpr) {
 			ReachableNodeExpr reachableExpr = (ReachableNodeExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, reachableExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		} else if(ff.getFunction() instanceof ReachableEdgeExpr) {
 			ReachableEdgeExpr reachableExpr = (ReachableEdgeExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, reachableExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		} else if(ff.getFunction() instanceof BoundedReachableNodeExpr) {
 			BoundedReachableNodeExpr boundedReachableExpr = (BoundedReachableNodeExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, boundedReachableExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		} else if(ff.getFunction() instanceof BoundedReachableEdgeExpr) {
 			BoundedReachableEdgeExpr boundedReachableExpr = (BoundedReachableEdgeExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, boundedReachableExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		} else if(ff.getFunction() instanceof NodesExpr) {
 			NodesExpr nodesExpr = (NodesExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, nodesExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		} else if(ff.getFunction() instanceof EdgesExpr) {
 			EdgesExpr edgesExpr = (EdgesExpr)ff.getFunction();
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpressionTree(sbtmp, edgesExpr, className, pathPrefix, alreadyDefinedEntityToName);
 			sb.append(sbtmp.toString() + ", ");
 		}
@@ -5202,7 +5429,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genForIndexAccessEquality(StringBuffer sb, ForIndexAccessEquality fiae,
+	private void genForIndexAccessEquality(StringBuilder sb, ForIndexAccessEquality fiae,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable iterationVar = fiae.getIterationVar();
 		Type iterationVarType = iterationVar.getType();
@@ -5215,7 +5442,17 @@ public class ActionsGen extends CSharpBase {
 		sb.append("\"" + formatIdentifiable(iterationVar) + "\", ");
 		sb.append("\"" + formatElementInterfaceRef(iterationVarType) + "\", ");
 
-		genExpressionTree(sb, fiae.getIndexAcccessEquality().expr, className, pathPrefix, alreadyDefinedEntityToName);
+		List<Expression> exprs = fiae.getIndexAcccessEquality().exprs;
+		if(exprs.size() == 1) {
+			genExpressionTree(sb, exprs.get(0), className, pathPrefix, alreadyDefinedEntityToName);
+		} else {
+			sb.append("new GRGEN_EXPR.Expression[] { ");
+			for(Expression expr : exprs) {
+				genExpressionTree(sb, expr, className, pathPrefix, alreadyDefinedEntityToName);
+				sb.append(", ");
+			}
+			sb.append("}");
+		}
 		sb.append(", ");
 			
 		sb.append("new GRGEN_EXPR.Yielding[] { ");
@@ -5227,7 +5464,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genForIndexAccessOrdering(StringBuffer sb, ForIndexAccessOrdering fiao,
+	private void genForIndexAccessOrdering(StringBuilder sb, ForIndexAccessOrdering fiao,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable iterationVar = fiao.getIterationVar();
 		Type iterationVarType = iterationVar.getType();
@@ -5263,17 +5500,28 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genConditionStatement(StringBuffer sb, ConditionStatement cs,
+	private void genConditionStatement(StringBuilder sb, ConditionStatement cs,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
-		sb.append("\t\t\t\tnew GRGEN_EXPR.ConditionStatement(");
-		genExpressionTree(sb, cs.getConditionExpr(), className, pathPrefix, alreadyDefinedEntityToName);
-		sb.append(",");
-		sb.append("new GRGEN_EXPR.Yielding[] { ");
-		for(EvalStatement statement : cs.getTrueCaseStatements()) {
-			genYield(sb, statement, className, pathPrefix, alreadyDefinedEntityToName);
-			sb.append(", ");
+		// an else if chain is generated in a loop, not by recursion, so a long chain doesn't overflow the stack;
+		// the ends of the enclosing condition statements are appended at its end
+		int nesting = 0;
+		while(true) {
+			sb.append("\t\t\t\tnew GRGEN_EXPR.ConditionStatement(");
+			genExpressionTree(sb, cs.getConditionExpr(), className, pathPrefix, alreadyDefinedEntityToName);
+			sb.append(",");
+			sb.append("new GRGEN_EXPR.Yielding[] { ");
+			for(EvalStatement statement : cs.getTrueCaseStatements()) {
+				genYield(sb, statement, className, pathPrefix, alreadyDefinedEntityToName);
+				sb.append(", ");
+			}
+			sb.append("}, ");
+			ConditionStatement elseIf = cs.getElseIf();
+			if(elseIf == null)
+				break;
+			sb.append("new GRGEN_EXPR.Yielding[] { ");
+			++nesting;
+			cs = elseIf;
 		}
-		sb.append("}, ");
 		if(cs.getFalseCaseStatements()!=null) {
 			sb.append("new GRGEN_EXPR.Yielding[] { ");
 			for(EvalStatement statement : cs.getFalseCaseStatements()) {
@@ -5285,9 +5533,11 @@ public class ActionsGen extends CSharpBase {
 			sb.append("null");
 		}
 		sb.append(")");
+		for(int i = 0; i < nesting; ++i)
+			sb.append(", })");
 	}
 
-	private void genSwitchStatement(StringBuffer sb, SwitchStatement ss,
+	private void genSwitchStatement(StringBuilder sb, SwitchStatement ss,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.SwitchStatement(");
 		genExpressionTree(sb, ss.getSwitchExpr(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5301,7 +5551,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genCaseStatement(StringBuffer sb, CaseStatement cs,
+	private void genCaseStatement(StringBuilder sb, CaseStatement cs,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("new GRGEN_EXPR.CaseStatement(");
 		if(cs.getCaseConstantExpr() != null)
@@ -5318,7 +5568,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genWhileStatement(StringBuffer sb, WhileStatement ws,
+	private void genWhileStatement(StringBuilder sb, WhileStatement ws,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.WhileStatement(");
 		genExpressionTree(sb, ws.getConditionExpr(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5332,7 +5582,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genDoWhileStatement(StringBuffer sb, DoWhileStatement dws,
+	private void genDoWhileStatement(StringBuilder sb, DoWhileStatement dws,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DoWhileStatement(");
 		sb.append("new GRGEN_EXPR.Yielding[] { ");
@@ -5346,7 +5596,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genMultiStatement(StringBuffer sb, MultiStatement ms,
+	private void genMultiStatement(StringBuilder sb, MultiStatement ms,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.MultiStatement(");
 		sb.append("new GRGEN_EXPR.Yielding[] { ");
@@ -5358,7 +5608,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genDefDeclVarStatement(StringBuffer sb, DefDeclVarStatement ddvs,
+	private void genDefDeclVarStatement(StringBuilder sb, DefDeclVarStatement ddvs,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		Variable var = ddvs.getTarget();
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DefDeclaration(");
@@ -5372,7 +5622,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genDefDeclGraphEntityStatement(StringBuffer sb, DefDeclGraphEntityStatement ddges,
+	private void genDefDeclGraphEntityStatement(StringBuilder sb, DefDeclGraphEntityStatement ddges,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		GraphEntity graphEntity = ddges.getTarget();
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DefDeclaration(");
@@ -5386,24 +5636,24 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genBreakStatement(StringBuffer sb, BreakStatement bs,
+	private void genBreakStatement(StringBuilder sb, BreakStatement bs,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.BreakStatement()");
 	}
 
-	private void genContinueStatement(StringBuffer sb, ContinueStatement cs,
+	private void genContinueStatement(StringBuilder sb, ContinueStatement cs,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.ContinueStatement()");
 	}
 
-	private void genEmitProc(StringBuffer sb, EmitProc ep,
+	private void genEmitProc(StringBuilder sb, EmitProc ep,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.EmitStatement(");
 		genExpressionTree(sb, ep.getToEmitExpr(), className, pathPrefix, alreadyDefinedEntityToName);
 		sb.append(")");
 	}
 
-	private void genDebugAddProc(StringBuffer sb, DebugAddProc dap,
+	private void genDebugAddProc(StringBuilder sb, DebugAddProc dap,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DebugAddStatement(");		
 		genExpressionTree(sb, dap.getFirstExpression(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5420,7 +5670,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genDebugRemProc(StringBuffer sb, DebugRemProc drp,
+	private void genDebugRemProc(StringBuilder sb, DebugRemProc drp,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DebugRemStatement(");		
 		genExpressionTree(sb, drp.getFirstExpression(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5437,7 +5687,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genDebugEmitProc(StringBuffer sb, DebugEmitProc dep,
+	private void genDebugEmitProc(StringBuilder sb, DebugEmitProc dep,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DebugEmitStatement(");		
 		genExpressionTree(sb, dep.getFirstExpression(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5454,7 +5704,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genDebugHaltProc(StringBuffer sb, DebugHaltProc dhp,
+	private void genDebugHaltProc(StringBuilder sb, DebugHaltProc dhp,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DebugHaltStatement(");		
 		genExpressionTree(sb, dhp.getFirstExpression(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5471,7 +5721,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genDebugHighlightProc(StringBuffer sb, DebugHighlightProc dhp,
+	private void genDebugHighlightProc(StringBuilder sb, DebugHighlightProc dhp,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.DebugHighlightStatement(");		
 		genExpressionTree(sb, dhp.getFirstExpression(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5498,7 +5748,7 @@ public class ActionsGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genRecordProc(StringBuffer sb, RecordProc rp,
+	private void genRecordProc(StringBuilder sb, RecordProc rp,
 			String className, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		sb.append("\t\t\t\tnew GRGEN_EXPR.RecordStatement(");
 		genExpressionTree(sb, rp.getToRecordExpr(), className, pathPrefix, alreadyDefinedEntityToName);
@@ -5513,5 +5763,17 @@ public class ActionsGen extends CSharpBase {
 	private ModifyGen mg;
 	private ModifyGen mgFuncComp;
 	private Model model;
+	private String nodeTypePrefix;
+	private String edgeTypePrefix;
+
+	/** The digests of the actions and the code generated for them in the last run, in case of incremental generation. */
+	private ActionDigests digests;
+	private FragmentCache fragments;
+
+	/** The actions file, written part by part. */
+	private SourceFileWriter out;
+
+	/** The threads generating independent parts of the actions file, if more than one are requested. */
+	private CompilationThreadPool generatorPool;
 }
 
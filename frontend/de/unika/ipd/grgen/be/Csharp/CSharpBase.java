@@ -13,7 +13,7 @@
 package de.unika.ipd.grgen.be.Csharp;
 
 import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -24,8 +24,6 @@ import java.util.Map;
 import de.unika.ipd.grgen.ir.*;
 import de.unika.ipd.grgen.ir.exprevals.*;
 import de.unika.ipd.grgen.ir.containers.*;
-import de.unika.ipd.grgen.util.Base;
-import de.unika.ipd.grgen.util.Util;
 
 public abstract class CSharpBase {
 	public interface ExpressionGenerationState {
@@ -41,33 +39,14 @@ public abstract class CSharpBase {
 		this.edgeTypePrefix = edgeTypePrefix;
 	}
 
-	/**
-	 * Write a character sequence to a file using the given path.
-	 * @param path The path for the file.
-	 * @param filename The filename.
-	 * @param cs A character sequence.
-	 */
-	public void writeFile(File path, String filename, CharSequence cs) {
-		Util.writeFile(new File(path, filename), cs, Base.error);
-	}
-
 	public boolean existsFile(File path, String filename) {
 		return new File(path, filename).exists();
 	}
 	
-	public void copyFile(File sourcePath, File targetPath) {
-		try {
-			Util.copyFile(sourcePath, targetPath);
-		} 
-		catch(IOException ex) {
-			System.out.println(ex.getMessage());
-		}
-	}
-
 	/**
 	 * Dumps a C-like set representation.
 	 */
-	public void genSet(StringBuffer sb, Collection<? extends Identifiable> set, String pre, String post, boolean brackets) {
+	public void genSet(StringBuilder sb, Collection<? extends Identifiable> set, String pre, String post, boolean brackets) {
 		if (brackets)
 			sb.append("{ ");
 		for(Iterator<? extends Identifiable> iter = set.iterator(); iter.hasNext();) {
@@ -80,7 +59,7 @@ public abstract class CSharpBase {
 			sb.append(" }");
 	}
 
-	public void genEntitySet(StringBuffer sb, Collection<? extends Entity> set, String pre, String post,
+	public void genEntitySet(StringBuilder sb, Collection<? extends Entity> set, String pre, String post,
 							 boolean brackets, String pathPrefix, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		if (brackets)
 			sb.append("{ ");
@@ -94,7 +73,7 @@ public abstract class CSharpBase {
 			sb.append(" }");
 	}
 
-	public void genVarTypeSet(StringBuffer sb, Collection<? extends Entity> set, boolean brackets) {
+	public void genVarTypeSet(StringBuilder sb, Collection<? extends Entity> set, boolean brackets) {
 		if (brackets)
 			sb.append("{ ");
 		for(Iterator<? extends Entity> iter = set.iterator(); iter.hasNext();) {
@@ -107,7 +86,7 @@ public abstract class CSharpBase {
 			sb.append(" }");
 	}
 
-	public void genSubpatternUsageSet(StringBuffer sb, Collection<? extends SubpatternUsage> set, String pre, String post,
+	public void genSubpatternUsageSet(StringBuilder sb, Collection<? extends SubpatternUsage> set, String pre, String post,
 									  boolean brackets, String pathPrefix, HashMap<? extends Identifiable, String> alreadyDefinedIdentifiableToName) {
 		if (brackets)
 			sb.append("{ ");
@@ -121,7 +100,7 @@ public abstract class CSharpBase {
 			sb.append(" }");
 	}
 
-	public void genAlternativesSet(StringBuffer sb, Collection<? extends Rule> set,
+	public void genAlternativesSet(StringBuilder sb, Collection<? extends Rule> set,
 								   String pre, String post, boolean brackets) {
 		if (brackets)
 			sb.append("{ ");
@@ -447,428 +426,100 @@ public abstract class CSharpBase {
 		return null;
 	}
 
-	public void genBinOpDefault(StringBuffer sb, Operator op, ExpressionGenerationState modifyGenerationState) {
+	public void genBinOpDefault(StringBuilder sb, Operator op, ExpressionGenerationState modifyGenerationState) {
+		genBinOpDefault(sb, op, modifyGenerationState, 1, null);
+	}
+
+	private void genBinOpDefault(StringBuilder sb, Operator op, ExpressionGenerationState modifyGenerationState,
+			int nesting, OperatorTemplate template) {
 		if(op.getOpCode()==Operator.BIT_SHR)
 		{
 			sb.append("((int)(((uint)");
-			genExpression(sb, op.getOperand(0), modifyGenerationState);
+			genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
 			sb.append(") " + opSymbols[op.getOpCode()] + " ");
-			genExpression(sb, op.getOperand(1), modifyGenerationState);
+			genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
 			sb.append("))");
 		}
 		else
 		{
 			sb.append("(");
-			genExpression(sb, op.getOperand(0), modifyGenerationState);
+			genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
 			sb.append(" " + opSymbols[op.getOpCode()] + " ");
-			genExpression(sb, op.getOperand(1), modifyGenerationState);
+			genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
 			sb.append(")");
 		}
 	}
 
-	public strictfp void genExpression(StringBuffer sb, Expression expr,
-			ExpressionGenerationState modifyGenerationState) {
-		if(expr instanceof Operator) {
-			Operator op = (Operator) expr;
-			switch (op.arity()) {
-				case 1:
-					sb.append("(" + opSymbols[op.getOpCode()] + " ");
-					genExpression(sb, op.getOperand(0), modifyGenerationState);
-					sb.append(")");
-					break;
-				case 2:
-					switch(op.getOpCode())
-					{
-						case Operator.IN:
-						{
-							Type opType = op.getOperand(1).getType();
-							genExpression(sb, op.getOperand(1), modifyGenerationState);
-							boolean isDictionary = opType instanceof SetType || opType instanceof MapType;
-							sb.append(isDictionary ? ".ContainsKey(" : ".Contains(");
-							if(op.getOperand(0) instanceof GraphEntityExpression)
-								sb.append("(" + formatElementInterfaceRef(op.getOperand(0).getType()) + ")(");
-							genExpression(sb, op.getOperand(0), modifyGenerationState);
-							if(op.getOperand(0) instanceof GraphEntityExpression)
-								sb.append(")");
-							sb.append(")");
-							break;
-						}
-
-						case Operator.ADD:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof ArrayType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Concatenate(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof DequeType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Concatenate(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else 
-								genBinOpDefault(sb, op, modifyGenerationState);
-							break;
-						}
-
-						case Operator.BIT_OR:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Union(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else genBinOpDefault(sb, op, modifyGenerationState);
-							break;
-						}
-
-						case Operator.BIT_AND:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Intersect(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else genBinOpDefault(sb, op, modifyGenerationState);
-							break;
-						}
-
-						case Operator.EXCEPT:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Except(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else genBinOpDefault(sb, op, modifyGenerationState);
-							break;
-						}
-
-						case Operator.EQ:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Equal(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof ArrayType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Equal(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof DequeType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.Equal(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof GraphType) {
-								sb.append("((GRGEN_LIBGR.IGraph)");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(").IsIsomorph((GRGEN_LIBGR.IGraph)");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(modifyGenerationState.model().isEqualClassDefined()
-									&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
-								sb.append("GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else {
-								genBinOpDefault(sb, op, modifyGenerationState);
-							}
-							break;
-						}
+	/**
+	 * The code of an operator generated with holes for its operands which are operators themselves,
+	 * filled by the explicit-stack walk of genOperatorIteratively.
+	 */
+	private static final class OperatorTemplate {
+		final StringBuilder text = new StringBuilder();
+		final ArrayList<Integer> holePositions = new ArrayList<Integer>();
+		final ArrayList<Operator> holeOperands = new ArrayList<Operator>();
+		int nextHole = 0;
+		int emittedUpTo = 0;
+	}
 
-						case Operator.NE:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.NotEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof ArrayType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.NotEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof DequeType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.NotEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof GraphType) {
-								sb.append("!((GRGEN_LIBGR.IGraph)");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(").IsIsomorph((GRGEN_LIBGR.IGraph)");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(modifyGenerationState.model().isEqualClassDefined()
-									&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
-								sb.append("!GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else {
-								genBinOpDefault(sb, op, modifyGenerationState);
-							}
-							break;
-						}
+	/** Operators nested deeper than this in operators are generated by genOperatorIteratively instead of recursion. */
+	private static final int MAX_RECURSIVE_OPERATOR_NESTING = 64;
 
-						case Operator.SE:
-						{
-							sb.append("((GRGEN_LIBGR.IGraph)");
-							genExpression(sb, op.getOperand(0), modifyGenerationState);
-							sb.append(").HasSameStructure((GRGEN_LIBGR.IGraph)");
-							genExpression(sb, op.getOperand(1), modifyGenerationState);
-							sb.append(")");
-							break;
-						}
-
-						case Operator.GT:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.GreaterThan(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof ArrayType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.GreaterThan(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof DequeType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.GreaterThan(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof StringType) {
-								sb.append("(String.Compare(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(", StringComparison.InvariantCulture)>0)");
-							}
-							else if(modifyGenerationState.model().isLowerClassDefined()
-									&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
-								sb.append("(!GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-								sb.append("&& !GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append("))");
-							}
-							else {
-								genBinOpDefault(sb, op, modifyGenerationState);
-							}
-							break;
-						}
+	/**
+	 * Generates an operand of an operator nested at the given depth in operators:
+	 * an operator operand is a hole if the operator is generated as template,
+	 * it is generated by recursion up to the maximum nesting, and iteratively below.
+	 */
+	private strictfp void genOperand(StringBuilder sb, Expression operand, ExpressionGenerationState modifyGenerationState,
+			int nesting, OperatorTemplate template) {
+		if(!(operand instanceof Operator))
+			genExpression(sb, operand, modifyGenerationState);
+		else if(template != null) {
+			template.holePositions.add(sb.length());
+			template.holeOperands.add((Operator) operand);
+		}
+		else if(nesting >= MAX_RECURSIVE_OPERATOR_NESTING)
+			genOperatorIteratively(sb, (Operator) operand, modifyGenerationState);
+		else
+			genOperator(sb, (Operator) operand, modifyGenerationState, nesting + 1, null);
+	}
 
-						case Operator.GE:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.GreaterOrEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof ArrayType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.GreaterOrEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof DequeType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.GreaterOrEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof StringType) {
-								sb.append("(String.Compare(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(", StringComparison.InvariantCulture)>=0)");
-							}
-							else if(modifyGenerationState.model().isLowerClassDefined()
-									&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
-								sb.append("!GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else {
-								genBinOpDefault(sb, op, modifyGenerationState);
-							}
-							break;
-						}
+	/**
+	 * Generates a deeply nested operator expression (e.g. a long chain a + b + c + ...) with an explicit stack
+	 * instead of recursion, which would overflow the call stack: the code of each operator is generated
+	 * with holes for its operator operands, which are filled by walking down into them.
+	 */
+	private void genOperatorIteratively(StringBuilder sb, Operator root,
+			ExpressionGenerationState modifyGenerationState) {
+		ArrayList<OperatorTemplate> stack = new ArrayList<OperatorTemplate>();
+		stack.add(genOperatorTemplate(root, modifyGenerationState));
+		while(!stack.isEmpty()) {
+			OperatorTemplate top = stack.get(stack.size() - 1);
+			if(top.nextHole < top.holeOperands.size()) {
+				int holePosition = top.holePositions.get(top.nextHole);
+				sb.append(top.text, top.emittedUpTo, holePosition);
+				top.emittedUpTo = holePosition;
+				Operator operand = top.holeOperands.get(top.nextHole);
+				++top.nextHole;
+				stack.add(genOperatorTemplate(operand, modifyGenerationState));
+				continue;
+			}
 
-						case Operator.LT:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.LessThan(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof ArrayType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.LessThan(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof DequeType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.LessThan(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof StringType) {
-								sb.append("(String.Compare(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(", StringComparison.InvariantCulture)<0)");
-							}
-							else if(modifyGenerationState.model().isLowerClassDefined()
-									&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
-								sb.append("GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else  {
-								genBinOpDefault(sb, op, modifyGenerationState);
-							}
-							break;
-						}
+			sb.append(top.text, top.emittedUpTo, top.text.length());
+			stack.remove(stack.size() - 1);
+		}
+	}
 
-						case Operator.LE:
-						{
-							Type opType = op.getOperand(0).getType();
-							if(opType instanceof MapType || opType instanceof SetType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.LessOrEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof ArrayType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.LessOrEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof DequeType) {
-								sb.append("GRGEN_LIBGR.ContainerHelper.LessOrEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-							}
-							else if(opType instanceof StringType) {
-								sb.append("(String.Compare(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(", ");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(", StringComparison.InvariantCulture)<=0)");
-							}
-							else if(modifyGenerationState.model().isLowerClassDefined()
-									&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
-								sb.append("(GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append(")");
-								sb.append("|| GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
-								genExpression(sb, op.getOperand(0), modifyGenerationState);
-								sb.append(",");
-								genExpression(sb, op.getOperand(1), modifyGenerationState);
-								sb.append("))");
-							}
-							else {
-								genBinOpDefault(sb, op, modifyGenerationState);
-							}
-							break;
-						}
+	private OperatorTemplate genOperatorTemplate(Operator op, ExpressionGenerationState modifyGenerationState) {
+		OperatorTemplate template = new OperatorTemplate();
+		genOperator(template.text, op, modifyGenerationState, 0, template);
+		return template;
+	}
 
-						default:
-							genBinOpDefault(sb, op, modifyGenerationState);
-							break;
-					}
-					break;
-				case 3:
-					if(op.getOpCode()==Operator.COND) {
-						sb.append("((");
-						genExpression(sb, op.getOperand(0), modifyGenerationState);
-						sb.append(") ? (");
-						genExpression(sb, op.getOperand(1), modifyGenerationState);
-						sb.append(") : (");
-						genExpression(sb, op.getOperand(2), modifyGenerationState);
-						sb.append("))");
-						break;
-					}
-					// FALLTHROUGH
-				default:
-					throw new UnsupportedOperationException(
-						"Unsupported operation arity (" + op.arity() + ")");
-			}
+	public strictfp void genExpression(StringBuilder sb, Expression expr,
+			ExpressionGenerationState modifyGenerationState) {
+		if(expr instanceof Operator) {
+			genOperator(sb, (Operator) expr, modifyGenerationState, 1, null);
 		}
 		else if(expr instanceof Qualification) {
 			Qualification qual = (Qualification) expr;
@@ -2484,6 +2135,413 @@ public abstract class CSharpBase {
 		else throw new UnsupportedOperationException("Unsupported expression type (" + expr + ")");
 	}
 
+	/**
+	 * Generates an operator nested at the given depth in operators (directly, not counting other expressions),
+	 * or as template with holes for its operator operands if one is given.
+	 */
+	private strictfp void genOperator(StringBuilder sb, Operator op, ExpressionGenerationState modifyGenerationState,
+			int nesting, OperatorTemplate template) {
+		switch (op.arity()) {
+			case 1:
+				sb.append("(" + opSymbols[op.getOpCode()] + " ");
+				genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+				sb.append(")");
+				break;
+			case 2:
+				switch(op.getOpCode())
+				{
+					case Operator.IN:
+					{
+						Type opType = op.getOperand(1).getType();
+						genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+						boolean isDictionary = opType instanceof SetType || opType instanceof MapType;
+						sb.append(isDictionary ? ".ContainsKey(" : ".Contains(");
+						if(op.getOperand(0) instanceof GraphEntityExpression)
+							sb.append("(" + formatElementInterfaceRef(op.getOperand(0).getType()) + ")(");
+						genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+						if(op.getOperand(0) instanceof GraphEntityExpression)
+							sb.append(")");
+						sb.append(")");
+						break;
+					}
+
+					case Operator.ADD:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof ArrayType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Concatenate(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof DequeType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Concatenate(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else 
+							genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						break;
+					}
+
+					case Operator.BIT_OR:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Union(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						break;
+					}
+
+					case Operator.BIT_AND:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Intersect(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						break;
+					}
+
+					case Operator.EXCEPT:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Except(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						break;
+					}
+
+					case Operator.EQ:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Equal(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof ArrayType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Equal(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof DequeType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.Equal(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof GraphType) {
+							sb.append("((GRGEN_LIBGR.IGraph)");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(").IsIsomorph((GRGEN_LIBGR.IGraph)");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(modifyGenerationState.model().isEqualClassDefined()
+								&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
+							sb.append("GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else {
+							genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						}
+						break;
+					}
+
+					case Operator.NE:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.NotEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof ArrayType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.NotEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof DequeType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.NotEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof GraphType) {
+							sb.append("!((GRGEN_LIBGR.IGraph)");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(").IsIsomorph((GRGEN_LIBGR.IGraph)");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(modifyGenerationState.model().isEqualClassDefined()
+								&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
+							sb.append("!GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else {
+							genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						}
+						break;
+					}
+
+					case Operator.SE:
+					{
+						sb.append("((GRGEN_LIBGR.IGraph)");
+						genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+						sb.append(").HasSameStructure((GRGEN_LIBGR.IGraph)");
+						genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+						sb.append(")");
+						break;
+					}
+
+					case Operator.GT:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.GreaterThan(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof ArrayType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.GreaterThan(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof DequeType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.GreaterThan(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof StringType) {
+							sb.append("(String.Compare(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(", StringComparison.InvariantCulture)>0)");
+						}
+						else if(modifyGenerationState.model().isLowerClassDefined()
+								&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
+							sb.append("(!GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+							sb.append("&& !GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append("))");
+						}
+						else {
+							genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						}
+						break;
+					}
+
+					case Operator.GE:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.GreaterOrEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof ArrayType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.GreaterOrEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof DequeType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.GreaterOrEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof StringType) {
+							sb.append("(String.Compare(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(", StringComparison.InvariantCulture)>=0)");
+						}
+						else if(modifyGenerationState.model().isLowerClassDefined()
+								&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
+							sb.append("!GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else {
+							genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						}
+						break;
+					}
+
+					case Operator.LT:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.LessThan(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof ArrayType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.LessThan(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof DequeType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.LessThan(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof StringType) {
+							sb.append("(String.Compare(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(", StringComparison.InvariantCulture)<0)");
+						}
+						else if(modifyGenerationState.model().isLowerClassDefined()
+								&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
+							sb.append("GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else  {
+							genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						}
+						break;
+					}
+
+					case Operator.LE:
+					{
+						Type opType = op.getOperand(0).getType();
+						if(opType instanceof MapType || opType instanceof SetType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.LessOrEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof ArrayType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.LessOrEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof DequeType) {
+							sb.append("GRGEN_LIBGR.ContainerHelper.LessOrEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+						}
+						else if(opType instanceof StringType) {
+							sb.append("(String.Compare(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(", ");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(", StringComparison.InvariantCulture)<=0)");
+						}
+						else if(modifyGenerationState.model().isLowerClassDefined()
+								&& (opType instanceof ObjectType || opType instanceof ExternalType)) {
+							sb.append("(GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsLower(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append(")");
+							sb.append("|| GRGEN_MODEL.AttributeTypeObjectCopierComparer.IsEqual(");
+							genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+							sb.append(",");
+							genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+							sb.append("))");
+						}
+						else {
+							genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						}
+						break;
+					}
+
+					default:
+						genBinOpDefault(sb, op, modifyGenerationState, nesting, template);
+						break;
+				}
+				break;
+			case 3:
+				if(op.getOpCode()==Operator.COND) {
+					sb.append("((");
+					genOperand(sb, op.getOperand(0), modifyGenerationState, nesting, template);
+					sb.append(") ? (");
+					genOperand(sb, op.getOperand(1), modifyGenerationState, nesting, template);
+					sb.append(") : (");
+					genOperand(sb, op.getOperand(2), modifyGenerationState, nesting, template);
+					sb.append("))");
+					break;
+				}
+				// FALLTHROUGH
+			default:
+				throw new UnsupportedOperationException(
+					"Unsupported operation arity (" + op.arity() + ")");
+		}
+	}
+
 	protected String formatGlobalVariableRead(Entity globalVar)
 	{
 		return "((" + formatType(globalVar.getType()) + ")((GRGEN_LGSP.LGSPGraphProcessingEnvironment)actionEnv).GetVariableValue(\"" + formatIdentifiable(globalVar) + "\"))";
@@ -2632,8 +2690,8 @@ public abstract class CSharpBase {
 		return input.replace("\\", "\\\\").replace("\"", "\\\"");
 	}
 	
-	protected abstract void genQualAccess(StringBuffer sb, Qualification qual, Object modifyGenerationState);
-	protected abstract void genMemberAccess(StringBuffer sb, Entity member);
+	protected abstract void genQualAccess(StringBuilder sb, Qualification qual, Object modifyGenerationState);
+	protected abstract void genMemberAccess(StringBuilder sb, Entity member);
 
 	protected void addAnnotations(StringBuilder sb, Identifiable ident, String targetName)
 	{
@@ -2643,18 +2701,10 @@ public abstract class CSharpBase {
 		}
 	}
 
-	protected void addAnnotations(StringBuffer sb, Identifiable ident, String targetName)
-	{
-		for(String annotationKey : ident.getAnnotations().keySet()) {
-			String annotationValue = ident.getAnnotations().get(annotationKey).toString();
-			sb.append("\t\t\t" + targetName+ ".Add(\"" +annotationKey + "\", \"" + annotationValue + "\");\n");
-		}
-	}
-
 	protected void forceNotConstant(List<EvalStatement> statements) {
 		NeededEntities needs = new NeededEntities(false, false, false, false, false, true, false, false);
 		for(EvalStatement eval : statements) {
-			eval.collectNeededEntities(needs);
+			needs.collect(eval);
 		}
 		forceNotConstant(needs);
 	}
@@ -2678,16 +2728,16 @@ public abstract class CSharpBase {
 		}
 	}
 
-	protected void genLocalContainersEvals(StringBuffer sb, Collection<EvalStatement> evals,
+	protected void genLocalContainersEvals(StringBuilder sb, Collection<EvalStatement> evals,
 			List<String> staticInitializers, String pathPrefixForElements, HashMap<Entity, String> alreadyDefinedEntityToName) {
 		NeededEntities needs = new NeededEntities(false, false, false, false, false, true, false, false);
 		for(EvalStatement eval : evals) {
-			eval.collectNeededEntities(needs);
+			needs.collect(eval);
 		}
 		genLocalContainers(sb, needs, staticInitializers, false);
 	}
 
-	protected void genLocalContainers(StringBuffer sb, NeededEntities needs, List<String> staticInitializers, boolean neverAssigned) {
+	protected void genLocalContainers(StringBuilder sb, NeededEntities needs, List<String> staticInitializers, boolean neverAssigned) {
 		// todo: more fine-grained never assigned, the important thing is that the constant constructor is temporary, not assigned to a variable
 		sb.append("\n");
 		for(Expression containerExpr : needs.containerExprs) {
@@ -2715,7 +2765,7 @@ public abstract class CSharpBase {
 		}
 	}
 
-	protected void genLocalMap(StringBuffer sb, MapInit mapInit, List<String> staticInitializers) {
+	protected void genLocalMap(StringBuilder sb, MapInit mapInit, List<String> staticInitializers) {
 		String mapName = mapInit.getAnonymousMapName();
 		String attrType = formatAttributeType(mapInit.getType());
 		if(mapInit.isConstant()) {
@@ -2764,7 +2814,7 @@ public abstract class CSharpBase {
 		}
 	}
 
-	protected void genLocalSet(StringBuffer sb, SetInit setInit, List<String> staticInitializers) {
+	protected void genLocalSet(StringBuilder sb, SetInit setInit, List<String> staticInitializers) {
 		String setName = setInit.getAnonymousSetName();
 		String attrType = formatAttributeType(setInit.getType());
 		if(setInit.isConstant()) {
@@ -2808,7 +2858,7 @@ public abstract class CSharpBase {
 		}
 	}
 
-	protected void genLocalArray(StringBuffer sb, ArrayInit arrayInit, List<String> staticInitializers) {
+	protected void genLocalArray(StringBuilder sb, ArrayInit arrayInit, List<String> staticInitializers) {
 		String arrayName = arrayInit.getAnonymousArrayName();
 		String attrType = formatAttributeType(arrayInit.getType());
 		if(arrayInit.isConstant()) {
@@ -2852,7 +2902,7 @@ public abstract class CSharpBase {
 		}
 	}
 
-	protected void genLocalDeque(StringBuffer sb, DequeInit dequeInit, List<String> staticInitializers) {
+	protected void genLocalDeque(StringBuilder sb, DequeInit dequeInit, List<String> staticInitializers) {
 		String dequeName = dequeInit.getAnonymousDequeName();
 		String attrType = formatAttributeType(dequeInit.getType());
 		if(dequeInit.isConstant()) {
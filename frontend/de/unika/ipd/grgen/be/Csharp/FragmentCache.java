@@ -0,0 +1,166 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.be.Csharp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.unika.ipd.grgen.util.Util;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+
+/**
+ * The code generated for the parts of a file in the last run, kept in a file next to it,
+ * so the code of a part can be reused if the digest of its input is still the same.
+ * Besides the code, a fragment holds the state of the code generator after generating it
+ * (the counters used for naming temporary variables), which is restored when the fragment is reused.
+ * Only the fragments used in the current run are saved again, so the file does not grow over time.
+ */
+public class FragmentCache {
+
+	private static final int FORMAT_VERSION = 1;
+
+	/** A part of the generated code. */
+	public static class Fragment {
+		final String digest;
+		final String code;
+		final int[] endState;
+
+		Fragment(String digest, String code, int[] endState) {
+			this.digest = digest;
+			this.code = code;
+			this.endState = endState;
+		}
+
+		public String getCode() {
+			return code;
+		}
+
+		public int[] getEndState() {
+			return endState;
+		}
+	}
+
+	private final File file;
+
+	/** The fragments of the last run, by key. */
+	private final HashMap<String, Fragment> lastRun = new HashMap<String, Fragment>();
+
+	/** The fragments of the current run, by key, in the order of their generation. */
+	private final Map<String, Fragment> currentRun = new LinkedHashMap<String, Fragment>();
+
+	private int fragmentsReused;
+	private int fragmentsGenerated;
+
+	/**
+	 * Create the fragment cache, filled with the fragments saved to the given file by the last run.
+	 * A missing or damaged file gives an empty cache.
+	 */
+	public FragmentCache(File file) {
+		this.file = file;
+		if(!file.exists())
+			return;
+
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+			try {
+				read(in);
+			} finally {
+				in.close();
+			}
+		} catch(IOException e) {
+			lastRun.clear(); // everything is generated again
+		}
+	}
+
+	/**
+	 * Look up a fragment generated in the last run.
+	 * @param key The key of the fragment, unique in the file, including the state of the code generator.
+	 * @param digest The digest of the input of the fragment, null if there is none.
+	 * @return The fragment if it was generated from an input with the same digest, otherwise null.
+	 */
+	public Fragment lookup(String key, String digest) {
+		Fragment fragment = lastRun.get(key);
+		if(fragment == null || !fragment.digest.equals(digest))
+			return null;
+		currentRun.put(key, fragment);
+		++fragmentsReused;
+		return fragment;
+	}
+
+	/** Add a fragment generated in the current run; it is not kept if there is no digest of its input (null). */
+	public void put(String key, String digest, String code, int[] endState) {
+		if(digest != null)
+			currentRun.put(key, new Fragment(digest, code, endState));
+		++fragmentsGenerated;
+	}
+
+	public int getFragmentsReused() {
+		return fragmentsReused;
+	}
+
+	public int getFragmentsGenerated() {
+		return fragmentsGenerated;
+	}
+
+	/** Save the fragments of the current run to the file. */
+	public void save(ErrorReporter reporter) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			write(out);
+			out.close();
+			Util.writeFileIfChanged(file, bytes.toByteArray(), reporter);
+		} catch(IOException e) {
+			reporter.error("Cannot write fragment cache " + file + ": " + e.getMessage());
+		}
+	}
+
+	private void read(DataInputStream in) throws IOException {
+		if(in.readInt() != FORMAT_VERSION)
+			return;
+
+		int numFragments = in.readInt();
+		for(int i = 0; i < numFragments; ++i) {
+			String key = in.readUTF();
+			String digest = in.readUTF();
+			byte[] code = new byte[in.readInt()];
+			in.readFully(code);
+			int[] endState = new int[in.readInt()];
+			for(int j = 0; j < endState.length; ++j) {
+				endState[j] = in.readInt();
+			}
+			lastRun.put(key, new Fragment(digest, new String(code, "UTF-8"), endState));
+		}
+	}
+
+	private void write(DataOutputStream out) throws IOException {
+		out.writeInt(FORMAT_VERSION);
+
+		out.writeInt(currentRun.size());
+		for(Map.Entry<String, Fragment> entry : currentRun.entrySet()) {
+			Fragment fragment = entry.getValue();
+			out.writeUTF(entry.getKey());
+			out.writeUTF(fragment.digest);
+			byte[] code = fragment.code.getBytes("UTF-8"); // may exceed the 64K limit of writeUTF
+			out.writeInt(code.length);
+			out.write(code);
+			out.writeInt(fragment.endState.length);
+			for(int value : fragment.endState) {
+				out.writeInt(value);
+			}
+		}
+	}
+}
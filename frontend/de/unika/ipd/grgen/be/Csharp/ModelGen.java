@@ -13,10 +13,10 @@
 package de.unika.ipd.grgen.be.Csharp;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -27,18 +27,29 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import de.unika.ipd.grgen.ir.*;
 import de.unika.ipd.grgen.ir.exprevals.*;
 import de.unika.ipd.grgen.ir.containers.*;
+import de.unika.ipd.grgen.util.CompilationThreadPool;
 
 public class ModelGen extends CSharpBase {
 	private final int MAX_OPERATIONS_FOR_ATTRIBUTE_INITIALIZATION_INLINING = 20;
 	private final static String ATTR_IMPL_SUFFIX = "_M0no_suXx_h4rD";
 
+	/** The kinds of the typed attribute accessors by slot of the graph elements, e.g. GetInt(int slot). */
+	private final static String[] SLOT_ACCESSOR_KINDS = { "Boolean", "Byte", "Short", "Int", "Long", "Float", "Double" };
+
+	/** The size of the pools of the node and edge classes if neither the model nor the command line gives one. */
+	private final static int DEFAULT_POOL_SIZE = 10;
+
 	public ModelGen(SearchPlanBackend2 backend, String nodeTypePrefix, String edgeTypePrefix) {
 		super(nodeTypePrefix, edgeTypePrefix);
 		be = backend;
+		this.nodeTypePrefix = nodeTypePrefix;
+		this.edgeTypePrefix = edgeTypePrefix;
 		rootTypes = new HashSet<String>();
 		rootTypes.add("Node");
 		rootTypes.add("Edge");
@@ -52,16 +63,25 @@ public class ModelGen extends CSharpBase {
 	 */
 	public void genModel(Model model) {
 		this.model = model;
-		sb = new StringBuffer();
+		sb = new StringBuilder();
 		stubsb = null;
 
 		String filename = model.getIdent() + "Model.cs";
 
 		System.out.println("  generating the " + filename + " file...");
 
+		// the model file is written type by type while it is generated
+		out = be.openFile(filename);
+
+		if(be.system.getGeneratorThreads() > 1) {
+			generatorPool = new CompilationThreadPool(be.system.getGeneratorThreads());
+			prepareTypesForParallelGeneration(model.getAllNodeTypes());
+			prepareTypesForParallelGeneration(model.getAllEdgeTypes());
+		}
+
 		sb.append("// This file has been generated automatically by GrGen (www.grgen.net)\n"
 				+ "// Do not modify this file! Any changes will be lost!\n"
-				+ "// Generated from \"" + be.unit.getFilename() + "\" on " + new Date() + "\n"
+				+ be.getGeneratedFromComment()
 				+ "\n"
 				+ "using System;\n"
 				+ "using System.Collections.Generic;\n"
@@ -113,14 +133,17 @@ public class ModelGen extends CSharpBase {
 		genIndexTypes();
 		genIndexImplementations();
 		genIndexSetType();
+		out.appendAndClear(sb);
 
 		System.out.println("    generating node model...");
 		sb.append("\n");
 		genModelClass(model.getAllNodeTypes(), true);
+		out.appendAndClear(sb);
 
 		System.out.println("    generating edge model...");
 		sb.append("\n");
 		genModelClass(model.getAllEdgeTypes(), false);
+		out.appendAndClear(sb);
 
 		System.out.println("    generating graph model...");
 		sb.append("\n");
@@ -132,13 +155,19 @@ public class ModelGen extends CSharpBase {
 
 		sb.append("}\n");
 
-		System.out.println("    writing to " + be.path + " / " + filename);
-		writeFile(be.path, filename, sb);
+		out.append(sb);
+		be.closeFile(out);
+		out = null;
+
+		if(generatorPool != null) {
+			generatorPool.shutdown();
+			generatorPool = null;
+		}
 
 		if(stubsb != null) {
 			String stubFilename = model.getIdent() + "ModelStub.cs";
 			System.out.println("  writing the " + stubFilename + " stub file...");
-			writeFile(be.path, stubFilename, stubsb);
+			be.writeFile(stubFilename, stubsb);
 		}
 
 		
@@ -160,11 +189,11 @@ public class ModelGen extends CSharpBase {
 
 		System.out.println("  generating the " + filename + " file...");
 
-		sb = new StringBuffer();
+		sb = new StringBuilder();
 
 		sb.append("// This file has been generated automatically by GrGen (www.grgen.net)\n"
 				+ "// Do not modify this file! Any changes will be lost!\n"
-				+ "// Generated from \"" + be.unit.getFilename() + "\" on " + new Date() + "\n"
+				+ be.getGeneratedFromComment()
 				+ "\n"
 				+ "using System;\n"
 				+ "using System.Collections.Generic;\n"
@@ -226,24 +255,22 @@ public class ModelGen extends CSharpBase {
 			sb.append("}\n");
 		}
 
-		System.out.println("    writing to " + be.path + " / " + filename);
-		writeFile(be.path, filename, sb);
+		be.writeFile(filename, sb);
 
 		if(be.path.compareTo(new File("."))==0) {
 			System.out.println("    no copy needed for " + be.path + " / " + filename);
 		} else {
-			System.out.println("    copying " + be.path + " / " + filename + " to " + be.path.getAbsoluteFile().getParent() + " / " + filename);
-			copyFile(new File(be.path, filename), new File(be.path.getAbsoluteFile().getParent(), filename));
+			be.copyFile(new File(be.path, filename), new File(be.path.getAbsoluteFile().getParent(), filename));
 		}
 	}
 
-	private StringBuffer getStubBuffer() {
+	private StringBuilder getStubBuffer() {
 		if(stubsb == null) {
-			stubsb = new StringBuffer();
+			stubsb = new StringBuilder();
 			stubsb.append("// This file has been generated automatically by GrGen (www.grgen.net)\n"
 					+ "// Do not modify this file! Any changes will be lost!\n"
 					+ "// Rename this file or use a copy!\n"
-					+ "// Generated from \"" + be.unit.getFilename() + "\" on " + new Date() + "\n"
+					+ be.getGeneratedFromComment()
 					+ "\n"
 					+ "using System;\n"
 					+ "using System.Collections.Generic;\n"
@@ -328,8 +355,73 @@ public class ModelGen extends CSharpBase {
 
 		sb.append(";\n");
 
+		if(generatorPool != null) {
+			genTypesInParallel(allTypes, curTypes, packageName);
+			return;
+		}
+
 		for(InheritanceType type : curTypes) {
 			genType(allTypes, type, packageName);
+			out.appendAndClear(sb);
+		}
+	}
+
+	/**
+	 * Computes the information of the given types that is computed lazily on first use,
+	 * and applies the changes to the IR done on generating them, so the types can be generated in parallel
+	 * (generating a type accesses its super types, too).
+	 */
+	private void prepareTypesForParallelGeneration(Collection<? extends InheritanceType> types) {
+		for(InheritanceType type : types) {
+			type.getAllSuperTypes();
+			type.getAllSubTypes();
+			type.getMaxDist();
+			type.getAllMembers();
+			type.getAllFunctionMethods();
+			type.getAllProcedureMethods();
+			for(FunctionMethod fm : type.getFunctionMethods()) {
+				forceNotConstant(fm.getComputationStatements());
+			}
+			for(ProcedureMethod pm : type.getProcedureMethods()) {
+				forceNotConstant(pm.getComputationStatements());
+			}
+		}
+	}
+
+	/**
+	 * Generates the code of the given types on the generator threads, each one with a model generator of its own.
+	 * The code is appended in the order of the types, so it is the same as when generated one after the other.
+	 */
+	private void genTypesInParallel(final Collection<? extends InheritanceType> allTypes,
+			Collection<? extends InheritanceType> curTypes, final String packageName) {
+		out.appendAndClear(sb);
+
+		List<Future<String>> results = new ArrayList<Future<String>>();
+		for(final InheritanceType type : curTypes) {
+			if(type.getExternalName() != null) {
+				results.add(null); // writes to the stub file, too, so it is generated on this thread, in order
+				continue;
+			}
+			results.add(generatorPool.submit(new Callable<String>() {
+				public String call() {
+					ModelGen typeGen = new ModelGen(be, nodeTypePrefix, edgeTypePrefix);
+					typeGen.model = model;
+					typeGen.sb = new StringBuilder();
+					typeGen.genType(allTypes, type, packageName);
+					return typeGen.sb.toString();
+				}
+			}));
+		}
+
+		Iterator<Future<String>> resultIt = results.iterator();
+		for(InheritanceType type : curTypes) {
+			Future<String> result = resultIt.next();
+			if(result != null) {
+				out.append(CompilationThreadPool.getResult(result));
+			} else {
+				genType(allTypes, type, packageName);
+				out.appendAndClear(sb);
+			}
 		}
 	}
 
@@ -337,6 +429,9 @@ public class ModelGen extends CSharpBase {
 	 * Generates all code for a given type.
 	 */
 	private void genType(Collection<? extends InheritanceType> allTypes, InheritanceType type, String packageName) {
+		// the temporary variables are numbered per type, so the code of a type does not depend on the types before it
+		mgFuncComp.initEvalGen();
+
 		sb.append("\n");
 		sb.append("\t// *** " + formatNodeOrEdge(type) + " " + formatIdentifiable(type) + " ***\n");
 		sb.append("\n");
@@ -489,7 +584,7 @@ public class ModelGen extends CSharpBase {
 		String typeref = formatTypeClassRef(type);
 		String ielemref = formatElementInterfaceRef(type);
 		String namespace = null;
-		StringBuffer routedSB = sb;
+		StringBuilder routedSB = sb;
 		String routedClassName = elemname;
 		String routedDeclName = elemref;
 
@@ -519,8 +614,17 @@ public class ModelGen extends CSharpBase {
 			sb.append("\n\tpublic abstract class " + elemname + " : GRGEN_LGSP.LGSP"
 					+ kindStr + ", " + ielemref + "\n\t{\n");
 		}
-		sb.append("\t\tprivate static int poolLevel = 0;\n"
-				+ "\t\tprivate static " + elemref + "[] pool = new " + elemref + "[10];\n");
+		int poolSize = getPoolSize();
+		boolean isPoolThreadLocal = be.unit.isToBeParallelizedActionExisting();
+		if(poolSize > 0) {
+			// the initializers of thread static fields are only executed for the first thread, so the pool is created on first use
+			if(isPoolThreadLocal)
+				sb.append("\t\t[ThreadStatic] private static int poolLevel;\n"
+						+ "\t\t[ThreadStatic] private static " + elemref + "[] pool;\n");
+			else
+				sb.append("\t\tprivate static int poolLevel = 0;\n"
+						+ "\t\tprivate static " + elemref + "[] pool = new " + elemref + "[" + poolSize + "];\n");
+		}
 
 		// Static initialization for constants = static members
 		initAllMembersConst(type, elemname, "this", "\t\t\t");
@@ -614,82 +718,28 @@ public class ModelGen extends CSharpBase {
 
 		// Generate element creators
 		if(isNode) {
-			sb.append("\t\tpublic static " + elemref + " CreateNode(GRGEN_LGSP.LGSPGraph graph)\n"
-					+ "\t\t{\n"
-					+ "\t\t\t" + elemref + " node;\n"
-					+ "\t\t\tif(poolLevel == 0)\n"
-					+ "\t\t\t\tnode = new " + allocName + "();\n"
-					+ "\t\t\telse\n"
-					+ "\t\t\t{\n"
-					+ "\t\t\t\tnode = pool[--poolLevel];\n"
-					+ "\t\t\t\tnode.lgspInhead = null;\n"
-					+ "\t\t\t\tnode.lgspOuthead = null;\n"
-					+ "\t\t\t\tnode.lgspFlags &= ~(uint) GRGEN_LGSP.LGSPElemFlags.HAS_VARIABLES;\n");
-			initAllMembersNonConst(type, "node", "\t\t\t\t", true, false);
-			sb.append("\t\t\t}\n"
-					+ "\t\t\tgraph.AddNode(node);\n"
-					+ "\t\t\treturn node;\n"
-					+ "\t\t}\n\n"
-					
-					+ "\t\tpublic static " + elemref + " CreateNode(GRGEN_LGSP.LGSPNamedGraph graph, string nodeName)\n"
-					+ "\t\t{\n"
-					+ "\t\t\t" + elemref + " node;\n"
-					+ "\t\t\tif(poolLevel == 0)\n"
-					+ "\t\t\t\tnode = new " + allocName + "();\n"
-					+ "\t\t\telse\n"
-					+ "\t\t\t{\n"
-					+ "\t\t\t\tnode = pool[--poolLevel];\n"
-					+ "\t\t\t\tnode.lgspInhead = null;\n"
-					+ "\t\t\t\tnode.lgspOuthead = null;\n"
-					+ "\t\t\t\tnode.lgspFlags &= ~(uint) GRGEN_LGSP.LGSPElemFlags.HAS_VARIABLES;\n");
-			initAllMembersNonConst(type, "node", "\t\t\t\t", true, false);
-			sb.append("\t\t\t}\n"
-					+ "\t\t\tgraph.AddNode(node, nodeName);\n"
-					+ "\t\t\treturn node;\n"
-					+ "\t\t}\n\n");
+			genElementCreator(type, true, elemref, allocName, poolSize,
+					"GRGEN_LGSP.LGSPGraph graph", "node");
+			genElementCreator(type, true, elemref, allocName, poolSize,
+					"GRGEN_LGSP.LGSPNamedGraph graph, string nodeName", "node, nodeName");
 		}
 		else {
-			sb.append("\t\tpublic static " + elemref + " CreateEdge(GRGEN_LGSP.LGSPGraph graph, "
-						+ "GRGEN_LGSP.LGSPNode source, GRGEN_LGSP.LGSPNode target)\n"
-					+ "\t\t{\n"
-					+ "\t\t\t" + elemref + " edge;\n"
-					+ "\t\t\tif(poolLevel == 0)\n"
-					+ "\t\t\t\tedge = new " + allocName + "(source, target);\n"
-					+ "\t\t\telse\n"
-					+ "\t\t\t{\n"
-					+ "\t\t\t\tedge = pool[--poolLevel];\n"
-					+ "\t\t\t\tedge.lgspFlags &= ~(uint) GRGEN_LGSP.LGSPElemFlags.HAS_VARIABLES;\n"
-					+ "\t\t\t\tedge.lgspSource = source;\n"
-					+ "\t\t\t\tedge.lgspTarget = target;\n");
-			initAllMembersNonConst(type, "edge", "\t\t\t\t", true, false);
-			sb.append("\t\t\t}\n"
-					+ "\t\t\tgraph.AddEdge(edge);\n"
-					+ "\t\t\treturn edge;\n"
-					+ "\t\t}\n\n"
-
-					+ "\t\tpublic static " + elemref + " CreateEdge(GRGEN_LGSP.LGSPNamedGraph graph, "
-						+ "GRGEN_LGSP.LGSPNode source, GRGEN_LGSP.LGSPNode target, string edgeName)\n"
-					+ "\t\t{\n"
-					+ "\t\t\t" + elemref + " edge;\n"
-					+ "\t\t\tif(poolLevel == 0)\n"
-					+ "\t\t\t\tedge = new " + allocName + "(source, target);\n"
-					+ "\t\t\telse\n"
-					+ "\t\t\t{\n"
-					+ "\t\t\t\tedge = pool[--poolLevel];\n"
-					+ "\t\t\t\tedge.lgspFlags &= ~(uint) GRGEN_LGSP.LGSPElemFlags.HAS_VARIABLES;\n"
-					+ "\t\t\t\tedge.lgspSource = source;\n"
-					+ "\t\t\t\tedge.lgspTarget = target;\n");
-			initAllMembersNonConst(type, "edge", "\t\t\t\t", true, false);
-			sb.append("\t\t\t}\n"
-					+ "\t\t\tgraph.AddEdge(edge, edgeName);\n"
-					+ "\t\t\treturn edge;\n"
-					+ "\t\t}\n\n");
+			genElementCreator(type, false, elemref, allocName, poolSize,
+					"GRGEN_LGSP.LGSPGraph graph, GRGEN_LGSP.LGSPNode source, GRGEN_LGSP.LGSPNode target", "edge");
+			genElementCreator(type, false, elemref, allocName, poolSize,
+					"GRGEN_LGSP.LGSPNamedGraph graph, GRGEN_LGSP.LGSPNode source, GRGEN_LGSP.LGSPNode target, string edgeName",
+					"edge, edgeName");
 		}
 		sb.append("\t\tpublic override void Recycle()\n"
-				+ "\t\t{\n"
-				+ "\t\t\tif(poolLevel < 10)\n"
-				+ "\t\t\t\tpool[poolLevel++] = this;\n"
-				+ "\t\t}\n\n");
+				+ "\t\t{\n");
+		if(poolSize > 0) {
+			if(isPoolThreadLocal)
+				sb.append("\t\t\tif(pool == null)\n"
+						+ "\t\t\t\tpool = new " + elemref + "[" + poolSize + "];\n");
+			sb.append("\t\t\tif(poolLevel < " + poolSize + ")\n"
+					+ "\t\t\t\tpool[poolLevel++] = this;\n");
+		}
+		sb.append("\t\t}\n\n");
 
 		genAttributesAndAttributeAccessImpl(type);
 
@@ -704,6 +754,55 @@ public class ModelGen extends CSharpBase {
 		}
 	}
 
+	/**
+	 * The size of the pools of the node and edge classes: the one given on the command line,
+	 * else the one declared in the model, else the default size; 0 for no pools.
+	 */
+	private int getPoolSize() {
+		if(be.system.getPoolSize() >= 0)
+			return be.system.getPoolSize();
+		if(model.poolSize() >= 0)
+			return model.poolSize();
+		return DEFAULT_POOL_SIZE;
+	}
+
+	/**
+	 * Generate a creator of the nodes or edges of the given type with the given parameters,
+	 * adding the element to the graph with the given arguments;
+	 * the element is taken from the pool unless it is empty (or there is no pool).
+	 */
+	private void genElementCreator(InheritanceType type, boolean isNode, String elemref, String allocName,
+			int poolSize, String parameters, String addArguments) {
+		String varName = isNode ? "node" : "edge";
+		String kindStr = isNode ? "Node" : "Edge";
+		String newElem = "new " + allocName + (isNode ? "()" : "(source, target)");
+		sb.append("\t\tpublic static " + elemref + " Create" + kindStr + "(" + parameters + ")\n"
+				+ "\t\t{\n"
+				+ "\t\t\t" + elemref + " " + varName + ";\n");
+		if(poolSize > 0) {
+			sb.append("\t\t\tif(poolLevel == 0)\n"
+					+ "\t\t\t\t" + varName + " = " + newElem + ";\n"
+					+ "\t\t\telse\n"
+					+ "\t\t\t{\n"
+					+ "\t\t\t\t" + varName + " = pool[--poolLevel];\n");
+			if(isNode)
+				sb.append("\t\t\t\tnode.lgspInhead = null;\n"
+						+ "\t\t\t\tnode.lgspOuthead = null;\n"
+						+ "\t\t\t\tnode.lgspFlags &= ~(uint) GRGEN_LGSP.LGSPElemFlags.HAS_VARIABLES;\n");
+			else
+				sb.append("\t\t\t\tedge.lgspFlags &= ~(uint) GRGEN_LGSP.LGSPElemFlags.HAS_VARIABLES;\n"
+						+ "\t\t\t\tedge.lgspSource = source;\n"
+						+ "\t\t\t\tedge.lgspTarget = target;\n");
+			initAllMembersNonConst(type, varName, "\t\t\t\t", true, false);
+			sb.append("\t\t\t}\n");
+		} else {
+			sb.append("\t\t\t" + varName + " = " + newElem + ";\n");
+		}
+		sb.append("\t\t\tgraph.Add" + kindStr + "(" + addArguments + ");\n"
+				+ "\t\t\treturn " + varName + ";\n"
+				+ "\t\t}\n\n");
+	}
+
 	private void initAllMembersNonConst(InheritanceType type, String varName,
 			String indentString, boolean withDefaultInits, boolean isResetAllAttributes) {
 		curMemberOwner = varName;
@@ -916,10 +1015,10 @@ deque_init_loop:
 		// TODO: generalize to all types in between type and target type
 		NeededEntities needs = new NeededEntities(false, false, false, false, false, false, false, true);
 		for(MemberInit memberInit : type.getMemberInits()) {
-			memberInit.getExpression().collectNeededEntities(needs);
+			needs.collect(memberInit.getExpression());
 		}
 		for(MemberInit memberInit : targetType.getMemberInits()) {
-			memberInit.getExpression().collectNeededEntities(needs);
+			needs.collect(memberInit.getExpression());
 		}
 		
 		// init members of primitive value with explicit initialization
@@ -1167,55 +1266,55 @@ deque_init_loop:
 		// -> don't generate initialization of type if there exists a subtype of type,
 		// which is a supertype of the target type, and which contains an initialization
 
-		Set<InheritanceType> childrenOfFocusedType =
-			new LinkedHashSet<InheritanceType>(type.getAllSubTypes());
-		childrenOfFocusedType.remove(type); // we want children only, comes with type itself included
-
-		Set<InheritanceType> targetTypeAndParents =
-			new LinkedHashSet<InheritanceType>(targetType.getAllSuperTypes());
-		targetTypeAndParents.add(targetType); // we want it inclusive target, comes exclusive
-
-		Set<InheritanceType> intersection =
-			new LinkedHashSet<InheritanceType>(childrenOfFocusedType);
-		intersection.retainAll(targetTypeAndParents); // the set is empty if type==targetType
-
-		for(InheritanceType relevantChildrenOfFocusedType : intersection)
+		// the types below the focused type which are the target type or above it (none if type==targetType),
+		// if one of them contains an initialization for current member
+		// then we skip the initialization of the focused type
+		if(targetType != type && targetType.isCastableTo(type)
+				&& containsInitialization(targetType, member))
+			return false;
+		for(InheritanceType relevantChildrenOfFocusedType : targetType.getAllSuperTypes())
 		{
-			// if a type below focused type contains an initialization for current member
-			// then we skip the initialization of the focused type
-			for(MemberInit tmi : relevantChildrenOfFocusedType.getMemberInits()) {
-				if(member == tmi.getMember())
-					return false;
-			}
-			for(MapInit tmi : relevantChildrenOfFocusedType.getMapInits()) {
-				if(member == tmi.getMember())
-					return false;
-			}
-			for(SetInit tsi : relevantChildrenOfFocusedType.getSetInits()) {
-				if(member == tsi.getMember())
-					return false;
-			}
-			for(ArrayInit tai : relevantChildrenOfFocusedType.getArrayInits()) {
-				if(member == tai.getMember())
-					return false;
-			}
-			for(DequeInit tdi : relevantChildrenOfFocusedType.getDequeInits()) {
-				if(member == tdi.getMember())
-					return false;
-			}
+			if(relevantChildrenOfFocusedType != type && relevantChildrenOfFocusedType.isCastableTo(type)
+					&& containsInitialization(relevantChildrenOfFocusedType, member))
+				return false;
 		}
 
 		return true;
 	}
 
-	protected void genQualAccess(StringBuffer sb, Qualification qual, Object modifyGenerationState) {
+	private static boolean containsInitialization(InheritanceType type, Entity member)
+	{
+		for(MemberInit tmi : type.getMemberInits()) {
+			if(member == tmi.getMember())
+				return true;
+		}
+		for(MapInit tmi : type.getMapInits()) {
+			if(member == tmi.getMember())
+				return true;
+		}
+		for(SetInit tsi : type.getSetInits()) {
+			if(member == tsi.getMember())
+				return true;
+		}
+		for(ArrayInit tai : type.getArrayInits()) {
+			if(member == tai.getMember())
+				return true;
+		}
+		for(DequeInit tdi : type.getDequeInits()) {
+			if(member == tdi.getMember())
+				return true;
+		}
+		return false;
+	}
+
+	protected void genQualAccess(StringBuilder sb, Qualification qual, Object modifyGenerationState) {
 		Entity owner = qual.getOwner();
 		sb.append("((I" + getNodeOrEdgeTypePrefix(owner) +
 				formatIdentifiable(owner.getType()) + ") ");
 		sb.append(formatEntity(owner) + ").@" + formatIdentifiable(qual.getMember()));
 	}
 
-	protected void genMemberAccess(StringBuffer sb, Entity member) {
+	protected void genMemberAccess(StringBuilder sb, Entity member) {
 		if(curMemberOwner != null)
 			sb.append(curMemberOwner + ".");
 		sb.append("@" + formatIdentifiable(member));
@@ -1226,7 +1325,7 @@ deque_init_loop:
 	 * Generate the attribute accessor implementations of the given type
 	 */
 	private void genAttributesAndAttributeAccessImpl(InheritanceType type) {
-		StringBuffer routedSB = sb;
+		StringBuilder routedSB = sb;
 		String extName = type.getExternalName();
 		String extModifier = "";
 
@@ -1322,6 +1421,8 @@ deque_init_loop:
 				+ "\\\" does not have the attribute \\\"\" + attrName + \"\\\"!\");\n");
 		sb.append("\t\t}\n");
 
+		genAttributeAccessBySlot(type);
+
 		// reset all attributes
 		sb.append("\t\tpublic override void ResetAllAttributes()\n");
 		sb.append("\t\t{\n");
@@ -1329,6 +1430,141 @@ deque_init_loop:
 		sb.append("\t\t}\n");
 	}
 
+	/**
+	 * Generate the attribute accessors by slot of the given type, the slot of an attribute
+	 * is its position in the AttributeTypes of the type (and in its AttributeSlots table).
+	 * Besides the accessors of all attributes by object, typed accessors are generated
+	 * for the attributes of the kinds with a typed accessor in the element base classes,
+	 * they don't box the values (enum attributes are accessed by int).
+	 */
+	private void genAttributeAccessBySlot(InheritanceType type) {
+		String kindOfType = type instanceof NodeType ? "node" : "edge";
+
+		// get attribute by slot
+		sb.append("\t\tpublic override object GetAttribute(int slot)\n");
+		sb.append("\t\t{\n");
+		if(type.getAllMembers().size() != 0) {
+			sb.append("\t\t\tswitch(slot)\n");
+			sb.append("\t\t\t{\n");
+			int slot = 0;
+			for(Entity e : type.getAllMembers()) {
+				sb.append("\t\t\t\tcase " + slot + ": return this.@" + formatIdentifiable(e) + ";\n");
+				++slot;
+			}
+			sb.append("\t\t\t}\n");
+		}
+		sb.append("\t\t\tthrow new NullReferenceException(\n");
+		sb.append("\t\t\t\t\"The " + kindOfType + " type \\\"" + formatIdentifiable(type)
+				+ "\\\" does not have an attribute in slot \" + slot + \"!\");\n");
+		sb.append("\t\t}\n");
+
+		// set attribute by slot
+		sb.append("\t\tpublic override void SetAttribute(int slot, object value)\n");
+		sb.append("\t\t{\n");
+		if(type.getAllMembers().size() != 0) {
+			sb.append("\t\t\tswitch(slot)\n");
+			sb.append("\t\t\t{\n");
+			int slot = 0;
+			for(Entity e : type.getAllMembers()) {
+				genSetAttributeBySlotCase(type, e, slot, "(" + formatAttributeType(e) + ") value");
+				++slot;
+			}
+			sb.append("\t\t\t}\n");
+		}
+		sb.append("\t\t\tthrow new NullReferenceException(\n");
+		sb.append("\t\t\t\t\"The " + kindOfType + " type \\\"" + formatIdentifiable(type)
+				+ "\\\" does not have an attribute in slot \" + slot + \"!\");\n");
+		sb.append("\t\t}\n");
+
+		// typed get and set attribute by slot, for the kinds of attributes the type has
+		for(String kind : SLOT_ACCESSOR_KINDS) {
+			String csharpType = getSlotAccessorType(kind);
+			boolean kindFound = false;
+			int slot = 0;
+			for(Entity e : type.getAllMembers()) {
+				if(kind.equals(getSlotAccessorKind(e.getType()))) {
+					if(!kindFound) {
+						sb.append("\t\tpublic override " + csharpType + " Get" + kind + "(int slot)\n");
+						sb.append("\t\t{\n");
+						sb.append("\t\t\tswitch(slot)\n");
+						sb.append("\t\t\t{\n");
+						kindFound = true;
+					}
+					String cast = e.getType() instanceof EnumType ? "(int) " : "";
+					sb.append("\t\t\t\tcase " + slot + ": return " + cast + "this.@" + formatIdentifiable(e) + ";\n");
+				}
+				++slot;
+			}
+			if(!kindFound)
+				continue;
+			sb.append("\t\t\t}\n");
+			sb.append("\t\t\tthrow new NullReferenceException(\n");
+			sb.append("\t\t\t\t\"The " + kindOfType + " type \\\"" + formatIdentifiable(type)
+					+ "\\\" does not have an attribute of type " + csharpType + " in slot \" + slot + \"!\");\n");
+			sb.append("\t\t}\n");
+
+			sb.append("\t\tpublic override void Set" + kind + "(int slot, " + csharpType + " value)\n");
+			sb.append("\t\t{\n");
+			sb.append("\t\t\tswitch(slot)\n");
+			sb.append("\t\t\t{\n");
+			slot = 0;
+			for(Entity e : type.getAllMembers()) {
+				if(kind.equals(getSlotAccessorKind(e.getType()))) {
+					String cast = e.getType() instanceof EnumType ? "(" + formatAttributeType(e) + ") " : "";
+					genSetAttributeBySlotCase(type, e, slot, cast + "value");
+				}
+				++slot;
+			}
+			sb.append("\t\t\t}\n");
+			sb.append("\t\t\tthrow new NullReferenceException(\n");
+			sb.append("\t\t\t\t\"The " + kindOfType + " type \\\"" + formatIdentifiable(type)
+					+ "\\\" does not have an attribute of type " + csharpType + " in slot \" + slot + \"!\");\n");
+			sb.append("\t\t}\n");
+		}
+	}
+
+	private void genSetAttributeBySlotCase(InheritanceType type, Entity e, int slot, String value) {
+		String name = formatIdentifiable(e);
+		if(e.isConst()) {
+			sb.append("\t\t\t\tcase " + slot + ": ");
+			sb.append("throw new NullReferenceException(");
+			sb.append("\"The attribute " + name + " of the " + (type instanceof NodeType ? "node" : "edge")
+					+ " type \\\"" + formatIdentifiable(type)
+					+ "\\\" is read only!\");\n");
+		} else {
+			sb.append("\t\t\t\tcase " + slot + ": this.@" + name + " = " + value + "; return;\n");
+		}
+	}
+
+	/** @return The kind of the typed accessors by slot for attributes of the given type, null if there are none. */
+	private static String getSlotAccessorKind(Type t) {
+		if(t instanceof BooleanType)
+			return "Boolean";
+		else if(t instanceof ByteType)
+			return "Byte";
+		else if(t instanceof ShortType)
+			return "Short";
+		else if(t instanceof IntType || t instanceof EnumType)
+			return "Int";
+		else if(t instanceof LongType)
+			return "Long";
+		else if(t instanceof FloatType)
+			return "Float";
+		else if(t instanceof DoubleType)
+			return "Double";
+		else
+			return null;
+	}
+
+	private static String getSlotAccessorType(String kind) {
+		if(kind.equals("Boolean"))
+			return "bool";
+		else if(kind.equals("Byte"))
+			return "sbyte";
+		else
+			return kind.toLowerCase();
+	}
+
 	private void genParameterPassingMethodCall(InheritanceType type, FunctionMethod fm) {
 		sb.append("\t\t\t\tcase \"" + fm.getIdent().toString() + "\":\n");
 		sb.append("\t\t\t\t\treturn @" + fm.getIdent().toString() + "(actionEnv, graph");
@@ -1614,6 +1850,7 @@ deque_init_loop:
 		sb.append("\t\tpublic override int NumAttributes { get { return " + type.getAllMembers().size() + "; } }\n");
 		genAttributeTypesEnumerator(type);
 		genGetAttributeType(type);
+		genAttributeSlots(type);
 
 		sb.append("\t\tpublic override int NumFunctionMethods { get { return " + type.getAllFunctionMethods().size() + "; } }\n");
 		genFunctionMethodsEnumerator(type);
@@ -1867,6 +2104,24 @@ deque_init_loop:
 		}
 	}
 
+	private void genAttributeSlots(InheritanceType type) {
+		Collection<Entity> allMembers = type.getAllMembers();
+		sb.append("\t\tpublic static readonly Dictionary<string, int> AttributeSlots = new Dictionary<string, int>();\n");
+		sb.append("\t\tstatic " + formatTypeClassName(type) + "()\n");
+		sb.append("\t\t{\n");
+		int slot = 0;
+		for(Entity e : allMembers) {
+			sb.append("\t\t\tAttributeSlots.Add(\"" + formatIdentifiable(e) + "\", " + slot + ");\n");
+			++slot;
+		}
+		sb.append("\t\t}\n");
+		sb.append("\t\tpublic override int GetAttributeSlot(string name)\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tint slot;\n");
+		sb.append("\t\t\treturn AttributeSlots.TryGetValue(name, out slot) ? slot : -1;\n");
+		sb.append("\t\t}\n");
+	}
+
 	private void genFunctionMethodsEnumerator(InheritanceType type) {
 		Collection<FunctionMethod> allFunctionMethods = type.getAllFunctionMethods();
 		sb.append("\t\tpublic override IEnumerable<GRGEN_LIBGR.IFunctionDefinition> FunctionMethods");
@@ -2371,7 +2626,15 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 			sb.append("\tinterface Index" + indexName + " : GRGEN_LIBGR.IIncidenceCountIndex\n");
 		}
 		sb.append("\t{\n");
-		sb.append("\t\tIEnumerable<" + graphElementType + "> Lookup(" + lookupType + " fromto);\n");
+		if(index instanceof AttributeIndex && ((AttributeIndex)index).isComposite())
+			sb.append("\t\tIEnumerable<" + graphElementType + "> Lookup(" + formatIndexKeyParameters((AttributeIndex)index, "fromto") + ");\n");
+		else
+			sb.append("\t\tIEnumerable<" + graphElementType + "> Lookup(" + lookupType + " fromto);\n");
+		if(index instanceof AttributeIndex && ((AttributeIndex)index).isHash) {
+			sb.append("\t}\n");
+			sb.append("\n");
+			return;
+		}
 		sb.append("\t\tIEnumerable<" + graphElementType + "> LookupAscending();\n");
 		sb.append("\t\tIEnumerable<" + graphElementType + "> LookupAscendingFromInclusive(" + lookupType + " from);\n");
 		sb.append("\t\tIEnumerable<" + graphElementType + "> LookupAscendingFromExclusive(" + lookupType + " from);\n");
@@ -2400,7 +2663,9 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 	void genIndexImplementations() {
 		int i=0;
 		for(Index index : model.getIndices()) {
-			if(index instanceof AttributeIndex) {
+			if(index instanceof AttributeIndex && ((AttributeIndex)index).isHash) {
+				genHashIndexImplementation((AttributeIndex)index, i);
+			} else if(index instanceof AttributeIndex) {
 				genIndexImplementation((AttributeIndex)index, i);
 			} else {
 				genIndexImplementation((IncidenceCountIndex)index, i);
@@ -2586,15 +2851,304 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 		sb.append("\n");
 	}
 
+	/**
+	 * Generate a hash index, a multimap from the attribute values to the sets of elements bearing them,
+	 * supporting equality lookups in constant time; the ordered lookups of an attribute index throw.
+	 */
+	void genHashIndexImplementation(AttributeIndex index, int indexNum) {
+		String indexName = index.getIdent().toString();
+		// the attribute tuple of a composite index is stored in a key struct
+		String attributeType = index.isComposite() ? "Key" : formatAttributeType(index.entity);
+		String lookupParameters = index.isComposite() ? formatIndexKeyParameters(index, "fromto") : attributeType + " fromto";
+		String lookupKey = index.isComposite() ? "new Key(" + formatIndexKeyArguments(index, "fromto") + ")" : "fromto";
+		String insertParameters = index.isComposite() ? formatIndexKeyParameters(index, "attributeValue") : attributeType + " attributeValue";
+		String insertKey = index.isComposite() ? "new Key(" + formatIndexKeyArguments(index, "attributeValue") + ")" : "attributeValue";
+		String graphElementType = formatElementInterfaceRef(index.type);
+		String bucketType = "Dictionary<" + graphElementType + ", GRGEN_LIBGR.SetValueType>";
+		String modelName = model.getIdent().toString() + "GraphModel";
+		boolean isNullable = !index.isComposite() && isNullableAttributeType(index.entity.getType());
+		sb.append("\tpublic class Index" + indexName + "Impl : Index" + indexName + "\n");
+		sb.append("\t{\n");
+
+		sb.append("\t\tpublic GRGEN_LIBGR.IndexDescription Description { get { return " + modelName + ".GetIndexDescription(" + indexNum + "); } }\n");
+		sb.append("\n");
+
+		if(index.isComposite())
+			genHashIndexKey(index);
+
+		sb.append("\t\t// the elements by their attribute value, the buckets are sets of elements\n");
+		sb.append("\t\tprotected Dictionary<" + attributeType + ", " + bucketType + "> buckets;\n");
+		if(isNullable)
+			sb.append("\t\tprotected " + bucketType + " nullBucket; // a dictionary does not accept null keys\n");
+		sb.append("\t\tprotected int count;\n");
+		sb.append("\t\tprotected int version;\n");
+		sb.append("\n");
+
+		sb.append("\t\tpublic IEnumerable<GRGEN_LIBGR.IGraphElement> LookupElements(object fromto)\n");
+		sb.append("\t\t{\n");
+		if(index.isComposite()) {
+			sb.append("\t\t\tSystem.Collections.IList key = (System.Collections.IList)fromto;\n");
+			sb.append("\t\t\tforeach(GRGEN_LIBGR.IGraphElement value in Lookup(" + formatIndexKeyFromList(index, "key") + "))\n");
+		} else
+			sb.append("\t\t\tforeach(GRGEN_LIBGR.IGraphElement value in Lookup((" + attributeType + ")fromto))\n");
+		sb.append("\t\t\t\tyield return value;\n");
+		sb.append("\t\t}\n");
+		sb.append("\t\t\n");
+
+		sb.append("\t\tpublic IEnumerable<" + graphElementType + "> Lookup(" + lookupParameters + ")\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\t" + bucketType + " bucket = GetBucket(" + lookupKey + ", false);\n");
+		sb.append("\t\t\tif(bucket == null)\n");
+		sb.append("\t\t\t\tyield break;\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tint versionAtIterationBegin = version;\n");
+		sb.append("\t\t\tforeach(" + graphElementType + " value in bucket.Keys)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tyield return value;\n");
+		sb.append("\t\t\t\tif(version != versionAtIterationBegin)\n");
+		sb.append("\t\t\t\t\tthrow new InvalidOperationException(\"Index changed during enumeration\");\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t}\n");
+		sb.append("\t\t\n");
+
+		for(String direction : new String[] { "Ascending", "Descending" }) {
+			genHashIndexOrderedLookupElements(index, direction, false, true, false, true);
+			genHashIndexOrderedLookupElements(index, direction, true, true, false, true);
+			genHashIndexOrderedLookupElements(index, direction, true, false, false, true);
+			genHashIndexOrderedLookupElements(index, direction, false, true, true, true);
+			genHashIndexOrderedLookupElements(index, direction, false, true, true, false);
+			genHashIndexOrderedLookupElements(index, direction, true, true, true, true);
+			genHashIndexOrderedLookupElements(index, direction, true, true, true, false);
+			genHashIndexOrderedLookupElements(index, direction, true, false, true, true);
+			genHashIndexOrderedLookupElements(index, direction, true, false, true, false);
+		}
+
+		sb.append("\t\tpublic Index" + indexName + "Impl(GRGEN_LGSP.LGSPGraph graph)\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tthis.graph = graph;\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tbuckets = new Dictionary<" + attributeType + ", " + bucketType + ">();\n");
+		sb.append("\t\t\tcount = 0;\n");
+		sb.append("\t\t\tversion = 0;\n");
+		sb.append("\t\t\t\n");
+		if(index.type instanceof NodeType) {
+			sb.append("\t\t\tgraph.OnNodeAdded += Added;\n");
+			sb.append("\t\t\tgraph.OnRemovingNode += Removing;\n");
+			sb.append("\t\t\tgraph.OnChangingNodeAttribute += ChangingAttribute;\n");
+			sb.append("\t\t\tgraph.OnRetypingNode += Retyping;\n");
+		} else {
+			sb.append("\t\t\tgraph.OnEdgeAdded += Added;\n");
+			sb.append("\t\t\tgraph.OnRemovingEdge += Removing;\n");
+			sb.append("\t\t\tgraph.OnChangingEdgeAttribute += ChangingAttribute;\n");
+			sb.append("\t\t\tgraph.OnRetypingEdge += Retyping;\n");
+		}
+		sb.append("\t\t}\n");
+		sb.append("\n");
+
+		sb.append("\t\tpublic void FillAsClone(Index" + indexName + "Impl that, IDictionary<GRGEN_LIBGR.IGraphElement, GRGEN_LIBGR.IGraphElement> oldToNewMap)\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tforeach(KeyValuePair<" + attributeType + ", " + bucketType + "> bucket in that.buckets)\n");
+		sb.append("\t\t\t\tbuckets.Add(bucket.Key, FillAsClone(bucket.Value, oldToNewMap));\n");
+		if(isNullable) {
+			sb.append("\t\t\tif(that.nullBucket != null)\n");
+			sb.append("\t\t\t\tnullBucket = FillAsClone(that.nullBucket, oldToNewMap);\n");
+		}
+		sb.append("\t\t\tcount = that.count;\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+
+		sb.append("\t\tprotected " + bucketType + " FillAsClone(" + bucketType + " that, IDictionary<GRGEN_LIBGR.IGraphElement, GRGEN_LIBGR.IGraphElement> oldToNewMap)\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\t" + bucketType + " bucket = new " + bucketType + "(that.Count);\n");
+		sb.append("\t\t\tforeach(" + graphElementType + " value in that.Keys)\n");
+		sb.append("\t\t\t\tbucket.Add((" + graphElementType + ")oldToNewMap[value], null);\n");
+		sb.append("\t\t\treturn bucket;\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+
+		genIndexMaintainingEventHandlers(index);
+
+		sb.append("\t\tprivate " + bucketType + " GetBucket(" + attributeType + " attributeValue, bool create)\n");
+		sb.append("\t\t{\n");
+		if(isNullable) {
+			sb.append("\t\t\tif(attributeValue == null)\n");
+			sb.append("\t\t\t{\n");
+			sb.append("\t\t\t\tif(nullBucket == null && create)\n");
+			sb.append("\t\t\t\t\tnullBucket = new " + bucketType + "();\n");
+			sb.append("\t\t\t\treturn nullBucket;\n");
+			sb.append("\t\t\t}\n");
+			sb.append("\t\t\t\n");
+		}
+		sb.append("\t\t\t" + bucketType + " bucket;\n");
+		sb.append("\t\t\tif(!buckets.TryGetValue(attributeValue, out bucket) && create)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tbucket = new " + bucketType + "();\n");
+		sb.append("\t\t\t\tbuckets.Add(attributeValue, bucket);\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\treturn bucket;\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+
+		sb.append("\t\tprivate void Insert(" + graphElementType + " value, " + insertParameters + ")\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tGetBucket(" + insertKey + ", true).Add(value, null);\n");
+		sb.append("\t\t\t++count;\n");
+		sb.append("\t\t\t++version;\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+
+		sb.append("\t\tprivate void Delete(" + graphElementType + " value, " + insertParameters + ")\n");
+		sb.append("\t\t{\n");
+		if(index.isComposite()) {
+			sb.append("\t\t\tKey attributeValue = " + insertKey + ";\n");
+		}
+		sb.append("\t\t\t" + bucketType + " bucket = GetBucket(attributeValue, false);\n");
+		sb.append("\t\t\tif(bucket == null || !bucket.Remove(value))\n");
+		sb.append("\t\t\t\treturn;\n");
+		sb.append("\t\t\tif(bucket.Count == 0)\n");
+		sb.append("\t\t\t{\n");
+		if(isNullable) {
+			sb.append("\t\t\t\tif(attributeValue == null)\n");
+			sb.append("\t\t\t\t\tnullBucket = null;\n");
+			sb.append("\t\t\t\telse\n");
+			sb.append("\t\t\t\t\tbuckets.Remove(attributeValue);\n");
+		} else {
+			sb.append("\t\t\t\tbuckets.Remove(attributeValue);\n");
+		}
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t--count;\n");
+		sb.append("\t\t\t++version;\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+
+		sb.append("\t\tprivate GRGEN_LGSP.LGSPGraph graph;\n");
+
+		sb.append("\t}\n");
+		sb.append("\n");
+	}
+
+	/**
+	 * Generate the key of a composite hash index, a struct of the attribute values,
+	 * with structural equality (as required by the dictionary).
+	 */
+	void genHashIndexKey(AttributeIndex index) {
+		sb.append("\t\tprotected struct Key : IEquatable<Key>\n");
+		sb.append("\t\t{\n");
+		for(int i = 0; i < index.entities.size(); ++i) {
+			sb.append("\t\t\tpublic readonly " + formatAttributeType(index.entities.get(i)) + " value" + i + ";\n");
+		}
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tpublic Key(" + formatIndexKeyParameters(index, "value") + ")\n");
+		sb.append("\t\t\t{\n");
+		for(int i = 0; i < index.entities.size(); ++i) {
+			sb.append("\t\t\t\tthis.value" + i + " = value" + i + ";\n");
+		}
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tpublic bool Equals(Key that)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\treturn ");
+		for(int i = 0; i < index.entities.size(); ++i) {
+			if(i > 0)
+				sb.append("\n\t\t\t\t\t&& ");
+			if(isNullableAttributeType(index.entities.get(i).getType()))
+				sb.append("Object.Equals(value" + i + ", that.value" + i + ")");
+			else
+				sb.append("value" + i + " == that.value" + i);
+		}
+		sb.append(";\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tpublic override bool Equals(object that)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\treturn that is Key && Equals((Key)that);\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tpublic override int GetHashCode()\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tint hash = 17;\n");
+		for(int i = 0; i < index.entities.size(); ++i) {
+			if(isNullableAttributeType(index.entities.get(i).getType()))
+				sb.append("\t\t\t\thash = hash * 31 + (value" + i + " != null ? value" + i + ".GetHashCode() : 0);\n");
+			else
+				sb.append("\t\t\t\thash = hash * 31 + value" + i + ".GetHashCode();\n");
+		}
+		sb.append("\t\t\t\treturn hash;\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+	}
+
+	/**
+	 * Generate an ordered lookup of the elements (as required by the attribute index interface)
+	 * for a hash index, it throws as a hash index does not know an order.
+	 */
+	void genHashIndexOrderedLookupElements(AttributeIndex index, String direction,
+			boolean fromConstrained, boolean fromInclusive, boolean toConstrained, boolean toInclusive)
+	{
+		String lookupMethodNameAppendix = direction;
+		if(fromConstrained) {
+			lookupMethodNameAppendix += "From";
+			if(fromInclusive)
+				lookupMethodNameAppendix += "Inclusive";
+			else
+				lookupMethodNameAppendix += "Exclusive";
+		}
+		if(toConstrained) {
+			lookupMethodNameAppendix += "To";
+			if(toInclusive)
+				lookupMethodNameAppendix += "Inclusive";
+			else
+				lookupMethodNameAppendix += "Exclusive";
+		}
+
+		sb.append("\t\tpublic IEnumerable<GRGEN_LIBGR.IGraphElement> LookupElements" + lookupMethodNameAppendix + "(");
+		if(fromConstrained)
+			sb.append("object from");
+		if(fromConstrained && toConstrained)
+			sb.append(", ");
+		if(toConstrained)
+			sb.append("object to");
+		sb.append(")\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tthrow new NotSupportedException(\"The hash index " + index.getIdent() + " does not support ordered access\");\n");
+		sb.append("\t\t}\n");
+		sb.append("\t\t\n");
+	}
+
+	/** @return Whether the values of the given attribute type may be null (so they can't be used as keys of a dictionary). */
+	private static boolean isNullableAttributeType(Type type) {
+		if(type instanceof EnumType)
+			return false;
+		switch(type.classify()) {
+		case Type.IS_BYTE:
+		case Type.IS_SHORT:
+		case Type.IS_INTEGER:
+		case Type.IS_LONG:
+		case Type.IS_FLOAT:
+		case Type.IS_DOUBLE:
+		case Type.IS_BOOLEAN:
+			return false;
+		default:
+			return true;
+		}
+	}
+
 	void genEqualElementEntry(Index index)
 	{
 		String attributeType = index instanceof AttributeIndex ? formatAttributeType(((AttributeIndex)index).entity) : "int";
+		boolean isComposite = index instanceof AttributeIndex && ((AttributeIndex)index).isComposite();
 		
 		sb.append("\t\tpublic IEnumerable<GRGEN_LIBGR.IGraphElement> LookupElements(object fromto)\n");
 		sb.append("\t\t{\n");
 
+		if(isComposite)
+			sb.append("\t\t\tSystem.Collections.IList key = (System.Collections.IList)fromto;\n");
 		sb.append("\t\t\tint versionAtIterationBegin = version;\n");
-		sb.append("\t\t\tforeach(GRGEN_LIBGR.IGraphElement value in Lookup(root, (" + attributeType + ")fromto))\n");
+		if(isComposite)
+			sb.append("\t\t\tforeach(GRGEN_LIBGR.IGraphElement value in Lookup(root, " + formatIndexKeyFromList((AttributeIndex)index, "key") + "))\n");
+		else
+			sb.append("\t\t\tforeach(GRGEN_LIBGR.IGraphElement value in Lookup(root, (" + attributeType + ")fromto))\n");
 		sb.append("\t\t\t{\n");
 		sb.append("\t\t\t\tyield return value;\n");
 		sb.append("\t\t\t\tif(version != versionAtIterationBegin)\n");
@@ -2609,12 +3163,19 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 	{
 		String attributeType = index instanceof AttributeIndex ? formatAttributeType(((AttributeIndex)index).entity) : "int";
 		String graphElementType = index instanceof AttributeIndex ? formatElementInterfaceRef(((AttributeIndex)index).type) : formatElementInterfaceRef(((IncidenceCountIndex)index).getStartNodeType());
+		boolean isComposite = index instanceof AttributeIndex && ((AttributeIndex)index).isComposite();
 		
-		sb.append("\t\tpublic IEnumerable<" + graphElementType + "> Lookup(" + attributeType + " fromto)\n");
+		if(isComposite)
+			sb.append("\t\tpublic IEnumerable<" + graphElementType + "> Lookup(" + formatIndexKeyParameters((AttributeIndex)index, "fromto") + ")\n");
+		else
+			sb.append("\t\tpublic IEnumerable<" + graphElementType + "> Lookup(" + attributeType + " fromto)\n");
 		sb.append("\t\t{\n");
 
 		sb.append("\t\t\tint versionAtIterationBegin = version;\n");
-		sb.append("\t\t\tforeach(" + graphElementType + " value in Lookup(root, fromto))\n");
+		if(isComposite)
+			sb.append("\t\t\tforeach(" + graphElementType + " value in Lookup(root, " + formatIndexKeyArguments((AttributeIndex)index, "fromto") + "))\n");
+		else
+			sb.append("\t\t\tforeach(" + graphElementType + " value in Lookup(root, fromto))\n");
 		sb.append("\t\t\t{\n");
 		sb.append("\t\t\t\tyield return value;\n");
 		sb.append("\t\t\t\tif(version != versionAtIterationBegin)\n");
@@ -2627,6 +3188,11 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 
 	void genEqual(AttributeIndex index)
 	{
+		if(index.isComposite()) {
+			genEqualComposite(index);
+			return;
+		}
+
 		String attributeType = formatAttributeType(index.entity);
 		String attributeName = index.entity.getIdent().toString();
 		String graphElementType = formatElementInterfaceRef(index.type);
@@ -2684,6 +3250,148 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 		sb.append("\t\t\n");
 	}
 
+	/**
+	 * Generate the equality lookup of a composite index, the tree is ordered lexicographically by the attribute tuples,
+	 * so the subtrees are pruned by the comparison of the tuple of the current element to the key.
+	 */
+	void genEqualComposite(AttributeIndex index)
+	{
+		String graphElementType = formatElementInterfaceRef(index.type);
+		
+		sb.append("\t\tprivate IEnumerable<" + graphElementType + "> Lookup(TreeNode current, " + formatIndexKeyParameters(index, "fromto") + ")\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tif(current == bottom)\n");
+		sb.append("\t\t\t\tyield break;\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tint versionAtIterationBegin = version;\n");
+		sb.append("\t\t\tint keyComparison = CompareKey(current.value, " + formatIndexKeyArguments(index, "fromto") + ");\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\t// don't go left if the value is already lower than fromto\n");
+		sb.append("\t\t\tif(keyComparison >= 0)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tforeach(" + graphElementType + " value in Lookup(current.left, " + formatIndexKeyArguments(index, "fromto") + "))\n");
+		sb.append("\t\t\t\t{\n");
+		sb.append("\t\t\t\t\tyield return value;\n");
+		sb.append("\t\t\t\t\tif(version != versionAtIterationBegin)\n");
+		sb.append("\t\t\t\t\t\tthrow new InvalidOperationException(\"Index changed during enumeration\");\n");
+		sb.append("\t\t\t\t}\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t\n");
+
+		sb.append("\t\t\t// (only) yield a value that is equal to fromto\n");
+		sb.append("\t\t\tif(");
+		for(int i = 0; i < index.entities.size(); ++i) {
+			if(i > 0)
+				sb.append(" && ");
+			sb.append("current.value." + index.entities.get(i).getIdent() + " == fromto" + i);
+		}
+		sb.append(")\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\t// the value is within range.\n");
+		sb.append("\t\t\t\tyield return current.value;\n");
+		sb.append("\t\t\t\tif(version != versionAtIterationBegin)\n");
+		sb.append("\t\t\t\t\tthrow new InvalidOperationException(\"Index changed during enumeration\");\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t\n");
+
+		sb.append("\t\t\t// don't go right if the value is already higher than fromto\n");
+		sb.append("\t\t\tif(keyComparison <= 0)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tforeach(" + graphElementType + " value in Lookup(current.right, " + formatIndexKeyArguments(index, "fromto") + "))\n");
+		sb.append("\t\t\t\t{\n");
+		sb.append("\t\t\t\t\tyield return value;\n");
+		sb.append("\t\t\t\t\tif(version != versionAtIterationBegin)\n");
+		sb.append("\t\t\t\t\t\tthrow new InvalidOperationException(\"Index changed during enumeration\");\n");
+		sb.append("\t\t\t\t}\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t}\n");
+		sb.append("\t\t\n");
+	}
+
+	/**
+	 * Generate the lexicographic comparison of the attribute tuple of an element to a key of a composite index,
+	 * returning a negative number if the tuple is lower, zero if it is equal, a positive number if it is higher.
+	 */
+	void genCompareKey(AttributeIndex index)
+	{
+		String graphElementType = formatElementInterfaceRef(index.type);
+		int last = index.entities.size() - 1;
+
+		sb.append("\t\tprivate static int CompareKey(" + graphElementType + " value, " + formatIndexKeyParameters(index, "key") + ")\n");
+		sb.append("\t\t{\n");
+		for(int i = 0; i < last; ++i) {
+			Entity attribute = index.entities.get(i);
+			sb.append("\t\t\t" + (i == 0 ? "int result = " : "result = ")
+					+ formatAttributeComparison(attribute, "value." + attribute.getIdent(), "key" + i) + ";\n");
+			sb.append("\t\t\tif(result != 0)\n");
+			sb.append("\t\t\t\treturn result;\n");
+		}
+		Entity lastAttribute = index.entities.get(last);
+		sb.append("\t\t\treturn " + formatAttributeComparison(lastAttribute, "value." + lastAttribute.getIdent(), "key" + last) + ";\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+	}
+
+	/** @return The comparison of the given values of the given attribute, an int that is negative, zero, or positive. */
+	private String formatAttributeComparison(Entity attribute, String left, String right) {
+		if(attribute.getType() instanceof BooleanType)
+			return left + ".CompareTo(" + right + ")";
+		else if(attribute.getType() instanceof StringType)
+			return "String.Compare(" + left + ", " + right + ", StringComparison.InvariantCulture)";
+		else
+			return "(" + left + " < " + right + " ? -1 : (" + left + " > " + right + " ? 1 : 0))";
+	}
+
+	/** @return The parameters of the key of a composite index, one for each attribute, named by the prefix and their position. */
+	private String formatIndexKeyParameters(AttributeIndex index, String prefix) {
+		StringBuilder parameters = new StringBuilder();
+		for(int i = 0; i < index.entities.size(); ++i) {
+			if(i > 0)
+				parameters.append(", ");
+			parameters.append(formatAttributeType(index.entities.get(i)) + " " + prefix + i);
+		}
+		return parameters.toString();
+	}
+
+	/** @return The arguments passing on the parameters of the key of a composite index. */
+	private String formatIndexKeyArguments(AttributeIndex index, String prefix) {
+		StringBuilder arguments = new StringBuilder();
+		for(int i = 0; i < index.entities.size(); ++i) {
+			if(i > 0)
+				arguments.append(", ");
+			arguments.append(prefix + i);
+		}
+		return arguments.toString();
+	}
+
+	/** @return The arguments of the key of a composite index, taken from the list of the given name (as given to LookupElements). */
+	private String formatIndexKeyFromList(AttributeIndex index, String listName) {
+		StringBuilder arguments = new StringBuilder();
+		for(int i = 0; i < index.entities.size(); ++i) {
+			if(i > 0)
+				arguments.append(", ");
+			arguments.append("(" + formatAttributeType(index.entities.get(i)) + ")" + listName + "[" + i + "]");
+		}
+		return arguments.toString();
+	}
+
+	/**
+	 * @return The attribute values of the graph element in the variable of the given name, for the insertion into the index;
+	 * the value of the given changed attribute is taken from newValue instead (it is not assigned yet), if not null.
+	 */
+	private String formatIndexInsertArguments(AttributeIndex index, String elemName, Entity changedAttribute) {
+		String graphElementType = formatElementInterfaceRef(index.type);
+		StringBuilder arguments = new StringBuilder();
+		for(Entity attribute : index.entities) {
+			arguments.append(", ");
+			if(attribute == changedAttribute)
+				arguments.append("(" + formatAttributeType(attribute) + ")newValue");
+			else
+				arguments.append("((" + graphElementType + ")" + elemName + ")." + attribute.getIdent());
+		}
+		return arguments.toString();
+	}
+
 	void genAscendingElementEntry(Index index, boolean fromConstrained, boolean fromInclusive, boolean toConstrained, boolean toInclusive)
 	{
 		String attributeType = index instanceof AttributeIndex ? formatAttributeType(((AttributeIndex)index).entity) : "int";
@@ -3106,37 +3814,50 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 
 	void genIndexMaintainingEventHandlers(AttributeIndex index)
 	{
-		String attributeType = formatAttributeType(index.entity);
-		String attributeName = index.entity.getIdent().toString();
 		String graphElementType = formatElementInterfaceRef(index.type);
+		// the tree index works on its root, the hash index needs the old attribute value to find the bucket of the element
+		String insertPrefix = index.isHash ? "Insert(" : "Insert(ref root, ";
 		
 		sb.append("\t\tvoid Added(GRGEN_LIBGR.IGraphElement elem)\n");
 		sb.append("\t\t{\n");
 		sb.append("\t\t\tif(elem is " + graphElementType + ")\n");
-		sb.append("\t\t\t\tInsert(ref root, (" + graphElementType + ")elem, ((" + graphElementType + ")elem)." + attributeName + ");\n");
+		sb.append("\t\t\t\t" + insertPrefix + "(" + graphElementType + ")elem" + formatIndexInsertArguments(index, "elem", null) + ");\n");
 		sb.append("\t\t}\n\n");
 		sb.append("\t\tvoid Removing(GRGEN_LIBGR.IGraphElement elem)\n");
 		sb.append("\t\t{\n");
 		sb.append("\t\t\tif(elem is " + graphElementType + ")\n");
-		sb.append("\t\t\t\tDelete(ref root, (" + graphElementType + ")elem);\n");
+		sb.append("\t\t\t\t" + formatIndexDelete(index, "elem") + ";\n");
 		sb.append("\t\t}\n\n");
 		sb.append("\t\tvoid ChangingAttribute(GRGEN_LIBGR.IGraphElement elem, GRGEN_LIBGR.AttributeType attrType, GRGEN_LIBGR.AttributeChangeType changeType, Object newValue, Object keyValue)\n");
 		sb.append("\t\t{\n");
-		sb.append("\t\t\tif(elem is " + graphElementType + " && attrType.Name==\"" + attributeName + "\")\n");
-		sb.append("\t\t\t{\n");
-		sb.append("\t\t\t\tDelete(ref root, (" + graphElementType + ")elem);\n");
-		sb.append("\t\t\t\tInsert(ref root, (" + graphElementType + ")elem, (" + attributeType + ")newValue);\n");
-		sb.append("\t\t\t}\n");
+		boolean first = true;
+		for(Entity attribute : index.entities) {
+			sb.append("\t\t\t" + (first ? "if(" : "else if(") + "elem is " + graphElementType + " && attrType.Name==\"" + attribute.getIdent() + "\")\n");
+			sb.append("\t\t\t{\n");
+			sb.append("\t\t\t\t" + formatIndexDelete(index, "elem") + ";\n");
+			sb.append("\t\t\t\t" + insertPrefix + "(" + graphElementType + ")elem" + formatIndexInsertArguments(index, "elem", attribute) + ");\n");
+			sb.append("\t\t\t}\n");
+			first = false;
+		}
 		sb.append("\t\t}\n\n");
 		sb.append("\t\tvoid Retyping(GRGEN_LIBGR.IGraphElement oldElem, GRGEN_LIBGR.IGraphElement newElem)\n");
 		sb.append("\t\t{\n");
 		sb.append("\t\t\tif(oldElem is " + graphElementType + ")\n");
-		sb.append("\t\t\t\tDelete(ref root, (" + graphElementType + ")oldElem);\n");
+		sb.append("\t\t\t\t" + formatIndexDelete(index, "oldElem") + ";\n");
 		sb.append("\t\t\tif(newElem is " + graphElementType + ")\n");
-		sb.append("\t\t\t\tInsert(ref root, (" + graphElementType + ")newElem, ((" + graphElementType + ")newElem)." + attributeName + ");\n");
+		sb.append("\t\t\t\t" + insertPrefix + "(" + graphElementType + ")newElem" + formatIndexInsertArguments(index, "newElem", null) + ");\n");
 		sb.append("\t\t}\n\n");
 	}
 
+	/** @return The call deleting the graph element in the variable of the given name from the given index. */
+	private String formatIndexDelete(AttributeIndex index, String elemName) {
+		String graphElementType = formatElementInterfaceRef(index.type);
+		if(index.isHash)
+			return "Delete((" + graphElementType + ")" + elemName + formatIndexInsertArguments(index, elemName, null) + ")";
+		else
+			return "Delete(ref root, (" + graphElementType + ")" + elemName + ")";
+	}
+
 	void genIndexAATreeBalancingInsertionDeletion(AttributeIndex index) {
 		String attributeType = formatAttributeType(index.entity);
 		String attributeName = index.entity.getIdent().toString();
@@ -3170,6 +3891,12 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 		sb.append("\t\t}\n");
 		sb.append("\n");
 		
+		if(index.isComposite()) {
+			genCompareKey(index);
+			genIndexAATreeInsertionDeletionComposite(index);
+			return;
+		}
+
 		sb.append("\t\tprivate void Insert(ref TreeNode current, " + graphElementType + " value, " + attributeType + " attributeValue)\n");
 		sb.append("\t\t{\n");
 		sb.append("\t\t\tif(current == bottom)\n");
@@ -3252,6 +3979,84 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 		sb.append("\n");
 	}
 
+	/**
+	 * Generate the insertion into and the deletion from the AA tree of a composite index,
+	 * ordered lexicographically by the attribute tuples, and by the unique ids of the elements with equal tuples.
+	 */
+	void genIndexAATreeInsertionDeletionComposite(AttributeIndex index) {
+		String graphElementType = formatElementInterfaceRef(index.type);
+		String castForUnique = index.type instanceof NodeType ? " as GRGEN_LGSP.LGSPNode" : " as GRGEN_LGSP.LGSPEdge";
+		StringBuilder valueAttributes = new StringBuilder();
+		for(Entity attribute : index.entities) {
+			valueAttributes.append(", value." + attribute.getIdent());
+		}
+
+		sb.append("\t\tprivate void Insert(ref TreeNode current, " + graphElementType + " value, " + formatIndexKeyParameters(index, "attributeValue") + ")\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tif(current == bottom)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tcurrent = new TreeNode(value, bottom);\n");
+		sb.append("\t\t\t\t++count;\n");
+		sb.append("\t\t\t\t++version;\n");
+		sb.append("\t\t\t\treturn;\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tint keyComparison = CompareKey(current.value, " + formatIndexKeyArguments(index, "attributeValue") + ");\n");
+		sb.append("\t\t\tif(keyComparison > 0 || ( keyComparison == 0 && (value" + castForUnique + ").uniqueId < (current.value" + castForUnique + ").uniqueId ) )\n");
+		sb.append("\t\t\t\tInsert(ref current.left, value, " + formatIndexKeyArguments(index, "attributeValue") + ");\n");
+		sb.append("\t\t\telse if(keyComparison < 0 || ( keyComparison == 0 && (value" + castForUnique + ").uniqueId > (current.value" + castForUnique + ").uniqueId ) )\n");
+		sb.append("\t\t\t\tInsert(ref current.right, value, " + formatIndexKeyArguments(index, "attributeValue") + ");\n");
+		sb.append("\t\t\telse\n");
+		sb.append("\t\t\t\tthrow new Exception(\"Insertion of already available element\");\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\tSkew(ref current);\n");
+		sb.append("\t\t\tSplit(ref current);\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+		
+		sb.append("\t\tprivate void Delete(ref TreeNode current, " + graphElementType + " value)\n");
+		sb.append("\t\t{\n");
+		sb.append("\t\t\tif(current == bottom)\n");
+		sb.append("\t\t\t\treturn;\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\t// search down the tree (and set pointer last and deleted)\n");
+		sb.append("\t\t\tlast = current;\n");
+		sb.append("\t\t\tint keyComparison = CompareKey(current.value" + valueAttributes + ");\n");
+		sb.append("\t\t\tif(keyComparison > 0 || ( keyComparison == 0 && (value" + castForUnique + ").uniqueId < (current.value" + castForUnique + ").uniqueId ) )\n");
+		sb.append("\t\t\t\tDelete(ref current.left, value);\n");
+		sb.append("\t\t\telse\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tdeleted = current;\n");
+		sb.append("\t\t\t\tDelete(ref current.right, value);\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t\n");
+		sb.append("\t\t\t// at the bottom of the tree we remove the element (if present)\n");
+		sb.append("\t\t\tif(current == last && deleted != bottom && CompareKey(deleted.value" + valueAttributes + ") == 0");
+		sb.append(" && (value" + castForUnique + ").uniqueId == (deleted.value" + castForUnique + ").uniqueId )\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\tdeleted.value = current.value;\n");
+		sb.append("\t\t\t\tdeleted = bottom;\n");
+		sb.append("\t\t\t\tcurrent = current.right;\n");
+		sb.append("\t\t\t\t--count;\n");
+		sb.append("\t\t\t\t++version;\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t// on the way back, we rebalance\n");
+		sb.append("\t\t\telse if(current.left.level < current.level - 1\n");
+		sb.append("\t\t\t\t|| current.right.level < current.level - 1)\n");
+		sb.append("\t\t\t{\n");
+		sb.append("\t\t\t\t--current.level;\n");
+		sb.append("\t\t\t\tif(current.right.level > current.level)\n");
+		sb.append("\t\t\t\t\tcurrent.right.level = current.level;\n");
+		sb.append("\t\t\t\tSkew(ref current);\n");
+		sb.append("\t\t\t\tSkew(ref current.right);\n");
+		sb.append("\t\t\t\tSkew(ref current.right.right);\n");
+		sb.append("\t\t\t\tSplit(ref current);\n");
+		sb.append("\t\t\t\tSplit(ref current.right);\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t}\n");
+		sb.append("\n");
+	}
+
 	void genIndexSetType() {
 		sb.append("\tpublic class " + model.getIdent() + "IndexSet : GRGEN_LIBGR.IIndexSet\n");
 		sb.append("\t{\n");
@@ -4514,7 +5319,18 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 		sb.append("\t\t\tnew GRGEN_LIBGR.AttributeIndexDescription(");
 		sb.append("\"" + index.getIdent() + "\", ");
 		sb.append(formatTypeClassName(index.type) + ".typeVar, ");
-		sb.append(formatTypeClassName(index.type) + "." + formatAttributeTypeName(index.entity));
+		if(index.isComposite()) {
+			sb.append("new GRGEN_LIBGR.AttributeType[] { ");
+			for(Entity attribute : index.entities) {
+				sb.append(formatTypeClassName(index.type) + "." + formatAttributeTypeName(attribute) + ", ");
+			}
+			sb.append("}, ");
+			sb.append(index.isHash ? "true" : "false");
+		} else {
+			sb.append(formatTypeClassName(index.type) + "." + formatAttributeTypeName(index.entity));
+			if(index.isHash)
+				sb.append(", true");
+		}
 		sb.append("),\n");
 	}
 
@@ -5078,11 +5894,15 @@ commonLoop:	for(InheritanceType commonType : firstCommonAncestors) {
 
 	private SearchPlanBackend2 be;
 	private Model model;
-	private StringBuffer sb = null;
-	private StringBuffer stubsb = null;
+	private StringBuilder sb = null;
+	private StringBuilder stubsb = null;
+	private SourceFileWriter out = null;
+	private CompilationThreadPool generatorPool = null;
 	private String curMemberOwner = null;
 	private String nsIndent = "\t";
 	private HashSet<String> rootTypes;
 	private ModifyGen mgFuncComp;
+	private String nodeTypePrefix;
+	private String edgeTypePrefix;
 }
 
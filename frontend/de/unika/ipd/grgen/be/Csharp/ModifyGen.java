@@ -254,11 +254,11 @@ public class ModifyGen extends CSharpBase {
 	// Modification part generation //
 	//////////////////////////////////
 
-	public void genModify(StringBuffer sb, Rule rule, String packageName, boolean isSubpattern) {
+	public void genModify(StringBuilder sb, Rule rule, String packageName, boolean isSubpattern) {
 		genModify(sb, rule, packageName, "", "pat_"+rule.getLeft().getNameOfGraph(), isSubpattern);
 	}
 
-	private void genModify(StringBuffer sb, Rule rule, String packageName, String pathPrefix, String patGraphVarName, boolean isSubpattern)
+	private void genModify(StringBuilder sb, Rule rule, String packageName, String pathPrefix, String patGraphVarName, boolean isSubpattern)
 	{
 		if(rule.getRight()!=null) { // rule / subpattern with dependent replacement
 			// replace left by right, normal version
@@ -381,7 +381,7 @@ public class ModifyGen extends CSharpBase {
 		return false;
 	}
 
-	private void genModifyAlternative(StringBuffer sb, Rule rule, Alternative alt,
+	private void genModifyAlternative(StringBuilder sb, Rule rule, Alternative alt,
 			String pathPrefix, String altName, boolean isSubpattern) {
 		if(rule.getRight()!=null) { // generate code for dependent modify dispatcher
 			genModifyAlternativeModify(sb, alt, pathPrefix, altName, isSubpattern);
@@ -392,7 +392,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genModifyAlternativeModify(StringBuffer sb, Alternative alt, String pathPrefix, String altName,
+	private void genModifyAlternativeModify(StringBuilder sb, Alternative alt, String pathPrefix, String altName,
 			boolean isSubpattern) {
 		// Emit function header
 		sb.append("\n");
@@ -459,7 +459,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genModifyAlternativeDelete(StringBuffer sb, Alternative alt, String pathPrefix, String altName,
+	private void genModifyAlternativeDelete(StringBuilder sb, Alternative alt, String pathPrefix, String altName,
 			boolean isSubpattern) {
 		// Emit function header
 		sb.append("\n");
@@ -491,7 +491,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t}\n");
 	}
 
-	private void genModifyIterated(StringBuffer sb, Rule rule, String pathPrefix, String iterName, boolean isSubpattern) {
+	private void genModifyIterated(StringBuilder sb, Rule rule, String pathPrefix, String iterName, boolean isSubpattern) {
 		if(rule.getRight()!=null) { // generate code for dependent modify dispatcher
 			genModifyIteratedModify(sb, rule, pathPrefix, iterName, isSubpattern);
 		}
@@ -501,7 +501,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genModifyIteratedModify(StringBuffer sb, Rule iter, String pathPrefix, String iterName,
+	private void genModifyIteratedModify(StringBuilder sb, Rule iter, String pathPrefix, String iterName,
 			boolean isSubpattern) {
 		// Emit function header
 		sb.append("\n");
@@ -543,7 +543,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t}\n");
 	}
 
-	private void genModifyIteratedDelete(StringBuffer sb, Rule iter, String pathPrefix, String iterName,
+	private void genModifyIteratedDelete(StringBuilder sb, Rule iter, String pathPrefix, String iterName,
 			boolean isSubpattern) {
 		// Emit function header
 		sb.append("\n");
@@ -564,9 +564,9 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t}\n");
 	}
 
-	private void genModifyRuleOrSubrule(StringBuffer sb, ModifyGenerationTask task, String packageName, String pathPrefix) {
-		StringBuffer sb2 = new StringBuffer();
-		StringBuffer sb3 = new StringBuffer();
+	private void genModifyRuleOrSubrule(StringBuilder sb, ModifyGenerationTask task, String packageName, String pathPrefix) {
+		StringBuilder sb2 = new StringBuilder();
+		StringBuilder sb3 = new StringBuilder();
 
 		boolean useAddedElementNames = be.system.mayFireDebugEvents()
 			&& (task.typeOfTask==TYPE_OF_TASK_CREATION
@@ -758,29 +758,29 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genEvalProfilingStart(StringBuffer sb, boolean declareVariable) {
+	private void genEvalProfilingStart(StringBuilder sb, boolean declareVariable) {
 		if(declareVariable)
 	        sb.append("\t\t\tlong searchStepsAtBeginEval = actionEnv.PerformanceInfo.SearchSteps;\n");
 		else
 			sb.append("\t\t\tsearchStepsAtBeginEval = actionEnv.PerformanceInfo.SearchSteps;\n");
 	}
 
-	private void genEvalProfilingStop(StringBuffer sb, String packagePrefixedActionName) {
+	private void genEvalProfilingStop(StringBuilder sb, String packagePrefixedActionName) {
         sb.append("\t\t\tactionEnv.PerformanceInfo.ActionProfiles[\"" + packagePrefixedActionName + "\"].searchStepsDuringEvalTotal += actionEnv.PerformanceInfo.SearchSteps - searchStepsAtBeginEval;\n");
 	}
 
-	private void genExecProfilingStart(StringBuffer sb) {
+	private void genExecProfilingStart(StringBuilder sb) {
         sb.append("\t\t\tlong searchStepsAtBeginExec = actionEnv.PerformanceInfo.SearchSteps;\n");
 	}
 
-	private void genExecProfilingStop(StringBuffer sb, String packagePrefixedActionName) {
+	private void genExecProfilingStop(StringBuilder sb, String packagePrefixedActionName) {
         sb.append("\t\t\tactionEnv.PerformanceInfo.ActionProfiles[\"" + packagePrefixedActionName + "\"].searchStepsDuringExecTotal += actionEnv.PerformanceInfo.SearchSteps - searchStepsAtBeginExec;\n");
 	}
 
-	private void emitMethodHeadAndBegin(StringBuffer sb, ModifyGenerationTask task, String pathPrefix)
+	private void emitMethodHeadAndBegin(StringBuilder sb, ModifyGenerationTask task, String pathPrefix)
 	{
 		String matchType = "Match_"+pathPrefix+task.left.getNameOfGraph();
-		StringBuffer outParameters = new StringBuffer();
+		StringBuilder outParameters = new StringBuilder();
 		int i=0;
 		for(Expression expr : task.returns) {
 			outParameters.append(", out ");
@@ -1026,12 +1026,12 @@ public class ModifyGen extends CSharpBase {
 			if(istmt instanceof Emit) {
 				Emit emit = (Emit) istmt;
 				for(Expression arg : emit.getArguments())
-					arg.collectNeededEntities(needs);
+					needs.collect(arg);
 			}
 			else if (istmt instanceof Exec) {
 				Exec exec = (Exec) istmt;
 				for(Expression arg : exec.getArguments())
-					arg.collectNeededEntities(needs);
+					needs.collect(arg);
 			}
 			else assert false : "unknown ImperativeStmt: " + istmt + " in " + task.left.getNameOfGraph();
 		}
@@ -1041,7 +1041,7 @@ public class ModifyGen extends CSharpBase {
 				if(orpl instanceof Emit) {
 					Emit emit = (Emit) orpl;
 					for(Expression arg : emit.getArguments())
-						arg.collectNeededEntities(needs);
+						needs.collect(arg);
 				}
 				// the other ordered statement is the totally different dependent subpattern replacement
 			}
@@ -1055,7 +1055,7 @@ public class ModifyGen extends CSharpBase {
 			if(istmt instanceof Emit) {
 				Emit emit = (Emit) istmt;
 				for(Expression arg : emit.getArguments())
-					arg.collectNeededEntities(needs);
+					needs.collect(arg);
 			}
 		}
 		/*for(OrderedReplacements orpls : task.right.getOrderedReplacements()) {
@@ -1063,7 +1063,7 @@ public class ModifyGen extends CSharpBase {
 				if(orpl instanceof Emit) {
 					Emit emit = (Emit) orpl;
 					for(Expression arg : emit.getArguments())
-						arg.collectNeededEntities(needs);
+						needs.collect(arg);
 				}
 			}
 		}*/
@@ -1072,12 +1072,12 @@ public class ModifyGen extends CSharpBase {
 	private void collectElementsAndAttributesNeededByEvals(ModifyGenerationTask task, NeededEntities needs)
 	{
 		for(EvalStatements evalStmts : task.evals) {
-			evalStmts.collectNeededEntities(needs);
+			needs.collect(evalStmts);
 		}
 		for(OrderedReplacements orderedReps : task.right.getOrderedReplacements()) {
 			for(OrderedReplacement orderedRep : orderedReps.orderedReplacements) {
 				if(orderedRep instanceof EvalStatement) {
-					((EvalStatement)orderedRep).collectNeededEntities(needs);
+					needs.collect((EvalStatement)orderedRep);
 				}
 			}
 		}
@@ -1088,14 +1088,14 @@ public class ModifyGen extends CSharpBase {
 	{
 		for(Variable var : state.yieldedVariables())
 			if(var.initialization!=null)
-				var.initialization.collectNeededEntities(needs);
+				needs.collect(var.initialization);
 	}
 
 	private void collectElementsAndAttributesNeededByReturns(ModifyGenerationTask task,
 			NeededEntities needs)
 	{
 		for(Expression expr : task.returns)
-			expr.collectNeededEntities(needs);
+			needs.collect(expr);
 	}
 
 	private void collectElementsNeededBySubpatternCreation(ModifyGenerationTask task,
@@ -1103,7 +1103,7 @@ public class ModifyGen extends CSharpBase {
 	{
 		for(SubpatternUsage subUsage : task.right.getSubpatternUsages())
 			for(Expression expr : subUsage.getSubpatternConnections())
-				expr.collectNeededEntities(needs);
+				needs.collect(expr);
 	}
 
 	private void collectElementsNeededByNameOrAttributeInitialization(ModifyGenerationState state,
@@ -1111,13 +1111,13 @@ public class ModifyGen extends CSharpBase {
 	{
 		for(Node node : state.newNodes())
 			for(NameOrAttributeInitialization nai : node.nameOrAttributeInitialization)
-				nai.expr.collectNeededEntities(needs);
+				needs.collect(nai.expr);
 		for(Edge edge : state.newEdges())
 			for(NameOrAttributeInitialization nai : edge.nameOrAttributeInitialization)
-				nai.expr.collectNeededEntities(needs);
+				needs.collect(nai.expr);
 	}
 
-	private void genNeededTypes(StringBuffer sb, ModifyGenerationStateConst state)
+	private void genNeededTypes(StringBuilder sb, ModifyGenerationStateConst state)
 	{
 		for(Node node : state.nodesNeededAsTypes()) {
 			String name = formatEntity(node);
@@ -1129,7 +1129,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genYieldedElements(StringBuffer sb, ModifyGenerationStateConst state, PatternGraph right)
+	private void genYieldedElements(StringBuilder sb, ModifyGenerationStateConst state, PatternGraph right)
 	{
 		for(Node node : state.yieldedNodes()) {
 			if(right.getReplParameters().contains(node)) continue;
@@ -1154,7 +1154,7 @@ public class ModifyGen extends CSharpBase {
 	}
 
 	private void genCheckReturnedElementsForDeletionOrRetypingDueToHomomorphy(
-			StringBuffer sb, ModifyGenerationTask task)
+			StringBuilder sb, ModifyGenerationTask task)
 	{
 		for(Expression expr : task.returns) {
 			if(!(expr instanceof GraphEntityExpression)) continue;
@@ -1171,7 +1171,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genContainerVariablesBeforeImperativeStatements(StringBuffer sb, ModifyGenerationStateConst state) {
+	private void genContainerVariablesBeforeImperativeStatements(StringBuilder sb, ModifyGenerationStateConst state) {
 		for(Map.Entry<Expression, String> entry : state.mapExprToTempVar().entrySet()) {
 			Expression expr = entry.getKey();
 			String varName = entry.getValue();
@@ -1181,7 +1181,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genImperativeStatements(StringBuffer sb, ModifyGenerationStateConst state, 
+	private void genImperativeStatements(StringBuilder sb, ModifyGenerationStateConst state, 
 			ModifyGenerationTask task, String pathPrefix)
 	{
 		if(!task.mightThereBeDeferredExecs) { // procEnv was already emitted in case of deferred execs
@@ -1297,7 +1297,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genVariablesForUsedAttributesBeforeDelete(StringBuffer sb,
+	private void genVariablesForUsedAttributesBeforeDelete(StringBuilder sb,
 			ModifyGenerationStateConst state, HashMap<GraphEntity, HashSet<Entity>> forceAttributeToVar)
 	{
 		for(Map.Entry<GraphEntity, HashSet<Entity>> entry : state.attributesStoredBeforeDelete().entrySet()) {
@@ -1322,7 +1322,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genCheckDeletedElementsForRetypingThroughHomomorphy(StringBuffer sb, ModifyGenerationStateConst state)
+	private void genCheckDeletedElementsForRetypingThroughHomomorphy(StringBuilder sb, ModifyGenerationStateConst state)
 	{
 		for(Edge edge : state.delEdges()) {
 			if(!edge.isMaybeRetyped()) continue;
@@ -1340,7 +1340,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genDelNodes(StringBuffer sb, ModifyGenerationStateConst state,
+	private void genDelNodes(StringBuilder sb, ModifyGenerationStateConst state,
 			HashSet<Node> nodesNeededAsElements, PatternGraph right)
 	{
 		for(Node node : state.delNodes()) {
@@ -1357,7 +1357,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genDelEdges(StringBuffer sb, ModifyGenerationStateConst state,
+	private void genDelEdges(StringBuilder sb, ModifyGenerationStateConst state,
 			HashSet<Edge> edgesNeededAsElements, PatternGraph right)
 	{
 		for(Edge edge : state.delEdges()) {
@@ -1372,7 +1372,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genRedirectEdges(StringBuffer sb, ModifyGenerationTask task, ModifyGenerationStateConst state,
+	private void genRedirectEdges(StringBuilder sb, ModifyGenerationTask task, ModifyGenerationStateConst state,
 			HashSet<Edge> edgesNeededAsElements, HashSet<Node> nodesNeededAsElements)
 	{
 		for(Edge edge : task.right.getEdges()) {
@@ -1418,7 +1418,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 	
-	private void genTypeChangesEdges(StringBuffer sb, ModifyGenerationTask task, ModifyGenerationStateConst state,
+	private void genTypeChangesEdges(StringBuilder sb, ModifyGenerationTask task, ModifyGenerationStateConst state,
 			HashSet<Edge> edgesNeededAsElements, HashSet<Edge> edgesNeededAsTypes)
 	{
 		for(Edge edge : task.right.getEdges()) {
@@ -1448,7 +1448,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genTypeChangesNodesAndMerges(StringBuffer sb, ModifyGenerationStateConst state, ModifyGenerationTask task,
+	private void genTypeChangesNodesAndMerges(StringBuilder sb, ModifyGenerationStateConst state, ModifyGenerationTask task,
 			HashSet<Node> nodesNeededAsElements, HashSet<Node> nodesNeededAsTypes)
 	{
 		for(Node node : task.right.getNodes()) {
@@ -1483,14 +1483,14 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genAddedGraphElementsArray(StringBuffer sb, ModifyGenerationStateConst state, String pathPrefix, int typeOfTask) {
+	private void genAddedGraphElementsArray(StringBuilder sb, ModifyGenerationStateConst state, String pathPrefix, int typeOfTask) {
 		if(typeOfTask==TYPE_OF_TASK_MODIFY || typeOfTask==TYPE_OF_TASK_CREATION) {
 			genAddedGraphElementsArray(sb, pathPrefix, true, state.newNodes());
 			genAddedGraphElementsArray(sb, pathPrefix, false, state.newEdges());
 		}
 	}
 
-	private void genAlternativeModificationCalls(StringBuffer sb, ModifyGenerationTask task, String pathPrefix) {
+	private void genAlternativeModificationCalls(StringBuilder sb, ModifyGenerationTask task, String pathPrefix) {
 		if(task.right==task.left) { // test needs top-level-modify due to interface, but not more
 			return;
 		}
@@ -1515,7 +1515,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genAlternativeModificationCall(Alternative alt, StringBuffer sb, ModifyGenerationTask task, String pathPrefix) {
+	private void genAlternativeModificationCall(Alternative alt, StringBuilder sb, ModifyGenerationTask task, String pathPrefix) {
 		String altName = alt.getNameOfGraph();
 		sb.append("\t\t\t" + pathPrefix+task.left.getNameOfGraph()+"_"+altName+"_" +
 				"Modify(actionEnv, alternative_" + altName);
@@ -1529,7 +1529,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genIteratedModificationCalls(StringBuffer sb, ModifyGenerationTask task, String pathPrefix) {
+	private void genIteratedModificationCalls(StringBuilder sb, ModifyGenerationTask task, String pathPrefix) {
 		if(task.right==task.left) { // test needs top-level-modify due to interface, but not more
 			return;
 		}
@@ -1554,7 +1554,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genIteratedModificationCall(Rule iter, StringBuffer sb, ModifyGenerationTask task, String pathPrefix) {
+	private void genIteratedModificationCall(Rule iter, StringBuilder sb, ModifyGenerationTask task, String pathPrefix) {
 		String iterName = iter.getLeft().getNameOfGraph();
 		sb.append("\t\t\t" + pathPrefix+task.left.getNameOfGraph()+"_"+iterName+"_" +
 				"Modify(actionEnv, iterated_" + iterName);
@@ -1567,7 +1567,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genSubpatternModificationCalls(StringBuffer sb, ModifyGenerationTask task, String pathPrefix,
+	private void genSubpatternModificationCalls(StringBuilder sb, ModifyGenerationTask task, String pathPrefix,
 			ModifyGenerationStateConst state, HashSet<Node> nodesNeededAsElements, HashSet<Variable> neededVariables,
 			HashSet<Node> nodesNeededAsAttributes, HashSet<Edge> edgesNeededAsAttributes) {
 		if(task.right==task.left) { // test needs top-level-modify due to interface, but not more
@@ -1608,7 +1608,7 @@ public class ModifyGen extends CSharpBase {
 					for(int i=0; i<subRep.getReplConnections().size(); ++i) {
 						Expression expr = subRep.getReplConnections().get(i);
 						Entity param = replParameters.get(i);
-						expr.collectNeededEntities(needs);
+						needs.collect(expr);
 						sb.append(", ");
 						if(param.isDefToBeYieldedTo()) {
 							sb.append("ref (");
@@ -1663,7 +1663,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genYieldedElementsInterfaceAccess(StringBuffer sb, ModifyGenerationStateConst state, String pathPrefix) {
+	private void genYieldedElementsInterfaceAccess(StringBuilder sb, ModifyGenerationStateConst state, String pathPrefix) {
 		for(Node node : state.yieldedNodes()) {
 			sb.append("\t\t\t"
 					+ formatVarDeclWithCast(formatElementInterfaceRef(node.getType()), "i" + formatEntity(node))
@@ -1676,14 +1676,14 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 	
-	private void genAddedGraphElementsArray(StringBuffer sb, String pathPrefix, boolean isNode, Collection<? extends GraphEntity> set) {
+	private void genAddedGraphElementsArray(StringBuilder sb, String pathPrefix, boolean isNode, Collection<? extends GraphEntity> set) {
 		String NodesOrEdges = isNode?"Node":"Edge";
 		sb.append("\t\tprivate static string[] " + pathPrefix + "added" + NodesOrEdges + "Names = new string[] ");
 		genSet(sb, set, "\"", "\"", true);
 		sb.append(";\n");
 	}
 
-	private void emitReturnStatement(StringBuffer sb, ModifyGenerationStateConst state, boolean emitProfiling, String packagePrefixedactionName, List<Expression> returns) {
+	private void emitReturnStatement(StringBuilder sb, ModifyGenerationStateConst state, boolean emitProfiling, String packagePrefixedactionName, List<Expression> returns) {
 		if(emitProfiling && returns.size() > 0)
 			genEvalProfilingStart(sb, false);
 		for(int i = 0; i < returns.size(); i++)
@@ -1702,7 +1702,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t\treturn;\n");
 	}
 
-	private void genExtractElementsFromMatch(StringBuffer sb, ModifyGenerationTask task,
+	private void genExtractElementsFromMatch(StringBuilder sb, ModifyGenerationTask task,
 			ModifyGenerationStateConst state, String pathPrefix, String patternName) {
 		for(Node node : state.nodesNeededAsElements()) {
 			if(node.isRetyped() && node.isRHSEntity()) continue;
@@ -1740,7 +1740,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genExtractVariablesFromMatch(StringBuffer sb, ModifyGenerationTask task,
+	private void genExtractVariablesFromMatch(StringBuilder sb, ModifyGenerationTask task,
 			ModifyGenerationStateConst state, String pathPrefix, String patternName) {
 		for(Variable var : state.neededVariables()) {
 			if(task.replParameters.contains(var)) continue; // skip replacement parameters, they are handed in as parameters
@@ -1751,7 +1751,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genExtractSubmatchesFromMatch(StringBuffer sb, String pathPrefix, PatternGraph pattern) {
+	private void genExtractSubmatchesFromMatch(StringBuilder sb, String pathPrefix, PatternGraph pattern) {
 		for(SubpatternUsage sub : pattern.getSubpatternUsages()) {
 			String subName = formatIdentifiable(sub);
 			sb.append("\t\t\t"+matchType(sub.getSubpatternAction().getPattern(), sub.getSubpatternAction(), true, "")+" subpattern_" + subName
@@ -1776,7 +1776,7 @@ public class ModifyGen extends CSharpBase {
 	// New element generation //
 	////////////////////////////
 
-	private void genNewNodes(StringBuffer sb2, ModifyGenerationStateConst state,
+	private void genNewNodes(StringBuilder sb2, ModifyGenerationStateConst state,
 			boolean useAddedElementNames, String pathPrefix,
 			HashSet<Node> nodesNeededAsElements, HashSet<Node> nodesNeededAsTypes) {
 		// call nodes added delegate
@@ -1834,7 +1834,7 @@ public class ModifyGen extends CSharpBase {
 		return typeofElem == elem ? null : typeofElem;
 	}
 
-	private void genNewEdges(StringBuffer sb2, ModifyGenerationStateConst state, ModifyGenerationTask task,
+	private void genNewEdges(StringBuilder sb2, ModifyGenerationStateConst state, ModifyGenerationTask task,
 			boolean useAddedElementNames, String pathPrefix,
 			HashSet<Node> nodesNeededAsElements, HashSet<Edge> edgesNeededAsElements,
 			HashSet<Edge> edgesNeededAsTypes)
@@ -1903,7 +1903,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genNewSubpatternCalls(StringBuffer sb, ModifyGenerationStateConst state)
+	private void genNewSubpatternCalls(StringBuilder sb, ModifyGenerationStateConst state)
 	{
 		for(SubpatternUsage subUsage : state.newSubpatternUsages()) {
 			if(hasAbstractElements(subUsage.getSubpatternAction().getPattern()) 
@@ -1926,7 +1926,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genDelSubpatternCalls(StringBuffer sb, ModifyGenerationStateConst state)
+	private void genDelSubpatternCalls(StringBuilder sb, ModifyGenerationStateConst state)
 	{
 		for(SubpatternUsage subUsage : state.delSubpatternUsages()) {
 			String subName = formatIdentifiable(subUsage);
@@ -1946,7 +1946,7 @@ public class ModifyGen extends CSharpBase {
 		xgrsID = 0;
 	}
 
-	private void genAllEvals(StringBuffer sb, ModifyGenerationStateConst state, Collection<EvalStatements> evalStatements) {
+	private void genAllEvals(StringBuilder sb, ModifyGenerationStateConst state, Collection<EvalStatements> evalStatements) {
 		for(Node node : state.newNodes()) {
 			if(node.hasAttributeInitialization()) {
 				for(NameOrAttributeInitialization nai : node.nameOrAttributeInitialization) {
@@ -1987,13 +1987,13 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genEvals(StringBuffer sb, ModifyGenerationStateConst state, Collection<EvalStatement> evalStatements) {
+	private void genEvals(StringBuilder sb, ModifyGenerationStateConst state, Collection<EvalStatement> evalStatements) {
 		for(EvalStatement evalStmt : evalStatements) {
 			genEvalStmt(sb, state, evalStmt);
 		}
 	}
 
-	public void genEvalStmt(StringBuffer sb, ModifyGenerationStateConst state, EvalStatement evalStmt) {
+	public void genEvalStmt(StringBuilder sb, ModifyGenerationStateConst state, EvalStatement evalStmt) {
 		if(evalStmt instanceof Assignment) { // includes evalStmt instanceof AssignmentIndexed
 			genAssignment(sb, state, (Assignment) evalStmt);
 		}
@@ -2177,7 +2177,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genAssignment(StringBuffer sb, ModifyGenerationStateConst state, Assignment ass) {
+	private void genAssignment(StringBuilder sb, ModifyGenerationStateConst state, Assignment ass) {
 		Qualification target = ass.getTarget();
 		Expression expr = ass.getExpression();
 		Type targetType = target.getType();
@@ -2319,7 +2319,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genAssignmentVar(StringBuffer sb, ModifyGenerationStateConst state, AssignmentVar ass) {
+	private void genAssignmentVar(StringBuilder sb, ModifyGenerationStateConst state, AssignmentVar ass) {
 		Variable target = ass.getTarget();
 		Expression expr = ass.getExpression();
 				
@@ -2366,7 +2366,7 @@ public class ModifyGen extends CSharpBase {
 				genExpression(sb, expr, state);
 				sb.append(");\n");
 			} else {
-				StringBuffer tmp = new StringBuffer();
+				StringBuilder tmp = new StringBuilder();
 				tmp.append("(" + formatType(targetType) + ") (");
 				genExpression(tmp, expr, state);
 				tmp.append(")");
@@ -2376,7 +2376,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genAssignmentGraphEntity(StringBuffer sb, ModifyGenerationStateConst state, AssignmentGraphEntity ass) {
+	private void genAssignmentGraphEntity(StringBuilder sb, ModifyGenerationStateConst state, AssignmentGraphEntity ass) {
 		GraphEntity target = ass.getTarget();
 		Expression expr = ass.getExpression();
 
@@ -2393,14 +2393,14 @@ public class ModifyGen extends CSharpBase {
 			genExpression(sb, expr, state);
 			sb.append(";\n");
 		} else {
-			StringBuffer tmp = new StringBuffer();
+			StringBuilder tmp = new StringBuilder();
 			genExpression(tmp, expr, state);
 			sb.append(formatGlobalVariableWrite(target, tmp.toString()));
 			sb.append(";\n");
 		}
 	}
 
-	private void genAssignmentMember(StringBuffer sb, ModifyGenerationStateConst state, AssignmentMember ass) {
+	private void genAssignmentMember(StringBuilder sb, ModifyGenerationStateConst state, AssignmentMember ass) {
 		Entity target = ass.getTarget();
 		Expression expr = ass.getExpression();
 
@@ -2414,14 +2414,14 @@ public class ModifyGen extends CSharpBase {
 			genExpression(sb, expr, state);
 			sb.append(";\n");
 		} else {
-			StringBuffer tmp = new StringBuffer();
+			StringBuilder tmp = new StringBuilder();
 			genExpression(tmp, expr, state);
 			sb.append(formatGlobalVariableWrite(target, tmp.toString()));
 			sb.append(";\n");
 		}
 	}
 
-	private void genAssignmentVisited(StringBuffer sb, ModifyGenerationStateConst state, AssignmentVisited ass) {
+	private void genAssignmentVisited(StringBuilder sb, ModifyGenerationStateConst state, AssignmentVisited ass) {
 		sb.append("\t\t\tgraph.SetVisited(");
 		genExpression(sb, ass.getTarget().getEntity(), state);
 		sb.append(", ");
@@ -2431,7 +2431,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genAssignmentNameof(StringBuffer sb, ModifyGenerationStateConst state, AssignmentNameof ass) {
+	private void genAssignmentNameof(StringBuilder sb, ModifyGenerationStateConst state, AssignmentNameof ass) {
 		if(ass.getTarget()==null || ass.getTarget().getType() instanceof GraphType) {
 			if(ass.getTarget()==null)
 				sb.append("\t\t\tgraph.Name = ");
@@ -2451,7 +2451,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genCompoundAssignmentChanged(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignmentChanged cass)
+	private void genCompoundAssignmentChanged(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignmentChanged cass)
 	{
 		Qualification changedTarget = cass.getChangedTarget();
 		String changedOperation;
@@ -2492,7 +2492,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 	
-	private void genCompoundAssignmentChangedVar(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignmentChangedVar cass)
+	private void genCompoundAssignmentChangedVar(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignmentChangedVar cass)
 	{
 		Variable changedTarget = cass.getChangedTarget();
 		String changedOperation;
@@ -2508,11 +2508,11 @@ public class ModifyGen extends CSharpBase {
 		genCompoundAssignment(sb, state, cass, prefix, ";\n");
 	}
 	
-	private void genCompoundAssignmentChangedVisited(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignmentChangedVisited cass)
+	private void genCompoundAssignmentChangedVisited(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignmentChangedVisited cass)
 	{
 		Visited changedTarget = cass.getChangedTarget();
 
-		StringBuffer changedTargetBuffer = new StringBuffer();
+		StringBuilder changedTargetBuffer = new StringBuilder();
 		genExpression(changedTargetBuffer, changedTarget.getEntity(), state);
 		changedTargetBuffer.append(", ");
 		genExpression(changedTargetBuffer, changedTarget.getVisitorID(), state);
@@ -2527,7 +2527,7 @@ public class ModifyGen extends CSharpBase {
 		genCompoundAssignment(sb, state, cass, prefix, ");\n");
 	}
 	
-	private void genCompoundAssignment(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignment cass,
+	private void genCompoundAssignment(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignment cass,
 			String prefix, String postfix)
 	{
 		Qualification target = cass.getTarget();
@@ -2562,7 +2562,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genCompoundAssignmentVarChanged(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignmentVarChanged cass)
+	private void genCompoundAssignmentVarChanged(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignmentVarChanged cass)
 	{
 		Qualification changedTarget = cass.getChangedTarget();
 		String changedOperation;
@@ -2599,7 +2599,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 	
-	private void genCompoundAssignmentVarChangedVar(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignmentVarChangedVar cass)
+	private void genCompoundAssignmentVarChangedVar(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignmentVarChangedVar cass)
 	{
 		Variable changedTarget = cass.getChangedTarget();
 		String changedOperation;
@@ -2615,11 +2615,11 @@ public class ModifyGen extends CSharpBase {
 		genCompoundAssignmentVar(sb, state, cass, prefix, ";\n");
 	}
 	
-	private void genCompoundAssignmentVarChangedVisited(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignmentVarChangedVisited cass)
+	private void genCompoundAssignmentVarChangedVisited(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignmentVarChangedVisited cass)
 	{
 		Visited changedTarget = cass.getChangedTarget();
 
-		StringBuffer changedTargetBuffer = new StringBuffer();
+		StringBuilder changedTargetBuffer = new StringBuilder();
 		genExpression(changedTargetBuffer, changedTarget.getEntity(), state);
 		changedTargetBuffer.append(", ");
 		genExpression(changedTargetBuffer, changedTarget.getVisitorID(), state);
@@ -2634,7 +2634,7 @@ public class ModifyGen extends CSharpBase {
 		genCompoundAssignmentVar(sb, state, cass, prefix, ");\n");
 	}
 
-	private void genCompoundAssignmentVar(StringBuffer sb, ModifyGenerationStateConst state, CompoundAssignmentVar cass,
+	private void genCompoundAssignmentVar(StringBuilder sb, ModifyGenerationStateConst state, CompoundAssignmentVar cass,
 			String prefix, String postfix)
 	{
 		Variable target = cass.getTarget();
@@ -2658,10 +2658,10 @@ public class ModifyGen extends CSharpBase {
 		sb.append(postfix);
 	}
 
-	private void genMapRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, MapRemoveItem mri) {
+	private void genMapRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, MapRemoveItem mri) {
 		Qualification target = mri.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, mri.getKeyExpr(), state);
 		String keyExprStr = sbtmp.toString();
 
@@ -2683,7 +2683,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genMapClear(StringBuffer sb, ModifyGenerationStateConst state, MapClear mc) {
+	private void genMapClear(StringBuilder sb, ModifyGenerationStateConst state, MapClear mc) {
 		Qualification target = mc.getTarget();
 
 		genClearAttribute(sb, state, target);
@@ -2699,10 +2699,10 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genMapAddItem(StringBuffer sb, ModifyGenerationStateConst state, MapAddItem mai) {
+	private void genMapAddItem(StringBuilder sb, ModifyGenerationStateConst state, MapAddItem mai) {
 		Qualification target = mai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, mai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 		sbtmp.delete(0, sbtmp.length());
@@ -2732,10 +2732,10 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genSetRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, SetRemoveItem sri) {
+	private void genSetRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, SetRemoveItem sri) {
 		Qualification target = sri.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, sri.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 
@@ -2757,7 +2757,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genSetClear(StringBuffer sb, ModifyGenerationStateConst state, SetClear sc) {
+	private void genSetClear(StringBuilder sb, ModifyGenerationStateConst state, SetClear sc) {
 		Qualification target = sc.getTarget();
 
 		genClearAttribute(sb, state, target);
@@ -2773,10 +2773,10 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genSetAddItem(StringBuffer sb, ModifyGenerationStateConst state, SetAddItem sai) {
+	private void genSetAddItem(StringBuilder sb, ModifyGenerationStateConst state, SetAddItem sai) {
 		Qualification target = sai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, sai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 
@@ -2798,12 +2798,12 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genArrayRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, ArrayRemoveItem ari) {
+	private void genArrayRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, ArrayRemoveItem ari) {
 		Qualification target = ari.getTarget();
 
 		String indexStr = "null";
 		if(ari.getIndexExpr()!=null) {
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpression(sbtmp, ari.getIndexExpr(), state);
 			indexStr = sbtmp.toString();
 		}
@@ -2829,7 +2829,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genArrayClear(StringBuffer sb, ModifyGenerationStateConst state, ArrayClear ac) {
+	private void genArrayClear(StringBuilder sb, ModifyGenerationStateConst state, ArrayClear ac) {
 		Qualification target = ac.getTarget();
 
 		genClearAttribute(sb, state, target);
@@ -2845,14 +2845,14 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genArrayAddItem(StringBuffer sb, ModifyGenerationStateConst state, ArrayAddItem aai) {
+	private void genArrayAddItem(StringBuilder sb, ModifyGenerationStateConst state, ArrayAddItem aai) {
 		Qualification target = aai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, aai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 		
-		sbtmp = new StringBuffer();
+		sbtmp = new StringBuilder();
 		String indexExprStr = "null";
 		if(aai.getIndexExpr()!=null) {
 			genExpression(sbtmp, aai.getIndexExpr(), state);
@@ -2883,12 +2883,12 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genDequeRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, DequeRemoveItem dri) {
+	private void genDequeRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, DequeRemoveItem dri) {
 		Qualification target = dri.getTarget();
 
 		String indexStr = "null";
 		if(dri.getIndexExpr()!=null) {
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpression(sbtmp, dri.getIndexExpr(), state);
 			indexStr = sbtmp.toString();
 		}
@@ -2910,7 +2910,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genDequeClear(StringBuffer sb, ModifyGenerationStateConst state, DequeClear dc) {
+	private void genDequeClear(StringBuilder sb, ModifyGenerationStateConst state, DequeClear dc) {
 		Qualification target = dc.getTarget();
 
 		genClearAttribute(sb, state, target);
@@ -2926,14 +2926,14 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genDequeAddItem(StringBuffer sb, ModifyGenerationStateConst state, DequeAddItem dai) {
+	private void genDequeAddItem(StringBuilder sb, ModifyGenerationStateConst state, DequeAddItem dai) {
 		Qualification target = dai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, dai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 
-		sbtmp = new StringBuffer();
+		sbtmp = new StringBuilder();
 		String indexExprStr = "null";
 		if(dai.getIndexExpr()!=null) {
 			genExpression(sbtmp, dai.getIndexExpr(), state);
@@ -2964,10 +2964,10 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genMapVarRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, MapVarRemoveItem mvri) {
+	private void genMapVarRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, MapVarRemoveItem mvri) {
 		Variable target = mvri.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, mvri.getKeyExpr(), state);
 		String keyExprStr = sbtmp.toString();
 
@@ -2982,7 +2982,7 @@ public class ModifyGen extends CSharpBase {
 		assert mvri.getNext()==null;
 	}
 
-	private void genMapVarClear(StringBuffer sb, ModifyGenerationStateConst state, MapVarClear mvc) {
+	private void genMapVarClear(StringBuilder sb, ModifyGenerationStateConst state, MapVarClear mvc) {
 		Variable target = mvc.getTarget();
 
 		genVar(sb, target, state);
@@ -2991,10 +2991,10 @@ public class ModifyGen extends CSharpBase {
 		assert mvc.getNext()==null;
 	}
 
-	private void genMapVarAddItem(StringBuffer sb, ModifyGenerationStateConst state, MapVarAddItem mvai) {
+	private void genMapVarAddItem(StringBuilder sb, ModifyGenerationStateConst state, MapVarAddItem mvai) {
 		Variable target = mvai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, mvai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 		sbtmp.delete(0, sbtmp.length());
@@ -3017,10 +3017,10 @@ public class ModifyGen extends CSharpBase {
 		assert mvai.getNext()==null;
 	}
 
-	private void genSetVarRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, SetVarRemoveItem svri) {
+	private void genSetVarRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, SetVarRemoveItem svri) {
 		Variable target = svri.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, svri.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 
@@ -3035,7 +3035,7 @@ public class ModifyGen extends CSharpBase {
 		assert svri.getNext()==null;
 	}
 
-	private void genSetVarClear(StringBuffer sb, ModifyGenerationStateConst state, SetVarClear svc) {
+	private void genSetVarClear(StringBuilder sb, ModifyGenerationStateConst state, SetVarClear svc) {
 		Variable target = svc.getTarget();
 
 		genVar(sb, target, state);
@@ -3044,10 +3044,10 @@ public class ModifyGen extends CSharpBase {
 		assert svc.getNext()==null;
 	}
 
-	private void genSetVarAddItem(StringBuffer sb, ModifyGenerationStateConst state, SetVarAddItem svai) {
+	private void genSetVarAddItem(StringBuilder sb, ModifyGenerationStateConst state, SetVarAddItem svai) {
 		Variable target = svai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, svai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 
@@ -3062,12 +3062,12 @@ public class ModifyGen extends CSharpBase {
 		assert svai.getNext()==null;
 	}
 
-	private void genArrayVarRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, ArrayVarRemoveItem avri) {
+	private void genArrayVarRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, ArrayVarRemoveItem avri) {
 		Variable target = avri.getTarget();
 
 		String indexStr = "null";
 		if(avri.getIndexExpr()!=null) {
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpression(sbtmp, avri.getIndexExpr(), state);
 			indexStr = sbtmp.toString();
 		}
@@ -3087,7 +3087,7 @@ public class ModifyGen extends CSharpBase {
 		assert avri.getNext()==null;
 	}
 
-	private void genArrayVarClear(StringBuffer sb, ModifyGenerationStateConst state, ArrayVarClear avc) {
+	private void genArrayVarClear(StringBuilder sb, ModifyGenerationStateConst state, ArrayVarClear avc) {
 		Variable target = avc.getTarget();
 
 		genVar(sb, target, state);
@@ -3096,14 +3096,14 @@ public class ModifyGen extends CSharpBase {
 		assert avc.getNext()==null;
 	}
 
-	private void genArrayVarAddItem(StringBuffer sb, ModifyGenerationStateConst state, ArrayVarAddItem avai) {
+	private void genArrayVarAddItem(StringBuilder sb, ModifyGenerationStateConst state, ArrayVarAddItem avai) {
 		Variable target = avai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, avai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 
-		sbtmp = new StringBuffer();
+		sbtmp = new StringBuilder();
 		String indexExprStr = "null";
 		if(avai.getIndexExpr()!=null) {
 			genExpression(sbtmp, avai.getIndexExpr(), state);
@@ -3127,12 +3127,12 @@ public class ModifyGen extends CSharpBase {
 		assert avai.getNext()==null;
 	}
 
-	private void genDequeVarRemoveItem(StringBuffer sb, ModifyGenerationStateConst state, DequeVarRemoveItem dvri) {
+	private void genDequeVarRemoveItem(StringBuilder sb, ModifyGenerationStateConst state, DequeVarRemoveItem dvri) {
 		Variable target = dvri.getTarget();
 
 		String indexStr = "null";
 		if(dvri.getIndexExpr()!=null) {
-			StringBuffer sbtmp = new StringBuffer();
+			StringBuilder sbtmp = new StringBuilder();
 			genExpression(sbtmp, dvri.getIndexExpr(), state);
 			indexStr = sbtmp.toString();
 		}
@@ -3147,7 +3147,7 @@ public class ModifyGen extends CSharpBase {
 		assert dvri.getNext()==null;
 	}
 
-	private void genDequeVarClear(StringBuffer sb, ModifyGenerationStateConst state, DequeVarClear dvc) {
+	private void genDequeVarClear(StringBuilder sb, ModifyGenerationStateConst state, DequeVarClear dvc) {
 		Variable target = dvc.getTarget();
 
 		genVar(sb, target, state);
@@ -3156,14 +3156,14 @@ public class ModifyGen extends CSharpBase {
 		assert dvc.getNext()==null;
 	}
 
-	private void genDequeVarAddItem(StringBuffer sb, ModifyGenerationStateConst state, DequeVarAddItem dvai) {
+	private void genDequeVarAddItem(StringBuilder sb, ModifyGenerationStateConst state, DequeVarAddItem dvai) {
 		Variable target = dvai.getTarget();
 
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, dvai.getValueExpr(), state);
 		String valueExprStr = sbtmp.toString();
 
-		sbtmp = new StringBuffer();
+		sbtmp = new StringBuilder();
 		String indexExprStr = "null";
 		if(dvai.getIndexExpr()!=null) {
 			genExpression(sbtmp, dvai.getIndexExpr(), state);
@@ -3187,7 +3187,7 @@ public class ModifyGen extends CSharpBase {
 		assert dvai.getNext()==null;
 	}
 
-	private void genVar(StringBuffer sb, Variable var, ModifyGenerationStateConst state) {
+	private void genVar(StringBuilder sb, Variable var, ModifyGenerationStateConst state) {
 		if(!Expression.isGlobalVariable(var)) {
 			sb.append("\t\t\t" + formatEntity(var));
 		} else {
@@ -3195,18 +3195,18 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genReturnStatementFilter(StringBuffer sb, ModifyGenerationStateConst state, ReturnStatementFilter rsf) {
+	private void genReturnStatementFilter(StringBuilder sb, ModifyGenerationStateConst state, ReturnStatementFilter rsf) {
 		sb.append("\t\t\tmatches.FromList();\n");
 		sb.append("\t\t\treturn;\n");
 	}
 
-	private void genReturnStatement(StringBuffer sb, ModifyGenerationStateConst state, ReturnStatement rs) {
+	private void genReturnStatement(StringBuilder sb, ModifyGenerationStateConst state, ReturnStatement rs) {
 		sb.append("\t\t\treturn ");
 		genExpression(sb, rs.getReturnValueExpr(), state);
 		sb.append(";\n");
 	}
 
-	private void genReturnStatementProcedure(StringBuffer sb, ModifyGenerationStateConst state, ReturnStatementProcedure rsp) {
+	private void genReturnStatementProcedure(StringBuilder sb, ModifyGenerationStateConst state, ReturnStatementProcedure rsp) {
 		int i = 0;
 		for(Expression returnValueExpr : rsp.getReturnValueExpr()) {
 			sb.append("\t\t\t_out_param_" + i + " = ");
@@ -3225,19 +3225,31 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t\treturn;\n");
 	}
 
-	private void genConditionStatement(StringBuffer sb, ModifyGenerationStateConst state, ConditionStatement cs) {
-		sb.append("\t\t\tif(");
-		genExpression(sb, cs.getConditionExpr(), state);
-		sb.append(") {\n");
-		genEvals(sb, state, cs.getTrueCaseStatements());
-		if(cs.getFalseCaseStatements()!=null) {
-			sb.append("\t\t\t} else {\n");			
-			genEvals(sb, state, cs.getFalseCaseStatements());
+	private void genConditionStatement(StringBuilder sb, ModifyGenerationStateConst state, ConditionStatement cs) {
+		// an else if chain is generated in a loop, not by recursion, so a long chain doesn't overflow the stack;
+		// the closing braces of the nested ifs are appended at its end
+		int nesting = 0;
+		while(true) {
+			sb.append("\t\t\tif(");
+			genExpression(sb, cs.getConditionExpr(), state);
+			sb.append(") {\n");
+			genEvals(sb, state, cs.getTrueCaseStatements());
+			++nesting;
+			if(cs.getFalseCaseStatements()==null)
+				break;
+			sb.append("\t\t\t} else {\n");
+			ConditionStatement elseIf = cs.getElseIf();
+			if(elseIf==null) {
+				genEvals(sb, state, cs.getFalseCaseStatements());
+				break;
+			}
+			cs = elseIf;
 		}
-		sb.append("\t\t\t}\n");
+		for(int i = 0; i < nesting; ++i)
+			sb.append("\t\t\t}\n");
 	}
 
-	private void genSwitchStatement(StringBuffer sb, ModifyGenerationStateConst state, SwitchStatement ss) {
+	private void genSwitchStatement(StringBuilder sb, ModifyGenerationStateConst state, SwitchStatement ss) {
 		sb.append("\t\t\tswitch(");
 		genExpression(sb, ss.getSwitchExpr(), state);
 		sb.append(") {\n");
@@ -3247,7 +3259,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t\t}\n");
 	}
 
-	private void genCaseStatement(StringBuffer sb, ModifyGenerationStateConst state, CaseStatement cs) {
+	private void genCaseStatement(StringBuilder sb, ModifyGenerationStateConst state, CaseStatement cs) {
 		if(cs.getCaseConstantExpr() != null) {
 			sb.append("\t\t\tcase ");
 			genExpression(sb, cs.getCaseConstantExpr(), state);
@@ -3261,7 +3273,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t\t}\n");
 	}
 
-	private void genWhileStatement(StringBuffer sb, ModifyGenerationStateConst state, WhileStatement ws) {
+	private void genWhileStatement(StringBuilder sb, ModifyGenerationStateConst state, WhileStatement ws) {
 		sb.append("\t\t\twhile(");
 		genExpression(sb, ws.getConditionExpr(), state);
 		sb.append(") {\n");
@@ -3269,7 +3281,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append("\t\t\t}\n");
 	}
 
-	private void genDoWhileStatement(StringBuffer sb, ModifyGenerationStateConst state, DoWhileStatement dws) {
+	private void genDoWhileStatement(StringBuilder sb, ModifyGenerationStateConst state, DoWhileStatement dws) {
 		sb.append("\t\t\tdo {\n");
 		genEvals(sb, state, dws.getLoopedStatements());
 		sb.append("\t\t\t} while(");
@@ -3277,11 +3289,11 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genMultiStatement(StringBuffer sb, ModifyGenerationStateConst state, MultiStatement ms) {
+	private void genMultiStatement(StringBuilder sb, ModifyGenerationStateConst state, MultiStatement ms) {
 		genEvals(sb, state, ms.getStatements());
 	}
 
-	private void genDefDeclVarStatement(StringBuffer sb, ModifyGenerationStateConst state, DefDeclVarStatement ddvs) {
+	private void genDefDeclVarStatement(StringBuilder sb, ModifyGenerationStateConst state, DefDeclVarStatement ddvs) {
 		Variable var = ddvs.getTarget();
 		if(var.getIdent().toString().equals("this") && var.getType() instanceof ArrayType) {
 			sb.append("\t\t\t" + formatType(var.getType()) + " this_matches = matches.ToList();\n");
@@ -3299,7 +3311,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(";\n");
 	}
 
-	private void genDefDeclGraphEntityStatement(StringBuffer sb, ModifyGenerationStateConst state, DefDeclGraphEntityStatement ddges) {
+	private void genDefDeclGraphEntityStatement(StringBuilder sb, ModifyGenerationStateConst state, DefDeclGraphEntityStatement ddges) {
 		GraphEntity graphEntity = ddges.getTarget();
 		if(graphEntity.getIdent().toString()=="this") {
 			return; // don't emit a declaration for the fake "this" entity of a method
@@ -3316,7 +3328,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(";\n");
 	}
 
-	private void genContainerAccumulationYield(StringBuffer sb, ModifyGenerationStateConst state, ContainerAccumulationYield cay) {
+	private void genContainerAccumulationYield(StringBuilder sb, ModifyGenerationStateConst state, ContainerAccumulationYield cay) {
         if(cay.getContainer().getType() instanceof ArrayType)
         {
         	Type arrayValueType = ((ArrayType)cay.getContainer().getType()).getValueType();
@@ -3450,7 +3462,7 @@ public class ModifyGen extends CSharpBase {
         }
 	}
 
-	private void genIntegerRangeIterationYield(StringBuffer sb, ModifyGenerationStateConst state, IntegerRangeIterationYield iriy) {
+	private void genIntegerRangeIterationYield(StringBuilder sb, ModifyGenerationStateConst state, IntegerRangeIterationYield iriy) {
     	String ascendingVar = "ascending_" + tmpVarID++;
     	String entryVar = "entry_" + tmpVarID++;
     	String limitVar = "limit_" + tmpVarID++;
@@ -3476,7 +3488,7 @@ public class ModifyGen extends CSharpBase {
         sb.append("\t\t\t}\n");
 	}
 
-	private void genMatchesAccumulationYield(StringBuffer sb, ModifyGenerationStateConst state, MatchesAccumulationYield may) {
+	private void genMatchesAccumulationYield(StringBuilder sb, ModifyGenerationStateConst state, MatchesAccumulationYield may) {
     	Type arrayValueType = may.getIterationVar().getType();
     	String arrayValueTypeStr = formatType(arrayValueType);
     	String indexVar = "index_" + tmpVarID++;
@@ -3496,7 +3508,7 @@ public class ModifyGen extends CSharpBase {
         sb.append("\t\t\t}\n");
 	}
 
-	private void genForFunction(StringBuffer sb, ModifyGenerationStateConst state, ForFunction ff) {
+	private void genForFunction(StringBuilder sb, ModifyGenerationStateConst state, ForFunction ff) {
     	String id = Integer.toString(tmpVarID++);
     	
 		if(ff.getFunction() instanceof AdjacentNodeExpr) {
@@ -3999,14 +4011,20 @@ public class ModifyGen extends CSharpBase {
         sb.append("\t\t\t}\n");
 	}
 
-	private void genForIndexAccessEquality(StringBuffer sb, ModifyGenerationStateConst state, ForIndexAccessEquality fiae) {
+	private void genForIndexAccessEquality(StringBuilder sb, ModifyGenerationStateConst state, ForIndexAccessEquality fiae) {
 		IndexAccessEquality iae = fiae.getIndexAcccessEquality();
 
         sb.append("\t\t\tforeach( " + formatElementInterfaceRef(fiae.getIterationVar().getType()) +
         		" " + formatEntity(fiae.getIterationVar()) + " in ((" +
         		"GRGEN_MODEL." + model.getIdent() + "IndexSet" + ")graph.indices)." + iae.index.getIdent() +
         		".Lookup(");
-		genExpression(sb, iae.expr, state);	        
+		boolean first = true;
+		for(Expression expr : iae.exprs) {
+			if(!first)
+				sb.append(", ");
+			genExpression(sb, expr, state);
+			first = false;
+		}
         sb.append(") )");
         sb.append("\t\t\t{\n");
 			
@@ -4022,7 +4040,7 @@ public class ModifyGen extends CSharpBase {
         sb.append("\t\t\t}\n");
 	}
 
-	private void genForIndexAccessOrdering(StringBuffer sb, ModifyGenerationStateConst state, ForIndexAccessOrdering fiao) {
+	private void genForIndexAccessOrdering(StringBuilder sb, ModifyGenerationStateConst state, ForIndexAccessOrdering fiao) {
 		IndexAccessOrdering iao = fiao.getIndexAccessOrdering();
 
         sb.append("\t\t\tforeach( " + formatElementInterfaceRef(fiao.getIterationVar().getType()) +
@@ -4084,15 +4102,15 @@ public class ModifyGen extends CSharpBase {
         sb.append("\t\t\t}\n");
 	}
 
-	private void genBreakStatement(StringBuffer sb, ModifyGenerationStateConst state, BreakStatement bs) {
+	private void genBreakStatement(StringBuilder sb, ModifyGenerationStateConst state, BreakStatement bs) {
 		sb.append("\t\t\tbreak;\n");
 	}
 
-	private void genContinueStatement(StringBuffer sb, ModifyGenerationStateConst state, ContinueStatement cs) {
+	private void genContinueStatement(StringBuilder sb, ModifyGenerationStateConst state, ContinueStatement cs) {
 		sb.append("\t\t\tcontinue;\n");
 	}
 
-	private void genExecStatement(StringBuffer sb, ModifyGenerationStateConst state, ExecStatement es) {
+	private void genExecStatement(StringBuilder sb, ModifyGenerationStateConst state, ExecStatement es) {
 		Exec exec = es.getExec();
 		for(Entity neededEntity : exec.getNeededEntities(true)) {
 			if(neededEntity.isDefToBeYieldedTo()) {
@@ -4144,7 +4162,7 @@ public class ModifyGen extends CSharpBase {
 		++xgrsID;
 	}
 
-	private void genReturnAssignment(StringBuffer sb, ModifyGenerationStateConst state, ReturnAssignment ra) {
+	private void genReturnAssignment(StringBuilder sb, ModifyGenerationStateConst state, ReturnAssignment ra) {
 		// declare temporary out variables
 		ProcedureInvocationBase procedure = ra.getProcedureInvocation();
 		Collection<AssignmentBase> targets = ra.getTargets();
@@ -4185,7 +4203,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genReturnAssignmentProcedureOrExternalProcedureInvocation(StringBuffer sb, ModifyGenerationStateConst state, ProcedureInvocationBase procedure, Vector<String> outParams) {
+	private void genReturnAssignmentProcedureOrExternalProcedureInvocation(StringBuilder sb, ModifyGenerationStateConst state, ProcedureInvocationBase procedure, Vector<String> outParams) {
 		// call the procedure with out variables  
 		if(procedure instanceof ProcedureInvocation) {
 			ProcedureInvocation call = (ProcedureInvocation)procedure;
@@ -4208,7 +4226,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genReturnAssignmentProcedureMethodOrExternalProcedureMethodInvocation(StringBuffer sb, ModifyGenerationStateConst state, ProcedureInvocationBase procedure, Vector<String> outParams) {
+	private void genReturnAssignmentProcedureMethodOrExternalProcedureMethodInvocation(StringBuilder sb, ModifyGenerationStateConst state, ProcedureInvocationBase procedure, Vector<String> outParams) {
 		// call the procedure method with out variables  
 		if(procedure instanceof ProcedureMethodInvocation) {
 			ProcedureMethodInvocation call = (ProcedureMethodInvocation)procedure;
@@ -4246,7 +4264,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genReturnAssignmentBuiltinProcedureOrMethodInvocation(StringBuffer sb, ModifyGenerationStateConst state, ProcedureInvocationBase procedure, Vector<String> outParams) {
+	private void genReturnAssignmentBuiltinProcedureOrMethodInvocation(StringBuilder sb, ModifyGenerationStateConst state, ProcedureInvocationBase procedure, Vector<String> outParams) {
 		// call the procedure or procedure method, either without return value, or with one return value, more not supported as of now
 		if(outParams.size()==0) {
 			genEvalComp(sb, state, procedure);
@@ -4262,7 +4280,7 @@ public class ModifyGen extends CSharpBase {
 	// Procedure call generation //
 	///////////////////////////////
 
-	public void genEvalComp(StringBuffer sb, ModifyGenerationStateConst state, ProcedureInvocationBase evalProc) {
+	public void genEvalComp(StringBuilder sb, ModifyGenerationStateConst state, ProcedureInvocationBase evalProc) {
 		if(evalProc instanceof EmitProc) {
 			genEmitProc(sb, state, (EmitProc) evalProc);
 		}
@@ -4442,7 +4460,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genEmitProc(StringBuffer sb, ModifyGenerationStateConst state, EmitProc ep) {
+	private void genEmitProc(StringBuilder sb, ModifyGenerationStateConst state, EmitProc ep) {
     	String emitVar = "emit_value_" + tmpVarID++;
 		sb.append("\t\t\tobject " + emitVar + " = ");
 		genExpression(sb, ep.getToEmitExpr(), state);
@@ -4452,7 +4470,7 @@ public class ModifyGen extends CSharpBase {
 				+ "GRGEN_LIBGR.EmitHelper.ToStringNonNull(" + emitVar + ", graph));\n");
 	}
 
-	private void genDebugAddProc(StringBuffer sb, ModifyGenerationStateConst state, DebugAddProc dap) {
+	private void genDebugAddProc(StringBuilder sb, ModifyGenerationStateConst state, DebugAddProc dap) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPSubactionAndOutputAdditionEnvironment)actionEnv).DebugEntering((string)");
 		genExpression(sb, dap.getFirstExpression(), state);
 		boolean first = true;
@@ -4466,7 +4484,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genDebugRemProc(StringBuffer sb, ModifyGenerationStateConst state, DebugRemProc drp) {
+	private void genDebugRemProc(StringBuilder sb, ModifyGenerationStateConst state, DebugRemProc drp) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPSubactionAndOutputAdditionEnvironment)actionEnv).DebugExiting((string)");
 		genExpression(sb, drp.getFirstExpression(), state);
 		boolean first = true;
@@ -4480,7 +4498,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genDebugEmitProc(StringBuffer sb, ModifyGenerationStateConst state, DebugEmitProc dep) {
+	private void genDebugEmitProc(StringBuilder sb, ModifyGenerationStateConst state, DebugEmitProc dep) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPSubactionAndOutputAdditionEnvironment)actionEnv).DebugEmitting((string)");
 		genExpression(sb, dep.getFirstExpression(), state);
 		boolean first = true;
@@ -4494,7 +4512,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genDebugHaltProc(StringBuffer sb, ModifyGenerationStateConst state, DebugHaltProc dhp) {
+	private void genDebugHaltProc(StringBuilder sb, ModifyGenerationStateConst state, DebugHaltProc dhp) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPSubactionAndOutputAdditionEnvironment)actionEnv).DebugHalting((string)");
 		genExpression(sb, dhp.getFirstExpression(), state);
 		boolean first = true;
@@ -4508,7 +4526,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(");\n");
 	}
 
-	private void genDebugHighlightProc(StringBuffer sb, ModifyGenerationStateConst state, DebugHighlightProc dhp) {
+	private void genDebugHighlightProc(StringBuilder sb, ModifyGenerationStateConst state, DebugHighlightProc dhp) {
     	String highlightValuesArray = "highlight_values_" + tmpVarID++;
 		sb.append("\t\t\tList<object> " + highlightValuesArray + " = new List<object>();\n");
     	String highlightSourceNamesArray = "highlight_source_names_" + tmpVarID++;
@@ -4535,7 +4553,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append("," + highlightValuesArray + ", " + highlightSourceNamesArray + ");\n");
 	}
 
-	private void genRecordProc(StringBuffer sb, ModifyGenerationStateConst state, RecordProc rp) {
+	private void genRecordProc(StringBuilder sb, ModifyGenerationStateConst state, RecordProc rp) {
     	String recordVar = "record_value_" + tmpVarID++;
 		sb.append("\t\t\tobject " + recordVar + " = ");
 		genExpression(sb, rp.getToRecordExpr(), state);
@@ -4545,7 +4563,7 @@ public class ModifyGen extends CSharpBase {
 				+ "GRGEN_LIBGR.EmitHelper.ToStringNonNull(" + recordVar + ", graph));\n");
 	}
 
-	private void genExportProc(StringBuffer sb, ModifyGenerationStateConst state, ExportProc ep) {
+	private void genExportProc(StringBuilder sb, ModifyGenerationStateConst state, ExportProc ep) {
 		if(ep.getGraphExpr()!=null) {
 			sb.append("\t\t\tGRGEN_LIBGR.GraphHelper.Export(");
 			genExpression(sb, ep.getPathExpr(), state);
@@ -4559,13 +4577,13 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genDeleteFileProc(StringBuffer sb, ModifyGenerationStateConst state, DeleteFileProc dfp) {
+	private void genDeleteFileProc(StringBuilder sb, ModifyGenerationStateConst state, DeleteFileProc dfp) {
 		sb.append("\t\t\tSystem.IO.File.Delete(");
 		genExpression(sb, dfp.getPathExpr(), state);
 		sb.append(");\n");
 	}
 
-	private void genGraphAddNodeProc(StringBuffer sb, ModifyGenerationStateConst state, GraphAddNodeProc ganp) {
+	private void genGraphAddNodeProc(StringBuilder sb, ModifyGenerationStateConst state, GraphAddNodeProc ganp) {
 		Constant constant = (Constant)ganp.getNodeTypeExpr();
 		sb.append("(" + formatType((Type)constant.getValue()) + ")"
 				+ "GRGEN_LIBGR.GraphHelper.AddNodeOfType(");
@@ -4573,7 +4591,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(", graph)");
 	}
 
-	private void genGraphAddEdgeProc(StringBuffer sb, ModifyGenerationStateConst state, GraphAddEdgeProc gaep) {
+	private void genGraphAddEdgeProc(StringBuilder sb, ModifyGenerationStateConst state, GraphAddEdgeProc gaep) {
 		Constant constant = (Constant)gaep.getEdgeTypeExpr();
 		sb.append("(" + formatType((Type)constant.getValue()) + ")" 
 				+ "GRGEN_LIBGR.GraphHelper.AddEdgeOfType(");
@@ -4585,7 +4603,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(", graph)");
 	}
 
-	private void genGraphRetypeNodeProc(StringBuffer sb, ModifyGenerationStateConst state, GraphRetypeNodeProc grnp) {
+	private void genGraphRetypeNodeProc(StringBuilder sb, ModifyGenerationStateConst state, GraphRetypeNodeProc grnp) {
 		Constant constant = (Constant)grnp.getNewNodeTypeExpr();
 		sb.append("(" + formatType((Type)constant.getValue()) + ")"
 				+ "graph.Retype(");
@@ -4595,7 +4613,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genGraphRetypeEdgeProc(StringBuffer sb, ModifyGenerationStateConst state, GraphRetypeEdgeProc grep) {
+	private void genGraphRetypeEdgeProc(StringBuilder sb, ModifyGenerationStateConst state, GraphRetypeEdgeProc grep) {
 		Constant constant = (Constant)grep.getNewEdgeTypeExpr();
 		sb.append("(" + formatType((Type)constant.getValue()) + ")"
 				+ "graph.Retype(");
@@ -4605,11 +4623,11 @@ public class ModifyGen extends CSharpBase {
 		sb.append(")");
 	}
 
-	private void genGraphClearProc(StringBuffer sb, ModifyGenerationStateConst state, GraphClearProc gcp) {
+	private void genGraphClearProc(StringBuilder sb, ModifyGenerationStateConst state, GraphClearProc gcp) {
 		sb.append("\t\t\tgraph.Clear();\n");
 	}
 
-	private void genGraphRemoveProc(StringBuffer sb, ModifyGenerationStateConst state, GraphRemoveProc grp) {
+	private void genGraphRemoveProc(StringBuilder sb, ModifyGenerationStateConst state, GraphRemoveProc grp) {
         if(grp.getEntity().getType() instanceof NodeType) {
 			sb.append("\t\t\tgraph.RemoveEdges((GRGEN_LIBGR.INode)");
 			genExpression(sb, grp.getEntity(), state);
@@ -4625,14 +4643,14 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genGraphAddCopyNodeProc(StringBuffer sb, ModifyGenerationStateConst state, GraphAddCopyNodeProc gacnp) {
+	private void genGraphAddCopyNodeProc(StringBuilder sb, ModifyGenerationStateConst state, GraphAddCopyNodeProc gacnp) {
 		sb.append("(" + formatType(gacnp.getOldNodeExpr().getType()) + ")");
 		sb.append("GRGEN_LIBGR.GraphHelper.AddCopyOfNode(");
 		genExpression(sb, gacnp.getOldNodeExpr(), state);
 		sb.append(", graph)");
 	}
 
-	private void genGraphAddCopyEdgeProc(StringBuffer sb, ModifyGenerationStateConst state, GraphAddCopyEdgeProc gacep) {
+	private void genGraphAddCopyEdgeProc(StringBuilder sb, ModifyGenerationStateConst state, GraphAddCopyEdgeProc gacep) {
 		sb.append("(" + formatType(gacep.getOldEdgeExpr().getType()) + ")");
 		sb.append("GRGEN_LIBGR.GraphHelper.AddCopyOfEdge(");
 		genExpression(sb, gacep.getOldEdgeExpr(), state);
@@ -4643,7 +4661,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(", graph)");
 	}
 
-	private void genGraphMergeProc(StringBuffer sb, ModifyGenerationStateConst state, GraphMergeProc gmp) {
+	private void genGraphMergeProc(StringBuilder sb, ModifyGenerationStateConst state, GraphMergeProc gmp) {
         if(gmp.getSourceName() != null) {
 			sb.append("\t\t\tgraph.Merge((GRGEN_LIBGR.INode)");
 			genExpression(sb, gmp.getTarget(), state);
@@ -4661,7 +4679,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genGraphRedirectSourceProc(StringBuffer sb, ModifyGenerationStateConst state, GraphRedirectSourceProc grsp) {
+	private void genGraphRedirectSourceProc(StringBuilder sb, ModifyGenerationStateConst state, GraphRedirectSourceProc grsp) {
         if(grsp.getOldSourceName() != null) {
 			sb.append("\t\t\tgraph.RedirectSource((GRGEN_LIBGR.IEdge)");
 			genExpression(sb, grsp.getEdge(), state);
@@ -4679,7 +4697,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genGraphRedirectTargetProc(StringBuffer sb, ModifyGenerationStateConst state, GraphRedirectTargetProc grtp) {
+	private void genGraphRedirectTargetProc(StringBuilder sb, ModifyGenerationStateConst state, GraphRedirectTargetProc grtp) {
         if(grtp.getOldTargetName() != null) {
 			sb.append("\t\t\tgraph.RedirectTarget((GRGEN_LIBGR.IEdge)");
 			genExpression(sb, grtp.getEdge(), state);
@@ -4697,7 +4715,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genGraphRedirectSourceAndTargetProc(StringBuffer sb, ModifyGenerationStateConst state, GraphRedirectSourceAndTargetProc grsatp) {
+	private void genGraphRedirectSourceAndTargetProc(StringBuilder sb, ModifyGenerationStateConst state, GraphRedirectSourceAndTargetProc grsatp) {
         if(grsatp.getOldSourceName() != null) {
 			sb.append("\t\t\tgraph.RedirectSourceAndTarget((GRGEN_LIBGR.IEdge)");
 			genExpression(sb, grsatp.getEdge(), state);
@@ -4721,13 +4739,13 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	private void genInsertProc(StringBuffer sb, ModifyGenerationStateConst state, InsertProc ip) {
+	private void genInsertProc(StringBuilder sb, ModifyGenerationStateConst state, InsertProc ip) {
 		sb.append("\t\t\tGRGEN_LIBGR.GraphHelper.Insert((GRGEN_LIBGR.IGraph)");
 		genExpression(sb, ip.getGraphExpr(), state);
 		sb.append(", graph);\n");
 	}
 
-	private void genInsertCopyProc(StringBuffer sb, ModifyGenerationStateConst state, InsertCopyProc icp) {
+	private void genInsertCopyProc(StringBuilder sb, ModifyGenerationStateConst state, InsertCopyProc icp) {
 		sb.append("GRGEN_LIBGR.GraphHelper.InsertCopy((GRGEN_LIBGR.IGraph)");
 		genExpression(sb, icp.getGraphExpr(), state);
 		sb.append(", (GRGEN_LIBGR.INode)");
@@ -4735,7 +4753,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(", graph)");
 	}
 
-	private void genInsertInducedSubgraphProc(StringBuffer sb, ModifyGenerationStateConst state, InsertInducedSubgraphProc iisp) {
+	private void genInsertInducedSubgraphProc(StringBuilder sb, ModifyGenerationStateConst state, InsertInducedSubgraphProc iisp) {
 		sb.append("((");
 		sb.append(formatType(iisp.getNodeExpr().getType()));
 		sb.append(")GRGEN_LIBGR.GraphHelper.InsertInduced((IDictionary<GRGEN_LIBGR.INode, GRGEN_LIBGR.SetValueType>)");
@@ -4745,7 +4763,7 @@ public class ModifyGen extends CSharpBase {
 		sb.append(", graph))");
 	}
 
-	private void genInsertDefinedSubgraphProc(StringBuffer sb, ModifyGenerationStateConst state, InsertDefinedSubgraphProc idsp) {
+	private void genInsertDefinedSubgraphProc(StringBuilder sb, ModifyGenerationStateConst state, InsertDefinedSubgraphProc idsp) {
 		sb.append("((");
 		sb.append(formatType(idsp.getEdgeExpr().getType()));
 		sb.append(")GRGEN_LIBGR.GraphHelper.InsertDefined((IDictionary<GRGEN_LIBGR.IEdge, GRGEN_LIBGR.SetValueType>)");
@@ -4755,47 +4773,47 @@ public class ModifyGen extends CSharpBase {
 		sb.append(", graph))");
 	}
 
-	private void genVAllocProc(StringBuffer sb, ModifyGenerationStateConst state, VAllocProc vap) {
+	private void genVAllocProc(StringBuilder sb, ModifyGenerationStateConst state, VAllocProc vap) {
 		sb.append("graph.AllocateVisitedFlag()");
 	}
 	
-	private void genVFreeProc(StringBuffer sb, ModifyGenerationStateConst state, VFreeProc vfp) {
+	private void genVFreeProc(StringBuilder sb, ModifyGenerationStateConst state, VFreeProc vfp) {
 		sb.append("\t\t\tgraph.FreeVisitedFlag((int)");
 		genExpression(sb, vfp.getVisitedFlagExpr(), state);
 		sb.append(");\n");
 	}
 	
-	private void genVFreeNonResetProc(StringBuffer sb, ModifyGenerationStateConst state, VFreeNonResetProc vfnrp) {
+	private void genVFreeNonResetProc(StringBuilder sb, ModifyGenerationStateConst state, VFreeNonResetProc vfnrp) {
 		sb.append("\t\t\tgraph.FreeVisitedFlagNonReset((int)");
 		genExpression(sb, vfnrp.getVisitedFlagExpr(), state);
 		sb.append(");\n");
 	}
 	
-	private void genVResetProc(StringBuffer sb, ModifyGenerationStateConst state, VResetProc vrp) {
+	private void genVResetProc(StringBuilder sb, ModifyGenerationStateConst state, VResetProc vrp) {
 		sb.append("\t\t\tgraph.ResetVisitedFlag((int)");
 		genExpression(sb, vrp.getVisitedFlagExpr(), state);
 		sb.append(");\n");
 	}
 
-	private void genStartTransactionProc(StringBuffer sb, ModifyGenerationStateConst state, StartTransactionProc stp) {
+	private void genStartTransactionProc(StringBuilder sb, ModifyGenerationStateConst state, StartTransactionProc stp) {
 		sb.append("((GRGEN_LGSP.LGSPGraphProcessingEnvironment)actionEnv).TransactionManager.Start()");
 	}
 
-	private void genPauseTransactionProc(StringBuffer sb, ModifyGenerationStateConst state, PauseTransactionProc ptp) {
+	private void genPauseTransactionProc(StringBuilder sb, ModifyGenerationStateConst state, PauseTransactionProc ptp) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPGraphProcessingEnvironment)actionEnv).TransactionManager.Pause();\n");
 	}
 
-	private void genResumeTransactionProc(StringBuffer sb, ModifyGenerationStateConst state, ResumeTransactionProc rtp) {
+	private void genResumeTransactionProc(StringBuilder sb, ModifyGenerationStateConst state, ResumeTransactionProc rtp) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPGraphProcessingEnvironment)actionEnv).TransactionManager.Resume();\n");
 	}
 
-	private void genCommitTransactionProc(StringBuffer sb, ModifyGenerationStateConst state, CommitTransactionProc ctp) {
+	private void genCommitTransactionProc(StringBuilder sb, ModifyGenerationStateConst state, CommitTransactionProc ctp) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPGraphProcessingEnvironment)actionEnv).TransactionManager.Commit((int)");
 		genExpression(sb, ctp.getTransactionId(), state);
 		sb.append(");\n");
 	}
 
-	private void genRollbackTransactionProc(StringBuffer sb, ModifyGenerationStateConst state, RollbackTransactionProc rtp) {
+	private void genRollbackTransactionProc(StringBuilder sb, ModifyGenerationStateConst state, RollbackTransactionProc rtp) {
 		sb.append("\t\t\t((GRGEN_LGSP.LGSPGraphProcessingEnvironment)actionEnv).TransactionManager.Rollback((int)");
 		genExpression(sb, rtp.getTransactionId(), state);
 		sb.append(");\n");
@@ -4803,7 +4821,7 @@ public class ModifyGen extends CSharpBase {
 	
 	//////////////////////
 	
-	protected void genChangingAttribute(StringBuffer sb, ModifyGenerationStateConst state,
+	protected void genChangingAttribute(StringBuilder sb, ModifyGenerationStateConst state,
 			Qualification target, String attributeChangeType, String newValue, String keyValue)
 	{
 		Entity element = target.getOwner();
@@ -4849,7 +4867,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	protected void genChangedAttribute(StringBuffer sb, ModifyGenerationStateConst state,
+	protected void genChangedAttribute(StringBuilder sb, ModifyGenerationStateConst state,
 			Qualification target)
 	{
 		Entity element = target.getOwner();
@@ -4891,9 +4909,9 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	protected void genClearAttribute(StringBuffer sb, ModifyGenerationStateConst state, Qualification target)
+	protected void genClearAttribute(StringBuilder sb, ModifyGenerationStateConst state, Qualification target)
 	{
-		StringBuffer sbtmp = new StringBuffer();
+		StringBuilder sbtmp = new StringBuilder();
 		genExpression(sbtmp, target, state);
 		String targetStr = sbtmp.toString();
 
@@ -4956,7 +4974,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	protected void genClearedAttribute(StringBuffer sb, ModifyGenerationStateConst state, Qualification target)
+	protected void genClearedAttribute(StringBuilder sb, ModifyGenerationStateConst state, Qualification target)
 	{
 		Entity element = target.getOwner();
 		Entity attribute = target.getMember();
@@ -4986,11 +5004,11 @@ public class ModifyGen extends CSharpBase {
 	// Expression stuff //
 	//////////////////////
 
-	protected void genQualAccess(StringBuffer sb, Qualification qual, Object modifyGenerationState) {
+	protected void genQualAccess(StringBuilder sb, Qualification qual, Object modifyGenerationState) {
 		genQualAccess(sb, qual, (ModifyGenerationState)modifyGenerationState);
 	}
 
-	protected void genQualAccess(StringBuffer sb, Qualification qual, ModifyGenerationStateConst state) {
+	protected void genQualAccess(StringBuilder sb, Qualification qual, ModifyGenerationStateConst state) {
 		Entity owner = qual.getOwner();
 		Entity member = qual.getMember();
 		if(owner.getType() instanceof MatchType) {
@@ -5000,7 +5018,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	protected void genQualAccess(StringBuffer sb, ModifyGenerationStateConst state, Entity owner, Entity member) {
+	protected void genQualAccess(StringBuilder sb, ModifyGenerationStateConst state, Entity owner, Entity member) {
 		if(!Expression.isGlobalVariable(owner)) {
 			if(state==null) {
 				assert false;
@@ -5022,7 +5040,7 @@ public class ModifyGen extends CSharpBase {
 		}
 	}
 
-	protected void genMemberAccess(StringBuffer sb, Entity member) {
+	protected void genMemberAccess(StringBuilder sb, Entity member) {
 		// needed in implementing methods
 		sb.append("@" + formatIdentifiable(member));
 	}
@@ -5032,7 +5050,7 @@ public class ModifyGen extends CSharpBase {
 		return forcedAttrs != null && forcedAttrs.contains(attr);
 	}
 
-	private void genVariable(StringBuffer sb, String ownerName, Entity entity) {
+	private void genVariable(StringBuilder sb, String ownerName, Entity entity) {
 		String varTypeName;
 		String attrName = formatIdentifiable(entity);
 		Type type = entity.getType();
@@ -13,6 +13,8 @@
 package de.unika.ipd.grgen.be.Csharp;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Date;
 import java.util.HashSet;
 
 import de.unika.ipd.grgen.Sys;
@@ -20,6 +22,7 @@ import de.unika.ipd.grgen.ast.BaseNode;
 import de.unika.ipd.grgen.be.Backend;
 import de.unika.ipd.grgen.be.BackendFactory;
 import de.unika.ipd.grgen.ir.ActionsBearer;
+import de.unika.ipd.grgen.ir.AttributeIndex;
 import de.unika.ipd.grgen.ir.ComposedActionsBearer;
 import de.unika.ipd.grgen.ir.Index;
 import de.unika.ipd.grgen.ir.InheritanceType;
@@ -27,6 +30,7 @@ import de.unika.ipd.grgen.ir.Model;
 import de.unika.ipd.grgen.ir.Rule;
 import de.unika.ipd.grgen.ir.Type;
 import de.unika.ipd.grgen.ir.Unit;
+import de.unika.ipd.grgen.util.Util;
 
 public class SearchPlanBackend2 implements Backend, BackendFactory {
 	/** The unit to generate code for. */
@@ -39,6 +43,11 @@ public class SearchPlanBackend2 implements Backend, BackendFactory {
 
 	private HashSet<String> reservedWords;
 
+	/** The number of generated files written, and of those left untouched because they were unchanged. */
+	private int filesWritten;
+	private int filesUnchanged;
+	private int filesFailed;
+
 	/**
 	 * Returns this backend.
 	 * @return This backend.
@@ -105,8 +114,10 @@ modloop:for(Model model : unit.getModels()) {
 				forceUnique = true;
 			if(model.isoParallel() > 0)
 				forceUnique = true;
-			for(@SuppressWarnings("unused") Index index : model.getIndices())
-				forceUnique = true;
+			for(Index index : model.getIndices()) {
+				if(!(index instanceof AttributeIndex) || !((AttributeIndex)index).isHash)
+					forceUnique = true; // the ordered indices order the elements of equal value by their unique id
+			}
 		}
 		ActionsBearer bearer = new ComposedActionsBearer(unit);
 		for(Rule actionRule : bearer.getActionRules()) {
@@ -136,8 +147,93 @@ modloop:for(Model model : unit.getModels()) {
 		//if(unit.getActionRules().size() != 0 || unit.getSubpatternRules().size() != 0)
 			new ActionsGen(this, nodeTypePrefix, edgeTypePrefix).genActionlike();
 
+		System.out.println("  " + filesWritten + " files written, " + filesUnchanged + " unchanged files skipped"
+				+ (filesFailed > 0 ? ", " + filesFailed + " files failed" : ""));
 		System.out.println("done!");
 	}
 
 	public void done() {}
+
+	/**
+	 * Returns the header comment line telling what the generated files were generated from,
+	 * including the generation date unless deterministic output was requested.
+	 */
+	public String getGeneratedFromComment() {
+		if(system.emitDeterministicOutput())
+			return "// Generated from \"" + unit.getFilename() + "\"\n";
+		else
+			return "// Generated from \"" + unit.getFilename() + "\" on " + new Date() + "\n";
+	}
+
+	/**
+	 * Writes a generated file to the output path, unless it exists there already with the same content,
+	 * so that an unchanged file keeps its modification time and does not trigger a rebuild of the C# code.
+	 * @param filename The filename.
+	 * @param cs The content of the file.
+	 */
+	public void writeFile(String filename, CharSequence cs) {
+		countFile(filename, Util.writeFileIfChanged(new File(path, filename), cs, BaseNode.error));
+	}
+
+	/**
+	 * Opens a generated file in the output path for writing it part by part.
+	 * @param filename The filename.
+	 * @return The writer, to be closed with {@link #closeFile(SourceFileWriter)}.
+	 */
+	public SourceFileWriter openFile(String filename) {
+		return new SourceFileWriter(new File(path, filename));
+	}
+
+	/**
+	 * Finishes a file opened with {@link #openFile(String)}; like with {@link #writeFile(String, CharSequence)},
+	 * an existing file with the same content is left untouched.
+	 */
+	public void closeFile(SourceFileWriter out) {
+		countFile(out.getFile().getName(), out.close(BaseNode.error));
+	}
+
+	private void countFile(String filename, Util.WriteResult result) {
+		switch(result) {
+		case WRITTEN:
+			System.out.println("    writing to " + path + " / " + filename);
+			++filesWritten;
+			break;
+		case UNCHANGED:
+			System.out.println("    unchanged " + path + " / " + filename);
+			++filesUnchanged;
+			break;
+		case FAILED:
+			System.out.println("    failed writing " + path + " / " + filename);
+			++filesFailed;
+			break;
+		}
+	}
+
+	/**
+	 * Copies a file, unless the target exists already with the same content.
+	 * @param sourceFile The file to copy.
+	 * @param targetFile The file to create or overwrite.
+	 */
+	public void copyFile(File sourceFile, File targetFile) {
+		try {
+			switch(Util.writeFileIfChanged(targetFile, Util.readFile(sourceFile), BaseNode.error)) {
+			case WRITTEN:
+				System.out.println("    copying " + sourceFile.getParent() + " / " + sourceFile.getName()
+						+ " to " + targetFile.getParent() + " / " + targetFile.getName());
+				++filesWritten;
+				break;
+			case UNCHANGED:
+				System.out.println("    unchanged " + targetFile.getParent() + " / " + targetFile.getName());
+				++filesUnchanged;
+				break;
+			case FAILED:
+				System.out.println("    failed copying " + sourceFile.getParent() + " / " + sourceFile.getName()
+						+ " to " + targetFile.getParent() + " / " + targetFile.getName());
+				++filesFailed;
+				break;
+			}
+		} catch(IOException ex) {
+			System.out.println(ex.getMessage());
+		}
+	}
 }
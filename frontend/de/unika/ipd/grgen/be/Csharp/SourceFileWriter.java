@@ -0,0 +1,116 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.be.Csharp;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+import de.unika.ipd.grgen.util.Util;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+
+/**
+ * Writes a generated file part by part while it is generated, so only the part
+ * currently generated is held in memory, not the whole file.
+ * The parts are written to a temporary file next to the target file, which replaces the target file
+ * when closed, unless the target file exists already with the same content
+ * (so an unchanged file keeps its modification time, as with {@link Util#writeFileIfChanged}).
+ */
+public class SourceFileWriter {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final File file;
+	private File tempFile;
+	private Writer writer;
+
+	/** The first error that occurred, reported on {@link #close(ErrorReporter)}. */
+	private IOException failure;
+
+	public SourceFileWriter(File file) {
+		this.file = file;
+		try {
+			tempFile = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+			FileChannel channel = new FileOutputStream(tempFile).getChannel();
+			// replace unmappable characters like the PrintStream used for writing whole files
+			CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			writer = new BufferedWriter(Channels.newWriter(channel, encoder, BUFFER_SIZE), BUFFER_SIZE);
+		} catch(IOException e) {
+			failure = e;
+		}
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/** Append the next part of the file. */
+	public void append(CharSequence part) {
+		if(failure != null)
+			return;
+
+		try {
+			writer.append(part);
+		} catch(IOException e) {
+			failure = e;
+		}
+	}
+
+	/**
+	 * Append the next part of the file and empty the buffer it was generated in,
+	 * so the buffer can be used for generating the part after it.
+	 */
+	public void appendAndClear(StringBuilder part) {
+		append(part);
+		part.setLength(0);
+	}
+
+	/**
+	 * Finish the file, replacing the target file if its content changed.
+	 * @return Whether the target file was written, left untouched, or writing it failed.
+	 */
+	public Util.WriteResult close(ErrorReporter reporter) {
+		try {
+			if(failure != null)
+				throw failure;
+			writer.close();
+
+			if(Util.hasSameContent(tempFile, file)) {
+				tempFile.delete();
+				return Util.WriteResult.UNCHANGED;
+			}
+			if(!tempFile.renameTo(file)) {
+				file.delete(); // renaming does not replace an existing file on all platforms
+				if(!tempFile.renameTo(file))
+					throw new IOException("cannot rename " + tempFile + " to " + file);
+			}
+		} catch(IOException e) {
+			reporter.error(e.toString());
+			if(writer != null) {
+				try {
+					writer.close();
+				} catch(IOException ex) {
+					// already reported the first error
+				}
+			}
+			if(tempFile != null)
+				tempFile.delete();
+			return Util.WriteResult.FAILED;
+		}
+		return Util.WriteResult.WRITTEN;
+	}
+}
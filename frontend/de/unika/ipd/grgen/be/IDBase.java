@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.be;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -106,6 +107,13 @@ public abstract class IDBase extends Base implements IDTypeModel {
 		}
 	}
 
+	/**
+	 * Computes the is-a matrix of the types: the entry [t][s] is the length of the shortest
+	 * inheritance path from t to its super type s, and 0 if s is t or not a super type of t.
+	 * (The Floyd-Warshall computation used before returned the matrix of its second to last round,
+	 * missing the paths through the type with the highest id, so some of its distances were too long;
+	 * test/checkisa.sh checks the entries against the inheritance paths.)
+	 */
 	public static final short[][] computeIsA(Map<? extends InheritanceType, Integer> typeMap) {
 		int maxId = 0;
 
@@ -116,52 +124,36 @@ public abstract class IDBase extends Base implements IDTypeModel {
 
 		short[][] res = new short[maxId + 1][maxId + 1];
 
+		// the entry of a super type is the length of the shortest inheritance path to it,
+		// found by a breadth first search along the direct super types
+		List<InheritanceType> level = new ArrayList<InheritanceType>();
+		List<InheritanceType> nextLevel = new ArrayList<InheritanceType>();
 		for(InheritanceType ty : typeMap.keySet()) {
 			int typeId = typeMap.get(ty).intValue();
-			res[typeId][typeId] = 1;
-
-			for(InheritanceType st : ty.getDirectSuperTypes()) {
-				int inhId = typeMap.get(st).intValue();
-				res[typeId][inhId] = 1;
+			short[] row = res[typeId];
+
+			level.clear();
+			level.add(ty);
+			for(short dist = 1; !level.isEmpty(); ++dist) {
+				nextLevel.clear();
+				for(InheritanceType t : level) {
+					for(InheritanceType st : t.getDirectSuperTypes()) {
+						int inhId = typeMap.get(st).intValue();
+						if(inhId == typeId || row[inhId] != 0)
+							continue;
+						row[inhId] = dist;
+						nextLevel.add(st);
+					}
+				}
+				List<InheritanceType> tmp = level;
+				level = nextLevel;
+				nextLevel = tmp;
 			}
 		}
 
-		res = floydWarshall(res);
-		for(int i = 0; i < res.length; i++)
-			res[i][i] = 0;
-
 		return res;
 	}
 
-	private static short[][] floydWarshall(short[][] matrix) {
-		int n = matrix.length;
-		short[][] curr = matrix;
-		short[][] next = new short[n][n];
-
-		for(int k = 0; k < n; k++) {
-			short[][] tmp;
-
-			for(int i = 0; i < n; i++)
-				for(int j = 0; j < n; j++) {
-					int v1 = curr[i][k];
-					int v2 = curr[k][j];
-					int res = v1 == 0 || v2 == 0 ? Short.MAX_VALUE : v1 + v2;
-					int v = curr[i][j];
-
-					v = v == 0 ? Short.MAX_VALUE : v;
-					v = v < res ? v : res;
-
-					next[i][j] = (short) (v == Short.MAX_VALUE ? 0 : v);
-				}
-
-			tmp = curr;
-			curr = next;
-			next = tmp;
-		}
-
-		return next;
-	}
-
 	private static int[][] computeSuperTypes(Map<? extends InheritanceType, Integer> typeMap) {
 		int[][] res = new int[typeMap.size()][];
 		List<Integer> aux = new LinkedList<Integer>();
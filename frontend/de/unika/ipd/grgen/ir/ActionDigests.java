@@ -0,0 +1,173 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ir;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.unika.ipd.grgen.ir.exprevals.Function;
+import de.unika.ipd.grgen.ir.exprevals.Procedure;
+import de.unika.ipd.grgen.util.Util;
+
+/**
+ * The digests of the actions of a unit: of the rules, subpatterns, sequences, functions,
+ * procedures and filter functions (the actionlikes).
+ * The digest of an actionlike covers its complete IR, the IR of the models, a context given by the user
+ * (e.g. the options influencing the code generation), and the digests of all actionlikes it uses, transitively.
+ * So a digest only changes if something changes the code generated for the actionlike.
+ *
+ * The IR objects reachable from the actionlike add their contents with {@link IR#addToDigest(DigestBuilder)};
+ * other actionlikes and the types of the model are only referenced by name there.
+ * Positions in the source files are left out, so that editing one action does not change the digests of the other ones.
+ * If an object is reached that has no digest contribution, the actionlike gets no digest (null),
+ * and so do all the actionlikes using it; their code is always generated.
+ */
+public class ActionDigests {
+	/** The actionlikes of the unit, in the order of their declaration. */
+	private final List<Identifiable> actionlikesInOrder = new ArrayList<Identifiable>();
+
+	/** The actionlikes mapped to their qualified names; by identity, as IR objects of other kinds are looked up, too. */
+	private final Map<Identifiable, String> actionlikes = new IdentityHashMap<Identifiable, String>();
+
+	/** The digest of an actionlike alone (null if there is none), with the actionlikes directly used by it. */
+	private final Map<Identifiable, String> ownDigests = new HashMap<Identifiable, String>();
+	private final Map<Identifiable, Set<Identifiable>> usedActionlikes = new HashMap<Identifiable, Set<Identifiable>>();
+
+	/** The complete digests, computed on demand. */
+	private final Map<Identifiable, String> digests = new HashMap<Identifiable, String>();
+
+	/** The digest of the context and the models, null if there is none. */
+	private final String contextDigest;
+
+	/**
+	 * Compute the digests of the actionlikes of a unit.
+	 * @param unit The unit.
+	 * @param context Further input influencing the code generated for the actionlikes.
+	 */
+	public ActionDigests(Unit unit, String context) {
+		addActionlikes(unit, null);
+		for(PackageActionType pt : unit.getPackages()) {
+			addActionlikes(pt, pt.getIdent().toString());
+		}
+
+		DigestBuilder models = new DigestBuilder(actionlikes, false);
+		for(Model model : unit.getModels()) {
+			models.addAll(model);
+		}
+		contextDigest = models.isComplete() ? computeDigest(context + models) : null;
+
+		for(Identifiable actionlike : actionlikesInOrder) {
+			DigestBuilder db = new DigestBuilder(actionlikes, true);
+			db.addAll(actionlike);
+			ownDigests.put(actionlike, db.isComplete() ? computeDigest(db.toString()) : null);
+			usedActionlikes.put(actionlike, db.getUsed());
+		}
+	}
+
+	/** @return The actionlikes of the unit, in the order of their declaration. */
+	public Collection<Identifiable> getActionlikes() {
+		return Collections.unmodifiableList(actionlikesInOrder);
+	}
+
+	/**
+	 * @return The digest of the given rule, subpattern, sequence, function, procedure or filter function,
+	 * or null if it has none.
+	 */
+	public String getDigest(Identifiable actionlike) {
+		if(digests.containsKey(actionlike))
+			return digests.get(actionlike);
+
+		// the actionlikes used transitively, in a fixed order (recursion may lead to cycles)
+		Set<Identifiable> closure = new LinkedHashSet<Identifiable>();
+		List<Identifiable> worklist = new ArrayList<Identifiable>();
+		worklist.add(actionlike);
+		while(!worklist.isEmpty()) {
+			Identifiable current = worklist.remove(worklist.size() - 1);
+			if(!closure.add(current))
+				continue;
+			worklist.addAll(usedActionlikes.get(current));
+		}
+		TreeSet<String> namesAndDigests = new TreeSet<String>();
+		for(Identifiable used : closure) {
+			String ownDigest = ownDigests.get(used);
+			if(ownDigest == null || contextDigest == null) {
+				digests.put(actionlike, null);
+				return null;
+			}
+			namesAndDigests.add(actionlikes.get(used) + "=" + ownDigest);
+		}
+
+		StringBuilder sb = new StringBuilder(contextDigest);
+		sb.append('\n').append(actionlikes.get(actionlike)).append('\n');
+		for(String nameAndDigest : namesAndDigests) {
+			sb.append(nameAndDigest).append('\n');
+		}
+		String digest = computeDigest(sb);
+		digests.put(actionlike, digest);
+		return digest;
+	}
+
+	/** @return The digest of all the given actionlikes together, or null if one of them has none. */
+	public String getDigest(Collection<? extends Identifiable> actionlikesToDigest) {
+		if(contextDigest == null)
+			return null;
+		StringBuilder sb = new StringBuilder(contextDigest);
+		for(Identifiable actionlike : actionlikesToDigest) {
+			String digest = getDigest(actionlike);
+			if(digest == null)
+				return null;
+			sb.append('\n').append(digest);
+		}
+		return computeDigest(sb);
+	}
+
+	private void addActionlikes(ActionsBearer bearer, String packageName) {
+		String prefix = packageName != null ? packageName + "::" : "";
+		for(Rule subpatternRule : bearer.getSubpatternRules()) {
+			addActionlike(subpatternRule, "subpattern " + prefix + subpatternRule.getIdent());
+		}
+		for(Rule actionRule : bearer.getActionRules()) {
+			addActionlike(actionRule, "rule " + prefix + actionRule.getIdent());
+		}
+		for(Sequence sequence : bearer.getSequences()) {
+			addActionlike(sequence, "sequence " + prefix + sequence.getIdent());
+		}
+		for(Function function : bearer.getFunctions()) {
+			addActionlike(function, "function " + prefix + function.getIdent());
+		}
+		for(Procedure procedure : bearer.getProcedures()) {
+			addActionlike(procedure, "procedure " + prefix + procedure.getIdent());
+		}
+		for(FilterFunction filterFunction : bearer.getFilterFunctions()) {
+			addActionlike(filterFunction, "filter " + prefix + filterFunction.getIdent());
+		}
+	}
+
+	private void addActionlike(Identifiable actionlike, String name) {
+		actionlikesInOrder.add(actionlike);
+		actionlikes.put(actionlike, name);
+	}
+
+	private static String computeDigest(CharSequence cs) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("MD5");
+			return Util.hexString(md.digest(cs.toString().getBytes("UTF-8")));
+		} catch(Exception e) {
+			throw new RuntimeException("cannot compute digest: " + e.getMessage());
+		}
+	}
+}
@@ -41,4 +41,9 @@ public class Alternative extends Identifiable {
 	public String getNameOfGraph() {
 		return getIdent().toString();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(alternativeCases);
+	}
 }
@@ -23,4 +23,9 @@ public class AlternativeReplacement extends Identifiable implements OrderedRepla
 	public Alternative getAlternative() {
 		return alternative;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(alternative);
+	}
 }
@@ -11,20 +11,41 @@
 
 package de.unika.ipd.grgen.ir;
 
+import java.util.List;
+
 /**
- * An attribute index.
+ * An attribute index, over a single attribute or over a tuple of attributes (a composite index).
  */
 public class AttributeIndex extends Index {
 	public InheritanceType type;
-	public Entity entity;
+	public Entity entity; // the first (leading) attribute, the only one of a non-composite index
+	public List<Entity> entities;
+	public boolean isHash;
 	
 	/**
 	 * @param name The name of the attribute index.
 	 * @param ident The identifier that identifies this object.
+	 * @param entities The indexed attributes, in the order the index is sorted by (lexicographically).
+	 * @param isHash Whether the index is a hash index (equality lookups only) instead of an ordered one.
 	 */
-	public AttributeIndex(String name, Ident ident, InheritanceType type, Entity entity) {
+	public AttributeIndex(String name, Ident ident, InheritanceType type, List<Entity> entities, boolean isHash) {
 		super(name, ident);
 		this.type = type;
-		this.entity = entity;
+		this.entity = entities.get(0);
+		this.entities = entities;
+		this.isHash = isHash;
+	}
+
+	/** @return Whether the index is a composite index over several attributes. */
+	public boolean isComposite() {
+		return entities.size() > 1;
+	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(type);
+		db.append(entity);
+		db.append(entities);
+		db.append(isHash);
 	}
 }
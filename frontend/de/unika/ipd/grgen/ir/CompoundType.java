@@ -93,4 +93,11 @@ public abstract class CompoundType extends Type {
 
 		sb.append(']');
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(members);
+		db.append(functionMethods);
+		db.append(procedureMethods);
+	}
 }
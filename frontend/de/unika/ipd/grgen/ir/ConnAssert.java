@@ -107,5 +107,15 @@ public class ConnAssert extends IR {
 			"("+ tgtType +" [" + tgtLower + ".." + tgtUpper + "])" +
 			"}";
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(srcLower);
+		db.append(srcUpper);
+		db.append(tgtLower);
+		db.append(tgtUpper);
+		db.append(srcType);
+		db.append(tgtType);
+		db.append(bothDirections);
+	}
 }
 
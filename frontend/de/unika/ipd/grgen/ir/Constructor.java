@@ -24,4 +24,8 @@ public class Constructor extends IR {
 	public LinkedHashSet<ConstructorParam> getParameters() {
 		return parameters;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(parameters);
+	}
 }
@@ -30,4 +30,9 @@ public class ConstructorParam extends IR {
 	public Expression getDefValue() {
 		return defValue;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(entity);
+		db.append(defValue);
+	}
 }
@@ -0,0 +1,266 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ir;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import de.unika.ipd.grgen.ir.exprevals.EnumType;
+import de.unika.ipd.grgen.util.Annotations;
+
+/**
+ * Builds the string the digest of an actionlike or of the models is computed from, see {@link ActionDigests}.
+ * The IR objects add their contents with {@link IR#addToDigest(DigestBuilder)}.
+ * An IR object used by another one is only added as a number there, and gets added itself
+ * after the current one was completed; so each object is added only once,
+ * and the digest is built in a loop instead of by recursion (which would overflow on long else if chains).
+ */
+public class DigestBuilder {
+	private final StringBuilder sb = new StringBuilder();
+
+	/** The actionlikes of the unit (which are referenced by name), with their names. */
+	private final Map<Identifiable, String> actionlikes;
+
+	/** Whether the types of the model are referenced by name (instead of being added). */
+	private final boolean referenceTypesByName;
+
+	/** The objects added or to be added, with their number. */
+	private final IdentityHashMap<IR, Integer> numbers = new IdentityHashMap<IR, Integer>();
+
+	/** The objects to be added, in the order of their numbers. */
+	private final ArrayDeque<IR> pending = new ArrayDeque<IR>();
+
+	/** The actionlikes referenced by the objects added. */
+	private final Set<Identifiable> used = new LinkedHashSet<Identifiable>();
+
+	/** Whether all the objects reached could be added, see {@link #addUnsupported(IR)}. */
+	private boolean complete = true;
+
+	DigestBuilder(Map<Identifiable, String> actionlikes, boolean referenceTypesByName) {
+		this.actionlikes = actionlikes;
+		this.referenceTypesByName = referenceTypesByName;
+	}
+
+	/** Adds the given object, and all the objects reachable from it. */
+	void addAll(IR root) {
+		getNumber(root);
+		while(!pending.isEmpty()) {
+			IR ir = pending.removeFirst();
+			sb.append('\n').append('#').append(numbers.get(ir)).append('=').append(ir.getClass().getName()).append('{');
+			ir.addToDigest(this);
+			sb.append('}');
+		}
+	}
+
+	/** @return The actionlikes referenced by the objects added. */
+	Set<Identifiable> getUsed() {
+		return used;
+	}
+
+	/** @return Whether all the objects reached could be added; if not, the digest must not be used. */
+	boolean isComplete() {
+		return complete;
+	}
+
+	public String toString() {
+		return sb.toString();
+	}
+
+	/** Notes that the given object has no digest contribution, so the digest does not cover its input. */
+	public void addUnsupported(IR ir) {
+		complete = false;
+	}
+
+	public DigestBuilder append(String text) {
+		if(text == null)
+			sb.append("null ");
+		else
+			sb.append('s').append(text.length()).append(':').append(text).append(' ');
+		return this;
+	}
+
+	public DigestBuilder append(long value) {
+		sb.append('i').append(value).append(' ');
+		return this;
+	}
+
+	public DigestBuilder append(boolean value) {
+		sb.append(value ? "true " : "false ");
+		return this;
+	}
+
+	/** Adds the value of a constant, which is a boxed primitive value, a string, a type, or null. */
+	public DigestBuilder appendValue(Object value) {
+		if(value instanceof IR)
+			return append((IR)value);
+		if(value == null)
+			sb.append("null ");
+		else
+			sb.append(value.getClass().getSimpleName()).append(':').append(value.toString().length())
+				.append(':').append(value).append(' ');
+		return this;
+	}
+
+	/** Adds a reference to the given object, which is added itself later on if it was not added before. */
+	public DigestBuilder append(IR ir) {
+		if(ir == null) {
+			sb.append("null ");
+			return this;
+		}
+		Integer number = numbers.get(ir);
+		if(number != null) {
+			sb.append('#').append(number).append(' ');
+			return this;
+		}
+		String name = getReferenceName(ir);
+		if(name != null) {
+			sb.append("->");
+			return append(name);
+		}
+		sb.append('#').append(getNumber(ir)).append(' ');
+		return this;
+	}
+
+	/** Adds the given objects in the order of the collection. */
+	public DigestBuilder append(Collection<? extends IR> irs) {
+		if(irs == null) {
+			sb.append("null ");
+			return this;
+		}
+		sb.append("[ ");
+		for(IR ir : irs) {
+			append(ir);
+		}
+		sb.append("] ");
+		return this;
+	}
+
+	/**
+	 * Adds the given objects of a collection with an unspecified order (a hash set),
+	 * sorted by their class and name. Objects that are not told apart by this keep the order
+	 * of the collection, which may only cause a digest to change without a reason.
+	 */
+	public DigestBuilder appendUnordered(Collection<? extends IR> irs) {
+		if(irs == null) {
+			sb.append("null ");
+			return this;
+		}
+		return append(inStableOrder(irs));
+	}
+
+	/**
+	 * Adds the entries of a map with an unspecified order (a hash map), sorted by their keys as in
+	 * {@link #appendUnordered(Collection)}. The values are objects, or collections of objects with an unspecified order.
+	 */
+	public DigestBuilder appendUnordered(Map<? extends IR, ?> map) {
+		if(map == null) {
+			sb.append("null ");
+			return this;
+		}
+		Collection<? extends IR> keys = map instanceof LinkedHashMap<?, ?> ? map.keySet() : inStableOrder(map.keySet());
+		sb.append("{ ");
+		for(IR key : keys) {
+			append(key);
+			sb.append(": ");
+			Object value = map.get(key);
+			if(value instanceof Collection<?>) {
+				@SuppressWarnings("unchecked")
+				Collection<? extends IR> values = (Collection<? extends IR>)value;
+				appendUnordered(values);
+			} else {
+				append((IR)value);
+			}
+		}
+		sb.append("} ");
+		return this;
+	}
+
+	public DigestBuilder append(Annotations annotations) {
+		if(annotations == null) {
+			sb.append("null ");
+			return this;
+		}
+		sb.append("{ ");
+		for(String key : new TreeSet<String>(annotations.keySet())) {
+			append(key);
+			appendValue(annotations.get(key));
+		}
+		sb.append("} ");
+		return this;
+	}
+
+	private int getNumber(IR ir) {
+		Integer number = numbers.get(ir);
+		if(number == null) {
+			number = new Integer(numbers.size());
+			numbers.put(ir, number);
+			pending.addLast(ir);
+		}
+		return number.intValue();
+	}
+
+	/**
+	 * @return The name the given object is referenced by, for another actionlike,
+	 * the unit, and (unless they are to be added) the types of the model; otherwise null.
+	 */
+	private String getReferenceName(IR ir) {
+		String name = actionlikes.get(ir);
+		if(name != null) {
+			used.add((Identifiable)ir);
+			return name;
+		}
+		if(ir instanceof Unit)
+			return "unit";
+		if(referenceTypesByName && (ir instanceof InheritanceType || ir instanceof EnumType
+				|| ir instanceof Model || ir instanceof PackageType || ir instanceof PackageActionType))
+			return ir.getClass().getSimpleName() + " " + getQualifiedName((Identifiable)ir);
+		return null;
+	}
+
+	private static String getQualifiedName(Identifiable identifiable) {
+		if(identifiable instanceof ContainedInPackage) {
+			String packageName = ((ContainedInPackage)identifiable).getPackageContainedIn();
+			if(packageName != null)
+				return packageName + "::" + identifiable.getIdent();
+		}
+		return identifiable.getIdent().toString();
+	}
+
+	private static <T extends IR> Collection<T> inStableOrder(Collection<T> irs) {
+		if(irs instanceof LinkedHashSet<?> || irs instanceof SortedSet<?> || irs instanceof List<?> || irs.size() < 2)
+			return irs;
+		List<T> sorted = new ArrayList<T>(irs);
+		Collections.sort(sorted, SORT_KEY_ORDER);
+		return sorted;
+	}
+
+	private static final Comparator<IR> SORT_KEY_ORDER = new Comparator<IR>() {
+		public int compare(IR lt, IR rt) {
+			return getSortKey(lt).compareTo(getSortKey(rt));
+		}
+	};
+
+	private static String getSortKey(IR ir) {
+		if(ir instanceof Identifiable)
+			return ir.getClass().getName() + " " + getQualifiedName((Identifiable)ir);
+		if(ir instanceof Graph)
+			return ir.getClass().getName() + " " + ((Graph)ir).getNameOfGraph();
+		return ir.getClass().getName();
+	}
+}
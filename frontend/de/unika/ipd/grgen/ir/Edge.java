@@ -154,4 +154,14 @@ public class Edge extends GraphEntity {
 		}
 		return this.redirectedTarget.get(graph);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(pointOfDefinition);
+		db.append(directlyNestingLHSGraph);
+		db.append(fixedDirection);
+		db.append(maybeNull);
+		db.appendUnordered(redirectedSource);
+		db.appendUnordered(redirectedTarget);
+	}
 }
@@ -89,6 +89,13 @@ public class EdgeType extends InheritanceType implements ContainedInPackage {
 		}
 		sb.append(']');
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(packageContainedIn);
+		db.append(connectionAsserts);
+		db.append(directedness.name());
+	}
 	
 	/** @see de.unika.ipd.grgen.ir.Type#classify() */
 	public int classify() {
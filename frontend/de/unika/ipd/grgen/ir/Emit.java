@@ -40,4 +40,8 @@ public class Emit extends IR implements ImperativeStmt, OrderedReplacement {
 			expr.collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(arguments);
+	}
 }
@@ -91,6 +91,16 @@ public class Entity extends Identifiable {
 		fields.put("owner", Collections.singleton(owner));
 	}
 
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(type);
+		db.append(owner);
+		db.append(isConst);
+		db.append(isDefToBeYieldedTo);
+		db.append(patternGraphDefYieldedIsToBeDeleted);
+		db.append(context);
+	}
+
 	/** @return true, if this is a retyped entity, i.e. the result of a retype, else false */
 	public boolean isRetyped() {
 		return false;
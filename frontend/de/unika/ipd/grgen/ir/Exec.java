@@ -69,4 +69,11 @@ public class Exec extends IR implements ImperativeStmt {
 			return neededEntities;
 		}
 	}
+
+	/** The needed entities are left out, they are computed from the parameters. */
+	public void addToDigest(DigestBuilder db) {
+		db.append(parameters);
+		db.append(xgrsString);
+		db.append(lineNr);
+	}
 }
@@ -41,4 +41,9 @@ public class ExecVariableExpression extends Expression {
 	public int hashCode() {
 		return var.hashCode();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(var);
+	}
 }
@@ -42,4 +42,10 @@ public class FilterAutoGenerated extends IR implements Filter {
 	public String getFilterEntity() {
 		return entity;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(name);
+		db.append(entity);
+		db.append(action);
+	}
 }
@@ -74,4 +74,12 @@ public abstract class FilterFunction extends Identifiable implements Filter, Con
 		}
 		return Collections.unmodifiableList(parameterTypes);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(packageContainedIn);
+		db.append(params);
+		db.append(parameterTypes);
+		db.append(action);
+	}
 }
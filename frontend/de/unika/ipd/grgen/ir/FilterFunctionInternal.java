@@ -37,4 +37,9 @@ public class FilterFunctionInternal extends FilterFunction {
 	public List<EvalStatement> getComputationStatements() {
 		return Collections.unmodifiableList(computationStatements);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(computationStatements);
+	}
 }
@@ -386,4 +386,18 @@ public abstract class Graph extends IR {
 	public GraphDumpable getLocalDumpable(Edge edge) {
 		return checkEdge(edge);
 	}
+
+	/** The proxy objects of the nodes and edges are left out, only the connections of the edges are added. */
+	public void addToDigest(DigestBuilder db) {
+		db.append(nodes.keySet());
+		db.append(edges.keySet());
+		for(Edge edge : edges.keySet()) {
+			db.append(getSource(edge));
+			db.append(getTarget(edge));
+		}
+		db.append(subpatternUsages);
+		db.append(orderedReplacements);
+		db.append(directlyNestingLHSGraph);
+		db.append(nameOfGraph);
+	}
 }
@@ -121,6 +121,36 @@ public abstract class GraphEntity extends Entity {
 		fields.put("typeof", Collections.singleton(typeof));
 	}
 
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(annotations);
+		db.appendUnordered(retyped);
+		db.append(typeof);
+		db.append(isCopy);
+		db.append(parameterInterfaceType);
+		db.append(storageAccess != null);
+		if(storageAccess != null)
+			storageAccess.addToDigest(db);
+		db.append(storageAccessIndex != null);
+		if(storageAccessIndex != null)
+			storageAccessIndex.addToDigest(db);
+		db.append(indexAccess != null);
+		if(indexAccess != null)
+			indexAccess.addToDigest(db);
+		db.append(nameMapAccess != null);
+		if(nameMapAccess != null)
+			nameMapAccess.addToDigest(db);
+		db.append(uniqueIndexAccess != null);
+		if(uniqueIndexAccess != null)
+			uniqueIndexAccess.addToDigest(db);
+		db.appendUnordered(constraints);
+		db.append(maybeDeleted);
+		db.append(maybeRetyped);
+		db.append(initialization);
+		db.append(nameOrAttributeInitialization);
+		db.append(dependencyLevel);
+	}
+
 	/** @return true, if this is a retyped entity, i.e. the result of a retype, else false */
 	public boolean isRetyped() {
 		return false;
@@ -110,6 +110,16 @@ public abstract class IR extends Base implements GraphDumpable, XMLDumpable {
 	public void addToDigest(StringBuffer sb) {
 	}
 
+	/**
+	 * Add the contents of this IR object to the digest of the actionlike it belongs to, see {@link ActionDigests}.
+	 * Everything the code generated from the object depends on must be added;
+	 * the IR objects it refers to are added by {@link DigestBuilder#append(IR)}.
+	 * An IR class without a digest contribution keeps its actionlike from getting a digest.
+	 */
+	public void addToDigest(DigestBuilder db) {
+		db.addUnsupported(this);
+	}
+
 //////////////////////////////////////////////////////////////////////////////////////////
 	// XML dumping
 //////////////////////////////////////////////////////////////////////////////////////////
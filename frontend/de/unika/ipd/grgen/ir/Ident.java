@@ -12,6 +12,7 @@
 package de.unika.ipd.grgen.ir;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import de.unika.ipd.grgen.parser.Coords;
 import de.unika.ipd.grgen.parser.Scope;
@@ -19,6 +20,7 @@ import de.unika.ipd.grgen.parser.Symbol;
 import de.unika.ipd.grgen.parser.SymbolTable;
 import de.unika.ipd.grgen.util.Annotated;
 import de.unika.ipd.grgen.util.Annotations;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 /**
  * A class representing an identifier.
@@ -26,7 +28,13 @@ import de.unika.ipd.grgen.util.Annotations;
 public class Ident extends IR implements Comparable<Ident>, Annotated {
 
 	/** Symbol table recording all identifiers. */
-	private static HashMap<String, Ident> identifiers = new HashMap<String, Ident>();
+	private static final GlobalTables.Table<Map<String, Ident>> identifiers =
+		new GlobalTables.Table<Map<String, Ident>>() {
+			@Override
+			protected Map<String, Ident> initialValue() {
+				return new HashMap<String, Ident>();
+			}
+		};
 
 	/** Text of the identifier */
 	private final String text;
@@ -110,13 +118,14 @@ public class Ident extends IR implements Comparable<Ident>, Annotated {
 	public static Ident get(String text, Symbol.Definition def, Annotations annots) {
 		Coords loc = def.getCoords();
 		String key = text + "#" + loc.toString();
+		Map<String, Ident> identifiersOfCompilation = identifiers.get();
 		Ident res;
 
-		if(identifiers.containsKey(key)) {
-			res = identifiers.get(key);
+		if(identifiersOfCompilation.containsKey(key)) {
+			res = identifiersOfCompilation.get(key);
 		} else {
 			res = new Ident(text, def.getSymbol().getSymbolTable(), def.getScope(), loc, annots);
-			identifiers.put(key, res);
+			identifiersOfCompilation.put(key, res);
 		}
 		return res;
 	}
@@ -156,4 +165,10 @@ public class Ident extends IR implements Comparable<Ident>, Annotated {
 	public Annotations getAnnotations() {
 		return annots;
 	}
+
+	/** The position of the definition is left out, so the digest doesn't change when only the lines before change. */
+	public void addToDigest(DigestBuilder db) {
+		db.append(text);
+		db.append(annots);
+	}
 }
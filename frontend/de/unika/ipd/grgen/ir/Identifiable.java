@@ -65,6 +65,10 @@ public abstract class Identifiable extends IR implements Annotated, Comparable<I
 		fields.put("ident", ident.toString());
 	}
 
+	public void addToDigest(DigestBuilder db) {
+		db.append(ident);
+	}
+
 	public int hashCode() {
 		return getIdent().hashCode();
 	}
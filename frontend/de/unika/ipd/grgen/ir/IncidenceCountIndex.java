@@ -50,4 +50,12 @@ public class IncidenceCountIndex extends Index {
 	public NodeType getAdjacentNodeType() {
 		return adjacentNodeType;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(startNodeType);
+		db.append(incidentEdgeType);
+		db.append(direction);
+		db.append(adjacentNodeType);
+	}
 }
@@ -20,4 +20,8 @@ public abstract class IndexAccess {
 	}
 	
 	public abstract void collectNeededEntities(NeededEntities needs);
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(index);
+	}
 }
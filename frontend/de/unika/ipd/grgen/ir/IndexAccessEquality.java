@@ -7,22 +7,36 @@
 
 package de.unika.ipd.grgen.ir;
 
+import java.util.Collections;
+import java.util.List;
+
 import de.unika.ipd.grgen.ir.exprevals.Expression;
 import de.unika.ipd.grgen.ir.exprevals.NeededEntities;
 
 /**
- * Class for accessing an index by equality comparison, binding a pattern element
+ * Class for accessing an index by equality comparison, binding a pattern element;
+ * a composite index is accessed with one expression per indexed attribute
  */
 public class IndexAccessEquality extends IndexAccess {
-	public Expression expr;
+	public List<Expression> exprs;
 	
 	public IndexAccessEquality(Index index, Expression expr) {
+		this(index, Collections.singletonList(expr));
+	}
+	
+	public IndexAccessEquality(Index index, List<Expression> exprs) {
 		super(index);
-		this.expr = expr;
+		this.exprs = exprs;
 	}
 	
 	public void collectNeededEntities(NeededEntities needs)
 	{
-		expr.collectNeededEntities(needs);
+		for(Expression expr : exprs)
+			expr.collectNeededEntities(needs);
+	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(exprs);
 	}
 }
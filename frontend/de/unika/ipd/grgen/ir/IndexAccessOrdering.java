@@ -134,4 +134,13 @@ public class IndexAccessOrdering extends IndexAccess {
 		if(expr2!=null)
 			expr2.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(ascending);
+		db.append(comp);
+		db.append(expr);
+		db.append(comp2);
+		db.append(expr2);
+	}
 }
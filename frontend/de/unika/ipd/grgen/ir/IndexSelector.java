@@ -0,0 +1,436 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ir;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.unika.ipd.grgen.ast.exprevals.OperatorSignature;
+import de.unika.ipd.grgen.ir.exprevals.Cast;
+import de.unika.ipd.grgen.ir.exprevals.Constant;
+import de.unika.ipd.grgen.ir.exprevals.DoubleType;
+import de.unika.ipd.grgen.ir.exprevals.Expression;
+import de.unika.ipd.grgen.ir.exprevals.FloatType;
+import de.unika.ipd.grgen.ir.exprevals.GraphEntityExpression;
+import de.unika.ipd.grgen.ir.exprevals.NeededEntities;
+import de.unika.ipd.grgen.ir.exprevals.Operator;
+import de.unika.ipd.grgen.ir.exprevals.Qualification;
+import de.unika.ipd.grgen.ir.exprevals.StringType;
+import de.unika.ipd.grgen.ir.exprevals.VariableExpression;
+import de.unika.ipd.grgen.util.Base;
+
+/**
+ * Selects attribute index accesses for the conditions of the patterns, so existing rules benefit from new indices:
+ * a pattern element whose condition compares an indexed attribute with a value computable before the element is matched
+ * is bound from the index (as by n:N{idx==value}) instead of by a type scan, and the comparison is removed from the condition.
+ * The comparisons are taken from the conditions and from the conjunctions (&&) they consist of.
+ * An equality over all attributes of an index is preferred (over most attributes, by hash before by order),
+ * then an equality over the leading attribute of a composite ordered index, then the bounds of an ordered index.
+ * Bounds are only used for nodes without incident edges in the pattern, as they may cover most of the index,
+ * and an element bound from an index can't be reached anymore from the elements it is incident to.
+ * The conditions rewritten are reported as notes.
+ */
+public class IndexSelector {
+
+	/** A comparison of an attribute of a pattern element with a value, contained in a condition. */
+	private static class Comparison {
+		final Expression condition;
+		final Expression conjunct; // the comparison, a conjunct of the condition or the condition itself
+		final GraphEntity element;
+		final Entity attribute;
+		final int opCode; // with the attribute on the left
+		final Expression value;
+		final GraphEntity neededElement; // the pattern element the value depends on, null if none
+
+		Comparison(Expression condition, Expression conjunct, GraphEntity element, Entity attribute,
+				int opCode, Expression value, GraphEntity neededElement) {
+			this.condition = condition;
+			this.conjunct = conjunct;
+			this.element = element;
+			this.attribute = attribute;
+			this.opCode = opCode;
+			this.value = value;
+			this.neededElement = neededElement;
+		}
+	}
+
+	private final Collection<AttributeIndex> indices;
+
+	/**
+	 * @param indices The attribute indices of the models.
+	 */
+	public IndexSelector(Collection<AttributeIndex> indices) {
+		this.indices = indices;
+	}
+
+	/** Bind the elements of the pattern of the rule, and of its nested alternatives and iterateds, from the indices where possible. */
+	public void selectIndexAccesses(Rule rule) {
+		if(indices.isEmpty())
+			return;
+
+		selectIndexAccesses(rule.getLeft(), rule.getParameters());
+
+		for(Alternative alternative : rule.getLeft().getAlts()) {
+			for(Rule altCase : alternative.getAlternativeCases()) {
+				selectIndexAccesses(altCase);
+			}
+		}
+		for(Rule iterated : rule.getLeft().getIters()) {
+			selectIndexAccesses(iterated);
+		}
+	}
+
+	private void selectIndexAccesses(PatternGraph pattern, List<Entity> parameters) {
+		LinkedHashMap<GraphEntity, List<Comparison>> comparisonsOfElements = new LinkedHashMap<GraphEntity, List<Comparison>>();
+		for(Expression condition : pattern.getConditions()) {
+			for(Expression conjunct : getConjuncts(condition)) {
+				Comparison comparison = getComparison(condition, conjunct, pattern, parameters);
+				if(comparison == null)
+					continue;
+				List<Comparison> comparisons = comparisonsOfElements.get(comparison.element);
+				if(comparisons == null) {
+					comparisons = new ArrayList<Comparison>();
+					comparisonsOfElements.put(comparison.element, comparisons);
+				}
+				comparisons.add(comparison);
+			}
+		}
+
+		IdentityHashMap<Expression, List<Expression>> removedConjuncts = new IdentityHashMap<Expression, List<Expression>>();
+		for(Map.Entry<GraphEntity, List<Comparison>> elementAndComparisons : comparisonsOfElements.entrySet()) {
+			GraphEntity element = elementAndComparisons.getKey();
+			List<Comparison> used = new ArrayList<Comparison>();
+			IndexAccess indexAccess = selectIndexAccess(element, elementAndComparisons.getValue(), pattern, used);
+			if(indexAccess == null)
+				continue;
+
+			element.setIndex(indexAccess);
+			for(Comparison comparison : used) {
+				List<Expression> removed = removedConjuncts.get(comparison.condition);
+				if(removed == null) {
+					removed = new ArrayList<Expression>();
+					removedConjuncts.put(comparison.condition, removed);
+				}
+				if(!containsIdentical(removed, comparison.conjunct))
+					removed.add(comparison.conjunct);
+			}
+			reportRewrite(element, indexAccess.index, used);
+		}
+
+		for(Map.Entry<Expression, List<Expression>> conditionAndRemoved : removedConjuncts.entrySet()) {
+			Expression condition = conditionAndRemoved.getKey();
+			pattern.replaceCondition(condition, removeConjuncts(condition, conditionAndRemoved.getValue()));
+		}
+	}
+
+	/**
+	 * Select the index access to bind the element with, from the comparisons of its attributes.
+	 * @param used Receives the comparisons replaced by the index access.
+	 * @return The index access, or null if none is applicable.
+	 */
+	private IndexAccess selectIndexAccess(GraphEntity element, List<Comparison> comparisons,
+			PatternGraph pattern, List<Comparison> used) {
+		// a value must not depend on an element bound by a lookup, it might depend on this element (in a cycle)
+		List<Comparison> usable = new ArrayList<Comparison>();
+		for(Comparison comparison : comparisons) {
+			if(comparison.neededElement == null || !isBoundByLookup(comparison.neededElement))
+				usable.add(comparison);
+		}
+
+		AttributeIndex bestIndex = null;
+		List<Comparison> bestEqualities = null;
+		for(AttributeIndex index : indices) {
+			if(!element.getInheritanceType().isCastableTo(index.type) || hasFloatingPointAttribute(index)
+					|| !index.isHash && hasStringAttribute(index))
+				continue;
+			List<Comparison> equalities = new ArrayList<Comparison>();
+			for(Entity attribute : index.entities) {
+				Comparison equality = findComparison(usable, attribute, Operator.EQ, Operator.EQ);
+				if(equality == null)
+					break;
+				equalities.add(equality);
+			}
+			if(equalities.size() < index.entities.size())
+				continue;
+			if(bestIndex == null || index.entities.size() > bestIndex.entities.size()
+					|| index.entities.size() == bestIndex.entities.size() && index.isHash && !bestIndex.isHash) {
+				bestIndex = index;
+				bestEqualities = equalities;
+			}
+		}
+		if(bestIndex != null) {
+			used.addAll(bestEqualities);
+			List<Expression> values = new ArrayList<Expression>();
+			for(Comparison equality : bestEqualities) {
+				values.add(equality.value);
+			}
+			return new IndexAccessEquality(bestIndex, values);
+		}
+
+		// the operator codes of the IR are the ones of the operator signatures the index accesses are built with
+		for(AttributeIndex index : indices) {
+			if(index.isHash || !element.getInheritanceType().isCastableTo(index.type) || hasFloatingPointAttribute(index)
+					|| index.entity.getType() instanceof StringType)
+				continue;
+			Comparison equality = findComparison(usable, index.entity, Operator.EQ, Operator.EQ);
+			if(equality != null) {
+				used.add(equality);
+				return new IndexAccessOrdering(index, true,
+						OperatorSignature.GE, equality.value, OperatorSignature.LE, equality.value);
+			}
+		}
+
+		if(!(element instanceof Node) || pattern.getInDegree((Node)element) > 0 || pattern.getOutDegree((Node)element) > 0)
+			return null;
+		for(AttributeIndex index : indices) {
+			if(index.isHash || !element.getInheritanceType().isCastableTo(index.type) || hasFloatingPointAttribute(index))
+				continue;
+			Comparison lower = findComparison(usable, index.entity, Operator.GT, Operator.GE);
+			Comparison upper = findComparison(usable, index.entity, Operator.LT, Operator.LE);
+			if(lower == null && upper == null)
+				continue;
+			if(lower != null)
+				used.add(lower);
+			if(upper != null)
+				used.add(upper);
+			if(lower != null && upper != null)
+				return new IndexAccessOrdering(index, true, lower.opCode, lower.value, upper.opCode, upper.value);
+			Comparison bound = lower != null ? lower : upper;
+			return new IndexAccessOrdering(index, true, bound.opCode, bound.value, OperatorSignature.ERROR, null);
+		}
+
+		return null;
+	}
+
+	/**
+	 * The indices treat NaN as equal to itself and as smaller than any other value, as CompareTo and Equals do,
+	 * while every comparison of NaN with == < <= > >= is false; so an index access on a float or double attribute
+	 * is not equivalent to the comparisons it would replace, neither for equality nor for ranges.
+	 */
+	private static boolean hasFloatingPointAttribute(AttributeIndex index) {
+		for(Entity attribute : index.entities) {
+			if(attribute.getType() instanceof FloatType || attribute.getType() instanceof DoubleType)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * The ordered indices compare strings culture-sensitively (as < <= > >= do), while == compares them ordinally;
+	 * so an equality lookup in an ordered index on a string attribute might find strings unequal by ==.
+	 * The hash indices compare them ordinally, like ==.
+	 */
+	private static boolean hasStringAttribute(AttributeIndex index) {
+		for(Entity attribute : index.entities) {
+			if(attribute.getType() instanceof StringType)
+				return true;
+		}
+		return false;
+	}
+
+	private static Comparison findComparison(List<Comparison> comparisons, Entity attribute, int opCode, int otherOpCode) {
+		for(Comparison comparison : comparisons) {
+			if(comparison.attribute == attribute && (comparison.opCode == opCode || comparison.opCode == otherOpCode))
+				return comparison;
+		}
+		return null;
+	}
+
+	/**
+	 * @return The comparison of an attribute of an element of the pattern that may be bound from an index
+	 *         with a value computable before, or null if the conjunct is not such a comparison.
+	 */
+	private static Comparison getComparison(Expression condition, Expression conjunct,
+			PatternGraph pattern, List<Entity> parameters) {
+		if(!(conjunct instanceof Operator))
+			return null;
+		Operator operator = (Operator)conjunct;
+		int opCode = operator.getOpCode();
+		if(opCode != Operator.EQ && opCode != Operator.LT && opCode != Operator.LE
+				&& opCode != Operator.GT && opCode != Operator.GE)
+			return null;
+
+		for(int i = 0; i < 2; ++i) {
+			if(!(operator.getOperand(i) instanceof Qualification))
+				continue;
+			Qualification qualification = (Qualification)operator.getOperand(i);
+			if(!(qualification.getOwner() instanceof GraphEntity))
+				continue;
+			GraphEntity element = (GraphEntity)qualification.getOwner();
+			Entity attribute = qualification.getMember();
+			Expression value = operator.getOperand(1 - i);
+			if(!mayBeBoundFromIndex(element, pattern, parameters))
+				continue;
+			if(!value.getType().isEqual(attribute.getType()) || !isSideEffectFreeAndDeterministic(value))
+				continue;
+
+			NeededEntities needs = new NeededEntities(true, true, true, false, false, false, false, false);
+			value.collectNeededEntities(needs);
+			List<GraphEntity> neededElements = new ArrayList<GraphEntity>();
+			neededElements.addAll(needs.nodes);
+			neededElements.addAll(needs.edges);
+			GraphEntity neededElement = null;
+			boolean computableBefore = true;
+			for(GraphEntity needed : neededElements) {
+				if(needed == element || needed.isDefToBeYieldedTo()) {
+					computableBefore = false;
+				} else if(parameters.indexOf(needed) == -1) {
+					if(neededElement != null)
+						computableBefore = false; // an index access may depend on one pattern element only
+					neededElement = needed;
+				}
+			}
+			for(Variable variable : needs.variables) {
+				if(variable.isDefToBeYieldedTo())
+					computableBefore = false;
+			}
+			if(!computableBefore)
+				continue;
+
+			return new Comparison(condition, conjunct, element, attribute,
+					i == 0 ? opCode : getMirroredOpCode(opCode), value, neededElement);
+		}
+		return null;
+	}
+
+	/** @return Whether the element is matched in the pattern by a type scan or by following edges, which may be replaced by an index access. */
+	private static boolean mayBeBoundFromIndex(GraphEntity element, PatternGraph pattern, List<Entity> parameters) {
+		if(element instanceof Node) {
+			Node node = (Node)element;
+			if(!pattern.hasNode(node) || node.directlyNestingLHSGraph != pattern || node instanceof RetypedNode)
+				return false;
+		} else if(element instanceof Edge) {
+			Edge edge = (Edge)element;
+			if(!pattern.hasEdge(edge) || edge.directlyNestingLHSGraph != pattern || edge instanceof RetypedEdge)
+				return false;
+		} else {
+			return false;
+		}
+		return parameters.indexOf(element) == -1
+			&& !element.isDefToBeYieldedTo()
+			&& element.getTypeof() == null
+			&& !isBoundByLookup(element);
+	}
+
+	private static boolean isBoundByLookup(GraphEntity element) {
+		return element.storageAccess != null
+			|| element.storageAccessIndex != null
+			|| element.indexAccess != null
+			|| element.nameMapAccess != null
+			|| element.uniqueIndexAccess != null;
+	}
+
+	/**
+	 * @return Whether the value is built from constants, variables, graph elements, attributes, casts and operators only,
+	 *         so it may be computed once for the index access instead of once for each element checked by the condition.
+	 */
+	private static boolean isSideEffectFreeAndDeterministic(Expression value) {
+		ArrayList<Expression> stack = new ArrayList<Expression>();
+		stack.add(value);
+		while(!stack.isEmpty()) {
+			Expression expr = stack.remove(stack.size() - 1);
+			if(expr instanceof Operator) {
+				Operator operator = (Operator)expr;
+				for(int i = 0; i < operator.arity(); ++i) {
+					stack.add(operator.getOperand(i));
+				}
+			} else if(expr instanceof Cast) {
+				stack.add(((Cast)expr).getExpression());
+			} else if(expr instanceof Qualification) {
+				if(((Qualification)expr).getOwner() == null)
+					return false;
+			} else if(!(expr instanceof Constant || expr instanceof VariableExpression || expr instanceof GraphEntityExpression)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int getMirroredOpCode(int opCode) {
+		switch(opCode) {
+		case Operator.LT: return Operator.GT;
+		case Operator.LE: return Operator.GE;
+		case Operator.GT: return Operator.LT;
+		case Operator.GE: return Operator.LE;
+		default: return opCode;
+		}
+	}
+
+	/** @return The conjuncts of the condition from left to right, the condition itself if it is not a conjunction. */
+	private static List<Expression> getConjuncts(Expression condition) {
+		List<Expression> conjuncts = new ArrayList<Expression>();
+		ArrayList<Expression> stack = new ArrayList<Expression>();
+		stack.add(condition);
+		while(!stack.isEmpty()) {
+			Expression expr = stack.remove(stack.size() - 1);
+			if(expr instanceof Operator && ((Operator)expr).getOpCode() == Operator.LOG_AND) {
+				Operator operator = (Operator)expr;
+				for(int i = operator.arity() - 1; i >= 0; --i) {
+					stack.add(operator.getOperand(i));
+				}
+			} else {
+				conjuncts.add(expr);
+			}
+		}
+		return conjuncts;
+	}
+
+	/** @return The conjunction of the remaining conjuncts of the condition, or null if none remains. */
+	private static Expression removeConjuncts(Expression condition, List<Expression> removed) {
+		Expression remaining = null;
+		for(Expression conjunct : getConjuncts(condition)) {
+			if(containsIdentical(removed, conjunct))
+				continue;
+			if(remaining == null) {
+				remaining = conjunct;
+			} else {
+				Operator and = new Operator(condition.getType(), Operator.LOG_AND);
+				and.addOperand(remaining);
+				and.addOperand(conjunct);
+				remaining = and;
+			}
+		}
+		return remaining;
+	}
+
+	private static boolean containsIdentical(List<Expression> exprs, Expression expr) {
+		for(Expression contained : exprs) {
+			if(contained == expr)
+				return true;
+		}
+		return false;
+	}
+
+	private static void reportRewrite(GraphEntity element, Index index, List<Comparison> used) {
+		StringBuilder comparisons = new StringBuilder();
+		for(Comparison comparison : used) {
+			if(comparisons.length() > 0)
+				comparisons.append(", ");
+			comparisons.append(element.getIdent() + "." + comparison.attribute.getIdent()
+					+ " " + getSymbol(comparison.opCode) + " ...");
+		}
+		Base.error.note(element.getIdent().getCoords(), "The condition" + (used.size() > 1 ? "s " : " ")
+				+ comparisons + (used.size() > 1 ? " are" : " is") + " evaluated by binding "
+				+ element.getIdent() + " from the index \"" + index.getIdent() + "\"");
+	}
+
+	private static String getSymbol(int opCode) {
+		switch(opCode) {
+		case Operator.EQ: return "==";
+		case Operator.LT: return "<";
+		case Operator.LE: return "<=";
+		case Operator.GT: return ">";
+		case Operator.GE: return ">=";
+		default: return "?";
+		}
+	}
+}
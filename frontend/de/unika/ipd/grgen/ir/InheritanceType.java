@@ -22,6 +22,7 @@ import java.util.Set;
 
 import de.unika.ipd.grgen.ir.exprevals.*;
 import de.unika.ipd.grgen.ir.containers.*;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 
 /**
@@ -31,8 +32,14 @@ public abstract class InheritanceType extends CompoundType {
 	public static final int ABSTRACT = 1;
 	public static final int CONST = 2;
 
-	private static int nextTypeID = 0;
-	private static ArrayList<InheritanceType> inheritanceTypesByID = new ArrayList<InheritanceType>();
+	private static final GlobalTables.Counter nextTypeID = new GlobalTables.Counter(0);
+	private static final GlobalTables.Table<List<InheritanceType>> inheritanceTypesByID =
+		new GlobalTables.Table<List<InheritanceType>>() {
+			@Override
+			protected List<InheritanceType> initialValue() {
+				return new ArrayList<InheritanceType>();
+			}
+		};
 
 	private int typeID;
 	private int nodeOrEdgeTypeID;
@@ -43,6 +50,9 @@ public abstract class InheritanceType extends CompoundType {
 	private Set<InheritanceType> allSuperTypes = null;
 	private Set<InheritanceType> allSubTypes = null;
 
+	/** The lattice of all inheritance types answering the castability questions, once built. */
+	private TypeLattice typeLattice = null;
+
 	private List<Constructor> constructors = new LinkedList<Constructor>();
 
 	/** The list of member initializers */
@@ -80,8 +90,8 @@ public abstract class InheritanceType extends CompoundType {
 		super(name, ident);
 		this.modifiers = modifiers;
 		this.externalName = externalName;
-		typeID = nextTypeID++;
-		inheritanceTypesByID.add(this);
+		typeID = nextTypeID.next();
+		inheritanceTypesByID.get().add(this);
 	}
 
 	/** @return a unique type identifier starting with zero. (Used in SearchPlanBackend2.java) */
@@ -90,7 +100,18 @@ public abstract class InheritanceType extends CompoundType {
 	}
 
 	public static InheritanceType getByTypeID(int typeID) {
-		return inheritanceTypesByID.get(typeID);
+		return inheritanceTypesByID.get().get(typeID);
+	}
+
+	/**
+	 * Build the lattice of all inheritance types, from then on used to decide castability.
+	 * To be called once the types and their inheritance are complete.
+	 */
+	public static void buildTypeLattice() {
+		TypeLattice typeLattice = new TypeLattice(inheritanceTypesByID.get());
+		for(InheritanceType type : inheritanceTypesByID.get()) {
+			type.typeLattice = typeLattice;
+		}
 	}
 
 	/** @return a unique type identifier starting with zero, for the nodes, or the edges. Only unique for either the nodes, or the edges, not for both.*/
@@ -110,7 +131,7 @@ public abstract class InheritanceType extends CompoundType {
 
 	/** Adds a supertype, this type should inherit from. */
 	public void addDirectSuperType(InheritanceType t) {
-		assert allSubTypes == null && allSuperTypes == null: "wrong order of calls";
+		assert allSubTypes == null && allSuperTypes == null && typeLattice == null: "wrong order of calls";
 		if(allSubTypes != null || allSuperTypes != null) // todo: remove this constraint/work around it
 			error.error(t.getIdent().getCoords(), "A container in a type must not reference a subtype");
 		directSuperTypes.add(t);
@@ -343,6 +364,9 @@ public abstract class InheritanceType extends CompoundType {
 
 		InheritanceType ty = (InheritanceType) t;
 
+		if(typeLattice != null && typeLattice.contains(ty))
+			return typeLattice.isSubTypeOrSame(this, ty);
+
 		if(isDirectSubTypeOf(ty))
 			return true;
 
@@ -403,4 +427,21 @@ public abstract class InheritanceType extends CompoundType {
 		fields.put("const", Boolean.valueOf(isConst()));
 		fields.put("abstract ", Boolean.valueOf(isAbstract()));
 	}
+
+	/** The super types, members and methods inherited, and the type lattice are left out, they are computed from the direct super types. */
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(typeID);
+		db.append(nodeOrEdgeTypeID);
+		db.append(directSuperTypes);
+		db.append(directSubTypes);
+		db.append(constructors);
+		db.append(memberInitializers);
+		db.append(mapInitializers);
+		db.append(setInitializers);
+		db.append(arrayInitializers);
+		db.append(dequeInitializers);
+		db.append(modifiers);
+		db.append(externalName);
+	}
 }
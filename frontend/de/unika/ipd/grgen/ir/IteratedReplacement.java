@@ -23,4 +23,9 @@ public class IteratedReplacement extends Identifiable implements OrderedReplacem
 	public Rule getIterated() {
 		return iterated;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(iterated);
+	}
 }
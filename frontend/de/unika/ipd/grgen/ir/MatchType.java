@@ -31,4 +31,9 @@ public class MatchType extends Type {
 	public int classify() {
 		return IS_MATCH;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(action);
+	}
 }
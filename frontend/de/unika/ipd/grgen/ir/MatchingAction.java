@@ -98,4 +98,15 @@ public abstract class MatchingAction extends Action {
 	public List<Filter> getFilters() {
 		return Collections.unmodifiableList(filters);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(pattern);
+		db.append(params);
+		db.append(defParams);
+		db.append(returns);
+		for(Filter filter : filters) {
+			db.append((IR)filter);
+		}
+	}
 }
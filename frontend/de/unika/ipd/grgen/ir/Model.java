@@ -44,6 +44,7 @@ public class Model extends Identifiable implements NodeEdgeEnumBearer {
 	private boolean isUniqueDefined;
 	private boolean isUniqueIndexDefined;
 	private int isoParallel;
+	private int poolSize;
 	private Collection<NodeType> allNodeTypes;
 	private Collection<EdgeType> allEdgeTypes;
 
@@ -51,7 +52,7 @@ public class Model extends Identifiable implements NodeEdgeEnumBearer {
 	public Model(Ident ident, boolean isEmitClassDefined, boolean isEmitGraphClassDefined, boolean isCopyClassDefined, 
 			boolean isEqualClassDefined, boolean isLowerClassDefined,
 			boolean isUniqueDefined, boolean isUniqueIndexDefined,
-			int isoParallel) {
+			int isoParallel, int poolSize) {
 		super("model", ident);
 		
 		this.isEmitClassDefined = isEmitClassDefined;
@@ -62,6 +63,7 @@ public class Model extends Identifiable implements NodeEdgeEnumBearer {
 		this.isUniqueDefined = isUniqueDefined;
 		this.isUniqueIndexDefined = isUniqueIndexDefined;
 		this.isoParallel = isoParallel;
+		this.poolSize = poolSize;
 	}
 
 	public void addUsedModel(Model model) {
@@ -212,6 +214,11 @@ public class Model extends Identifiable implements NodeEdgeEnumBearer {
 		return isoParallel;
 	}
 
+	/** @return The size of the pools of the node and edge classes, -1 if not declared (the default size is used then). */
+	public int poolSize() {
+		return poolSize;
+	}
+
 	/** Canonicalize the type model. */
 	protected void canonicalizeLocal() {
 		//Collections.sort(types, Identifiable.COMPARATOR);
@@ -238,6 +245,29 @@ public class Model extends Identifiable implements NodeEdgeEnumBearer {
 		sb.append(']');
 	}
 
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(usedModels);
+		db.append(packages);
+		db.append(types);
+		db.append(nodeTypes);
+		db.append(edgeTypes);
+		db.append(enumTypes);
+		db.append(indices);
+		db.append(externalTypes);
+		db.append(externalFuncs);
+		db.append(externalProcs);
+		db.append(isEmitClassDefined);
+		db.append(isEmitGraphClassDefined);
+		db.append(isCopyClassDefined);
+		db.append(isEqualClassDefined);
+		db.append(isLowerClassDefined);
+		db.append(isUniqueDefined);
+		db.append(isUniqueIndexDefined);
+		db.append(isoParallel);
+		db.append(poolSize);
+	}
+
 	public void addFields(Map<String, Object> fields) {
 		super.addFields(fields);
 		fields.put("usedModels", usedModels.iterator());
@@ -24,4 +24,8 @@ public class NameLookup {
 	{
 		expr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(expr);
+	}
 }
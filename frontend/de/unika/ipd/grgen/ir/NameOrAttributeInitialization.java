@@ -26,4 +26,10 @@ public class NameOrAttributeInitialization extends IR {
 	{
 		expr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(owner);
+		db.append(attribute);
+		db.append(expr);
+	}
 }
@@ -107,4 +107,11 @@ public class Node extends GraphEntity {
 	public PatternGraph getPointOfDefinition() {
 		return pointOfDefinition;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(pointOfDefinition);
+		db.append(directlyNestingLHSGraph);
+		db.append(maybeNull);
+	}
 }
@@ -39,4 +39,9 @@ public class NodeType extends InheritanceType implements ContainedInPackage {
 	public void setPackageContainedIn(String packageContainedIn) {
 		this.packageContainedIn = packageContainedIn;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(packageContainedIn);
+	}
 }
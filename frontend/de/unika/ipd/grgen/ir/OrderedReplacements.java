@@ -17,5 +17,11 @@ public class OrderedReplacements extends IR
 	public OrderedReplacements(String name) {
 		super(name);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		for(OrderedReplacement orderedReplacement : orderedReplacements) {
+			db.append((IR)orderedReplacement);
+		}
+	}
 }
 
@@ -93,4 +93,12 @@ public class PackageType extends PrimitiveType implements NodeEdgeEnumBearer {
 
 		sb.append(']');
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(types);
+		db.append(nodeTypes);
+		db.append(edgeTypes);
+		db.append(enumTypes);
+	}
 }
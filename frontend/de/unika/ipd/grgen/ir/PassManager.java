@@ -0,0 +1,185 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ir;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.unika.ipd.grgen.util.Base;
+import de.unika.ipd.grgen.util.CompilationThreadPool;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+import de.unika.ipd.grgen.util.report.RecordingErrorReporter;
+
+/**
+ * Runs the passes post-processing the IR of a unit after it was built, in the order they were added.
+ * A pass is either interprocedural, processing the whole unit at once, or rule local,
+ * processing each action and subpattern rule (including the patterns nested in it) on its own.
+ * The rule local passes added one after the other are fused: each rule is processed by all of them
+ * in one go, and the rules are processed in parallel if more than one thread is requested.
+ * The messages reported by the rule local passes are replayed in the order of a sequential run,
+ * i.e. pass by pass, and for each pass rule by rule (the actions first, then the subpatterns).
+ */
+public class PassManager {
+
+	/** A pass post-processing the IR. */
+	public static abstract class Pass {
+		private final String name;
+		private final AtomicLong time = new AtomicLong();
+
+		protected Pass(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/** @return The time spent in the pass in milliseconds, summed over all threads. */
+		public long getTime() {
+			return time.get() / 1000000;
+		}
+
+		void addTime(long nanos) {
+			time.addAndGet(nanos);
+		}
+	}
+
+	/** A pass processing the unit as a whole, e.g. propagating information along the subpattern usages. */
+	public static abstract class InterproceduralPass extends Pass {
+		protected InterproceduralPass(String name) {
+			super(name);
+		}
+
+		public abstract void run();
+	}
+
+	/**
+	 * A pass processing each action or subpattern rule on its own;
+	 * it must only access the IR of the rule it is processing (besides IR not changed anymore, e.g. the model),
+	 * so the rules can be processed in parallel.
+	 */
+	public static abstract class RuleLocalPass extends Pass {
+		protected RuleLocalPass(String name) {
+			super(name);
+		}
+
+		public abstract void run(Rule rule);
+	}
+
+	private final ActionsBearer bearer;
+	private final List<Pass> passes = new ArrayList<Pass>();
+
+	/**
+	 * @param bearer The actions to be processed by the rule local passes.
+	 */
+	public PassManager(ActionsBearer bearer) {
+		this.bearer = bearer;
+	}
+
+	public void add(Pass pass) {
+		passes.add(pass);
+	}
+
+	public List<Pass> getPasses() {
+		return passes;
+	}
+
+	/**
+	 * Run the passes.
+	 * @param threads The number of threads to process the rules on.
+	 */
+	public void run(int threads) {
+		List<Rule> rules = new ArrayList<Rule>(bearer.getActionRules());
+		rules.addAll(bearer.getSubpatternRules());
+
+		CompilationThreadPool pool = threads > 1 ? new CompilationThreadPool(threads) : null;
+		try {
+			int i = 0;
+			while(i < passes.size()) {
+				if(passes.get(i) instanceof InterproceduralPass) {
+					InterproceduralPass pass = (InterproceduralPass)passes.get(i);
+					long start = System.nanoTime();
+					pass.run();
+					pass.addTime(System.nanoTime() - start);
+					++i;
+					continue;
+				}
+
+				List<RuleLocalPass> fusedPasses = new ArrayList<RuleLocalPass>();
+				while(i < passes.size() && passes.get(i) instanceof RuleLocalPass) {
+					fusedPasses.add((RuleLocalPass)passes.get(i));
+					++i;
+				}
+				runFused(fusedPasses, rules, pool);
+			}
+		} finally {
+			if(pool != null)
+				pool.shutdown();
+		}
+	}
+
+	/** Process each rule by the given passes, then report their messages pass by pass. */
+	private void runFused(List<RuleLocalPass> fusedPasses, List<Rule> rules, CompilationThreadPool pool) {
+		RecordingErrorReporter[][] messages = new RecordingErrorReporter[rules.size()][];
+		if(pool == null) {
+			for(int r = 0; r < rules.size(); ++r) {
+				messages[r] = runOnRule(fusedPasses, rules.get(r));
+			}
+		} else {
+			List<Future<RecordingErrorReporter[]>> results = new ArrayList<Future<RecordingErrorReporter[]>>();
+			for(final Rule rule : rules) {
+				final List<RuleLocalPass> passesToRun = fusedPasses;
+				results.add(pool.submit(new Callable<RecordingErrorReporter[]>() {
+					public RecordingErrorReporter[] call() {
+						return runOnRule(passesToRun, rule);
+					}
+				}));
+			}
+			for(int r = 0; r < rules.size(); ++r) {
+				messages[r] = CompilationThreadPool.getResult(results.get(r));
+			}
+		}
+
+		ErrorReporter reporter = Base.error.getCurrent();
+		for(int p = 0; p < fusedPasses.size(); ++p) {
+			for(int r = 0; r < rules.size(); ++r) {
+				messages[r][p].replayTo(reporter);
+			}
+		}
+	}
+
+	/** @return The messages reported by each of the passes. */
+	private static RecordingErrorReporter[] runOnRule(List<RuleLocalPass> fusedPasses, Rule rule) {
+		RecordingErrorReporter[] messages = new RecordingErrorReporter[fusedPasses.size()];
+		ErrorReporter reporter = Base.error.getCurrent();
+		try {
+			for(int p = 0; p < fusedPasses.size(); ++p) {
+				RuleLocalPass pass = fusedPasses.get(p);
+				messages[p] = new RecordingErrorReporter();
+				Base.error.setCurrent(messages[p]);
+				long start = System.nanoTime();
+				pass.run(rule);
+				pass.addTime(System.nanoTime() - start);
+			}
+		} finally {
+			Base.error.setCurrent(reporter);
+		}
+		return messages;
+	}
+
+	/** Print the time spent in each pass. */
+	public void printTimings(PrintStream out) {
+		for(Pass pass : passes) {
+			out.println("  " + pass.getName() + ": " + pass.getTime());
+		}
+	}
+}
@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 
 import de.unika.ipd.grgen.ir.exprevals.*;
 import de.unika.ipd.grgen.ast.PatternGraphNode; // for the MOD_... - constants
@@ -163,6 +164,19 @@ public class PatternGraph extends Graph {
 		conds.add(expr);
 	}
 
+	/** Replace the condition by the given expression, remove it if the expression is null. */
+	public void replaceCondition(Expression condition, Expression replacement) {
+		for(ListIterator<Expression> it = conds.listIterator(); it.hasNext();) {
+			if(it.next() == condition) {
+				if(replacement != null)
+					it.set(replacement);
+				else
+					it.remove();
+				return;
+			}
+		}
+	}
+
 	/** Add an assignment to the list of evaluations. */
 	public void addYield(EvalStatements a) {
 		yields.add(a);
@@ -859,7 +873,7 @@ edgeHom:
 		}
 	}
 	
-	public void checkForEmptySubpatternRecursions(HashSet<PatternGraph> subpatternsAlreadyVisited)
+	public void checkForEmptySubpatternRecursions(HashSet<PatternGraph> subpatternsAlreadyVisited, SubpatternCallGraph callGraph)
 	{
 nodeHom:
 		for(Node node : getNodes()) {
@@ -895,30 +909,32 @@ edgeHom:
 		for(Alternative alternative : getAlts()) {
 			for(Rule altCase : alternative.getAlternativeCases()) {
 				HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
-				altCase.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone);
+				altCase.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone, callGraph);
 			}
 		}
 
 		for(Rule iterated : getIters()) {
 			HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
-			iterated.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone);
+			iterated.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone, callGraph);
 		}
 				
 		for (PatternGraph negative : getNegs()) {
 			HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
-			negative.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone);
+			negative.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone, callGraph);
 		}
 
 		for (PatternGraph independent : getIdpts()) {
 			HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
-			independent.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone);
+			independent.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone, callGraph);
 		}
 		
 		for(SubpatternUsage sub : getSubpatternUsages()) {
 			if(!subpatternsAlreadyVisited.contains(sub.subpatternAction.pattern)) {
+				if(!callGraph.mayReachRecursion(sub.subpatternAction))
+					continue; // no subpattern can be met again on the paths from there
 				HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
 				subpatternsAlreadyVisitedClone.add(sub.subpatternAction.pattern);
-				sub.subpatternAction.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone);
+				sub.subpatternAction.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisitedClone, callGraph);
 			} else {
 				// we're on path of only (maybe) empty patterns and see a subpattern already on it again
 				// -> endless loop of this subpattern matching only empty patterns until it gets matched again 
@@ -927,7 +943,7 @@ edgeHom:
 		}
 	}
 
-	public boolean isNeverTerminatingSuccessfully(HashSet<PatternGraph> subpatternsAlreadyVisited)
+	public boolean isNeverTerminatingSuccessfully(HashSet<PatternGraph> subpatternsAlreadyVisited, SubpatternCallGraph callGraph)
 	{
 		boolean neverTerminatingSuccessfully = false;
 		
@@ -935,7 +951,7 @@ edgeHom:
 			boolean allCasesNotTerminating = true;
 			for(Rule altCase : alternative.getAlternativeCases()) {
 				HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
-				allCasesNotTerminating &= altCase.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone);
+				allCasesNotTerminating &= altCase.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone, callGraph);
 			}
 			neverTerminatingSuccessfully |= allCasesNotTerminating;
 		}
@@ -943,24 +959,26 @@ edgeHom:
 		for(Rule iterated : getIters()) {
 			HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
 			if(iterated.getMinMatches()>0)
-				neverTerminatingSuccessfully |= iterated.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone);
+				neverTerminatingSuccessfully |= iterated.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone, callGraph);
 		}
 
 		for (PatternGraph negative : getNegs()) {
 			HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
-			neverTerminatingSuccessfully |= negative.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone);
+			neverTerminatingSuccessfully |= negative.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone, callGraph);
 		}
 
 		for (PatternGraph independent : getIdpts()) {
 			HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
-			neverTerminatingSuccessfully |= independent.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone);
+			neverTerminatingSuccessfully |= independent.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone, callGraph);
 		}
 		
 		for(SubpatternUsage sub : getSubpatternUsages()) {
 			if(!subpatternsAlreadyVisited.contains(sub.subpatternAction.pattern)) {
+				if(!callGraph.mayReachRecursion(sub.subpatternAction))
+					continue; // no subpattern can be met again on the paths from there, so it terminates
 				HashSet<PatternGraph> subpatternsAlreadyVisitedClone = new HashSet<PatternGraph>(subpatternsAlreadyVisited);
 				subpatternsAlreadyVisitedClone.add(sub.subpatternAction.pattern);
-				neverTerminatingSuccessfully |= sub.subpatternAction.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone);
+				neverTerminatingSuccessfully |= sub.subpatternAction.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisitedClone, callGraph);
 			} else {
 				return true;
 			}
@@ -1044,4 +1062,33 @@ edgeHom:
 					alreadyDefinedNodes, alreadyDefinedEdges, iterated.getRight());
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.appendUnordered(vars);
+		db.append(alts);
+		db.append(iters);
+		db.append(negs);
+		db.append(idpts);
+		db.append(conds);
+		db.append(yields);
+		for(Collection<Node> hom : homNodes) {
+			db.appendUnordered(hom);
+		}
+		for(Collection<Edge> hom : homEdges) {
+			db.appendUnordered(hom);
+		}
+		db.appendUnordered(homToAllNodes);
+		db.appendUnordered(homToAllEdges);
+		db.appendUnordered(totallyHomNodes);
+		db.appendUnordered(totallyHomEdges);
+		db.appendUnordered(deletedElements);
+		for(ImperativeStmt imperativeStmt : imperativeStmts) {
+			db.append((IR)imperativeStmt);
+		}
+		db.append(modifiers);
+		db.append(mayPatternBeEmptyComputationState);
+		db.append(replParams);
+		db.append(iterationBreaking);
+	}
 }
@@ -41,4 +41,9 @@ public class RetypedEdge extends Edge implements Retyped {
 	public boolean isRetyped() {
 		return true;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(oldEdge);
+	}
 }
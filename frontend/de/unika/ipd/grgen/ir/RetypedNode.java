@@ -64,4 +64,10 @@ public class RetypedNode extends Node implements Retyped {
 		}
 		return depLevel;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(oldNode);
+		db.append(mergees);
+	}
 }
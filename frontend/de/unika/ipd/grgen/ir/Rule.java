@@ -175,24 +175,6 @@ public class Rule extends MatchingAction implements ContainedInPackage {
 		}
 	}
 	
-	public void computeUsageDependencies(HashMap<Rule, HashSet<Rule>> subpatternsDefToUse, Rule subpattern)
-	{
-		for(SubpatternUsage sub : pattern.getSubpatternUsages()) {
-			HashSet<Rule> uses = subpatternsDefToUse.get(sub.subpatternAction);
-			uses.add(subpattern);
-		}
-
-		for(Alternative alternative : pattern.getAlts()) {
-			for(Rule altCase : alternative.getAlternativeCases()) {
-				altCase.computeUsageDependencies(subpatternsDefToUse, subpattern);
-			}
-		}
-
-		for(Rule iterated : pattern.getIters()) {
-			iterated.computeUsageDependencies(subpatternsDefToUse, subpattern);
-		}
-	}
-		
 	public boolean checkForMultipleDeletesOrRetypes(HashMap<Entity, Rule> entitiesToTheirDeletingOrRetypingPattern,
 						HashMap<Rule, HashMap<Entity, Rule>> subpatternsToParametersToTheirDeletingOrRetypingPattern)
 	{		
@@ -519,4 +501,15 @@ public class Rule extends MatchingAction implements ContainedInPackage {
 			error.error(entity.getIdent().getCoords(), "More than one needed entity for index access/name map access of " + entity.getIdent().toString());
 		return null;
 	}
+
+	/** The flag set by the code generator for the alternatives and iterateds it already generated is left out. */
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(packageContainedIn);
+		db.append(right);
+		db.append(evals);
+		db.append(minMatches);
+		db.append(maxMatches);
+		db.append(mightThereBeDeferredExecs);
+	}
 }
@@ -58,4 +58,12 @@ public class Sequence extends Identifiable implements ContainedInPackage {
 	public List<ExecVariable> getOutParameters() {
 		return Collections.unmodifiableList(outParams);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(packageContainedIn);
+		db.append(exec);
+		db.append(inParams);
+		db.append(outParams);
+	}
 }
@@ -28,4 +28,9 @@ public class StorageAccess {
 //	public StorageAccess(GraphEntity storageGlobalVariable) {
 //		this.storageGlobalVariable = storageGlobalVariable;
 //	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(storageVariable);
+		db.append(storageAttribute);
+	}
 }
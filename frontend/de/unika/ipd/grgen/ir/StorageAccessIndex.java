@@ -37,4 +37,8 @@ public class StorageAccessIndex {
 //			this.indexGlobalVariable = indexGraphEntityOrGlobalVariable;
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(indexGraphEntity);
+	}
 }
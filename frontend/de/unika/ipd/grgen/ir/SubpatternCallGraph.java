@@ -0,0 +1,279 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ir;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * The graph of the subpattern usages of the subpatterns and rules of a unit (including its packages),
+ * built once after the IR was constructed, and shared by the interprocedural passes over the subpatterns.
+ * The subpatterns are partitioned into their strongly connected components, which are offered
+ * in reverse topological order, i.e. the components of the used subpatterns come before the
+ * components of the subpatterns using them; so a pass propagating information from the used
+ * to the using subpatterns needs to iterate to a fixpoint only inside the recursive components.
+ */
+public class SubpatternCallGraph {
+	/** The subpatterns in declaration order, the index of a subpattern is its position. */
+	private final Rule[] subpatterns;
+	private final HashMap<Rule, Integer> subpatternIndices = new HashMap<Rule, Integer>();
+
+	/** The subpatterns used by a subpattern or rule, in the pattern or its alternatives or iterateds. */
+	private final HashMap<Rule, List<Rule>> usedSubpatterns = new HashMap<Rule, List<Rule>>();
+
+	/** The subpatterns using a subpattern in their pattern or its alternatives or iterateds. */
+	private final List<List<Rule>> usingSubpatterns = new ArrayList<List<Rule>>();
+
+	/** The strongly connected components in reverse topological order, their members in declaration order. */
+	private final List<List<Rule>> components = new ArrayList<List<Rule>>();
+	private final int[] componentOfSubpattern;
+	private final boolean[] isRecursiveComponent;
+
+	/**
+	 * Whether a subpattern may reach a subpattern recursion, i.e. a subpattern using itself,
+	 * also counting the usages from negatives and independents.
+	 */
+	private final boolean[] mayReachRecursion;
+
+	public SubpatternCallGraph(ActionsBearer bearer) {
+		Collection<Rule> subpatternRules = bearer.getSubpatternRules();
+		subpatterns = subpatternRules.toArray(new Rule[subpatternRules.size()]);
+		for(int i = 0; i < subpatterns.length; ++i) {
+			subpatternIndices.put(subpatterns[i], i);
+			usingSubpatterns.add(new ArrayList<Rule>());
+		}
+
+		int[][] used = new int[subpatterns.length][];
+		int[][] nested = new int[subpatterns.length][];
+		for(int i = 0; i < subpatterns.length; ++i) {
+			Rule subpattern = subpatterns[i];
+			LinkedHashSet<Rule> usedBySubpattern = new LinkedHashSet<Rule>();
+			collectUsedSubpatterns(subpattern.pattern, usedBySubpattern);
+			usedSubpatterns.put(subpattern, new ArrayList<Rule>(usedBySubpattern));
+			used[i] = toIndices(usedBySubpattern);
+			for(Rule usedSubpattern : usedBySubpattern) {
+				usingSubpatterns.get(subpatternIndices.get(usedSubpattern)).add(subpattern);
+			}
+			LinkedHashSet<Rule> nestedInSubpattern = new LinkedHashSet<Rule>();
+			collectNestedSubpatterns(subpattern.pattern, nestedInSubpattern);
+			nested[i] = toIndices(nestedInSubpattern);
+		}
+		for(Rule actionRule : bearer.getActionRules()) {
+			LinkedHashSet<Rule> usedByRule = new LinkedHashSet<Rule>();
+			collectUsedSubpatterns(actionRule.pattern, usedByRule);
+			usedSubpatterns.put(actionRule, new ArrayList<Rule>(usedByRule));
+		}
+
+		componentOfSubpattern = new int[subpatterns.length];
+		int componentCount = computeStronglyConnectedComponents(used, componentOfSubpattern);
+		isRecursiveComponent = new boolean[componentCount];
+		for(int c = 0; c < componentCount; ++c) {
+			components.add(new ArrayList<Rule>());
+		}
+		for(int i = 0; i < subpatterns.length; ++i) {
+			components.get(componentOfSubpattern[i]).add(subpatterns[i]);
+		}
+		for(int i = 0; i < subpatterns.length; ++i) {
+			int c = componentOfSubpattern[i];
+			isRecursiveComponent[c] = components.get(c).size() > 1 || contains(used[i], i);
+		}
+
+		// a subpattern may reach a recursion if it is part of a recursive component of the nesting graph
+		// or uses a subpattern that may reach a recursion; the components of the used subpatterns come first
+		int[] nestedComponentOfSubpattern = new int[subpatterns.length];
+		int nestedComponentCount = computeStronglyConnectedComponents(nested, nestedComponentOfSubpattern);
+		int[] nestedComponentSize = new int[nestedComponentCount];
+		for(int i = 0; i < subpatterns.length; ++i) {
+			++nestedComponentSize[nestedComponentOfSubpattern[i]];
+		}
+		boolean[] nestedComponentMayReachRecursion = new boolean[nestedComponentCount];
+		List<List<Integer>> nestedComponentMembers = new ArrayList<List<Integer>>();
+		for(int c = 0; c < nestedComponentCount; ++c) {
+			nestedComponentMembers.add(new ArrayList<Integer>());
+		}
+		for(int i = 0; i < subpatterns.length; ++i) {
+			nestedComponentMembers.get(nestedComponentOfSubpattern[i]).add(i);
+		}
+		for(int c = 0; c < nestedComponentCount; ++c) {
+			boolean reaches = nestedComponentSize[c] > 1;
+			for(int i : nestedComponentMembers.get(c)) {
+				for(int n : nested[i]) {
+					reaches |= n == i || nestedComponentMayReachRecursion[nestedComponentOfSubpattern[n]];
+				}
+			}
+			nestedComponentMayReachRecursion[c] = reaches;
+		}
+		mayReachRecursion = new boolean[subpatterns.length];
+		for(int i = 0; i < subpatterns.length; ++i) {
+			mayReachRecursion[i] = nestedComponentMayReachRecursion[nestedComponentOfSubpattern[i]];
+		}
+	}
+
+	/** @return The strongly connected components of the subpatterns, the used ones before the using ones. */
+	public List<List<Rule>> getStronglyConnectedComponents() {
+		return Collections.unmodifiableList(components);
+	}
+
+	/** @return The index of the strongly connected component of the subpattern. */
+	public int getComponentIndex(Rule subpattern) {
+		return componentOfSubpattern[subpatternIndices.get(subpattern)];
+	}
+
+	/** @return Whether the component of the given index contains a subpattern (indirectly) using itself. */
+	public boolean isRecursiveComponent(int componentIndex) {
+		return isRecursiveComponent[componentIndex];
+	}
+
+	/** @return The position of the subpattern in the declaration order of the subpatterns. */
+	public int getSubpatternIndex(Rule subpattern) {
+		return subpatternIndices.get(subpattern);
+	}
+
+	public int getSubpatternCount() {
+		return subpatterns.length;
+	}
+
+	/** @return The subpatterns used by the given subpattern or rule, in its pattern or its alternatives or iterateds. */
+	public List<Rule> getUsedSubpatterns(Rule subpatternOrRule) {
+		return Collections.unmodifiableList(usedSubpatterns.get(subpatternOrRule));
+	}
+
+	/** @return The subpatterns using the given subpattern in their pattern or its alternatives or iterateds. */
+	public List<Rule> getUsingSubpatterns(Rule subpattern) {
+		return Collections.unmodifiableList(usingSubpatterns.get(subpatternIndices.get(subpattern)));
+	}
+
+	/**
+	 * @return Whether a subpattern using itself may be reached from the given subpattern,
+	 * following the subpattern usages in the patterns and all the patterns nested in them,
+	 * including negatives and independents. If not, a descent into the subpattern can't come across
+	 * a subpattern already visited.
+	 */
+	public boolean mayReachRecursion(Rule subpattern) {
+		return mayReachRecursion[subpatternIndices.get(subpattern)];
+	}
+
+	private int[] toIndices(Collection<Rule> subpatternsToConvert) {
+		int[] indices = new int[subpatternsToConvert.size()];
+		int i = 0;
+		for(Rule subpattern : subpatternsToConvert) {
+			indices[i++] = subpatternIndices.get(subpattern);
+		}
+		return indices;
+	}
+
+	private static boolean contains(int[] indices, int index) {
+		for(int i : indices) {
+			if(i == index)
+				return true;
+		}
+		return false;
+	}
+
+	/** collects the subpatterns used in the pattern, its alternatives and iterateds (the usages matched along with the pattern) */
+	private static void collectUsedSubpatterns(PatternGraph pattern, LinkedHashSet<Rule> used) {
+		for(SubpatternUsage sub : pattern.getSubpatternUsages()) {
+			used.add(sub.subpatternAction);
+		}
+		for(Alternative alternative : pattern.getAlts()) {
+			for(Rule altCase : alternative.getAlternativeCases()) {
+				collectUsedSubpatterns(altCase.pattern, used);
+			}
+		}
+		for(Rule iterated : pattern.getIters()) {
+			collectUsedSubpatterns(iterated.pattern, used);
+		}
+	}
+
+	/** collects the subpatterns used in the pattern and all the patterns nested in it, including negatives and independents */
+	private static void collectNestedSubpatterns(PatternGraph pattern, LinkedHashSet<Rule> nested) {
+		for(SubpatternUsage sub : pattern.getSubpatternUsages()) {
+			nested.add(sub.subpatternAction);
+		}
+		for(Alternative alternative : pattern.getAlts()) {
+			for(Rule altCase : alternative.getAlternativeCases()) {
+				collectNestedSubpatterns(altCase.pattern, nested);
+			}
+		}
+		for(Rule iterated : pattern.getIters()) {
+			collectNestedSubpatterns(iterated.pattern, nested);
+		}
+		for(PatternGraph negative : pattern.getNegs()) {
+			collectNestedSubpatterns(negative, nested);
+		}
+		for(PatternGraph independent : pattern.getIdpts()) {
+			collectNestedSubpatterns(independent, nested);
+		}
+	}
+
+	/**
+	 * Computes the strongly connected components of the graph given by the successors of each vertex
+	 * with Tarjan's algorithm, using an explicit stack instead of recursion (deep subpattern chains).
+	 * The components are numbered in reverse topological order, i.e. a component is numbered
+	 * after all the components reachable from it.
+	 * @param successors The successor vertices of each vertex.
+	 * @param componentOfVertex Receives the component number of each vertex.
+	 * @return The number of components.
+	 */
+	private static int computeStronglyConnectedComponents(int[][] successors, int[] componentOfVertex) {
+		int vertexCount = successors.length;
+		int[] index = new int[vertexCount];
+		int[] lowLink = new int[vertexCount];
+		boolean[] onStack = new boolean[vertexCount];
+		int[] componentStack = new int[vertexCount];
+		int componentStackSize = 0;
+		int[] callStack = new int[vertexCount];
+		int[] nextSuccessor = new int[vertexCount];
+		int nextIndex = 1; // 0 denotes not visited yet
+		int componentCount = 0;
+
+		for(int root = 0; root < vertexCount; ++root) {
+			if(index[root] != 0)
+				continue;
+			int callStackSize = 0;
+			callStack[callStackSize++] = root;
+			index[root] = lowLink[root] = nextIndex++;
+			componentStack[componentStackSize++] = root;
+			onStack[root] = true;
+			while(callStackSize > 0) {
+				int vertex = callStack[callStackSize - 1];
+				if(nextSuccessor[vertex] < successors[vertex].length) {
+					int successor = successors[vertex][nextSuccessor[vertex]++];
+					if(index[successor] == 0) {
+						index[successor] = lowLink[successor] = nextIndex++;
+						componentStack[componentStackSize++] = successor;
+						onStack[successor] = true;
+						callStack[callStackSize++] = successor;
+					} else if(onStack[successor]) {
+						lowLink[vertex] = Math.min(lowLink[vertex], index[successor]);
+					}
+					continue;
+				}
+				--callStackSize;
+				if(callStackSize > 0) {
+					int caller = callStack[callStackSize - 1];
+					lowLink[caller] = Math.min(lowLink[caller], lowLink[vertex]);
+				}
+				if(lowLink[vertex] == index[vertex]) {
+					int member;
+					do {
+						member = componentStack[--componentStackSize];
+						onStack[member] = false;
+						componentOfVertex[member] = componentCount;
+					} while(member != vertex);
+					++componentCount;
+				}
+			}
+		}
+		return componentCount;
+	}
+}
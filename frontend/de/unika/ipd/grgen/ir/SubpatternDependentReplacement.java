@@ -33,4 +33,10 @@ public class SubpatternDependentReplacement extends Identifiable implements Orde
 	public List<Expression> getReplConnections() {
 		return replConnections;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(subpatternUsage);
+		db.append(replConnections);
+	}
 }
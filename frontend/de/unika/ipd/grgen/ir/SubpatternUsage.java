@@ -39,4 +39,11 @@ public class SubpatternUsage extends Identifiable {
 	public List<Expression> getSubpatternYields() {
 		return subpatternYields;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(subpatternAction);
+		db.append(subpatternConnections);
+		db.append(subpatternYields);
+	}
 }
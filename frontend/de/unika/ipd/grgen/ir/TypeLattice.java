@@ -0,0 +1,81 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.ir;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The transitive closure of the inheritance relation of a set of inheritance types as a bit matrix,
+ * indexed by the dense type ids of the types ({@link InheritanceType#getTypeID()}).
+ * The row of a type has the bits of all the types it is castable to set, including the type itself.
+ * A castability question is answered with a single bit test instead of a walk over the inheritance hierarchy.
+ */
+public class TypeLattice {
+	private static final int BITS_PER_WORD = 64;
+
+	/** The types of the lattice by type id, null for the ids of types not contained. */
+	private final InheritanceType[] types;
+
+	private final long[][] superOrSameTypes;
+
+	/**
+	 * Build the lattice of the given types.
+	 * The direct super types of each type must be contained in the given types.
+	 */
+	public TypeLattice(Collection<? extends InheritanceType> typesToContain) {
+		int size = 0;
+		for(InheritanceType type : typesToContain) {
+			size = Math.max(size, type.getTypeID() + 1);
+		}
+		types = new InheritanceType[size];
+		superOrSameTypes = new long[size][];
+		int words = (size + BITS_PER_WORD - 1) / BITS_PER_WORD;
+
+		// compute the rows of the super types before the rows of their sub types,
+		// the row of a type is the union of the rows of its direct super types plus its own bit
+		List<InheritanceType> typesByDepth = new ArrayList<InheritanceType>(typesToContain);
+		Collections.sort(typesByDepth, new Comparator<InheritanceType>() {
+			public int compare(InheritanceType t1, InheritanceType t2) {
+				return t1.getMaxDist() - t2.getMaxDist();
+			}
+		});
+		for(InheritanceType type : typesByDepth) {
+			int id = type.getTypeID();
+			long[] row = new long[words];
+			row[id / BITS_PER_WORD] |= 1L << id;
+			for(InheritanceType superType : type.getDirectSuperTypes()) {
+				long[] superRow = superOrSameTypes[superType.getTypeID()];
+				assert superRow != null : "super type not contained in the lattice";
+				for(int i = 0; i < words; ++i) {
+					row[i] |= superRow[i];
+				}
+			}
+			types[id] = type;
+			superOrSameTypes[id] = row;
+		}
+	}
+
+	/** @return true, if the given type is contained in this lattice. */
+	public boolean contains(InheritanceType type) {
+		int id = type.getTypeID();
+		return id < types.length && types[id] == type;
+	}
+
+	/**
+	 * Checks, if a type is castable to another type, i.e. is a sub type of it or the type itself.
+	 * Both types must be contained in this lattice.
+	 */
+	public boolean isSubTypeOrSame(InheritanceType subType, InheritanceType superType) {
+		int superId = superType.getTypeID();
+		return (superOrSameTypes[subType.getTypeID()][superId / BITS_PER_WORD] & (1L << superId)) != 0;
+	}
+}
@@ -13,6 +13,7 @@ package de.unika.ipd.grgen.ir;
 
 import java.security.MessageDigest;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -58,6 +59,8 @@ public class Unit extends IR implements ActionsBearer {
 	
 	private boolean isToBeParallelizedActionExisting = false;
 
+	/** The subpattern usages of the subpatterns and rules, built on first use after the IR was constructed. */
+	private SubpatternCallGraph subpatternCallGraph;
 	
 	public Unit(String unitName, String filename) {
 		super("unit");
@@ -221,6 +224,13 @@ public class Unit extends IR implements ActionsBearer {
 				postPatchIR(pt);
 			}
 		}
+		InheritanceType.buildTypeLattice();
+	}
+
+	public SubpatternCallGraph getSubpatternCallGraph() {
+		if(subpatternCallGraph==null)
+			subpatternCallGraph = new SubpatternCallGraph(new ComposedActionsBearer(this));
+		return subpatternCallGraph;
 	}
 
 	public static void postPatchIR(NodeEdgeEnumBearer bearer) {
@@ -235,11 +245,6 @@ public class Unit extends IR implements ActionsBearer {
 		}
 	}
 
-	public void checkForEmptyPatternsInIterateds()
-	{
-		checkForEmptyPatternsInIterateds(new ComposedActionsBearer(this));
-	}
-
 	public static void checkForEmptyPatternsInIterateds(ActionsBearer bearer)
 	{
 		// iterateds don't terminate if they match an empty pattern again and again
@@ -252,38 +257,34 @@ public class Unit extends IR implements ActionsBearer {
 		}
 	}
 
-	public void checkForEmptySubpatternRecursions()
-	{
-		checkForEmptySubpatternRecursions(new ComposedActionsBearer(this));
-	}
-
-	public static void checkForEmptySubpatternRecursions(ActionsBearer bearer)
+	public static void checkForEmptySubpatternRecursions(ActionsBearer bearer, SubpatternCallGraph callGraph)
 	{
 		// subpatterns may not terminate if there is a recursion only involving empty terminal graphs
 		// so we compute the subpattern derivation paths containing only empty graphs
 		// and emit error messages if they contain a subpattern calling itself
+		// (only subpatterns from which a recursion can be reached need to be descended into)
 		HashSet<PatternGraph> subpatternsAlreadyVisited = new HashSet<PatternGraph>();
 		for(Rule subpatternRule : bearer.getSubpatternRules()) {
+			if(!callGraph.mayReachRecursion(subpatternRule))
+				continue;
 			subpatternsAlreadyVisited.add(subpatternRule.pattern);
-			subpatternRule.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisited);
+			subpatternRule.pattern.checkForEmptySubpatternRecursions(subpatternsAlreadyVisited, callGraph);
 			subpatternsAlreadyVisited.clear();
 		}
 	}
 
-	public void checkForNeverSucceedingSubpatternRecursions()
-	{
-		checkForNeverSucceedingSubpatternRecursions(new ComposedActionsBearer(this));
-	}
-
-	public static void checkForNeverSucceedingSubpatternRecursions(ActionsBearer bearer)
+	public static void checkForNeverSucceedingSubpatternRecursions(ActionsBearer bearer, SubpatternCallGraph callGraph)
 	{
 		// matching a subpattern never terminates successfully 
 		// if there is no terminal pattern on any of its alternative branches/bodies
 		// emit an error message in this case (it might be the case more often, this is what we can tell for sure)
+		// (a subpattern from which no recursion can be reached always terminates)
 		HashSet<PatternGraph> subpatternsAlreadyVisited = new HashSet<PatternGraph>();
 		for(Rule subpatternRule : bearer.getSubpatternRules()) {
+			if(!callGraph.mayReachRecursion(subpatternRule))
+				continue;
 			subpatternsAlreadyVisited.add(subpatternRule.pattern);
-			if(subpatternRule.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisited))
+			if(subpatternRule.pattern.isNeverTerminatingSuccessfully(subpatternsAlreadyVisited, callGraph))
 			{
 				error.warning(subpatternRule.getIdent().getCoords(), "Matching the subpattern " +subpatternRule.getIdent() + " will never terminate successfully (endless recursion on any path, only (potentially) terminated by failing matching)");
 			}
@@ -291,60 +292,18 @@ public class Unit extends IR implements ActionsBearer {
 		}
 	}
 
-	public void checkForMultipleRetypes()
-	{
-		checkForMultipleRetypes(new ComposedActionsBearer(this));
-	}
-
-	public static void checkForMultipleRetypes(ActionsBearer bearer)
-	{
-		// an iterated may cause an element matched once to be retyped multiple times
-		// check for this situation (collect elements on descending over nesting structure, 
-		// spark checker on visiting an iterated to check its local and nested content)
-		HashSet<Node> alreadyDefinedNodes = new HashSet<Node>();
-		HashSet<Edge> alreadyDefinedEdges = new HashSet<Edge>();
-		for(Rule actionRule : bearer.getActionRules()) {
-			if(actionRule.getRight()!=null) {
-				actionRule.pattern.checkForMultipleRetypes(
-						alreadyDefinedNodes, alreadyDefinedEdges, actionRule.getRight());
-				alreadyDefinedNodes.clear();
-				alreadyDefinedEdges.clear();
-			}
-		}
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			if(subpatternRule.getRight()!=null) {
-				subpatternRule.pattern.checkForMultipleRetypes(
-						alreadyDefinedNodes, alreadyDefinedEdges, subpatternRule.getRight());
-				alreadyDefinedNodes.clear();
-				alreadyDefinedEdges.clear();
-			}
-		}
-	}
-
-	public void checkForMultipleDeletesOrRetypes()
-	{
-		checkForMultipleDeletesOrRetypes(new ComposedActionsBearer(this));
-	}
-
-	public static void checkForMultipleDeletesOrRetypes(ActionsBearer bearer)
+	public static void checkForMultipleDeletesOrRetypes(ActionsBearer bearer, SubpatternCallGraph callGraph)
 	{
 		// an element may be deleted/retyped several times at different nesting levels
 		// or even in a subpattern called and outside of this subpattern
 		// so we check that on all nesting paths there is only one delete/retype occuring
 		// and emit error messages if this is not the case
 		
-		// initial step: compute the subpatterns where a subpattern is used
-		HashMap<Rule, HashSet<Rule>> subpatternsDefToUse = 
-			new HashMap<Rule, HashSet<Rule>>();
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternsDefToUse.put(subpatternRule, new HashSet<Rule>());
-		}
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternRule.computeUsageDependencies(subpatternsDefToUse, subpatternRule);
-		}
-		// then: compute which parameters may get deleted/retyped, 
-		// if this information changed from before, the used subpatterns are added to a worklist
-		// which is processed step by step until it gets empty due to a fixpoint being reached
+		// compute which parameters may get deleted/retyped, 
+		// the strongly connected components of the subpatterns are processed with the used ones first,
+		// so a non-recursive subpattern is computed once from the final information of the subpatterns it uses;
+		// inside a recursive component, the using subpatterns of the component are added to a worklist 
+		// if the information changed from before, which is processed until it gets empty due to a fixpoint being reached
 		HashMap<Rule, HashMap<Entity, Rule>> subpatternsToParametersToTheirDeletingOrRetypingPattern = 
 			new HashMap<Rule, HashMap<Entity, Rule>>();
 		for(Rule subpatternRule : bearer.getSubpatternRules()) {
@@ -353,18 +312,32 @@ public class Unit extends IR implements ActionsBearer {
 				subpatternsToParametersToTheirDeletingOrRetypingPattern.get(subpatternRule).put(param, null);
 			}
 		}
+		List<List<Rule>> components = callGraph.getStronglyConnectedComponents();
+		boolean[] isToBeProcessed = new boolean[callGraph.getSubpatternCount()];
 		ArrayDeque<Rule> subpatternsToProcess = new ArrayDeque<Rule>();
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternsToProcess.add(subpatternRule);
-		}
-		while(subpatternsToProcess.size()>0) {
-			Rule subpattern = subpatternsToProcess.remove();
-			boolean changed = subpattern.checkForMultipleDeletesOrRetypes(new HashMap<Entity, Rule>(),
-					subpatternsToParametersToTheirDeletingOrRetypingPattern);
-			if(changed) {
-				for(Rule needsRecomputation : subpatternsDefToUse.get(subpattern)) {
-					if(!subpatternsToProcess.contains(needsRecomputation)) {
-						subpatternsToProcess.add(needsRecomputation);
+		for(int componentIndex = 0; componentIndex < components.size(); ++componentIndex) {
+			List<Rule> component = components.get(componentIndex);
+			if(!callGraph.isRecursiveComponent(componentIndex)) {
+				component.get(0).checkForMultipleDeletesOrRetypes(new HashMap<Entity, Rule>(),
+						subpatternsToParametersToTheirDeletingOrRetypingPattern);
+				continue;
+			}
+			for(Rule subpatternRule : component) {
+				subpatternsToProcess.add(subpatternRule);
+				isToBeProcessed[callGraph.getSubpatternIndex(subpatternRule)] = true;
+			}
+			while(subpatternsToProcess.size()>0) {
+				Rule subpattern = subpatternsToProcess.remove();
+				isToBeProcessed[callGraph.getSubpatternIndex(subpattern)] = false;
+				boolean changed = subpattern.checkForMultipleDeletesOrRetypes(new HashMap<Entity, Rule>(),
+						subpatternsToParametersToTheirDeletingOrRetypingPattern);
+				if(changed) {
+					for(Rule needsRecomputation : callGraph.getUsingSubpatterns(subpattern)) {
+						int index = callGraph.getSubpatternIndex(needsRecomputation);
+						if(callGraph.getComponentIndex(needsRecomputation)==componentIndex && !isToBeProcessed[index]) {
+							subpatternsToProcess.add(needsRecomputation);
+							isToBeProcessed[index] = true;
+						}
 					}
 				}
 			}
@@ -376,12 +349,7 @@ public class Unit extends IR implements ActionsBearer {
 		}
 	}
 
-	public void transmitExecUsageToRules()
-	{
-		transmitExecUsageToRules(new ComposedActionsBearer(this));
-	}
-
-	public static void transmitExecUsageToRules(ActionsBearer bearer)
+	public static void transmitExecUsageToRules(ActionsBearer bearer, SubpatternCallGraph callGraph)
 	{
 		// if an alternative, iterated, or subpattern used from a rule employs an exec,
 		// the execs are not executed directly but added to a to-be-executed-queue;
@@ -389,43 +357,35 @@ public class Unit extends IR implements ActionsBearer {
 		// determine for which root rules this is the case, 
 		// so we generate the queue-executing code only for them
 		
-		// step 1a: compute the subpatterns and rules where a subpattern is used
-		HashMap<Rule, HashSet<Rule>> defToUse = new HashMap<Rule, HashSet<Rule>>();
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			defToUse.put(subpatternRule, new HashSet<Rule>());
-		}
-		for(Rule actionRule : bearer.getActionRules()) {
-			defToUse.put(actionRule, new HashSet<Rule>());
-		}
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternRule.computeUsageDependencies(defToUse, subpatternRule);
-		}
-		for(Rule actionRule : bearer.getActionRules()) {
-			actionRule.computeUsageDependencies(defToUse, actionRule);
-		}
-		// step 1b: compute which subpatterns and rules use non-direct execs (alternative,iterated,usage of subpattern with exec)
+		// step 1: compute which subpatterns and rules use non-direct execs (alternative,iterated,usage of subpattern with exec)
 		for(Rule subpatternRule : bearer.getSubpatternRules()) {
 			subpatternRule.mightThereBeDeferredExecs = subpatternRule.isUsingNonDirectExec(false);
 		}
 		for(Rule actionRule : bearer.getActionRules()) {
 			actionRule.mightThereBeDeferredExecs = actionRule.isUsingNonDirectExec(true);
 		}
-		// step 2: propagate the exec-using to the subpatterns and rules containing the exec-using-subpatterns
-		// until nothing changes, i.e. a fixpoint was reached
-		boolean changed;
-		do {
-			changed = false;
-			for(Rule subpatternRule : bearer.getSubpatternRules()) {
-				if(subpatternRule.mightThereBeDeferredExecs) {
-					for(Rule toBeMarkedAsNonDirectExecUser : defToUse.get(subpatternRule)) {
-						if(!toBeMarkedAsNonDirectExecUser.mightThereBeDeferredExecs) {
-							toBeMarkedAsNonDirectExecUser.mightThereBeDeferredExecs = true;
-							changed = true;
-						}
-					}
+		// step 2: propagate the exec-using to the subpatterns and rules containing the exec-using-subpatterns,
+		// in one pass over the strongly connected components of the subpatterns with the used ones first;
+		// all the subpatterns of a component reach each other, so they all get marked if one of them gets marked
+		for(List<Rule> component : callGraph.getStronglyConnectedComponents()) {
+			boolean mightThereBeDeferredExecs = false;
+			for(Rule subpatternRule : component) {
+				mightThereBeDeferredExecs |= subpatternRule.mightThereBeDeferredExecs;
+				for(Rule usedSubpattern : callGraph.getUsedSubpatterns(subpatternRule)) {
+					mightThereBeDeferredExecs |= usedSubpattern.mightThereBeDeferredExecs;
+				}
+			}
+			if(mightThereBeDeferredExecs) {
+				for(Rule subpatternRule : component) {
+					subpatternRule.mightThereBeDeferredExecs = true;
 				}
 			}
-		} while(changed);
+		}
+		for(Rule actionRule : bearer.getActionRules()) {
+			for(Rule usedSubpattern : callGraph.getUsedSubpatterns(actionRule)) {
+				actionRule.mightThereBeDeferredExecs |= usedSubpattern.mightThereBeDeferredExecs;
+			}
+		}
 		
 		// final step: remove the information again from the subpatterns to prevent the exec-dequeing code being called from there
 		for(Rule subpatternRule : bearer.getSubpatternRules()) {
@@ -433,73 +393,105 @@ public class Unit extends IR implements ActionsBearer {
 		}
 	}
 
-	public void resolvePatternLockedModifier()
+	public static void checkForMultipleRetypes(Rule rule)
 	{
-		resolvePatternLockedModifier(new ComposedActionsBearer(this));
-	}
-
-	public static void resolvePatternLockedModifier(ActionsBearer bearer) {
-		for(Rule actionRule : bearer.getActionRules()) {
-			actionRule.pattern.resolvePatternLockedModifier();
-		}
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternRule.pattern.resolvePatternLockedModifier();
+		// an iterated may cause an element matched once to be retyped multiple times
+		// check for this situation (collect elements on descending over nesting structure, 
+		// spark checker on visiting an iterated to check its local and nested content)
+		if(rule.getRight()!=null) {
+			rule.pattern.checkForMultipleRetypes(
+					new HashSet<Node>(), new HashSet<Edge>(), rule.getRight());
 		}
 	}
 
-	public void ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern()
-	{
-		ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern(new ComposedActionsBearer(this));
-	}
-
-	public static void ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern(ActionsBearer bearer) {
-		HashSet<Node> alreadyDefinedNodes = new HashSet<Node>();
-		HashSet<Edge> alreadyDefinedEdges = new HashSet<Edge>();
-		HashSet<Variable> alreadyDefinedVariables = new HashSet<Variable>();
-		for(Rule actionRule : bearer.getActionRules()) {
-			actionRule.pattern.ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern(
-					alreadyDefinedNodes, alreadyDefinedEdges, alreadyDefinedVariables,
-					actionRule.getRight());
-			alreadyDefinedNodes.clear();
-			alreadyDefinedEdges.clear();
-			alreadyDefinedVariables.clear();
-		}
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternRule.pattern.ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern(
-					alreadyDefinedNodes, alreadyDefinedEdges, alreadyDefinedVariables,
-					subpatternRule.getRight());
-			alreadyDefinedNodes.clear();
-			alreadyDefinedEdges.clear();
-			alreadyDefinedVariables.clear();
-		}
-	}
-	
-	public void checkForRhsElementsUsedOnLhs()
-	{
-		checkForRhsElementsUsedOnLhs(new ComposedActionsBearer(this));
+	public static void ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern(Rule rule) {
+		rule.pattern.ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern(
+				new HashSet<Node>(), new HashSet<Edge>(), new HashSet<Variable>(),
+				rule.getRight());
 	}
 
-	public static void checkForRhsElementsUsedOnLhs(ActionsBearer bearer)
-	{
-		for(Rule actionRule : bearer.getActionRules()) {
-			actionRule.checkForRhsElementsUsedOnLhs();
-		}
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternRule.checkForRhsElementsUsedOnLhs();
+	/** @return The attribute indices declared in the models. */
+	public Collection<AttributeIndex> getAttributeIndices() {
+		Collection<AttributeIndex> attributeIndices = new ArrayList<AttributeIndex>();
+		for(Model model : models) {
+			for(Index index : model.getIndices()) {
+				if(index instanceof AttributeIndex)
+					attributeIndices.add((AttributeIndex)index);
+			}
 		}
+		return attributeIndices;
 	}
 
-	public void setDependencyLevelOfInterElementDependencies()
+	/**
+	 * Create the passes post-processing the IR after it was built, 
+	 * checking it and completing it for the code generators, in the order they are to be run.
+	 */
+	public PassManager createPostProcessingPasses()
 	{
-		setDependencyLevelOfInterElementDependencies(new ComposedActionsBearer(this));
-	}
-
-	public static void setDependencyLevelOfInterElementDependencies(ActionsBearer bearer) {
-		for(Rule actionRule : bearer.getActionRules()) {
-			actionRule.setDependencyLevelOfInterElementDependencies();
-		}
-		for(Rule subpatternRule : bearer.getSubpatternRules()) {
-			subpatternRule.setDependencyLevelOfInterElementDependencies();
-		}
+		final ActionsBearer bearer = new ComposedActionsBearer(this);
+		PassManager passes = new PassManager(bearer);
+		passes.add(new PassManager.InterproceduralPass("postPatchIR") {
+			public void run() {
+				postPatchIR();
+			}
+		});
+		passes.add(new PassManager.InterproceduralPass("checkForEmptyPatternsInIterateds") {
+			public void run() {
+				checkForEmptyPatternsInIterateds(bearer); // follows the subpattern usages
+			}
+		});
+		passes.add(new PassManager.InterproceduralPass("checkForEmptySubpatternRecursions") {
+			public void run() {
+				checkForEmptySubpatternRecursions(bearer, getSubpatternCallGraph());
+			}
+		});
+		passes.add(new PassManager.InterproceduralPass("checkForNeverSucceedingSubpatternRecursions") {
+			public void run() {
+				checkForNeverSucceedingSubpatternRecursions(bearer, getSubpatternCallGraph());
+			}
+		});
+		passes.add(new PassManager.InterproceduralPass("checkForMultipleDeletesOrRetypes") {
+			public void run() {
+				checkForMultipleDeletesOrRetypes(bearer, getSubpatternCallGraph());
+			}
+		});
+		passes.add(new PassManager.InterproceduralPass("transmitExecUsageToRules") {
+			public void run() {
+				transmitExecUsageToRules(bearer, getSubpatternCallGraph());
+			}
+		});
+		// the rule local passes, fused into one traversal of each rule
+		final IndexSelector indexSelector = new IndexSelector(getAttributeIndices());
+		passes.add(new PassManager.RuleLocalPass("selectIndexAccesses") {
+			public void run(Rule rule) {
+				indexSelector.selectIndexAccesses(rule); // before the dependency levels, the index accesses introduce dependencies
+			}
+		});
+		passes.add(new PassManager.RuleLocalPass("checkForMultipleRetypes") {
+			public void run(Rule rule) {
+				checkForMultipleRetypes(rule);
+			}
+		});
+		passes.add(new PassManager.RuleLocalPass("setDependencyLevelOfInterElementDependencies") {
+			public void run(Rule rule) {
+				rule.setDependencyLevelOfInterElementDependencies();
+			}
+		});
+		passes.add(new PassManager.RuleLocalPass("resolvePatternLockedModifier") {
+			public void run(Rule rule) {
+				rule.pattern.resolvePatternLockedModifier();
+			}
+		});
+		passes.add(new PassManager.RuleLocalPass("ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern") {
+			public void run(Rule rule) {
+				ensureDirectlyNestingPatternContainsAllNonLocalElementsOfNestedPattern(rule);
+			}
+		});
+		passes.add(new PassManager.RuleLocalPass("checkForRhsElementsUsedOnLhs") {
+			public void run(Rule rule) {
+				rule.checkForRhsElementsUsedOnLhs();
+			}
+		});
+		return passes;
 	}
 }
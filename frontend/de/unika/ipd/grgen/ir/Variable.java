@@ -30,5 +30,11 @@ public class Variable extends Entity {
 	public void setInitialization(Expression initialization) {
 		this.initialization = initialization;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(directlyNestingLHSGraph);
+		db.append(initialization);
+	}
 }
 
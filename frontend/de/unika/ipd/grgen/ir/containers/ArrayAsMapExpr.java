@@ -30,4 +30,9 @@ public class ArrayAsMapExpr extends Expression {
 	public Expression getTargetExpr() {
 		return targetExpr;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+	}
 }
@@ -10,6 +10,7 @@
  */
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
 public class ArrayAsString extends Expression {
@@ -34,4 +35,10 @@ public class ArrayAsString extends Expression {
 		targetExpr.collectNeededEntities(needs);
 		valueExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(valueExpr);
+	}
 }
@@ -48,4 +48,9 @@ public class ArrayClear extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
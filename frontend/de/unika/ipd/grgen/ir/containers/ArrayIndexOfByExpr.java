@@ -10,6 +10,7 @@
  */
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.Entity;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
@@ -57,4 +58,12 @@ public class ArrayIndexOfByExpr extends Expression {
 		if(startIndexExpr != null)
 			startIndexExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(member);
+		db.append(valueExpr);
+		db.append(startIndexExpr);
+	}
 }
@@ -10,6 +10,7 @@
  */
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
 public class ArrayIndexOfExpr extends Expression {
@@ -49,4 +50,11 @@ public class ArrayIndexOfExpr extends Expression {
 		if(startIndexExpr != null)
 			startIndexExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(valueExpr);
+		db.append(startIndexExpr);
+	}
 }
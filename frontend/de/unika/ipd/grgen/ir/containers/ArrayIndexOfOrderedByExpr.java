@@ -10,6 +10,7 @@
  */
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.Entity;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
@@ -42,4 +43,11 @@ public class ArrayIndexOfOrderedByExpr extends Expression {
 		targetExpr.collectNeededEntities(needs);
 		valueExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(member);
+		db.append(valueExpr);
+	}
 }
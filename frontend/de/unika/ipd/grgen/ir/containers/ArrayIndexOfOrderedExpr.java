@@ -10,6 +10,7 @@
  */
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
 public class ArrayIndexOfOrderedExpr extends Expression {
@@ -35,4 +36,10 @@ public class ArrayIndexOfOrderedExpr extends Expression {
 		targetExpr.collectNeededEntities(needs);
 		valueExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(valueExpr);
+	}
 }
@@ -15,6 +15,7 @@ import java.util.Collection;
 
 import de.unika.ipd.grgen.ir.*;
 import de.unika.ipd.grgen.ir.exprevals.*;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class ArrayInit extends Expression {
 	private Collection<ArrayItem> arrayItems;
@@ -22,7 +23,7 @@ public class ArrayInit extends Expression {
 	private ArrayType arrayType;
 	private boolean isConst;
 	private int anonymousArrayId;
-	private static int anonymousArrayCounter;
+	private static final GlobalTables.Counter anonymousArrayCounter = new GlobalTables.Counter(0);
 
 	public ArrayInit(Collection<ArrayItem> arrayItems, Entity member, ArrayType arrayType, boolean isConst) {
 		super("array init", member!=null ? member.getType() : arrayType);
@@ -31,8 +32,7 @@ public class ArrayInit extends Expression {
 		this.arrayType = arrayType;
 		this.isConst = isConst;
 		if(member==null) {
-			anonymousArrayId = anonymousArrayCounter;
-			++anonymousArrayCounter;
+			anonymousArrayId = anonymousArrayCounter.next();
 		}
 	}
 
@@ -71,4 +71,13 @@ public class ArrayInit extends Expression {
 	public String getAnonymousArrayName() {
 		return "anonymous_array_" + anonymousArrayId;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(arrayItems);
+		db.append(member);
+		db.append(arrayType);
+		db.append(isConst);
+		db.append(anonymousArrayId);
+	}
 }
@@ -57,4 +57,10 @@ public class ArrayRemoveItem extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(indexExpr);
+	}
 }
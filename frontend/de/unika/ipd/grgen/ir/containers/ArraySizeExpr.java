@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
 public class ArraySizeExpr extends Expression {
@@ -29,4 +30,9 @@ public class ArraySizeExpr extends Expression {
 	public Expression getTargetExpr() {
 		return targetExpr;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+	}
 }
@@ -10,6 +10,7 @@
  */
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
 public class ArraySubarrayExpr extends Expression {
@@ -40,4 +41,11 @@ public class ArraySubarrayExpr extends Expression {
 		startExpr.collectNeededEntities(needs);
 		lengthExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(startExpr);
+		db.append(lengthExpr);
+	}
 }
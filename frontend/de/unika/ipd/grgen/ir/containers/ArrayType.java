@@ -36,4 +36,9 @@ public class ArrayType extends Type {
 	public int classify() {
 		return IS_ARRAY;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(valueType);
+	}
 }
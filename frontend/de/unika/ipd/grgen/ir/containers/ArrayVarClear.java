@@ -39,4 +39,9 @@ public class ArrayVarClear extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
@@ -65,4 +65,11 @@ public class DequeAddItem extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(valueExpr);
+		db.append(indexExpr);
+	}
 }
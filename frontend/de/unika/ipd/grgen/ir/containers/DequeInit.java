@@ -15,6 +15,7 @@ import java.util.Collection;
 
 import de.unika.ipd.grgen.ir.*;
 import de.unika.ipd.grgen.ir.exprevals.*;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class DequeInit extends Expression {
 	private Collection<DequeItem> dequeItems;
@@ -22,7 +23,7 @@ public class DequeInit extends Expression {
 	private DequeType dequeType;
 	private boolean isConst;
 	private int anonymousDequeId;
-	private static int anonymousDequeCounter;
+	private static final GlobalTables.Counter anonymousDequeCounter = new GlobalTables.Counter(0);
 
 	public DequeInit(Collection<DequeItem> dequeItems, Entity member, DequeType dequeType, boolean isConst) {
 		super("deque init", member!=null ? member.getType() : dequeType);
@@ -31,8 +32,7 @@ public class DequeInit extends Expression {
 		this.dequeType = dequeType;
 		this.isConst = isConst;
 		if(member==null) {
-			anonymousDequeId = anonymousDequeCounter;
-			++anonymousDequeCounter;
+			anonymousDequeId = anonymousDequeCounter.next();
 		}
 	}
 
@@ -71,4 +71,13 @@ public class DequeInit extends Expression {
 	public String getAnonymousDequeName() {
 		return "anonymous_deque_" + anonymousDequeId;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(dequeItems);
+		db.append(member);
+		db.append(dequeType);
+		db.append(isConst);
+		db.append(anonymousDequeId);
+	}
 }
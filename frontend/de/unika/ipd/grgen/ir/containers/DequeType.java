@@ -36,4 +36,9 @@ public class DequeType extends Type {
 	public int classify() {
 		return IS_DEQUE;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(valueType);
+	}
 }
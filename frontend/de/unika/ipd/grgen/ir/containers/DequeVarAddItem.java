@@ -56,4 +56,11 @@ public class DequeVarAddItem extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(valueExpr);
+		db.append(indexExpr);
+	}
 }
@@ -48,4 +48,10 @@ public class DequeVarRemoveItem extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(indexExpr);
+	}
 }
@@ -63,4 +63,11 @@ public class MapAddItem extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(keyExpr);
+		db.append(valueExpr);
+	}
 }
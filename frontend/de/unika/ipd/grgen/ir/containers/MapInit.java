@@ -15,6 +15,7 @@ import java.util.Collection;
 
 import de.unika.ipd.grgen.ir.*;
 import de.unika.ipd.grgen.ir.exprevals.*;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class MapInit extends Expression {
 	private Collection<MapItem> mapItems;
@@ -22,7 +23,7 @@ public class MapInit extends Expression {
 	private MapType mapType;
 	private boolean isConst;
 	private int anonymousMapId;
-	private static int anonymousMapCounter;
+	private static final GlobalTables.Counter anonymousMapCounter = new GlobalTables.Counter(0);
 
 	public MapInit(Collection<MapItem> mapItems, Entity member, MapType mapType, boolean isConst) {
 		super("map init", member!=null ? member.getType() : mapType);
@@ -31,8 +32,7 @@ public class MapInit extends Expression {
 		this.mapType = mapType;
 		this.isConst = isConst;
 		if(member==null) {
-			anonymousMapId = anonymousMapCounter;
-			++anonymousMapCounter;
+			anonymousMapId = anonymousMapCounter.next();
 		}
 	}
 
@@ -71,4 +71,13 @@ public class MapInit extends Expression {
 	public String getAnonymousMapName() {
 		return "anonymous_map_" + anonymousMapId;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(mapItems);
+		db.append(member);
+		db.append(mapType);
+		db.append(isConst);
+		db.append(anonymousMapId);
+	}
 }
@@ -36,4 +36,9 @@ public class MapItem extends IR {
 		keyExpr.collectNeededEntities(needs);
 		valueExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(keyExpr);
+		db.append(valueExpr);
+	}
 }
@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.ir.containers;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.exprevals.*;
 
 public class MapPeekExpr extends Expression {
@@ -35,4 +36,10 @@ public class MapPeekExpr extends Expression {
 		targetExpr.collectNeededEntities(needs);
 		numberExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(numberExpr);
+	}
 }
@@ -42,4 +42,10 @@ public class MapType extends Type {
 	public int classify() {
 		return IS_MAP;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(keyType);
+		db.append(valueType);
+	}
 }
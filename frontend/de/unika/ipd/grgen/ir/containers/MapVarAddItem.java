@@ -54,4 +54,11 @@ public class MapVarAddItem extends ProcedureInvocationBase {
 			getNext().collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(keyExpr);
+		db.append(valueExpr);
+	}
 }
@@ -15,6 +15,7 @@ import java.util.Collection;
 
 import de.unika.ipd.grgen.ir.*;
 import de.unika.ipd.grgen.ir.exprevals.*;
+import de.unika.ipd.grgen.util.GlobalTables;
 
 public class SetInit extends Expression {
 	private Collection<SetItem> setItems;
@@ -22,7 +23,7 @@ public class SetInit extends Expression {
 	private SetType setType;
 	private boolean isConst;
 	private int anonymousSetId;
-	private static int anonymousSetCounter;
+	private static final GlobalTables.Counter anonymousSetCounter = new GlobalTables.Counter(0);
 
 	public SetInit(Collection<SetItem> setItems, Entity member, SetType setType, boolean isConst) {
 		super("set init", member!=null ? member.getType() : setType);
@@ -31,8 +32,7 @@ public class SetInit extends Expression {
 		this.setType = setType;
 		this.isConst = isConst;
 		if(member==null) {
-			anonymousSetId = anonymousSetCounter;
-			++anonymousSetCounter;
+			anonymousSetId = anonymousSetCounter.next();
 		}
 	}
 
@@ -71,4 +71,13 @@ public class SetInit extends Expression {
 	public String getAnonymousSetName() {
 		return "anonymous_set_" + anonymousSetId;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(setItems);
+		db.append(member);
+		db.append(setType);
+		db.append(isConst);
+		db.append(anonymousSetId);
+	}
 }
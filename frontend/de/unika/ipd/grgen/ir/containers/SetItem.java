@@ -29,4 +29,8 @@ public class SetItem extends IR {
 	public void collectNeededEntities(NeededEntities needs) {
 		valueExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(valueExpr);
+	}
 }
@@ -36,4 +36,9 @@ public class SetType extends Type {
 	public int classify() {
 		return IS_SET;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(valueType);
+	}
 }
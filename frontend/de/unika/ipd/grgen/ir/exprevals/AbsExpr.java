@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class AbsExpr extends Expression {
 	private Expression expr;
 
@@ -22,4 +24,9 @@ public class AbsExpr extends Expression {
 	public void collectNeededEntities(NeededEntities needs) {
 		expr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(expr);
+	}
 }
@@ -52,5 +52,13 @@ public class AdjacentNodeExpr extends Expression {
 		incidentEdgeTypeExpr.collectNeededEntities(needs);
 		adjacentNodeTypeExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(startNodeExpr);
+		db.append(incidentEdgeTypeExpr);
+		db.append(direction);
+		db.append(adjacentNodeTypeExpr);
+	}
 }
 
@@ -61,4 +61,9 @@ public class Assignment extends AssignmentBase {
 
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
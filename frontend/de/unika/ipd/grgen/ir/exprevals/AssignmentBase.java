@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Gives access to the expression of an assignment statement in the IR.
  */
@@ -26,4 +28,9 @@ public abstract class AssignmentBase extends EvalStatement {
 	public void setExpression(Expression expr) {
 		this.expr = expr;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(expr);
+	}
 }
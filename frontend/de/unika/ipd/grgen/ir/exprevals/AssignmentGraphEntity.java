@@ -43,4 +43,9 @@ public class AssignmentGraphEntity extends AssignmentBase {
 
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
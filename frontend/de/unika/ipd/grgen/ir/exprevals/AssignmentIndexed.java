@@ -10,6 +10,8 @@
  */
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents an indexed assignment statement in the IR.
  */
@@ -36,4 +38,9 @@ public class AssignmentIndexed extends Assignment {
 		super.collectNeededEntities(needs);
 		getIndex().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(index);
+	}
 }
@@ -41,4 +41,9 @@ public class AssignmentMember extends AssignmentBase {
 	{
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
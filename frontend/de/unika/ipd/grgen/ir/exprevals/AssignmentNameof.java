@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 
 /**
  * Represents a nameof assignment statement in the IR.
@@ -40,4 +42,9 @@ public class AssignmentNameof extends AssignmentBase {
 			target.collectNeededEntities(needs);		
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
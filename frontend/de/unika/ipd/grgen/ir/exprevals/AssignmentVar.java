@@ -48,4 +48,9 @@ public class AssignmentVar extends AssignmentBase {
 
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
@@ -38,4 +38,9 @@ public class AssignmentVarIndexed extends AssignmentVar {
 		super.collectNeededEntities(needs);
 		getIndex().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(index);
+	}
 }
@@ -51,4 +51,9 @@ public class AssignmentVisited extends AssignmentBase {
 
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
@@ -59,5 +59,14 @@ public class BoundedReachableNodeExpr extends Expression {
 		incidentEdgeTypeExpr.collectNeededEntities(needs);
 		adjacentNodeTypeExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(startNodeExpr);
+		db.append(depthExpr);
+		db.append(incidentEdgeTypeExpr);
+		db.append(direction);
+		db.append(adjacentNodeTypeExpr);
+	}
 }
 
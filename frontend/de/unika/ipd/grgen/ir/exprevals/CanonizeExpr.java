@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class CanonizeExpr extends Expression {
 	private Expression graphExpr;
 
@@ -22,4 +24,9 @@ public class CanonizeExpr extends Expression {
 	public void collectNeededEntities(NeededEntities needs) {
 		graphExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(graphExpr);
+	}
 }
@@ -14,6 +14,8 @@ package de.unika.ipd.grgen.ir.exprevals;
 import java.util.Collection;
 import java.util.LinkedList;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents a case statement of a switch statement in the IR.
  */
@@ -46,4 +48,10 @@ public class CaseStatement extends EvalStatement {
 		for(EvalStatement statement : statements)
 			statement.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(caseConstantExpr);
+		db.append(statements);
+	}
 }
@@ -42,4 +42,9 @@ public class Cast extends Expression
 	public void collectNeededEntities(NeededEntities needs) {
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(expr);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class CommitTransactionProc extends ProcedureInvocationBase {
 	private Expression transactionIdExpr;
 
@@ -31,4 +33,9 @@ public class CommitTransactionProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		transactionIdExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(transactionIdExpr);
+	}
 }
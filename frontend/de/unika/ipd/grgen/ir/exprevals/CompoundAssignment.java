@@ -80,4 +80,11 @@ public class CompoundAssignment extends EvalStatement {
 
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(operation);
+		db.append(expr);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents a compound assignment changed visited statement in the IR.
  */
@@ -49,4 +51,10 @@ public class CompoundAssignmentChangedVisited extends CompoundAssignment {
 
 		changedTarget.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(changedTarget);
+		db.append(changedOperation);
+	}
 }
@@ -64,4 +64,11 @@ public class CompoundAssignmentVar extends EvalStatement {
 
 		getExpression().collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(operation);
+		db.append(expr);
+	}
 }
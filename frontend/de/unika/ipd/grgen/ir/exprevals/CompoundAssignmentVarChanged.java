@@ -62,4 +62,10 @@ public class CompoundAssignmentVarChanged extends CompoundAssignmentVar {
 		changedTarget.collectNeededEntities(needs);
 		needs.variables = varSet;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(changedTarget);
+		db.append(changedOperation);
+	}
 }
@@ -53,4 +53,10 @@ public class CompoundAssignmentVarChangedVar extends CompoundAssignmentVar {
 		if(!isGlobalVariable(changedTarget))
 			needs.add(changedTarget);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(changedTarget);
+		db.append(changedOperation);
+	}
 }
@@ -51,4 +51,10 @@ public class CompoundAssignmentVarChangedVisited extends CompoundAssignmentVar {
 
 		changedTarget.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(changedTarget);
+		db.append(changedOperation);
+	}
 }
@@ -14,6 +14,8 @@ package de.unika.ipd.grgen.ir.exprevals;
 import java.util.Collection;
 import java.util.LinkedList;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents a condition statement in the IR.
  */
@@ -50,13 +52,36 @@ public class ConditionStatement extends EvalStatement {
 		return falseCaseStatements;
 	}
 
+	/** @return The condition statement that is the only false case statement (i.e. else if), or null. */
+	public ConditionStatement getElseIf() {
+		if(falseCaseStatements==null || falseCaseStatements.size()!=1)
+			return null;
+		EvalStatement falseCaseStatement = falseCaseStatements.iterator().next();
+		return falseCaseStatement instanceof ConditionStatement ? (ConditionStatement)falseCaseStatement : null;
+	}
+
 	public void collectNeededEntities(NeededEntities needs)
 	{
-		conditionExpr.collectNeededEntities(needs);
-		for(EvalStatement trueCaseStatement : trueCaseStatements)
-			trueCaseStatement.collectNeededEntities(needs);
-		if(falseCaseStatements!=null)
-			for(EvalStatement falseCaseStatement : falseCaseStatements)
+		// an else if chain is followed in a loop, not by recursion, so a long chain doesn't overflow the stack
+		ConditionStatement cond = this;
+		while(true) {
+			cond.conditionExpr.collectNeededEntities(needs);
+			for(EvalStatement trueCaseStatement : cond.trueCaseStatements)
+				trueCaseStatement.collectNeededEntities(needs);
+			ConditionStatement elseIf = cond.getElseIf();
+			if(elseIf == null)
+				break;
+			cond = elseIf;
+		}
+		if(cond.falseCaseStatements!=null)
+			for(EvalStatement falseCaseStatement : cond.falseCaseStatements)
 				falseCaseStatement.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(conditionExpr);
+		db.append(trueCaseStatements);
+		db.append(falseCaseStatements);
+	}
 }
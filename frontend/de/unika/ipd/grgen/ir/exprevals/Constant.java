@@ -38,4 +38,9 @@ public class Constant extends Expression {
 	}
 
 	public void collectNeededEntities(NeededEntities needs) { }
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.appendValue(value);
+	}
 }
@@ -66,4 +66,12 @@ public class ContainerAccumulationYield extends EvalStatement {
 			if(needs.variables != null)
 				needs.variables.remove(indexVar);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(iterationVar);
+		db.append(indexVar);
+		db.append(containerVar);
+		db.append(accumulationStatements);
+	}
 }
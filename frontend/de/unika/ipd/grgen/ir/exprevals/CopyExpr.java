@@ -26,5 +26,10 @@ public class CopyExpr extends Expression {
 		sourceExpr.collectNeededEntities(needs);
 		needs.needsGraph();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(sourceExpr);
+	}
 }
 
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class CountAdjacentNodeExpr extends Expression {
 	private final Expression startNodeExpr;
 	private final Expression incidentEdgeTypeExpr;
@@ -50,5 +52,13 @@ public class CountAdjacentNodeExpr extends Expression {
 		incidentEdgeTypeExpr.collectNeededEntities(needs);
 		adjacentNodeTypeExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(startNodeExpr);
+		db.append(incidentEdgeTypeExpr);
+		db.append(direction);
+		db.append(adjacentNodeTypeExpr);
+	}
 }
 
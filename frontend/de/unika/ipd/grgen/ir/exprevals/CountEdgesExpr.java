@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class CountEdgesExpr extends Expression {
 	private final Expression edgeType;
 
@@ -24,5 +26,10 @@ public class CountEdgesExpr extends Expression {
 		needs.needsGraph();
 		edgeType.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edgeType);
+	}
 }
 
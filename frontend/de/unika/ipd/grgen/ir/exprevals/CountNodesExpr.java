@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class CountNodesExpr extends Expression {
 	private final Expression nodeType;
 
@@ -24,5 +26,10 @@ public class CountNodesExpr extends Expression {
 		needs.needsGraph();
 		nodeType.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(nodeType);
+	}
 }
 
@@ -9,6 +9,8 @@ package de.unika.ipd.grgen.ir.exprevals;
 
 import java.util.Collection;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class DebugHighlightProc extends ProcedureInvocationBase {
 	private Collection<Expression> exprs;
 
@@ -38,4 +40,9 @@ public class DebugHighlightProc extends ProcedureInvocationBase {
 			expr.collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(exprs);
+	}
 }
@@ -37,4 +37,9 @@ public class DefDeclGraphEntityStatement extends EvalStatement {
 	{
 		//needs.add(target); needed?
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
@@ -38,4 +38,9 @@ public class DefDeclVarStatement extends EvalStatement {
 		if(target.initialization!=null)
 			target.initialization.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+	}
 }
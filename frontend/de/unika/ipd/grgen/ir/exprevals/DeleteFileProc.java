@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class DeleteFileProc extends ProcedureInvocationBase {
 	private Expression pathExpr;
 
@@ -30,4 +32,9 @@ public class DeleteFileProc extends ProcedureInvocationBase {
 	public void collectNeededEntities(NeededEntities needs) {
 		pathExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(pathExpr);
+	}
 }
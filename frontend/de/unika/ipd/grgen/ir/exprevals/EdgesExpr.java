@@ -26,5 +26,10 @@ public class EdgesExpr extends Expression {
 		needs.needsGraph();
 		edgeType.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edgeType);
+	}
 }
 
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class EmitProc extends ProcedureInvocationBase {
 	private Expression toEmitExpr;
 
@@ -27,4 +29,9 @@ public class EmitProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		toEmitExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(toEmitExpr);
+	}
 }
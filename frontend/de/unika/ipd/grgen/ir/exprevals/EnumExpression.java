@@ -13,6 +13,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class EnumExpression extends Constant {
 	private EnumItem item;
 
@@ -42,5 +44,10 @@ public class EnumExpression extends Constant {
 	public String getNodeLabel() {
 		return item + " " + getValue();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(item);
+	}
 }
 
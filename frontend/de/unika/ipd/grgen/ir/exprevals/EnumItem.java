@@ -55,4 +55,9 @@ public class EnumItem extends Identifiable {
 		res.add(value);
 		return res;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(value);
+	}
 }
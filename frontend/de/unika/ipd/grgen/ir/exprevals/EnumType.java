@@ -73,4 +73,10 @@ public class EnumType extends PrimitiveType implements ContainedInPackage {
 
 		sb.append(']');
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(packageContainedIn);
+		db.append(items);
+	}
 }
@@ -38,5 +38,12 @@ public class EqualsAnyExpr extends Expression {
 		subgraphExpr.collectNeededEntities(needs);
 		setExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(subgraphExpr);
+		db.append(setExpr);
+		db.append(includingAttributes);
+	}
 }
 
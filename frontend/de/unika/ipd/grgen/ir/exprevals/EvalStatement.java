@@ -19,6 +19,9 @@ public abstract class EvalStatement extends IR implements OrderedReplacement
 {
 	EvalStatement next; // may contain following statement, generated by optimization pass breaking up expressions
 
+	/** The entities needed, cached by NeededEntities.collect */
+	volatile NeededEntities.Collected collectedNeededEntities;
+
 	public EvalStatement(String name) {
 		super(name);
 	}
@@ -31,6 +34,10 @@ public abstract class EvalStatement extends IR implements OrderedReplacement
 		this.next = next;
 	}
 
+	public void addToDigest(DigestBuilder db) {
+		db.append(next);
+	}
+
 	/**
 	 * Method collectNeededEntities extracts the nodes, edges, and variables occurring in this EvalStatement.
 	 * We don't collect global variables (::-prefixed), as no entities and no processing are needed for them at all, they are only accessed.
@@ -16,6 +16,9 @@ public class EvalStatements extends IR
 {
 	public List<EvalStatement> evalStatements = new LinkedList<EvalStatement>();
 
+	/** The entities needed, cached by NeededEntities.collect */
+	volatile NeededEntities.Collected collectedNeededEntities;
+
 	public EvalStatements(String name) {
 		super(name);
 	}
@@ -31,4 +34,8 @@ public class EvalStatements extends IR
 			evalStatement.collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(evalStatements);
+	}
 }
@@ -37,5 +37,9 @@ public class Evaluation extends IR {
 	public Collection<? extends IR> getWalkableChildren() {
 		return evaluations;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(evaluations);
+	}
 }
 
@@ -51,4 +51,9 @@ public class ExecStatement extends EvalStatement {
 	public int getLineNr() {
 		return exec.getLineNr();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(exec);
+	}
 }
@@ -25,5 +25,10 @@ public class ExistsFileExpr extends Expression {
 	public void collectNeededEntities(NeededEntities needs) {
 		pathExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(pathExpr);
+	}
 }
 
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class ExportProc extends ProcedureInvocationBase {
 	private Expression pathExpr;
 	private Expression graphExpr;
@@ -39,4 +41,10 @@ public class ExportProc extends ProcedureInvocationBase {
 		if(graphExpr!=null)
 			graphExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(pathExpr);
+		db.append(graphExpr);
+	}
 }
@@ -23,6 +23,9 @@ public abstract class Expression extends IR
 	/** The type of the expression. */
 	protected Type type;
 
+	/** The entities needed, cached by NeededEntities.collect */
+	volatile NeededEntities.Collected collectedNeededEntities;
+
 	public Expression(String name, Type type) {
 		super(name);
 		setChildrenNames(childrenNames);
@@ -34,6 +37,10 @@ public abstract class Expression extends IR
 		return type;
 	}
 
+	public void addToDigest(DigestBuilder db) {
+		db.append(type);
+	}
+
 	/**
 	 * Method collectNeededEntities extracts the nodes, edges, and variables occurring in this Expression.
 	 * We don't collect global variables (::-prefixed), as no entities and no processing are needed for them at all, they are only accessed.
@@ -41,4 +41,9 @@ public class ExternalFunction extends FunctionBase {
 	public List<Type> getParameterTypes() {
 		return Collections.unmodifiableList(paramTypes);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(paramTypes);
+	}
 }
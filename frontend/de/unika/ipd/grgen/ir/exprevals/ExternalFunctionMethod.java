@@ -35,4 +35,9 @@ public class ExternalFunctionMethod extends ExternalFunction {
 	public void setOwner(Type type) {
 		owner = type;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(owner);
+	}
 }
@@ -75,4 +75,11 @@ public class ExternalFunctionMethodInvocationExpr extends Expression {
 		for(Expression child : getWalkableChildren())
 			child.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(owner);
+		db.append(arguments);
+		db.append(externalFunction);
+	}
 }
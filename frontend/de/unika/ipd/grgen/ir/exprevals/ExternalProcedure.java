@@ -42,4 +42,9 @@ public class ExternalProcedure extends ProcedureBase {
 	public List<Type> getParameterTypes() {
 		return Collections.unmodifiableList(paramTypes);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(paramTypes);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * An external procedure invocation.
  */
@@ -31,4 +33,9 @@ public class ExternalProcedureInvocation extends ProcedureInvocationBase {
 	public ExternalProcedure getExternalProc() {
 		return externalProcedure;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(externalProcedure);
+	}
 }
@@ -14,6 +14,7 @@ package de.unika.ipd.grgen.ir.exprevals;
 import java.util.ArrayList;
 import java.util.List;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.GraphEntity;
 import de.unika.ipd.grgen.ir.Variable;
 
@@ -75,4 +76,12 @@ public class ExternalProcedureMethodInvocation extends ProcedureInvocationBase {
 		for(Expression child : getWalkableChildren())
 			child.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(ownerQual);
+		db.append(ownerVar);
+		db.append(arguments);
+		db.append(externalProcedure);
+	}
 }
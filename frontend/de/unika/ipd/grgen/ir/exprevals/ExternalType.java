@@ -108,4 +108,10 @@ public class ExternalType extends InheritanceType {
 	public int classify() {
 		return IS_EXTERNAL_TYPE;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(externalFunctionMethods);
+		db.append(externalProcedureMethods);
+	}
 }
@@ -55,4 +55,11 @@ public class ForIndexAccessOrdering extends EvalStatement {
 		if(needs.variables != null)
 			needs.variables.remove(iterationVar);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(iterationVar);
+		iao.addToDigest(db);
+		db.append(loopedStatements);
+	}
 }
@@ -75,4 +75,12 @@ public class Function extends FunctionBase implements ContainedInPackage {
 		}
 		return Collections.unmodifiableList(parameterTypes);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(packageContainedIn);
+		db.append(params);
+		db.append(parameterTypes);
+		db.append(computationStatements);
+	}
 }
@@ -40,4 +40,9 @@ public abstract class FunctionBase extends Identifiable {
 
 	/** Get all parameter types of this function. */
 	public abstract List<Type> getParameterTypes();
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(retType);
+	}
 }
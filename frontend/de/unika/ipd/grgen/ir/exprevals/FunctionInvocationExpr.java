@@ -66,4 +66,10 @@ public class FunctionInvocationExpr extends Expression {
 		for(Expression child : getWalkableChildren())
 			child.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(arguments);
+		db.append(function);
+	}
 }
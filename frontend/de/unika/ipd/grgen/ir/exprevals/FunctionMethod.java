@@ -31,4 +31,9 @@ public class FunctionMethod extends Function {
 	public void setOwner(Type type) {
 		owner = type;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(owner);
+	}
 }
@@ -76,4 +76,11 @@ public class FunctionMethodInvocationExpr extends Expression {
 		for(Expression child : getWalkableChildren())
 			child.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(owner);
+		db.append(arguments);
+		db.append(function);
+	}
 }
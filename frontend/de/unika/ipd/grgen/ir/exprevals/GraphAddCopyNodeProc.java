@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphAddCopyNodeProc extends ProcedureInvocationBase {
 	private final Expression oldNode;
 
@@ -28,5 +30,10 @@ public class GraphAddCopyNodeProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		oldNode.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(oldNode);
+	}
 }
 
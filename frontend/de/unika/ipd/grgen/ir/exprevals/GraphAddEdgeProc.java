@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphAddEdgeProc extends ProcedureInvocationBase {
 	private final Expression sourceNode;
 	private final Expression targetNode;
@@ -44,5 +46,12 @@ public class GraphAddEdgeProc extends ProcedureInvocationBase {
 		sourceNode.collectNeededEntities(needs);
 		targetNode.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(sourceNode);
+		db.append(targetNode);
+		db.append(edgeType);
+	}
 }
 
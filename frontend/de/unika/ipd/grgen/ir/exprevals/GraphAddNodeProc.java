@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphAddNodeProc extends ProcedureInvocationBase {
 	private final Expression nodeType;
 
@@ -28,5 +30,10 @@ public class GraphAddNodeProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		nodeType.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(nodeType);
+	}
 }
 
@@ -42,4 +42,9 @@ public class GraphEntityExpression extends Expression {
 	public int hashCode() {
 		return graphEntity.hashCode();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(graphEntity);
+	}
 }
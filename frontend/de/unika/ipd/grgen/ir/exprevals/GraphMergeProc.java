@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphMergeProc extends ProcedureInvocationBase {
 	private Expression target;
 	private Expression source;
@@ -40,4 +42,11 @@ public class GraphMergeProc extends ProcedureInvocationBase {
 		target.collectNeededEntities(needs);
 		source.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(source);
+		db.append(sourceName);
+	}
 }
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphRedirectSourceAndTargetProc extends ProcedureInvocationBase {
 	private Expression edge;
 	private Expression newSource;
@@ -54,4 +56,13 @@ public class GraphRedirectSourceAndTargetProc extends ProcedureInvocationBase {
 		newSource.collectNeededEntities(needs);
 		newTarget.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edge);
+		db.append(newSource);
+		db.append(newTarget);
+		db.append(oldSourceName);
+		db.append(oldTargetName);
+	}
 }
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphRedirectSourceProc extends ProcedureInvocationBase {
 	private Expression edge;
 	private Expression newSource;
@@ -40,4 +42,11 @@ public class GraphRedirectSourceProc extends ProcedureInvocationBase {
 		edge.collectNeededEntities(needs);
 		newSource.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edge);
+		db.append(newSource);
+		db.append(oldSourceName);
+	}
 }
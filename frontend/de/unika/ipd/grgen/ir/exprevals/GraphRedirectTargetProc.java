@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphRedirectTargetProc extends ProcedureInvocationBase {
 	private Expression edge;
 	private Expression newTarget;
@@ -40,4 +42,11 @@ public class GraphRedirectTargetProc extends ProcedureInvocationBase {
 		edge.collectNeededEntities(needs);
 		newTarget.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edge);
+		db.append(newTarget);
+		db.append(oldTargetName);
+	}
 }
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphRemoveProc extends ProcedureInvocationBase {
 	private Expression entity;
 
@@ -27,4 +29,9 @@ public class GraphRemoveProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		entity.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(entity);
+	}
 }
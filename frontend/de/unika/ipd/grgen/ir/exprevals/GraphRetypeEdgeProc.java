@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphRetypeEdgeProc extends ProcedureInvocationBase {
 	private final Expression edge;
 	private final Expression newEdgeType;
@@ -35,5 +37,11 @@ public class GraphRetypeEdgeProc extends ProcedureInvocationBase {
 		edge.collectNeededEntities(needs);
 		newEdgeType.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edge);
+		db.append(newEdgeType);
+	}
 }
 
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class GraphRetypeNodeProc extends ProcedureInvocationBase {
 	private final Expression node;
 	private final Expression newNodeType;
@@ -35,5 +37,11 @@ public class GraphRetypeNodeProc extends ProcedureInvocationBase {
 		node.collectNeededEntities(needs);
 		newNodeType.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(node);
+		db.append(newNodeType);
+	}
 }
 
@@ -26,5 +26,10 @@ public class ImportExpr extends Expression {
 		pathExpr.collectNeededEntities(needs);
 		needs.needsGraph();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(pathExpr);
+	}
 }
 
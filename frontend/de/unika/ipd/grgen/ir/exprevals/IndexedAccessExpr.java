@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.containers.*;
 
 public class IndexedAccessExpr extends Expression {
@@ -36,4 +37,10 @@ public class IndexedAccessExpr extends Expression {
 	public Expression getKeyExpr() {
 		return keyExpr;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(targetExpr);
+		db.append(keyExpr);
+	}
 }
@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.IncidenceCountIndex;
 
 public class IndexedIncidenceCountIndexAccessExpr extends Expression {
@@ -35,4 +36,10 @@ public class IndexedIncidenceCountIndexAccessExpr extends Expression {
 	public Expression getKeyExpr() {
 		return keyExpr;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(target);
+		db.append(keyExpr);
+	}
 }
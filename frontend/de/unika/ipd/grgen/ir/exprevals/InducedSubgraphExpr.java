@@ -26,5 +26,10 @@ public class InducedSubgraphExpr extends Expression {
 		setExpr.collectNeededEntities(needs);
 		needs.needsGraph();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(setExpr);
+	}
 }
 
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class InsertCopyProc extends ProcedureInvocationBase {
 	private final Expression graphExpr;
 	private final Expression nodeExpr;
@@ -35,5 +37,11 @@ public class InsertCopyProc extends ProcedureInvocationBase {
 		graphExpr.collectNeededEntities(needs);
 		nodeExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(graphExpr);
+		db.append(nodeExpr);
+	}
 }
 
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class InsertDefinedSubgraphProc extends ProcedureInvocationBase {
 	private final Expression edgeSetExpr;
 	private final Expression edgeExpr;
@@ -35,5 +37,11 @@ public class InsertDefinedSubgraphProc extends ProcedureInvocationBase {
 		edgeSetExpr.collectNeededEntities(needs);
 		edgeExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edgeSetExpr);
+		db.append(edgeExpr);
+	}
 }
 
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class InsertInducedSubgraphProc extends ProcedureInvocationBase {
 	private final Expression nodeSetExpr;
 	private final Expression nodeExpr;
@@ -35,5 +37,11 @@ public class InsertInducedSubgraphProc extends ProcedureInvocationBase {
 		nodeSetExpr.collectNeededEntities(needs);
 		nodeExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(nodeSetExpr);
+		db.append(nodeExpr);
+	}
 }
 
@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class InsertProc extends ProcedureInvocationBase {
 	private final Expression graphExpr;
 
@@ -28,5 +30,10 @@ public class InsertProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		graphExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(graphExpr);
+	}
 }
 
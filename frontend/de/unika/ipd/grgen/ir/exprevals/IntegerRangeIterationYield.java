@@ -62,4 +62,12 @@ public class IntegerRangeIterationYield extends EvalStatement {
 		if(needs.variables != null)
 			needs.variables.remove(iterationVar);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(iterationVar);
+		db.append(leftExpr);
+		db.append(rightExpr);
+		db.append(accumulationStatements);
+	}
 }
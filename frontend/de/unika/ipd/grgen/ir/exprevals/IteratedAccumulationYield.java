@@ -54,4 +54,11 @@ public class IteratedAccumulationYield extends EvalStatement {
 		if(needs.variables != null)
 			needs.variables.remove(iterationVar);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(iterationVar);
+		db.append(iterated);
+		db.append(accumulationStatements);
+	}
 }
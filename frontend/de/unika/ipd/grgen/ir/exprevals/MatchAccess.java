@@ -53,5 +53,13 @@ public class MatchAccess extends Expression {
 	/** @see de.unika.ipd.grgen.ir.Expression#collectNeededEntities() */
 	public void collectNeededEntities(NeededEntities needs) {
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(expression);
+		db.append(node);
+		db.append(edge);
+		db.append(var);
+	}
 }
 
@@ -56,4 +56,11 @@ public class MatchesAccumulationYield extends EvalStatement {
 		if(needs.variables != null)
 			needs.variables.remove(iterationVar);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(iterationVar);
+		db.append(matchesVar);
+		db.append(accumulationStatements);
+	}
 }
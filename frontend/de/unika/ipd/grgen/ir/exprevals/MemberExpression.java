@@ -33,4 +33,9 @@ public class MemberExpression extends Expression {
 	public void collectNeededEntities(NeededEntities needs) {
 		needs.add(this);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(member);
+	}
 }
@@ -38,4 +38,9 @@ public class MemberInit extends IR {
 	public String toString() {
 		return getMember() + " = " + getExpression();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		db.append(member);
+		db.append(expr);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class MinExpr extends Expression {
 	private Expression leftExpr;
 	private Expression rightExpr;
@@ -33,4 +35,10 @@ public class MinExpr extends Expression {
 		leftExpr.collectNeededEntities(needs);
 		rightExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(leftExpr);
+		db.append(rightExpr);
+	}
 }
@@ -14,6 +14,8 @@ package de.unika.ipd.grgen.ir.exprevals;
 import java.util.Collection;
 import java.util.LinkedList;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents a multi statement in the IR.
  */
@@ -38,4 +40,9 @@ public class MultiStatement extends EvalStatement {
 		for(EvalStatement statement : statements)
 			statement.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(statements);
+	}
 }
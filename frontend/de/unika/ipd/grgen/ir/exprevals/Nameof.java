@@ -29,5 +29,10 @@ public class Nameof extends Expression {
 		if(namedEntity!=null)
 			namedEntity.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(namedEntity);
+	}
 }
 
@@ -11,6 +11,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 import de.unika.ipd.grgen.ast.BaseNode;
 import de.unika.ipd.grgen.ir.*;
@@ -58,6 +60,37 @@ public class NeededEntities {
 		this.collectComputationContext = collectComputationContext;
 	}
 
+	private static final int COLLECT_NODES = 1;
+	private static final int COLLECT_EDGES = 2;
+	private static final int COLLECT_VARS = 4;
+	private static final int COLLECT_ALL_ENTITIES = 8;
+	private static final int COLLECT_ALL_ATTRIBUTES = 16;
+	private static final int COLLECT_CONTAINER_EXPRS = 32;
+	private static final int COLLECT_COMPUTATION_CONTEXT = 64;
+	private static final int COLLECT_MEMBERS = 128;
+
+	/**
+	 * Instantiates a new NeededEntities object collecting what is specified by the given flags.
+	 */
+	private NeededEntities(int flags) {
+		this((flags & COLLECT_NODES) != 0, (flags & COLLECT_EDGES) != 0, (flags & COLLECT_VARS) != 0,
+				(flags & COLLECT_ALL_ENTITIES) != 0, (flags & COLLECT_ALL_ATTRIBUTES) != 0,
+				(flags & COLLECT_CONTAINER_EXPRS) != 0, (flags & COLLECT_COMPUTATION_CONTEXT) != 0,
+				(flags & COLLECT_MEMBERS) != 0);
+	}
+
+	/** @return The flags specifying what is currently collected. */
+	private int getFlags() {
+		return (nodes != null ? COLLECT_NODES : 0)
+			| (edges != null ? COLLECT_EDGES : 0)
+			| (variables != null ? COLLECT_VARS : 0)
+			| (entities != null ? COLLECT_ALL_ENTITIES : 0)
+			| (attrEntityMap != null ? COLLECT_ALL_ATTRIBUTES : 0)
+			| (collectContainerExprs ? COLLECT_CONTAINER_EXPRS : 0)
+			| (collectComputationContext ? COLLECT_COMPUTATION_CONTEXT : 0)
+			| (members != null ? COLLECT_MEMBERS : 0);
+	}
+
 	/**
 	 * Specifies whether the graph is needed.
 	 */
@@ -226,4 +259,144 @@ public class NeededEntities {
 	public void needsGraph() {
 		isGraphUsed = true;
 	}
+
+	/**
+	 * Adds the entities needed by the given expression, as expr.collectNeededEntities(this) does,
+	 * but walks the expression only once for each combination of the things to collect.
+	 * Only to be used when the IR is complete, i.e. by the code generators.
+	 * @param expr The expression whose needed entities are to be added.
+	 */
+	public void collect(Expression expr) {
+		int flags = getFlags();
+		Collected collected = Collected.find(expr.collectedNeededEntities, flags);
+		if(collected == null) {
+			NeededEntities needs = new NeededEntities(flags);
+			expr.collectNeededEntities(needs);
+			expr.collectedNeededEntities = collected = new Collected(flags, needs, expr.collectedNeededEntities);
+		}
+		collected.addTo(this);
+	}
+
+	/**
+	 * Adds the entities needed by the given statement, as stmt.collectNeededEntities(this) does,
+	 * but walks the statement only once for each combination of the things to collect.
+	 * Only to be used when the IR is complete, i.e. by the code generators.
+	 * @param stmt The statement whose needed entities are to be added.
+	 */
+	public void collect(EvalStatement stmt) {
+		int flags = getFlags();
+		Collected collected = Collected.find(stmt.collectedNeededEntities, flags);
+		if(collected == null) {
+			NeededEntities needs = new NeededEntities(flags);
+			stmt.collectNeededEntities(needs);
+			stmt.collectedNeededEntities = collected = new Collected(flags, needs, stmt.collectedNeededEntities);
+		}
+		collected.addTo(this);
+	}
+
+	/**
+	 * Adds the entities needed by the given statements, as stmts.collectNeededEntities(this) does,
+	 * but walks the statements only once for each combination of the things to collect.
+	 * Only to be used when the IR is complete, i.e. by the code generators.
+	 * @param stmts The statements whose needed entities are to be added.
+	 */
+	public void collect(EvalStatements stmts) {
+		int flags = getFlags();
+		Collected collected = Collected.find(stmts.collectedNeededEntities, flags);
+		if(collected == null) {
+			NeededEntities needs = new NeededEntities(flags);
+			stmts.collectNeededEntities(needs);
+			stmts.collectedNeededEntities = collected = new Collected(flags, needs, stmts.collectedNeededEntities);
+		}
+		collected.addTo(this);
+	}
+
+	/**
+	 * The entities collected from an expression or statement for one combination of the things to collect,
+	 * in the order they were collected; immutable.
+	 * The results for the different combinations are chained.
+	 */
+	static final class Collected {
+		private final int flags;
+		private final Collected next;
+
+		private final boolean isGraphUsed;
+		private final Node[] nodes;
+		private final Edge[] edges;
+		private final Variable[] variables;
+		private final Entity[] entities;
+		private final Entity[] members;
+		private final GraphEntity[] attrEntities;
+		private final Entity[][] attrs;
+		private final Node[] attrNodes;
+		private final Edge[] attrEdges;
+		private final Expression[] containerExprs;
+
+		Collected(int flags, NeededEntities needs, Collected next) {
+			this.flags = flags;
+			this.next = next;
+			isGraphUsed = needs.isGraphUsed;
+			nodes = needs.nodes != null ? needs.nodes.toArray(new Node[needs.nodes.size()]) : null;
+			edges = needs.edges != null ? needs.edges.toArray(new Edge[needs.edges.size()]) : null;
+			variables = needs.variables != null ? needs.variables.toArray(new Variable[needs.variables.size()]) : null;
+			entities = needs.entities != null ? needs.entities.toArray(new Entity[needs.entities.size()]) : null;
+			members = needs.members != null ? needs.members.toArray(new Entity[needs.members.size()]) : null;
+			if(needs.attrEntityMap != null) {
+				attrEntities = new GraphEntity[needs.attrEntityMap.size()];
+				attrs = new Entity[needs.attrEntityMap.size()][];
+				int i = 0;
+				for(Map.Entry<GraphEntity, HashSet<Entity>> entry : needs.attrEntityMap.entrySet()) {
+					attrEntities[i] = entry.getKey();
+					attrs[i] = entry.getValue().toArray(new Entity[entry.getValue().size()]);
+					++i;
+				}
+				attrNodes = needs.attrNodes.toArray(new Node[needs.attrNodes.size()]);
+				attrEdges = needs.attrEdges.toArray(new Edge[needs.attrEdges.size()]);
+			} else {
+				attrEntities = null;
+				attrs = null;
+				attrNodes = null;
+				attrEdges = null;
+			}
+			containerExprs = needs.containerExprs != null
+				? needs.containerExprs.toArray(new Expression[needs.containerExprs.size()]) : null;
+		}
+
+		static Collected find(Collected collected, int flags) {
+			while(collected != null && collected.flags != flags) {
+				collected = collected.next;
+			}
+			return collected;
+		}
+
+		/** Adds the collected entities to the given NeededEntities collecting the same things. */
+		void addTo(NeededEntities needs) {
+			if(isGraphUsed)
+				needs.isGraphUsed = true;
+			addAll(needs.nodes, nodes);
+			addAll(needs.edges, edges);
+			addAll(needs.variables, variables);
+			addAll(needs.entities, entities);
+			addAll(needs.members, members);
+			if(attrEntities != null) {
+				for(int i = 0; i < attrEntities.length; ++i) {
+					HashSet<Entity> attrsOfEntity = needs.attrEntityMap.get(attrEntities[i]);
+					if(attrsOfEntity == null)
+						needs.attrEntityMap.put(attrEntities[i], attrsOfEntity = new LinkedHashSet<Entity>());
+					addAll(attrsOfEntity, attrs[i]);
+				}
+				addAll(needs.attrNodes, attrNodes);
+				addAll(needs.attrEdges, attrEdges);
+			}
+			addAll(needs.containerExprs, containerExprs);
+		}
+
+		private static <T> void addAll(Set<? super T> set, T[] elements) {
+			if(elements == null)
+				return;
+			for(T element : elements) {
+				set.add(element);
+			}
+		}
+	}
 }
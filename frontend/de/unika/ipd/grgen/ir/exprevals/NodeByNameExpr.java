@@ -26,5 +26,10 @@ public class NodeByNameExpr extends Expression {
 		needs.needsGraph();
 		name.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(name);
+	}
 }
 
@@ -26,5 +26,10 @@ public class NodeByUniqueExpr extends Expression {
 		needs.needsGraph();
 		unique.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(unique);
+	}
 }
 
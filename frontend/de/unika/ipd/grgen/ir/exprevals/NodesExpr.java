@@ -26,5 +26,10 @@ public class NodesExpr extends Expression {
 		needs.needsGraph();
 		nodeType.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(nodeType);
+	}
 }
 
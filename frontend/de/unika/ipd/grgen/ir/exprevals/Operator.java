@@ -106,9 +106,33 @@ public class Operator extends Expression {
 		return operands;
 	}
 
-	/** @see de.unika.ipd.grgen.ir.Expression#collectNeededEntities() */
+	/**
+	 * @see de.unika.ipd.grgen.ir.Expression#collectNeededEntities()
+	 * The nested operators are walked with an explicit stack instead of recursion,
+	 * so long operator chains (e.g. a + b + c + ...) don't overflow the call stack.
+	 */
 	public void collectNeededEntities(NeededEntities needs) {
-		for(Expression child : getWalkableChildren())
-			child.collectNeededEntities(needs);
+		ArrayList<Expression> stack = new ArrayList<Expression>();
+		pushOperandsReversed(this, stack);
+		while(!stack.isEmpty()) {
+			Expression operand = stack.remove(stack.size() - 1);
+			if(operand instanceof Operator)
+				pushOperandsReversed((Operator)operand, stack);
+			else
+				operand.collectNeededEntities(needs);
+		}
+	}
+
+	/** push the operands so they are popped from left to right */
+	private static void pushOperandsReversed(Operator op, ArrayList<Expression> stack) {
+		for(int i = op.operands.size() - 1; i >= 0; --i) {
+			stack.add(op.operands.get(i));
+		}
+	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(operands);
+		db.append(opCode);
 	}
 }
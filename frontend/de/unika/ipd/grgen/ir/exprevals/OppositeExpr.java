@@ -32,5 +32,11 @@ public class OppositeExpr extends Expression {
 		edge.collectNeededEntities(needs);
 		node.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edge);
+		db.append(node);
+	}
 }
 
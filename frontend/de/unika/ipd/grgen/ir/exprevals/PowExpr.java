@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class PowExpr extends Expression {
 	private Expression leftExpr;
 	private Expression rightExpr;
@@ -38,4 +40,10 @@ public class PowExpr extends Expression {
 		if(leftExpr!=null) leftExpr.collectNeededEntities(needs);
 		rightExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(leftExpr);
+		db.append(rightExpr);
+	}
 }
@@ -44,4 +44,9 @@ public abstract class ProcedureBase extends Identifiable {
 	
 	/** Get all parameter types of this procedure. */
 	public abstract List<Type> getParameterTypes();
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(returnTypes);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * A procedure invocation.
  */
@@ -32,4 +34,9 @@ public class ProcedureInvocation extends ProcedureInvocationBase {
 	public Procedure getProcedure() {
 		return procedure;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(procedure);
+	}
 }
@@ -85,4 +85,10 @@ public abstract class ProcedureInvocationBase extends EvalStatement {
 	}
 	
 	public abstract ProcedureBase getProcedureBase();
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(arguments);
+		db.append(returnTypes);
+	}
 }
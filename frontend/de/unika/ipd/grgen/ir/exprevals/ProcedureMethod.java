@@ -31,4 +31,9 @@ public class ProcedureMethod extends Procedure {
 	public void setOwner(Type type) {
 		owner = type;
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(owner);
+	}
 }
@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.Type;
 
 public class ProjectionExpr extends Expression {
@@ -42,4 +43,11 @@ public class ProjectionExpr extends Expression {
 
 	public void collectNeededEntities(NeededEntities needs) {
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(index);
+		db.append(procedure);
+		db.append(projectedValueVarName);
+	}
 }
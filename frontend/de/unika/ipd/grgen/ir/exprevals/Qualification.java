@@ -67,5 +67,12 @@ public class Qualification extends Expression {
 			ownerExpr.collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(owner);
+		db.append(ownerExpr);
+		db.append(member);
+	}
 }
 
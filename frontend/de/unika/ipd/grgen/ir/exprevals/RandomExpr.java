@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class RandomExpr extends Expression {
 	private Expression numExpr;
 
@@ -23,4 +25,9 @@ public class RandomExpr extends Expression {
 		if(numExpr!=null)
 			numExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(numExpr);
+	}
 }
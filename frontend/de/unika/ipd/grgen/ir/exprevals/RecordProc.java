@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class RecordProc extends ProcedureInvocationBase {
 	private Expression toRecordExpr;
 
@@ -31,4 +33,9 @@ public class RecordProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		toRecordExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(toRecordExpr);
+	}
 }
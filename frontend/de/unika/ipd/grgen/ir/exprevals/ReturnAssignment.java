@@ -12,6 +12,8 @@ package de.unika.ipd.grgen.ir.exprevals;
 
 import java.util.Vector;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 
 /**
  * Represents an assignment of procedure invocation return values statement in the IR.
@@ -45,4 +47,10 @@ public class ReturnAssignment extends EvalStatement {
 		}
 		procedureInvocation.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(procedureInvocation);
+		db.append(targets);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents a return statement of a function in the IR.
  */
@@ -31,4 +33,9 @@ public class ReturnStatement extends EvalStatement {
 	{
 		returnValueExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(returnValueExpr);
+	}
 }
@@ -13,6 +13,8 @@ package de.unika.ipd.grgen.ir.exprevals;
 
 import java.util.Vector;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents a return statement of a procedure in the IR.
  */
@@ -38,4 +40,9 @@ public class ReturnStatementProcedure extends EvalStatement {
 			returnValueExpr.collectNeededEntities(needs);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(returnValuesExprs);
+	}
 }
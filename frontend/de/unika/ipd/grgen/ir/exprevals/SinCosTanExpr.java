@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class SinCosTanExpr extends Expression {
 	private int which;
 	private Expression expr;
@@ -36,4 +38,10 @@ public class SinCosTanExpr extends Expression {
 	public void collectNeededEntities(NeededEntities needs) {
 		expr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(which);
+		db.append(expr);
+	}
 }
@@ -11,6 +11,7 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
 import de.unika.ipd.grgen.ir.Type;
 
 public class StringAsArray extends Expression {
@@ -34,4 +35,10 @@ public class StringAsArray extends Expression {
 		stringExpr.collectNeededEntities(needs);
 		stringToSplitAtExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(stringExpr);
+		db.append(stringToSplitAtExpr);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class StringEndsWith extends Expression {
 	private Expression stringExpr, stringToSearchForExpr;
 
@@ -32,4 +34,10 @@ public class StringEndsWith extends Expression {
 		stringExpr.collectNeededEntities(needs);
 		stringToSearchForExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(stringExpr);
+		db.append(stringToSearchForExpr);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class StringIndexOf extends Expression {
 	private Expression stringExpr;
 	private Expression stringToSearchForExpr;
@@ -47,4 +49,11 @@ public class StringIndexOf extends Expression {
 		if(startIndexExpr!=null)
 			startIndexExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(stringExpr);
+		db.append(stringToSearchForExpr);
+		db.append(startIndexExpr);
+	}
 }
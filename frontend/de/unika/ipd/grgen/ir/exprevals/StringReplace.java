@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class StringReplace extends Expression {
 	private Expression stringExpr, startExpr, lengthExpr, replaceStrExpr;
 
@@ -45,4 +47,12 @@ public class StringReplace extends Expression {
 		lengthExpr.collectNeededEntities(needs);
 		replaceStrExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(stringExpr);
+		db.append(startExpr);
+		db.append(lengthExpr);
+		db.append(replaceStrExpr);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class StringSubstring extends Expression {
 	private Expression stringExpr, startExpr, lengthExpr;
 
@@ -39,4 +41,11 @@ public class StringSubstring extends Expression {
 		if(lengthExpr != null)
 			lengthExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(stringExpr);
+		db.append(startExpr);
+		db.append(lengthExpr);
+	}
 }
@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class StringToUpper extends Expression {
 	private Expression stringExpr;
 
@@ -26,4 +28,9 @@ public class StringToUpper extends Expression {
 	public void collectNeededEntities(NeededEntities needs) {
 		stringExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(stringExpr);
+	}
 }
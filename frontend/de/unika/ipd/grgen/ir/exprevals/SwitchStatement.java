@@ -14,6 +14,8 @@ package de.unika.ipd.grgen.ir.exprevals;
 import java.util.Collection;
 import java.util.LinkedList;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 /**
  * Represents a switch statement in the IR.
  */
@@ -45,4 +47,10 @@ public class SwitchStatement extends EvalStatement {
 		for(EvalStatement statement : statements)
 			statement.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(switchExpr);
+		db.append(statements);
+	}
 }
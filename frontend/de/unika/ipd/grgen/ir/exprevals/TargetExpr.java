@@ -25,5 +25,10 @@ public class TargetExpr extends Expression {
 	public void collectNeededEntities(NeededEntities needs) {
 		edge.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(edge);
+	}
 }
 
@@ -35,5 +35,10 @@ public class Typeof extends Expression {
 				needs.add((Variable) entity);
 		}
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(entity);
+	}
 }
 
@@ -29,5 +29,10 @@ public class Uniqueof extends Expression {
 		if(entity!=null)
 			entity.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(entity);
+	}
 }
 
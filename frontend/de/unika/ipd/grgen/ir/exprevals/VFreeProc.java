@@ -11,6 +11,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class VFreeProc extends ProcedureInvocationBase {
 	private Expression visFlagExpr;
 
@@ -31,4 +33,9 @@ public class VFreeProc extends ProcedureInvocationBase {
 		needs.needsGraph();
 		visFlagExpr.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(visFlagExpr);
+	}
 }
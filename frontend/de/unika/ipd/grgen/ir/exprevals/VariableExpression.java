@@ -43,4 +43,9 @@ public class VariableExpression extends Expression {
 	public int hashCode() {
 		return var.hashCode();
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(var);
+	}
 }
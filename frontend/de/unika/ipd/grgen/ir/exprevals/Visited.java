@@ -7,6 +7,8 @@
 
 package de.unika.ipd.grgen.ir.exprevals;
 
+import de.unika.ipd.grgen.ir.DigestBuilder;
+
 public class Visited extends Expression {
 	private Expression visitorID;
 	private Expression entity;
@@ -30,4 +32,10 @@ public class Visited extends Expression {
 		entity.collectNeededEntities(needs);
 		visitorID.collectNeededEntities(needs);
 	}
+
+	public void addToDigest(DigestBuilder db) {
+		super.addToDigest(db);
+		db.append(visitorID);
+		db.append(entity);
+	}
 }
@@ -117,7 +117,7 @@ public abstract class ParserEnvironment extends Base {
 		stdModel = new ModelNode(predefine(ENTITIES, "Std"), stdModelPackages, stdModelChilds, 
 				new CollectNode<IdentNode>(), new CollectNode<IdentNode>(),
 				new CollectNode<IdentNode>(), new CollectNode<ModelNode>(), 
-				false, false, false, false, false, false, false, 0);
+				false, false, false, false, false, false, false, 0, -1);
 
 		// The node type root
 		nodeRoot = predefineType("Node",
@@ -164,7 +164,8 @@ public abstract class ParserEnvironment extends Base {
 			curr = new File(modelFile);
 		else
 			curr = new File(modelPath, modelFile);
-		debug.report(NOTE, "trying: " + curr);
+		if(debug.isReporting(NOTE))
+			debug.report(NOTE, "trying: " + curr);
 
 		File res = null;
 		if(curr.exists())
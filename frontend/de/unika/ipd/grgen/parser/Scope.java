@@ -11,8 +11,8 @@
 
 package de.unika.ipd.grgen.parser;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -55,7 +55,13 @@ public class Scope {
 	 * A list of all occurrences without a definition in this scope.
 	 * Will be used to enter the proper definition in {@link #leaveScope()}
 	 */
-	private final List<Symbol.Occurrence> occFixup = new LinkedList<Symbol.Occurrence>();
+	private final List<Symbol.Occurrence> occFixup = new ArrayList<Symbol.Occurrence>();
+
+	/** The definitions visible in the innermost open scope, shared by all scopes of the scope tree. */
+	private final VisibleDefinitions visibleDefs;
+
+	/** The marker to unwind the visible definitions to when this scope is left. */
+	private final int visibleDefsMarker;
 
 	/** An invalid scope. */
 	private static final Scope INVALID = null;//new Scope(null, -1, new IdentNode(new Definition(null, Coords.getBuiltin(), new Symbol("<invalid>", SymbolTable.getInvalid()))));
@@ -78,6 +84,8 @@ public class Scope {
 		// this.id = 0;
 		this.reporter = reporter;
 		this.ident = null;//new IdentNode(new Definition(null, Coords.getBuiltin(), new Symbol("ROOT", SymbolTable.getInvalid())));
+		this.visibleDefs = new VisibleDefinitions(this);
+		this.visibleDefsMarker = 0;
 	}
 
 	/**
@@ -92,6 +100,16 @@ public class Scope {
 		// this.id = id;
 		this.ident = ident;
 		this.reporter = parent != null ? parent.reporter : null;
+		this.visibleDefs = parent.visibleDefs;
+		this.visibleDefsMarker = parent.isInnermost() ? visibleDefs.enter(this) : -1;
+	}
+
+	/**
+	 * Checks, if this scope is the innermost scope open during parsing,
+	 * the definitions visible in it are known then without walking up the scope chain.
+	 */
+	private boolean isInnermost() {
+		return visibleDefs.getCurrent() == this;
 	}
 
 	/**
@@ -124,12 +142,9 @@ public class Scope {
 	 * if the symbol has not been defined in this scope.
 	 */
 	public Symbol.Definition getLocalDef(Symbol sym) {
-		Symbol.Definition res = Symbol.Definition.getInvalid();
-
-		if(defs.containsKey(sym))
-			res = defs.get(sym);
+		Symbol.Definition res = defs.get(sym);
 
-		return res;
+		return res != null ? res : Symbol.Definition.getInvalid();
 	}
 
 	/**
@@ -140,12 +155,16 @@ public class Scope {
 	 * in this scope.
 	 */
 	public Definition getCurrDef(Symbol symbol) {
-		Symbol.Definition def = getLocalDef(symbol);
+		if(isInnermost())
+			return visibleDefs.get(symbol);
 
-		if(!(def.isValid() || isRoot()))
-			def = parent.getCurrDef(symbol);
+		for(Scope scope = this; scope != null; scope = scope.parent) {
+			Symbol.Definition def = scope.getLocalDef(symbol);
+			if(def.isValid())
+				return def;
+		}
 
-		return def;
+		return Symbol.Definition.getInvalid();
 	}
 
 	/**
@@ -201,6 +220,8 @@ public class Scope {
 			try {
 				def = sym.define(this, coords);
 				defs.put(sym, def);
+				if(isInnermost())
+					visibleDefs.push(def);
 			} catch(SymbolTableException e) {
 				reporter.error(e.getMessage());
 			}
@@ -249,7 +270,7 @@ public class Scope {
 	public Scope newOrReuseScope(IdentNode name) {
 		for(Scope child : childs) {
 			if(child.getIdentNode().toString().equals(name))
-				return child;
+				return child; // not entered again, its definitions are looked up walking up the scope chain
 		}
 		Scope s = new Scope(this, childs.size(), name);
 		childs.add(s);
@@ -263,11 +284,13 @@ public class Scope {
 	public Scope leaveScope() {
 
 		// fixup all occurrences by entering the correct definition.
-		for(Iterator<Symbol.Occurrence> it = occFixup.iterator(); it.hasNext();) {
-			Symbol.Occurrence occ = it.next();
+		for(Symbol.Occurrence occ : occFixup) {
 			occ.def = getCurrDef(occ.symbol);
 		}
 
+		if(isInnermost())
+			visibleDefs.leave(visibleDefsMarker, parent);
+
 		return parent;
 	}
 
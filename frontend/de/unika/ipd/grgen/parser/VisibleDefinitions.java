@@ -0,0 +1,83 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.parser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The definitions visible in the innermost open scope while parsing, shared by all scopes of a scope tree.
+ * Keeps a stack of definitions per symbol, the top one being the visible one,
+ * so the visible definition is found without walking up the scope chain.
+ * A definition made in the innermost open scope is pushed on the stack of its symbol;
+ * when the scope is left, its definitions are popped again, unwinding the stacks
+ * to the marker recorded on entering the scope.
+ */
+class VisibleDefinitions {
+
+	/** The top of the definition stack of each symbol with a visible definition. */
+	private final Map<Symbol, Symbol.Definition> visible = new HashMap<Symbol, Symbol.Definition>();
+
+	/**
+	 * The symbols of the pushed definitions in the order they were pushed,
+	 * with the definition each push shadowed (null if there was none); used for unwinding.
+	 */
+	private final List<Symbol> pushedSymbols = new ArrayList<Symbol>();
+	private final List<Symbol.Definition> shadowed = new ArrayList<Symbol.Definition>();
+
+	/** The innermost open scope, null after the root scope was left. */
+	private Scope current;
+
+	VisibleDefinitions(Scope root) {
+		this.current = root;
+	}
+
+	/** @return The innermost open scope, the one whose visible definitions are known. */
+	Scope getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Enter a new innermost scope.
+	 * @return The marker to unwind to on leaving the scope.
+	 */
+	int enter(Scope scope) {
+		current = scope;
+		return pushedSymbols.size();
+	}
+
+	/** Leave the innermost scope, removing its definitions pushed since its marker. */
+	void leave(int marker, Scope parent) {
+		for(int i = pushedSymbols.size() - 1; i >= marker; --i) {
+			Symbol sym = pushedSymbols.remove(i);
+			Symbol.Definition def = shadowed.remove(i);
+			if(def == null)
+				visible.remove(sym);
+			else
+				visible.put(sym, def);
+		}
+		current = parent;
+	}
+
+	/** Push a definition made in the innermost scope. */
+	void push(Symbol.Definition def) {
+		pushedSymbols.add(def.getSymbol());
+		shadowed.add(visible.put(def.getSymbol(), def));
+	}
+
+	/**
+	 * @return The visible definition of the symbol in the innermost scope,
+	 * or an invalid definition if there is none.
+	 */
+	Symbol.Definition get(Symbol sym) {
+		Symbol.Definition def = visible.get(sym);
+		return def != null ? def : Symbol.Definition.getInvalid();
+	}
+}
@@ -13,12 +13,15 @@ package de.unika.ipd.grgen.parser.antlr;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Stack;
 
 import org.antlr.runtime.*;
 
+import de.unika.ipd.grgen.CompilationAbortedException;
 import de.unika.ipd.grgen.Sys;
 import de.unika.ipd.grgen.ast.*;
 import de.unika.ipd.grgen.parser.ParserEnvironment;
@@ -33,6 +36,15 @@ public class GRParserEnvironment extends ParserEnvironment {
 	private HashSet<String> modelsOnStack = new HashSet<String>();
 	private HashMap<String, ModelNode> models = new HashMap<String, ModelNode>();
 
+	/** The persistent cache of lexed models, null if models are not cached */
+	private ModelTokenCache modelTokenCache = null;
+
+	/** The files included by the models being lexed for the model cache, by the lexer of the model */
+	private HashMap<Lexer, List<File>> includedFilesOfModel = new HashMap<Lexer, List<File>>();
+
+	/** The pool of the windows of the mapped input streams, null if the input files are read into memory instead */
+	private MappedFileStream.BufferPool bufferPool = null;
+
 	/** The base directory of the specification or null for the current directory */
 	private File baseDir = null;
 
@@ -40,6 +52,12 @@ public class GRParserEnvironment extends ParserEnvironment {
 
 	public GRParserEnvironment(Sys system) {
 		super(system);
+
+		File modelCacheDir = system.getModelCacheDir();
+		if(modelCacheDir != null)
+			modelTokenCache = new ModelTokenCache(modelCacheDir);
+		if(system.mappedInput())
+			bufferPool = new MappedFileStream.BufferPool();
 	}
 
     public void pushFile(Lexer lexer, File file) throws RecognitionException {
@@ -51,9 +69,11 @@ public class GRParserEnvironment extends ParserEnvironment {
 			System.err.println("GrGen: [ERROR at " + getFilename() + ":" + lexer.getLine()
 					+ "," + lexer.getCharPositionInLine() + "] found circular include with file \""
 					+ filePath + "\"");
-			System.exit(1);
+			throw new CompilationAbortedException(1);
 		}
 		filesOnStack.add(filePath);
+		if(includedFilesOfModel.containsKey(lexer))
+			includedFilesOfModel.get(lexer).add(file);
 
 		try {
 			// save current lexer's state
@@ -62,7 +82,8 @@ public class GRParserEnvironment extends ParserEnvironment {
 	        includes.push(new SubunitInclude(input, marker));
 
 	        // switch on new input stream
-	        ANTLRFileStream stream = new ANTLRFileStream(file.getPath());
+	        CharStream stream = openStream(file);
+	        releaseBuffers(input); // to be used by the included file
 	        lexer.setCharStream(stream);
 	        lexer.reset();
 	        filename = file.getPath();
@@ -71,7 +92,7 @@ public class GRParserEnvironment extends ParserEnvironment {
 			System.err.println("GrGen: [ERROR at " + getFilename() + ":" + lexer.getLine()
 					+ "," + lexer.getCharPositionInLine() + "] included file could not be found: \""
 					+ filePath + "\"");
-			System.exit(1);
+			throw new CompilationAbortedException(1);
 	  	}
 	}
 
@@ -81,6 +102,7 @@ public class GRParserEnvironment extends ParserEnvironment {
 			filesOnStack.remove(lexer.getSourceName());
 
 			SubunitInclude include = includes.pop();
+			releaseBuffers(lexer.getCharStream()); // the included file is finished
 			lexer.setCharStream(include.charStream);
 			lexer.getCharStream().rewind(include.marking);
 			filename = lexer.getCharStream().getSourceName();
@@ -90,6 +112,23 @@ public class GRParserEnvironment extends ParserEnvironment {
     	return false;
 	}
 
+	/**
+	 * Open the input stream of a file for the lexer; it is read into memory as a whole,
+	 * unless mapped input is requested, then it is mapped and lexed in windows from the pool.
+	 * The mapped stream lexes slower, it only pays off by its constant heap for large files.
+	 */
+	private CharStream openStream(File file) throws IOException {
+		if(bufferPool != null)
+			return new MappedFileStream(file, bufferPool);
+		return new ANTLRFileStream(file.getPath());
+	}
+
+	/** Give the windows of a suspended or finished input stream back to the pool, if they are pooled. */
+	private static void releaseBuffers(CharStream input) {
+		if(input instanceof MappedFileStream)
+			((MappedFileStream)input).releaseBuffers();
+	}
+
 	@Override
 	public String getFilename() {
 		return filename;
@@ -101,7 +140,7 @@ public class GRParserEnvironment extends ParserEnvironment {
 		baseDir = inputFile.getParentFile();
 
 		try {
-			ANTLRFileStream stream = new ANTLRFileStream(inputFile.getPath());
+			CharStream stream = openStream(inputFile);
 			GrGenLexer lexer = new GrGenLexer(stream);
 			lexer.setEnv(this);
 			CommonTokenStream tokenStream = new CommonTokenStream(lexer);
@@ -117,14 +156,15 @@ public class GRParserEnvironment extends ParserEnvironment {
 			catch(RecognitionException e) {
 				e.printStackTrace(System.err);
 				System.err.println("parser exception: " + e.getMessage());
-				System.exit(1);
+				throw new CompilationAbortedException(1);
 			}
 
 			includes.pop();
+			releaseBuffers(stream);
 		}
 		catch(IOException e) {
 			System.err.println("input file not found: " + e.getMessage());
-			System.exit(1);
+			throw new CompilationAbortedException(1);
 		}
 
 		return root;
@@ -138,7 +178,7 @@ public class GRParserEnvironment extends ParserEnvironment {
 			System.err.println("GrGen: [ERROR at " + getFilename() + /*":" + curlexer.getLine()
 					+ "," + curlexer.getCharPositionInLine() +*/ "] found circular model usage with file \""
 					+ filePath + "\"");
-			System.exit(1);
+			throw new CompilationAbortedException(1);
 		}
 
 		root = models.get(filePath);
@@ -147,10 +187,17 @@ public class GRParserEnvironment extends ParserEnvironment {
 		modelsOnStack.add(filePath);
 
 		try {
-			ANTLRFileStream stream = new ANTLRFileStream(inputFile.getPath());
-			GrGenLexer lexer = new GrGenLexer(stream);
-			lexer.setEnv(this);
-			CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+			TokenSource tokenSource = modelTokenCache != null ? modelTokenCache.lookup(inputFile) : null;
+			GrGenLexer lexer = null;
+			if(tokenSource == null) {
+				CharStream stream = openStream(inputFile);
+				lexer = new GrGenLexer(stream);
+				lexer.setEnv(this);
+				if(modelTokenCache != null)
+					includedFilesOfModel.put(lexer, new ArrayList<File>());
+				tokenSource = lexer;
+			}
+			CommonTokenStream tokenStream = new CommonTokenStream(tokenSource);
 			GrGenParser parser = new GrGenParser(tokenStream);
 			includes.push(new SubunitInclude(parser));
 			String oldFilename = filename;
@@ -164,16 +211,30 @@ public class GRParserEnvironment extends ParserEnvironment {
 			catch(RecognitionException e) {
 				e.printStackTrace(System.err);
 				System.err.println("parser exception: " + e.getMessage());
-				System.exit(1);
+				throw new CompilationAbortedException(1);
 			}
 
 			filename = oldFilename;
 
 			includes.pop();
+
+			if(lexer != null && modelTokenCache != null) {
+				List<File> includedFiles = includedFilesOfModel.remove(lexer);
+				if(!parser.hadError()) {
+					tokenStream.fill();
+					if(lexer.getNumberOfSyntaxErrors() == 0) {
+						@SuppressWarnings("unchecked")
+						List<Token> tokens = tokenStream.getTokens();
+						modelTokenCache.store(inputFile, includedFiles, tokens);
+					}
+				}
+			}
+			if(lexer != null)
+				releaseBuffers(lexer.getCharStream());
 		}
 		catch(IOException e) {
 			System.err.println("cannot load graph model: " + e.getMessage());
-			System.exit(1);
+			throw new CompilationAbortedException(1);
 		}
 
 		modelsOnStack.remove(filePath);
@@ -255,13 +255,21 @@ textActions returns [ UnitNode main = null ]
 				for(ModelNode modelChild : modelChilds.getChildren()) {
 					isoParallel = Math.max(isoParallel, modelChild.IsoParallel());
 				}
+				// the used models are generated as one model, so their element classes share one pool size:
+				// the largest size declared wins (as for isoParallel), a larger pool than asked for by a model
+				// only keeps more removed elements alive, while a smaller one would defeat the pooling asked for
+				// by the other model; -1 (not declared) does not count
+				int poolSize = -1;
+				for(ModelNode modelChild : modelChilds.getChildren()) {
+					poolSize = Math.max(poolSize, modelChild.PoolSize());
+				}
 				ModelNode model = new ModelNode(id, new CollectNode<IdentNode>(),
 						new CollectNode<IdentNode>(), new CollectNode<IdentNode>(), 
 						new CollectNode<IdentNode>(), new CollectNode<IdentNode>(), modelChilds, 
 						isEmitClassDefined, isEmitGraphClassDefined, isCopyClassDefined, 
 						isEqualClassDefined, isLowerClassDefined,
 						isUniqueDefined, isUniqueIndexDefined,
-						isoParallel);
+						isoParallel, poolSize);
 				modelChilds = new CollectNode<ModelNode>();
 				modelChilds.addChild(model);
 			}
@@ -909,10 +917,10 @@ nodeStorageIndexContinuation [ IdentNode id, IdentNode type, int context, Patter
 				n = new MatchNodeByStorageAccessNode(id, type, context, 
 					attr==null ? new IdentExprNode(oldid) : new QualIdentNode(getCoords(d), oldid, attr), new IdentExprNode(mapAccess), directlyNestingLHSGraph);
 		}
-	| idx=indexIdentUse EQUAL e=expr[false]
+	| idx=indexIdentUse EQUAL es=indexAccessEqualityExprs
 		{
 			n = new MatchNodeByIndexAccessEqualityNode(id, type, context, 
-						idx, e, directlyNestingLHSGraph);
+						idx, es, directlyNestingLHSGraph);
 		}
 	| i=IDENT LPAREN idx=indexIdentUse (os=relOS e=expr[false] (COMMA idx2=indexIdentUse os2=relOS e2=expr[false])?)? RPAREN
 		{
@@ -939,6 +947,11 @@ nodeStorageIndexContinuation [ IdentNode id, IdentNode type, int context, Patter
 		}
 	;
 
+// the values an index is accessed with by equality, one for each attribute of a composite index
+indexAccessEqualityExprs returns [ CollectNode<ExprNode> res = new CollectNode<ExprNode>() ]
+	: e=expr[false] { res.addChild(e); } ( COMMA e=expr[false] { res.addChild(e); } )*
+	;
+
 relOS returns [ int os = OperatorSignature.ERROR ]
 	: lt=LT { os = OperatorSignature.LT; }
 	| le=LE { os = OperatorSignature.LE; }
@@ -1420,10 +1433,10 @@ edgeStorageIndexContinuation [ IdentNode id, IdentNode type, int context, Patter
 				res = new MatchEdgeByStorageAccessNode(id, type, context, 
 					attr==null ? new IdentExprNode(oldid) : new QualIdentNode(getCoords(d), oldid, attr), new IdentExprNode(mapAccess), directlyNestingLHSGraph);
 		}
-	| idx=indexIdentUse EQUAL e=expr[false]
+	| idx=indexIdentUse EQUAL es=indexAccessEqualityExprs
 		{
 			res = new MatchEdgeByIndexAccessEqualityNode(id, type, context, 
-						idx, e, directlyNestingLHSGraph);
+						idx, es, directlyNestingLHSGraph);
 		}
 	| i=IDENT LPAREN idx=indexIdentUse (os=relOS e=expr[false] (COMMA idx2=indexIdentUse os2=relOS e2=expr[false])?)? RPAREN
 		{
@@ -1892,7 +1905,7 @@ textTypes returns [ ModelNode model = null ]
 				$specialClasses.isEmitClassDefined, $specialClasses.isEmitGraphClassDefined, $specialClasses.isCopyClassDefined, 
 				$specialClasses.isEqualClassDefined, $specialClasses.isLowerClassDefined,
 				$specialClasses.isUniqueDefined, $specialClasses.isUniqueIndexDefined,
-				$specialClasses.isoParallel);
+				$specialClasses.isoParallel, $specialClasses.poolSize);
 		}
 	;
 
@@ -1902,7 +1915,7 @@ typeDecls [ CollectNode<IdentNode> types, CollectNode<IdentNode> packages,
 		returns [ boolean isEmitClassDefined = false, boolean isEmitGraphClassDefined = false, boolean isCopyClassDefined = false, 
 				  boolean isEqualClassDefined = false, boolean isLowerClassDefined = false,
 				  boolean isUniqueDefined = false, boolean isUniqueIndexDefined = false,
-				  int isoParallel = 0;]
+				  int isoParallel = 0, int poolSize = -1;]
 	@init{
 		boolean graphFound = false;
 	}
@@ -1913,7 +1926,31 @@ typeDecls [ CollectNode<IdentNode> types, CollectNode<IdentNode> packages,
 	  |
 		externalFunctionOrProcedureDecl[externalFuncs, externalProcs]
 	  |
-	    NODE EDGE i=IDENT SEMI { if(!i.getText().equals("unique")) reportError(getCoords(i), "malformed \"node edge unique;\""); else $isUniqueDefined = true; }
+	    NODE EDGE i=IDENT
+			(
+				{
+					if(!i.getText().equals("unique"))
+						reportError(getCoords(i), "malformed \"node edge unique;\" or \"node edge pool[size=k];\"");
+					else
+						$isUniqueDefined = true;
+				}
+			|
+				LBRACK j=IDENT ASSIGN con=constant RBRACK
+				{
+					if(!i.getText().equals("pool"))
+						reportError(getCoords(i), "malformed \"node edge pool[size=k];\"");
+					else if(!j.getText().equals("size"))
+						reportError(getCoords(j), "malformed \"node edge pool[size=k];\"");
+					else {
+						Object ps = con instanceof ConstNode ? ((ConstNode) con).getValue() : null;
+						if(!(ps instanceof Integer))
+							reportError(getCoords(i), "\"node edge pool[size=k];\" requires an integer constant");
+						else
+							$poolSize = (Integer)ps;
+					}
+				}
+			)
+			SEMI
 	  |
 	    EXTERNAL EMIT (i=IDENT { if(!i.getText().equals("graph")) reportError(getCoords(i), "malformed \"external emit graph class;\""); else graphFound = true;} )? c=CLASS SEMI { if(graphFound) $isEmitGraphClassDefined = true; else $isEmitClassDefined = true; }
 	  |
@@ -1959,9 +1996,16 @@ options { k = 3; }
 	;
 
 indexDeclBody [ IdentNode id ]
-	: type=typeIdentUse DOT member=memberIdentUse
+options { k = 3; }
+	: type=typeIdentUse DOT members=indexMembers
 		{
-			id.setDecl(new AttributeIndexDeclNode(id, type, member));
+			id.setDecl(new AttributeIndexDeclNode(id, type, members, false));
+		}
+	| h=IDENT type=typeIdentUse DOT members=indexMembers
+		{
+			if(!h.getText().equals("hash"))
+				reportError(getCoords(h), "only hash allowed as kind of an attribute index, not \"" + h.getText() + "\"");
+			id.setDecl(new AttributeIndexDeclNode(id, type, members, true));
 		}
 	| i=IDENT LPAREN startNodeType=typeIdentUse (COMMA incidentEdgeType=typeIdentUse (COMMA adjacentNodeType=typeIdentUse)?)? RPAREN 
 		{
@@ -1969,6 +2013,15 @@ indexDeclBody [ IdentNode id ]
 		}
 	;
 
+// the attribute of an attribute index, or the parenthesized attribute tuple of a composite attribute index
+indexMembers returns [ CollectNode<IdentNode> res = new CollectNode<IdentNode>() ]
+	: member=memberIdentUse { res.setCoords(member.getCoords()); res.addChild(member); }
+	| l=LPAREN { res.setCoords(getCoords(l)); }
+		member=memberIdentUse { res.addChild(member); }
+		( COMMA member=memberIdentUse { res.addChild(member); } )*
+	  RPAREN
+	;
+
 externalFunctionOrProcedureDecl [ CollectNode<IdentNode> externalFuncs, CollectNode<IdentNode> externalProcs ]
 	@init{
 		CollectNode<BaseNode> returnTypes = new CollectNode<BaseNode>();
@@ -3005,24 +3058,39 @@ options { k = 5; }
 ifelse [ boolean onLHS, int context, PatternGraphNode directlyNestingLHSGraph ] returns [ EvalStatementNode res = null ]
 	@init{
 		CollectNode<EvalStatementNode> elseRemainder = new CollectNode<EvalStatementNode>();
+		// the else if chain is parsed in a loop and nested afterwards, so a long chain doesn't overflow the stack
+		List<Token> ifs = new ArrayList<Token>();
+		List<ExprNode> conditions = new ArrayList<ExprNode>();
+		List<CollectNode<EvalStatementNode>> branches = new ArrayList<CollectNode<EvalStatementNode>>();
 	}
 
 	: i=IF LPAREN e=expr[false] RPAREN 
 		LBRACE { env.pushScope("if", getCoords(i)); } 
 			cs=computations[onLHS, context, directlyNestingLHSGraph] 
 		RBRACE { env.popScope(); }
-	  (el=ELSE // allow else { statements } as well as else if{ expr; statements} else { statements}, and so on (nesting mapped to linear syntax)
-	      (
-			  ie = ifelse[onLHS, context, directlyNestingLHSGraph]
-				  { elseRemainder.addChild(ie); }
-		  | 
-			  LBRACE { env.pushScope("else", getCoords(el)); }
-				ecs=computations[onLHS, context, directlyNestingLHSGraph]
-			  RBRACE { env.popScope(); }
-			      { elseRemainder = ecs; }
-		  )
+			{ ifs.add(i); conditions.add(e); branches.add(cs); }
+	  ( // allow else { statements } as well as else if{ expr; statements} else { statements}, and so on (nesting mapped to linear syntax)
+		ELSE ei=IF LPAREN ee=expr[false] RPAREN
+			LBRACE { env.pushScope("if", getCoords(ei)); }
+				eics=computations[onLHS, context, directlyNestingLHSGraph]
+			RBRACE { env.popScope(); }
+				{ ifs.add(ei); conditions.add(ee); branches.add(eics); }
+	  )*
+	  (el=ELSE
+		  LBRACE { env.pushScope("else", getCoords(el)); }
+			ecs=computations[onLHS, context, directlyNestingLHSGraph]
+		  RBRACE { env.popScope(); }
+			  { elseRemainder = ecs; }
 	  )?
-			{ res=new ConditionStatementNode(getCoords(i), e, cs, elseRemainder); }
+		{
+			for(int n = ifs.size() - 1; n >= 0; --n) {
+				res = new ConditionStatementNode(getCoords(ifs.get(n)), conditions.get(n), branches.get(n), elseRemainder);
+				if(n > 0) {
+					elseRemainder = new CollectNode<EvalStatementNode>();
+					elseRemainder.addChild(res);
+				}
+			}
+		}
 	;
 
 switchcase [ boolean onLHS, int context, PatternGraphNode directlyNestingLHSGraph ] returns [ EvalStatementNode res = null ]
@@ -3149,13 +3217,13 @@ options { k = *; }
 			iterVar = new VarDeclNode(leftVar, type, directlyNestingLHSGraph, context);
 			res = new IntegerRangeIterationYieldNode(f, iterVar, left, right, cs);
 		}
-	| type=typeIdentUse IN LBRACE idx=indexIdentUse EQUAL e=expr[false] RBRACE RPAREN
+	| type=typeIdentUse IN LBRACE idx=indexIdentUse EQUAL es=indexAccessEqualityExprs RBRACE RPAREN
 		LBRACE
 			cs=computations[onLHS, context, directlyNestingLHSGraph]
 		RBRACE { env.popScope(); }
 		{
 			iterVar = new VarDeclNode(leftVar, type, directlyNestingLHSGraph, context);
-			res = new ForIndexAccessEqualityYieldNode(f, iterVar, context, idx, e, directlyNestingLHSGraph, cs);
+			res = new ForIndexAccessEqualityYieldNode(f, iterVar, context, idx, es, directlyNestingLHSGraph, cs);
 		}
 	| type=typeIdentUse IN LBRACE i=IDENT LPAREN idx=indexIdentUse (os=relOS e=expr[false] (COMMA idx2=indexIdentUse os2=relOS e2=expr[false])?)? RPAREN RBRACE RPAREN
 		LBRACE
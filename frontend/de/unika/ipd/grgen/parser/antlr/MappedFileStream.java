@@ -0,0 +1,318 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.parser.antlr;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CharStream;
+
+/**
+ * A character stream over a file for the lexer, an alternative to the ANTLRFileStream,
+ * which reads the whole file into a char array; it is used on request (-m) for large files.
+ * Large files are memory-mapped, small ones read into a byte buffer; the bytes are decoded
+ * (with the default charset, as the ANTLRFileStream does) lazily in blocks into a few windows,
+ * so the extra heap needed for lexing a file is constant, independent of its size.
+ * The windows may be taken from a buffer pool shared by the streams of a compilation,
+ * then a stream gives them back when it is suspended by an include or finished.
+ * The positions in the file where the blocks start are kept, so the text of a token
+ * can be fetched again after the lexer moved on (by decoding its block again).
+ */
+public class MappedFileStream extends ANTLRStringStream {
+
+	/** The number of chars a block is decoded into at most, the size of the windows. */
+	private static final int BLOCK_SIZE = 16384;
+
+	/** The number of windows of a stream. */
+	private static final int WINDOW_COUNT = 2;
+
+	/** Files of at least this size are memory-mapped, smaller ones are read. */
+	private static final long MAP_THRESHOLD = 256 * 1024;
+
+	/** A pool of windows shared by the streams of a compilation, they are parsed by one thread. */
+	public static class BufferPool {
+		private final ArrayList<char[]> free = new ArrayList<char[]>();
+
+		char[] take() {
+			return free.isEmpty() ? new char[BLOCK_SIZE] : free.remove(free.size() - 1);
+		}
+
+		void give(char[] buffer) {
+			free.add(buffer);
+		}
+	}
+
+	private final String fileName;
+	private final ByteBuffer bytes;
+	private final CharsetDecoder decoder;
+	private final BufferPool pool;
+
+	/** The char index and the byte position each known block starts at; the end of the last one is unknown until decoded. */
+	private int[] blockCharStarts = new int[16];
+	private int[] blockBytePositions = new int[16];
+	private int knownBlocks = 1;
+
+	/** Was the last block decoded? Then n is the size of the stream. */
+	private boolean decodedToEnd = false;
+
+	/** The windows, with the block they hold (-1 for none) and the char range of the block; the first one was used last. */
+	private final char[][] windows = new char[WINDOW_COUNT][];
+	private final int[] windowBlocks = new int[WINDOW_COUNT];
+	private final int[] windowStarts = new int[WINDOW_COUNT];
+	private final int[] windowEnds = new int[WINDOW_COUNT];
+
+	/** The chunk the bytes of a mapped file are copied to for decoding, allocated on first use. */
+	private byte[] chunk = null;
+
+	/** The first window and its char range, cached for the fast path of the lexer, an empty range if there is none. */
+	private char[] current = null;
+	private int currentStart = 0;
+	private int currentEnd = 0;
+
+	/**
+	 * @param file The file to lex.
+	 * @param pool The pool to take the windows from, null for windows of this stream only.
+	 */
+	public MappedFileStream(File file, BufferPool pool) throws IOException {
+		this.fileName = file.getPath();
+		this.pool = pool;
+		FileInputStream in = new FileInputStream(file);
+		try {
+			FileChannel channel = in.getChannel();
+			long size = channel.size();
+			if(size >= MAP_THRESHOLD) {
+				bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				bytes = ByteBuffer.allocate((int)size);
+				while(bytes.hasRemaining() && channel.read(bytes) >= 0)
+					;
+				bytes.flip();
+			}
+		} finally {
+			in.close();
+		}
+		decoder = Charset.defaultCharset().newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		Arrays.fill(windowBlocks, -1);
+		name = fileName;
+	}
+
+	/** Give the windows back to the pool, they are taken again on the next access. */
+	public void releaseBuffers() {
+		if(pool == null)
+			return;
+		for(int w = 0; w < WINDOW_COUNT; ++w) {
+			if(windows[w] != null) {
+				pool.give(windows[w]);
+				windows[w] = null;
+				windowBlocks[w] = -1;
+			}
+		}
+		current = null;
+		currentStart = currentEnd = 0;
+	}
+
+	@Override
+	public void consume() {
+		int c = p >= currentStart && p < currentEnd ? current[p - currentStart] : charAt(p);
+		if(c != CharStream.EOF) {
+			++charPositionInLine;
+			if(c == '\n') {
+				++line;
+				charPositionInLine = 0;
+			}
+			++p;
+		}
+	}
+
+	@Override
+	public int LA(int i) {
+		if(i > 0) {
+			int index = p + i - 1;
+			if(index >= currentStart && index < currentEnd)
+				return current[index - currentStart];
+			return charAt(index);
+		}
+		if(i == 0)
+			return 0; // undefined
+		return charAt(p + i); // e.g., translate LA(-1) to use offset 0
+	}
+
+	@Override
+	public int LT(int i) {
+		return LA(i);
+	}
+
+	@Override
+	public int size() {
+		while(!decodedToEnd)
+			decodeBlock(knownBlocks - 1);
+		return n;
+	}
+
+	@Override
+	public String substring(int start, int stop) {
+		if(start >= currentStart && stop < currentEnd && start <= stop)
+			return new String(current, start - currentStart, stop - start + 1);
+		StringBuilder sb = new StringBuilder(stop - start + 1);
+		int index = start;
+		while(index <= stop) {
+			int w = getWindowOf(index);
+			if(w < 0)
+				break;
+			int end = Math.min(stop + 1, windowEnds[w]);
+			sb.append(windows[w], index - windowStarts[w], end - index);
+			index = end;
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		return substring(0, size() - 1);
+	}
+
+	@Override
+	public String getSourceName() {
+		return fileName;
+	}
+
+	/** @return The char at the given index, or EOF if it is outside of the stream. */
+	private int charAt(int index) {
+		if(index < 0)
+			return CharStream.EOF;
+		int w = getWindowOf(index);
+		if(w < 0)
+			return CharStream.EOF;
+		return windows[w][index - windowStarts[w]];
+	}
+
+	/** @return The window holding the char at the given index, made the first one, or -1 if it is behind the end. */
+	private int getWindowOf(int index) {
+		for(int w = 0; w < WINDOW_COUNT; ++w) {
+			if(windowBlocks[w] >= 0 && index >= windowStarts[w] && index < windowEnds[w]) {
+				moveToFront(w);
+				return 0;
+			}
+		}
+
+		// decode the blocks up to the one of the index, if their starts are not known yet
+		while(!decodedToEnd && index >= blockCharStarts[knownBlocks - 1]) {
+			decodeBlock(knownBlocks - 1);
+			if(index < windowEnds[0])
+				return 0;
+		}
+		if(decodedToEnd && index >= n)
+			return -1;
+
+		int block = Arrays.binarySearch(blockCharStarts, 0, knownBlocks, index);
+		if(block < 0)
+			block = -block - 2; // the block starting before the index
+		decodeBlock(block);
+		return 0;
+	}
+
+	/** Decode the given block into the least recently used window, which becomes the first one. */
+	private void decodeBlock(int block) {
+		int w = WINDOW_COUNT - 1;
+		for(int v = 0; v < WINDOW_COUNT; ++v) {
+			if(windowBlocks[v] == block) {
+				moveToFront(v);
+				return;
+			}
+		}
+		if(windows[w] == null)
+			windows[w] = pool != null ? pool.take() : new char[BLOCK_SIZE];
+
+		// the bytes of a mapped file are copied in chunks to a byte array, the decoders are much faster on arrays
+		int position = blockBytePositions[block];
+		int limit = bytes.limit();
+		CharBuffer out = CharBuffer.wrap(windows[w]);
+		decoder.reset();
+		boolean last = false;
+		while(true) {
+			int length = Math.min(BLOCK_SIZE, limit - position);
+			ByteBuffer in;
+			if(bytes.hasArray()) {
+				in = ByteBuffer.wrap(bytes.array(), position, length);
+			} else {
+				if(chunk == null)
+					chunk = new byte[BLOCK_SIZE];
+				ByteBuffer source = bytes.duplicate();
+				source.position(position);
+				source.get(chunk, 0, length);
+				in = ByteBuffer.wrap(chunk, 0, length);
+			}
+			int chunkStart = in.position();
+			CoderResult result = decoder.decode(in, out, false);
+			if(result.isOverflow()) {
+				position += in.position() - chunkStart;
+				break;
+			}
+			if(position + length == limit) {
+				// bytes left at the end not forming a complete char are dropped, as by the ANTLRFileStream
+				last = true;
+				break;
+			}
+			// the bytes of a char split by the end of the chunk are decoded with the next chunk
+			position += in.position() - chunkStart;
+		}
+
+		int start = blockCharStarts[block];
+		windowBlocks[w] = block;
+		windowStarts[w] = start;
+		windowEnds[w] = start + out.position();
+		if(last) {
+			n = windowEnds[w];
+			decodedToEnd = true;
+		} else if(block == knownBlocks - 1) {
+			if(knownBlocks == blockCharStarts.length) {
+				blockCharStarts = Arrays.copyOf(blockCharStarts, knownBlocks * 2);
+				blockBytePositions = Arrays.copyOf(blockBytePositions, knownBlocks * 2);
+			}
+			blockCharStarts[knownBlocks] = windowEnds[w];
+			blockBytePositions[knownBlocks] = position;
+			++knownBlocks;
+		}
+		moveToFront(w);
+	}
+
+	private void moveToFront(int w) {
+		if(w == 0)
+			return;
+		char[] window = windows[w];
+		int block = windowBlocks[w];
+		int start = windowStarts[w];
+		int end = windowEnds[w];
+		for(int v = w; v > 0; --v) {
+			windows[v] = windows[v - 1];
+			windowBlocks[v] = windowBlocks[v - 1];
+			windowStarts[v] = windowStarts[v - 1];
+			windowEnds[v] = windowEnds[v - 1];
+		}
+		windows[0] = window;
+		windowBlocks[0] = block;
+		windowStarts[0] = start;
+		windowEnds[0] = end;
+		current = window;
+		currentStart = start;
+		currentEnd = end;
+	}
+}
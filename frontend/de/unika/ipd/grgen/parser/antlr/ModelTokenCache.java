@@ -0,0 +1,316 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.parser.antlr;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.antlr.runtime.ANTLRStringStream;
+import org.antlr.runtime.CharStream;
+import org.antlr.runtime.CommonToken;
+import org.antlr.runtime.Token;
+import org.antlr.runtime.TokenSource;
+
+/**
+ * A persistent on-disk cache of the lexed form of graph model (.gm) files.
+ * An entry holds the tokens the parser sees (the ones on the default channel) of the model
+ * and of all the files it includes, it is keyed by a hash of the path and the content of the model,
+ * and is only used if the content of each included file still has the hash recorded in the entry.
+ * The token types are those of the current grammar, so they are part of the key, too.
+ * Only the lexing is saved this way, the model is still parsed, resolved and checked in each compilation,
+ * as its AST is bound to the symbol table of the compilation (and the actions using it).
+ * Entries are written to a temporary file first and renamed then,
+ * so compilations running in parallel (even in different processes) may share the cache directory.
+ */
+public class ModelTokenCache {
+
+	private static final int FORMAT_VERSION = 2;
+
+	private static final String ENTRY_SUFFIX = ".gmtokens";
+
+	/** Hash over the token names of the grammar, entries of another grammar version must not be used. */
+	private static final String grammarHash = computeGrammarHash();
+
+	private final File cacheDir;
+
+	public ModelTokenCache(File cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+	/**
+	 * Look up the tokens of a model file.
+	 * @param modelFile The model file as given to the parser.
+	 * @return A token source delivering the cached tokens, or null if there is no valid entry.
+	 */
+	public TokenSource lookup(File modelFile) {
+		File entry;
+		try {
+			entry = getEntry(modelFile);
+		} catch(IOException e) {
+			return null;
+		}
+		if(!entry.exists())
+			return null;
+
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)));
+			try {
+				return readEntry(in, modelFile);
+			} finally {
+				in.close();
+			}
+		} catch(IOException e) {
+			return null; // a damaged or concurrently replaced entry is a cache miss
+		}
+	}
+
+	/**
+	 * Store the tokens of a model file.
+	 * @param modelFile The model file as given to the parser.
+	 * @param includedFiles The files included by the model file (transitively), as opened by the lexer.
+	 * @param tokens All tokens read from the model file, including the EOF token.
+	 */
+	public void store(File modelFile, List<File> includedFiles, List<? extends Token> tokens) {
+		File tempFile = null;
+		try {
+			File entry = getEntry(modelFile);
+			cacheDir.mkdirs();
+			tempFile = File.createTempFile("model", ".tmp", cacheDir);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+			try {
+				writeEntry(out, modelFile, includedFiles, tokens);
+			} finally {
+				out.close();
+			}
+			if(!tempFile.renameTo(entry)) {
+				entry.delete();
+				if(!tempFile.renameTo(entry))
+					tempFile.delete();
+			}
+		} catch(IOException e) {
+			// the cache is an optimization only, the model was parsed successfully nevertheless
+			if(tempFile != null)
+				tempFile.delete();
+		}
+	}
+
+	private File getEntry(File modelFile) throws IOException {
+		MessageDigest digest = createDigest();
+		digest.update(("" + FORMAT_VERSION + "\n" + grammarHash + "\n").getBytes("UTF-8"));
+		digest.update((modelFile.getAbsolutePath() + "\n" + modelFile.getPath() + "\n").getBytes("UTF-8"));
+		updateWithContent(digest, modelFile);
+		return new File(cacheDir, toHex(digest.digest()) + ENTRY_SUFFIX);
+	}
+
+	private static void writeEntry(DataOutputStream out, File modelFile,
+			List<File> includedFiles, List<? extends Token> tokens) throws IOException {
+		out.writeInt(FORMAT_VERSION);
+		writeString(out, modelFile.getPath());
+
+		out.writeInt(includedFiles.size());
+		for(File includedFile : includedFiles) {
+			writeString(out, includedFile.getPath());
+			writeString(out, hashContent(includedFile));
+		}
+
+		// the texts and source names are stored once in a string table, tokens refer to it by index
+		List<String> strings = new ArrayList<String>();
+		HashMap<String, Integer> stringIndices = new HashMap<String, Integer>();
+		List<Token> parserTokens = new ArrayList<Token>();
+		for(Token token : tokens) {
+			if(token.getChannel() != Token.DEFAULT_CHANNEL)
+				continue;
+			parserTokens.add(token);
+			addString(strings, stringIndices, token.getText());
+			addString(strings, stringIndices, getSourceName(token, modelFile));
+		}
+
+		out.writeInt(strings.size());
+		for(String string : strings) {
+			writeString(out, string);
+		}
+
+		out.writeInt(parserTokens.size());
+		for(Token token : parserTokens) {
+			out.writeInt(token.getType());
+			out.writeInt(token.getLine());
+			out.writeInt(token.getCharPositionInLine());
+			out.writeInt(stringIndices.get(token.getText()).intValue());
+			out.writeInt(stringIndices.get(getSourceName(token, modelFile)).intValue());
+		}
+	}
+
+	private static TokenSource readEntry(DataInputStream in, File modelFile) throws IOException {
+		if(in.readInt() != FORMAT_VERSION)
+			return null;
+		if(!modelFile.getPath().equals(readString(in)))
+			return null;
+
+		int numIncludedFiles = in.readInt();
+		for(int i = 0; i < numIncludedFiles; ++i) {
+			File includedFile = new File(readString(in));
+			String hash = readString(in);
+			if(!includedFile.exists() || !hash.equals(hashContent(includedFile)))
+				return null;
+		}
+
+		int numStrings = in.readInt();
+		String[] strings = new String[numStrings];
+		for(int i = 0; i < numStrings; ++i) {
+			strings[i] = readString(in);
+		}
+
+		// the tokens refer to a char stream only for its name, which is used in the coordinates
+		HashMap<String, CharStream> sourceStreams = new HashMap<String, CharStream>();
+
+		int numTokens = in.readInt();
+		List<Token> tokens = new ArrayList<Token>(numTokens);
+		for(int i = 0; i < numTokens; ++i) {
+			CommonToken token = new CommonToken(in.readInt());
+			token.setLine(in.readInt());
+			token.setCharPositionInLine(in.readInt());
+			token.setText(strings[in.readInt()]);
+			String sourceName = strings[in.readInt()];
+			CharStream sourceStream = sourceStreams.get(sourceName);
+			if(sourceStream == null) {
+				ANTLRStringStream stream = new ANTLRStringStream("");
+				stream.name = sourceName;
+				sourceStream = stream;
+				sourceStreams.put(sourceName, sourceStream);
+			}
+			token.setInputStream(sourceStream);
+			tokens.add(token);
+		}
+
+		if(tokens.isEmpty() || tokens.get(tokens.size() - 1).getType() != Token.EOF)
+			return null;
+
+		return new CachedTokenSource(modelFile.getPath(), tokens);
+	}
+
+	/**
+	 * Writes a string as its length in bytes followed by its UTF-8 encoding, or -1 for null;
+	 * other than with writeUTF there is no limit of 64 KB on the length (of a long string literal, e.g.).
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if(string == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = string.getBytes("UTF-8");
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if(length < 0)
+			return null;
+		if(length > in.available())
+			throw new IOException("damaged cache entry"); // don't allocate for a garbage length
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, "UTF-8");
+	}
+
+	private static void addString(List<String> strings, HashMap<String, Integer> stringIndices, String string) {
+		if(stringIndices.containsKey(string))
+			return;
+		stringIndices.put(string, new Integer(strings.size()));
+		strings.add(string);
+	}
+
+	private static String getSourceName(Token token, File modelFile) {
+		CharStream stream = token.getInputStream();
+		if(stream == null || stream.getSourceName() == null)
+			return modelFile.getPath();
+		return stream.getSourceName();
+	}
+
+	private static String hashContent(File file) throws IOException {
+		MessageDigest digest = createDigest();
+		updateWithContent(digest, file);
+		return toHex(digest.digest());
+	}
+
+	private static void updateWithContent(MessageDigest digest, File file) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] buffer = new byte[8192];
+			int read;
+			while((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	private static String computeGrammarHash() {
+		try {
+			MessageDigest digest = createDigest();
+			for(String tokenName : GrGenParser.tokenNames) {
+				digest.update((tokenName + "\n").getBytes("UTF-8"));
+			}
+			return toHex(digest.digest());
+		} catch(IOException e) {
+			throw new RuntimeException(e.getMessage());
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch(NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-1 not available: " + e.getMessage());
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder();
+		for(byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+			sb.append(Character.forDigit(b & 0xf, 16));
+		}
+		return sb.toString();
+	}
+
+	/** Delivers the tokens of a cache entry to the parser, in place of the lexer. */
+	private static class CachedTokenSource implements TokenSource {
+		private final String sourceName;
+		private final List<Token> tokens;
+		private int next = 0;
+
+		CachedTokenSource(String sourceName, List<Token> tokens) {
+			this.sourceName = sourceName;
+			this.tokens = tokens;
+		}
+
+		public Token nextToken() {
+			if(next < tokens.size() - 1)
+				return tokens.get(next++);
+			return tokens.get(tokens.size() - 1); // EOF, as often as requested
+		}
+
+		public String getSourceName() {
+			return sourceName;
+		}
+	}
+}
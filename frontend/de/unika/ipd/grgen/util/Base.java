@@ -13,6 +13,7 @@ package de.unika.ipd.grgen.util;
 
 import de.unika.ipd.grgen.util.report.ErrorReporter;
 import de.unika.ipd.grgen.util.report.Reporter;
+import de.unika.ipd.grgen.util.report.ThreadLocalErrorReporter;
 
 /**
  * Base class for all grgen facilities.
@@ -20,11 +21,11 @@ import de.unika.ipd.grgen.util.report.Reporter;
  */
 public class Base implements Id {
 
-	/** static id counter */
-	private static long currId = 1;
+	/** id counter, restarting with each compilation */
+	private static final GlobalTables.Counter currId = new GlobalTables.Counter(1);
 
-	/** The id of this object */
-	private String id;
+	/** The id of this object, formatted on demand by {@link #getId()} */
+	private final int id;
 
 	/** constants for debug reporting */
 	public static final int NOTE = 4;	//NOTE: changed from 1 to 4
@@ -32,30 +33,40 @@ public class Base implements Id {
 	/** The debug reporter for debugging */
 	public static Reporter debug;
 
-	/** The error reporter for error reporting */
-	public static ErrorReporter error;
+	/** The error reporter for error reporting, forwards to the one of the compilation in the current thread */
+	public static final ThreadLocalErrorReporter error = new ThreadLocalErrorReporter();
 
 	/**
-	 * Set the reporting facilities of the base class
+	 * Set the reporting facilities of the base class.
+	 * The debug reporter is shared by all threads,
+	 * the error reporter is the one of the compilation running in the current thread.
 	 * @param debug The debug reporter
 	 * @param error The error reporter
 	 */
 	public static void setReporters(Reporter debug, ErrorReporter error) {
 		Base.debug = debug;
-		Base.error = error;
+		Base.error.setCurrent(error);
 	}
 
 	/**
 	 * Get a new ID for this object.
 	 */
 	public Base() {
-		id = "" + currId++;
+		id = currId.next();
+	}
+
+	/**
+	 * @return The id of this object as number, unique among the objects of its compilation;
+	 * the objects of a compilation are numbered densely, so the number may serve as array index.
+	 */
+	public final int getIdNumber() {
+		return id;
 	}
 
 	/**
 	 * @see de.unika.ipd.grgen.util.ID#getId()
 	 */
 	public String getId() {
-		return id;
+		return Integer.toString(id);
 	}
 }
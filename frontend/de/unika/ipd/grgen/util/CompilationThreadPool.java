@@ -0,0 +1,102 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The threads helping the compilation running in the thread that created the pool,
+ * processing independent tasks (e.g. generating the parts of a file) in parallel.
+ * A task is run as if it was run by the thread that created the pool:
+ * it sees the global tables of the compilation running in that thread (including its error reporter),
+ * and its output is recorded with the recording of that thread.
+ * The threads are started on the first task submitted.
+ */
+public class CompilationThreadPool {
+
+	private final int threads;
+	private ExecutorService executor;
+
+	private final GlobalTables.Contents tables = GlobalTables.getAll();
+	private final RecordedOutput recording = RecordedOutput.getRecording();
+
+	public CompilationThreadPool(int threads) {
+		this.threads = threads;
+	}
+
+	/** Run a task on one of the threads. */
+	public <T> Future<T> submit(Callable<T> task) {
+		if(executor == null) {
+			// daemon threads, so a compilation aborted by an exception does not keep the JVM alive
+			executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+				public Thread newThread(Runnable runnable) {
+					Thread thread = defaultFactory.newThread(runnable);
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor.submit(new HelperTask<T>(task));
+	}
+
+	/**
+	 * Wait for a task to be completed.
+	 * @return The result of the task.
+	 */
+	public static <T> T getResult(Future<T> result) {
+		try {
+			return result.get();
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("interrupted while waiting for a helper thread");
+		} catch(ExecutionException e) {
+			// as if the task had been run in this thread
+			if(e.getCause() instanceof RuntimeException)
+				throw (RuntimeException)e.getCause();
+			if(e.getCause() instanceof Error)
+				throw (Error)e.getCause();
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/** Stop the threads, tasks submitted before are still run. */
+	public void shutdown() {
+		if(executor != null)
+			executor.shutdown();
+		executor = null;
+	}
+
+	/** Runs a task in the compilation of the thread that created the pool. */
+	private class HelperTask<T> implements Callable<T> {
+		private final Callable<T> task;
+
+		HelperTask(Callable<T> task) {
+			this.task = task;
+		}
+
+		public T call() throws Exception {
+			GlobalTables.setAll(tables);
+			if(recording != null)
+				recording.start();
+			try {
+				return task.call();
+			} finally {
+				if(recording != null)
+					recording.stop();
+				GlobalTables.resetAll();
+			}
+		}
+	}
+}
@@ -21,7 +21,8 @@ import java.util.Set;
  */
 public class DefaultAnnotations implements Annotations {
 
-	private final Map<String, Object> annots = new HashMap<String, Object>();
+	/** Small initial capacity, an annotated entity normally has only one or two annotations. */
+	private final Map<String, Object> annots = new HashMap<String, Object>(4);
 
 	/** @see de.unika.ipd.grgen.util.Annotations#containsKey(java.lang.String) */
 	public boolean containsKey(String key) {
@@ -11,7 +11,7 @@
 
 package de.unika.ipd.grgen.util;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
 
 
@@ -60,6 +60,6 @@ public class EmptyAnnotations implements Annotations {
 	}
 
 	public Set<String> keySet() {
-		return new HashSet<String>();
+		return Collections.emptySet();
 	}
 }
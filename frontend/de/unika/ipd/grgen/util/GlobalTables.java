@@ -0,0 +1,153 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of the global tables of the frontend that are filled during a compilation.
+ * The tables are local to the thread running the compilation, so compilations in different threads
+ * don't see each other; each table gets its initial value again when the next compilation
+ * in the same thread starts.
+ * A class holding such a table creates it in its static initializer, so a reset only touches the
+ * classes that were already loaded (forcing the initialization of the AST classes in another order
+ * would break their cyclic initialization).
+ */
+public class GlobalTables {
+
+	/**
+	 * A table local to the compilation running in the current thread,
+	 * its content is created by <code>initialValue()</code> on first use in a compilation.
+	 */
+	public static abstract class Table<T> extends ThreadLocal<T> {
+		private final boolean writtenByHelpers;
+
+		/** A table only read by the threads helping the compilation, they get a read-only view of it. */
+		public Table() {
+			this(false);
+		}
+
+		/**
+		 * @param writtenByHelpers Whether the threads helping the compilation write the table, too;
+		 *        then they get the table itself, its content must be synchronized by the class holding it.
+		 */
+		public Table(boolean writtenByHelpers) {
+			this.writtenByHelpers = writtenByHelpers;
+			register(this);
+		}
+
+		@Override
+		protected abstract T initialValue();
+	}
+
+	/**
+	 * A counter local to the compilation running in the current thread,
+	 * safe to use from the threads the compilation shares its tables with.
+	 */
+	public static class Counter {
+		private final int initialValue;
+
+		private final Table<AtomicInteger> value = new Table<AtomicInteger>() {
+			@Override
+			protected AtomicInteger initialValue() {
+				return new AtomicInteger(initialValue);
+			}
+		};
+
+		public Counter(int initialValue) {
+			this.initialValue = initialValue;
+		}
+
+		/** @return The current value of the counter, which is incremented afterwards. */
+		public int next() {
+			return value.get().getAndIncrement();
+		}
+
+		/** @return The current value of the counter. */
+		public int get() {
+			return value.get().get();
+		}
+	}
+
+	/** The content of the tables of a compilation, see {@link #getAll()}. */
+	public static class Contents {
+		private final List<Table<?>> tables;
+		private final List<Object> values;
+
+		Contents(List<Table<?>> tables, List<Object> values) {
+			this.tables = tables;
+			this.values = values;
+		}
+	}
+
+	private static final List<Table<?>> tables = new ArrayList<Table<?>>();
+
+	private static synchronized void register(Table<?> table) {
+		tables.add(table);
+	}
+
+	/**
+	 * Drop the content of all registered tables in the current thread,
+	 * so the next compilation in this thread starts like in a freshly started JVM.
+	 */
+	public static void resetAll() {
+		for(Table<?> table : getRegistered()) {
+			table.remove();
+		}
+	}
+
+	/**
+	 * Get the content of all registered tables in the current thread,
+	 * to be shared with a thread helping the compilation running in the current thread by {@link #setAll(Contents)}.
+	 * The collections of the tables not written by helpers are handed out as unmodifiable views,
+	 * so a write by a helper fails instead of racing with the other threads.
+	 * Only tables not modified anymore by the compilation (besides the counters) are safe to be shared.
+	 */
+	public static Contents getAll() {
+		List<Table<?>> registered = getRegistered();
+		List<Object> values = new ArrayList<Object>(registered.size());
+		for(Table<?> table : registered) {
+			values.add(table.writtenByHelpers ? table.get() : readOnlyView(table.get()));
+		}
+		return new Contents(registered, values);
+	}
+
+	/** @return An unmodifiable view of the given collection (not of the collections it contains), other values as they are. */
+	private static Object readOnlyView(Object value) {
+		if(value instanceof Map)
+			return Collections.unmodifiableMap((Map<?, ?>)value);
+		if(value instanceof List)
+			return Collections.unmodifiableList((List<?>)value);
+		if(value instanceof Set)
+			return Collections.unmodifiableSet((Set<?>)value);
+		if(value instanceof Collection)
+			return Collections.unmodifiableCollection((Collection<?>)value);
+		return value;
+	}
+
+	/**
+	 * Let the current thread use the given content of the tables of another thread,
+	 * until {@link #resetAll()} is called.
+	 */
+	@SuppressWarnings("unchecked")
+	public static void setAll(Contents contents) {
+		for(int i = 0; i < contents.tables.size(); ++i) {
+			((Table<Object>)contents.tables.get(i)).set(contents.values.get(i));
+		}
+	}
+
+	private static synchronized List<Table<?>> getRegistered() {
+		return new ArrayList<Table<?>>(tables);
+	}
+}
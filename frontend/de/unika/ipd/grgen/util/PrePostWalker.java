@@ -11,16 +11,19 @@
 
 package de.unika.ipd.grgen.util;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 
 /**
  * A walker calling visitors
  * pre before descending to the first child
  * post after ascending from the last child.
+ * The walk uses an explicit stack instead of recursion, so deeply nested structures
+ * don't overflow the call stack; the nodes are marked visited by identity.
  */
 public class PrePostWalker extends Base implements Walker {
-	private Set<Walkable> visited;
+	private IdentityHashMap<Walkable, Walkable> visited;
 	private Visitor pre, post;
 
 	/**
@@ -31,7 +34,7 @@ public class PrePostWalker extends Base implements Walker {
 	public PrePostWalker(Visitor pre, Visitor post) {
 		this.pre = pre;
 		this.post = post;
-		visited = new HashSet<Walkable>();
+		visited = new IdentityHashMap<Walkable, Walkable>();
 	}
 
 	public void reset() {
@@ -39,22 +42,36 @@ public class PrePostWalker extends Base implements Walker {
 	}
 
 	public void walk(Walkable node) {
+		ArrayList<Walkable> nodes = new ArrayList<Walkable>();
+		ArrayList<Iterator<? extends Walkable>> children = new ArrayList<Iterator<? extends Walkable>>();
+		enter(node, nodes, children);
+		while(!nodes.isEmpty()) {
+			int top = nodes.size() - 1;
+			if(children.get(top).hasNext()) {
+				enter(children.get(top).next(), nodes, children);
+				continue;
+			}
 
-		if (!visited.contains(node)) {
+			Walkable done = nodes.remove(top);
+			children.remove(top);
+			if (post != null) {
+				post.visit(done);
+			}
+		}
+	}
+
+	/** visit the node if not visited yet, pushing it to have its children walked */
+	private void enter(Walkable node, ArrayList<Walkable> nodes, ArrayList<Iterator<? extends Walkable>> children) {
+		if (!visited.containsKey(node)) {
 			if(node!=null) {
-				visited.add(node);
+				visited.put(node, node);
 
 				if (pre != null) {
 					pre.visit(node);
 				}
 
-				for (Walkable p : node.getWalkableChildren()) {
-					walk(p);
-				}
-
-				if (post != null) {
-					post.visit(node);
-				}
+				nodes.add(node);
+				children.add(node.getWalkableChildren().iterator());
 			} else
 				Base.error.error("Node was null, while walking");
 		}
@@ -0,0 +1,133 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The output a thread writes to System.out and System.err while it is recording,
+ * kept in the order it was written, to be printed later on with {@link #replay()}.
+ * Used to print the output of compilations running in parallel one after the other.
+ */
+public class RecordedOutput {
+
+	/** The recording of the current thread, null if the thread is not recording. */
+	private static final ThreadLocal<RecordedOutput> recording = new ThreadLocal<RecordedOutput>();
+
+	/** The streams that were System.out and System.err before {@link #install()}. */
+	private static PrintStream originalOut;
+	private static PrintStream originalErr;
+
+	/** The chunks of output in the order they were written, with the stream they were written to. */
+	private final List<byte[]> chunks = new ArrayList<byte[]>();
+	private final List<Boolean> chunkIsErr = new ArrayList<Boolean>();
+
+	private final ByteArrayOutputStream currentChunk = new ByteArrayOutputStream();
+	private boolean currentChunkIsErr;
+
+	/**
+	 * Replace System.out and System.err by streams writing to the recording of the current thread,
+	 * or to the original streams if the current thread is not recording.
+	 * Calling it again has no effect.
+	 */
+	public static synchronized void install() {
+		if(originalOut != null)
+			return;
+
+		originalOut = System.out;
+		originalErr = System.err;
+		System.setOut(new PrintStream(new RoutingOutputStream(originalOut, false), true));
+		System.setErr(new PrintStream(new RoutingOutputStream(originalErr, true), true));
+	}
+
+	/** Record the output of the current thread from now on. */
+	public void start() {
+		recording.set(this);
+	}
+
+	/** @return The recording of the current thread, null if the thread is not recording. */
+	public static RecordedOutput getRecording() {
+		return recording.get();
+	}
+
+	/** Stop recording the output of the current thread. */
+	public void stop() {
+		recording.remove();
+	}
+
+	/** Print the recorded output to the streams it was written to. */
+	public synchronized void replay() {
+		finishChunk();
+		for(int i = 0; i < chunks.size(); ++i) {
+			PrintStream stream = chunkIsErr.get(i) ? getOriginalErr() : getOriginalOut();
+			stream.write(chunks.get(i), 0, chunks.get(i).length);
+			stream.flush();
+		}
+		chunks.clear();
+		chunkIsErr.clear();
+	}
+
+	private synchronized void write(byte[] b, int off, int len, boolean isErr) {
+		if(isErr != currentChunkIsErr)
+			finishChunk();
+		currentChunkIsErr = isErr;
+		currentChunk.write(b, off, len);
+	}
+
+	private void finishChunk() {
+		if(currentChunk.size() == 0)
+			return;
+		chunks.add(currentChunk.toByteArray());
+		chunkIsErr.add(currentChunkIsErr);
+		currentChunk.reset();
+	}
+
+	private static synchronized PrintStream getOriginalOut() {
+		return originalOut != null ? originalOut : System.out;
+	}
+
+	private static synchronized PrintStream getOriginalErr() {
+		return originalErr != null ? originalErr : System.err;
+	}
+
+	/** Writes to the recording of the current thread, or to the original stream if not recording. */
+	private static class RoutingOutputStream extends OutputStream {
+		private final PrintStream original;
+		private final boolean isErr;
+
+		RoutingOutputStream(PrintStream original, boolean isErr) {
+			this.original = original;
+			this.isErr = isErr;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			RecordedOutput output = recording.get();
+			if(output != null)
+				output.write(b, off, len, isErr);
+			else
+				original.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if(recording.get() == null)
+				original.flush();
+		}
+	}
+}
@@ -13,23 +13,38 @@
 
 package de.unika.ipd.grgen.util;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.lang.reflect.Method;
 import java.nio.channels.FileChannel;
+import java.util.Arrays;
 import java.util.Vector;
 
 import de.unika.ipd.grgen.util.report.ErrorReporter;
 
 public class Util
 {
+	/** The outcome of writing a file only if its content changed. */
+	public enum WriteResult
+	{
+		/** The file was written. */
+		WRITTEN,
+		/** The file exists already with the same content and was left untouched. */
+		UNCHANGED,
+		/** Writing the file failed, the error was reported. */
+		FAILED
+	}
+
 	/**
 	 * Removes from a filename the prefix that contains path information
 	 *
@@ -145,6 +160,87 @@ public class Util
 		}
   }
 
+	/**
+	 * Write a character sequence to a file, unless the file exists already with exactly this content,
+	 * so that the modification time of an unchanged file is kept.
+	 * @param file The file.
+	 * @param cs The character sequence to print.
+	 * @return Whether the file was written, left untouched, or writing it failed.
+	 */
+	public static WriteResult writeFileIfChanged(File file, CharSequence cs, ErrorReporter reporter) {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		PrintStream ps = new PrintStream(bos);
+		ps.print(cs);
+		ps.close();
+		return writeFileIfChanged(file, bos.toByteArray(), reporter);
+	}
+
+	/**
+	 * Write a byte array to a file, unless the file exists already with exactly this content.
+	 * @return Whether the file was written, left untouched, or writing it failed.
+	 */
+	public static WriteResult writeFileIfChanged(File file, byte[] content, ErrorReporter reporter) {
+		try {
+			if(hasContent(file, content))
+				return WriteResult.UNCHANGED;
+
+			OutputStream os = new BufferedOutputStream(new FileOutputStream(file));
+			try {
+				os.write(content);
+			} finally {
+				os.close();
+			}
+		} catch(IOException e) {
+			reporter.error(e.toString());
+			return WriteResult.FAILED;
+		}
+		return WriteResult.WRITTEN;
+	}
+
+	/** Tells whether the given file exists with exactly the given content. */
+	public static boolean hasContent(File file, byte[] content) throws IOException {
+		if(!file.isFile() || file.length() != content.length)
+			return false;
+
+		return Arrays.equals(readFile(file), content);
+	}
+
+	/** Tells whether the given files both exist with exactly the same content. */
+	public static boolean hasSameContent(File file, File otherFile) throws IOException {
+		if(!file.isFile() || !otherFile.isFile() || file.length() != otherFile.length())
+			return false;
+
+		InputStream in = new BufferedInputStream(new FileInputStream(file));
+		try {
+			InputStream otherIn = new BufferedInputStream(new FileInputStream(otherFile));
+			try {
+				int b;
+				do {
+					b = in.read();
+					if(b != otherIn.read())
+						return false;
+				} while(b != -1);
+				return true;
+			} finally {
+				otherIn.close();
+			}
+		} finally {
+			in.close();
+		}
+	}
+
+	/** Read the complete content of a file. */
+	public static byte[] readFile(File file) throws IOException {
+		byte[] content = new byte[(int)file.length()];
+		DataInputStream dis = new DataInputStream(new FileInputStream(file));
+		try {
+			dis.readFully(content);
+		} finally {
+			dis.close();
+		}
+		return content;
+	}
+
 	public static PrintStream openFile(File file, ErrorReporter reporter) {
 		OutputStream os = NullOutputStream.STREAM;
 
@@ -0,0 +1,21 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.util.report;
+
+/**
+ * A message about a subject, only built when it is going to be reported.
+ * Kept in a constant and passed together with its subject to
+ * {@link Reporter#report(int, Location, DebugMessage, Object)},
+ * so a call on a hot path allocates nothing while the channel is not reported.
+ */
+public interface DebugMessage<T> {
+
+	/** @return The text of the message about the given subject. */
+	String format(T subject);
+
+}
@@ -109,4 +109,18 @@ public class DebugReporter extends Reporter {
 								 prefix + ": " + msg);
 
 	}
+
+	public <T> void report(int channel, Location loc, DebugMessage<T> message, T subject) {
+		if(!isReporting(channel))
+			return;
+		makePrefix();
+		super.report(channel, loc, prefix + ": " + message.format(subject));
+	}
+
+	public <T> void report(int channel, DebugMessage<T> message, T subject) {
+		if(!isReporting(channel))
+			return;
+		makePrefix();
+		super.report(channel, EmptyLocation.getEmptyLocation(), prefix + ": " + message.format(subject));
+	}
 }
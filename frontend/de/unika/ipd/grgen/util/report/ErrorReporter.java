@@ -20,8 +20,8 @@ public class ErrorReporter extends Reporter {
 	public static final int WARNING = 2;
 	public static final int NOTE = 4;
 
-	protected static int errCount = 0;
-	protected static int warnCount = 0;
+	protected int errCount = 0;
+	protected int warnCount = 0;
 
 	// TODO use or remove it
 	/*private static final String[] levelNames = {
@@ -106,7 +106,7 @@ public class ErrorReporter extends Reporter {
 	 * Returns the number of occured errors.
 	 * @return
 	 */
-	public static int getErrorCount() {
+	public int getErrorCount() {
 		return errCount;
 	}
 
@@ -114,7 +114,7 @@ public class ErrorReporter extends Reporter {
 	 * Returns the number of occured warnings.
 	 * @return
 	 */
-	public static int getWarnCount() {
+	public int getWarnCount() {
 		return warnCount;
 	}
 
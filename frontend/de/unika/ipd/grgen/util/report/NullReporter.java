@@ -44,4 +44,26 @@ public class NullReporter extends Reporter {
   public void report(int channel, String msg) {
   }
 
+  /**
+   * Nothing is reported
+   * @see de.unika.ipd.grgen.util.report.Reporter#isReporting(int)
+   */
+  public boolean isReporting(int channel) {
+    return false;
+  }
+
+  /**
+   * Do nothing here, the message is not built
+   * @see de.unika.ipd.grgen.util.report.Reporter#report(int, de.unika.ipd.grgen.util.report.Location, de.unika.ipd.grgen.util.report.DebugMessage, java.lang.Object)
+   */
+  public <T> void report(int channel, Location loc, DebugMessage<T> message, T subject) {
+  }
+
+  /**
+   * Do nothing here, the message is not built
+   * @see de.unika.ipd.grgen.util.report.Reporter#report(int, de.unika.ipd.grgen.util.report.DebugMessage, java.lang.Object)
+   */
+  public <T> void report(int channel, DebugMessage<T> message, T subject) {
+  }
+
 }
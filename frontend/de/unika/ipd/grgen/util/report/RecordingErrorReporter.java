@@ -0,0 +1,91 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.util.report;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An error reporter keeping the reported messages in the order they were reported,
+ * to be reported later on to another error reporter with {@link #replayTo(ErrorReporter)}.
+ * Used to report the messages of work done in parallel in the order of a sequential run.
+ */
+public class RecordingErrorReporter extends ErrorReporter {
+
+	private static final int ERROR_AT = 0;
+	private static final int ERROR = 1;
+	private static final int WARNING_AT = 2;
+	private static final int WARNING = 3;
+	private static final int NOTE_AT = 4;
+	private static final int NOTE = 5;
+
+	private final List<Integer> kinds = new ArrayList<Integer>();
+	private final List<Location> locations = new ArrayList<Location>();
+	private final List<String> messages = new ArrayList<String>();
+
+	private void record(int kind, Location loc, String msg) {
+		kinds.add(kind);
+		locations.add(loc);
+		messages.add(msg);
+	}
+
+	@Override
+	public void error(Location loc, String msg) {
+		record(ERROR_AT, loc, msg);
+		++errCount;
+	}
+
+	@Override
+	public void error(String msg) {
+		record(ERROR, null, msg);
+		++errCount;
+	}
+
+	@Override
+	public void warning(Location loc, String msg) {
+		record(WARNING_AT, loc, msg);
+		++warnCount;
+	}
+
+	@Override
+	public void warning(String msg) {
+		record(WARNING, null, msg);
+		++warnCount;
+	}
+
+	@Override
+	public void note(Location loc, String msg) {
+		record(NOTE_AT, loc, msg);
+	}
+
+	@Override
+	public void note(String msg) {
+		record(NOTE, null, msg);
+	}
+
+	/** @return true, if no message was recorded. */
+	public boolean isEmpty() {
+		return kinds.isEmpty();
+	}
+
+	/** Report the recorded messages to the given error reporter, in the order they were recorded. */
+	public void replayTo(ErrorReporter target) {
+		for(int i = 0; i < kinds.size(); ++i) {
+			Location loc = locations.get(i);
+			String msg = messages.get(i);
+			switch(kinds.get(i)) {
+			case ERROR_AT: target.error(loc, msg); break;
+			case ERROR: target.error(msg); break;
+			case WARNING_AT: target.warning(loc, msg); break;
+			case WARNING: target.warning(msg); break;
+			case NOTE_AT: target.note(loc, msg); break;
+			case NOTE: target.note(msg); break;
+			}
+		}
+	}
+}
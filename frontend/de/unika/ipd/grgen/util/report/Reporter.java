@@ -84,6 +84,16 @@ public abstract class Reporter {
 		return (channel & mask) != 0;
 	}
 
+	/**
+	 * Checks cheaply, whether messages on this channel may be reported at all,
+	 * to be used as guard around building a message on a hot path.
+	 * @param channel The channel to check
+	 * @return false, if no message on this channel will be reported, true if it may be reported.
+	 */
+	public boolean isReporting(int channel) {
+		return (channel & mask) != 0 && !handlers.isEmpty();
+	}
+
 	public void report(int level, Location loc, String msg) {
 		if(willReport(level)) {
 			Iterator<Handler> it = handlers.iterator();
@@ -97,5 +107,21 @@ public abstract class Reporter {
 	public void report(int channel, String msg) {
 		report(channel, EmptyLocation.getEmptyLocation(), msg);
 	}
+
+	/**
+	 * Report a message about a subject, the message is only built if the channel is reported.
+	 * @param channel The channel to report on
+	 * @param loc The location the message refers to
+	 * @param message The message, a constant
+	 * @param subject The subject of the message
+	 */
+	public <T> void report(int channel, Location loc, DebugMessage<T> message, T subject) {
+		if(isReporting(channel))
+			report(channel, loc, message.format(subject));
+	}
+
+	public <T> void report(int channel, DebugMessage<T> message, T subject) {
+		report(channel, EmptyLocation.getEmptyLocation(), message, subject);
+	}
 }
 
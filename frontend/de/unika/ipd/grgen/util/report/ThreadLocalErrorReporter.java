@@ -0,0 +1,94 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.util.report;
+
+import de.unika.ipd.grgen.util.GlobalTables;
+
+/**
+ * An error reporter forwarding the reported messages to the error reporter
+ * of the compilation running in the current thread.
+ * The handlers and the mask are those of the forwarded-to error reporter,
+ * outside of a compilation messages go to an error reporter without handlers.
+ */
+public class ThreadLocalErrorReporter extends ErrorReporter {
+
+	private final GlobalTables.Table<ErrorReporter> current = new GlobalTables.Table<ErrorReporter>() {
+		@Override
+		protected ErrorReporter initialValue() {
+			return new ErrorReporter();
+		}
+	};
+
+	/**
+	 * Set the error reporter of the compilation running in the current thread.
+	 * @param errorReporter The error reporter to forward to.
+	 */
+	public void setCurrent(ErrorReporter errorReporter) {
+		current.set(errorReporter);
+	}
+
+	/** @return The error reporter of the compilation running in the current thread. */
+	public ErrorReporter getCurrent() {
+		return current.get();
+	}
+
+	@Override
+	public void error(Location loc, String msg) {
+		current.get().error(loc, msg);
+	}
+
+	@Override
+	public void error(String msg) {
+		current.get().error(msg);
+	}
+
+	@Override
+	public void warning(Location loc, String msg) {
+		current.get().warning(loc, msg);
+	}
+
+	@Override
+	public void warning(String msg) {
+		current.get().warning(msg);
+	}
+
+	@Override
+	public void note(Location loc, String msg) {
+		current.get().note(loc, msg);
+	}
+
+	@Override
+	public void note(String msg) {
+		current.get().note(msg);
+	}
+
+	@Override
+	public int getErrorCount() {
+		return current.get().getErrorCount();
+	}
+
+	@Override
+	public int getWarnCount() {
+		return current.get().getWarnCount();
+	}
+
+	@Override
+	public boolean willReport(int channel) {
+		return current.get().willReport(channel);
+	}
+
+	@Override
+	public void report(int level, Location loc, String msg) {
+		current.get().report(level, loc, msg);
+	}
+
+	@Override
+	public void report(int channel, String msg) {
+		current.get().report(channel, msg);
+	}
+}
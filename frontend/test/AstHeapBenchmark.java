@@ -0,0 +1,143 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.unika.ipd.grgen.Sys;
+import de.unika.ipd.grgen.ast.BaseNode;
+import de.unika.ipd.grgen.ast.UnitNode;
+import de.unika.ipd.grgen.parser.antlr.GRParserEnvironment;
+import de.unika.ipd.grgen.util.Base;
+import de.unika.ipd.grgen.util.GlobalTables;
+import de.unika.ipd.grgen.util.NullOutputStream;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+import de.unika.ipd.grgen.util.report.NullReporter;
+
+/**
+ * Heap footprint of the AST of a specification, used by benchastheap.sh.
+ * Parses and manifests (resolves and checks) the AST of the .grg file given,
+ * and prints the number of AST nodes reachable from the root, the heap growth
+ * caused by the AST (measured after garbage collections), and the bytes per AST node.
+ *
+ * usage: java -cp grgen.jar:... AstHeapBenchmark FILE.grg
+ */
+public class AstHeapBenchmark implements Sys {
+
+	private final File modelPath;
+	private final ErrorReporter errorReporter = new ErrorReporter();
+
+	private AstHeapBenchmark(File modelPath) {
+		this.modelPath = modelPath;
+	}
+
+	public static void main(String[] args) throws Exception {
+		if(args.length != 1) {
+			System.err.println("usage: AstHeapBenchmark FILE.grg");
+			System.exit(2);
+		}
+		File inputFile = new File(args[0]);
+		AstHeapBenchmark system = new AstHeapBenchmark(inputFile.getAbsoluteFile().getParentFile());
+
+		GlobalTables.resetAll();
+		Base.setReporters(new NullReporter(), system.errorReporter);
+
+		long before = usedHeap();
+		GRParserEnvironment env = new GRParserEnvironment(system);
+		UnitNode root = env.parseActions(inputFile);
+		if(root == null || env.hadError() || !BaseNode.manifestAST(root)) {
+			System.err.println("compilation of " + inputFile + " failed");
+			System.exit(1);
+		}
+		long after = usedHeap();
+
+		int nodes = countNodes(root); // keeps the AST alive until after the measurement
+		long bytes = after - before;
+		System.out.println("ast nodes:  " + nodes);
+		System.out.println("heap bytes: " + bytes);
+		System.out.println("bytes/node: " + (nodes > 0 ? bytes / nodes : 0));
+	}
+
+	/** The heap in use after garbage collection. */
+	private static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for(int i = 0; i < 5; ++i) {
+			System.gc();
+			Thread.sleep(100);
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+
+	/** The number of distinct AST nodes reachable from the root. */
+	private static int countNodes(BaseNode root) {
+		Map<BaseNode, Boolean> visited = new IdentityHashMap<BaseNode, Boolean>();
+		List<BaseNode> todo = new ArrayList<BaseNode>();
+		todo.add(root);
+		while(!todo.isEmpty()) {
+			BaseNode node = todo.remove(todo.size() - 1);
+			if(node == null || visited.containsKey(node))
+				continue;
+			visited.put(node, Boolean.TRUE);
+			todo.addAll(node.getChildren());
+		}
+		return visited.size();
+	}
+
+	public File getModelPath() {
+		return modelPath;
+	}
+
+	public File getModelCacheDir() {
+		return null;
+	}
+
+	public boolean mappedInput() {
+		return false;
+	}
+
+	public int getPoolSize() {
+		return -1;
+	}
+
+	public ErrorReporter getErrorReporter() {
+		return errorReporter;
+	}
+
+	public OutputStream createDebugFile(File file) {
+		return NullOutputStream.STREAM;
+	}
+
+	public boolean mayFireEvents() {
+		return false;
+	}
+
+	public boolean mayFireDebugEvents() {
+		return false;
+	}
+
+	public boolean emitProfilingInstrumentation() {
+		return false;
+	}
+
+	public boolean emitDeterministicOutput() {
+		return false;
+	}
+
+	public boolean generateIncrementally() {
+		return false;
+	}
+
+	public int getGeneratorThreads() {
+		return 1;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.unika.ipd.grgen.Sys;
+import de.unika.ipd.grgen.ast.BaseNode;
+import de.unika.ipd.grgen.ast.UnitNode;
+import de.unika.ipd.grgen.be.IDBase;
+import de.unika.ipd.grgen.ir.EdgeType;
+import de.unika.ipd.grgen.ir.InheritanceType;
+import de.unika.ipd.grgen.ir.NodeType;
+import de.unika.ipd.grgen.ir.Type;
+import de.unika.ipd.grgen.ir.Unit;
+import de.unika.ipd.grgen.parser.antlr.GRParserEnvironment;
+import de.unika.ipd.grgen.util.Base;
+import de.unika.ipd.grgen.util.GlobalTables;
+import de.unika.ipd.grgen.util.NullOutputStream;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+import de.unika.ipd.grgen.util.report.NullReporter;
+
+/**
+ * Checks the is-a matrices of IDBase.computeIsA, used by checkisa.sh.
+ * Builds the IR of the .grg file given, numbers its node and edge types like IDBase does,
+ * and compares each matrix entry with the length of the shortest inheritance path
+ * from the type to the other type, computed independently by a recursive walk over the direct super types;
+ * the entry must be 0 on the diagonal and for types that are not super types.
+ * Prints each mismatch and exits with 1 if there is one.
+ *
+ * usage: java -cp grgen.jar:... IsAMatrixCheck FILE.grg
+ */
+public class IsAMatrixCheck implements Sys {
+
+	private final File modelPath;
+	private final ErrorReporter errorReporter = new ErrorReporter();
+
+	private IsAMatrixCheck(File modelPath) {
+		this.modelPath = modelPath;
+	}
+
+	public static void main(String[] args) throws Exception {
+		if(args.length != 1) {
+			System.err.println("usage: IsAMatrixCheck FILE.grg");
+			System.exit(2);
+		}
+		File inputFile = new File(args[0]);
+		IsAMatrixCheck system = new IsAMatrixCheck(inputFile.getAbsoluteFile().getParentFile());
+
+		GlobalTables.resetAll();
+		Base.setReporters(new NullReporter(), system.errorReporter);
+
+		GRParserEnvironment env = new GRParserEnvironment(system);
+		UnitNode root = env.parseActions(inputFile);
+		if(root == null || env.hadError() || !BaseNode.manifestAST(root)) {
+			System.err.println("compilation of " + inputFile + " failed");
+			System.exit(1);
+		}
+		Unit unit = root.getUnit();
+		unit.canonicalize();
+
+		Map<InheritanceType, Integer> nodeTypeMap = new LinkedHashMap<InheritanceType, Integer>();
+		Map<InheritanceType, Integer> edgeTypeMap = new LinkedHashMap<InheritanceType, Integer>();
+		for(Type type : unit.getActionsGraphModel().getTypes()) {
+			if(type instanceof NodeType)
+				nodeTypeMap.put((NodeType)type, new Integer(nodeTypeMap.size()));
+			else if(type instanceof EdgeType)
+				edgeTypeMap.put((EdgeType)type, new Integer(edgeTypeMap.size()));
+		}
+
+		int mismatches = check(nodeTypeMap) + check(edgeTypeMap);
+		System.out.println(nodeTypeMap.size() + " node types, " + edgeTypeMap.size() + " edge types, "
+				+ mismatches + " mismatches");
+		System.exit(mismatches == 0 ? 0 : 1);
+	}
+
+	/** Compares the is-a matrix of the types with the shortest inheritance paths, returns the number of mismatches. */
+	private static int check(Map<InheritanceType, Integer> typeMap) {
+		short[][] isA = IDBase.computeIsA(typeMap);
+		int mismatches = 0;
+		for(InheritanceType type : typeMap.keySet()) {
+			for(InheritanceType other : typeMap.keySet()) {
+				int expected = type == other ? 0 : distance(type, other);
+				int actual = isA[typeMap.get(type).intValue()][typeMap.get(other).intValue()];
+				if(actual != expected) {
+					System.out.println("is_a[" + type.getIdent() + "][" + other.getIdent() + "] is "
+							+ actual + ", expected " + expected);
+					++mismatches;
+				}
+			}
+		}
+		return mismatches;
+	}
+
+	/** The length of the shortest inheritance path from the type to the super type, 0 if there is none. */
+	private static int distance(InheritanceType type, InheritanceType superType) {
+		int shortest = 0;
+		for(InheritanceType direct : type.getDirectSuperTypes()) {
+			int dist;
+			if(direct == superType)
+				dist = 1;
+			else {
+				dist = distance(direct, superType);
+				if(dist != 0)
+					++dist;
+			}
+			if(dist != 0 && (shortest == 0 || dist < shortest))
+				shortest = dist;
+		}
+		return shortest;
+	}
+
+	public File getModelPath() {
+		return modelPath;
+	}
+
+	public File getModelCacheDir() {
+		return null;
+	}
+
+	public boolean mappedInput() {
+		return false;
+	}
+
+	public int getPoolSize() {
+		return -1;
+	}
+
+	public ErrorReporter getErrorReporter() {
+		return errorReporter;
+	}
+
+	public OutputStream createDebugFile(File file) {
+		return NullOutputStream.STREAM;
+	}
+
+	public boolean mayFireEvents() {
+		return false;
+	}
+
+	public boolean mayFireDebugEvents() {
+		return false;
+	}
+
+	public boolean emitProfilingInstrumentation() {
+		return false;
+	}
+
+	public boolean emitDeterministicOutput() {
+		return false;
+	}
+
+	public boolean generateIncrementally() {
+		return false;
+	}
+
+	public int getGeneratorThreads() {
+		return 1;
+	}
+}
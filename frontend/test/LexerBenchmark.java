@@ -0,0 +1,139 @@
+/*
+ * GrGen: graph rewrite generator tool -- release GrGen.NET 4.4
+ * Copyright (C) 2003-2016 Universitaet Karlsruhe, Institut fuer Programmstrukturen und Datenorganisation, LS Goos; and free programmers
+ * licensed under LGPL v3 (see LICENSE.txt included in the packaging of this file)
+ * www.grgen.net
+ */
+
+package de.unika.ipd.grgen.parser.antlr;
+
+import java.io.File;
+import java.io.OutputStream;
+
+import org.antlr.runtime.ANTLRFileStream;
+import org.antlr.runtime.CharStream;
+import org.antlr.runtime.Token;
+
+import de.unika.ipd.grgen.Sys;
+import de.unika.ipd.grgen.util.Base;
+import de.unika.ipd.grgen.util.GlobalTables;
+import de.unika.ipd.grgen.util.NullOutputStream;
+import de.unika.ipd.grgen.util.report.ErrorReporter;
+import de.unika.ipd.grgen.util.report.NullReporter;
+
+/**
+ * Lexer throughput and heap footprint of the input stream, used by benchlexer.sh.
+ * Lexes the .grg file given (it must not include other files) a few times over an ANTLRFileStream
+ * or a MappedFileStream, and prints the number of tokens, the throughput of the fastest run,
+ * and the heap growth caused by the input stream (measured after garbage collections,
+ * with the stream still referenced after it was lexed to the end).
+ * It is in the package of the lexer to hand it the parser environment, as the parser does.
+ *
+ * usage: java -cp grgen.jar:... de.unika.ipd.grgen.parser.antlr.LexerBenchmark file|mapped FILE.grg
+ */
+public class LexerBenchmark implements Sys {
+
+	private static final int RUNS = 10;
+
+	private final ErrorReporter errorReporter = new ErrorReporter();
+
+	public static void main(String[] args) throws Exception {
+		if(args.length != 2 || !(args[0].equals("file") || args[0].equals("mapped"))) {
+			System.err.println("usage: LexerBenchmark file|mapped FILE.grg");
+			System.exit(2);
+		}
+		boolean mapped = args[0].equals("mapped");
+		File inputFile = new File(args[1]);
+		LexerBenchmark system = new LexerBenchmark();
+
+		GlobalTables.resetAll();
+		Base.setReporters(new NullReporter(), system.errorReporter);
+
+		long bestTime = Long.MAX_VALUE;
+		int tokens = 0;
+		long bytes = 0;
+		int chars = 0;
+		for(int run = 0; run < RUNS; ++run) {
+			long before = usedHeap();
+			long start = System.nanoTime();
+			CharStream stream = mapped ? new MappedFileStream(inputFile, null) : new ANTLRFileStream(inputFile.getPath());
+			GrGenLexer lexer = new GrGenLexer(stream);
+			lexer.setEnv(new GRParserEnvironment(system));
+			tokens = 0;
+			for(Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+				++tokens;
+			}
+			bestTime = Math.min(bestTime, System.nanoTime() - start);
+			long after = usedHeap();
+			chars = stream.index(); // keeps the stream alive until after the measurement
+			bytes = after - before;
+		}
+
+		double megabytes = inputFile.length() / (1024.0 * 1024.0);
+		System.out.println("chars:      " + chars);
+		System.out.println("tokens:     " + tokens);
+		System.out.println("time ms:    " + bestTime / 1000000);
+		System.out.println("MB/s:       " + (int)(megabytes / (bestTime / 1e9)));
+		System.out.println("heap bytes: " + bytes);
+	}
+
+	/** The heap in use after garbage collection. */
+	private static long usedHeap() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for(int i = 0; i < 5; ++i) {
+			System.gc();
+			Thread.sleep(100);
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+
+	public File getModelPath() {
+		return new File(".");
+	}
+
+	public File getModelCacheDir() {
+		return null;
+	}
+
+	public boolean mappedInput() {
+		return false;
+	}
+
+	public int getPoolSize() {
+		return -1;
+	}
+
+	public ErrorReporter getErrorReporter() {
+		return errorReporter;
+	}
+
+	public OutputStream createDebugFile(File file) {
+		return NullOutputStream.STREAM;
+	}
+
+	public boolean mayFireEvents() {
+		return false;
+	}
+
+	public boolean mayFireDebugEvents() {
+		return false;
+	}
+
+	public boolean emitProfilingInstrumentation() {
+		return false;
+	}
+
+	public boolean emitDeterministicOutput() {
+		return false;
+	}
+
+	public boolean generateIncrementally() {
+		return false;
+	}
+
+	public int getGeneratorThreads() {
+		return 1;
+	}
+}
@@ -0,0 +1,81 @@
+#! /bin/bash
+
+# Measures the heap footprint of the AST against the size of the specification.
+# For each rule count a synthetic specification is generated (a model with attributed
+# node and edge types, rules with a pattern, a condition, and a rewrite with evaluations),
+# its AST is parsed and manifested by AstHeapBenchmark, and the number of AST nodes,
+# the heap bytes taken by the AST, and the bytes per AST node are printed.
+# Point GRGENNET to the directory of another grgen.jar to compare two builds.
+#
+# usage: benchastheap.sh [-n "RULECOUNTS"]
+
+trap "echo; exit 1" INT QUIT HUP TERM
+
+GRGENDIR=".."
+JARGS="$GRGENDIR/jars/jargs.jar"
+ANTLR="$GRGENDIR/jars/antlr-runtime-3.4.jar"
+[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+
+if uname -s | grep -iq "cygwin"; then
+	SEP=";"
+else
+	SEP=":"
+fi
+
+RULECOUNTS="500 2000 5000"
+BENCHDIR=benchastheap_out
+
+while [ "$1" ]; do
+	case "$1" in
+		-n) RULECOUNTS="$2"; shift 2;;
+		* ) echo "usage: $0 [-n \"RULECOUNTS\"]"; exit 1;;
+	esac
+done
+
+CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+mkdir -p "$BENCHDIR/classes"
+if ! javac -nowarn -cp "$CLASSPATH" -d "$BENCHDIR/classes" AstHeapBenchmark.java; then
+	echo "compilation of AstHeapBenchmark.java failed"
+	exit 1
+fi
+CLASSPATH=$CLASSPATH$SEP$BENCHDIR/classes
+
+# writes a specification with $1 rules to $2.grg, using the model $2.gm
+gen_spec()
+{
+	local N=$1
+	local FILE=$2
+	local i
+	cat > "$FILE.gm" <<EOF
+node class A { v:int; s:string; }
+node class B extends A { w:double; }
+edge class E { l:int; }
+EOF
+	echo "#using \"`basename $FILE`.gm\"" > "$FILE.grg"
+	for ((i = 0; i < N; ++i)); do
+		echo "rule r$i(var x:int) : (int) {"
+		echo "	a:A -e:E-> b:B <-:E- c:A;"
+		echo "	if { a.v + $i > x && b.w < 1.5 * e.l; }"
+		echo "	modify {"
+		echo "		d:B <-f:E- a;"
+		echo "		delete(c);"
+		echo "		eval { d.v = a.v * 2 + $i; d.s = a.s + \"r$i\"; f.l = e.l - x; }"
+		echo "		return(b.v + $i);"
+		echo "	}"
+		echo "}"
+	done >> "$FILE.grg"
+}
+
+printf "%8s %10s %12s %10s\n" rules "ast nodes" "heap bytes" "bytes/node"
+for N in $RULECOUNTS; do
+	SPEC=$BENCHDIR/bench$N
+	gen_spec $N "$SPEC"
+	if ! java -Xss64m -Xmx2048M -cp "$CLASSPATH" AstHeapBenchmark "$SPEC.grg" > "$BENCHDIR/log" 2>&1; then
+		echo "benchmark of $SPEC.grg failed, see $BENCHDIR/log"
+		exit 1
+	fi
+	NODES=`grep "^ast nodes:" "$BENCHDIR/log" | awk '{print $3}'`
+	BYTES=`grep "^heap bytes:" "$BENCHDIR/log" | awk '{print $3}'`
+	PERNODE=`grep "^bytes/node:" "$BENCHDIR/log" | awk '{print $2}'`
+	printf "%8d %10d %12d %10d\n" $N $NODES $BYTES $PERNODE
+done
@@ -0,0 +1,90 @@
+#! /bin/bash
+
+# Measures the time of resolving the invocations of builtin functions and methods.
+# For each test count a synthetic specification is generated, each test with conditions
+# calling Math and graph functions and string, array, and map methods,
+# it is compiled, and the parse and manifest (resolve and check) times reported by -t are printed.
+# Point GRGENNET to the directory of another grgen.jar to compare two builds.
+#
+# usage: benchbuiltins.sh [-n "TESTCOUNTS"] [-r REPETITIONS]
+
+trap "echo; exit 1" INT QUIT HUP TERM
+
+GRGENDIR=".."
+JARGS="$GRGENDIR/jars/jargs.jar"
+ANTLR="$GRGENDIR/jars/antlr-runtime-3.4.jar"
+[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+BE_CSC=de.unika.ipd.grgen.be.Csharp.SearchPlanBackend2
+
+if uname -s | grep -iq "cygwin"; then
+	SEP=";"
+else
+	SEP=":"
+fi
+CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+
+JAVA_ARGS="-Xss64m -Xmx2048M -cp $CLASSPATH de.unika.ipd.grgen.Main -b $BE_CSC -t -D"
+
+TESTCOUNTS="200 1000 2000"
+REPETITIONS=3
+BENCHDIR=benchbuiltins_out
+
+while [ "$1" ]; do
+	case "$1" in
+		-n) TESTCOUNTS="$2"; shift 2;;
+		-r) REPETITIONS="$2"; shift 2;;
+		* ) echo "usage: $0 [-n \"TESTCOUNTS\"] [-r REPETITIONS]"; exit 1;;
+	esac
+done
+
+# writes a specification with $1 tests to $2.grg, using the model $2.gm
+gen_spec()
+{
+	local N=$1
+	local FILE=$2
+	local i
+	cat > "$FILE.gm" <<EOF
+node class A { i:int; d:double; s:string; a:array<int>; m:map<int,string>; q:deque<int>; }
+edge class E;
+EOF
+	echo "#using \"`basename $FILE`.gm\"" > "$FILE.grg"
+	for ((i = 0; i < N; ++i)); do
+		echo "test t$i(var x:int, var y:double) {"
+		echo "	a:A -e:E-> b:A;"
+		echo "	if { Math::max(a.i, Math::abs(x)) > Math::min(b.i, $i) && Math::sin(a.d) + Math::sgn(y) < Math::pow(b.d, 2.0); }"
+		echo "	if { Math::floor(a.d) <= Math::ceil(b.d) && Math::round(y) != Math::truncate(a.d) + Math::pi(); }"
+		echo "	if { countAdjacentOutgoing(a, E, A) > $i && countIncident(b) < countNodes(A) && isAdjacent(a, b) && isReachable(a, b); }"
+		echo "	if { nameof(a) != nameof(b) && uniqueof(a) < uniqueof(b) && source(e) == a && target(e) == b && opposite(e, a) == b; }"
+		echo "	if { a.s.length() > $i && a.s.substring(1, 2) == b.s.toUpper() && a.s.indexOf(\"t$i\") < b.s.lastIndexOf(\"x\") && a.s.startsWith(b.s.toLower()); }"
+		echo "	if { a.a.size() > b.a.indexOf($i) && a.a.peek() == b.a.lastIndexOf(x) && a.m.size() > 0 && !a.m.empty() && a.q.peek() < b.q.size(); }"
+		echo "}"
+	done >> "$FILE.grg"
+}
+
+mkdir -p "$BENCHDIR"
+
+printf "%8s %12s %14s\n" tests "parse[ms]" "manifest[ms]"
+for N in $TESTCOUNTS; do
+	SPEC=$BENCHDIR/bench$N
+	gen_spec $N "$SPEC"
+
+	BESTPARSE=""
+	BESTMANIFEST=""
+	for ((r = 0; r < REPETITIONS; ++r)); do
+		rm -fr "$BENCHDIR/out"
+		mkdir "$BENCHDIR/out"
+		if ! java $JAVA_ARGS -o "$BENCHDIR/out" "$SPEC.grg" > "$BENCHDIR/log" 2>&1; then
+			echo "compilation of $SPEC.grg failed, see $BENCHDIR/log"
+			exit 1
+		fi
+		PARSE=`grep "^parse:" "$BENCHDIR/log" | awk '{print $2}'`
+		MANIFEST=`grep "^manifest:" "$BENCHDIR/log" | awk '{print $2}'`
+		if [ -z "$BESTPARSE" ] || [ "$PARSE" -lt "$BESTPARSE" ]; then
+			BESTPARSE=$PARSE
+		fi
+		if [ -z "$BESTMANIFEST" ] || [ "$MANIFEST" -lt "$BESTMANIFEST" ]; then
+			BESTMANIFEST=$MANIFEST
+		fi
+	done
+	printf "%8d %12d %14d\n" $N $BESTPARSE $BESTMANIFEST
+done
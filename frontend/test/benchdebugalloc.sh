@@ -0,0 +1,84 @@
+#! /bin/bash
+
+# Allocation profile of the debug reporting on the resolve/check hot path.
+# Runs the frontend (without backend) on the test suite in batch mode with the
+# Java Flight Recorder, and counts the sampled allocations of strings built for
+# debug messages: allocations in StringBuilder/String code called directly from
+# one of the methods reporting debug messages on the hot path.
+# With debugging off (the default) the count must be 0; with -d the messages are
+# built, which shows the profile catches them.
+# Needs a JDK with JFR and the jfr tool (JDK 11 or later).
+#
+# usage: benchdebugalloc.sh [-d] [TESTS]
+
+trap "echo; exit 1" INT QUIT HUP TERM
+
+GRGENDIR=".."
+JARGS="$GRGENDIR/jars/jargs.jar"
+ANTLR="$GRGENDIR/jars/antlr-runtime-3.4.jar"
+[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+
+if uname -s | grep -iq "cygwin"; then
+	SEP=";"
+else
+	SEP=":"
+fi
+CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+
+DEBUG=""
+if [ "$1" = "-d" ]; then
+	DEBUG="-d"
+	shift
+fi
+TESTS=${@:-should_pass/*.grg should_warn/*.grg}
+
+OUTDIR=benchdebugalloc_out
+rm -fr "$OUTDIR"
+mkdir "$OUTDIR"
+
+for f in $TESTS; do
+	echo "$f"
+done > "$OUTDIR/batch"
+
+JFR_ARGS="-XX:StartFlightRecording=settings=profile,filename=$OUTDIR/alloc.jfr"
+if ! java -Xss64m $JFR_ARGS -cp $CLASSPATH de.unika.ipd.grgen.Main $DEBUG --batch="$OUTDIR/batch" > "$OUTDIR/log" 2>&1; then
+	grep -q "^batch:" "$OUTDIR/log" || { echo "frontend failed, see $OUTDIR/log"; exit 1; }
+fi
+grep "^batch:" "$OUTDIR/log"
+
+jfr print --events jdk.ObjectAllocationSample --stack-depth 16 "$OUTDIR/alloc.jfr" > "$OUTDIR/alloc.txt"
+
+# an event lists its stack trace from the allocating frame on; the first frame outside the JDK
+# is the caller, the sample is a debug message if string building code was called from a reporting method
+awk '
+	BEGIN {
+		reporting = "ast\\.BaseNode\\.(resolve|check|fixupDefinition|tryfixupDefinition|checkIR)\\(|ast\\.BaseNode\\$[0-9]+\\.format\\(|" \
+			"ast\\.TypeNode\\.doGetCompatibleToTypes\\(|" \
+			"exprevals\\.(OperatorSignature\\.getNearest|OperatorSignature\\$Evaluator\\.evaluate|FunctionSignature\\.getDistance|ProcedureSignature\\.getDistance|EnumItemNode\\.getValue)\\(|" \
+			"ast\\.(CallActionNode|ExecNode)\\.addImplicitDefinitions\\("
+	}
+	/^jdk.ObjectAllocationSample/ { samples++; inStack = 0; stringBuilding = 0; done = 0; next }
+	/stackTrace = \[/ { inStack = 1; next }
+	inStack && /^[ \t]*\]/ { inStack = 0; next }
+	inStack && !done {
+		if($0 ~ /java\.lang\.(StringBuilder|AbstractStringBuilder|String|StringConcatHelper|Integer|invoke)/) {
+			if($0 ~ /StringBuilder|StringConcat|String\.valueOf|Integer\.toString/)
+				stringBuilding = 1;
+			next;
+		}
+		if($0 ~ /^[ \t]*(java|jdk|sun)\./)
+			next;
+		done = 1;
+		if(stringBuilding && $0 ~ reporting) {
+			debugMessages++;
+			sub(/^[ \t]*/, "");
+			sub(/ line:.*/, "");
+			callers[$0]++;
+		}
+	}
+	END {
+		printf "%d allocation samples, %d of them debug message strings\n", samples, debugMessages;
+		for(caller in callers)
+			printf "  %6d %s\n", callers[caller], caller;
+	}
+' "$OUTDIR/alloc.txt"
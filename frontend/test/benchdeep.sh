@@ -0,0 +1,105 @@
+#! /bin/bash
+
+# Measures the compilation of deeply nested expressions and statements against the nesting depth.
+# For each shape and depth a synthetic specification is generated
+# (op: a rule with a condition and an evaluation, each one a chain of that many binary operators;
+#  elseif: a rule with an evaluation that is an if followed by that many else ifs),
+# it is compiled under the default JVM settings (i.e. the default thread stack size),
+# and the parse, manifest, IR build and code generation times reported by -t are printed;
+# a compilation that fails is reported as such (as overflow if the stack overflowed).
+#
+# usage: benchdeep.sh [-n "DEPTHS"] [-s "SHAPES"]
+
+trap "echo; exit 1" INT QUIT HUP TERM
+
+GRGENDIR=".."
+JARGS="$GRGENDIR/jars/jargs.jar"
+ANTLR="$GRGENDIR/jars/antlr-runtime-3.4.jar"
+[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+BE_CSC=de.unika.ipd.grgen.be.Csharp.SearchPlanBackend2
+
+if uname -s | grep -iq "cygwin"; then
+	SEP=";"
+else
+	SEP=":"
+fi
+CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+
+# no -Xss, the walks over the nested expressions must not depend on a large stack
+JAVA_ARGS="-Xmx1024M -cp $CLASSPATH de.unika.ipd.grgen.Main -b $BE_CSC -t"
+
+DEPTHS="1000 10000 100000"
+SHAPES="op elseif"
+
+while [ "$1" ]; do
+	case "$1" in
+		-n) DEPTHS="$2"; shift 2;;
+		-s) SHAPES="$2"; shift 2;;
+		* ) echo "usage: $0 [-n \"DEPTHS\"] [-s \"SHAPES\"]"; exit 1;;
+	esac
+done
+
+# writes a specification with operator chains of depth $1 to $2.grg, using the model $2.gm
+gen_spec_op()
+{
+	local N=$1
+	local FILE=$2
+	local i
+	echo "node class A { i:int; }" > "$FILE.gm"
+	{
+		echo "#using \"`basename $FILE`.gm\""
+		echo "rule r(var x:int) {"
+		echo "	a:A;"
+		printf "	if { a.i < x"
+		for ((i = 0; i < N; ++i)); do printf " + x"; done
+		echo "; }"
+		printf "	modify { eval { a.i = x"
+		for ((i = 0; i < N; ++i)); do printf " + a.i"; done
+		echo "; } }"
+		echo "}"
+	} > "$FILE.grg"
+}
+
+# writes a specification with an if followed by $1 else ifs to $2.grg, using the model $2.gm
+gen_spec_elseif()
+{
+	local N=$1
+	local FILE=$2
+	local i
+	echo "node class A { i:int; }" > "$FILE.gm"
+	{
+		echo "#using \"`basename $FILE`.gm\""
+		echo "rule r {"
+		echo "	a:A;"
+		printf "	modify { eval { if(a.i == 0) { a.i = 1; }"
+		for ((i = 1; i <= N; ++i)); do printf " else if(a.i == $i) { a.i = $((i + 1)); }"; done
+		echo " } }"
+		echo "}"
+	} > "$FILE.grg"
+}
+
+BENCHDIR=`mktemp -d "${TMPDIR:-/tmp}/benchdeep.XXXXXX"` || exit 1
+trap 'rm -rf "$BENCHDIR"' EXIT
+
+printf "%8s %8s %10s %13s %11s %12s\n" shape depth "parse[ms]" "manifest[ms]" "IR[ms]" "codegen[ms]"
+for SHAPE in $SHAPES; do
+	for N in $DEPTHS; do
+		SPEC=$BENCHDIR/bench$SHAPE$N
+		gen_spec_$SHAPE $N "$SPEC"
+		rm -fr "$BENCHDIR/out"
+		mkdir "$BENCHDIR/out"
+		if ! java $JAVA_ARGS -o "$BENCHDIR/out" "$SPEC.grg" > "$BENCHDIR/log" 2>&1; then
+			if grep -q "StackOverflowError" "$BENCHDIR/log"; then
+				printf "%8s %8d %10s\n" $SHAPE $N overflow
+			else
+				printf "%8s %8d %10s\n" $SHAPE $N failed
+			fi
+			continue
+		fi
+		PARSE=`grep "^parse:" "$BENCHDIR/log" | awk '{print $2}'`
+		MANIFEST=`grep "^manifest:" "$BENCHDIR/log" | awk '{print $2}'`
+		IR=`grep "^build IR:" "$BENCHDIR/log" | awk '{print $3}'`
+		CODEGEN=`grep "^code gen:" "$BENCHDIR/log" | awk '{print $3}'`
+		printf "%8s %8d %10d %13d %11d %12d\n" $SHAPE $N $PARSE $MANIFEST $IR $CODEGEN
+	done
+done
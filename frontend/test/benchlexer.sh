@@ -0,0 +1,88 @@
+#! /bin/bash
+
+# Measures the lexer throughput and the heap taken by the input stream against the file size.
+# For each rule count a synthetic specification is generated (a model with attributed
+# node and edge types, rules with a pattern, a condition, and a rewrite with evaluations),
+# it is lexed by LexerBenchmark over an ANTLRFileStream (reading the whole file into a char array)
+# and over a MappedFileStream (decoding a memory-mapped file lazily in small windows),
+# and the file size, the number of tokens, the throughput, and the heap bytes of the stream are printed.
+# The specifications and the compiled benchmark are written to a temporary directory, removed on exit.
+#
+# usage: benchlexer.sh [-n "RULECOUNTS"]
+
+trap "echo; exit 1" INT QUIT HUP TERM
+
+GRGENDIR=".."
+JARGS="$GRGENDIR/jars/jargs.jar"
+ANTLR="$GRGENDIR/jars/antlr-runtime-3.4.jar"
+[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+
+if uname -s | grep -iq "cygwin"; then
+	SEP=";"
+else
+	SEP=":"
+fi
+
+RULECOUNTS="2000 20000 80000"
+
+while [ "$1" ]; do
+	case "$1" in
+		-n) RULECOUNTS="$2"; shift 2;;
+		* ) echo "usage: $0 [-n \"RULECOUNTS\"]"; exit 1;;
+	esac
+done
+
+BENCHDIR=`mktemp -d "${TMPDIR:-/tmp}/benchlexer.XXXXXX"` || exit 1
+trap 'rm -rf "$BENCHDIR"' EXIT
+
+CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+mkdir -p "$BENCHDIR/classes"
+if ! javac -nowarn -cp "$CLASSPATH" -d "$BENCHDIR/classes" LexerBenchmark.java; then
+	echo "compilation of LexerBenchmark.java failed"
+	exit 1
+fi
+CLASSPATH=$CLASSPATH$SEP$BENCHDIR/classes
+
+# writes a specification with $1 rules to $2.grg, using the model $2.gm
+gen_spec()
+{
+	local N=$1
+	local FILE=$2
+	local i
+	cat > "$FILE.gm" <<EOG
+node class A { v:int; s:string; }
+node class B extends A { w:double; }
+edge class E { l:int; }
+EOG
+	echo "#using \"`basename $FILE`.gm\"" > "$FILE.grg"
+	for ((i = 0; i < N; ++i)); do
+		echo "rule r$i(var x:int) : (int) {"
+		echo "	a:A -e:E-> b:B <-:E- c:A;"
+		echo "	if { a.v + $i > x && b.w < 1.5 * e.l; }"
+		echo "	modify {"
+		echo "		d:B <-f:E- a;"
+		echo "		delete(c);"
+		echo "		eval { d.v = a.v * 2 + $i; d.s = a.s + \"r$i\"; f.l = e.l - x; }"
+		echo "		return(b.v + $i);"
+		echo "	}"
+		echo "}"
+	done >> "$FILE.grg"
+}
+
+printf "%8s %8s %10s %8s %6s %12s\n" rules "size[kB]" tokens stream "MB/s" "heap bytes"
+for N in $RULECOUNTS; do
+	SPEC=$BENCHDIR/bench$N
+	gen_spec $N "$SPEC"
+	SIZE=`wc -c < "$SPEC.grg"`
+	for STREAM in file mapped; do
+		if ! java -Xmx2048M -cp "$CLASSPATH" de.unika.ipd.grgen.parser.antlr.LexerBenchmark $STREAM "$SPEC.grg" > "$BENCHDIR/log" 2>&1; then
+			echo "benchmark of bench$N.grg failed:"
+			cat "$BENCHDIR/log"
+			exit 1
+		fi
+		TOKENS=`grep "^tokens:" "$BENCHDIR/log" | awk '{print $2}'`
+		MBS=`grep "^MB/s:" "$BENCHDIR/log" | awk '{print $2}'`
+		BYTES=`grep "^heap bytes:" "$BENCHDIR/log" | awk '{print $3}'`
+		printf "%8d %8d %10d %8s %6d %12d\n" $N $((SIZE / 1024)) $TOKENS $STREAM $MBS $BYTES
+	done
+done
@@ -0,0 +1,95 @@
+#! /bin/bash
+
+# Measures the time of the model code generation against the number of types in the model.
+# For each type count a synthetic model is generated (node types in inheritance chains,
+# with attributes and a function method, plus edge types), it is compiled with a trivial
+# rule file, once for each number of generator threads, and the code generation time
+# reported by -t is printed (the actions are trivial, so it is nearly the model generation time).
+#
+# usage: benchmodelgen.sh [-n "TYPECOUNTS"] [-T "THREADCOUNTS"] [-r REPETITIONS]
+
+trap "echo; exit 1" INT QUIT HUP TERM
+
+GRGENDIR=".."
+JARGS="$GRGENDIR/jars/jargs.jar"
+ANTLR="$GRGENDIR/jars/antlr-runtime-3.4.jar"
+[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+BE_CSC=de.unika.ipd.grgen.be.Csharp.SearchPlanBackend2
+
+if uname -s | grep -iq "cygwin"; then
+	SEP=";"
+else
+	SEP=":"
+fi
+CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+
+JAVA_ARGS="-Xss64m -Xmx1024M -cp $CLASSPATH de.unika.ipd.grgen.Main -b $BE_CSC -t -D"
+
+TYPECOUNTS="100 500 1000 2000 5000"
+THREADCOUNTS="1 2 4"
+REPETITIONS=3
+BENCHDIR=benchmodelgen_out
+
+while [ "$1" ]; do
+	case "$1" in
+		-n) TYPECOUNTS="$2"; shift 2;;
+		-T) THREADCOUNTS="$2"; shift 2;;
+		-r) REPETITIONS="$2"; shift 2;;
+		* ) echo "usage: $0 [-n \"TYPECOUNTS\"] [-T \"THREADCOUNTS\"] [-r REPETITIONS]"; exit 1;;
+	esac
+done
+
+# writes a model with $1 node types and $1/2 edge types to $2
+gen_model()
+{
+	local N=$1
+	local FILE=$2
+	local i
+	echo "enum Color { red, green, blue }" > "$FILE"
+	for ((i = 0; i < N; ++i)); do
+		if [ $((i % 10)) -eq 0 ]; then
+			echo "node class N$i {"
+		else
+			echo "node class N$i extends N$((i - 1)) {"
+		fi
+		echo "	a$i:int = $i; s$i:string; c$i:Color; m$i:map<int,string>;"
+		echo "	function f$i(var x:int):int { def var y:int = x + this.a$i; return(y * 2); }"
+		echo "}"
+	done >> "$FILE"
+	for ((i = 0; i < N / 2; ++i)); do
+		if [ $((i % 10)) -eq 0 ]; then
+			echo "edge class E$i {"
+		else
+			echo "edge class E$i extends E$((i - 1)) {"
+		fi
+		echo "	w$i:double; l$i:string = \"e$i\";"
+		echo "}"
+	done >> "$FILE"
+}
+
+mkdir -p "$BENCHDIR"
+
+printf "%8s %8s %12s\n" types threads "codegen[ms]"
+for N in $TYPECOUNTS; do
+	MODEL=$BENCHDIR/bench$N.gm
+	RULES=$BENCHDIR/bench$N.grg
+	gen_model $N "$MODEL"
+	printf "#using \"bench$N.gm\"\n\nrule r { n:N0; modify { } }\n" > "$RULES"
+
+	for T in $THREADCOUNTS; do
+		BEST=""
+		for ((r = 0; r < REPETITIONS; ++r)); do
+			rm -fr "$BENCHDIR/out"
+			mkdir "$BENCHDIR/out"
+			if ! java $JAVA_ARGS -T $T -o "$BENCHDIR/out" "$RULES" > "$BENCHDIR/log" 2>&1; then
+				echo "compilation of $RULES failed, see $BENCHDIR/log"
+				exit 1
+			fi
+			TIME=`grep "^code gen:" "$BENCHDIR/log" | awk '{print $3}'`
+			if [ -z "$BEST" ] || [ "$TIME" -lt "$BEST" ]; then
+				BEST=$TIME
+			fi
+		done
+		printf "%8d %8d %12d\n" $N $T $BEST
+	done
+done
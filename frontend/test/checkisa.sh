@@ -0,0 +1,59 @@
+#! /bin/bash
+
+# Checks the is-a matrices IDBase.computeIsA computes for the C backend:
+# each entry must be the length of the shortest inheritance path from a type to a super type,
+# and 0 on the diagonal and for a type that is not a super type.
+# The model has types in inheritance chains and diamonds with paths of different lengths,
+# named so that the types in the middle of the chains get the highest type ids.
+#
+# usage: checkisa.sh
+
+trap "echo; exit 1" INT QUIT HUP TERM
+
+GRGENDIR=".."
+JARGS="$GRGENDIR/jars/jargs.jar"
+ANTLR="$GRGENDIR/jars/antlr-runtime-3.4.jar"
+[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+
+if uname -s | grep -iq "cygwin"; then
+	SEP=";"
+else
+	SEP=":"
+fi
+
+CHECKDIR=checkisa_out
+
+CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+mkdir -p "$CHECKDIR/classes"
+if ! javac -nowarn -cp "$CLASSPATH" -d "$CHECKDIR/classes" IsAMatrixCheck.java; then
+	echo "compilation of IsAMatrixCheck.java failed"
+	exit 1
+fi
+CLASSPATH=$CLASSPATH$SEP$CHECKDIR/classes
+
+cat > "$CHECKDIR/isa.gm" <<EOF2
+node class A extends Z;
+node class B;
+node class Z extends B;
+node class C extends A, Y;
+node class Y extends B;
+node class D extends C, X;
+node class X extends Z, W;
+node class W;
+
+edge class E extends V;
+edge class F;
+edge class V extends F;
+edge class G extends E, F;
+EOF2
+cat > "$CHECKDIR/isa.grg" <<EOF2
+#using "isa.gm"
+
+rule r {
+	d:D;
+	modify {
+	}
+}
+EOF2
+
+java -cp "$CLASSPATH" IsAMatrixCheck "$CHECKDIR/isa.grg"
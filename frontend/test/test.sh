@@ -19,6 +19,7 @@ APPEND=""
 ONLY_FRONTEND=""
 ONLY_NEW=""
 VERBOSE=""
+BATCH=""
 WITHDEBUG=""
 
 do_diff()
@@ -34,6 +35,7 @@ while [ "$1" ]; do
 		-d) do_diff; exit 0;;
         --debug) shift; WITHDEBUG=" -d";;
         -f) shift; ONLY_FRONTEND="TRUE"; LOG=summary_fe.log;;
+        -B) shift; BATCH="TRUE"; ONLY_FRONTEND="TRUE"; LOG=summary_fe.log;;
 		-n) shift; ONLY_NEW="TRUE";;
 		-t) shift; JUST_TEST="TRUE"; LOG=/dev/null;;
 		-v) shift; VERBOSE="TRUE";;
@@ -107,7 +109,25 @@ do_test()
 	if [ "$VERBOSE" ]; then cat "$DIR/log"; fi
 }
 
-if [ "$1" ]; then
+# frontend only, all tests compiled one after another in a single JVM
+do_batch()
+{
+	local BATCHFILE="batch_$$.txt"
+	rm -f "$BATCHFILE"
+	for FILE in "$@"; do
+		local DIR="`echo "$FILE" | sed -e s/\\.grg\$/$OUTPUTSUFF/`"
+		if [ "$ONLY_NEW" -a "$DIR" -nt "$FILE" ]; then continue; fi
+		rm -fr -- "$DIR"
+		mkdir  -- "$DIR"
+		echo "$FILE -o $DIR" >> "$BATCHFILE"
+	done
+	java $JAVA_ARGS --batch="$BATCHFILE" 2>&1 | grep "^\(OK\|WARNED\|ERROR\|ABEND\) " | tee -a "$LOG"
+	rm -f "$BATCHFILE"
+}
+
+if [ "$BATCH" ]; then
+	if [ "$1" ]; then do_batch "$@"; else do_batch $TESTS; fi
+elif [ "$1" ]; then
 	for i in "$@";  do
 		if echo "$i" | grep -q "\\.grg\$"; then
 			do_test "$i";
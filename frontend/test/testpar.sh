@@ -14,6 +14,7 @@ APPEND=""
 ONLY_FRONTEND=""
 ONLY_NEW=""
 VERBOSE=""
+BATCH=""
 
 do_diff()
 {
@@ -27,6 +28,7 @@ while [ "$1" ]; do
 		-c) rm -fr */*$OUTPUTSUFF; exit 0;;
 		-d) do_diff; exit 0;;
         -f) shift; ONLY_FRONTEND="TRUE"; LOG=summary_fe.log;;
+        -B) shift; BATCH="TRUE"; ONLY_FRONTEND="TRUE"; LOG=summary_fe.log;;
 		-n) shift; ONLY_NEW="TRUE";;
 		-v) shift; VERBOSE="TRUE";;
 		* ) break;;
@@ -102,6 +104,38 @@ do_waitforrest()
 	done
 }
 
+# frontend only, all tests compiled in a single JVM on MAXTHREADS threads
+do_batch()
+{
+	local GRGENDIR=".."
+	local JARGS="$GRGENDIR/jars/jargs.jar"
+	local ANTLR="$GRGENDIR/jars/antlr.jar"
+	[ "$GRGENNET" ] || GRGENNET="$GRGENDIR/../engine-net-2/bin/"
+	local BE_CSC=de.unika.ipd.grgen.be.Csharp.SearchPlanBackend2
+	local SEP=":"
+	if uname -s | grep -iq "cygwin"; then SEP=";"; fi
+	local CLASSPATH=$JARGS$SEP$ANTLR$SEP$GRGENNET/grgen.jar
+
+	local BATCHFILE="batch_$$.txt"
+	rm -f "$BATCHFILE"
+	for FILE in "$@"; do
+		local DIR="`echo "$FILE" | sed -e s/\\.grg\$/$OUTPUTSUFF/`"
+		if [ "$ONLY_NEW" -a "$DIR" -nt "$FILE" ]; then continue; fi
+		rm -fr -- "$DIR"
+		mkdir  -- "$DIR"
+		echo "$FILE -o $DIR" >> "$BATCHFILE"
+	done
+	java -Xms256M -Xmx1024M -cp $CLASSPATH -ea de.unika.ipd.grgen.Main -b $BE_CSC -t --batch="$BATCHFILE" --jobs=$MAXTHREADS 2>&1 \
+		| grep "^\(OK\|WARNED\|ERROR\|ABEND\) " | tee -a "$LOG"
+	rm -f "$BATCHFILE"
+}
+
+if [ "$BATCH" ]; then
+	if [ "$1" ]; then do_batch "$@"; else do_batch $TESTS; fi
+	do_diff
+	exit 0
+fi
+
 if [ "$1" ]; then
 	for i in "$@";  do
 		if echo "$i" | grep -q "\\.grg\$"; then